@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2021-2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.services.throttles;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A leaky bucket that many threads can use at once without locking. Its entire shared state is a
+ * single {@link AtomicLong}; namely, the nanosecond instant at which the bucket would be empty if
+ * no more capacity were used. (This is the "generic cell rate" formulation of a leaky bucket.)
+ *
+ * <p>All quantities are expressed in nanoseconds of leakage. Using capacity that takes {@code d}
+ * nanos to leak at time {@code t} moves the empty instant to {@code max(emptyAt, t) + d}; and is
+ * allowed only if the bucket will then be empty no more than {@code burstNanos} after {@code t}.
+ * A single compare-and-set publishes each decision, so decision times that arrive slightly out of
+ * order from different threads (each reading the wall clock) need no special handling.
+ *
+ * <p>Each thread's most recently allowed uses are tracked separately, so that a thread can reclaim
+ * only the capacity it used itself. They live in one ledger per thread shared by all buckets (not
+ * one {@link ThreadLocal} per bucket, which would outlive buckets discarded by a throttle rebuild);
+ * and since resetting starts a new decision for the calling thread, the ledger never references
+ * more buckets than a single decision used.
+ */
+class AtomicLeakyBucket {
+    static final long NEVER = Long.MIN_VALUE;
+
+    private final long burstNanos;
+    private final AtomicLong emptyAt = new AtomicLong(NEVER);
+    private static final ThreadLocal<AllowedUses> LAST_ALLOWED_USES =
+            ThreadLocal.withInitial(AllowedUses::new);
+
+    private LongSupplier clock = AtomicLeakyBucket::wallClockNanos;
+
+    AtomicLeakyBucket(final long burstNanos) {
+        this.burstNanos = burstNanos;
+    }
+
+    boolean allow(final long nanosToUse, final long now) {
+        if (nanosToUse > burstNanos) {
+            return false;
+        }
+        long cur;
+        long next;
+        do {
+            cur = emptyAt.get();
+            next = Math.max(cur, now) + nanosToUse;
+            if (next - now > burstNanos) {
+                return false;
+            }
+        } while (!emptyAt.compareAndSet(cur, next));
+        LAST_ALLOWED_USES.get().add(this, nanosToUse);
+        return true;
+    }
+
+    void leak(final long nanos) {
+        if (nanos > 0) {
+            emptyAt.getAndUpdate(cur -> cur == NEVER ? NEVER : cur - nanos);
+        }
+    }
+
+    void reclaimLastAllowedUse() {
+        leak(LAST_ALLOWED_USES.get().remove(this));
+    }
+
+    /**
+     * Forgets the calling thread's allowed uses; not just of this bucket, but of every bucket,
+     * since a reset marks the start of the thread's next throttling decision.
+     */
+    void resetLastAllowedUse() {
+        LAST_ALLOWED_USES.get().clear();
+    }
+
+    /**
+     * Returns the nanos of leakage still pending at the current time, between zero and the burst
+     * period.
+     */
+    long usedNanos() {
+        return usedNanosAt(clock.getAsLong());
+    }
+
+    long usedNanosAt(final long now) {
+        final var cur = emptyAt.get();
+        if (cur == NEVER) {
+            return 0;
+        }
+        return Math.max(0, Math.min(burstNanos, cur - now));
+    }
+
+    void resetUsedTo(final long usedNanos, final long now) {
+        emptyAt.set(now + usedNanos);
+    }
+
+    boolean hasBeenUsed() {
+        return emptyAt.get() != NEVER;
+    }
+
+    void reset() {
+        emptyAt.set(NEVER);
+        LAST_ALLOWED_USES.get().remove(this);
+    }
+
+    long now() {
+        return clock.getAsLong();
+    }
+
+    long burstNanos() {
+        return burstNanos;
+    }
+
+    static long nanosOf(final Instant when) {
+        return when.getEpochSecond() * 1_000_000_000L + when.getNano();
+    }
+
+    static Instant instantOf(final long nanos) {
+        return Instant.ofEpochSecond(0, nanos);
+    }
+
+    private static long wallClockNanos() {
+        return nanosOf(Instant.now());
+    }
+
+    /**
+     * The nanos each bucket allowed the owning thread since its last reset; a throttling decision
+     * touches only a handful of buckets, so a linear scan beats hashing.
+     */
+    private static final class AllowedUses {
+        private static final int INITIAL_CAPACITY = 8;
+
+        private AtomicLeakyBucket[] buckets = new AtomicLeakyBucket[INITIAL_CAPACITY];
+        private long[] nanos = new long[INITIAL_CAPACITY];
+        private int size = 0;
+
+        void add(final AtomicLeakyBucket bucket, final long used) {
+            final var i = indexOf(bucket);
+            if (i >= 0) {
+                nanos[i] += used;
+                return;
+            }
+            if (size == buckets.length) {
+                buckets = Arrays.copyOf(buckets, 2 * size);
+                nanos = Arrays.copyOf(nanos, 2 * size);
+            }
+            buckets[size] = bucket;
+            nanos[size++] = used;
+        }
+
+        long remove(final AtomicLeakyBucket bucket) {
+            final var i = indexOf(bucket);
+            if (i < 0) {
+                return 0;
+            }
+            final var used = nanos[i];
+            size--;
+            buckets[i] = buckets[size];
+            nanos[i] = nanos[size];
+            buckets[size] = null;
+            return used;
+        }
+
+        void clear() {
+            Arrays.fill(buckets, 0, size, null);
+            size = 0;
+        }
+
+        private int indexOf(final AtomicLeakyBucket bucket) {
+            for (int i = 0; i < size; i++) {
+                if (buckets[i] == bucket) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /* --- Only used by unit tests --- */
+    void setClock(final LongSupplier clock) {
+        this.clock = clock;
+    }
+}
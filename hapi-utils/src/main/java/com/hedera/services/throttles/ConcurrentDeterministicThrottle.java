@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2021-2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.services.throttles;
+
+import static com.hedera.services.throttles.AtomicLeakyBucket.instantOf;
+import static com.hedera.services.throttles.AtomicLeakyBucket.nanosOf;
+
+import java.time.Instant;
+
+/**
+ * A {@link DeterministicThrottle} that many threads can use at once without locking, for the HAPI
+ * front-end; where each gRPC thread makes its throttling decisions against the wall clock.
+ *
+ * <p>It has the same name, rate, and capacity as the throttle it is copied from; but keeps its usage
+ * in an {@link AtomicLeakyBucket}, where one unit of leakage is one nanosecond. So using {@code n}
+ * transactions of capacity costs {@code ceil(n * capacityUnitsPerTxn / mtps)} nanos, and the bucket
+ * holds one burst period of nanos. Decisions may arrive slightly out of order, and never throw.
+ *
+ * <p>The capacity used and usage snapshots are given as of the current wall-clock time, since there
+ * is no single "last decision" across threads. And {@link #reclaimLastAllowedUse()} only reclaims
+ * the capacity last allowed to the calling thread; while {@link #resetLastAllowedUse()} starts the
+ * calling thread's next decision, forgetting what every concurrent throttle last allowed it.
+ */
+public class ConcurrentDeterministicThrottle extends DeterministicThrottle {
+    private final long mtps;
+    private final AtomicLeakyBucket bucket;
+
+    /**
+     * Returns a concurrent throttle with the same name, rate, and capacity as the given template;
+     * but with no usage.
+     *
+     * @param template the throttle to copy
+     * @return a concurrent copy of the template
+     */
+    public static ConcurrentDeterministicThrottle copyOf(final DeterministicThrottle template) {
+        return new ConcurrentDeterministicThrottle(template.delegate(), template.name());
+    }
+
+    private ConcurrentDeterministicThrottle(final BucketThrottle delegate, final String name) {
+        super(delegate, name);
+        this.mtps = delegate.mtps();
+        this.bucket = new AtomicLeakyBucket(delegate.bucket().totalCapacity() / mtps);
+    }
+
+    @Override
+    public boolean allow(final int n, final Instant now) {
+        final var unitsRequired = capacityRequiredFor(n);
+        if (unitsRequired < 0) {
+            return false;
+        }
+        return bucket.allow(nanosFor(unitsRequired), nanosOf(now));
+    }
+
+    @Override
+    public void reclaimLastAllowedUse() {
+        bucket.reclaimLastAllowedUse();
+    }
+
+    @Override
+    public void resetLastAllowedUse() {
+        bucket.resetLastAllowedUse();
+    }
+
+    @Override
+    public long used() {
+        return bucket.usedNanos() * mtps;
+    }
+
+    @Override
+    public UsageSnapshot usageSnapshot() {
+        final var now = bucket.now();
+        return new UsageSnapshot(bucket.usedNanosAt(now) * mtps, instantOf(now));
+    }
+
+    @Override
+    public void resetUsageTo(final UsageSnapshot usageSnapshot) {
+        final var lastDecisionTime = usageSnapshot.lastDecisionTime();
+        if (lastDecisionTime == null) {
+            bucket.reset();
+        } else {
+            bucket.resetUsedTo(nanosFor(usageSnapshot.used()), nanosOf(lastDecisionTime));
+        }
+    }
+
+    @Override
+    public void resetUsage() {
+        bucket.reset();
+    }
+
+    @Override
+    Instant lastDecisionTime() {
+        return bucket.hasBeenUsed() ? instantOf(bucket.now()) : null;
+    }
+
+    private long nanosFor(final long units) {
+        return units / mtps + (units % mtps == 0 ? 0 : 1);
+    }
+
+    AtomicLeakyBucket bucket() {
+        return bucket;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2021-2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.services.throttles;
+
+import static com.hedera.services.legacy.proto.utils.CommonUtils.productWouldOverflow;
+import static com.hedera.services.throttles.AtomicLeakyBucket.instantOf;
+import static com.hedera.services.throttles.AtomicLeakyBucket.nanosOf;
+
+import java.time.Instant;
+
+/**
+ * A {@link GasLimitDeterministicThrottle} that many threads can use at once without locking, for
+ * the HAPI front-end. Like the {@link ConcurrentDeterministicThrottle}, it keeps its usage in an
+ * {@link AtomicLeakyBucket} measured in nanoseconds of leakage; since the bucket leaks its full gas
+ * capacity every second, reserving {@code g} gas costs {@code ceil(g * 10^9 / capacity)} nanos.
+ */
+public class ConcurrentGasLimitThrottle extends GasLimitDeterministicThrottle {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long capacity;
+    private final AtomicLeakyBucket bucket = new AtomicLeakyBucket(NANOS_PER_SECOND);
+
+    /**
+     * Creates a new concurrent throttle allowing the given total amount of gas per second.
+     *
+     * @param capacity the total amount of gas allowed per sec.
+     */
+    public ConcurrentGasLimitThrottle(final long capacity) {
+        super(capacity);
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean allow(final Instant now, final long txGasLimit) {
+        if (txGasLimit < 0 || txGasLimit > capacity) {
+            return false;
+        }
+        return bucket.allow(nanosFor(txGasLimit), nanosOf(now));
+    }
+
+    @Override
+    public long getUsed() {
+        return gasFor(bucket.usedNanos());
+    }
+
+    @Override
+    public void leakUnusedGasPreviouslyReserved(final long value) {
+        if (value > 0) {
+            bucket.leak(nanosFor(Math.min(value, capacity)));
+        }
+    }
+
+    @Override
+    public DeterministicThrottle.UsageSnapshot usageSnapshot() {
+        final var now = bucket.now();
+        return new DeterministicThrottle.UsageSnapshot(
+                gasFor(bucket.usedNanosAt(now)), instantOf(now));
+    }
+
+    @Override
+    public void resetUsageTo(final DeterministicThrottle.UsageSnapshot usageSnapshot) {
+        final var lastDecisionTime = usageSnapshot.lastDecisionTime();
+        if (lastDecisionTime == null) {
+            bucket.reset();
+        } else {
+            bucket.resetUsedTo(nanosFor(usageSnapshot.used()), nanosOf(lastDecisionTime));
+        }
+    }
+
+    @Override
+    public void resetUsage() {
+        bucket.reset();
+    }
+
+    @Override
+    public void reclaimLastAllowedUse() {
+        bucket.reclaimLastAllowedUse();
+    }
+
+    @Override
+    public void resetLastAllowedUse() {
+        bucket.resetLastAllowedUse();
+    }
+
+    /* Only called with 0 <= gas <= capacity, so the result is at most one second of nanos */
+    private long nanosFor(final long gas) {
+        if (productWouldOverflow(gas, NANOS_PER_SECOND)) {
+            return (long) Math.ceil((double) gas / capacity * NANOS_PER_SECOND);
+        }
+        final var scaled = gas * NANOS_PER_SECOND;
+        return scaled / capacity + (scaled % capacity == 0 ? 0 : 1);
+    }
+
+    private long gasFor(final long nanos) {
+        if (productWouldOverflow(nanos, capacity)) {
+            return (long) ((double) nanos / NANOS_PER_SECOND * capacity);
+        }
+        return nanos * capacity / NANOS_PER_SECOND;
+    }
+
+    AtomicLeakyBucket bucket() {
+        return bucket;
+    }
+}
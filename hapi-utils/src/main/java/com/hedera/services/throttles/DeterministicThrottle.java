@@ -94,7 +94,7 @@ public class DeterministicThrottle {
                 BucketThrottle.withMtpsAndBurstPeriodMs(mtps, burstPeriodMs), name);
     }
 
-    private DeterministicThrottle(final BucketThrottle delegate, final String name) {
+    DeterministicThrottle(final BucketThrottle delegate, final String name) {
         this.name = name;
         this.delegate = delegate;
         lastDecisionTime = NEVER;
@@ -202,7 +202,10 @@ public class DeterministicThrottle {
                 .append(" (used=")
                 .append(used())
                 .append(")")
-                .append(lastDecisionTime == NEVER ? "" : (", last decision @ " + lastDecisionTime))
+                .append(
+                        lastDecisionTime() == NEVER
+                                ? ""
+                                : (", last decision @ " + lastDecisionTime()))
                 .append("}")
                 .toString();
     }
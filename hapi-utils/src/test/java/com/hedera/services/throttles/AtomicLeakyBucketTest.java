@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2021-2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.services.throttles;
+
+import static com.hedera.services.throttles.AtomicLeakyBucket.instantOf;
+import static com.hedera.services.throttles.AtomicLeakyBucket.nanosOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class AtomicLeakyBucketTest {
+    private static final long BURST_NANOS = 1_000L;
+
+    private final AtomicLeakyBucket subject = new AtomicLeakyBucket(BURST_NANOS);
+
+    @Test
+    void allowsUpToBurstAtOneInstant() {
+        assertFalse(subject.hasBeenUsed());
+        assertTrue(subject.allow(600, 10_000));
+        assertTrue(subject.allow(400, 10_000));
+        assertFalse(subject.allow(1, 10_000));
+
+        assertTrue(subject.hasBeenUsed());
+        assertEquals(BURST_NANOS, subject.usedNanosAt(10_000));
+    }
+
+    @Test
+    void rejectsUseLargerThanBurst() {
+        assertFalse(subject.allow(BURST_NANOS + 1, 10_000));
+        assertFalse(subject.hasBeenUsed());
+    }
+
+    @Test
+    void leaksAsTimePasses() {
+        assertTrue(subject.allow(1_000, 10_000));
+
+        assertEquals(750, subject.usedNanosAt(10_250));
+        assertTrue(subject.allow(250, 10_250));
+        assertFalse(subject.allow(1, 10_250));
+        assertEquals(0, subject.usedNanosAt(20_000));
+    }
+
+    @Test
+    void toleratesOutOfOrderDecisionTimes() {
+        assertTrue(subject.allow(500, 10_500));
+        assertTrue(subject.allow(400, 10_400));
+
+        assertEquals(900, subject.usedNanosAt(10_500));
+        assertFalse(subject.allow(101, 10_500));
+    }
+
+    @Test
+    void reclaimsOnlyThisThreadsLastAllowedUse() throws InterruptedException {
+        assertTrue(subject.allow(300, 10_000));
+        assertTrue(subject.allow(200, 10_000));
+        final var other = new Thread(() -> subject.allow(100, 10_000));
+        other.start();
+        other.join();
+
+        subject.reclaimLastAllowedUse();
+        assertEquals(100, subject.usedNanosAt(10_000));
+
+        subject.reclaimLastAllowedUse();
+        assertEquals(100, subject.usedNanosAt(10_000));
+    }
+
+    @Test
+    void resetLastAllowedUseForgetsReclaimableUse() {
+        assertTrue(subject.allow(300, 10_000));
+
+        subject.resetLastAllowedUse();
+        subject.reclaimLastAllowedUse();
+
+        assertEquals(300, subject.usedNanosAt(10_000));
+    }
+
+    @Test
+    void reclaimsOnlyThisBucketsLastAllowedUse() {
+        final var other = new AtomicLeakyBucket(BURST_NANOS);
+        subject.resetLastAllowedUse();
+        assertTrue(subject.allow(300, 10_000));
+        assertTrue(other.allow(200, 10_000));
+
+        subject.reclaimLastAllowedUse();
+
+        assertEquals(0, subject.usedNanosAt(10_000));
+        assertEquals(200, other.usedNanosAt(10_000));
+        other.reclaimLastAllowedUse();
+        assertEquals(0, other.usedNanosAt(10_000));
+    }
+
+    @Test
+    void resetLastAllowedUseStartsNewDecisionForEveryBucket() {
+        final var other = new AtomicLeakyBucket(BURST_NANOS);
+        assertTrue(subject.allow(300, 10_000));
+        assertTrue(other.allow(200, 10_000));
+
+        subject.resetLastAllowedUse();
+        subject.reclaimLastAllowedUse();
+        other.reclaimLastAllowedUse();
+
+        assertEquals(300, subject.usedNanosAt(10_000));
+        assertEquals(200, other.usedNanosAt(10_000));
+    }
+
+    @Test
+    void tracksAllowedUsesOfManyBuckets() {
+        final var buckets = new AtomicLeakyBucket[20];
+        subject.resetLastAllowedUse();
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new AtomicLeakyBucket(BURST_NANOS);
+            assertTrue(buckets[i].allow(i + 1, 10_000));
+        }
+
+        for (final var bucket : buckets) {
+            bucket.reclaimLastAllowedUse();
+            assertEquals(0, bucket.usedNanosAt(10_000));
+        }
+    }
+
+    @Test
+    void leakIgnoresNonPositiveAndUnusedBucket() {
+        subject.leak(100);
+        assertFalse(subject.hasBeenUsed());
+
+        assertTrue(subject.allow(300, 10_000));
+        subject.leak(0);
+        subject.leak(-5);
+        assertEquals(300, subject.usedNanosAt(10_000));
+    }
+
+    @Test
+    void resetsWork() {
+        subject.resetUsedTo(400, 10_000);
+        assertEquals(400, subject.usedNanosAt(10_000));
+
+        subject.reset();
+        assertFalse(subject.hasBeenUsed());
+        assertEquals(0, subject.usedNanosAt(10_000));
+    }
+
+    @Test
+    void usesInjectedClock() {
+        final var now = new AtomicLong(10_000);
+        subject.setClock(now::get);
+        assertTrue(subject.allow(800, 10_000));
+
+        now.set(10_200);
+
+        assertEquals(10_200, subject.now());
+        assertEquals(600, subject.usedNanos());
+        assertEquals(BURST_NANOS, subject.burstNanos());
+    }
+
+    @Test
+    void convertsInstants() {
+        final var when = Instant.ofEpochSecond(1_234_567, 890);
+
+        assertEquals(1_234_567_000_000_890L, nanosOf(when));
+        assertEquals(when, instantOf(nanosOf(when)));
+    }
+
+    @Test
+    void neverOverAllocatesUnderContention() throws InterruptedException {
+        final var bucket = new AtomicLeakyBucket(1_000_000L);
+        final var threads = 8;
+        final var allowed = new AtomicLong();
+        final var start = new CountDownLatch(1);
+        final var done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(
+                            () -> {
+                                try {
+                                    start.await();
+                                    for (int j = 0; j < 20_000; j++) {
+                                        if (bucket.allow(10, 10_000)) {
+                                            allowed.incrementAndGet();
+                                        }
+                                    }
+                                } catch (InterruptedException ignore) {
+                                    Thread.currentThread().interrupt();
+                                } finally {
+                                    done.countDown();
+                                }
+                            })
+                    .start();
+        }
+        start.countDown();
+        done.await();
+
+        assertEquals(100_000, allowed.get());
+        assertEquals(1_000_000L, bucket.usedNanosAt(10_000));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2021-2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.services.throttles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentDeterministicThrottleTest {
+    private static final Instant NOW = Instant.ofEpochSecond(1_234_567L, 890);
+
+    private final DeterministicThrottle template = DeterministicThrottle.withTpsNamed(2, "t2");
+    private final ConcurrentDeterministicThrottle subject =
+            ConcurrentDeterministicThrottle.copyOf(template);
+
+    @Test
+    void copiesTemplateWithoutUsage() {
+        template.allow(1, NOW);
+
+        final var fresh = ConcurrentDeterministicThrottle.copyOf(template);
+
+        assertEquals("t2", fresh.name());
+        assertEquals(template.mtps(), fresh.mtps());
+        assertEquals(template.capacity(), fresh.capacity());
+        assertEquals(1_000_000_000L, fresh.bucket().burstNanos());
+        assertEquals(0, fresh.used());
+        assertNull(fresh.lastDecisionTime());
+    }
+
+    @Test
+    void allowsUpToCapacity() {
+        assertTrue(subject.allow(1, NOW));
+        assertTrue(subject.allow(1, NOW));
+        assertFalse(subject.allow(1, NOW));
+        assertTrue(subject.allow(1, NOW.plusMillis(500)));
+    }
+
+    @Test
+    void rejectsUnrepresentableRequests() {
+        assertFalse(subject.allow(3, NOW));
+        assertFalse(subject.allow(Integer.MAX_VALUE, NOW));
+    }
+
+    @Test
+    void reclaimsLastAllowedUse() {
+        subject.bucket().setClock(() -> AtomicLeakyBucket.nanosOf(NOW));
+        assertTrue(subject.allow(1, NOW));
+
+        subject.reclaimLastAllowedUse();
+
+        assertEquals(0, subject.used());
+        assertTrue(subject.allow(2, NOW));
+    }
+
+    @Test
+    void resetLastAllowedUseForgetsReclaimableUse() {
+        subject.bucket().setClock(() -> AtomicLeakyBucket.nanosOf(NOW));
+        assertTrue(subject.allow(1, NOW));
+
+        subject.resetLastAllowedUse();
+        subject.reclaimLastAllowedUse();
+
+        assertEquals(BucketThrottle.capacityUnitsPerTxn(), subject.used());
+    }
+
+    @Test
+    void snapshotsAreAsOfClockTime() {
+        final var later = NOW.plusMillis(250);
+        subject.bucket().setClock(() -> AtomicLeakyBucket.nanosOf(later));
+        assertTrue(subject.allow(2, NOW));
+
+        final var snapshot = subject.usageSnapshot();
+
+        assertEquals(later, snapshot.lastDecisionTime());
+        assertEquals(3 * BucketThrottle.capacityUnitsPerTxn() / 2, snapshot.used());
+        assertEquals(later, subject.lastDecisionTime());
+    }
+
+    @Test
+    void resetsToSnapshot() {
+        subject.bucket().setClock(() -> AtomicLeakyBucket.nanosOf(NOW));
+        final var snapshot =
+                new DeterministicThrottle.UsageSnapshot(BucketThrottle.capacityUnitsPerTxn(), NOW);
+
+        subject.resetUsageTo(snapshot);
+
+        assertEquals(snapshot, subject.usageSnapshot());
+        assertTrue(subject.allow(1, NOW));
+        assertFalse(subject.allow(1, NOW));
+    }
+
+    @Test
+    void resetsToEmptySnapshotAndUsage() {
+        assertTrue(subject.allow(2, NOW));
+
+        subject.resetUsageTo(new DeterministicThrottle.UsageSnapshot(0, null));
+        assertFalse(subject.bucket().hasBeenUsed());
+
+        assertTrue(subject.allow(2, NOW));
+        subject.resetUsage();
+        assertFalse(subject.bucket().hasBeenUsed());
+    }
+
+    @Test
+    void concurrentThrottlingNeedsNoExternalLock() throws InterruptedException {
+        final var threads = 8;
+        final var throttle =
+                ConcurrentDeterministicThrottle.copyOf(DeterministicThrottle.withTps(500));
+        final var allowed = new AtomicInteger();
+        final var workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] =
+                    new Thread(
+                            () -> {
+                                for (int j = 0; j < 1_000; j++) {
+                                    if (throttle.allow(1, NOW)) {
+                                        allowed.incrementAndGet();
+                                    }
+                                }
+                            });
+            workers[i].start();
+        }
+        for (final var worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(500, allowed.get());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2021-2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.services.throttles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentGasLimitThrottleTest {
+    private static final long CAPACITY = 1_000L;
+    private static final Instant NOW = Instant.ofEpochSecond(1_234_567L, 890);
+
+    private final ConcurrentGasLimitThrottle subject = new ConcurrentGasLimitThrottle(CAPACITY);
+
+    @Test
+    void allowsUpToCapacityPerSecond() {
+        subject.bucket().setClock(() -> AtomicLeakyBucket.nanosOf(NOW));
+
+        assertTrue(subject.allow(NOW, 600));
+        assertFalse(subject.allow(NOW, 401));
+        assertTrue(subject.allow(NOW, 400));
+
+        assertEquals(CAPACITY, subject.getUsed());
+        assertEquals(CAPACITY, subject.getCapacity());
+        assertTrue(subject.allow(NOW.plusMillis(500), 500));
+    }
+
+    @Test
+    void rejectsInvalidGas() {
+        assertFalse(subject.allow(NOW, -1));
+        assertFalse(subject.allow(NOW, CAPACITY + 1));
+        assertFalse(subject.bucket().hasBeenUsed());
+    }
+
+    @Test
+    void leaksUnusedGas() {
+        subject.bucket().setClock(() -> AtomicLeakyBucket.nanosOf(NOW));
+        assertTrue(subject.allow(NOW, 800));
+
+        subject.leakUnusedGasPreviouslyReserved(300);
+        subject.leakUnusedGasPreviouslyReserved(-1);
+
+        assertEquals(500, subject.getUsed());
+    }
+
+    @Test
+    void reclaimsOnlyLastAllowedUse() {
+        subject.bucket().setClock(() -> AtomicLeakyBucket.nanosOf(NOW));
+        assertTrue(subject.allow(NOW, 300));
+        subject.resetLastAllowedUse();
+        assertTrue(subject.allow(NOW, 200));
+
+        subject.reclaimLastAllowedUse();
+
+        assertEquals(300, subject.getUsed());
+    }
+
+    @Test
+    void snapshotsAndResetsWork() {
+        subject.bucket().setClock(() -> AtomicLeakyBucket.nanosOf(NOW));
+        final var snapshot = new DeterministicThrottle.UsageSnapshot(250, NOW);
+
+        subject.resetUsageTo(snapshot);
+        assertEquals(snapshot, subject.usageSnapshot());
+
+        subject.resetUsageTo(new DeterministicThrottle.UsageSnapshot(0, null));
+        assertFalse(subject.bucket().hasBeenUsed());
+
+        assertTrue(subject.allow(NOW, 100));
+        subject.resetUsage();
+        assertEquals(0, subject.getUsed());
+    }
+
+    @Test
+    void handlesHugeCapacitiesWithoutOverflow() {
+        final var huge = new ConcurrentGasLimitThrottle(Long.MAX_VALUE / 2);
+        huge.bucket().setClock(() -> AtomicLeakyBucket.nanosOf(NOW));
+
+        assertTrue(huge.allow(NOW, Long.MAX_VALUE / 4));
+
+        assertEquals(Long.MAX_VALUE / 4, huge.getUsed(), Long.MAX_VALUE / 1_000_000_000.0);
+    }
+}
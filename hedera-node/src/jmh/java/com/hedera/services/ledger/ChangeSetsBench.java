@@ -0,0 +1,122 @@
+package com.hedera.services.ledger;
+
+/*-
+ * ‌
+ * Hedera Services JMH benchmarks
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hedera.services.ledger.properties.AccountProperty;
+import com.hedera.services.ledger.properties.PropertyChanges;
+import com.hedera.services.state.merkle.MerkleAccount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hedera.services.ledger.properties.AccountProperty.BALANCE;
+
+/**
+ * Compares the per-transaction cost of the change sets a {@link TransactionalLedger} keeps for the
+ * accounts in a simple transfer; that is, four hbar balance adjustments that are then persisted.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 30)
+public class ChangeSetsBench {
+	public enum Impl {
+		ENUM_MAP, SLOTS
+	}
+
+	private static final long[] ADJUSTMENTS = { 69_000, 420, -69_421, 1 };
+
+	// Which change set representation to use
+	@Param({ "ENUM_MAP", "SLOTS" })
+	Impl impl;
+	@Param("4")
+	int accountsPerTxn;
+
+	private long sign;
+	private MerkleAccount[] accounts;
+	private List<PropertyChanges<MerkleAccount, AccountProperty>> slots;
+
+	// --- Fixtures ---
+	@Setup(Level.Trial)
+	public void setupAccounts() {
+		sign = 1;
+		accounts = new MerkleAccount[accountsPerTxn];
+		slots = new ArrayList<>();
+		for (int j = 0; j < accountsPerTxn; j++) {
+			accounts[j] = new MerkleAccount();
+			accounts[j].setBalanceUnchecked(1_000_000_000_000L);
+			slots.add(new PropertyChanges<>(AccountProperty.class));
+		}
+	}
+
+	// --- Benchmarks ---
+	@Benchmark
+	public void adjustAndPersistBalances(final Blackhole blackhole) {
+		// Alternate the direction of the adjustments so no balance can go negative
+		sign = -sign;
+		if (impl == Impl.SLOTS) {
+			withSlots(blackhole);
+		} else {
+			withEnumMaps(blackhole);
+		}
+	}
+
+	// --- Helpers ---
+	private void withEnumMaps(final Blackhole blackhole) {
+		final List<Map<AccountProperty, Object>> changes = new ArrayList<>(accountsPerTxn);
+		for (int j = 0; j < accountsPerTxn; j++) {
+			final Map<AccountProperty, Object> changeSet = new EnumMap<>(AccountProperty.class);
+			changeSet.put(BALANCE, accounts[j].getBalance() + sign * ADJUSTMENTS[j % ADJUSTMENTS.length]);
+			changes.add(changeSet);
+		}
+		for (int j = 0; j < accountsPerTxn; j++) {
+			blackhole.consume((long) changes.get(j).get(BALANCE));
+			for (final var change : changes.get(j).entrySet()) {
+				change.getKey().setter().accept(accounts[j], change.getValue());
+			}
+		}
+	}
+
+	private void withSlots(final Blackhole blackhole) {
+		for (int j = 0; j < accountsPerTxn; j++) {
+			final var changeSet = slots.get(j);
+			changeSet.clear();
+			changeSet.setLong(BALANCE, accounts[j].getBalance() + sign * ADJUSTMENTS[j % ADJUSTMENTS.length]);
+		}
+		for (int j = 0; j < accountsPerTxn; j++) {
+			blackhole.consume(slots.get(j).getLong(BALANCE));
+			slots.get(j).persistTo(accounts[j]);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.hedera.services.sigs;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.services.legacy.exception.KeyPrefixMismatchException;
+import com.hedera.services.sigs.sourcing.OffsetSigMap;
+import com.hedera.services.sigs.sourcing.OffsetSigMapPubKeyToSigBytes;
+import com.hedera.services.sigs.sourcing.PojoSigMapPubKeyToSigBytes;
+import com.hederahashgraph.api.proto.java.SignatureMap;
+import com.hederahashgraph.api.proto.java.SignaturePair;
+import com.hederahashgraph.api.proto.java.SignedTransaction;
+import com.hederahashgraph.api.proto.java.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+
+/**
+ * Compares building a {@link PojoSigMapPubKeyToSigBytes} (which copies every prefix and signature out of the
+ * parsed {@link SignatureMap}) with building an {@link OffsetSigMapPubKeyToSigBytes} over the signed transaction
+ * bytes; and then looking up the signature for every key, as when expanding the sigs of a large threshold key.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class SigMapLookupBench {
+	private static final int ED25519_KEY_LEN = 32;
+	private static final int ED25519_SIG_LEN = 64;
+
+	@Param({ "2", "24", "64" })
+	private int numSigPairs;
+
+	private byte[][] pubKeys;
+	private byte[] signedTxnWrapperBytes;
+	private SignatureMap parsedSigMap;
+
+	@Setup(Level.Trial)
+	public void setupTxn() throws InvalidProtocolBufferException {
+		final var r = new SplittableRandom(1_234_567L);
+		pubKeys = new byte[numSigPairs][];
+		final var sigMap = SignatureMap.newBuilder();
+		for (int i = 0; i < numSigPairs; i++) {
+			pubKeys[i] = randomBytes(r, ED25519_KEY_LEN);
+			sigMap.addSigPair(SignaturePair.newBuilder()
+					.setPubKeyPrefix(ByteString.copyFrom(pubKeys[i]))
+					.setEd25519(ByteString.copyFrom(randomBytes(r, ED25519_SIG_LEN))));
+		}
+		signedTxnWrapperBytes = Transaction.newBuilder()
+				.setSignedTransactionBytes(SignedTransaction.newBuilder()
+						.setBodyBytes(ByteString.copyFrom(randomBytes(r, 128)))
+						.setSigMap(sigMap)
+						.build()
+						.toByteString())
+				.build()
+				.toByteArray();
+		/* The accessor parses the SignatureMap either way, so this is not part of the measured work */
+		parsedSigMap = SignedTransaction.parseFrom(
+				Transaction.parseFrom(signedTxnWrapperBytes).getSignedTransactionBytes()).getSigMap();
+	}
+
+	@Benchmark
+	public void pojoSigMap(final Blackhole bh) throws KeyPrefixMismatchException {
+		final var subject = new PojoSigMapPubKeyToSigBytes(parsedSigMap);
+		for (final var pubKey : pubKeys) {
+			bh.consume(subject.sigBytesFor(pubKey));
+		}
+	}
+
+	@Benchmark
+	public void offsetSigMap(final Blackhole bh) throws KeyPrefixMismatchException, InvalidProtocolBufferException {
+		final var subject = new OffsetSigMapPubKeyToSigBytes(OffsetSigMap.fromSignedTxnWrapper(signedTxnWrapperBytes));
+		for (final var pubKey : pubKeys) {
+			bh.consume(subject.sigBytesFor(pubKey));
+		}
+	}
+
+	private static byte[] randomBytes(final SplittableRandom r, final int n) {
+		final var bytes = new byte[n];
+		r.nextBytes(bytes);
+		return bytes;
+	}
+}
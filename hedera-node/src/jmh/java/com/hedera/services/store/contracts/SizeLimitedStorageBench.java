@@ -56,6 +56,14 @@ import static com.hedera.services.setup.InfrastructureType.CONTRACT_STORAGE_VM;
 @Warmup(iterations = 1, time = 10)
 @Measurement(iterations = 3, time = 30)
 public class SizeLimitedStorageBench {
+	public enum Impl {
+		MAP, PRIMITIVE
+	}
+
+	// Which pending-change bookkeeping to use
+	@Param({ "MAP", "PRIMITIVE" })
+	Impl impl;
+
 	// Application-level config overrides
 	@Param("163840")
 	int maxContractKvPairs;
@@ -71,7 +79,7 @@ public class SizeLimitedStorageBench {
 	// Config for mutation load profile
 	@Param("20")
 	int maxContractNum;
-	@Param("3")
+	@Param({ "3", "30", "300" })
 	int mutationsPerInvocation;
 	@Param("1000")
 	int uniqueMutationsPerIteration;
@@ -89,12 +97,22 @@ public class SizeLimitedStorageBench {
 	public void setupInfrastructure() {
 		registerConstructables();
 		bundle = loadOrCreateBundle(activeConfig(), requiredInfra());
-		subject = new SizeLimitedStorage(
-				IterableStorageUtils::overwritingUpsertMapping,
-				IterableStorageUtils::removeMapping,
-				mockPropertiesWith(maxContractKvPairs, maxAggregateKvPairs),
-				bundle.getterFor(ACCOUNTS_MM),
-				bundle.getterFor(CONTRACT_STORAGE_VM));
+		final var warmCache = new StorageWarmCache(100_000, 600, bundle.getterFor(CONTRACT_STORAGE_VM));
+		subject = (impl == Impl.PRIMITIVE)
+				? new PrimitiveSizeLimitedStorage(
+						IterableStorageUtils::overwritingUpsertMapping,
+						IterableStorageUtils::removeMapping,
+						mockPropertiesWith(maxContractKvPairs, maxAggregateKvPairs),
+						bundle.getterFor(ACCOUNTS_MM),
+						bundle.getterFor(CONTRACT_STORAGE_VM),
+						warmCache)
+				: new MapSizeLimitedStorage(
+						IterableStorageUtils::overwritingUpsertMapping,
+						IterableStorageUtils::removeMapping,
+						mockPropertiesWith(maxContractKvPairs, maxAggregateKvPairs),
+						bundle.getterFor(ACCOUNTS_MM),
+						bundle.getterFor(CONTRACT_STORAGE_VM),
+						warmCache);
 	}
 
 	@Setup(Level.Iteration)
@@ -0,0 +1,162 @@
+package com.hedera.services.store.schedule;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.state.virtual.schedule.ScheduleVirtualValue;
+import com.hedera.services.txns.span.ScheduleCreateExpansion;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.Key;
+import com.hederahashgraph.api.proto.java.SchedulableTransactionBody;
+import com.hederahashgraph.api.proto.java.ScheduleCreateTransactionBody;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.hederahashgraph.api.proto.java.TransferList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Compares the handle-thread cost of de-duplicating a stream of {@code ScheduleCreate} transactions, as
+ * when many payers submit the identical scheduled transfer to collect multisig signatures; either by
+ * re-parsing each schedule and re-computing its equality hash, or by re-using a {@link ScheduleCreateExpansion}
+ * computed during signature expansion. A plain map stands in for the {@code byEquality} virtual map, and
+ * each schedule not already in it is "created" by adding it.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 30)
+public class ScheduleDedupBench {
+	public enum Impl {
+		REPARSE, EXPANDED
+	}
+
+	private static final int NUM_SUBMISSIONS = 1_024;
+
+	@Param({ "REPARSE", "EXPANDED" })
+	Impl impl;
+	// How many distinct scheduled transactions the submissions are spread over
+	@Param({ "1", "64", "1024" })
+	int numDistinct;
+
+	private int i;
+	private long nextId;
+	private byte[][] bodyBytes;
+	private ScheduleCreateExpansion[] expansions;
+	private Map<Long, Map<String, Long>> byEquality;
+
+	// --- Fixtures ---
+	@Setup(Level.Trial)
+	public void setupSubmissions() {
+		final var r = new SplittableRandom(1_234_567L);
+		final var adminKey = Key.newBuilder()
+				.setEd25519(ByteString.copyFrom(randomBytes(r, 32)))
+				.build();
+		bodyBytes = new byte[NUM_SUBMISSIONS][];
+		expansions = new ScheduleCreateExpansion[NUM_SUBMISSIONS];
+		for (int j = 0; j < NUM_SUBMISSIONS; j++) {
+			final var scheduled = scheduledTransfer(j % numDistinct);
+			bodyBytes[j] = TransactionBody.newBuilder()
+					.setTransactionID(TransactionID.newBuilder()
+							.setAccountID(AccountID.newBuilder().setAccountNum(1_001L + j))
+							.setTransactionValidStart(Timestamp.newBuilder().setSeconds(1_234_567L)))
+					.setScheduleCreate(ScheduleCreateTransactionBody.newBuilder()
+							.setAdminKey(adminKey)
+							.setMemo("Multisig collection")
+							.setScheduledTransactionBody(scheduled))
+					.build()
+					.toByteArray();
+			expansions[j] = ScheduleCreateExpansion.from(bodyBytes[j]);
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void resetSchedules() {
+		i = 0;
+		nextId = 0;
+		byEquality = new HashMap<>();
+	}
+
+	// --- Benchmarks ---
+	@Benchmark
+	public void createOrDedup(final Blackhole bh) {
+		final var j = i++ % NUM_SUBMISSIONS;
+		final ScheduleVirtualValue schedule;
+		final long equalityKey;
+		final String equalityValue;
+		if (impl == Impl.REPARSE) {
+			schedule = ScheduleVirtualValue.from(bodyBytes[j], 0L);
+			equalityKey = schedule.equalityCheckKey();
+			equalityValue = schedule.equalityCheckValue();
+		} else {
+			final var expansion = expansions[j];
+			schedule = expansion.schedule();
+			equalityKey = expansion.equalityKey();
+			equalityValue = expansion.equalityValue();
+		}
+		final var existingId = byEquality
+				.computeIfAbsent(equalityKey, ignore -> new HashMap<>())
+				.putIfAbsent(equalityValue, nextId);
+		if (existingId == null) {
+			nextId++;
+		}
+		bh.consume(schedule);
+		bh.consume(existingId);
+	}
+
+	private static SchedulableTransactionBody scheduledTransfer(final int n) {
+		return SchedulableTransactionBody.newBuilder()
+				.setCryptoTransfer(CryptoTransferTransactionBody.newBuilder()
+						.setTransfers(TransferList.newBuilder()
+								.addAccountAmounts(adjust(2L, -1_000L - n))
+								.addAccountAmounts(adjust(3L, 1_000L + n))))
+				.build();
+	}
+
+	private static AccountAmount adjust(final long num, final long amount) {
+		return AccountAmount.newBuilder()
+				.setAccountID(AccountID.newBuilder().setAccountNum(num))
+				.setAmount(amount)
+				.build();
+	}
+
+	private static byte[] randomBytes(final SplittableRandom r, final int n) {
+		final var bytes = new byte[n];
+		r.nextBytes(bytes);
+		return bytes;
+	}
+}
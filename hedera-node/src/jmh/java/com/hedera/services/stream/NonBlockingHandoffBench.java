@@ -1,11 +1,13 @@
 package com.hedera.services.stream;
 
 import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.stats.MiscRunningAvgs;
 import org.mockito.Mockito;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -25,6 +27,10 @@ import static org.mockito.Mockito.when;
 @Warmup(iterations = 1, time = 10)
 @Measurement(iterations = 10, time = 30)
 public class NonBlockingHandoffBench {
+	private static final int BURST_SIZE = 1_000;
+
+	@Param({ "BLOCKING", "SPIN", "YIELD", "PARK" })
+	private HandoffWaitStrategy waitStrategy;
 
 	private NonBlockingHandoff nonBlockingHandoff;
 	private NodeLocalProperties nodeLocalProperties;
@@ -38,10 +44,14 @@ public class NonBlockingHandoffBench {
 		nodeLocalProperties = mock(NodeLocalProperties.class, Mockito.withSettings().stubOnly());
 		recordStreamManager = mock(RecordStreamManager.class, Mockito.withSettings().stubOnly());
 		when(nodeLocalProperties.recordStreamQueueCapacity()).thenReturn(5000);
+		when(nodeLocalProperties.recordStreamHandoffWaitStrategy()).thenReturn(waitStrategy);
 		doAnswer(
 				val -> receivingQueue.add(val.getArgument(0, RecordStreamObject.class))
 		).when(recordStreamManager).addRecordStreamObject(any());
-		nonBlockingHandoff = new NonBlockingHandoff(recordStreamManager, nodeLocalProperties);
+		nonBlockingHandoff = new NonBlockingHandoff(
+				recordStreamManager,
+				nodeLocalProperties,
+				mock(MiscRunningAvgs.class, Mockito.withSettings().stubOnly()));
 	}
 
 	@TearDown(Level.Trial)
@@ -55,4 +65,16 @@ public class NonBlockingHandoffBench {
 		receivingQueue.take();
 	}
 
+	@Benchmark
+	public void burstProcessing() throws InterruptedException {
+		for (int i = 0; i < BURST_SIZE; i++) {
+			while (!nonBlockingHandoff.offer(new RecordStreamObject())) {
+				Thread.onSpinWait();
+			}
+		}
+		for (int i = 0; i < BURST_SIZE; i++) {
+			receivingQueue.take();
+		}
+	}
+
 }
@@ -26,6 +26,7 @@ import com.hedera.services.context.FullEvmResult;
 import com.hedera.services.contracts.execution.HederaMessageCallProcessor;
 import com.hedera.services.contracts.execution.TransactionProcessingResult;
 import com.hedera.services.state.merkle.internals.BitPackUtils;
+import com.hedera.services.store.contracts.ContractStateChanges;
 import com.hederahashgraph.api.proto.java.ContractID;
 import com.swirlds.common.utility.CommonUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -106,10 +107,10 @@ public class RandomFactory {
 				randomStateChanges(params));
 	}
 
-	private Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> randomStateChanges(final EvmResultRandomParams params) {
+	private ContractStateChanges randomStateChanges(final EvmResultRandomParams params) {
 		return params.enableTraceability()
 				? randomStateChanges(params.numAddressesWithChanges(), params.numStateChangesPerAddress())
-				: Collections.emptyMap();
+				: ContractStateChanges.EMPTY;
 	}
 
 	private List<Log> randomLogs(final int maxLogs, final int maxLogData, final int maxLogTopics) {
@@ -142,7 +143,7 @@ public class RandomFactory {
 		return ans;
 	}
 
-	private Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> randomStateChanges(
+	private ContractStateChanges randomStateChanges(
 			final int numAddressesWithChanges,
 			final int changesPerAddress
 	) {
@@ -156,7 +157,7 @@ public class RandomFactory {
 			}
 			ans.put(address, changes);
 		}
-		return ans;
+		return ContractStateChanges.from(ans);
 	}
 
 	private Address randomAddress() {
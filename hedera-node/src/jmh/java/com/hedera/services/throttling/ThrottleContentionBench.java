@@ -0,0 +1,100 @@
+package com.hedera.services.throttling;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.throttles.ConcurrentDeterministicThrottle;
+import com.hedera.services.throttles.DeterministicThrottle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+
+/**
+ * Compares the throughput of HAPI throttling decisions made through a {@code synchronized} deterministic
+ * throttle (as when {@link HapiThrottling} serialized all ingest threads) with those made through a
+ * lock-free {@link ConcurrentDeterministicThrottle}, at increasing numbers of contending threads.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class ThrottleContentionBench {
+	/* High enough that the benchmark measures contention, not rejection */
+	private static final int TPS = 1_000_000;
+
+	public enum Impl {
+		SYNCHRONIZED, CAS
+	}
+
+	@Param({ "SYNCHRONIZED", "CAS" })
+	private Impl impl;
+
+	private DeterministicThrottle throttle;
+
+	@Setup(Level.Trial)
+	public void setupThrottle() {
+		final var template = DeterministicThrottle.withTpsNamed(TPS, "bench");
+		throttle = (impl == Impl.CAS) ? ConcurrentDeterministicThrottle.copyOf(template) : template;
+	}
+
+	@Benchmark
+	@Threads(1)
+	public boolean oneThread() {
+		return decide();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public boolean fourThreads() {
+		return decide();
+	}
+
+	@Benchmark
+	@Threads(16)
+	public boolean sixteenThreads() {
+		return decide();
+	}
+
+	@Benchmark
+	@Threads(64)
+	public boolean sixtyFourThreads() {
+		return decide();
+	}
+
+	private boolean decide() {
+		final var now = Instant.now();
+		if (impl == Impl.CAS) {
+			return throttle.allow(1, now);
+		}
+		synchronized (throttle) {
+			return throttle.allow(1, now);
+		}
+	}
+}
@@ -49,9 +49,7 @@ public class EntitiesInitializationFlow {
 	}
 
 	public void run() {
-		expiries.reviewExistingPayerRecords();
-		log.info("Payer records reviewed");
-		/* Use any entities stored in state to rebuild queue of expired entities. */
+		/* Payer records were already reviewed in the StoreInitializationFlow's scan of accounts. */
 		expiries.reviewExistingShortLivedEntities();
 		log.info("Short-lived entities reviewed");
 
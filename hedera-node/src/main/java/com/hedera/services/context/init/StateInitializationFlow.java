@@ -25,6 +25,7 @@ import com.hedera.services.config.HederaNumbers;
 import com.hedera.services.context.MutableStateChildren;
 import com.hedera.services.files.FileUpdateInterceptor;
 import com.hedera.services.files.HederaFs;
+import com.hedera.services.store.contracts.StorageWarmCache;
 import com.hedera.services.stream.RecordStreamManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -44,6 +45,7 @@ public class StateInitializationFlow {
 	private final HederaNumbers hederaNums;
 	private final RecordStreamManager recordStreamManager;
 	private final MutableStateChildren workingState;
+	private final StorageWarmCache storageWarmCache;
 	private final Set<FileUpdateInterceptor> fileUpdateInterceptors;
 
 	@Inject
@@ -52,13 +54,15 @@ public class StateInitializationFlow {
 			final HederaNumbers hederaNums,
 			final RecordStreamManager recordStreamManager,
 			final MutableStateChildren workingState,
-			final Set<FileUpdateInterceptor> fileUpdateInterceptors
+			final Set<FileUpdateInterceptor> fileUpdateInterceptors,
+			final StorageWarmCache storageWarmCache
 	) {
 		this.hfs = hfs;
 		this.hederaNums = hederaNums;
 		this.workingState = workingState;
 		this.recordStreamManager = recordStreamManager;
 		this.fileUpdateInterceptors = fileUpdateInterceptors;
+		this.storageWarmCache = storageWarmCache;
 	}
 
 	public void runWith(ServicesState activeState) {
@@ -66,6 +70,7 @@ public class StateInitializationFlow {
 
 		workingState.updateFrom(activeState);
 		log.info("Context updated with working state");
+		storageWarmCache.clear();
 
 		final var activeHash = activeState.runningHashLeaf().getRunningHash().getHash();
 		recordStreamManager.setInitialHash(activeHash);
@@ -21,8 +21,8 @@ package com.hedera.services.context.init;
  */
 
 import com.hedera.services.context.MutableStateChildren;
-import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.ledger.backing.BackingStore;
+import com.hedera.services.state.initialization.AccountsRehydrator;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleToken;
 import com.hedera.services.state.merkle.MerkleTokenRelStatus;
@@ -44,7 +44,7 @@ public class StoreInitializationFlow {
 	private static final Logger log = LogManager.getLogger(StoreInitializationFlow.class);
 
 	private final TokenStore tokenStore;
-	private final AliasManager aliasManager;
+	private final AccountsRehydrator accountsRehydrator;
 	private final ScheduleStore scheduleStore;
 	private final MutableStateChildren workingState;
 	private final BackingStore<AccountID, MerkleAccount> backingAccounts;
@@ -56,7 +56,7 @@ public class StoreInitializationFlow {
 	public StoreInitializationFlow(
 			final TokenStore tokenStore,
 			final ScheduleStore scheduleStore,
-			final AliasManager aliasManager,
+			final AccountsRehydrator accountsRehydrator,
 			final MutableStateChildren workingState,
 			final BackingStore<AccountID, MerkleAccount> backingAccounts,
 			final BackingStore<TokenID, MerkleToken> backingTokens,
@@ -70,7 +70,7 @@ public class StoreInitializationFlow {
 		this.workingState = workingState;
 		this.backingNfts = backingNfts;
 		this.backingTokenRels = backingTokenRels;
-		this.aliasManager = aliasManager;
+		this.accountsRehydrator = accountsRehydrator;
 	}
 
 	public void run() {
@@ -84,7 +84,7 @@ public class StoreInitializationFlow {
 		scheduleStore.rebuildViews();
 		log.info("Store internal views rebuilt");
 
-		aliasManager.rebuildAliasesMap(workingState.accounts());
-		log.info("Account aliases map rebuilt");
+		accountsRehydrator.rehydrateFrom(workingState.accounts());
+		log.info("Account-derived indexes (aliases, payer record expiries) rebuilt");
 	}
 }
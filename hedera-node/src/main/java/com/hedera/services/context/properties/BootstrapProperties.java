@@ -206,6 +206,7 @@ public final class BootstrapProperties implements PropertySource {
 			"balances.exportDir.path",
 			"balances.exportEnabled",
 			"balances.exportPeriodSecs",
+			"balances.exportStreaming",
 			"balances.exportTokenBalances",
 			"balances.nodeBalanceWarningThreshold",
 			"cache.records.ttl",
@@ -300,17 +301,31 @@ public final class BootstrapProperties implements PropertySource {
 			"grpc.tlsPort",
 			"hedera.accountsExportPath",
 			"hedera.exportAccountsOnStartup",
+			"hedera.localCalls.queueCapacity",
+			"hedera.localCalls.resultCacheSize",
+			"hedera.localCalls.maxWaitMs",
+			"hedera.localCalls.signedStateEnabled",
 			"hedera.prefetch.queueCapacity",
 			"hedera.prefetch.threadPoolSize",
 			"hedera.prefetch.codeCacheTtlSecs",
+			"hedera.prefetch.storageCacheSize",
+			"hedera.prefetch.storageCacheTtlSecs",
+			"hedera.queryAnswers.cacheEnabled",
+			"hedera.queryAnswers.maxCachedBytes",
 			"hedera.profiles.active",
 			"hedera.recordStream.isEnabled",
 			"hedera.recordStream.logDir",
 			"hedera.recordStream.logPeriod",
 			"hedera.recordStream.queueCapacity",
+			"hedera.recordStream.handoffWaitStrategy",
 			"iss.dumpFcms",
+			"iss.dumpFcmsCompressed",
 			"iss.resetPeriod",
 			"iss.roundsToDump",
+			"netty.ingest.maxSigBatchSize",
+			"netty.ingest.mode",
+			"netty.ingest.queueCapacity",
+			"netty.ingest.workerThreads",
 			"netty.mode",
 			"netty.prod.flowControlWindow",
 			"netty.prod.maxConcurrentCalls",
@@ -324,6 +339,9 @@ public final class BootstrapProperties implements PropertySource {
 			"netty.tlsCrt.path",
 			"netty.tlsKey.path",
 			"queries.blob.lookupRetries",
+			"stats.evmProfile.dumpDir",
+			"stats.evmProfile.dumpIntervalMs",
+			"stats.evmProfile.enabled",
 			"stats.executionTimesToTrack",
 			"stats.hapiOps.speedometerUpdateIntervalMs",
 			"stats.runningAvgHalfLifeSecs",
@@ -355,6 +373,7 @@ public final class BootstrapProperties implements PropertySource {
 			entry("balances.nodeBalanceWarningThreshold", AS_LONG),
 			entry("cache.records.ttl", AS_INT),
 			entry("dev.onlyDefaultNodeListens", AS_BOOLEAN),
+			entry("balances.exportStreaming", AS_BOOLEAN),
 			entry("balances.exportTokenBalances", AS_BOOLEAN),
 			entry("entities.maxLifetime", AS_LONG),
 			entry("entities.systemDeletable", AS_ENTITY_TYPES),
@@ -373,6 +392,14 @@ public final class BootstrapProperties implements PropertySource {
 			entry("hedera.prefetch.queueCapacity", AS_INT),
 			entry("hedera.prefetch.threadPoolSize", AS_INT),
 			entry("hedera.prefetch.codeCacheTtlSecs", AS_INT),
+			entry("hedera.prefetch.storageCacheSize", AS_INT),
+			entry("hedera.prefetch.storageCacheTtlSecs", AS_INT),
+			entry("hedera.localCalls.queueCapacity", AS_INT),
+			entry("hedera.localCalls.resultCacheSize", AS_INT),
+			entry("hedera.localCalls.maxWaitMs", AS_LONG),
+			entry("hedera.localCalls.signedStateEnabled", AS_BOOLEAN),
+			entry("hedera.queryAnswers.cacheEnabled", AS_BOOLEAN),
+			entry("hedera.queryAnswers.maxCachedBytes", AS_LONG),
 			entry("hedera.profiles.active", AS_PROFILE),
 			entry("hedera.realm", AS_LONG),
 			entry("hedera.recordStream.logPeriod", AS_LONG),
@@ -380,6 +407,7 @@ public final class BootstrapProperties implements PropertySource {
 			entry("hedera.recordStream.recordFileVersion", AS_INT),
 			entry("hedera.recordStream.signatureFileVersion", AS_INT),
 			entry("hedera.recordStream.queueCapacity", AS_INT),
+			entry("hedera.recordStream.handoffWaitStrategy", AS_HANDOFF_WAIT_STRATEGY),
 			entry("hedera.shard", AS_LONG),
 			entry("hedera.transaction.maxMemoUtf8Bytes", AS_INT),
 			entry("hedera.transaction.maxValidDuration", AS_LONG),
@@ -395,6 +423,10 @@ public final class BootstrapProperties implements PropertySource {
 			entry("ledger.autoRenewPeriod.maxDuration", AS_LONG),
 			entry("ledger.autoRenewPeriod.minDuration", AS_LONG),
 			entry("netty.mode", AS_PROFILE),
+			entry("netty.ingest.maxSigBatchSize", AS_INT),
+			entry("netty.ingest.mode", AS_INGEST_MODE),
+			entry("netty.ingest.queueCapacity", AS_INT),
+			entry("netty.ingest.workerThreads", AS_INT),
 			entry("queries.blob.lookupRetries", AS_INT),
 			entry("netty.startRetries", AS_INT),
 			entry("netty.startRetryIntervalMs", AS_LONG),
@@ -421,6 +453,7 @@ public final class BootstrapProperties implements PropertySource {
 			entry("ledger.schedule.txExpiryTimeSecs", AS_INT),
 			entry("ledger.records.maxQueryableByAccount", AS_INT),
 			entry("iss.dumpFcms", AS_BOOLEAN),
+			entry("iss.dumpFcmsCompressed", AS_BOOLEAN),
 			entry("iss.resetPeriod", AS_INT),
 			entry("iss.roundsToDump", AS_INT),
 			entry("netty.prod.flowControlWindow", AS_INT),
@@ -485,6 +518,8 @@ public final class BootstrapProperties implements PropertySource {
 			entry("consensus.handle.maxFollowingRecords", AS_LONG),
 			entry("tokens.nfts.areEnabled", AS_BOOLEAN),
 			entry("stats.executionTimesToTrack", AS_INT),
+			entry("stats.evmProfile.dumpIntervalMs", AS_LONG),
+			entry("stats.evmProfile.enabled", AS_BOOLEAN),
 			entry("hedera.allowances.maxTransactionLimit", AS_INT),
 			entry("hedera.allowances.maxAccountLimit", AS_INT),
 			entry("hedera.allowances.isEnabled", AS_BOOLEAN),
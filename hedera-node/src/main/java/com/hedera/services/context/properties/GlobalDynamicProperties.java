@@ -62,6 +62,7 @@ public class GlobalDynamicProperties {
 	private String pathToBalancesExportDir;
 	private boolean shouldExportBalances;
 	private boolean shouldExportTokenBalances;
+	private boolean shouldStreamBalancesExport;
 	private AccountID fundingAccount;
 	private int maxTransfersLen;
 	private int maxTokenTransfersLen;
@@ -169,6 +170,7 @@ public class GlobalDynamicProperties {
 		nodeBalanceWarningThreshold = properties.getLongProperty("balances.nodeBalanceWarningThreshold");
 		pathToBalancesExportDir = properties.getStringProperty("balances.exportDir.path");
 		shouldExportTokenBalances = properties.getBooleanProperty("balances.exportTokenBalances");
+		shouldStreamBalancesExport = properties.getBooleanProperty("balances.exportStreaming");
 		maxTransfersLen = properties.getIntProperty("ledger.transfers.maxLen");
 		maxTokenTransfersLen = properties.getIntProperty("ledger.tokenTransfers.maxLen");
 		maxNftTransfersLen = properties.getIntProperty("ledger.nftTransfers.maxLen");
@@ -329,6 +331,10 @@ public class GlobalDynamicProperties {
 		return shouldExportTokenBalances;
 	}
 
+	public boolean shouldStreamBalancesExport() {
+		return shouldStreamBalancesExport;
+	}
+
 	public int maxTransferListSize() {
 		return maxTransfersLen;
 	}
@@ -21,6 +21,8 @@ package com.hedera.services.context.properties;
  */
 
 import com.hedera.services.context.annotations.CompositeProps;
+import com.hedera.services.stream.HandoffWaitStrategy;
+import com.hedera.services.txns.submission.IngestMode;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -39,6 +41,7 @@ public class NodeLocalProperties {
 	private long recordLogPeriod;
 	private boolean recordStreamEnabled;
 	private int recordStreamQueueCapacity;
+	private HandoffWaitStrategy recordStreamHandoffWaitStrategy;
 	private int queryBlobLookupRetries;
 	private long nettyProdKeepAliveTime;
 	private String nettyTlsCrtPath;
@@ -56,13 +59,29 @@ public class NodeLocalProperties {
 	private Profile nettyMode;
 	private int nettyStartRetries;
 	private long nettyStartRetryIntervalMs;
+	private IngestMode nettyIngestMode;
+	private int nettyIngestWorkerThreads;
+	private int nettyIngestQueueCapacity;
+	private int nettyIngestMaxSigBatchSize;
 	private boolean dumpFcmsOnIss;
+	private boolean dumpFcmsCompressed;
 	private int numExecutionTimesToTrack;
 	private int issResetPeriod;
 	private int issRoundsToDump;
 	private int prefetchQueueCapacity;
 	private int prefetchThreadPoolSize;
 	private int prefetchCodeCacheTtlSecs;
+	private int prefetchStorageCacheSize;
+	private int prefetchStorageCacheTtlSecs;
+	private boolean statsEvmProfileEnabled;
+	private String statsEvmProfileDumpDir;
+	private long statsEvmProfileDumpIntervalMs;
+	private int localCallsQueueCapacity;
+	private int localCallsResultCacheSize;
+	private long localCallsMaxWaitMs;
+	private boolean localCallsSignedStateEnabled;
+	private boolean queryAnswersCacheEnabled;
+	private long queryAnswersMaxCachedBytes;
 
 	@Inject
 	public NodeLocalProperties(@CompositeProps PropertySource properties) {
@@ -82,6 +101,8 @@ public class NodeLocalProperties {
 		recordLogPeriod = properties.getLongProperty("hedera.recordStream.logPeriod");
 		recordStreamEnabled = properties.getBooleanProperty("hedera.recordStream.isEnabled");
 		recordStreamQueueCapacity = properties.getIntProperty("hedera.recordStream.queueCapacity");
+		recordStreamHandoffWaitStrategy = properties.getTypedProperty(
+				HandoffWaitStrategy.class, "hedera.recordStream.handoffWaitStrategy");
 		queryBlobLookupRetries = properties.getIntProperty("queries.blob.lookupRetries");
 		nettyProdKeepAliveTime = properties.getLongProperty("netty.prod.keepAliveTime");
 		nettyTlsCrtPath = properties.getStringProperty("netty.tlsCrt.path");
@@ -99,13 +120,29 @@ public class NodeLocalProperties {
 		nettyMode = properties.getProfileProperty("netty.mode");
 		nettyStartRetries = properties.getIntProperty("netty.startRetries");
 		nettyStartRetryIntervalMs = properties.getLongProperty("netty.startRetryIntervalMs");
+		nettyIngestMode = properties.getTypedProperty(IngestMode.class, "netty.ingest.mode");
+		nettyIngestWorkerThreads = properties.getIntProperty("netty.ingest.workerThreads");
+		nettyIngestQueueCapacity = properties.getIntProperty("netty.ingest.queueCapacity");
+		nettyIngestMaxSigBatchSize = properties.getIntProperty("netty.ingest.maxSigBatchSize");
 		dumpFcmsOnIss = properties.getBooleanProperty("iss.dumpFcms");
+		dumpFcmsCompressed = properties.getBooleanProperty("iss.dumpFcmsCompressed");
 		numExecutionTimesToTrack = properties.getIntProperty("stats.executionTimesToTrack");
 		issResetPeriod = properties.getIntProperty("iss.resetPeriod");
 		issRoundsToDump = properties.getIntProperty("iss.roundsToDump");
 		prefetchQueueCapacity = properties.getIntProperty("hedera.prefetch.queueCapacity");
 		prefetchThreadPoolSize = properties.getIntProperty("hedera.prefetch.threadPoolSize");
 		prefetchCodeCacheTtlSecs = properties.getIntProperty("hedera.prefetch.codeCacheTtlSecs");
+		prefetchStorageCacheSize = properties.getIntProperty("hedera.prefetch.storageCacheSize");
+		prefetchStorageCacheTtlSecs = properties.getIntProperty("hedera.prefetch.storageCacheTtlSecs");
+		statsEvmProfileEnabled = properties.getBooleanProperty("stats.evmProfile.enabled");
+		statsEvmProfileDumpDir = properties.getStringProperty("stats.evmProfile.dumpDir");
+		statsEvmProfileDumpIntervalMs = properties.getLongProperty("stats.evmProfile.dumpIntervalMs");
+		localCallsQueueCapacity = properties.getIntProperty("hedera.localCalls.queueCapacity");
+		localCallsResultCacheSize = properties.getIntProperty("hedera.localCalls.resultCacheSize");
+		localCallsMaxWaitMs = properties.getLongProperty("hedera.localCalls.maxWaitMs");
+		localCallsSignedStateEnabled = properties.getBooleanProperty("hedera.localCalls.signedStateEnabled");
+		queryAnswersCacheEnabled = properties.getBooleanProperty("hedera.queryAnswers.cacheEnabled");
+		queryAnswersMaxCachedBytes = properties.getLongProperty("hedera.queryAnswers.maxCachedBytes");
 	}
 
 	public int port() {
@@ -148,6 +185,10 @@ public class NodeLocalProperties {
 		return recordStreamQueueCapacity;
 	}
 
+	public HandoffWaitStrategy recordStreamHandoffWaitStrategy() {
+		return recordStreamHandoffWaitStrategy;
+	}
+
 	public int queryBlobLookupRetries() {
 		return queryBlobLookupRetries;
 	}
@@ -216,10 +257,30 @@ public class NodeLocalProperties {
 		return nettyStartRetryIntervalMs;
 	}
 
+	public IngestMode nettyIngestMode() {
+		return nettyIngestMode;
+	}
+
+	public int nettyIngestWorkerThreads() {
+		return nettyIngestWorkerThreads;
+	}
+
+	public int nettyIngestQueueCapacity() {
+		return nettyIngestQueueCapacity;
+	}
+
+	public int nettyIngestMaxSigBatchSize() {
+		return nettyIngestMaxSigBatchSize;
+	}
+
 	public boolean shouldDumpFcmsOnIss() {
 		return dumpFcmsOnIss;
 	}
 
+	public boolean shouldDumpFcmsCompressed() {
+		return dumpFcmsCompressed;
+	}
+
 	public int numExecutionTimesToTrack() {
 		return numExecutionTimesToTrack;
 	}
@@ -237,4 +298,44 @@ public class NodeLocalProperties {
 	public int prefetchThreadPoolSize() { return prefetchThreadPoolSize; }
 
 	public int prefetchCodeCacheTtlSecs() { return prefetchCodeCacheTtlSecs; }
+
+	public int prefetchStorageCacheSize() { return prefetchStorageCacheSize; }
+
+	public int prefetchStorageCacheTtlSecs() { return prefetchStorageCacheTtlSecs; }
+
+	public boolean statsEvmProfileEnabled() {
+		return statsEvmProfileEnabled;
+	}
+
+	public String statsEvmProfileDumpDir() {
+		return statsEvmProfileDumpDir;
+	}
+
+	public long statsEvmProfileDumpIntervalMs() {
+		return statsEvmProfileDumpIntervalMs;
+	}
+
+	public int localCallsQueueCapacity() {
+		return localCallsQueueCapacity;
+	}
+
+	public int localCallsResultCacheSize() {
+		return localCallsResultCacheSize;
+	}
+
+	public long localCallsMaxWaitMs() {
+		return localCallsMaxWaitMs;
+	}
+
+	public boolean localCallsSignedStateEnabled() {
+		return localCallsSignedStateEnabled;
+	}
+
+	public boolean queryAnswersCacheEnabled() {
+		return queryAnswersCacheEnabled;
+	}
+
+	public long queryAnswersMaxCachedBytes() {
+		return queryAnswersMaxCachedBytes;
+	}
 }
@@ -22,6 +22,8 @@ package com.hedera.services.context.properties;
 
 import com.hedera.services.exceptions.UnparseablePropertyException;
 import com.hedera.services.fees.calculation.CongestionMultipliers;
+import com.hedera.services.stream.HandoffWaitStrategy;
+import com.hedera.services.txns.submission.IngestMode;
 import com.hedera.services.sysfiles.domain.KnownBlockValues;
 import com.hedera.services.sysfiles.domain.throttling.ThrottleReqOpsScaleFactor;
 import com.hedera.services.utils.EntityIdUtils;
@@ -61,6 +63,8 @@ public interface PropertySource {
 	Function<String, Object> AS_ENTITY_NUM_RANGE = EntityIdUtils::parseEntityNumRange;
 	Function<String, Object> AS_ENTITY_TYPES = EntityType::csvTypeSet;
 	Function<String, Object> AS_INSTANT = Instant::parse;
+	Function<String, Object> AS_HANDOFF_WAIT_STRATEGY = v -> HandoffWaitStrategy.valueOf(v.toUpperCase());
+	Function<String, Object> AS_INGEST_MODE = v -> IngestMode.valueOf(v.toUpperCase());
 
 	boolean containsProperty(String name);
 
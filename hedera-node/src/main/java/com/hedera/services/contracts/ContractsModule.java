@@ -52,6 +52,7 @@ import com.hedera.services.store.contracts.EntityAccess;
 import com.hedera.services.store.contracts.HederaMutableWorldState;
 import com.hedera.services.store.contracts.HederaWorldState;
 import com.hedera.services.store.contracts.MutableEntityAccess;
+import com.hedera.services.store.contracts.PrimitiveSizeLimitedStorage;
 import com.hedera.services.store.contracts.SizeLimitedStorage;
 import com.hedera.services.store.contracts.precompile.ExchangeRatePrecompiledContract;
 import com.hedera.services.store.contracts.precompile.HTSPrecompiledContract;
@@ -89,6 +90,10 @@ public interface ContractsModule {
 	@Singleton
 	HederaMutableWorldState provideMutableWorldState(HederaWorldState hederaWorldState);
 
+	@Binds
+	@Singleton
+	SizeLimitedStorage provideSizeLimitedStorage(PrimitiveSizeLimitedStorage primitiveSizeLimitedStorage);
+
 	@Provides
 	@Singleton
 	@BytecodeSource
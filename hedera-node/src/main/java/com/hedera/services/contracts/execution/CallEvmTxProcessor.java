@@ -24,6 +24,7 @@ package com.hedera.services.contracts.execution;
 
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.ledger.accounts.AliasManager;
+import com.hedera.services.stats.EvmProfileCounters;
 import com.hedera.services.store.contracts.CodeCache;
 import com.hedera.services.store.contracts.HederaMutableWorldState;
 import com.hedera.services.store.models.Account;
@@ -64,7 +65,8 @@ public class CallEvmTxProcessor extends EvmTxProcessor {
 			final Map<String, PrecompiledContract> precompiledContractMap,
 			final AliasManager aliasManager,
 			final StorageExpiry storageExpiry,
-			final InHandleBlockMetaSource blockMetaSource
+			final InHandleBlockMetaSource blockMetaSource,
+			final EvmProfileCounters evmProfileCounters
 	) {
 		super(
 				worldState,
@@ -73,7 +75,8 @@ public class CallEvmTxProcessor extends EvmTxProcessor {
 				gasCalculator,
 				hederaOperations,
 				precompiledContractMap,
-				blockMetaSource);
+				blockMetaSource,
+				evmProfileCounters);
 		this.codeCache = codeCache;
 		this.aliasManager = aliasManager;
 		this.storageExpiry = storageExpiry;
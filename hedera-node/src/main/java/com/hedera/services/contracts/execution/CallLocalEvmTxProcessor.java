@@ -24,6 +24,7 @@ package com.hedera.services.contracts.execution;
 
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.ledger.accounts.AliasManager;
+import com.hedera.services.stats.EvmProfileCounters;
 import com.hedera.services.store.contracts.CodeCache;
 import com.hedera.services.store.contracts.HederaMutableWorldState;
 import com.hedera.services.store.models.Account;
@@ -64,14 +65,16 @@ public class CallLocalEvmTxProcessor extends EvmTxProcessor {
 			final Set<Operation> hederaOperations,
 			final Map<String, PrecompiledContract> precompiledContractMap,
 			final AliasManager aliasManager,
-			final StorageExpiry storageExpiry
+			final StorageExpiry storageExpiry,
+			final EvmProfileCounters evmProfileCounters
 	) {
 		super(
 				livePricesSource,
 				dynamicProperties,
 				gasCalculator,
 				hederaOperations,
-				precompiledContractMap);
+				precompiledContractMap,
+				evmProfileCounters);
 		this.codeCache = codeCache;
 		this.aliasManager = aliasManager;
 		this.storageExpiry = storageExpiry;
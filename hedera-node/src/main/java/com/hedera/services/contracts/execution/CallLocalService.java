@@ -0,0 +1,321 @@
+package com.hedera.services.contracts.execution;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.config.NetworkInfo;
+import com.hedera.services.context.StateChildren;
+import com.hedera.services.context.primitives.SignedStateViewFactory;
+import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.ledger.accounts.AliasManager;
+import com.hedera.services.ledger.ids.EntityIdSource;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.store.AccountStore;
+import com.hedera.services.store.contracts.CodeCache;
+import com.hedera.services.store.contracts.HederaWorldState;
+import com.hedera.services.store.contracts.StaticEntityAccess;
+import com.hedera.services.store.schedule.ScheduleStore;
+import com.hedera.services.txns.validation.OptionValidator;
+import com.hedera.services.utils.accessors.SignedTxnAccessor;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.ContractCallLocalQuery;
+import com.hederahashgraph.api.proto.java.ContractCallLocalResponse;
+import com.hederahashgraph.api.proto.java.ContractID;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hedera.services.utils.EntityIdUtils.unaliased;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+
+/**
+ * Executes {@link ContractCallLocalQuery} operations on a single dedicated thread fed by a bounded queue.
+ * By default each call runs against the same working view its contract id was validated in, with block
+ * metadata from the latest signed state.
+ *
+ * When {@code hedera.localCalls.signedStateEnabled} is set, a call whose contract exists in the latest
+ * signed state instead runs against that state; and its response is cached for as long as that signed
+ * state remains the latest. Since a local call cannot change state, its response is then a pure function
+ * of the signed state and its (contract, call data, sender, gas) inputs. So many clients polling the same
+ * {@code view} function between rounds share a single EVM execution; and concurrent identical calls wait on
+ * the same in-flight execution. The whole cache is dropped as soon as a newer signed state is seen. A call
+ * to a contract too new to be in the signed state still runs, uncached, against the working view.
+ *
+ * Running every local call on one thread also means the shared {@link CallLocalEvmTxProcessor} is never
+ * re-targeted at a different world state while an execution is in progress, and that read-heavy traffic
+ * can never occupy more than one core that consensus handling might need.
+ */
+@Singleton
+public class CallLocalService {
+	private static final double NANOS_PER_MILLI = 1_000_000.0;
+	static final String EXECUTOR_THREAD_NAME = "local-call-executor";
+	private static final Runnable NO_UNCACHING = () -> { };
+
+	private final EntityIdSource ids;
+	private final AliasManager aliasManager;
+	private final AccountStore accountStore;
+	private final OptionValidator validator;
+	private final NetworkInfo networkInfo;
+	private final ScheduleStore scheduleStore;
+	private final MiscRunningAvgs runningAvgs;
+	private final NodeLocalProperties nodeProperties;
+	private final GlobalDynamicProperties dynamicProperties;
+	private final CallLocalEvmTxProcessor evmTxProcessor;
+	private final SignedStateViewFactory stateViewFactory;
+	final ThreadPoolExecutor executor;
+	private final int maxCachedResults;
+	private final long maxWaitMs;
+	private final boolean signedStateEnabled;
+	private final AtomicReference<RoundResults> currentRound =
+			new AtomicReference<>(new RoundResults(Instant.EPOCH));
+
+	Execution execution = this::doExecute;
+
+	@Inject
+	public CallLocalService(
+			final EntityIdSource ids,
+			final AliasManager aliasManager,
+			final AccountStore accountStore,
+			final OptionValidator validator,
+			final NetworkInfo networkInfo,
+			final ScheduleStore scheduleStore,
+			final MiscRunningAvgs runningAvgs,
+			final NodeLocalProperties nodeProperties,
+			final GlobalDynamicProperties dynamicProperties,
+			final CallLocalEvmTxProcessor evmTxProcessor,
+			final SignedStateViewFactory stateViewFactory
+	) {
+		this.ids = ids;
+		this.aliasManager = aliasManager;
+		this.accountStore = accountStore;
+		this.validator = validator;
+		this.networkInfo = networkInfo;
+		this.scheduleStore = scheduleStore;
+		this.runningAvgs = runningAvgs;
+		this.nodeProperties = nodeProperties;
+		this.dynamicProperties = dynamicProperties;
+		this.evmTxProcessor = evmTxProcessor;
+		this.stateViewFactory = stateViewFactory;
+		this.maxCachedResults = nodeProperties.localCallsResultCacheSize();
+		this.maxWaitMs = nodeProperties.localCallsMaxWaitMs();
+		this.signedStateEnabled = nodeProperties.localCallsSignedStateEnabled();
+		this.executor = new ThreadPoolExecutor(
+				1, 1,
+				0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(nodeProperties.localCallsQueueCapacity()),
+				r -> {
+					final var thread = new Thread(r, EXECUTOR_THREAD_NAME);
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	/**
+	 * Returns the response to the given local call; either from the cache for the latest signed state, or by
+	 * executing the call on the local call executor.
+	 *
+	 * @param op
+	 * 		the local call to answer
+	 * @param workingView
+	 * 		the view the call was validated in
+	 * @return the response, or empty if there is no usable signed state, the executor is saturated, or the
+	 * 		execution did not finish in time
+	 */
+	public Optional<ContractCallLocalResponse> execute(final ContractCallLocalQuery op, final StateView workingView) {
+		final var latest = stateViewFactory.childrenOfLatestSignedState();
+		if (latest.isEmpty()) {
+			return Optional.empty();
+		}
+		final var children = latest.get();
+		if (!signedStateEnabled) {
+			return await(submit(op, workingView, children, NO_UNCACHING));
+		}
+		final var signedView = new StateView(scheduleStore, children, networkInfo);
+		if (!isCallableIn(signedView, op)) {
+			return await(submit(op, workingView, children, NO_UNCACHING));
+		}
+
+		final var results = resultsFor(children.signedAt());
+		final var key = new CallKey(op.getContractID(), op.getFunctionParameters(), senderOf(op), op.getGas());
+
+		final var pending = new CompletableFuture<Optional<ContractCallLocalResponse>>();
+		CompletableFuture<Optional<ContractCallLocalResponse>> existing = null;
+		var inserted = false;
+		if (results != null) {
+			existing = results.get(key);
+			if (existing == null && results.size() < maxCachedResults) {
+				existing = results.putIfAbsent(key, pending);
+				inserted = existing == null;
+			}
+		}
+		runningAvgs.recordLocalCallCacheHit(existing != null);
+		if (existing != null) {
+			return await(existing);
+		}
+
+		/* Failed or refused executions must not be served to later callers */
+		final Runnable uncache = inserted ? () -> results.remove(key, pending) : NO_UNCACHING;
+		submit(op, signedView, children, pending, uncache);
+		return await(pending);
+	}
+
+	private CompletableFuture<Optional<ContractCallLocalResponse>> submit(
+			final ContractCallLocalQuery op,
+			final StateView view,
+			final StateChildren signedChildren,
+			final Runnable uncache
+	) {
+		final var pending = new CompletableFuture<Optional<ContractCallLocalResponse>>();
+		submit(op, view, signedChildren, pending, uncache);
+		return pending;
+	}
+
+	private void submit(
+			final ContractCallLocalQuery op,
+			final StateView view,
+			final StateChildren signedChildren,
+			final CompletableFuture<Optional<ContractCallLocalResponse>> pending,
+			final Runnable uncache
+	) {
+		final var enqueuedAt = System.nanoTime();
+		try {
+			executor.execute(() -> {
+				runningAvgs.recordLocalCallQueueWaitMs((System.nanoTime() - enqueuedAt) / NANOS_PER_MILLI);
+				try {
+					pending.complete(Optional.of(execution.apply(op, view, signedChildren)));
+				} catch (Exception e) {
+					uncache.run();
+					pending.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException ignore) {
+			uncache.run();
+			pending.complete(Optional.empty());
+		}
+	}
+
+	/* A contract created since the latest signed state was validated in the working view, but is not callable here */
+	private boolean isCallableIn(final StateView signedView, final ContractCallLocalQuery op) {
+		final var target = unaliased(op.getContractID(), aliasManager);
+		return validator.queryableContractStatus(target, signedView.contracts()) == OK;
+	}
+
+	private ContractCallLocalResponse doExecute(
+			final ContractCallLocalQuery op,
+			final StateView view,
+			final StateChildren signedChildren
+	) {
+		final var entityAccess = new StaticEntityAccess(view, aliasManager, validator);
+		final var codeCache = new CodeCache(nodeProperties, entityAccess);
+		final var worldState = new HederaWorldState(ids, entityAccess, codeCache, dynamicProperties);
+		evmTxProcessor.setWorldState(worldState);
+		evmTxProcessor.setBlockMetaSource(StaticBlockMetaSource.from(signedChildren.networkCtx()));
+		return CallLocalExecutor.execute(accountStore, evmTxProcessor, op, aliasManager, entityAccess);
+	}
+
+	/**
+	 * Returns the result cache for the signed state with the given signing time, replacing the current
+	 * cache if this is a newer state; or null if the state is older than the one already being cached.
+	 */
+	@Nullable
+	private ConcurrentHashMap<CallKey, CompletableFuture<Optional<ContractCallLocalResponse>>> resultsFor(
+			final Instant signedAt
+	) {
+		var round = currentRound.get();
+		while (!round.signedAt().equals(signedAt)) {
+			if (signedAt.isBefore(round.signedAt())) {
+				return null;
+			}
+			final var next = new RoundResults(signedAt);
+			if (currentRound.compareAndSet(round, next)) {
+				return next.results();
+			}
+			round = currentRound.get();
+		}
+		return round.results();
+	}
+
+	private Optional<ContractCallLocalResponse> await(
+			final CompletableFuture<Optional<ContractCallLocalResponse>> future
+	) {
+		try {
+			return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Optional.empty();
+		} catch (TimeoutException e) {
+			// The execution keeps running, and may still complete for later callers; but this caller can retry
+			return Optional.empty();
+		} catch (ExecutionException e) {
+			final var cause = e.getCause();
+			if (cause instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private static AccountID senderOf(final ContractCallLocalQuery op) {
+		if (op.hasSenderId()) {
+			return op.getSenderId();
+		}
+		return SignedTxnAccessor.uncheckedFrom(op.getHeader().getPayment())
+				.getTxn()
+				.getTransactionID()
+				.getAccountID();
+	}
+
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@FunctionalInterface
+	interface Execution {
+		ContractCallLocalResponse apply(ContractCallLocalQuery op, StateView view, StateChildren signedChildren);
+	}
+
+	private record CallKey(ContractID contract, ByteString callData, AccountID sender, long gas) {
+	}
+
+	private record RoundResults(
+			Instant signedAt,
+			ConcurrentHashMap<CallKey, CompletableFuture<Optional<ContractCallLocalResponse>>> results
+	) {
+		private RoundResults(final Instant signedAt) {
+			this(signedAt, new ConcurrentHashMap<>());
+		}
+	}
+}
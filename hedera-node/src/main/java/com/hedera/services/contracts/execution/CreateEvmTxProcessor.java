@@ -23,6 +23,7 @@ package com.hedera.services.contracts.execution;
  */
 
 import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.stats.EvmProfileCounters;
 import com.hedera.services.store.contracts.CodeCache;
 import com.hedera.services.store.contracts.HederaMutableWorldState;
 import com.hedera.services.store.models.Account;
@@ -63,7 +64,8 @@ public class CreateEvmTxProcessor extends EvmTxProcessor {
 			final Set<Operation> hederaOperations,
 			final Map<String, PrecompiledContract> precompiledContractMap,
 			final StorageExpiry storageExpiry,
-			final InHandleBlockMetaSource blockMetaSource
+			final InHandleBlockMetaSource blockMetaSource,
+			final EvmProfileCounters evmProfileCounters
 	) {
 		super(
 				worldState,
@@ -72,7 +74,8 @@ public class CreateEvmTxProcessor extends EvmTxProcessor {
 				gasCalculator,
 				hederaOperations,
 				precompiledContractMap,
-				blockMetaSource);
+				blockMetaSource,
+				evmProfileCounters);
 		this.codeCache = codeCache;
 		this.storageExpiry = storageExpiry;
 	}
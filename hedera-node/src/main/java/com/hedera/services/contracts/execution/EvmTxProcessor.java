@@ -24,13 +24,14 @@ package com.hedera.services.contracts.execution;
 
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.exceptions.InvalidTransactionException;
+import com.hedera.services.stats.EvmProfileCounters;
+import com.hedera.services.store.contracts.ContractStateChanges;
 import com.hedera.services.store.contracts.HederaMutableWorldState;
 import com.hedera.services.store.contracts.HederaWorldState;
 import com.hedera.services.store.models.Account;
 import com.hedera.services.store.models.Id;
 import com.hedera.services.txns.contract.helpers.StorageExpiry;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Wei;
@@ -88,6 +89,7 @@ abstract class EvmTxProcessor {
 	private final LivePricesSource livePricesSource;
 	private final AbstractMessageProcessor messageCallProcessor;
 	private final AbstractMessageProcessor contractCreationProcessor;
+	private final EvmProfileCounters evmProfileCounters;
 	protected final GlobalDynamicProperties dynamicProperties;
 
 	protected EvmTxProcessor(
@@ -95,7 +97,8 @@ abstract class EvmTxProcessor {
 			final GlobalDynamicProperties dynamicProperties,
 			final GasCalculator gasCalculator,
 			final Set<Operation> hederaOperations,
-			final Map<String, PrecompiledContract> precompiledContractMap
+			final Map<String, PrecompiledContract> precompiledContractMap,
+			final EvmProfileCounters evmProfileCounters
 	) {
 		this(
 				null,
@@ -104,7 +107,8 @@ abstract class EvmTxProcessor {
 				gasCalculator,
 				hederaOperations,
 				precompiledContractMap,
-				null);
+				null,
+				evmProfileCounters);
 	}
 
 	protected void setBlockMetaSource(final BlockMetaSource blockMetaSource) {
@@ -122,9 +126,11 @@ abstract class EvmTxProcessor {
 			final GasCalculator gasCalculator,
 			final Set<Operation> hederaOperations,
 			final Map<String, PrecompiledContract> precompiledContractMap,
-			final BlockMetaSource blockMetaSource
+			final BlockMetaSource blockMetaSource,
+			final EvmProfileCounters evmProfileCounters
 	) {
 		this.worldState = worldState;
+		this.evmProfileCounters = evmProfileCounters;
 		this.livePricesSource = livePricesSource;
 		this.dynamicProperties = dynamicProperties;
 		this.gasCalculator = gasCalculator;
@@ -276,16 +282,19 @@ abstract class EvmTxProcessor {
 		final MessageFrame initialFrame = buildInitialFrame(commonInitialFrame, receiver, payload, value);
 		messageFrameStack.addFirst(initialFrame);
 
+		final var tracer = evmProfileCounters.isEnabled()
+				? new ProfilingHederaTracer(evmProfileCounters)
+				: new HederaTracer();
 		while (!messageFrameStack.isEmpty()) {
-			process(messageFrameStack.peekFirst(), new HederaTracer());
+			process(messageFrameStack.peekFirst(), tracer);
 		}
 
 		var gasUsedByTransaction = calculateGasUsedByTX(gasLimit, initialFrame);
 		final long sbhRefund = updater.getSbhRefund();
-		final Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> stateChanges;
+		final ContractStateChanges stateChanges;
 
 		if (isStatic) {
-			stateChanges = Map.of();
+			stateChanges = ContractStateChanges.EMPTY;
 		} else {
 			// return gas price to accounts
 			final long refunded = gasLimit - gasUsedByTransaction + sbhRefund;
@@ -315,7 +324,7 @@ abstract class EvmTxProcessor {
 			if (dynamicProperties.shouldEnableTraceability()) {
 				stateChanges = updater.getFinalStateChanges();
 			} else {
-				stateChanges = Map.of();
+				stateChanges = ContractStateChanges.EMPTY;
 			}
 
 			// Commit top level updater
@@ -377,7 +386,11 @@ abstract class EvmTxProcessor {
 	protected void process(final MessageFrame frame, final OperationTracer operationTracer) {
 		final AbstractMessageProcessor executor = getMessageProcessor(frame.getType());
 
-		executor.process(frame, operationTracer);
+		if (operationTracer instanceof ProfilingHederaTracer profilingTracer) {
+			profilingTracer.profileFrame(frame, () -> executor.process(frame, operationTracer));
+		} else {
+			executor.process(frame, operationTracer);
+		}
 	}
 
 	private AbstractMessageProcessor getMessageProcessor(final MessageFrame.Type type) {
@@ -0,0 +1,96 @@
+package com.hedera.services.contracts.execution;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.stats.EvmProfileCounters;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+
+/**
+ * A {@link HederaTracer} that also measures the wall-clock time and gas of each executed opcode and
+ * of each precompile call, and aggregates them into the given {@link EvmProfileCounters}.
+ *
+ * Precompiles are not executed by an operation, but when their message frame is started; so the
+ * {@link EvmTxProcessor} wraps each frame's processing in {@link #profileFrame(MessageFrame, Runnable)},
+ * and the time is attributed to a precompile only if {@link #tracePrecompileCall(MessageFrame, long, Bytes)}
+ * fired during that processing.
+ *
+ * Note the gas recorded for a {@code CALL} or {@code CREATE} family opcode includes the gas
+ * forwarded to its child frame, since the unused remainder is only refunded when that frame completes.
+ */
+public class ProfilingHederaTracer extends HederaTracer {
+	private static final int SELECTOR_LEN = 4;
+	private static final long NO_PRECOMPILE_CALL = -1;
+
+	private final EvmProfileCounters counters;
+
+	private long precompileGas = NO_PRECOMPILE_CALL;
+
+	public ProfilingHederaTracer(final EvmProfileCounters counters) {
+		this.counters = counters;
+	}
+
+	@Override
+	public void traceExecution(final MessageFrame frame, final ExecuteOperation executeOperation) {
+		final var operation = frame.getCurrentOperation();
+		final var gasBefore = frame.getRemainingGas();
+		final var start = System.nanoTime();
+		super.traceExecution(frame, executeOperation);
+		final var elapsed = System.nanoTime() - start;
+		if (operation != null) {
+			final var gasCharged = Math.max(0L, gasBefore - frame.getRemainingGas());
+			counters.recordOpcode(operation.getOpcode(), operation.getName(), elapsed, gasCharged);
+		}
+	}
+
+	@Override
+	public void tracePrecompileCall(final MessageFrame frame, final long gasRequirement, final Bytes output) {
+		precompileGas = gasRequirement;
+	}
+
+	/**
+	 * Runs the given processing of a message frame; and if it turns out to have been a precompile call,
+	 * records its elapsed time under the precompile's address and function selector.
+	 *
+	 * @param frame
+	 * 		the frame being processed
+	 * @param processing
+	 * 		the processing to run
+	 */
+	public void profileFrame(final MessageFrame frame, final Runnable processing) {
+		precompileGas = NO_PRECOMPILE_CALL;
+		final var start = System.nanoTime();
+		processing.run();
+		if (precompileGas != NO_PRECOMPILE_CALL) {
+			counters.recordPrecompile(
+					frame.getContractAddress().toHexString(),
+					selectorOf(frame.getInputData()),
+					System.nanoTime() - start,
+					precompileGas);
+			precompileGas = NO_PRECOMPILE_CALL;
+		}
+	}
+
+	static int selectorOf(final Bytes input) {
+		return input.size() < SELECTOR_LEN ? 0 : input.getInt(0);
+	}
+}
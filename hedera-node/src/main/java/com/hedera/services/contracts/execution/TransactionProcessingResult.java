@@ -23,9 +23,9 @@ package com.hedera.services.contracts.execution;
  */
 
 import com.hedera.services.state.submerkle.EvmFnResult;
+import com.hedera.services.store.contracts.ContractStateChanges;
 import com.hederahashgraph.api.proto.java.ContractFunctionResult;
 import com.hederahashgraph.api.proto.java.ContractID;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
@@ -33,7 +33,6 @@ import org.hyperledger.besu.evm.log.Log;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -64,7 +63,7 @@ public class TransactionProcessingResult {
 	private final Optional<Bytes> revertReason;
 	private final Optional<Address> recipient;
 	private final Optional<ExceptionalHaltReason> haltReason;
-	private final Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> stateChanges;
+	private final ContractStateChanges stateChanges;
 
 	private List<ContractID> createdContracts = Collections.emptyList();
 
@@ -74,7 +73,7 @@ public class TransactionProcessingResult {
 			final long gasPrice,
 			final Optional<Bytes> revertReason,
 			final Optional<ExceptionalHaltReason> haltReason,
-			final Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> stateChanges
+			final ContractStateChanges stateChanges
 	) {
 		return new TransactionProcessingResult(
 				Status.FAILED,
@@ -96,7 +95,7 @@ public class TransactionProcessingResult {
 			final long gasPrice,
 			final Bytes output,
 			final Address recipient,
-			final Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> stateChanges
+			final ContractStateChanges stateChanges
 	) {
 		return new TransactionProcessingResult(
 				Status.SUCCESSFUL,
@@ -121,7 +120,7 @@ public class TransactionProcessingResult {
 			final Optional<Address> recipient,
 			final Optional<Bytes> revertReason,
 			final Optional<ExceptionalHaltReason> haltReason,
-			final Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> stateChanges
+			final ContractStateChanges stateChanges
 	 ) {
 		this.logs = logs;
 		this.output = output;
@@ -179,7 +178,7 @@ public class TransactionProcessingResult {
 		return recipient;
 	}
 
-	public Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> getStateChanges() {
+	public ContractStateChanges getStateChanges() {
 		return stateChanges;
 	}
 
@@ -25,8 +25,6 @@ package com.hedera.services.contracts.operation;
 import com.hedera.services.contracts.sources.EvmSigsVerifier;
 import com.hedera.services.store.contracts.HederaStackedWorldStateUpdater;
 import com.hedera.services.store.contracts.HederaWorldState;
-import com.hedera.services.utils.BytesComparator;
-import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.units.bigints.UInt256;
@@ -41,7 +39,6 @@ import org.hyperledger.besu.evm.precompile.PrecompiledContract;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
-import java.util.TreeMap;
 import java.util.function.BiPredicate;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
@@ -163,10 +160,7 @@ public final class HederaOperationUtil {
 		// Store the read if it is the first read for the slot/address
 		var updater = frame.getMessageFrameStack().getLast().getWorldUpdater().parentUpdater().orElse(null);
 		if (updater != null) {
-			final var addressSlots =
-					((HederaWorldState.Updater) updater).getStateChanges()
-							.computeIfAbsent(address, addr -> new TreeMap<>(BytesComparator.INSTANCE));
-			addressSlots.computeIfAbsent(key, slot -> new MutablePair<>(storageValue, null));
+			((HederaWorldState.Updater) updater).getStateChanges().recordRead(address, key, storageValue);
 		}
 	}
 }
@@ -72,6 +72,7 @@ public class BasicFcfsUsagePrices implements UsagePricesProvider {
 	private final FileNumbers fileNumbers;
 
 	CurrentAndNextFeeSchedule feeSchedules;
+	private volatile long scheduleGeneration;
 
 	private Timestamp currFunctionUsagePricesExpiry;
 	private Timestamp nextFunctionUsagePricesExpiry;
@@ -144,6 +145,11 @@ public class BasicFcfsUsagePrices implements UsagePricesProvider {
 				nextFunctionUsagePrices.get(function));
 	}
 
+	@Override
+	public long scheduleGeneration() {
+		return scheduleGeneration;
+	}
+
 	private Map<HederaFunctionality, Map<SubType, FeeData>> applicableUsagePrices(final Timestamp at) {
 		if (onlyNextScheduleApplies(at)) {
 			return nextFunctionUsagePrices;
@@ -165,6 +171,9 @@ public class BasicFcfsUsagePrices implements UsagePricesProvider {
 
 		nextFunctionUsagePrices = functionUsagePricesFrom(feeSchedules.getNextFeeSchedule());
 		nextFunctionUsagePricesExpiry = asTimestamp(feeSchedules.getNextFeeSchedule().getExpiryTime());
+
+		// Only ever set from the handle thread (or during initialization)
+		scheduleGeneration = scheduleGeneration + 1;
 	}
 
 	private Timestamp asTimestamp(final TimestampSeconds ts) {
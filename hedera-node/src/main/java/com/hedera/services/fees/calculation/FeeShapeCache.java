@@ -0,0 +1,207 @@
+package com.hedera.services.fees.calculation;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.annotations.VisibleForTesting;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.usage.state.UsageAccumulator;
+import com.hederahashgraph.api.proto.java.ExchangeRate;
+import com.hederahashgraph.api.proto.java.FeeData;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.hederahashgraph.api.proto.java.SubType;
+import com.hederahashgraph.fee.FeeObject;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of the fees for recently priced transaction <i>shapes</i>. Most transactions are one of a
+ * few shapes (a two-party hbar transfer, or an HCS message of a given size, for example); and every transaction
+ * of a given shape has the same resource usage, and so the same fees under the same prices, exchange rate, and
+ * congestion multiplier. So once the usage of a transaction is known, its {@link FeeObject} can be shared.
+ *
+ * <p>Note the usage estimate itself is never cached, since it depends on the transaction (and sometimes on
+ * state); only the pricing of that usage is.
+ *
+ * <p>The cache is safe to use from both the precheck and handle threads. It is cleared whenever the price
+ * schedules or exchange rate change, or it fills up; since the shapes, prices, and rate are all part of each
+ * key, a cached fee is correct even if used concurrently with such a change.
+ */
+@Singleton
+public class FeeShapeCache {
+	static final int MAX_CACHED_SHAPES = 4_096;
+
+	private final MiscRunningAvgs runningAvgs;
+	private final UsagePricesProvider usagePrices;
+	private final Map<FeeShape, FeeObject> fees = new ConcurrentHashMap<>();
+
+	private volatile long scheduleGeneration;
+	private volatile int hbarEquiv;
+	private volatile int centEquiv;
+
+	@Inject
+	public FeeShapeCache(final MiscRunningAvgs runningAvgs, final UsagePricesProvider usagePrices) {
+		this.runningAvgs = runningAvgs;
+		this.usagePrices = usagePrices;
+	}
+
+	/**
+	 * Returns the fees for the given accumulated usage, computing them only if this shape is not cached.
+	 *
+	 * @param function
+	 * 		the priced operation
+	 * @param subType
+	 * 		its subtype
+	 * @param usage
+	 * 		its resource usage
+	 * @param prices
+	 * 		the applicable resource prices
+	 * @param rate
+	 * 		the active exchange rate
+	 * @param multiplier
+	 * 		the congestion multiplier
+	 * @param computation
+	 * 		how to compute the fees if they are not cached
+	 * @return the fees
+	 */
+	public FeeObject feesGiven(
+			final HederaFunctionality function,
+			final SubType subType,
+			final UsageAccumulator usage,
+			final FeeData prices,
+			final ExchangeRate rate,
+			final long multiplier,
+			final Supplier<FeeObject> computation
+	) {
+		return feesGiven(new FeeShape(
+				function, subType, UsageVector.from(usage), prices,
+				rate.getHbarEquiv(), rate.getCentEquiv(), multiplier), rate, computation);
+	}
+
+	/**
+	 * Returns the fees for the given estimated usage, computing them only if this shape is not cached.
+	 *
+	 * @param function
+	 * 		the priced operation
+	 * @param usage
+	 * 		its estimated resource usage
+	 * @param prices
+	 * 		the applicable resource prices
+	 * @param rate
+	 * 		the active exchange rate
+	 * @param multiplier
+	 * 		the congestion multiplier
+	 * @param computation
+	 * 		how to compute the fees if they are not cached
+	 * @return the fees
+	 */
+	public FeeObject feesGiven(
+			final HederaFunctionality function,
+			final FeeData usage,
+			final FeeData prices,
+			final ExchangeRate rate,
+			final long multiplier,
+			final Supplier<FeeObject> computation
+	) {
+		return feesGiven(new FeeShape(
+				function, usage.getSubType(), usage, prices,
+				rate.getHbarEquiv(), rate.getCentEquiv(), multiplier), rate, computation);
+	}
+
+	private FeeObject feesGiven(final FeeShape shape, final ExchangeRate rate, final Supplier<FeeObject> computation) {
+		clearIfStale(rate);
+		final var cached = fees.get(shape);
+		runningAvgs.recordFeeCacheHit(cached != null);
+		if (cached != null) {
+			return cached;
+		}
+		final var computed = computation.get();
+		if (fees.size() >= MAX_CACHED_SHAPES) {
+			fees.clear();
+		}
+		fees.put(shape, computed);
+		return computed;
+	}
+
+	private void clearIfStale(final ExchangeRate rate) {
+		final var curGeneration = usagePrices.scheduleGeneration();
+		if (curGeneration != scheduleGeneration
+				|| rate.getHbarEquiv() != hbarEquiv
+				|| rate.getCentEquiv() != centEquiv) {
+			fees.clear();
+			scheduleGeneration = curGeneration;
+			hbarEquiv = rate.getHbarEquiv();
+			centEquiv = rate.getCentEquiv();
+		}
+	}
+
+	/**
+	 * Everything that determines the fees of a transaction; the usage is either a {@link UsageVector} or an
+	 * estimated {@link FeeData}. (The function and subtype are implied by the usage and prices, but make it
+	 * easier to reason about the cache contents.)
+	 */
+	private record FeeShape(
+			HederaFunctionality function,
+			SubType subType,
+			Object usage,
+			FeeData prices,
+			int hbarEquiv,
+			int centEquiv,
+			long multiplier
+	) {
+	}
+
+	/**
+	 * The normalized usage of an {@link UsageAccumulator}; that is, exactly the resources it is priced by.
+	 */
+	private record UsageVector(
+			long universalBpt,
+			long networkVpt,
+			long networkRbh,
+			long nodeBpr,
+			long nodeSbpr,
+			long nodeVpt,
+			long serviceRbh,
+			long serviceSbh
+	) {
+		private static UsageVector from(final UsageAccumulator usage) {
+			return new UsageVector(
+					usage.getUniversalBpt(),
+					usage.getNetworkVpt(),
+					usage.getNetworkRbh(),
+					usage.getNodeBpr(),
+					usage.getNodeSbpr(),
+					usage.getNodeVpt(),
+					usage.getServiceRbh(),
+					usage.getServiceSbh());
+		}
+	}
+
+	/* --- Only used by unit tests --- */
+	@VisibleForTesting
+	int size() {
+		return fees.size();
+	}
+}
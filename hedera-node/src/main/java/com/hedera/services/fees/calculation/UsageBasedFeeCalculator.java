@@ -79,6 +79,7 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 	private final FeeMultiplierSource feeMultiplierSource;
 	private final UsagePricesProvider usagePrices;
 	private final PricedUsageCalculator pricedUsageCalculator;
+	private final FeeShapeCache feeShapeCache;
 	private final List<QueryResourceUsageEstimator> queryUsageEstimators;
 	private final Map<HederaFunctionality, List<TxnResourceUsageEstimator>> txnUsageEstimators;
 
@@ -90,6 +91,7 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 			final UsagePricesProvider usagePrices,
 			final FeeMultiplierSource feeMultiplierSource,
 			final PricedUsageCalculator pricedUsageCalculator,
+			final FeeShapeCache feeShapeCache,
 			final Set<QueryResourceUsageEstimator> queryUsageEstimators,
 			final Map<HederaFunctionality, List<TxnResourceUsageEstimator>> txnUsageEstimators
 	) {
@@ -100,6 +102,7 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 		this.txnUsageEstimators = txnUsageEstimators;
 		this.queryUsageEstimators = new ArrayList<>(queryUsageEstimators);
 		this.pricedUsageCalculator = pricedUsageCalculator;
+		this.feeShapeCache = feeShapeCache;
 
 		autoCreationLogic.setFeeCalculator(this);
 	}
@@ -242,7 +245,9 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 			try {
 				final var usage = usageEstimator.usageGiven(accessor.getTxn(), sigUsage, view);
 				final var applicablePrices = prices.get(usage.getSubType());
-				return getFeeObject(applicablePrices, usage, rate, feeMultiplierSource.currentMultiplier(accessor));
+				final var multiplier = feeMultiplierSource.currentMultiplier(accessor);
+				return feeShapeCache.feesGiven(function, usage, applicablePrices, rate, multiplier,
+						() -> getFeeObject(applicablePrices, usage, rate, multiplier));
 			} catch (InvalidTxBodyException e) {
 				log.warn(
 						"Argument accessor={} malformed for implied estimator {}!",
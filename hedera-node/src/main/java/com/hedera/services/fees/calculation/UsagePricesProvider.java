@@ -86,4 +86,12 @@ public interface UsagePricesProvider {
 	 * @return the triple of price sequences
 	 */
 	Triple<Map<SubType, FeeData>, Instant, Map<SubType, FeeData>> activePricingSequence(HederaFunctionality function);
+
+	/**
+	 * Returns a number that changes whenever new price schedules are set, so that anything derived
+	 * from earlier prices can be discarded.
+	 *
+	 * @return the generation of the current price schedules
+	 */
+	long scheduleGeneration();
 }
@@ -23,18 +23,8 @@ package com.hedera.services.fees.calculation.contract.queries;
 import com.google.protobuf.ByteString;
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
-import com.hedera.services.context.properties.NodeLocalProperties;
-import com.hedera.services.contracts.execution.CallLocalEvmTxProcessor;
-import com.hedera.services.contracts.execution.CallLocalExecutor;
-import com.hedera.services.contracts.execution.StaticBlockMetaProvider;
+import com.hedera.services.contracts.execution.CallLocalService;
 import com.hedera.services.fees.calculation.QueryResourceUsageEstimator;
-import com.hedera.services.ledger.accounts.AliasManager;
-import com.hedera.services.ledger.ids.EntityIdSource;
-import com.hedera.services.store.AccountStore;
-import com.hedera.services.store.contracts.CodeCache;
-import com.hedera.services.store.contracts.HederaWorldState;
-import com.hedera.services.store.contracts.StaticEntityAccess;
-import com.hedera.services.txns.validation.OptionValidator;
 import com.hederahashgraph.api.proto.java.ContractCallLocalResponse;
 import com.hederahashgraph.api.proto.java.ContractFunctionResult;
 import com.hederahashgraph.api.proto.java.ContractID;
@@ -58,37 +48,19 @@ import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 public final class ContractCallLocalResourceUsage implements QueryResourceUsageEstimator {
 	private static final Logger log = LogManager.getLogger(ContractCallLocalResourceUsage.class);
 
-	private final AccountStore accountStore;
-	private final AliasManager aliasManager;
-	private final EntityIdSource ids;
-	private final OptionValidator validator;
 	private final GlobalDynamicProperties properties;
-	private final NodeLocalProperties nodeProperties;
 	private final SmartContractFeeBuilder usageEstimator;
-	private final CallLocalEvmTxProcessor evmTxProcessor;
-	private final StaticBlockMetaProvider blockMetaProvider;
+	private final CallLocalService callLocalService;
 
 	@Inject
 	public ContractCallLocalResourceUsage(
 			final SmartContractFeeBuilder usageEstimator,
 			final GlobalDynamicProperties properties,
-			final NodeLocalProperties nodeProperties,
-			final AccountStore accountStore,
-			final CallLocalEvmTxProcessor evmTxProcessor,
-			final EntityIdSource ids,
-			final OptionValidator validator,
-			final AliasManager aliasManager,
-			final StaticBlockMetaProvider blockMetaProvider
+			final CallLocalService callLocalService
 	) {
-		this.accountStore = accountStore;
-		this.evmTxProcessor = evmTxProcessor;
-		this.aliasManager = aliasManager;
-		this.ids = ids;
-		this.validator = validator;
 		this.properties = properties;
-		this.nodeProperties = nodeProperties;
 		this.usageEstimator = usageEstimator;
-		this.blockMetaProvider = blockMetaProvider;
+		this.callLocalService = callLocalService;
 	}
 
 	@Override
@@ -119,16 +91,11 @@ public final class ContractCallLocalResourceUsage implements QueryResourceUsageE
 			if (null == queryCtx) {
 				response = dummyResponse(op.getContractID());
 			} else {
-				final var blockMetaSource = blockMetaProvider.getSource();
-				if (blockMetaSource.isEmpty()) {
+				final var opResponse = callLocalService.execute(op, view);
+				if (opResponse.isEmpty()) {
 					response = dummyResponse(op.getContractID());
 				} else {
-					final var entityAccess = new StaticEntityAccess(view, aliasManager, validator);
-					final var codeCache = new CodeCache(nodeProperties, entityAccess);
-					final var worldState = new HederaWorldState(ids, entityAccess, codeCache, properties);
-					evmTxProcessor.setWorldState(worldState);
-					evmTxProcessor.setBlockMetaSource(blockMetaSource.get());
-					response = CallLocalExecutor.execute(accountStore, evmTxProcessor, op, aliasManager, entityAccess);
+					response = opResponse.get();
 					queryCtx.put(CONTRACT_CALL_LOCAL_CTX_KEY, response);
 				}
 			}
@@ -25,6 +25,7 @@ import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.fees.calculation.QueryResourceUsageEstimator;
 import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.ledger.accounts.staking.RewardCalculator;
+import com.hedera.services.queries.answering.SignedStateAnswerCache;
 import com.hedera.services.usage.contract.ContractGetInfoUsage;
 import com.hederahashgraph.api.proto.java.FeeData;
 import com.hederahashgraph.api.proto.java.Query;
@@ -37,6 +38,7 @@ import java.util.function.Function;
 
 import static com.hedera.services.queries.contract.GetContractInfoAnswer.CONTRACT_INFO_CTX_KEY;
 import static com.hedera.services.utils.MiscUtils.putIfNotNull;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractGetInfo;
 
 @Singleton
 public final class GetContractInfoResourceUsage implements QueryResourceUsageEstimator {
@@ -45,15 +47,18 @@ public final class GetContractInfoResourceUsage implements QueryResourceUsageEst
 	private final AliasManager aliasManager;
 	private final GlobalDynamicProperties dynamicProperties;
 	private final RewardCalculator rewardCalculator;
+	private final SignedStateAnswerCache answerCache;
 
 	@Inject
 	public GetContractInfoResourceUsage(
 			AliasManager aliasManager,
 			GlobalDynamicProperties dynamicProperties,
-			final RewardCalculator rewardCalculator) {
+			final RewardCalculator rewardCalculator,
+			final SignedStateAnswerCache answerCache) {
 		this.aliasManager = aliasManager;
 		this.dynamicProperties = dynamicProperties;
 		this.rewardCalculator = rewardCalculator;
+		this.answerCache = answerCache;
 	}
 
 	@Override
@@ -64,8 +69,10 @@ public final class GetContractInfoResourceUsage implements QueryResourceUsageEst
 	@Override
 	public FeeData usageGiven(final Query query, final StateView view, @Nullable final Map<String, Object> queryCtx) {
 		final var op = query.getContractGetInfo();
-		final var tentativeInfo =
-				view.infoForContract(op.getContractID(), aliasManager, dynamicProperties.maxTokensRelsPerInfoQuery(), rewardCalculator);
+		final var target = op.getContractID();
+		final var maxTokenRels = dynamicProperties.maxTokensRelsPerInfoQuery();
+		final var tentativeInfo = answerCache.answerFor(ContractGetInfo, target, maxTokenRels, view, source ->
+				source.infoForContract(target, aliasManager, maxTokenRels, rewardCalculator));
 		if (tentativeInfo.isPresent()) {
 			final var info = tentativeInfo.get();
 			putIfNotNull(queryCtx, CONTRACT_INFO_CTX_KEY, info);
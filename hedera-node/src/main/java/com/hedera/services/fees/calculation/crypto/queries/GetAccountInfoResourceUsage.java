@@ -25,6 +25,7 @@ import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.fees.calculation.QueryResourceUsageEstimator;
 import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.ledger.accounts.staking.RewardCalculator;
+import com.hedera.services.queries.answering.SignedStateAnswerCache;
 import com.hedera.services.usage.crypto.CryptoOpsUsage;
 import com.hedera.services.usage.crypto.ExtantCryptoContext;
 import com.hederahashgraph.api.proto.java.FeeData;
@@ -35,23 +36,28 @@ import javax.inject.Singleton;
 import java.util.Collections;
 import java.util.Map;
 
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoGetInfo;
+
 @Singleton
 public final class GetAccountInfoResourceUsage implements QueryResourceUsageEstimator {
 	private final CryptoOpsUsage cryptoOpsUsage;
 	private final AliasManager aliasManager;
 	private final GlobalDynamicProperties dynamicProperties;
 	private final RewardCalculator rewardCalculator;
+	private final SignedStateAnswerCache answerCache;
 
 	@Inject
 	public GetAccountInfoResourceUsage(
 			final CryptoOpsUsage cryptoOpsUsage,
 			final AliasManager aliasManager,
 			final GlobalDynamicProperties dynamicProperties,
-			final RewardCalculator rewardCalculator) {
+			final RewardCalculator rewardCalculator,
+			final SignedStateAnswerCache answerCache) {
 		this.cryptoOpsUsage = cryptoOpsUsage;
 		this.aliasManager = aliasManager;
 		this.dynamicProperties = dynamicProperties;
 		this.rewardCalculator = rewardCalculator;
+		this.answerCache = answerCache;
 	}
 
 	@Override
@@ -64,8 +70,9 @@ public final class GetAccountInfoResourceUsage implements QueryResourceUsageEsti
 		final var op = query.getCryptoGetInfo();
 
 		final var account = op.getAccountID();
-		final var info = view.infoForAccount(
-				account, aliasManager, dynamicProperties.maxTokensRelsPerInfoQuery(), rewardCalculator);
+		final var maxTokenRels = dynamicProperties.maxTokensRelsPerInfoQuery();
+		final var info = answerCache.answerFor(CryptoGetInfo, account, maxTokenRels, view, source ->
+				source.infoForAccount(account, aliasManager, maxTokenRels, rewardCalculator));
 		/* Given the test in {@code GetAccountInfoAnswer.checkValidity}, this can only be empty
 		 * under the extraordinary circumstance that the desired account expired during the query
 		 * answer flow (which will now fail downstream with an appropriate status code); so
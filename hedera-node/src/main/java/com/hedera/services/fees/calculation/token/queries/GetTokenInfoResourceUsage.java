@@ -22,6 +22,7 @@ package com.hedera.services.fees.calculation.token.queries;
 
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.fees.calculation.QueryResourceUsageEstimator;
+import com.hedera.services.queries.answering.SignedStateAnswerCache;
 import com.hedera.services.usage.token.TokenGetInfoUsage;
 import com.hederahashgraph.api.proto.java.FeeData;
 import com.hederahashgraph.api.proto.java.Key;
@@ -38,14 +39,17 @@ import java.util.function.Predicate;
 
 import static com.hedera.services.queries.token.GetTokenInfoAnswer.TOKEN_INFO_CTX_KEY;
 import static com.hedera.services.utils.MiscUtils.putIfNotNull;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenGetInfo;
 
 @Singleton
 public final class GetTokenInfoResourceUsage implements QueryResourceUsageEstimator {
 	private static final Function<Query, TokenGetInfoUsage> factory = TokenGetInfoUsage::newEstimate;
 
+	private final SignedStateAnswerCache answerCache;
+
 	@Inject
-	public GetTokenInfoResourceUsage() {
-		/* No-op */
+	public GetTokenInfoResourceUsage(final SignedStateAnswerCache answerCache) {
+		this.answerCache = answerCache;
 	}
 
 	@Override
@@ -56,7 +60,9 @@ public final class GetTokenInfoResourceUsage implements QueryResourceUsageEstima
 	@Override
 	public FeeData usageGiven(final Query query, final StateView view, @Nullable final Map<String, Object> queryCtx) {
 		final var op = query.getTokenGetInfo();
-		final var optionalInfo = view.infoForToken(op.getToken());
+		final var target = op.getToken();
+		final var optionalInfo = answerCache.answerFor(TokenGetInfo, target, 0, view, source ->
+				source.infoForToken(target));
 		if (optionalInfo.isPresent()) {
 			final var info = optionalInfo.get();
 			putIfNotNull(queryCtx, TOKEN_INFO_CTX_KEY, info);
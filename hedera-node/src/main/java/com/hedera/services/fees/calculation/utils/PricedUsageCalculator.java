@@ -22,6 +22,7 @@ package com.hedera.services.fees.calculation.utils;
 
 import com.hedera.services.calc.OverflowCheckingCalc;
 import com.hedera.services.fees.FeeMultiplierSource;
+import com.hedera.services.fees.calculation.FeeShapeCache;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.usage.state.UsageAccumulator;
 import com.hedera.services.utils.accessors.TxnAccessor;
@@ -42,16 +43,19 @@ public class PricedUsageCalculator {
 	private final AccessorBasedUsages accessorBasedUsages;
 	private final FeeMultiplierSource feeMultiplierSource;
 	private final OverflowCheckingCalc calculator;
+	private final FeeShapeCache feeShapeCache;
 
 	@Inject
 	public PricedUsageCalculator(
 			AccessorBasedUsages accessorBasedUsages,
 			FeeMultiplierSource feeMultiplierSource,
-			OverflowCheckingCalc calculator
+			OverflowCheckingCalc calculator,
+			FeeShapeCache feeShapeCache
 	) {
 		this.accessorBasedUsages = accessorBasedUsages;
 		this.feeMultiplierSource = feeMultiplierSource;
 		this.calculator = calculator;
+		this.feeShapeCache = feeShapeCache;
 	}
 
 	public boolean supports(HederaFunctionality function) {
@@ -77,7 +81,10 @@ public class PricedUsageCalculator {
 
 		accessorBasedUsages.assess(sigUsage, accessor, accumulator);
 
-		return calculator.fees(accumulator, resourcePrices, rate, feeMultiplierSource.currentMultiplier(accessor));
+		final var multiplier = feeMultiplierSource.currentMultiplier(accessor);
+		return feeShapeCache.feesGiven(
+				accessor.getFunction(), accessor.getSubType(), accumulator, resourcePrices, rate, multiplier,
+				() -> calculator.fees(accumulator, resourcePrices, rate, multiplier));
 	}
 
 	UsageAccumulator getHandleScopedAccumulator() {
@@ -23,14 +23,12 @@ package com.hedera.services.fees.charging;
 import com.hedera.services.context.TransactionContext;
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.fees.FeeCalculator;
-import com.hedera.services.records.TxnIdRecentHistory;
+import com.hedera.services.records.TxnReceiptIndex;
 import com.hedera.services.state.logic.AwareNodeDiligenceScreen;
 import com.hedera.services.utils.accessors.SwirldsTxnAccessor;
-import com.hederahashgraph.api.proto.java.TransactionID;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.Map;
 import java.util.function.Supplier;
 
 import static com.hedera.services.txns.diligence.DuplicateClassification.BELIEVED_UNIQUE;
@@ -52,7 +50,7 @@ public class TxnChargingPolicyAgent {
 	private final TransactionContext txnCtx;
 	private final Supplier<StateView> currentView;
 	private final AwareNodeDiligenceScreen nodeDiligenceScreen;
-	private final Map<TransactionID, TxnIdRecentHistory> txnHistories;
+	private final TxnReceiptIndex receiptIndex;
 
 	@Inject
 	public TxnChargingPolicyAgent(
@@ -61,12 +59,12 @@ public class TxnChargingPolicyAgent {
 			TransactionContext txnCtx,
 			Supplier<StateView> currentView,
 			AwareNodeDiligenceScreen nodeDiligenceScreen,
-			Map<TransactionID, TxnIdRecentHistory> txnHistories
+			TxnReceiptIndex receiptIndex
 	) {
 		this.feeCalc = feeCalc;
 		this.txnCtx = txnCtx;
 		this.currentView = currentView;
-		this.txnHistories = txnHistories;
+		this.receiptIndex = receiptIndex;
 		this.chargingPolicy = chargingPolicy;
 		this.nodeDiligenceScreen = nodeDiligenceScreen;
 	}
@@ -80,7 +78,7 @@ public class TxnChargingPolicyAgent {
 	public boolean applyPolicyFor(SwirldsTxnAccessor accessor) {
 		final var now = txnCtx.consensusTime();
 		final var fees = feeCalc.computeFee(accessor, txnCtx.activePayerKey(), currentView.get(), now);
-		final var recentHistory = txnHistories.get(accessor.getTxnId());
+		final var recentHistory = receiptIndex.historyOf(accessor.getTxnId());
 		var duplicity = (recentHistory == null)
 				? BELIEVED_UNIQUE
 				: recentHistory.currentDuplicityFor(txnCtx.submittingSwirldsMember());
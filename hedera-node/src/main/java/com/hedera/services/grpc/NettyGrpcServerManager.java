@@ -21,6 +21,7 @@ package com.hedera.services.grpc;
  */
 
 import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.txns.submission.IngestWorkerStage;
 import com.hedera.services.utils.Pause;
 import io.grpc.BindableService;
 import io.grpc.Server;
@@ -52,16 +53,19 @@ public class NettyGrpcServerManager implements GrpcServerManager {
 	private final Consumer<Thread> hookAdder;
 	private final Set<BindableService> bindableServices;
 	private final ConfigDrivenNettyFactory nettyBuilder;
+	private final IngestWorkerStage ingestStage;
 
 	@Inject
 	public NettyGrpcServerManager(
 			Consumer<Thread> hookAdder,
 			NodeLocalProperties nodeProperties,
 			Set<BindableService> bindableServices,
-			ConfigDrivenNettyFactory nettyBuilder
+			ConfigDrivenNettyFactory nettyBuilder,
+			IngestWorkerStage ingestStage
 	) {
 		this.hookAdder = hookAdder;
 		this.nettyBuilder = nettyBuilder;
+		this.ingestStage = ingestStage;
 		this.bindableServices = bindableServices;
 
 		startRetries = nodeProperties.nettyStartRetries();
@@ -115,6 +119,16 @@ public class NettyGrpcServerManager implements GrpcServerManager {
 	private void terminateNetty(int port, int tlsPort, Consumer<String> println) {
 		terminateOneNettyServer(server, false, port, println);
 		terminateOneNettyServer(tlsServer, true, tlsPort, println);
+		terminateIngestWorkers();
+	}
+
+	private void terminateIngestWorkers() {
+		try {
+			ingestStage.shutdown(TIME_TO_AWAIT_TERMINATION, TimeUnit.SECONDS);
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			log.warn("Interrupted while waiting for ingest workers to terminate!", ie);
+		}
 	}
 
 	private void terminateOneNettyServer(Server server, boolean tlsSupport, int port, Consumer<String> println) {
@@ -25,13 +25,13 @@ import com.hedera.services.exceptions.MissingEntityException;
 import com.hedera.services.ledger.backing.BackingStore;
 import com.hedera.services.ledger.properties.BeanProperty;
 import com.hedera.services.ledger.properties.ChangeSummaryManager;
+import com.hedera.services.ledger.properties.PropertyChanges;
 import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
-import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -54,6 +54,10 @@ import static java.util.stream.Collectors.joining;
  * backing store when the transaction is committed; or dropped with no effects
  * upon a rollback.
  *
+ * The change sets are {@link PropertyChanges} slots drawn from a pool owned by the
+ * ledger; they are all reset at the next {@link #begin()}, so that a change set passed
+ * to a {@link CommitInterceptor} remains valid until then.
+ *
  * @param <K>
  * 		the type of id used by the ledger
  * @param <P>
@@ -65,13 +69,16 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 	private static final Logger log = LogManager.getLogger(TransactionalLedger.class);
 
 	public static final int MAX_ENTITIES_CONCEIVABLY_TOUCHED_IN_LEDGER_TXN = 42;
+	static final int MAX_POOLED_CHANGE_SLOTS = 256;
 
 	private final P[] allProps;
 	private final Set<K> deadKeys = new HashSet<>();
 	private final List<K> createdKeys = new ArrayList<>(MAX_ENTITIES_CONCEIVABLY_TOUCHED_IN_LEDGER_TXN);
 	private final List<K> changedKeys = new ArrayList<>(MAX_ENTITIES_CONCEIVABLY_TOUCHED_IN_LEDGER_TXN);
 	private final List<K> removedKeys = new ArrayList<>(MAX_ENTITIES_CONCEIVABLY_TOUCHED_IN_LEDGER_TXN);
-	private final Map<K, EnumMap<P, Object>> changes = new HashMap<>();
+	private final Map<K, PropertyChanges<A, P>> changes = new HashMap<>();
+	private final List<PropertyChanges<A, P>> changeSlots =
+			new ArrayList<>(MAX_ENTITIES_CONCEIVABLY_TOUCHED_IN_LEDGER_TXN);
 
 	private final Class<P> propertyType;
 	private final Supplier<A> newEntity;
@@ -79,8 +86,8 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 	private final BackingStore<K, A> entities;
 	private final ChangeSummaryManager<A, P> changeManager;
 	private final TransactionalLedger<K, P, A> entitiesLedger;
-	private final Function<K, EnumMap<P, Object>> changeFactory;
 
+	private int numChangeSlotsUsed = 0;
 	private boolean isInTransaction = false;
 	private Consumer<K> previewAction = null;
 	private Function<K, String> keyToString = null;
@@ -99,7 +106,6 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 		this.newEntity = newEntity;
 		this.propertyType = propertyType;
 		this.changeManager = changeManager;
-		this.changeFactory = ignore -> new EnumMap<>(propertyType);
 
 		if (entities instanceof TransactionalLedger) {
 			this.entitiesLedger = (TransactionalLedger<K, P, A>) entities;
@@ -215,6 +221,7 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 		if (pendingChanges != null) {
 			pendingChanges.clear();
 		}
+		resetChangeSlots();
 	}
 
 	public void undoChangesOfType(List<P> properties) {
@@ -312,10 +319,22 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 	@Override
 	public void set(final K id, final P property, final Object value) {
 		assertIsSettable(id);
-		changeManager.update(changes.computeIfAbsent(id, ignore -> {
-			changedKeys.add(id);
-			return changeFactory.apply(id);
-		}), property, value);
+		changeManager.update(changeSetFor(id), property, value);
+	}
+
+	/**
+	 * Sets a {@code long}-valued property of the given entity without boxing the value.
+	 *
+	 * @param id
+	 * 		the id of the entity to change
+	 * @param property
+	 * 		the {@code long}-valued property to change
+	 * @param value
+	 * 		the new value of the property
+	 */
+	public void setLong(final K id, final P property, final long value) {
+		assertIsSettable(id);
+		changeSetFor(id).setLong(property, value);
 	}
 
 	/**
@@ -347,7 +366,7 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 	@Override
 	public void create(final K id) {
 		assertIsCreatable(id);
-		changes.put(id, new EnumMap<>(propertyType));
+		changes.put(id, nextChangeSlot());
 		createdKeys.add(id);
 	}
 
@@ -493,6 +512,34 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 				: newDefaultPropertySource();
 	}
 
+	private PropertyChanges<A, P> changeSetFor(final K id) {
+		var changeSet = changes.get(id);
+		if (changeSet == null) {
+			changeSet = nextChangeSlot();
+			changes.put(id, changeSet);
+			changedKeys.add(id);
+		}
+		return changeSet;
+	}
+
+	private PropertyChanges<A, P> nextChangeSlot() {
+		if (numChangeSlotsUsed == changeSlots.size()) {
+			changeSlots.add(new PropertyChanges<>(propertyType));
+		}
+		return changeSlots.get(numChangeSlotsUsed++);
+	}
+
+	private void resetChangeSlots() {
+		for (int i = 0; i < numChangeSlotsUsed; i++) {
+			changeSlots.get(i).clear();
+		}
+		numChangeSlotsUsed = 0;
+		if (changeSlots.size() > MAX_POOLED_CHANGE_SLOTS) {
+			// Don't hold on to all the slots used by an unusually large transaction
+			changeSlots.subList(MAX_POOLED_CHANGE_SLOTS, changeSlots.size()).clear();
+		}
+	}
+
 	private void throwIfNotInTxn() {
 		if (!isInTransaction) {
 			throw new IllegalStateException("No active transaction");
@@ -632,7 +679,12 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 	}
 
 	@VisibleForTesting
-	Map<K, EnumMap<P, Object>> getChanges() {
+	Map<K, PropertyChanges<A, P>> getChanges() {
 		return changes;
 	}
+
+	@VisibleForTesting
+	int numPooledChangeSlots() {
+		return changeSlots.size();
+	}
 }
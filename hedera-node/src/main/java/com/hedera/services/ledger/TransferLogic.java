@@ -45,7 +45,6 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
 import static com.hedera.services.ledger.properties.AccountProperty.BALANCE;
 import static com.hedera.services.ledger.properties.AccountProperty.CRYPTO_ALLOWANCES;
@@ -56,6 +55,8 @@ import static com.hedera.services.ledger.properties.AccountProperty.NUM_POSITIVE
 import static com.hedera.services.ledger.properties.AccountProperty.NUM_TREASURY_TITLES;
 import static com.hedera.services.ledger.properties.AccountProperty.USED_AUTOMATIC_ASSOCIATIONS;
 import static com.hedera.services.ledger.properties.NftProperty.SPENDER;
+import static com.hedera.services.state.merkle.internals.PackedAllowanceMap.cryptoAllowancesFrom;
+import static com.hedera.services.state.merkle.internals.PackedAllowanceMap.tokenAllowancesFrom;
 import static com.hedera.services.state.submerkle.EntityId.MISSING_ENTITY_ID;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 
@@ -158,7 +159,7 @@ public class TransferLogic {
 			final var accountId = change.accountId();
 			if (change.isForHbar()) {
 				final var newBalance = change.getNewBalance();
-				accountsLedger.set(accountId, BALANCE, newBalance);
+				accountsLedger.setLong(accountId, BALANCE, newBalance);
 				if (change.isApprovedAllowance()) {
 					adjustCryptoAllowance(change, accountId);
 				}
@@ -191,30 +192,25 @@ public class TransferLogic {
 	@SuppressWarnings("unchecked")
 	private void adjustCryptoAllowance(BalanceChange change, AccountID ownerID) {
 		final var payerNum = EntityNum.fromAccountId(change.getPayerID());
-		final var hbarAllowances =  new TreeMap<>((Map<EntityNum, Long>) accountsLedger.get(ownerID, CRYPTO_ALLOWANCES));
+		final var hbarAllowances = cryptoAllowancesFrom(
+				(Map<EntityNum, Long>) accountsLedger.get(ownerID, CRYPTO_ALLOWANCES));
 		final var currentAllowance = hbarAllowances.get(payerNum);
 		final var newAllowance = currentAllowance + change.getAllowanceUnits();
-		if (newAllowance != 0) {
-			hbarAllowances.put(payerNum, newAllowance);
-		} else {
-			hbarAllowances.remove(payerNum);
-		}
-		accountsLedger.set(ownerID, CRYPTO_ALLOWANCES, hbarAllowances);
+		accountsLedger.set(ownerID, CRYPTO_ALLOWANCES, (newAllowance != 0)
+				? hbarAllowances.with(payerNum, newAllowance)
+				: hbarAllowances.without(payerNum));
 	}
 
 	@SuppressWarnings("unchecked")
 	private void adjustFungibleTokenAllowance(final BalanceChange change, final AccountID ownerID) {
 		final var allowanceId = FcTokenAllowanceId.from(
 				change.getToken().asEntityNum(), EntityNum.fromAccountId(change.getPayerID()));
-		final var fungibleAllowances =  new TreeMap<>(
+		final var fungibleAllowances = tokenAllowancesFrom(
 				(Map<FcTokenAllowanceId, Long>) accountsLedger.get(ownerID, FUNGIBLE_TOKEN_ALLOWANCES));
 		final var currentAllowance = fungibleAllowances.get(allowanceId);
 		final var newAllowance = currentAllowance + change.getAllowanceUnits();
-		if (newAllowance == 0) {
-			fungibleAllowances.remove(allowanceId);
-		} else {
-			fungibleAllowances.put(allowanceId, newAllowance);
-		}
-		accountsLedger.set(ownerID, FUNGIBLE_TOKEN_ALLOWANCES, fungibleAllowances);
+		accountsLedger.set(ownerID, FUNGIBLE_TOKEN_ALLOWANCES, (newAllowance == 0)
+				? fungibleAllowances.without(allowanceId)
+				: fungibleAllowances.with(allowanceId, newAllowance));
 	}
 }
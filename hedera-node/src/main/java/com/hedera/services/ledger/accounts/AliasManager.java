@@ -28,6 +28,7 @@ import com.hedera.services.ledger.SigImpactHistorian;
 import com.hedera.services.legacy.core.jproto.JECDSASecp256k1Key;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.legacy.proto.utils.ByteStringUtils;
+import com.hedera.services.state.initialization.DerivedAccountsIndex;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.utils.EntityNum;
 import com.hederahashgraph.api.proto.java.Key;
@@ -40,8 +41,9 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
@@ -55,7 +57,8 @@ import static com.swirlds.common.utility.CommonUtils.hex;
  * Entries from the map are removed when the entity expires
  */
 @Singleton
-public class AliasManager extends AbstractContractAliases implements ContractAliases {
+public class AliasManager extends AbstractContractAliases
+		implements ContractAliases, DerivedAccountsIndex<AliasManager.FoundAliases> {
 	private static final Logger log = LogManager.getLogger(AliasManager.class);
 
 	private static final String NON_TRANSACTIONAL_MSG = "Base alias manager does not buffer changes";
@@ -163,32 +166,67 @@ public class AliasManager extends AbstractContractAliases implements ContractAli
 	 * 		the current accounts
 	 */
 	public void rebuildAliasesMap(final MerkleMap<EntityNum, MerkleAccount> accounts) {
-		final var numCreate2Aliases = new AtomicInteger();
-		final var numEOAliases = new AtomicInteger();
-		final var workingAliases = curAliases();
-		workingAliases.clear();
-		forEach(accounts, (k, v) -> {
-			final var alias = v.getAlias();
-			if (!alias.isEmpty()) {
-				workingAliases.put(alias, k);
-				if (v.isSmartContract()) {
-					numCreate2Aliases.getAndIncrement();
-				}
-				if (alias.size() > EVM_ADDRESS_LEN) {
-					try {
-						final Key key = Key.parseFrom(v.getAlias());
-						final JKey jKey = JKey.mapKey(key);
-						if (maybeLinkEvmAddress(jKey, v.getKey())) {
-							numEOAliases.incrementAndGet();
-						}
-					} catch (InvalidProtocolBufferException | DecoderException | IllegalArgumentException e) {
-						// any expected exception means no eth mapping
+		final var found = newAccumulator();
+		forEach(accounts, (k, v) -> accumulate(found, k, v));
+		rebuildFrom(List.of(found));
+	}
+
+	@Override
+	public String name() {
+		return "aliases";
+	}
+
+	@Override
+	public FoundAliases newAccumulator() {
+		return new FoundAliases();
+	}
+
+	@Override
+	public void accumulate(final FoundAliases found, final EntityNum num, final MerkleAccount account) {
+		final var alias = account.getAlias();
+		if (!alias.isEmpty()) {
+			found.links.put(alias, num);
+			if (account.isSmartContract()) {
+				found.numCreate2Aliases++;
+			}
+			if (alias.size() > EVM_ADDRESS_LEN) {
+				try {
+					final Key key = Key.parseFrom(alias);
+					final JKey jKey = JKey.mapKey(key);
+					final var evmAddress = tryAddressRecovery(jKey, ADDRESS_RECOVERY_FN);
+					if (evmAddress != null) {
+						found.links.put(ByteStringUtils.wrapUnsafely(evmAddress), num);
+						found.numEOAliases++;
 					}
+				} catch (InvalidProtocolBufferException | DecoderException | IllegalArgumentException e) {
+					// any expected exception means no eth mapping
 				}
 			}
-		});
+		}
+	}
+
+	@Override
+	public void rebuildFrom(final List<FoundAliases> allFound) {
+		var numCreate2Aliases = 0;
+		var numEOAliases = 0;
+		final var workingAliases = curAliases();
+		workingAliases.clear();
+		for (final var found : allFound) {
+			workingAliases.putAll(found.links);
+			numCreate2Aliases += found.numCreate2Aliases;
+			numEOAliases += found.numEOAliases;
+		}
 		log.info("Rebuild complete, re-mapped {} aliases ({} from CREATE2, {} externally owned accounts)",
-				workingAliases::size, numCreate2Aliases::get, numEOAliases::get);
+				workingAliases.size(), numCreate2Aliases, numEOAliases);
+	}
+
+	/**
+	 * The aliases (and EVM addresses recovered from ECDSA key aliases) found in a batch of accounts.
+	 */
+	public static final class FoundAliases {
+		private final Map<ByteString, EntityNum> links = new HashMap<>();
+		private int numCreate2Aliases;
+		private int numEOAliases;
 	}
 
 	/**
@@ -20,11 +20,13 @@ package com.hedera.services.ledger.backing;
  * ‍
  */
 
+import com.hedera.services.state.expiry.renewal.RenewableEntityIndex;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.utils.EntityNum;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.swirlds.merkle.map.MerkleMap;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.HashSet;
@@ -38,10 +40,26 @@ import static com.hedera.services.utils.MiscUtils.forEach;
 public class BackingAccounts implements BackingStore<AccountID, MerkleAccount> {
 	private Set<AccountID> existingAccounts = new HashSet<>();
 	private final Supplier<MerkleMap<EntityNum, MerkleAccount>> delegate;
+	@Nullable
+	private final RenewableEntityIndex renewableEntities;
+
+	/**
+	 * Creates backing accounts for a read-only view, which needs no index of renewable entities.
+	 *
+	 * @param delegate
+	 * 		the accounts map
+	 */
+	public BackingAccounts(Supplier<MerkleMap<EntityNum, MerkleAccount>> delegate) {
+		this(delegate, null);
+	}
 
 	@Inject
-	public BackingAccounts(Supplier<MerkleMap<EntityNum, MerkleAccount>> delegate) {
+	public BackingAccounts(
+			final Supplier<MerkleMap<EntityNum, MerkleAccount>> delegate,
+			final RenewableEntityIndex renewableEntities
+	) {
 		this.delegate = delegate;
+		this.renewableEntities = renewableEntities;
 	}
 
 	@Override
@@ -62,6 +80,9 @@ public class BackingAccounts implements BackingStore<AccountID, MerkleAccount> {
 			delegate.get().put(fromAccountId(id), account);
 			existingAccounts.add(id);
 		}
+		if (renewableEntities != null) {
+			renewableEntities.track(id.getAccountNum(), account.getExpiry());
+		}
 	}
 
 	@Override
@@ -73,6 +94,9 @@ public class BackingAccounts implements BackingStore<AccountID, MerkleAccount> {
 	public void remove(final AccountID id) {
 		existingAccounts.remove(id);
 		delegate.get().remove(fromAccountId(id));
+		if (renewableEntities != null) {
+			renewableEntities.forget(id.getAccountNum());
+		}
 	}
 
 	@Override
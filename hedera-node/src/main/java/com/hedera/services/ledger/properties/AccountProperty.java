@@ -90,6 +90,17 @@ public enum AccountProperty implements BeanProperty<MerkleAccount> {
 			};
 		}
 
+		@Override
+		public void setLong(final MerkleAccount a, final long v) {
+			try {
+				a.setBalance(v);
+			} catch (NegativeAccountBalanceException nabe) {
+				throw new IllegalArgumentException(
+						"Argument 'v=" + v + "' would cause account 'a=" + a
+								+ "' to have a negative balance!", nabe);
+			}
+		}
+
 		@Override
 		public Function<MerkleAccount, Object> getter() {
 			return MerkleAccount::getBalance;
@@ -44,4 +44,16 @@ public interface BeanProperty<A> {
 	 * @return the getter on the target type.
 	 */
 	Function<A, Object> getter();
+
+	/**
+	 * Sets a {@code long}-valued property on the target without boxing the value.
+	 * Only hot properties need to override this; the default boxes and delegates
+	 * to the {@link #setter()}.
+	 *
+	 * @param target the object to set the property on.
+	 * @param value the new value of the property.
+	 */
+	default void setLong(A target, long value) {
+		setter().accept(target, value);
+	}
 }
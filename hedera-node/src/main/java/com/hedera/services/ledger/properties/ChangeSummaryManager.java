@@ -44,8 +44,13 @@ public final class ChangeSummaryManager<A, P extends Enum<P> & BeanProperty<A>>
 	 * @param value
 	 * 		the new value that summarizes the changeset
 	 */
+	@SuppressWarnings("unchecked")
 	public void update(final Map<P, Object> changes, final P property, final Object value) {
-		changes.put(property, value);
+		if (changes instanceof PropertyChanges<?, ?>) {
+			((PropertyChanges<A, P>) changes).set(property, value);
+		} else {
+			changes.put(property, value);
+		}
 	}
 
 	/**
@@ -56,8 +61,13 @@ public final class ChangeSummaryManager<A, P extends Enum<P> & BeanProperty<A>>
 	 * @param account
 	 * 		the account to receive the net changes
 	 */
+	@SuppressWarnings("unchecked")
 	public void persist(final Map<P, Object> changes, final A account) {
-		changes.forEach((key, value) -> key.setter().accept(account, value));
+		if (changes instanceof PropertyChanges<?, ?>) {
+			((PropertyChanges<A, P>) changes).persistTo(account);
+		} else {
+			changes.forEach((key, value) -> key.setter().accept(account, value));
+		}
 	}
 
 	/**
@@ -0,0 +1,286 @@
+package com.hedera.services.ledger.properties;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A reusable summary of the changes to one entity's properties in a ledger transaction.
+ *
+ * Instead of an {@link java.util.EnumMap} of boxed values, {@code long}, {@code int}, and {@code boolean}
+ * values are kept in a primitive array indexed by property ordinal, and all other values in a parallel
+ * object array. The object array also caches the boxed form of a primitive value, either as given to
+ * {@link #put(Enum, Object)} or as first created by {@link #get(Object)}, so that reading a value
+ * through the {@link Map} interface allocates at most once. Values set via {@link #setLong(Enum, long)}
+ * are never boxed unless read through the {@link Map} interface, and are persisted with
+ * {@link BeanProperty#setLong(Object, long)}.
+ *
+ * Instances are meant to be {@link #clear()}-ed and reused; clearing never reallocates. Iteration order
+ * is property ordinal order, just as for an {@code EnumMap}.
+ *
+ * @param <A>
+ * 		the type of entity whose properties are changed
+ * @param <P>
+ * 		the property family
+ */
+public final class PropertyChanges<A, P extends Enum<P> & BeanProperty<A>> extends AbstractMap<P, Object> {
+	private static final byte NONE = 0;
+	private static final byte LONG = 1;
+	private static final byte INT = 2;
+	private static final byte BOOLEAN = 3;
+	private static final byte OBJECT = 4;
+
+	private final P[] props;
+	private final Class<P> propertyType;
+	private final byte[] kinds;
+	private final long[] primitives;
+	private final Object[] objects;
+	private int size = 0;
+	private Set<Entry<P, Object>> entries;
+
+	public PropertyChanges(final Class<P> propertyType) {
+		this.propertyType = propertyType;
+		this.props = propertyType.getEnumConstants();
+		this.kinds = new byte[props.length];
+		this.primitives = new long[props.length];
+		this.objects = new Object[props.length];
+	}
+
+	/**
+	 * Records a new value for the given property, without computing the previous value.
+	 *
+	 * @param property
+	 * 		the changed property
+	 * @param value
+	 * 		its new value
+	 */
+	public void set(final P property, final Object value) {
+		final var i = property.ordinal();
+		if (kinds[i] == NONE) {
+			size++;
+		}
+		if (value instanceof Long l) {
+			kinds[i] = LONG;
+			primitives[i] = l;
+		} else if (value instanceof Integer n) {
+			kinds[i] = INT;
+			primitives[i] = n;
+		} else if (value instanceof Boolean b) {
+			kinds[i] = BOOLEAN;
+			primitives[i] = b ? 1 : 0;
+		} else {
+			kinds[i] = OBJECT;
+		}
+		objects[i] = value;
+	}
+
+	/**
+	 * Records a new {@code long} value for the given property, without boxing it.
+	 *
+	 * @param property
+	 * 		the changed {@code long}-valued property
+	 * @param value
+	 * 		its new value
+	 */
+	public void setLong(final P property, final long value) {
+		final var i = property.ordinal();
+		if (kinds[i] == NONE) {
+			size++;
+		}
+		kinds[i] = LONG;
+		primitives[i] = value;
+		objects[i] = null;
+	}
+
+	/**
+	 * Returns the changed value of the given {@code long}-valued property, without boxing it.
+	 *
+	 * @param property
+	 * 		a changed {@code long}-valued property
+	 * @return its new value
+	 * @throws IllegalArgumentException
+	 * 		if the property has no changed {@code long} value
+	 */
+	public long getLong(final P property) {
+		final var i = property.ordinal();
+		if (kinds[i] != LONG) {
+			throw new IllegalArgumentException("No long value changed for " + property);
+		}
+		return primitives[i];
+	}
+
+	/**
+	 * Sets every changed property on the given entity, using the unboxed setter for {@code long} values
+	 * that were never boxed.
+	 *
+	 * @param entity
+	 * 		the entity to receive the changes
+	 */
+	public void persistTo(final A entity) {
+		for (int i = 0; i < props.length; i++) {
+			final var kind = kinds[i];
+			if (kind == LONG && objects[i] == null) {
+				props[i].setLong(entity, primitives[i]);
+			} else if (kind != NONE) {
+				props[i].setter().accept(entity, valueAt(i));
+			}
+		}
+	}
+
+	@Override
+	public Object put(final P property, final Object value) {
+		final var prior = get(property);
+		set(property, value);
+		return prior;
+	}
+
+	@Override
+	public Object get(final Object key) {
+		return propertyType.isInstance(key) ? valueAt(propertyType.cast(key).ordinal()) : null;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return propertyType.isInstance(key) && kinds[propertyType.cast(key).ordinal()] != NONE;
+	}
+
+	@Override
+	public Object remove(final Object key) {
+		if (!containsKey(key)) {
+			return null;
+		}
+		final var i = propertyType.cast(key).ordinal();
+		final var prior = valueAt(i);
+		kinds[i] = NONE;
+		objects[i] = null;
+		size--;
+		return prior;
+	}
+
+	@Override
+	public void clear() {
+		if (size > 0) {
+			Arrays.fill(kinds, NONE);
+			Arrays.fill(objects, null);
+			size = 0;
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public void forEach(final BiConsumer<? super P, ? super Object> action) {
+		for (int i = 0; i < props.length; i++) {
+			if (kinds[i] != NONE) {
+				action.accept(props[i], valueAt(i));
+			}
+		}
+	}
+
+	@Override
+	public Set<Entry<P, Object>> entrySet() {
+		if (entries == null) {
+			entries = new EntrySet();
+		}
+		return entries;
+	}
+
+	private Object valueAt(final int i) {
+		final var kind = kinds[i];
+		if (kind == NONE || kind == OBJECT) {
+			return objects[i];
+		}
+		var boxed = objects[i];
+		if (boxed == null) {
+			if (kind == LONG) {
+				boxed = Long.valueOf(primitives[i]);
+			} else if (kind == INT) {
+				boxed = Integer.valueOf((int) primitives[i]);
+			} else {
+				boxed = Boolean.valueOf(primitives[i] != 0);
+			}
+			objects[i] = boxed;
+		}
+		return boxed;
+	}
+
+	private final class EntrySet extends AbstractSet<Entry<P, Object>> {
+		@Override
+		public Iterator<Entry<P, Object>> iterator() {
+			return new Iterator<>() {
+				private int next = advanceFrom(0);
+				private int last = -1;
+
+				@Override
+				public boolean hasNext() {
+					return next < props.length;
+				}
+
+				@Override
+				public Entry<P, Object> next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					last = next;
+					next = advanceFrom(next + 1);
+					return new SimpleImmutableEntry<>(props[last], valueAt(last));
+				}
+
+				@Override
+				public void remove() {
+					if (last < 0) {
+						throw new IllegalStateException();
+					}
+					PropertyChanges.this.remove(props[last]);
+					last = -1;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		private int advanceFrom(int i) {
+			while (i < props.length && kinds[i] == NONE) {
+				i++;
+			}
+			return i;
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package com.hedera.services.queries.answering;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.protobuf.Message;
+import com.hedera.services.config.NetworkInfo;
+import com.hedera.services.context.StateChildren;
+import com.hedera.services.context.primitives.SignedStateViewFactory;
+import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.store.schedule.ScheduleStore;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Caches the answers to the hottest entity queries ({@code CryptoGetInfo}, {@code TokenGetInfo},
+ * {@code ContractGetInfo}, and {@code CryptoGetAccountBalance}) for as long as the signed state they
+ * were computed from remains the latest.
+ *
+ * Wallets poll the same few accounts and tokens over and over, and the answer to each such query is a
+ * pure function of the signed state and its target; so rather than rebuilding the same protobuf from the
+ * Merkle leaves for every poll, each answer is computed once per signed state, against a single
+ * {@link StateView} of that state. The whole cache is dropped as soon as a newer signed state is seen,
+ * and the total serialized size of the cached answers is capped by {@code hedera.queryAnswers.maxCachedBytes}.
+ *
+ * If there is no usable signed state, or the target does not exist in it yet (for example, because it
+ * was created after the state was signed), the answer is computed from the given working view instead,
+ * and not cached.
+ *
+ * Since the validity checks and response headers of these queries still come from the working state, an
+ * answer from the signed state can lag a client's own just-handled transaction (or disagree with the
+ * status code in its header); so the cache is opt-in via {@code hedera.queryAnswers.cacheEnabled}, and
+ * when it is off every answer is computed from the working view.
+ */
+@Singleton
+public class SignedStateAnswerCache {
+	private final NetworkInfo networkInfo;
+	private final ScheduleStore scheduleStore;
+	private final MiscRunningAvgs runningAvgs;
+	private final SignedStateViewFactory stateViewFactory;
+	private final boolean enabled;
+	private final long maxCachedBytes;
+	private final AtomicReference<RoundAnswers> currentRound =
+			new AtomicReference<>(new RoundAnswers(Instant.EPOCH, StateView.EMPTY_VIEW));
+
+	@Inject
+	public SignedStateAnswerCache(
+			final NetworkInfo networkInfo,
+			final ScheduleStore scheduleStore,
+			final MiscRunningAvgs runningAvgs,
+			final NodeLocalProperties nodeProperties,
+			final SignedStateViewFactory stateViewFactory
+	) {
+		this.networkInfo = networkInfo;
+		this.scheduleStore = scheduleStore;
+		this.runningAvgs = runningAvgs;
+		this.stateViewFactory = stateViewFactory;
+		this.enabled = nodeProperties.queryAnswersCacheEnabled();
+		this.maxCachedBytes = nodeProperties.queryAnswersMaxCachedBytes();
+	}
+
+	/**
+	 * Returns the answer for the given query target in the latest signed state, computing and caching it
+	 * if this is the first query for that target since the state was signed; or, if the cache is not
+	 * enabled, simply the answer from the working view.
+	 *
+	 * @param function
+	 * 		the query type
+	 * @param target
+	 * 		the entity being queried
+	 * @param maxTokenRels
+	 * 		the maximum number of token relationships included in the answer, if applicable
+	 * @param workingView
+	 * 		the view to compute the answer from if the signed state cannot provide it
+	 * @param answer
+	 * 		how to compute the answer from a view
+	 * @param <T>
+	 * 		the type of answer
+	 * @return the answer, if the target exists
+	 */
+	public <T extends Message> Optional<T> answerFor(
+			final HederaFunctionality function,
+			final Message target,
+			final int maxTokenRels,
+			final StateView workingView,
+			final Function<StateView, Optional<T>> answer
+	) {
+		if (!enabled) {
+			return answer.apply(workingView);
+		}
+		final var latest = stateViewFactory.childrenOfLatestSignedState();
+		if (latest.isEmpty()) {
+			return answer.apply(workingView);
+		}
+		final var children = latest.get();
+		final var round = roundFor(children);
+		if (round == null) {
+			return answer.apply(new StateView(scheduleStore, children, networkInfo))
+					.or(() -> answer.apply(workingView));
+		}
+
+		final var key = new AnswerKey(function, target, maxTokenRels);
+		final var cached = round.answers().get(key);
+		runningAvgs.recordQueryAnswerCacheHit(cached != null);
+		if (cached != null) {
+			@SuppressWarnings("unchecked") final var hit = (T) cached;
+			return Optional.of(hit);
+		}
+		final var signedAnswer = answer.apply(round.view());
+		if (signedAnswer.isEmpty()) {
+			return answer.apply(workingView);
+		}
+		final var computed = signedAnswer.get();
+		final var size = computed.getSerializedSize();
+		if (round.bytes().addAndGet(size) <= maxCachedBytes) {
+			if (round.answers().putIfAbsent(key, computed) != null) {
+				round.bytes().addAndGet(-size);
+			}
+		} else {
+			round.bytes().addAndGet(-size);
+		}
+		return signedAnswer;
+	}
+
+	/**
+	 * Returns the answers for the signed state with the given children, replacing the current answers
+	 * if this is a newer state; or null if the state is older than the one already being cached.
+	 */
+	@Nullable
+	private RoundAnswers roundFor(final StateChildren children) {
+		final var signedAt = children.signedAt();
+		var round = currentRound.get();
+		while (!round.signedAt().equals(signedAt)) {
+			if (signedAt.isBefore(round.signedAt())) {
+				return null;
+			}
+			final var next = new RoundAnswers(signedAt, new StateView(scheduleStore, children, networkInfo));
+			if (currentRound.compareAndSet(round, next)) {
+				return next;
+			}
+			round = currentRound.get();
+		}
+		return round;
+	}
+
+	private record AnswerKey(HederaFunctionality function, Message target, int maxTokenRels) {
+	}
+
+	private record RoundAnswers(
+			Instant signedAt,
+			StateView view,
+			ConcurrentHashMap<AnswerKey, Message> answers,
+			AtomicLong bytes
+	) {
+		private RoundAnswers(final Instant signedAt, final StateView view) {
+			this(signedAt, view, new ConcurrentHashMap<>(), new AtomicLong());
+		}
+	}
+
+	/* --- Only used by unit tests --- */
+	@VisibleForTesting
+	int numCached() {
+		return currentRound.get().answers().size();
+	}
+
+	@VisibleForTesting
+	long cachedBytes() {
+		return currentRound.get().bytes().get();
+	}
+}
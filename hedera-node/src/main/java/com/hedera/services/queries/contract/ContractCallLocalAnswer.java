@@ -22,18 +22,10 @@ package com.hedera.services.queries.contract;
 
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
-import com.hedera.services.context.properties.NodeLocalProperties;
-import com.hedera.services.contracts.execution.CallLocalEvmTxProcessor;
-import com.hedera.services.contracts.execution.CallLocalExecutor;
-import com.hedera.services.contracts.execution.StaticBlockMetaProvider;
+import com.hedera.services.contracts.execution.CallLocalService;
 import com.hedera.services.ledger.accounts.AliasManager;
-import com.hedera.services.ledger.ids.EntityIdSource;
 import com.hedera.services.queries.AbstractAnswer;
-import com.hedera.services.store.AccountStore;
-import com.hedera.services.store.contracts.CodeCache;
 import com.hedera.services.store.contracts.EntityAccess;
-import com.hedera.services.store.contracts.HederaWorldState;
-import com.hedera.services.store.contracts.StaticEntityAccess;
 import com.hedera.services.txns.validation.OptionValidator;
 import com.hedera.services.utils.EntityIdUtils;
 import com.hederahashgraph.api.proto.java.ContractCallLocalQuery;
@@ -66,26 +58,15 @@ public class ContractCallLocalAnswer extends AbstractAnswer {
 	public static final String CONTRACT_CALL_LOCAL_CTX_KEY =
 			ContractCallLocalAnswer.class.getSimpleName() + "_localCallResponse";
 
-	private final AccountStore accountStore;
-	private final AliasManager aliasManager;
-	private final EntityIdSource ids;
-	private final OptionValidator validator;
-	private final GlobalDynamicProperties dynamicProperties;
-	private final NodeLocalProperties nodeProperties;
-	private final CallLocalEvmTxProcessor evmTxProcessor;
-	private final StaticBlockMetaProvider blockMetaProvider;
+	private final CallLocalService callLocalService;
 
 	@Inject
 	public ContractCallLocalAnswer(
-			final EntityIdSource ids,
 			final AliasManager aliasManager,
-			final AccountStore accountStore,
 			final OptionValidator validator,
 			final EntityAccess entityAccess,
 			final GlobalDynamicProperties dynamicProperties,
-			final NodeLocalProperties nodeProperties,
-			final CallLocalEvmTxProcessor evmTxProcessor,
-			final StaticBlockMetaProvider blockMetaProvider
+			final CallLocalService callLocalService
 	) {
 		super(
 				ContractCallLocal,
@@ -108,14 +89,7 @@ public class ContractCallLocalAnswer extends AbstractAnswer {
 					}
 				});
 
-		this.ids = ids;
-		this.validator = validator;
-		this.aliasManager = aliasManager;
-		this.accountStore = accountStore;
-		this.dynamicProperties = dynamicProperties;
-		this.nodeProperties = nodeProperties;
-		this.evmTxProcessor = evmTxProcessor;
-		this.blockMetaProvider = blockMetaProvider;
+		this.callLocalService = callLocalService;
 	}
 
 	@Override
@@ -181,19 +155,12 @@ public class ContractCallLocalAnswer extends AbstractAnswer {
 			// If answering from a zero-stake node, there are no node payments, and the
 			// usage estimator won't have cached the result it got from the local call
 			try {
-				final var blockMetaSource = blockMetaProvider.getSource();
-				if (blockMetaSource.isEmpty()) {
-					// Should happen rarely if ever, but signal clients they can retry
+				final var opResponse = callLocalService.execute(op, view);
+				if (opResponse.isEmpty()) {
+					// No usable signed state, or the local call executor is saturated or slow; clients can retry
 					response.setHeader(answerOnlyHeader(BUSY, cost));
 				} else {
-					final var entityAccess = new StaticEntityAccess(view, aliasManager, validator);
-					final var codeCache = new CodeCache(nodeProperties, entityAccess);
-					final var worldState = new HederaWorldState(ids, entityAccess, codeCache, dynamicProperties);
-					evmTxProcessor.setWorldState(worldState);
-					evmTxProcessor.setBlockMetaSource(blockMetaSource.get());
-					final var opResponse =
-							CallLocalExecutor.execute(accountStore, evmTxProcessor, op, aliasManager, entityAccess);
-					response.mergeFrom(withCid(opResponse, op.getContractID()));
+					response.mergeFrom(withCid(opResponse.get(), op.getContractID()));
 				}
 			} catch (Exception e) {
 				log.warn("Unable to answer ContractCallLocal", e);
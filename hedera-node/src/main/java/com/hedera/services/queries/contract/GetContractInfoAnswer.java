@@ -25,6 +25,7 @@ import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.ledger.accounts.staking.RewardCalculator;
 import com.hedera.services.queries.AnswerService;
+import com.hedera.services.queries.answering.SignedStateAnswerCache;
 import com.hedera.services.txns.validation.OptionValidator;
 import com.hedera.services.utils.accessors.SignedTxnAccessor;
 import com.hederahashgraph.api.proto.java.ContractGetInfoQuery;
@@ -55,18 +56,21 @@ public class GetContractInfoAnswer implements AnswerService {
 	private final OptionValidator validator;
 	private final GlobalDynamicProperties dynamicProperties;
 	private final RewardCalculator rewardCalculator;
+	private final SignedStateAnswerCache answerCache;
 
 	@Inject
 	public GetContractInfoAnswer(
 			final AliasManager aliasManager,
 			final OptionValidator validator,
 			final GlobalDynamicProperties dynamicProperties,
-			final RewardCalculator rewardCalculator
+			final RewardCalculator rewardCalculator,
+			final SignedStateAnswerCache answerCache
 	) {
 		this.aliasManager = aliasManager;
 		this.validator = validator;
 		this.dynamicProperties = dynamicProperties;
 		this.rewardCalculator = rewardCalculator;
+		this.answerCache = answerCache;
 	}
 
 	@Override
@@ -162,8 +166,10 @@ public class GetContractInfoAnswer implements AnswerService {
 				response.setContractInfo((ContractGetInfoResponse.ContractInfo) ctx.get(CONTRACT_INFO_CTX_KEY));
 			}
 		} else {
-			final var info = view.infoForContract(
-					op.getContractID(), aliasManager, dynamicProperties.maxTokensRelsPerInfoQuery(), rewardCalculator);
+			final var target = op.getContractID();
+			final var maxTokenRels = dynamicProperties.maxTokensRelsPerInfoQuery();
+			final var info = answerCache.answerFor(ContractGetInfo, target, maxTokenRels, view, source ->
+					source.infoForContract(target, aliasManager, maxTokenRels, rewardCalculator));
 			if (info.isEmpty()) {
 				response.setHeader(answerOnlyHeader(INVALID_CONTRACT_ID));
 			} else {
@@ -24,6 +24,7 @@ import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.queries.AnswerService;
+import com.hedera.services.queries.answering.SignedStateAnswerCache;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.txns.validation.OptionValidator;
 import com.hedera.services.utils.EntityNum;
@@ -55,16 +56,19 @@ public class GetAccountBalanceAnswer implements AnswerService {
 	private final AliasManager aliasManager;
 	private final OptionValidator optionValidator;
 	private final GlobalDynamicProperties dynamicProperties;
+	private final SignedStateAnswerCache answerCache;
 
 	@Inject
 	public GetAccountBalanceAnswer(
 			final AliasManager aliasManager,
 			final OptionValidator optionValidator,
-			final GlobalDynamicProperties dynamicProperties
+			final GlobalDynamicProperties dynamicProperties,
+			final SignedStateAnswerCache answerCache
 	) {
 		this.aliasManager = aliasManager;
 		this.optionValidator = optionValidator;
 		this.dynamicProperties = dynamicProperties;
+		this.answerCache = answerCache;
 	}
 
 	@Override
@@ -86,27 +90,21 @@ public class GetAccountBalanceAnswer implements AnswerService {
 
 	@Override
 	public Response responseGiven(Query query, StateView view, ResponseCodeEnum validity, long cost) {
-		MerkleMap<EntityNum, MerkleAccount> accounts = view.accounts();
 		CryptoGetAccountBalanceQuery op = query.getCryptogetAccountBalance();
 
 		final var id = targetOf(op);
 		CryptoGetAccountBalanceResponse.Builder opAnswer = CryptoGetAccountBalanceResponse.newBuilder()
-				.setHeader(answerOnlyHeader(validity))
 				.setAccountID(id);
 
 		if (validity == OK) {
-			final var key = EntityNum.fromAccountId(id);
-			final var account = accounts.get(key);
-			opAnswer.setBalance(account.getBalance());
 			final var maxRels = dynamicProperties.maxTokensRelsPerInfoQuery();
-			final var firstRel = account.getLatestAssociation();
-			doBoundedIteration(view.tokenAssociations(), view.tokens(), firstRel, maxRels, (token, rel) ->
-					opAnswer.addTokenBalances(TokenBalance.newBuilder()
-							.setTokenId(token.grpcId())
-							.setDecimals(token.decimals())
-							.setBalance(rel.getBalance())
-							.build()));
+			final var balances = answerCache.answerFor(CryptoGetAccountBalance, id, maxRels, view, source ->
+					balancesIn(source, id, maxRels));
+			if (balances.isPresent()) {
+				opAnswer.mergeFrom(balances.get());
+			}
 		}
+		opAnswer.setHeader(answerOnlyHeader(validity));
 
 		return Response.newBuilder().setCryptogetAccountBalance(opAnswer).build();
 	}
@@ -116,6 +114,28 @@ public class GetAccountBalanceAnswer implements AnswerService {
 		return Optional.empty();
 	}
 
+	private Optional<CryptoGetAccountBalanceResponse> balancesIn(
+			final StateView view,
+			final AccountID id,
+			final int maxRels
+	) {
+		final var account = view.accounts().get(EntityNum.fromAccountId(id));
+		if (account == null) {
+			return Optional.empty();
+		}
+		final var balances = CryptoGetAccountBalanceResponse.newBuilder()
+				.setAccountID(id)
+				.setBalance(account.getBalance());
+		final var firstRel = account.getLatestAssociation();
+		doBoundedIteration(view.tokenAssociations(), view.tokens(), firstRel, maxRels, (token, rel) ->
+				balances.addTokenBalances(TokenBalance.newBuilder()
+						.setTokenId(token.grpcId())
+						.setDecimals(token.decimals())
+						.setBalance(rel.getBalance())
+						.build()));
+		return Optional.of(balances.build());
+	}
+
 	private ResponseCodeEnum validityOf(
 			final CryptoGetAccountBalanceQuery op,
 			final MerkleMap<EntityNum, MerkleAccount> accounts
@@ -25,6 +25,7 @@ import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.ledger.accounts.staking.RewardCalculator;
 import com.hedera.services.queries.AnswerService;
+import com.hedera.services.queries.answering.SignedStateAnswerCache;
 import com.hedera.services.txns.validation.OptionValidator;
 import com.hedera.services.utils.EntityNum;
 import com.hedera.services.utils.accessors.SignedTxnAccessor;
@@ -53,17 +54,20 @@ public class GetAccountInfoAnswer implements AnswerService {
 	private final AliasManager aliasManager;
 	private final GlobalDynamicProperties dynamicProperties;
 	private final RewardCalculator rewardCalculator;
+	private final SignedStateAnswerCache answerCache;
 
 	@Inject
 	public GetAccountInfoAnswer(
 			final OptionValidator optionValidator,
 			final AliasManager aliasManager,
 			final GlobalDynamicProperties dynamicProperties,
-			final RewardCalculator rewardCalculator) {
+			final RewardCalculator rewardCalculator,
+			final SignedStateAnswerCache answerCache) {
 		this.optionValidator = optionValidator;
 		this.aliasManager = aliasManager;
 		this.dynamicProperties = dynamicProperties;
 		this.rewardCalculator = rewardCalculator;
+		this.answerCache = answerCache;
 	}
 
 	@Override
@@ -93,8 +97,9 @@ public class GetAccountInfoAnswer implements AnswerService {
 				response.setHeader(costAnswerHeader(OK, cost));
 			} else {
 				AccountID id = op.getAccountID();
-				var optionalInfo = view.infoForAccount(
-						id, aliasManager, dynamicProperties.maxTokensRelsPerInfoQuery(), rewardCalculator);
+				final var maxTokenRels = dynamicProperties.maxTokensRelsPerInfoQuery();
+				var optionalInfo = answerCache.answerFor(CryptoGetInfo, id, maxTokenRels, view, source ->
+						source.infoForAccount(id, aliasManager, maxTokenRels, rewardCalculator));
 				if (optionalInfo.isPresent()) {
 					response.setHeader(answerOnlyHeader(OK));
 					response.setAccountInfo(optionalInfo.get());
@@ -28,6 +28,9 @@ import com.hederahashgraph.api.proto.java.Query;
 import com.hederahashgraph.api.proto.java.Response;
 import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
 import com.hederahashgraph.api.proto.java.ResponseType;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -41,6 +44,8 @@ import static com.hederahashgraph.api.proto.java.ResponseType.COST_ANSWER;
 
 @Singleton
 public class GetExecTimeAnswer extends AbstractAnswer {
+	private static final Logger log = LogManager.getLogger(GetExecTimeAnswer.class);
+
 	private final ExecutionTimeTracker executionTimeTracker;
 
 	@Inject
@@ -73,6 +78,7 @@ public class GetExecTimeAnswer extends AbstractAnswer {
 					final var execNanos = executionTimeTracker.getExecNanosIfPresentFor(txnId);
 					if (execNanos != null) {
 						ans.add(execNanos);
+						logStageBreakdownOf(txnId);
 					} else {
 						response.setHeader(answerOnlyHeader(INVALID_TRANSACTION_ID));
 						failed = true;
@@ -90,4 +96,12 @@ public class GetExecTimeAnswer extends AbstractAnswer {
 				.setNetworkGetExecutionTime(response)
 				.build();
 	}
+
+	/* The HAPI response has no field for the stage breakdown, so it is only available in the debug log */
+	private void logStageBreakdownOf(final TransactionID txnId) {
+		if (log.isDebugEnabled()) {
+			log.debug("Stage breakdown (nanos) of {} was {}",
+					txnId, executionTimeTracker.getStageNanosIfPresentFor(txnId));
+		}
+	}
 }
@@ -22,6 +22,7 @@ package com.hedera.services.queries.token;
 
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.queries.AnswerService;
+import com.hedera.services.queries.answering.SignedStateAnswerCache;
 import com.hedera.services.utils.accessors.SignedTxnAccessor;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.Query;
@@ -46,9 +47,11 @@ import static com.hederahashgraph.api.proto.java.ResponseType.COST_ANSWER;
 public class GetTokenInfoAnswer implements AnswerService {
 	public static final String TOKEN_INFO_CTX_KEY = GetTokenInfoAnswer.class.getSimpleName() + "_tokenInfo";
 
+	private final SignedStateAnswerCache answerCache;
+
 	@Inject
-	public GetTokenInfoAnswer() {
-		// Default Constructor
+	public GetTokenInfoAnswer(final SignedStateAnswerCache answerCache) {
+		this.answerCache = answerCache;
 	}
 
 	@Override
@@ -143,7 +146,8 @@ public class GetTokenInfoAnswer implements AnswerService {
 				response.setTokenInfo((TokenInfo) ctx.get(TOKEN_INFO_CTX_KEY));
 			}
 		} else {
-			var info = view.infoForToken(op.getToken());
+			var target = op.getToken();
+			var info = answerCache.answerFor(TokenGetInfo, target, 0, view, source -> source.infoForToken(target));
 			if (info.isEmpty()) {
 				response.setHeader(answerOnlyHeader(INVALID_TOKEN_ID));
 			} else {
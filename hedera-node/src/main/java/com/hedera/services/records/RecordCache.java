@@ -20,7 +20,6 @@ package com.hedera.services.records;
  * ‍
  */
 
-import com.google.common.cache.Cache;
 import com.hedera.services.legacy.core.jproto.TxnReceipt;
 import com.hedera.services.state.EntityCreator;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
@@ -37,7 +36,6 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -50,16 +48,12 @@ public class RecordCache {
 			.setStatus(UNKNOWN.name())
 			.build();
 
-	static final Boolean MARKER = Boolean.TRUE;
-
 	private EntityCreator creator;
-	private Cache<TransactionID, Boolean> timedReceiptCache;
-	private Map<TransactionID, TxnIdRecentHistory> histories;
+	private final TxnReceiptIndex receiptIndex;
 
 	@Inject
-	public RecordCache(Cache<TransactionID, Boolean> cache, Map<TransactionID, TxnIdRecentHistory> histories) {
-		this.histories = histories;
-		this.timedReceiptCache = cache;
+	public RecordCache(final TxnReceiptIndex receiptIndex) {
+		this.receiptIndex = receiptIndex;
 	}
 
 	@Inject
@@ -68,7 +62,7 @@ public class RecordCache {
 	}
 
 	public void addPreConsensus(final TransactionID txnId) {
-		timedReceiptCache.put(txnId, Boolean.TRUE);
+		receiptIndex.markPreConsensus(txnId, wallClockSecond());
 	}
 
 	void setPostConsensus(
@@ -76,7 +70,7 @@ public class RecordCache {
 			final ResponseCodeEnum status,
 			final ExpirableTxnRecord expirableTxnRecord
 	) {
-		final var recentHistory = histories.computeIfAbsent(txnId, ignore -> new TxnIdRecentHistory());
+		final var recentHistory = receiptIndex.getOrCreateHistory(txnId);
 		recentHistory.observe(expirableTxnRecord, status);
 	}
 
@@ -93,21 +87,20 @@ public class RecordCache {
 				consensusTimestamp.getEpochSecond(),
 				submittingMember);
 
-		final var recentHistory = histories.computeIfAbsent(
-				accessor.getTxnId(), ignore -> new TxnIdRecentHistory());
+		final var recentHistory = receiptIndex.getOrCreateHistory(accessor.getTxnId());
 		recentHistory.observe(expiringRecord, FAIL_INVALID);
 	}
 
 	public boolean isReceiptPresent(final TransactionID txnId) {
-		return histories.containsKey(txnId) || timedReceiptCache.getIfPresent(txnId) == MARKER;
+		return receiptIndex.historyOf(txnId) != null || receiptIndex.isMarkedPreConsensus(txnId, wallClockSecond());
 	}
 
 	public TxnReceipt getPriorityReceipt(final TransactionID txnId) {
-		final var recentHistory = histories.get(txnId);
+		final var recentHistory = receiptIndex.historyOf(txnId);
 		if (recentHistory != null) {
 			return receiptFrom(recentHistory);
 		}
-		return timedReceiptCache.getIfPresent(txnId) == MARKER ? UNKNOWN_RECEIPT : null;
+		return receiptIndex.isMarkedPreConsensus(txnId, wallClockSecond()) ? UNKNOWN_RECEIPT : null;
 	}
 
 	public List<TransactionRecord> getDuplicateRecords(final TransactionID txnId) {
@@ -130,7 +123,7 @@ public class RecordCache {
 			final TransactionID txnId,
 			final Function<ExpirableTxnRecord, T> transform
 	) {
-		final var priorityRecord = getPriorityRecord(txnId);
+		final var priorityRecord = priorityRecordOf(receiptIndex.historyOf(txnId));
 		if (priorityRecord == null) {
 			return Collections.emptyList();
 		} else {
@@ -140,8 +133,7 @@ public class RecordCache {
 			} else {
 				final List<T> children = new ArrayList<>();
 				for (short i = 1; i <= numChildren; i++) {
-					final var childTxnId = txnId.toBuilder().setNonce(i).build();
-					final var childRecord = getPriorityRecord(childTxnId);
+					final var childRecord = priorityRecordOf(receiptIndex.historyOf(txnId, i));
 					/* It will be extraordinarily rare for a parent record to still be available
 					while a child has expired. But it could happen, so we silently work around it. */
 					if (childRecord != null) {
@@ -154,7 +146,7 @@ public class RecordCache {
 	}
 
 	private List<TransactionRecord> duplicatesOf(final TransactionID txnId) {
-		final var recentHistory = histories.get(txnId);
+		final var recentHistory = receiptIndex.historyOf(txnId);
 		if (recentHistory == null) {
 			return Collections.emptyList();
 		} else {
@@ -172,11 +164,15 @@ public class RecordCache {
 	}
 
 	public ExpirableTxnRecord getPriorityRecord(final TransactionID txnId) {
-		final var history = histories.get(txnId);
-		if (history != null) {
-			return Optional.ofNullable(history.priorityRecord())
-					.orElse(null);
-		}
-		return null;
+		return priorityRecordOf(receiptIndex.historyOf(txnId));
+	}
+
+	/* Pre-consensus markers are stamped and expired by the wall clock, never by consensus time */
+	private static long wallClockSecond() {
+		return Instant.now().getEpochSecond();
+	}
+
+	private static ExpirableTxnRecord priorityRecordOf(final TxnIdRecentHistory history) {
+		return (history == null) ? null : history.priorityRecord();
 	}
 }
\ No newline at end of file
@@ -20,7 +20,6 @@ package com.hedera.services.records;
  * ‍
  */
 
-import com.google.common.cache.Cache;
 import com.hedera.services.context.annotations.StaticAccountMemo;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.context.properties.NodeLocalProperties;
@@ -28,7 +27,6 @@ import com.hedera.services.stats.MiscRunningAvgs;
 import com.hedera.services.stream.CurrentRecordStreamType;
 import com.hedera.services.stream.RecordStreamManager;
 import com.hedera.services.stream.RecordStreamType;
-import com.hederahashgraph.api.proto.java.TransactionID;
 import com.swirlds.common.system.Platform;
 import com.swirlds.common.crypto.Hash;
 import dagger.Binds;
@@ -38,8 +36,6 @@ import dagger.Provides;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Module
 public interface RecordsModule {
@@ -51,18 +47,6 @@ public interface RecordsModule {
 	@Singleton
 	RecordsHistorian bindRecordsHistorian(TxnAwareRecordsHistorian txnAwareRecordsHistorian);
 
-	@Provides
-	@Singleton
-	static Map<TransactionID, TxnIdRecentHistory> txnHistories() {
-		return new ConcurrentHashMap<>();
-	}
-
-	@Provides
-	@Singleton
-	static Cache<TransactionID, Boolean> provideCache(RecordCacheFactory recordCacheFactory) {
-		return recordCacheFactory.getCache();
-	}
-
 	@Provides
 	@Singleton
 	static RecordStreamManager provideRecordStreamManager(
@@ -25,6 +25,7 @@ import com.hedera.services.state.EntityCreator;
 import com.hedera.services.state.expiry.ExpiryManager;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hedera.services.state.submerkle.RichInstant;
+import com.hedera.services.stats.ExecutionTimeTracker;
 import com.hedera.services.stream.RecordStreamObject;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.Transaction;
@@ -44,6 +45,7 @@ import java.util.function.Predicate;
 
 import static com.hedera.services.legacy.proto.utils.CommonUtils.noThrowSha384HashOf;
 import static com.hedera.services.state.submerkle.TxnId.USER_TRANSACTION_NONCE;
+import static com.hedera.services.stats.HandleStage.RECORD_CREATION;
 import static com.hedera.services.utils.MiscUtils.nonNegativeNanosOffset;
 import static com.hedera.services.utils.MiscUtils.synthFromBody;
 
@@ -59,6 +61,7 @@ public class TxnAwareRecordsHistorian implements RecordsHistorian {
 	private final ExpiryManager expiries;
 	private final TransactionContext txnCtx;
 	private final ConsensusTimeTracker consensusTimeTracker;
+	private final ExecutionTimeTracker executionTimeTracker;
 	private final List<RecordStreamObject> precedingChildStreamObjs = new ArrayList<>();
 	private final List<RecordStreamObject> followingChildStreamObjs = new ArrayList<>();
 	private final List<InProgressChildRecord> precedingChildRecords = new ArrayList<>();
@@ -72,8 +75,9 @@ public class TxnAwareRecordsHistorian implements RecordsHistorian {
 
 	@Inject
 	public TxnAwareRecordsHistorian(RecordCache recordCache, TransactionContext txnCtx, ExpiryManager expiries,
-			ConsensusTimeTracker consensusTimeTracker) {
+			ConsensusTimeTracker consensusTimeTracker, ExecutionTimeTracker executionTimeTracker) {
 		this.expiries = expiries;
+		this.executionTimeTracker = executionTimeTracker;
 		this.txnCtx = txnCtx;
 		this.recordCache = recordCache;
 		this.consensusTimeTracker = consensusTimeTracker;
@@ -103,6 +107,7 @@ public class TxnAwareRecordsHistorian implements RecordsHistorian {
 
 	@Override
 	public void saveExpirableTransactionRecords() {
+		executionTimeTracker.startStage(RECORD_CREATION);
 		final var consensusNow = txnCtx.consensusTime();
 		final var topLevel = txnCtx.recordSoFar();
 		final var accessor = txnCtx.accessor();
@@ -120,6 +125,7 @@ public class TxnAwareRecordsHistorian implements RecordsHistorian {
 		save(followingChildStreamObjs, effPayer, submittingMember);
 
 		consensusTimeTracker.setActualFollowingRecordsCount(followingChildStreamObjs.size());
+		executionTimeTracker.stopStage(RECORD_CREATION);
 	}
 
 	@Override
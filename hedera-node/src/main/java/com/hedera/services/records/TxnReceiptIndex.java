@@ -0,0 +1,580 @@
+package com.hedera.services.records;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.context.annotations.CompositeProps;
+import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.state.submerkle.TxnId;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+import static com.hedera.services.context.properties.StaticPropertiesHolder.STATIC_PROPERTIES;
+
+/**
+ * Indexes the node's knowledge of recent {@link TransactionID}s; namely, which ids were submitted by this node
+ * but have not yet reached consensus (<i>pre-consensus markers</i>); and the {@link TxnIdRecentHistory} of each
+ * id that has reached consensus.
+ *
+ * <p>Almost every transaction id can be packed into three longs: the payer's account number, the valid-start
+ * seconds, and a word combining the valid-start nanos, nonce, and scheduled flag. The index keeps these in an
+ * open-addressing table of parallel primitive arrays, so lookups—including lookups of child records by
+ * nonce—never allocate. The rare id that cannot be packed (for example, one with a payer outside this
+ * shard and realm) goes in a small fallback map.
+ *
+ * <p>Pre-consensus markers expire {@code cache.records.ttl} wall-clock seconds after they are added. Since
+ * consensus time can lag arbitrarily far behind the wall clock, markers are both stamped and purged with
+ * wall-clock seconds; each new marker first sweeps any expired markers from the head of the queue, and
+ * {@link #isMarkedPreConsensus(TransactionID, long)} ignores an expired marker that was not yet swept (for
+ * example, because no transactions were submitted since it expired). Histories are removed by the
+ * {@link com.hedera.services.state.expiry.ExpiryManager} once all their records expire.
+ *
+ * <p>Queries read the index concurrently with the ingest threads adding markers and the handle thread updating
+ * histories; reads are optimistic and only fall back to a read lock if they overlapped a write.
+ */
+@Singleton
+public class TxnReceiptIndex {
+	private static final Logger log = LogManager.getLogger(TxnReceiptIndex.class);
+
+	private static final int INITIAL_CAPACITY = 1 << 16;
+	private static final int NANOS_BITS = 30;
+	private static final int NONCE_SHIFT = 1;
+	private static final int NANOS_SHIFT = 33;
+
+	private final long ttlSecs;
+	private final StampedLock lock = new StampedLock();
+
+	private Table table = new Table(INITIAL_CAPACITY);
+	private final Map<TransactionID, TxnIdRecentHistory> unpackedHistories = new HashMap<>();
+	private final Map<TransactionID, Long> unpackedMarkerExpiries = new HashMap<>();
+
+	/* A FIFO of the pre-consensus markers added, in (approximately) expiration order */
+	private long[] markedPayers = new long[INITIAL_CAPACITY];
+	private long[] markedSecs = new long[INITIAL_CAPACITY];
+	private long[] markedRests = new long[INITIAL_CAPACITY];
+	private long[] markedExpiries = new long[INITIAL_CAPACITY];
+	private int markedHead = 0;
+	private int markedSize = 0;
+
+	@Inject
+	public TxnReceiptIndex(final @CompositeProps PropertySource properties) {
+		this(properties.getIntProperty("cache.records.ttl"));
+	}
+
+	public TxnReceiptIndex(final long ttlSecs) {
+		this.ttlSecs = ttlSecs;
+		log.info("Constructing the node-local txn id index with ttl={}s", ttlSecs);
+	}
+
+	/**
+	 * Marks the given transaction id as submitted by this node, until {@code cache.records.ttl}
+	 * seconds after the given time; and purges any markers that expired at or before that time.
+	 *
+	 * @param txnId
+	 * 		the submitted transaction id
+	 * @param now
+	 * 		the current wall-clock second
+	 */
+	public void markPreConsensus(final TransactionID txnId, final long now) {
+		final var expiry = now + ttlSecs;
+		final var stamp = lock.writeLock();
+		try {
+			dropMarkersExpiredAt(now);
+			final var rest = packedRest(txnId);
+			final var payer = txnId.getAccountID().getAccountNum();
+			if (rest < 0 || !isPackable(txnId)) {
+				unpackedMarkerExpiries.put(txnId, expiry);
+				return;
+			}
+			final var secs = txnId.getTransactionValidStart().getSeconds();
+			final var i = slotFor(payer, secs, rest);
+			table.markerExpiries[i] = expiry;
+			enqueueMarker(payer, secs, rest, expiry);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Removes any pre-consensus marker that expires at or before the given wall-clock second.
+	 *
+	 * @param now
+	 * 		the current wall-clock second
+	 */
+	public void purgeMarkersExpiredAt(final long now) {
+		final var stamp = lock.writeLock();
+		try {
+			dropMarkersExpiredAt(now);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Indicates whether the given transaction id has a pre-consensus marker that has not expired at the
+	 * given wall-clock second.
+	 *
+	 * @param txnId
+	 * 		the transaction id of interest
+	 * @param now
+	 * 		the current wall-clock second
+	 * @return whether this node submitted it and its marker has not expired
+	 */
+	public boolean isMarkedPreConsensus(final TransactionID txnId, final long now) {
+		final var rest = packedRest(txnId);
+		if (rest < 0 || !isPackable(txnId)) {
+			final var stamp = lock.readLock();
+			try {
+				final var expiry = unpackedMarkerExpiries.get(txnId);
+				return expiry != null && expiry > now;
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		final var payer = txnId.getAccountID().getAccountNum();
+		final var secs = txnId.getTransactionValidStart().getSeconds();
+		var stamp = lock.tryOptimisticRead();
+		var expiry = markerExpiry(payer, secs, rest);
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				expiry = markerExpiry(payer, secs, rest);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return expiry > now;
+	}
+
+	/* Must hold the write lock */
+	private void dropMarkersExpiredAt(final long now) {
+		while (markedSize > 0 && markedExpiries[markedHead] <= now) {
+			final var i = indexOf(table, markedPayers[markedHead], markedSecs[markedHead], markedRests[markedHead]);
+			/* The marker may have been refreshed with a later expiry since this entry was queued */
+			if (i >= 0 && table.markerExpiries[i] <= now) {
+				table.markerExpiries[i] = 0;
+				removeIfEmpty(i);
+			}
+			markedHead = (markedHead + 1) % markedExpiries.length;
+			markedSize--;
+		}
+		if (!unpackedMarkerExpiries.isEmpty()) {
+			unpackedMarkerExpiries.values().removeIf(expiry -> expiry <= now);
+		}
+	}
+
+	/**
+	 * Returns the recent history of the given transaction id, if it has reached consensus.
+	 *
+	 * @param txnId
+	 * 		the transaction id of interest
+	 * @return its recent history, or null if it has none
+	 */
+	public TxnIdRecentHistory historyOf(final TransactionID txnId) {
+		return historyOf(txnId, txnId.getNonce());
+	}
+
+	/**
+	 * Returns the recent history of the given transaction id, but with the given nonce; for example, to look
+	 * up the history of a child transaction without building its id.
+	 *
+	 * @param txnId
+	 * 		the transaction id of interest
+	 * @param nonce
+	 * 		the nonce to use in place of the given id's nonce
+	 * @return the recent history of the id with the given nonce, or null if it has none
+	 */
+	public TxnIdRecentHistory historyOf(final TransactionID txnId, final int nonce) {
+		final var rest = packedRest(txnId, nonce);
+		if (rest < 0 || !isPackable(txnId)) {
+			final var withNonce = (nonce == txnId.getNonce()) ? txnId : txnId.toBuilder().setNonce(nonce).build();
+			final var stamp = lock.readLock();
+			try {
+				return unpackedHistories.get(withNonce);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return historyOf(txnId.getAccountID().getAccountNum(), txnId.getTransactionValidStart().getSeconds(), rest);
+	}
+
+	/**
+	 * Returns the recent history of the given transaction id, if it has reached consensus.
+	 *
+	 * @param txnId
+	 * 		the transaction id of interest
+	 * @return its recent history, or null if it has none
+	 */
+	public TxnIdRecentHistory historyOf(final TxnId txnId) {
+		final var rest = packedRest(txnId);
+		if (rest < 0) {
+			return historyOf(txnId.toGrpc());
+		}
+		return historyOf(txnId.getPayerAccount().num(), txnId.getValidStart().getSeconds(), rest);
+	}
+
+	/**
+	 * Returns the recent history of the given transaction id, creating an empty history if it has none.
+	 *
+	 * @param txnId
+	 * 		the transaction id of interest
+	 * @return its recent history
+	 */
+	public TxnIdRecentHistory getOrCreateHistory(final TransactionID txnId) {
+		final var stamp = lock.writeLock();
+		try {
+			final var rest = packedRest(txnId);
+			if (rest < 0 || !isPackable(txnId)) {
+				return unpackedHistories.computeIfAbsent(txnId, ignore -> new TxnIdRecentHistory());
+			}
+			final var i = slotFor(txnId.getAccountID().getAccountNum(), txnId.getTransactionValidStart().getSeconds(),
+					rest);
+			return historyAt(i);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Returns the recent history of the given transaction id, creating an empty history if it has none.
+	 *
+	 * @param txnId
+	 * 		the transaction id of interest
+	 * @return its recent history
+	 */
+	public TxnIdRecentHistory getOrCreateHistory(final TxnId txnId) {
+		final var rest = packedRest(txnId);
+		if (rest < 0) {
+			return getOrCreateHistory(txnId.toGrpc());
+		}
+		final var stamp = lock.writeLock();
+		try {
+			final var i = slotFor(txnId.getPayerAccount().num(), txnId.getValidStart().getSeconds(), rest);
+			return historyAt(i);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Removes the recent history of the given transaction id (but not any pre-consensus marker).
+	 *
+	 * @param txnId
+	 * 		the transaction id whose history should be removed
+	 */
+	public void forgetHistory(final TxnId txnId) {
+		final var rest = packedRest(txnId);
+		final var stamp = lock.writeLock();
+		try {
+			if (rest < 0) {
+				unpackedHistories.remove(txnId.toGrpc());
+				return;
+			}
+			final var i = indexOf(table, txnId.getPayerAccount().num(), txnId.getValidStart().getSeconds(), rest);
+			if (i >= 0) {
+				table.histories[i] = null;
+				removeIfEmpty(i);
+			}
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Applies the given action to every recent history in the index.
+	 *
+	 * @param action
+	 * 		the action to apply
+	 */
+	public void forEachHistory(final Consumer<TxnIdRecentHistory> action) {
+		final var stamp = lock.readLock();
+		try {
+			for (final var history : table.histories) {
+				if (history != null) {
+					action.accept(history);
+				}
+			}
+			unpackedHistories.values().forEach(action);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Removes all recent histories from the index, leaving pre-consensus markers in place.
+	 */
+	public void clearHistories() {
+		final var stamp = lock.writeLock();
+		try {
+			final var rebuilt = new Table(INITIAL_CAPACITY);
+			final var old = table;
+			table = rebuilt;
+			for (int i = 0; i < old.payers.length; i++) {
+				if (old.payers[i] != 0 && old.markerExpiries[i] != 0) {
+					final var j = slotFor(old.payers[i], old.secs[i], old.rests[i]);
+					table.markerExpiries[j] = old.markerExpiries[i];
+				}
+			}
+			unpackedHistories.clear();
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	int size() {
+		return table.size + unpackedHistories.size() + unpackedMarkerExpiries.size();
+	}
+
+	int capacity() {
+		return table.payers.length;
+	}
+
+	/* --- Internal helpers --- */
+	private TxnIdRecentHistory historyOf(final long payer, final long secs, final long rest) {
+		var stamp = lock.tryOptimisticRead();
+		var history = historyIn(table, payer, secs, rest);
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				history = historyIn(table, payer, secs, rest);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return history;
+	}
+
+	private static TxnIdRecentHistory historyIn(final Table t, final long payer, final long secs, final long rest) {
+		final var i = indexOf(t, payer, secs, rest);
+		return i < 0 ? null : t.histories[i];
+	}
+
+	private long markerExpiry(final long payer, final long secs, final long rest) {
+		final var t = table;
+		final var i = indexOf(t, payer, secs, rest);
+		return i < 0 ? 0 : t.markerExpiries[i];
+	}
+
+	private TxnIdRecentHistory historyAt(final int i) {
+		var history = table.histories[i];
+		if (history == null) {
+			history = new TxnIdRecentHistory();
+			table.histories[i] = history;
+		}
+		return history;
+	}
+
+	/**
+	 * Returns the index of the given key in the given table, or -1 if it is not present. Bounded by the table
+	 * capacity, so it terminates even when an optimistic read races a write.
+	 */
+	private static int indexOf(final Table t, final long payer, final long secs, final long rest) {
+		final var mask = t.payers.length - 1;
+		var i = hash(payer, secs, rest) & mask;
+		for (int probes = 0; probes <= mask; probes++) {
+			final var candidate = t.payers[i];
+			if (candidate == 0) {
+				return -1;
+			}
+			if (candidate == payer && t.secs[i] == secs && t.rests[i] == rest) {
+				return i;
+			}
+			i = (i + 1) & mask;
+		}
+		return -1;
+	}
+
+	/* Must hold the write lock */
+	private int slotFor(final long payer, final long secs, final long rest) {
+		final var existing = indexOf(table, payer, secs, rest);
+		if (existing >= 0) {
+			return existing;
+		}
+		if (2 * (table.size + 1) > table.payers.length) {
+			resize();
+		}
+		final var t = table;
+		final var mask = t.payers.length - 1;
+		var i = hash(payer, secs, rest) & mask;
+		while (t.payers[i] != 0) {
+			i = (i + 1) & mask;
+		}
+		t.payers[i] = payer;
+		t.secs[i] = secs;
+		t.rests[i] = rest;
+		t.size++;
+		return i;
+	}
+
+	/* Must hold the write lock */
+	private void resize() {
+		final var old = table;
+		final var grown = new Table(2 * old.payers.length);
+		final var mask = grown.payers.length - 1;
+		for (int j = 0; j < old.payers.length; j++) {
+			if (old.payers[j] != 0) {
+				var i = hash(old.payers[j], old.secs[j], old.rests[j]) & mask;
+				while (grown.payers[i] != 0) {
+					i = (i + 1) & mask;
+				}
+				grown.copyFrom(old, j, i);
+			}
+		}
+		grown.size = old.size;
+		table = grown;
+	}
+
+	/**
+	 * Removes the entry at the given index if it has neither a history nor a marker, shifting back any
+	 * later entries in its probe sequence so no tombstone is needed. Must hold the write lock.
+	 */
+	private void removeIfEmpty(final int i) {
+		final var t = table;
+		if (t.histories[i] != null || t.markerExpiries[i] != 0) {
+			return;
+		}
+		final var mask = t.payers.length - 1;
+		var hole = i;
+		var j = i;
+		while (true) {
+			j = (j + 1) & mask;
+			if (t.payers[j] == 0) {
+				break;
+			}
+			final var home = hash(t.payers[j], t.secs[j], t.rests[j]) & mask;
+			if (((j - home) & mask) >= ((j - hole) & mask)) {
+				t.copyFrom(t, j, hole);
+				hole = j;
+			}
+		}
+		t.clear(hole);
+		t.size--;
+	}
+
+	/* Must hold the write lock */
+	private void enqueueMarker(final long payer, final long secs, final long rest, final long expiry) {
+		if (markedSize == markedExpiries.length) {
+			final var n = markedExpiries.length;
+			markedPayers = unrolled(markedPayers, n);
+			markedSecs = unrolled(markedSecs, n);
+			markedRests = unrolled(markedRests, n);
+			markedExpiries = unrolled(markedExpiries, n);
+			markedHead = 0;
+		}
+		final var tail = (markedHead + markedSize) % markedExpiries.length;
+		markedPayers[tail] = payer;
+		markedSecs[tail] = secs;
+		markedRests[tail] = rest;
+		markedExpiries[tail] = expiry;
+		markedSize++;
+	}
+
+	private long[] unrolled(final long[] ring, final int n) {
+		final var grown = new long[2 * n];
+		System.arraycopy(ring, markedHead, grown, 0, n - markedHead);
+		System.arraycopy(ring, 0, grown, n - markedHead, markedHead);
+		return grown;
+	}
+
+	private static boolean isPackable(final TransactionID txnId) {
+		final var payer = txnId.getAccountID();
+		return payer.getAccountNum() > 0
+				&& payer.getShardNum() == STATIC_PROPERTIES.getShard()
+				&& payer.getRealmNum() == STATIC_PROPERTIES.getRealm();
+	}
+
+	private static long packedRest(final TransactionID txnId) {
+		return packedRest(txnId, txnId.getNonce());
+	}
+
+	private static long packedRest(final TransactionID txnId, final int nonce) {
+		return packedRest(txnId.getTransactionValidStart().getNanos(), nonce, txnId.getScheduled());
+	}
+
+	private static long packedRest(final TxnId txnId) {
+		final var payer = txnId.getPayerAccount();
+		if (payer.num() <= 0
+				|| payer.shard() != STATIC_PROPERTIES.getShard()
+				|| payer.realm() != STATIC_PROPERTIES.getRealm()) {
+			return -1;
+		}
+		return packedRest(txnId.getValidStart().getNanos(), txnId.getNonce(), txnId.isScheduled());
+	}
+
+	/**
+	 * Packs the valid-start nanos, nonce, and scheduled flag of a transaction id into a single non-negative long;
+	 * or returns -1 if the nanos are out of range.
+	 */
+	static long packedRest(final int nanos, final int nonce, final boolean scheduled) {
+		if (nanos < 0 || nanos >= (1 << NANOS_BITS)) {
+			return -1;
+		}
+		return ((long) nanos << NANOS_SHIFT) | ((nonce & 0xFFFFFFFFL) << NONCE_SHIFT) | (scheduled ? 1 : 0);
+	}
+
+	private static int hash(final long payer, final long secs, final long rest) {
+		var h = payer * 0x9E3779B97F4A7C15L;
+		h = (h ^ secs) * 0xC2B2AE3D27D4EB4FL;
+		h = (h ^ rest) * 0x165667B19E3779F9L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	private static final class Table {
+		private final long[] payers;
+		private final long[] secs;
+		private final long[] rests;
+		private final long[] markerExpiries;
+		private final TxnIdRecentHistory[] histories;
+		private int size;
+
+		private Table(final int capacity) {
+			payers = new long[capacity];
+			secs = new long[capacity];
+			rests = new long[capacity];
+			markerExpiries = new long[capacity];
+			histories = new TxnIdRecentHistory[capacity];
+		}
+
+		private void copyFrom(final Table from, final int j, final int i) {
+			payers[i] = from.payers[j];
+			secs[i] = from.secs[j];
+			rests[i] = from.rests[j];
+			markerExpiries[i] = from.markerExpiries[j];
+			histories[i] = from.histories[j];
+		}
+
+		private void clear(final int i) {
+			payers[i] = 0;
+			secs[i] = 0;
+			rests[i] = 0;
+			markerExpiries[i] = 0;
+			histories[i] = null;
+		}
+	}
+}
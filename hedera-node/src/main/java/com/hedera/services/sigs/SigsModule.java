@@ -23,11 +23,13 @@ package com.hedera.services.sigs;
 import com.hedera.services.config.FileNumbers;
 import com.hedera.services.context.MutableStateChildren;
 import com.hedera.services.context.NodeInfo;
+import com.hedera.services.context.properties.NodeLocalProperties;
 import com.hedera.services.contracts.sources.EvmSigsVerifier;
 import com.hedera.services.contracts.sources.TxnAwareEvmSigsVerifier;
 import com.hedera.services.keys.HederaKeyActivation;
 import com.hedera.services.keys.OnlyIfSigVerifiableValid;
 import com.hedera.services.legacy.core.jproto.JKey;
+import com.hedera.services.sigs.annotations.PrecheckSyncVerifier;
 import com.hedera.services.sigs.annotations.WorkingStateSigReqs;
 import com.hedera.services.sigs.metadata.StateChildrenSigMetadataLookup;
 import com.hedera.services.sigs.metadata.TokenMetaUtils;
@@ -35,8 +37,10 @@ import com.hedera.services.sigs.order.PolicyBasedSigWaivers;
 import com.hedera.services.sigs.order.SigRequirements;
 import com.hedera.services.sigs.order.SignatureWaivers;
 import com.hedera.services.sigs.utils.PrecheckUtils;
+import com.hedera.services.sigs.verification.BatchingSyncVerifier;
 import com.hedera.services.sigs.verification.SyncVerifier;
 import com.hedera.services.state.logic.PayerSigValidity;
+import com.hedera.services.stats.MiscRunningAvgs;
 import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.swirlds.common.system.Platform;
 import com.swirlds.common.crypto.TransactionSignature;
@@ -48,6 +52,8 @@ import javax.inject.Singleton;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 
+import static com.hedera.services.txns.submission.IngestMode.WORKER_POOL;
+
 @Module
 public interface SigsModule {
 	@Binds
@@ -64,6 +70,20 @@ public interface SigsModule {
 		return platform.getCryptography()::verifySync;
 	}
 
+	@Provides
+	@Singleton
+	@PrecheckSyncVerifier
+	static SyncVerifier providePrecheckSyncVerifier(
+			SyncVerifier syncVerifier,
+			MiscRunningAvgs runningAvgs,
+			NodeLocalProperties nodeLocalProperties
+	) {
+		if (nodeLocalProperties.nettyIngestMode() == WORKER_POOL) {
+			return new BatchingSyncVerifier(syncVerifier, runningAvgs, nodeLocalProperties.nettyIngestMaxSigBatchSize());
+		}
+		return syncVerifier;
+	}
+
 	@Provides
 	@Singleton
 	static BiPredicate<JKey, TransactionSignature> provideValidityTest(SyncVerifier syncVerifier) {
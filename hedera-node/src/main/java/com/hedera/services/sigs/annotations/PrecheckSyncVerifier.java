@@ -1,4 +1,5 @@
-package com.hedera.services.contracts.execution;
+package com.hedera.services.sigs.annotations;
+
 
 /*-
  * ‌
@@ -20,23 +21,15 @@ package com.hedera.services.contracts.execution;
  * ‍
  */
 
-import com.hedera.services.context.primitives.SignedStateViewFactory;
-
-import javax.inject.Inject;
-import javax.inject.Singleton;
-import java.util.Optional;
-
-@Singleton
-public class StaticBlockMetaProvider {
-	private final SignedStateViewFactory stateViewFactory;
+import javax.inject.Qualifier;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
 
-	@Inject
-	public StaticBlockMetaProvider(final SignedStateViewFactory stateViewFactory) {
-		this.stateViewFactory = stateViewFactory;
-	}
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
-	public Optional<BlockMetaSource> getSource() {
-		return stateViewFactory.childrenOfLatestSignedState()
-				.map(children -> StaticBlockMetaSource.from(children.networkCtx()));
-	}
+@Target({ ElementType.METHOD, ElementType.PARAMETER })
+@Qualifier
+@Retention(RUNTIME)
+public @interface PrecheckSyncVerifier {
 }
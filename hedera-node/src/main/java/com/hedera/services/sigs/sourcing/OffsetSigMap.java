@@ -0,0 +1,363 @@
+package com.hedera.services.sigs.sourcing;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import com.hedera.services.legacy.exception.KeyPrefixMismatchException;
+import com.hederahashgraph.api.proto.java.SignatureMap;
+import com.hederahashgraph.api.proto.java.SignaturePair;
+import com.hederahashgraph.api.proto.java.SignedTransaction;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.swirlds.common.utility.CommonUtils;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A read-only view of the {@link SignatureMap} in a signed transaction that, unlike {@link PojoSigMap}, does not
+ * copy any public key prefixes or signatures. Instead it records the offset and length of each prefix and
+ * signature in the original {@code Transaction} bytes; and materializes a signature only when it is requested.
+ *
+ * <p>The view also keeps the sig pairs sorted by (prefix length, prefix bytes), so that finding the unique prefix
+ * of a public key takes one binary search per distinct prefix length (usually just one or two of them),
+ * instead of a linear scan over all the sig pairs.
+ *
+ * <p>Follows the protobuf semantics of the parsed {@link SignatureMap}; that is, when a {@code SignaturePair}
+ * has a non-empty {@code ECDSASecp256k1} signature, it is an {@link KeyType#ECDSA_SECP256K1} pair; and otherwise
+ * an {@link KeyType#ED25519} pair whose signature is the (possibly empty) {@code ed25519} field.
+ */
+public final class OffsetSigMap {
+	private static final int NOT_FOUND = -1;
+	private static final int INITIAL_CAPACITY = 4;
+	private static final int TAG_TYPE_BITS = 3;
+
+	private final byte[] source;
+	private int n;
+	private int[] prefixOffsets = new int[INITIAL_CAPACITY];
+	private int[] prefixLengths = new int[INITIAL_CAPACITY];
+	private int[] sigOffsets = new int[INITIAL_CAPACITY];
+	private int[] sigLengths = new int[INITIAL_CAPACITY];
+	private KeyType[] keyTypes = new KeyType[INITIAL_CAPACITY];
+	/* Sig pair indices, sorted by (prefix length, prefix bytes) */
+	private int[] sortedByPrefix;
+	/* The positions in sortedByPrefix where each run of same-length prefixes begins, with a final sentinel */
+	private int[] lengthRunStarts;
+
+	private OffsetSigMap(final byte[] source) {
+		this.source = source;
+	}
+
+	/**
+	 * Returns a view of the signature map in the given serialized {@link Transaction}; using the map in its
+	 * {@code signedTransactionBytes} if that field is set, and its (deprecated) top-level {@code sigMap} otherwise.
+	 *
+	 * @param signedTxnWrapperBytes
+	 * 		the serialized {@code Transaction}
+	 * @return a view of its signature map
+	 * @throws InvalidProtocolBufferException
+	 * 		if the bytes are not a valid {@code Transaction}
+	 */
+	public static OffsetSigMap fromSignedTxnWrapper(
+			final byte[] signedTxnWrapperBytes
+	) throws InvalidProtocolBufferException {
+		final var subject = new OffsetSigMap(signedTxnWrapperBytes);
+		try {
+			final var signedTxnRange = subject.lastFieldRange(
+					0, signedTxnWrapperBytes.length, Transaction.SIGNEDTRANSACTIONBYTES_FIELD_NUMBER);
+			if (signedTxnRange == null || signedTxnRange[1] == 0) {
+				subject.scanSigMapsIn(0, signedTxnWrapperBytes.length, Transaction.SIGMAP_FIELD_NUMBER);
+			} else {
+				subject.scanSigMapsIn(signedTxnRange[0], signedTxnRange[1], SignedTransaction.SIGMAP_FIELD_NUMBER);
+			}
+		} catch (InvalidProtocolBufferException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new InvalidProtocolBufferException(e);
+		}
+		subject.indexPrefixes();
+		return subject;
+	}
+
+	/**
+	 * Returns a view of the given serialized {@link SignatureMap}.
+	 *
+	 * @param sigMapBytes
+	 * 		the serialized {@code SignatureMap}
+	 * @return a view of the map
+	 * @throws InvalidProtocolBufferException
+	 * 		if the bytes are not a valid {@code SignatureMap}
+	 */
+	public static OffsetSigMap fromSigMapBytes(final byte[] sigMapBytes) throws InvalidProtocolBufferException {
+		final var subject = new OffsetSigMap(sigMapBytes);
+		try {
+			subject.scanSigMap(0, sigMapBytes.length);
+		} catch (InvalidProtocolBufferException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new InvalidProtocolBufferException(e);
+		}
+		subject.indexPrefixes();
+		return subject;
+	}
+
+	/**
+	 * Returns the index of the unique sig pair whose public key prefix begins the given public key; or {@code -1}
+	 * if there is no such sig pair.
+	 *
+	 * @param pubKey
+	 * 		the public key of interest
+	 * @return the index of its sig pair, or {@code -1}
+	 * @throws KeyPrefixMismatchException
+	 * 		if more than one sig pair has a prefix of the given key
+	 */
+	public int indexOfPrefixFor(final byte[] pubKey) throws KeyPrefixMismatchException {
+		var found = NOT_FOUND;
+		for (int r = 0, numRuns = lengthRunStarts.length - 1; r < numRuns; r++) {
+			final var lo = lengthRunStarts[r];
+			final var hi = lengthRunStarts[r + 1];
+			final var len = prefixLengths[sortedByPrefix[lo]];
+			if (len > pubKey.length) {
+				break;
+			}
+			final var at = binarySearch(lo, hi, pubKey, len);
+			if (at != NOT_FOUND) {
+				final var i = sortedByPrefix[at];
+				final var isRepeated = (at + 1 < hi && compareToKey(sortedByPrefix[at + 1], pubKey, len) == 0)
+						|| (at > lo && compareToKey(sortedByPrefix[at - 1], pubKey, len) == 0);
+				if (found != NOT_FOUND || isRepeated) {
+					throw new KeyPrefixMismatchException(
+							"Source signature map with prefix " + CommonUtils.hex(pubKeyPrefix(i)) +
+									" is ambiguous for given public key! (" + CommonUtils.hex(pubKey) + ")");
+				}
+				found = i;
+			}
+		}
+		return found;
+	}
+
+	public boolean isFullPrefixAt(final int i) {
+		if (i < 0 || i >= n) {
+			throw new IllegalArgumentException("Requested prefix at index " + i + ", not in [0, " + n + ")");
+		}
+		return keyTypes[i].getLength() == prefixLengths[i];
+	}
+
+	public KeyType keyType(final int i) {
+		return keyTypes[i];
+	}
+
+	public byte[] pubKeyPrefix(final int i) {
+		return Arrays.copyOfRange(source, prefixOffsets[i], prefixOffsets[i] + prefixLengths[i]);
+	}
+
+	public byte[] primitiveSignature(final int i) {
+		return Arrays.copyOfRange(source, sigOffsets[i], sigOffsets[i] + sigLengths[i]);
+	}
+
+	public int numSigsPairs() {
+		return n;
+	}
+
+	@Override
+	public String toString() {
+		final var prefixes = new String[n];
+		for (int i = 0; i < n; i++) {
+			prefixes[i] = CommonUtils.hex(pubKeyPrefix(i));
+		}
+		return MoreObjects.toStringHelper(this)
+				.add("keyTypes", Arrays.copyOf(keyTypes, n))
+				.add("pubKeyPrefixes", prefixes)
+				.toString();
+	}
+
+	/* --- Internal helpers --- */
+	private int binarySearch(int lo, int hi, final byte[] pubKey, final int len) {
+		hi--;
+		while (lo <= hi) {
+			final var mid = (lo + hi) >>> 1;
+			final var cmp = compareToKey(sortedByPrefix[mid], pubKey, len);
+			if (cmp < 0) {
+				lo = mid + 1;
+			} else if (cmp > 0) {
+				hi = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return NOT_FOUND;
+	}
+
+	private int compareToKey(final int i, final byte[] pubKey, final int len) {
+		return Arrays.compareUnsigned(source, prefixOffsets[i], prefixOffsets[i] + len, pubKey, 0, len);
+	}
+
+	private int comparePrefixes(final int i, final int j) {
+		final var byLength = Integer.compare(prefixLengths[i], prefixLengths[j]);
+		if (byLength != 0) {
+			return byLength;
+		}
+		return Arrays.compareUnsigned(
+				source, prefixOffsets[i], prefixOffsets[i] + prefixLengths[i],
+				source, prefixOffsets[j], prefixOffsets[j] + prefixLengths[j]);
+	}
+
+	private void indexPrefixes() {
+		sortedByPrefix = new int[n];
+		/* Sig maps are small (bounded by the max transaction size), so insertion sort is fine */
+		for (int i = 0; i < n; i++) {
+			var j = i;
+			while (j > 0 && comparePrefixes(sortedByPrefix[j - 1], i) > 0) {
+				sortedByPrefix[j] = sortedByPrefix[j - 1];
+				j--;
+			}
+			sortedByPrefix[j] = i;
+		}
+		var numRuns = 0;
+		final var runStarts = new int[n + 1];
+		for (int k = 0; k < n; k++) {
+			if (k == 0 || prefixLengths[sortedByPrefix[k]] != prefixLengths[sortedByPrefix[k - 1]]) {
+				runStarts[numRuns++] = k;
+			}
+		}
+		runStarts[numRuns++] = n;
+		lengthRunStarts = Arrays.copyOf(runStarts, numRuns);
+	}
+
+	/**
+	 * Returns the {@code (offset, length)} of the last occurrence of the given length-delimited field in the
+	 * message at the given range, or null if the field does not occur (as with protobuf, the last occurrence of
+	 * a scalar field wins).
+	 */
+	private int[] lastFieldRange(final int offset, final int length, final int fieldNumber) throws IOException {
+		int[] range = null;
+		final var input = CodedInputStream.newInstance(source, offset, length);
+		for (var tag = input.readTag(); tag != 0; tag = input.readTag()) {
+			if (isLengthDelimited(tag, fieldNumber)) {
+				final var len = input.readRawVarint32();
+				range = new int[] { offset + input.getTotalBytesRead(), len };
+				input.skipRawBytes(len);
+			} else {
+				input.skipField(tag);
+			}
+		}
+		return range;
+	}
+
+	/* As with protobuf, repeated occurrences of an embedded message field are merged; i.e., the pairs concatenated */
+	private void scanSigMapsIn(final int offset, final int length, final int sigMapFieldNumber) throws IOException {
+		final var input = CodedInputStream.newInstance(source, offset, length);
+		for (var tag = input.readTag(); tag != 0; tag = input.readTag()) {
+			if (isLengthDelimited(tag, sigMapFieldNumber)) {
+				final var len = input.readRawVarint32();
+				final var at = offset + input.getTotalBytesRead();
+				input.skipRawBytes(len);
+				scanSigMap(at, len);
+			} else {
+				input.skipField(tag);
+			}
+		}
+	}
+
+	private void scanSigMap(final int offset, final int length) throws IOException {
+		final var input = CodedInputStream.newInstance(source, offset, length);
+		for (var tag = input.readTag(); tag != 0; tag = input.readTag()) {
+			if (isLengthDelimited(tag, SignatureMap.SIGPAIR_FIELD_NUMBER)) {
+				final var len = input.readRawVarint32();
+				final var at = offset + input.getTotalBytesRead();
+				input.skipRawBytes(len);
+				scanSigPair(at, len);
+			} else {
+				input.skipField(tag);
+			}
+		}
+	}
+
+	private void scanSigPair(final int offset, final int length) throws IOException {
+		var prefixOffset = offset;
+		var prefixLength = 0;
+		var sigOffset = offset;
+		var sigLength = 0;
+		var sigField = 0;
+		final var input = CodedInputStream.newInstance(source, offset, length);
+		for (var tag = input.readTag(); tag != 0; tag = input.readTag()) {
+			final var field = WireFormat.getTagFieldNumber(tag);
+			if (WireFormat.getTagWireType(tag) != WireFormat.WIRETYPE_LENGTH_DELIMITED
+					|| field < SignaturePair.PUBKEYPREFIX_FIELD_NUMBER
+					|| field > SignaturePair.ECDSA_SECP256K1_FIELD_NUMBER) {
+				input.skipField(tag);
+				continue;
+			}
+			final var len = input.readRawVarint32();
+			final var at = offset + input.getTotalBytesRead();
+			if (field == SignaturePair.PUBKEYPREFIX_FIELD_NUMBER) {
+				prefixOffset = at;
+				prefixLength = len;
+			} else {
+				/* The signature fields are a oneof, so the last one set wins */
+				sigField = field;
+				sigOffset = at;
+				sigLength = len;
+			}
+			input.skipRawBytes(len);
+		}
+		final KeyType type;
+		if (sigField == SignaturePair.ECDSA_SECP256K1_FIELD_NUMBER && sigLength > 0) {
+			type = KeyType.ECDSA_SECP256K1;
+		} else {
+			type = KeyType.ED25519;
+			if (sigField != SignaturePair.ED25519_FIELD_NUMBER) {
+				sigLength = 0;
+			}
+		}
+		add(prefixOffset, prefixLength, sigOffset, sigLength, type);
+	}
+
+	private void add(
+			final int prefixOffset,
+			final int prefixLength,
+			final int sigOffset,
+			final int sigLength,
+			final KeyType type
+	) {
+		if (n == keyTypes.length) {
+			final var newCapacity = 2 * n;
+			prefixOffsets = Arrays.copyOf(prefixOffsets, newCapacity);
+			prefixLengths = Arrays.copyOf(prefixLengths, newCapacity);
+			sigOffsets = Arrays.copyOf(sigOffsets, newCapacity);
+			sigLengths = Arrays.copyOf(sigLengths, newCapacity);
+			keyTypes = Arrays.copyOf(keyTypes, newCapacity);
+		}
+		prefixOffsets[n] = prefixOffset;
+		prefixLengths[n] = prefixLength;
+		sigOffsets[n] = sigOffset;
+		sigLengths[n] = sigLength;
+		keyTypes[n] = type;
+		n++;
+	}
+
+	private static boolean isLengthDelimited(final int tag, final int fieldNumber) {
+		return tag == ((fieldNumber << TAG_TYPE_BITS) | WireFormat.WIRETYPE_LENGTH_DELIMITED);
+	}
+}
@@ -0,0 +1,93 @@
+package com.hedera.services.sigs.sourcing;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+import com.hedera.services.legacy.exception.KeyPrefixMismatchException;
+
+/**
+ * A source of cryptographic signatures backed by an {@link OffsetSigMap} view of the signed transaction
+ * bytes; so signature bytes are only copied out of the transaction when a
+ * {@link com.swirlds.common.crypto.TransactionSignature} is about to be created from them.
+ *
+ * <p>As with {@link PojoSigMapPubKeyToSigBytes}, if a public key does not match any prefix
+ * in the signature map, its cryptographic signature is simply an empty {@code byte[]}.
+ */
+public class OffsetSigMapPubKeyToSigBytes implements PubKeyToSigBytes {
+	private static final int MISSING_SIG_BYTES_INDEX = -1;
+
+	private final OffsetSigMap sigMap;
+	private final boolean[] used;
+
+	public OffsetSigMapPubKeyToSigBytes(final OffsetSigMap sigMap) {
+		this.sigMap = sigMap;
+		used = new boolean[sigMap.numSigsPairs()];
+	}
+
+	@Override
+	public byte[] sigBytesFor(final byte[] pubKey) throws KeyPrefixMismatchException {
+		final var i = sigMap.indexOfPrefixFor(pubKey);
+		if (i == MISSING_SIG_BYTES_INDEX) {
+			return EMPTY_SIG;
+		}
+		used[i] = true;
+		return sigMap.primitiveSignature(i);
+	}
+
+	@Override
+	public void forEachUnusedSigWithFullPrefix(final SigObserver observer) {
+		for (int i = 0, n = sigMap.numSigsPairs(); i < n; i++) {
+			if (!used[i] && sigMap.isFullPrefixAt(i)) {
+				observer.accept(sigMap.keyType(i), sigMap.pubKeyPrefix(i), sigMap.primitiveSignature(i));
+			}
+		}
+	}
+
+	@Override
+	public boolean hasAtLeastOneUnusedSigWithFullPrefix() {
+		for (int i = 0, n = sigMap.numSigsPairs(); i < n; i++) {
+			if (!used[i] && sigMap.isFullPrefixAt(i)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void resetAllSigsToUnused() {
+		for (int i = 0, n = sigMap.numSigsPairs(); i < n; i++) {
+			used[i] = false;
+		}
+	}
+
+	OffsetSigMap getSigMap() {
+		return sigMap;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("sigMap", sigMap.toString())
+				.add("used", used)
+				.toString();
+	}
+}
@@ -0,0 +1,156 @@
+package com.hedera.services.sigs.verification;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.swirlds.common.crypto.TransactionSignature;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link SyncVerifier} that lets concurrent precheck callers share a single call to the
+ * delegate verifier, using flat combining: each caller publishes its request to a queue, and
+ * whichever caller wins the combiner role drains up to {@code maxBatchSize} signatures from the
+ * queue, verifies them in one delegate call, and wakes the other callers whose requests it
+ * handled. The per-call overhead of the delegate (in particular, of the platform's crypto
+ * engine) is thus amortized across all ingest workers that are verifying at the same moment.
+ *
+ * Since the delegate verifies signatures <b>in-place</b>, each caller sees the results in the
+ * same list it passed in, exactly as with the delegate.
+ */
+public class BatchingSyncVerifier implements SyncVerifier {
+	private static final long NANOS_PER_MICRO = 1_000L;
+	private static final long WAITER_PARK_NANOS = 50_000L;
+
+	private final int maxBatchSize;
+	private final SyncVerifier delegate;
+	private final MiscRunningAvgs runningAvgs;
+	private final AtomicBoolean combining = new AtomicBoolean(false);
+	private final ConcurrentLinkedQueue<Request> pending = new ConcurrentLinkedQueue<>();
+
+	public BatchingSyncVerifier(
+			final SyncVerifier delegate,
+			final MiscRunningAvgs runningAvgs,
+			final int maxBatchSize
+	) {
+		this.delegate = delegate;
+		this.runningAvgs = runningAvgs;
+		this.maxBatchSize = Math.max(1, maxBatchSize);
+	}
+
+	@Override
+	public void verifySync(final List<TransactionSignature> unknownSigs) {
+		if (unknownSigs.isEmpty()) {
+			return;
+		}
+		final var request = new Request(unknownSigs, Thread.currentThread());
+		pending.add(request);
+		while (!request.done) {
+			if (combining.compareAndSet(false, true)) {
+				try {
+					combineOneBatch();
+				} finally {
+					combining.set(false);
+				}
+				final var next = pending.peek();
+				if (next != null) {
+					LockSupport.unpark(next.waiter);
+				}
+			} else {
+				LockSupport.parkNanos(this, WAITER_PARK_NANOS);
+			}
+		}
+		if (request.failure != null) {
+			throw request.failure;
+		}
+	}
+
+	private void combineOneBatch() {
+		final List<Request> batch = new ArrayList<>();
+		final List<TransactionSignature> combined = new ArrayList<>();
+		Request next;
+		while ((combined.isEmpty() || combined.size() < maxBatchSize) && (next = pending.poll()) != null) {
+			batch.add(next);
+			combined.addAll(next.sigs);
+		}
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		RuntimeException failure = null;
+		final var startedAt = System.nanoTime();
+		try {
+			delegate.verifySync(combined);
+		} catch (RuntimeException e) {
+			failure = e;
+		}
+		runningAvgs.recordPrecheckSigBatchSize(combined.size());
+		runningAvgs.recordPrecheckSigVerifyUs((System.nanoTime() - startedAt) / (double) NANOS_PER_MICRO);
+
+		final var self = Thread.currentThread();
+		var offset = 0;
+		for (final var request : batch) {
+			if (failure == null) {
+				copyBack(combined, offset, request.sigs);
+			}
+			offset += request.sigs.size();
+			request.failure = failure;
+			request.done = true;
+			if (request.waiter != self) {
+				LockSupport.unpark(request.waiter);
+			}
+		}
+	}
+
+	/**
+	 * The delegate is allowed to replace list elements rather than update them in-place; so
+	 * any replaced elements must be written back to the requester's own list.
+	 */
+	private static void copyBack(
+			final List<TransactionSignature> combined,
+			final int offset,
+			final List<TransactionSignature> sigs
+	) {
+		for (int i = 0, n = sigs.size(); i < n; i++) {
+			final var verified = combined.get(offset + i);
+			if (verified != sigs.get(i)) {
+				sigs.set(i, verified);
+			}
+		}
+	}
+
+	private static final class Request {
+		private final Thread waiter;
+		private final List<TransactionSignature> sigs;
+		private volatile boolean done = false;
+		private volatile RuntimeException failure = null;
+
+		private Request(final List<TransactionSignature> sigs, final Thread waiter) {
+			this.sigs = sigs;
+			this.waiter = waiter;
+		}
+	}
+}
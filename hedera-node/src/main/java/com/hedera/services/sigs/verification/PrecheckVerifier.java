@@ -22,6 +22,7 @@ package com.hedera.services.sigs.verification;
 
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.sigs.PlatformSigsCreationResult;
+import com.hedera.services.sigs.annotations.PrecheckSyncVerifier;
 import com.hedera.services.sigs.factories.ReusableBodySigningFactory;
 import com.hedera.services.utils.accessors.SignedTxnAccessor;
 import com.swirlds.common.crypto.TransactionSignature;
@@ -52,7 +53,7 @@ public class PrecheckVerifier {
 	private final PrecheckKeyReqs precheckKeyReqs;
 
 	@Inject
-	public PrecheckVerifier(SyncVerifier syncVerifier, PrecheckKeyReqs precheckKeyReqs) {
+	public PrecheckVerifier(@PrecheckSyncVerifier SyncVerifier syncVerifier, PrecheckKeyReqs precheckKeyReqs) {
 		this.syncVerifier = syncVerifier;
 		this.precheckKeyReqs = precheckKeyReqs;
 	}
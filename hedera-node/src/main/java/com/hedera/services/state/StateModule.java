@@ -28,16 +28,20 @@ import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.PropertySource;
 import com.hedera.services.ethereum.EthTxData;
 import com.hedera.services.ethereum.EthTxSigs;
+import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.ledger.ids.EntityIdSource;
 import com.hedera.services.ledger.ids.SeqNoEntityIdSource;
 import com.hedera.services.legacy.core.jproto.JEd25519Key;
 import com.hedera.services.state.expiry.ExpiringCreations;
+import com.hedera.services.state.expiry.ExpiryManager;
+import com.hedera.services.state.expiry.renewal.RenewableEntityIndex;
 import com.hedera.services.state.exports.AccountsExporter;
 import com.hedera.services.state.exports.BalancesExporter;
 import com.hedera.services.state.exports.SignedStateBalancesExporter;
 import com.hedera.services.state.exports.ToStringAccountsExporter;
 import com.hedera.services.state.forensics.IssListener;
 import com.hedera.services.state.initialization.BackedSystemAccountsCreator;
+import com.hedera.services.state.initialization.DerivedAccountsIndex;
 import com.hedera.services.state.initialization.HfsSystemFilesManager;
 import com.hedera.services.state.initialization.SystemAccountsCreator;
 import com.hedera.services.state.initialization.SystemFilesManager;
@@ -86,6 +90,7 @@ import com.swirlds.virtualmap.VirtualMap;
 import dagger.Binds;
 import dagger.Module;
 import dagger.Provides;
+import dagger.multibindings.ElementsIntoSet;
 
 import javax.inject.Singleton;
 import java.io.PrintStream;
@@ -93,6 +98,7 @@ import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
@@ -146,6 +152,16 @@ public interface StateModule {
 		return new VirtualMapFactory(JasperDbBuilder::new);
 	}
 
+	@Provides
+	@ElementsIntoSet
+	static Set<DerivedAccountsIndex<?>> provideDerivedAccountsIndexes(
+			final ExpiryManager expiryManager,
+			final AliasManager aliasManager,
+			final RenewableEntityIndex renewableEntityIndex
+	) {
+		return Set.of(expiryManager, aliasManager, renewableEntityIndex);
+	}
+
 	@Provides
 	@Singleton
 	static Pause providePause() {
@@ -20,13 +20,12 @@ package com.hedera.services.state.expiry;
  * ‍
  */
 
-import com.hedera.services.config.HederaNumbers;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.records.ConsensusTimeTracker;
+import com.hedera.services.state.expiry.renewal.RenewableEntityIndex;
 import com.hedera.services.state.expiry.renewal.RenewalProcess;
 import com.hedera.services.state.logic.NetworkCtxManager;
 import com.hedera.services.state.merkle.MerkleNetworkContext;
-import com.hedera.services.state.submerkle.SequenceNumber;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -37,37 +36,40 @@ import java.util.function.Supplier;
 
 import static com.hedera.services.state.expiry.EntityProcessResult.DONE;
 import static com.hedera.services.state.expiry.EntityProcessResult.NOTHING_TO_DO;
+import static com.hedera.services.state.expiry.renewal.RenewableEntityIndex.NO_DUE_ENTITY;
 
+/**
+ * Renews or removes expired accounts and contracts, a few at a time. Rather than sweep through every entity
+ * number, each scan visits only the entities the {@link RenewableEntityIndex} reports as due (that is, expired),
+ * in entity number order starting after the last entity scanned, and wrapping around. The per-second caps on the
+ * number of entities scanned and touched still apply.
+ */
 @Singleton
 public class EntityAutoRenewal {
 	private static final Logger log = LogManager.getLogger(EntityAutoRenewal.class);
 
-	private final long firstEntityToScan;
 	private final RenewalProcess renewalProcess;
+	private final RenewableEntityIndex renewableEntities;
 	private final NetworkCtxManager networkCtxManager;
 	private final GlobalDynamicProperties dynamicProps;
 	private final Supplier<MerkleNetworkContext> networkCtx;
-	private final Supplier<SequenceNumber> seqNo;
 	private final ConsensusTimeTracker consensusTimeTracker;
 
 	@Inject
 	public EntityAutoRenewal(
-			final HederaNumbers hederaNumbers,
 			final RenewalProcess renewalProcess,
+			final RenewableEntityIndex renewableEntities,
 			final GlobalDynamicProperties dynamicProps,
 			final NetworkCtxManager networkCtxManager,
 			final Supplier<MerkleNetworkContext> networkCtx,
-			final ConsensusTimeTracker consensusTimeTracker,
-			final Supplier<SequenceNumber> seqNo
+			final ConsensusTimeTracker consensusTimeTracker
 	) {
-		this.seqNo = seqNo;
 		this.networkCtx = networkCtx;
 		this.networkCtxManager = networkCtxManager;
 		this.renewalProcess = renewalProcess;
+		this.renewableEntities = renewableEntities;
 		this.dynamicProps = dynamicProps;
 		this.consensusTimeTracker = consensusTimeTracker;
-
-		this.firstEntityToScan = hederaNumbers.numReservedSystemEntities() + 1;
 	}
 
 	public void execute(final Instant currentConsTime) {
@@ -75,12 +77,6 @@ public class EntityAutoRenewal {
 			return;
 		}
 
-		final long wrapNum = seqNo.get().current();
-		if (wrapNum == firstEntityToScan) {
-			/* No non-system entities in the system, can abort */
-			return;
-		}
-
 		if (!consensusTimeTracker.hasMoreStandaloneRecordTime()) {
 			log.debug("Auto-renew scan skipped because there are no more standalone record times. {}", consensusTimeTracker);
 			return;
@@ -92,19 +88,33 @@ public class EntityAutoRenewal {
 		if (networkCtxManager.currentTxnIsFirstInConsensusSecond()) {
 			curNetworkCtx.clearAutoRenewSummaryCounts();
 		}
+		final int numDue = renewableEntities.advanceTo(currentConsTime.getEpochSecond());
+		if (numDue == 0) {
+			/* Nothing has expired, can abort */
+			return;
+		}
 		renewalProcess.beginRenewalCycle(currentConsTime);
 
 		int i = 1;
 		int entitiesTouched = 0;
 		long scanNum = curNetworkCtx.lastScannedEntity();
 		boolean advanceScan = true;
+		/* Don't revisit an entity that needed nothing done in the same scan */
+		int advancesLeft = numDue;
 		EntityProcessResult result;
-		log.debug("Auto-renew scan beginning from last DONE @ {}, wrapping at {}", scanNum, wrapNum);
+		log.debug("Auto-renew scan beginning from last DONE @ {}, with {} entities due", scanNum, numDue);
 		for (; i <= maxEntitiesToScan; i++) {
 			if (advanceScan) {
-				scanNum = next(scanNum, wrapNum);
+				final long nextNum = renewableEntities.nextDueAfter(scanNum);
+				if (advancesLeft-- == 0 || nextNum == NO_DUE_ENTITY) {
+					break;
+				}
+				scanNum = nextNum;
 			}
-			if ((result = renewalProcess.process(scanNum)) != NOTHING_TO_DO) {
+			result = renewalProcess.process(scanNum);
+			/* Renewals and removals don't go through the ledger, so re-sync the index */
+			renewableEntities.refresh(scanNum);
+			if (result != NOTHING_TO_DO) {
 				entitiesTouched++;
 				advanceScan = (result == DONE);
 			} else {
@@ -124,8 +134,4 @@ public class EntityAutoRenewal {
 				scanNum, i - 1, entitiesTouched,
 				curNetworkCtx.getEntitiesScannedThisSecond(), curNetworkCtx.getEntitiesTouchedThisSecond());
 	}
-
-	private long next(long scanNum, final long wrapNum) {
-		return (++scanNum >= wrapNum) ? firstEntityToScan : scanNum;
-	}
 }
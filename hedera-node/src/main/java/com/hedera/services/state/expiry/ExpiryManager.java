@@ -23,12 +23,13 @@ package com.hedera.services.state.expiry;
 import com.hedera.services.config.HederaNumbers;
 import com.hedera.services.ledger.SigImpactHistorian;
 import com.hedera.services.records.TxnIdRecentHistory;
+import com.hedera.services.records.TxnReceiptIndex;
+import com.hedera.services.state.initialization.DerivedAccountsIndex;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hedera.services.utils.EntityNum;
 import com.hederahashgraph.api.proto.java.AccountID;
-import com.hederahashgraph.api.proto.java.TransactionID;
 import com.swirlds.fcqueue.FCQueue;
 import com.swirlds.merkle.map.MerkleMap;
 import org.apache.commons.lang3.tuple.Pair;
@@ -54,9 +55,13 @@ import static java.util.Comparator.comparing;
  *    <li>On restart or reconnect, rebuild the expiration queues from state.</li>
  *    <li>At the first consensus second an entity is expired, remove it from its parent collection.</li>
  * </ol>
+ *
+ * The payer record expiration queue (and the recent histories in the {@link TxnReceiptIndex}) are a
+ * {@link DerivedAccountsIndex}, so on restart or reconnect they are normally rebuilt as part of the
+ * single parallel scan of accounts done by the {@link com.hedera.services.state.initialization.AccountsRehydrator}.
  */
 @Singleton
-public class ExpiryManager {
+public class ExpiryManager implements DerivedAccountsIndex<ExpiryManager.StagedPayerRecords> {
 	/* Since the key in Pair<Long, Consumer<EntityId>> is the schedule entity number---and
 	entity numbers are unique---the downstream comparator below will guarantee a fixed
 	ordering for ExpiryEvents with the same expiry. The reason for different scheduled entities having
@@ -69,7 +74,7 @@ public class ExpiryManager {
 	private final long realm;
 
 	private final SigImpactHistorian sigImpactHistorian;
-	private final Map<TransactionID, TxnIdRecentHistory> txnHistories;
+	private final TxnReceiptIndex receiptIndex;
 	private final Supplier<MerkleMap<EntityNum, MerkleAccount>> accounts;
 
 	private final MonotonicFullQueueExpiries<Long> payerRecordExpiries =
@@ -81,11 +86,11 @@ public class ExpiryManager {
 	public ExpiryManager(
 			final HederaNumbers hederaNums,
 			final SigImpactHistorian sigImpactHistorian,
-			final Map<TransactionID, TxnIdRecentHistory> txnHistories,
+			final TxnReceiptIndex receiptIndex,
 			final Supplier<MerkleMap<EntityNum, MerkleAccount>> accounts
 	) {
 		this.accounts = accounts;
-		this.txnHistories = txnHistories;
+		this.receiptIndex = receiptIndex;
 		this.sigImpactHistorian = sigImpactHistorian;
 
 		this.shard = hederaNums.shard();
@@ -121,21 +126,58 @@ public class ExpiryManager {
 	 * these records as their lifetimes (default 180s) expire.
 	 *
 	 * <b>IMPORTANT:</b> As a side-effect, this method re-stages the injected
-	 * {@code txnHistories} map with the recent histories of the {@link TransactionID}s
+	 * {@link TxnReceiptIndex} with the recent histories of the transaction ids
 	 * from records in state.
+	 *
+	 * This is a serial rehydration of just this index; the same work done as
+	 * part of a single scan of all accounts by the {@code AccountsRehydrator}.
 	 */
 	public void reviewExistingPayerRecords() {
-		txnHistories.clear();
+		final var staged = newAccumulator();
+		forEach(accounts.get(), (num, account) -> accumulate(staged, num, account));
+		rebuildFrom(List.of(staged));
+	}
+
+	@Override
+	public String name() {
+		return "payer record expiries";
+	}
+
+	@Override
+	public StagedPayerRecords newAccumulator() {
+		return new StagedPayerRecords();
+	}
+
+	@Override
+	public void accumulate(final StagedPayerRecords staged, final EntityNum num, final MerkleAccount account) {
+		final var records = account.records();
+		if (!records.isEmpty()) {
+			stageExpiringRecords(num.longValue(), records, staged);
+		}
+	}
+
+	@Override
+	public void rebuildFrom(final List<StagedPayerRecords> allStaged) {
+		receiptIndex.clearHistories();
 		payerRecordExpiries.reset();
 
 		final var payerExpiries = new ArrayList<Map.Entry<Long, Long>>();
-		final var currentAccounts = accounts.get();
-		forEach(currentAccounts, (id, account) ->
-				stageExpiringRecords(id.longValue(), account.records(), payerExpiries));
+		for (final var staged : allStaged) {
+			payerExpiries.addAll(staged.expiries);
+			staged.records.forEach(this::stage);
+		}
 		payerExpiries.sort(comparing(Map.Entry<Long, Long>::getValue).thenComparing(Map.Entry::getKey));
 		payerExpiries.forEach(entry -> payerRecordExpiries.track(entry.getKey(), entry.getValue()));
 
-		txnHistories.values().forEach(TxnIdRecentHistory::observeStaged);
+		receiptIndex.forEachHistory(TxnIdRecentHistory::observeStaged);
+	}
+
+	/**
+	 * The payer records (and their distinct expiries) found in a batch of accounts.
+	 */
+	public static final class StagedPayerRecords {
+		private final List<Map.Entry<Long, Long>> expiries = new ArrayList<>();
+		private final List<ExpirableTxnRecord> records = new ArrayList<>();
 	}
 
 	/**
@@ -169,12 +211,12 @@ public class ExpiryManager {
 		ExpirableTxnRecord nextRecord;
 		while ((nextRecord = records.peek()) != null && nextRecord.getExpiry() <= now) {
 			nextRecord = records.poll();
-			final var txnId = nextRecord.getTxnId().toGrpc();
-			final var history = txnHistories.get(txnId);
+			final var txnId = nextRecord.getTxnId();
+			final var history = receiptIndex.historyOf(txnId);
 			if (history != null) {
 				history.forgetExpiredAt(now);
 				if (history.isForgotten()) {
-					txnHistories.remove(txnId);
+					receiptIndex.forgetHistory(txnId);
 				}
 			}
 		}
@@ -192,22 +234,21 @@ public class ExpiryManager {
 	private void stageExpiringRecords(
 			final Long num,
 			final FCQueue<ExpirableTxnRecord> records,
-			final List<Map.Entry<Long, Long>> expiries
+			final StagedPayerRecords staged
 	) {
 		long lastAdded = -1;
 		for (final var expirableTxnRecord : records) {
-			stage(expirableTxnRecord);
+			staged.records.add(expirableTxnRecord);
 			final var expiry = expirableTxnRecord.getExpiry();
 			if (expiry != lastAdded) {
-				expiries.add(new AbstractMap.SimpleImmutableEntry<>(num, expiry));
+				staged.expiries.add(new AbstractMap.SimpleImmutableEntry<>(num, expiry));
 				lastAdded = expiry;
 			}
 		}
 	}
 
 	private void stage(final ExpirableTxnRecord expirableTxnRecord) {
-		final var txnId = expirableTxnRecord.getTxnId().toGrpc();
-		txnHistories.computeIfAbsent(txnId, ignore -> new TxnIdRecentHistory()).stage(expirableTxnRecord);
+		receiptIndex.getOrCreateHistory(expirableTxnRecord.getTxnId()).stage(expirableTxnRecord);
 	}
 
 	private EntityId entityWith(final long num) {
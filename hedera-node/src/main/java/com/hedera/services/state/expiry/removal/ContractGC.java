@@ -28,6 +28,7 @@ import com.hedera.services.state.virtual.ContractStorageListMutation;
 import com.hedera.services.state.virtual.IterableContractValue;
 import com.hedera.services.state.virtual.VirtualBlobKey;
 import com.hedera.services.state.virtual.VirtualBlobValue;
+import com.hedera.services.store.contracts.StorageWarmCache;
 import com.hedera.services.utils.EntityNum;
 import com.hedera.services.utils.MapValueListUtils;
 import com.swirlds.merkle.map.MerkleMap;
@@ -46,6 +47,7 @@ public class ContractGC {
 	private final Supplier<MerkleMap<EntityNum, MerkleAccount>> contracts;
 	private final Supplier<VirtualMap<ContractKey, IterableContractValue>> storage;
 	private final Supplier<VirtualMap<VirtualBlobKey, VirtualBlobValue>> bytecode;
+	private final StorageWarmCache storageWarmCache;
 
 	// Revisit after release 0.27 to see if VirtualMap.getForModify() has been rehabilitated
 	private ContractGC.RemovalFacilitation removalFacilitation = MapValueListUtils::removeFromMapValueList;
@@ -55,12 +57,14 @@ public class ContractGC {
 			final GlobalDynamicProperties dynamicProperties,
 			final Supplier<MerkleMap<EntityNum, MerkleAccount>> contracts,
 			final Supplier<VirtualMap<ContractKey, IterableContractValue>> storage,
-			final Supplier<VirtualMap<VirtualBlobKey, VirtualBlobValue>> bytecode
+			final Supplier<VirtualMap<VirtualBlobKey, VirtualBlobValue>> bytecode,
+			final StorageWarmCache storageWarmCache
 	) {
 		this.contracts = contracts;
 		this.storage = storage;
 		this.bytecode = bytecode;
 		this.dynamicProperties = dynamicProperties;
+		this.storageWarmCache = storageWarmCache;
 	}
 
 	public boolean expireBestEffort(final EntityNum expiredContractNum, final MerkleAccount contract) {
@@ -71,6 +75,7 @@ public class ContractGC {
 			final var removalMeta = removeKvPairs(
 					maxPairs, expiredContractNum, contract.getFirstContractStorageKey(), storage.get());
 			final var numRemoved = removalMeta.getKey();
+			storageWarmCache.invalidate(expiredContractNum.longValue());
 			if (numRemoved < numKvPairs) {
 				final var mutableContract = contracts.get().getForModify(expiredContractNum);
 				mutableContract.setNumContractKvPairs(numKvPairs - numRemoved);
@@ -0,0 +1,348 @@
+package com.hedera.services.state.expiry.renewal;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.annotations.VisibleForTesting;
+import com.hedera.services.config.HederaNumbers;
+import com.hedera.services.state.initialization.DerivedAccountsIndex;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.utils.EntityNum;
+import com.swirlds.merkle.map.MerkleMap;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.LongLongHashMap;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Indexes the non-system accounts and contracts by expiry, so that auto-renewal can visit just the entities that
+ * have actually expired, instead of sweeping through every entity number.
+ *
+ * <p>Entities that have not yet expired wait in a min-heap of {@code (expiry, num)} pairs. As consensus time
+ * advances, each pair whose expiry has passed is moved into a sorted list of <i>due</i> entity numbers. So after
+ * {@link #advanceTo(long)}, the due list is exactly the non-system accounts with {@code expiry <= now}; that is, a
+ * pure function of state. This keeps auto-renewal deterministic, whether a node rebuilt the index on restart or
+ * reconnect, or has maintained it incrementally since.
+ *
+ * <p>Every structure is a primitive array (or a primitive map), since the index holds an entry for every
+ * non-system account. When an entity's expiry changes, its old heap entry is not removed, but is skipped when
+ * popped because it no longer matches the entity's expiry; once such stale entries outnumber the live ones, the
+ * heap is rebuilt from the expiry map.
+ *
+ * <p>The index is rebuilt by the {@link com.hedera.services.state.initialization.AccountsRehydrator}; and kept
+ * current by the {@link com.hedera.services.ledger.backing.BackingAccounts}, to which the accounts ledger commits
+ * every change. Auto-renewal {@link #refresh(long)}s each entity it processes, since renewals and removals do not
+ * go through the ledger. Except during rehydration, all methods must be called from the handle thread.
+ */
+@Singleton
+public class RenewableEntityIndex implements DerivedAccountsIndex<LongArrayList> {
+	public static final long NO_DUE_ENTITY = -1L;
+
+	private static final int MIN_HEAP_CAPACITY = 1 << 10;
+
+	private final long firstEntityToIndex;
+	private final Supplier<MerkleMap<EntityNum, MerkleAccount>> accounts;
+
+	private final LongLongHashMap expiries = new LongLongHashMap();
+	private final LongArrayList due = new LongArrayList();
+	/* A binary min-heap of pending (expiry, num) pairs, ordered by expiry, in parallel arrays */
+	private long[] heapExpiries = new long[MIN_HEAP_CAPACITY];
+	private long[] heapNums = new long[MIN_HEAP_CAPACITY];
+	private int heapSize = 0;
+	// The consensus second the index has been advanced to; every entity expiring at or before it is due
+	private long now = Long.MIN_VALUE;
+
+	@Inject
+	public RenewableEntityIndex(
+			final HederaNumbers hederaNumbers,
+			final Supplier<MerkleMap<EntityNum, MerkleAccount>> accounts
+	) {
+		this.accounts = accounts;
+		this.firstEntityToIndex = hederaNumbers.numReservedSystemEntities() + 1;
+	}
+
+	@Override
+	public String name() {
+		return "renewable entities";
+	}
+
+	@Override
+	public LongArrayList newAccumulator() {
+		return new LongArrayList();
+	}
+
+	@Override
+	public void accumulate(final LongArrayList staged, final EntityNum num, final MerkleAccount account) {
+		final var literalNum = num.longValue();
+		if (literalNum >= firstEntityToIndex) {
+			staged.add(literalNum);
+			staged.add(account.getExpiry());
+		}
+	}
+
+	@Override
+	public void rebuildFrom(final List<LongArrayList> accumulators) {
+		expiries.clear();
+		due.clear();
+		heapSize = 0;
+		now = Long.MIN_VALUE;
+		for (final var staged : accumulators) {
+			for (int i = 0, n = staged.size(); i < n; i += 2) {
+				final var num = staged.get(i);
+				final var expiry = staged.get(i + 1);
+				expiries.put(num, expiry);
+				append(num, expiry);
+			}
+		}
+		heapify();
+	}
+
+	/**
+	 * Moves every entity expiring at or before the given consensus second into the due list.
+	 *
+	 * @param now
+	 * 		the current consensus second
+	 * @return the number of due entities
+	 */
+	public int advanceTo(final long now) {
+		if (now > this.now) {
+			this.now = now;
+			if (heapSize > 0 && heapExpiries[0] <= now) {
+				final var passed = new LongArrayList();
+				while (heapSize > 0 && heapExpiries[0] <= now) {
+					final var num = heapNums[0];
+					final var expiry = heapExpiries[0];
+					popMin();
+					if (isCurrent(num, expiry)) {
+						passed.add(num);
+					}
+				}
+				mergeIntoDue(passed);
+			}
+		}
+		return due.size();
+	}
+
+	/**
+	 * Returns the first due entity numbered after the given number, wrapping around to the lowest-numbered due
+	 * entity if there is none; or {@link #NO_DUE_ENTITY} if nothing is due.
+	 *
+	 * @param num
+	 * 		the number of the last entity visited
+	 * @return the next due entity to visit
+	 */
+	public long nextDueAfter(final long num) {
+		if (due.isEmpty()) {
+			return NO_DUE_ENTITY;
+		}
+		final var i = due.binarySearch(num);
+		final var next = (i >= 0) ? i + 1 : -(i + 1);
+		return (next < due.size()) ? due.get(next) : due.get(0);
+	}
+
+	/**
+	 * Updates the index with the current expiry of the given entity; a no-op for system entities.
+	 *
+	 * @param num
+	 * 		the number of the entity
+	 * @param expiry
+	 * 		its current expiry
+	 */
+	public void track(final long num, final long expiry) {
+		if (num < firstEntityToIndex) {
+			return;
+		}
+		if (expiries.containsKey(num)) {
+			final var oldExpiry = expiries.get(num);
+			if (oldExpiry == expiry) {
+				return;
+			}
+			unindex(num, oldExpiry);
+		}
+		index(num, expiry);
+	}
+
+	/**
+	 * Removes the given entity from the index, if present.
+	 *
+	 * @param num
+	 * 		the number of the removed entity
+	 */
+	public void forget(final long num) {
+		if (expiries.containsKey(num)) {
+			unindex(num, expiries.get(num));
+		}
+	}
+
+	/**
+	 * Re-reads the given entity from state, and updates or removes its entry accordingly.
+	 *
+	 * @param num
+	 * 		the number of the entity
+	 */
+	public void refresh(final long num) {
+		final var account = accounts.get().get(EntityNum.fromLong(num));
+		if (account == null) {
+			forget(num);
+		} else {
+			track(num, account.getExpiry());
+		}
+	}
+
+	private void index(final long num, final long expiry) {
+		expiries.put(num, expiry);
+		if (expiry <= now) {
+			due.addAtIndex(-(due.binarySearch(num) + 1), num);
+		} else {
+			append(num, expiry);
+			siftUp(heapSize - 1);
+		}
+	}
+
+	private void unindex(final long num, final long expiry) {
+		expiries.remove(num);
+		if (expiry <= now) {
+			due.removeAtIndex(due.binarySearch(num));
+		} else if (heapSize > MIN_HEAP_CAPACITY && heapSize > 2 * numPending()) {
+			compact();
+		}
+	}
+
+	private boolean isCurrent(final long num, final long expiry) {
+		return expiries.containsKey(num) && expiries.get(num) == expiry;
+	}
+
+	/* An entity whose expiry changed and changed back can have two current heap entries; so skip duplicates */
+	private void mergeIntoDue(final LongArrayList passed) {
+		passed.sortThis();
+		final var merged = new LongArrayList(due.size() + passed.size());
+		int i = 0;
+		int j = 0;
+		while (i < due.size() || j < passed.size()) {
+			final long next;
+			if (j == passed.size() || (i < due.size() && due.get(i) <= passed.get(j))) {
+				next = due.get(i++);
+			} else {
+				next = passed.get(j++);
+			}
+			if (merged.isEmpty() || merged.getLast() != next) {
+				merged.add(next);
+			}
+		}
+		due.clear();
+		due.addAll(merged);
+	}
+
+	private void compact() {
+		final var capacity = Math.max(MIN_HEAP_CAPACITY, 2 * numPending());
+		heapExpiries = new long[capacity];
+		heapNums = new long[capacity];
+		heapSize = 0;
+		expiries.forEachKeyValue((num, expiry) -> {
+			if (expiry > now) {
+				append(num, expiry);
+			}
+		});
+		heapify();
+	}
+
+	private int numPending() {
+		return expiries.size() - due.size();
+	}
+
+	private void append(final long num, final long expiry) {
+		if (heapSize == heapExpiries.length) {
+			heapExpiries = Arrays.copyOf(heapExpiries, 2 * heapSize);
+			heapNums = Arrays.copyOf(heapNums, 2 * heapSize);
+		}
+		heapExpiries[heapSize] = expiry;
+		heapNums[heapSize] = num;
+		heapSize++;
+	}
+
+	private void popMin() {
+		heapSize--;
+		swap(0, heapSize);
+		siftDown(0);
+	}
+
+	private void heapify() {
+		for (int i = heapSize / 2 - 1; i >= 0; i--) {
+			siftDown(i);
+		}
+	}
+
+	private void siftUp(int i) {
+		while (i > 0) {
+			final var parent = (i - 1) / 2;
+			if (heapExpiries[parent] <= heapExpiries[i]) {
+				return;
+			}
+			swap(i, parent);
+			i = parent;
+		}
+	}
+
+	private void siftDown(int i) {
+		while (true) {
+			final var left = 2 * i + 1;
+			if (left >= heapSize) {
+				return;
+			}
+			final var right = left + 1;
+			final var least = (right < heapSize && heapExpiries[right] < heapExpiries[left]) ? right : left;
+			if (heapExpiries[i] <= heapExpiries[least]) {
+				return;
+			}
+			swap(i, least);
+			i = least;
+		}
+	}
+
+	private void swap(final int i, final int j) {
+		final var expiry = heapExpiries[i];
+		heapExpiries[i] = heapExpiries[j];
+		heapExpiries[j] = expiry;
+		final var num = heapNums[i];
+		heapNums[i] = heapNums[j];
+		heapNums[j] = num;
+	}
+
+	/* --- Only used by unit tests --- */
+	@VisibleForTesting
+	int numIndexed() {
+		return expiries.size();
+	}
+
+	@VisibleForTesting
+	int numDue() {
+		return due.size();
+	}
+
+	@VisibleForTesting
+	int numPendingEntries() {
+		return heapSize;
+	}
+}
@@ -20,6 +20,7 @@ package com.hedera.services.state.exports;
  * ‍
  */
 
+import com.google.protobuf.CodedOutputStream;
 import com.hedera.services.ServicesState;
 import com.hedera.services.context.annotations.CompositeProps;
 import com.hedera.services.context.primitives.StateView;
@@ -46,16 +47,30 @@ import org.apache.logging.log4j.Logger;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.UnaryOperator;
 
@@ -76,6 +91,12 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 
 	private static final String PROTO_FILE_EXTENSION = ".pb";
 
+	/* The number of accounts summarized by each task when streaming the export */
+	static final int STREAMING_PARTITION_SIZE = 10_000;
+	/* The most threads that will summarize partitions of a streamed export */
+	static final int MAX_SUMMARIZING_THREADS = 4;
+	private static final long SUMMARIZING_THREAD_KEEP_ALIVE_SECS = 60L;
+
 	private Instant nextExportTime = null;
 
 	final long expectedFloat;
@@ -86,6 +107,8 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 	SigFileWriter sigFileWriter = new StandardSigFileWriter();
 	FileHashReader hashReader = new Sha384HashReader();
 	DirectoryAssurance directories = loc -> Files.createDirectories(Paths.get(loc));
+	ExecutorService summarizingExecutor = newSummarizingExecutor();
+	int streamingPartitionSize = STREAMING_PARTITION_SIZE;
 
 	private String lastUsedExportDir = UNKNOWN_EXPORT_DIR;
 	private BalancesSummary summary;
@@ -109,6 +132,25 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 		exportPeriod = dynamicProperties.balancesExportPeriodSecs();
 	}
 
+	/**
+	 * Returns the bounded pool that summarizes partitions of a streamed export; since exports are minutes apart,
+	 * its threads time out when idle.
+	 */
+	private static ExecutorService newSummarizingExecutor() {
+		final var numThreads = Math.min(MAX_SUMMARIZING_THREADS, Runtime.getRuntime().availableProcessors());
+		final var executor = new ThreadPoolExecutor(
+				numThreads, numThreads,
+				SUMMARIZING_THREAD_KEEP_ALIVE_SECS, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(),
+				runnable -> {
+					final var thread = new Thread(runnable, "balancesExportSummarizer");
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
 	private Instant getFirstExportTime(Instant now, final int exportPeriodInSecs) {
 		final long epochSeconds = now.getEpochSecond();
 		long elapsedSecs = epochSeconds % exportPeriodInSecs;
@@ -140,6 +182,10 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 		if (!ensureExportDir(signedState.getAccountFromNodeId(nodeId))) {
 			return;
 		}
+		if (dynamicProperties.shouldStreamBalancesExport()) {
+			streamProtoFile(signedState, consensusTime);
+			return;
+		}
 		var watch = StopWatch.createStarted();
 		summary = summarized(signedState);
 		final var expected = BigInteger.valueOf(expectedFloat);
@@ -159,8 +205,7 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 
 		var builder = AllAccountBalances.newBuilder();
 		summarizeAsProto(exportTimeStamp, builder);
-		var protoLoc = lastUsedExportDir
-				+ exportTimeStamp.toString().replace(":", "_") + "_Balances" + PROTO_FILE_EXTENSION;
+		var protoLoc = protoLocFor(exportTimeStamp);
 		boolean exportSucceeded = exportBalancesProtoFile(builder, protoLoc);
 		if (exportSucceeded) {
 			tryToSign(protoLoc);
@@ -170,19 +215,187 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 				exportTimeStamp);
 	}
 
-	private void tryToSign(String fileLoc) {
+	/**
+	 * Writes the balances file without ever holding all the balances in memory. The numbers of the accounts in
+	 * the {@code accounts} map are collected in one pass and sorted, then split into runs of
+	 * {@link #STREAMING_PARTITION_SIZE} accounts that are summarized in parallel on the bounded
+	 * {@link #summarizingExecutor}; each run is serialized as a sequence of {@code all_accounts} fields, so that
+	 * written in order after the timestamp field, the file is byte-for-byte the same as a serialized
+	 * {@link AllAccountBalances}. The SHA-384 hash is computed as the file is written, instead of re-reading the
+	 * file to sign it.
+	 *
+	 * @param signedState
+	 * 		the signed state with the balances to export
+	 * @param exportTimeStamp
+	 * 		the consensus time of the export
+	 */
+	private void streamProtoFile(final ServicesState signedState, final Instant exportTimeStamp) {
+		final var watch = StopWatch.createStarted();
+		final var protoLoc = protoLocFor(exportTimeStamp);
+		final BigInteger totalFloat;
+		final byte[] hash;
+		try (final var fout = new FileOutputStream(protoLoc)) {
+			final var channel = fout.getChannel();
+			final var digest = MessageDigest.getInstance("SHA-384");
+			final var timestamp = AllAccountBalances.newBuilder()
+					.setConsensusTimestamp(Timestamp.newBuilder()
+							.setSeconds(exportTimeStamp.getEpochSecond())
+							.setNanos(exportTimeStamp.getNano()))
+					.build();
+			writeAndDigest(timestamp.toByteArray(), channel, digest);
+			totalFloat = streamPartitions(signedState, channel, digest);
+			hash = digest.digest();
+		} catch (IOException | NoSuchAlgorithmException | ExecutionException e) {
+			log.error(BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL, protoLoc, e);
+			deleteQuietly(protoLoc);
+			return;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.error(BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL, protoLoc, e);
+			deleteQuietly(protoLoc);
+			return;
+		}
+
+		if (!BigInteger.valueOf(expectedFloat).equals(totalFloat)) {
+			deleteQuietly(protoLoc);
+			log.error(
+					"Signed state @ {} had total balance {} not {}; exiting",
+					exportTimeStamp, totalFloat, expectedFloat);
+			systemExits.fail(1);
+			return;
+		}
+		tryToSign(protoLoc, hash);
+
+		log.info(" -> Took {}ms to stream and sign proto balances file at {}", watch.getTime(TimeUnit.MILLISECONDS),
+				exportTimeStamp);
+	}
+
+	private BigInteger streamPartitions(
+			final ServicesState signedState,
+			final FileChannel channel,
+			final MessageDigest digest
+	) throws IOException, InterruptedException, ExecutionException {
+		final var nodeIds = MiscUtils.getNodeAccounts(signedState.addressBook());
+		final var tokens = signedState.tokens();
+		final var accounts = signedState.accounts();
+		final var tokenAssociations = signedState.tokenAssociations();
+
+		final var nums = sortedNumsIn(accounts);
+		final var maxInFlight = 2 * MAX_SUMMARIZING_THREADS;
+		final Deque<Future<BalancesPartition>> inFlight = new ArrayDeque<>(maxInFlight);
+		var totalFloat = BigInteger.ZERO;
+		int nextFrom = 0;
 		try {
-			var hash = hashReader.readHash(fileLoc);
-			var sig = signer.apply(hash);
-			var sigFileLoc = sigFileWriter.writeSigFile(fileLoc, sig, hash);
-			if (log.isDebugEnabled()) {
-				log.debug(GOOD_SIGNING_ATTEMPT_DEBUG_MSG_TPL, sigFileLoc);
+			while (nextFrom < nums.length || !inFlight.isEmpty()) {
+				while (nextFrom < nums.length && inFlight.size() < maxInFlight) {
+					final var from = nextFrom;
+					final var to = Math.min(nums.length, from + streamingPartitionSize);
+					nextFrom = to;
+					inFlight.add(summarizingExecutor.submit(() -> summarizedPartition(
+							nums, from, to, nodeIds, tokens, accounts, tokenAssociations)));
+				}
+				final var partition = inFlight.remove().get();
+				writeAndDigest(partition.serialized(), channel, digest);
+				totalFloat = totalFloat.add(partition.totalFloat());
 			}
+		} finally {
+			inFlight.forEach(task -> task.cancel(true));
+		}
+		return totalFloat;
+	}
+
+	private BalancesPartition summarizedPartition(
+			final long[] nums,
+			final int from,
+			final int to,
+			final Set<AccountID> nodeIds,
+			final MerkleMap<EntityNum, MerkleToken> tokens,
+			final MerkleMap<EntityNum, MerkleAccount> accounts,
+			final MerkleMap<EntityNumPair, MerkleTokenRelStatus> tokenAssociations
+	) throws IOException {
+		final var nodeBalanceWarnThreshold = dynamicProperties.nodeBalanceWarningThreshold();
+		final var bytes = new ByteArrayOutputStream();
+		final var output = CodedOutputStream.newInstance(bytes);
+		var partitionFloat = BigInteger.ZERO;
+		for (int i = from; i < to; i++) {
+			final var id = EntityNum.fromLong(nums[i]);
+			final var account = accounts.get(id);
+			if (account != null && !account.isDeleted()) {
+				partitionFloat = partitionFloat.add(BigInteger.valueOf(account.getBalance()));
+				output.writeMessage(
+						AllAccountBalances.ALLACCOUNTS_FIELD_NUMBER,
+						balancesOf(id, account, nodeIds, tokens, tokenAssociations, nodeBalanceWarnThreshold));
+			}
+		}
+		output.flush();
+		return new BalancesPartition(bytes.toByteArray(), partitionFloat);
+	}
+
+	/**
+	 * Returns the numbers of all the accounts in the given map in ascending order; which, since they all share
+	 * a shard and realm, is also the order of {@code ACCOUNT_ID_COMPARATOR}.
+	 */
+	private static long[] sortedNumsIn(final MerkleMap<EntityNum, MerkleAccount> accounts) {
+		final var nums = new long[accounts.size()];
+		int n = 0;
+		for (final var id : accounts.keySet()) {
+			nums[n++] = id.longValue();
+		}
+		Arrays.sort(nums);
+		return nums;
+	}
+
+	private static void writeAndDigest(
+			final byte[] data,
+			final FileChannel channel,
+			final MessageDigest digest
+	) throws IOException {
+		digest.update(data);
+		final var buffer = ByteBuffer.wrap(data);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private static void deleteQuietly(final String loc) {
+		try {
+			Files.deleteIfExists(Paths.get(loc));
+		} catch (IOException e) {
+			log.warn("Could not remove unsigned balance file '{}'", loc, e);
+		}
+	}
+
+	private record BalancesPartition(byte[] serialized, BigInteger totalFloat) {
+	}
+
+	private String protoLocFor(final Instant exportTimeStamp) {
+		return lastUsedExportDir + exportTimeStamp.toString().replace(":", "_") + "_Balances" + PROTO_FILE_EXTENSION;
+	}
+
+	private void tryToSign(String fileLoc) {
+		try {
+			sign(fileLoc, hashReader.readHash(fileLoc));
 		} catch (Exception e) {
 			log.error(BAD_SIGNING_ATTEMPT_ERROR_MSG_TPL, fileLoc, e);
 		}
 	}
 
+	private void tryToSign(final String fileLoc, final byte[] hash) {
+		try {
+			sign(fileLoc, hash);
+		} catch (Exception e) {
+			log.error(BAD_SIGNING_ATTEMPT_ERROR_MSG_TPL, fileLoc, e);
+		}
+	}
+
+	private void sign(final String fileLoc, final byte[] hash) {
+		var sig = signer.apply(hash);
+		var sigFileLoc = sigFileWriter.writeSigFile(fileLoc, sig, hash);
+		if (log.isDebugEnabled()) {
+			log.debug(GOOD_SIGNING_ATTEMPT_DEBUG_MSG_TPL, sigFileLoc);
+		}
+	}
+
 	private void summarizeAsProto(Instant exportTimeStamp, AllAccountBalances.Builder builder) {
 		builder.setConsensusTimestamp(Timestamp.newBuilder()
 				.setSeconds(exportTimeStamp.getEpochSecond())
@@ -213,26 +426,38 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 			var id = entry.getKey();
 			var account = entry.getValue();
 			if (!account.isDeleted()) {
-				var accountId = id.toGrpcAccountId();
-				var balance = account.getBalance();
-				if (nodeIds.contains(accountId) && balance < nodeBalanceWarnThreshold) {
-					log.warn(LOW_NODE_BALANCE_WARN_MSG_TPL,
-							readableId(accountId),
-							balance);
-				}
 				totalFloat = totalFloat.add(BigInteger.valueOf(account.getBalance()));
-				SingleAccountBalances.Builder sabBuilder = SingleAccountBalances.newBuilder();
-				sabBuilder.setHbarBalance(balance).setAccountID(accountId);
-				if (dynamicProperties.shouldExportTokenBalances()) {
-					addTokenBalances(account, sabBuilder, tokens, tokenAssociations);
-				}
-				accountBalances.add(sabBuilder.build());
+				accountBalances.add(
+						balancesOf(id, account, nodeIds, tokens, tokenAssociations, nodeBalanceWarnThreshold));
 			}
 		}
 		accountBalances.sort(SINGLE_ACCOUNT_BALANCES_COMPARATOR);
 		return new BalancesSummary(totalFloat, accountBalances);
 	}
 
+	private SingleAccountBalances balancesOf(
+			final EntityNum id,
+			final MerkleAccount account,
+			final Set<AccountID> nodeIds,
+			final MerkleMap<EntityNum, MerkleToken> tokens,
+			final MerkleMap<EntityNumPair, MerkleTokenRelStatus> tokenAssociations,
+			final long nodeBalanceWarnThreshold
+	) {
+		var accountId = id.toGrpcAccountId();
+		var balance = account.getBalance();
+		if (nodeIds.contains(accountId) && balance < nodeBalanceWarnThreshold) {
+			log.warn(LOW_NODE_BALANCE_WARN_MSG_TPL,
+					readableId(accountId),
+					balance);
+		}
+		SingleAccountBalances.Builder sabBuilder = SingleAccountBalances.newBuilder();
+		sabBuilder.setHbarBalance(balance).setAccountID(accountId);
+		if (dynamicProperties.shouldExportTokenBalances()) {
+			addTokenBalances(account, sabBuilder, tokens, tokenAssociations);
+		}
+		return sabBuilder.build();
+	}
+
 	private void addTokenBalances(
 			final MerkleAccount account,
 			final SingleAccountBalances.Builder sabBuilder,
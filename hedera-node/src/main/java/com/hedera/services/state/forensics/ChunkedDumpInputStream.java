@@ -0,0 +1,162 @@
+package com.hedera.services.state.forensics;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.hedera.services.state.forensics.ChunkedDumpOutputStream.MAGIC;
+
+/**
+ * Reads back what a {@link ChunkedDumpOutputStream} wrote, verifying the checksum of every chunk; either
+ * as a plain {@link InputStream}, or chunk-by-chunk via {@link #nextChunk()}.
+ */
+public class ChunkedDumpInputStream extends InputStream {
+	private final byte[] chunk;
+	private final byte[] compressed;
+	private final CRC32 checksum = new CRC32();
+	private final Inflater inflater = new Inflater();
+	private final DataInputStream in;
+
+	private int n;
+	private int pos;
+	private long lastChecksum;
+	private boolean done;
+
+	public ChunkedDumpInputStream(final InputStream in) throws IOException {
+		this.in = new DataInputStream(in);
+		if (this.in.readInt() != MAGIC) {
+			throw new IOException("Not a chunked dump");
+		}
+		final var chunkSize = this.in.readInt();
+		if (chunkSize <= 0) {
+			throw new IOException("Invalid chunk size " + chunkSize);
+		}
+		this.chunk = new byte[chunkSize];
+		this.compressed = new byte[chunkSize + chunkSize / 16_384 * 5 + 64];
+	}
+
+	/**
+	 * Reads and verifies the next chunk, discarding anything not yet read from the current chunk.
+	 *
+	 * @return the length of the chunk, or -1 if there are no more chunks
+	 * @throws IOException
+	 * 		if the chunk is malformed or does not match its checksum
+	 */
+	public int nextChunk() throws IOException {
+		if (done) {
+			return -1;
+		}
+		final var rawLen = in.readInt();
+		if (rawLen == 0) {
+			done = true;
+			n = pos = 0;
+			return -1;
+		}
+		final var compressedLen = in.readInt();
+		if (rawLen < 0 || rawLen > chunk.length || compressedLen < 0 || compressedLen > compressed.length) {
+			throw new IOException("Malformed chunk header (" + rawLen + ", " + compressedLen + ")");
+		}
+		final var expectedChecksum = in.readLong();
+		in.readFully(compressed, 0, compressedLen);
+		inflater.reset();
+		inflater.setInput(compressed, 0, compressedLen);
+		try {
+			var inflated = 0;
+			while (inflated < rawLen && !inflater.finished()) {
+				final var m = inflater.inflate(chunk, inflated, rawLen - inflated);
+				if (m == 0 && inflater.needsInput()) {
+					throw new EOFException("Truncated chunk");
+				}
+				inflated += m;
+			}
+			if (inflated != rawLen) {
+				throw new IOException("Chunk inflated to " + inflated + " bytes, not " + rawLen);
+			}
+		} catch (DataFormatException e) {
+			throw new IOException("Corrupt chunk", e);
+		}
+		checksum.reset();
+		checksum.update(chunk, 0, rawLen);
+		if (checksum.getValue() != expectedChecksum) {
+			throw new IOException("Chunk checksum mismatch");
+		}
+		lastChecksum = expectedChecksum;
+		n = rawLen;
+		pos = 0;
+		return rawLen;
+	}
+
+	public int chunkSize() {
+		return chunk.length;
+	}
+
+	/**
+	 * Returns the (verified) checksum of the chunk last read by {@link #nextChunk()}.
+	 */
+	public long lastChecksum() {
+		return lastChecksum;
+	}
+
+	/**
+	 * Returns whether the chunk last read by {@link #nextChunk()} has the same contents as the chunk last
+	 * read by the given stream.
+	 */
+	public boolean lastChunkMatches(final ChunkedDumpInputStream that) {
+		return this.lastChecksum == that.lastChecksum
+				&& Arrays.equals(this.chunk, 0, this.n, that.chunk, 0, that.n);
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (pos == n && nextChunk() == -1) {
+			return -1;
+		}
+		return chunk[pos++] & 0xff;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (pos == n && nextChunk() == -1) {
+			return -1;
+		}
+		final var m = Math.min(len, n - pos);
+		System.arraycopy(chunk, pos, b, off, m);
+		pos += m;
+		return m;
+	}
+
+	@Override
+	public void close() throws IOException {
+		inflater.end();
+		in.close();
+	}
+}
@@ -0,0 +1,125 @@
+package com.hedera.services.state.forensics;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * An {@link OutputStream} that splits what is written to it into fixed-size chunks, and writes each chunk
+ * independently compressed, along with a CRC32 checksum of its uncompressed bytes. So a reader can verify
+ * each chunk on its own, and two dumps can be compared chunk-by-chunk. The format is,
+ * <ol>
+ *     <li>A header of the {@link #MAGIC} number and the (uncompressed) chunk size.</li>
+ *     <li>Zero or more chunks, each the uncompressed length, the compressed length, the checksum, and the
+ *     compressed bytes.</li>
+ *     <li>A trailing zero uncompressed length.</li>
+ * </ol>
+ * Every chunk except the last has exactly the chunk size.
+ */
+public class ChunkedDumpOutputStream extends OutputStream {
+	static final int MAGIC = 0x46434d5a;
+	static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+	private final int chunkSize;
+	private final byte[] chunk;
+	private final byte[] compressed;
+	private final CRC32 checksum = new CRC32();
+	private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+	private final DataOutputStream out;
+
+	private int n;
+	private boolean closed;
+
+	public ChunkedDumpOutputStream(final OutputStream out) throws IOException {
+		this(out, DEFAULT_CHUNK_SIZE);
+	}
+
+	public ChunkedDumpOutputStream(final OutputStream out, final int chunkSize) throws IOException {
+		this.chunkSize = chunkSize;
+		this.chunk = new byte[chunkSize];
+		// Enough for incompressible data, as deflate adds at most 5 bytes per 16K block plus a small header
+		this.compressed = new byte[chunkSize + chunkSize / 16_384 * 5 + 64];
+		this.out = new DataOutputStream(out);
+		this.out.writeInt(MAGIC);
+		this.out.writeInt(chunkSize);
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		chunk[n++] = (byte) b;
+		if (n == chunkSize) {
+			writeChunk();
+		}
+	}
+
+	@Override
+	public void write(final byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			final var m = Math.min(len, chunkSize - n);
+			System.arraycopy(b, off, chunk, n, m);
+			n += m;
+			off += m;
+			len -= m;
+			if (n == chunkSize) {
+				writeChunk();
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			if (n > 0) {
+				writeChunk();
+			}
+			out.writeInt(0);
+		} finally {
+			deflater.end();
+			out.close();
+		}
+	}
+
+	private void writeChunk() throws IOException {
+		checksum.reset();
+		checksum.update(chunk, 0, n);
+		deflater.reset();
+		deflater.setInput(chunk, 0, n);
+		deflater.finish();
+		var compressedLen = 0;
+		while (!deflater.finished()) {
+			compressedLen += deflater.deflate(compressed, compressedLen, compressed.length - compressedLen);
+		}
+		out.writeInt(n);
+		out.writeInt(compressedLen);
+		out.writeLong(checksum.getValue());
+		out.write(compressed, 0, compressedLen);
+		n = 0;
+	}
+}
@@ -36,7 +36,11 @@ import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileAttribute;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 @Singleton
@@ -44,6 +48,7 @@ public class FcmDump {
 	private static final Logger log = LogManager.getLogger(FcmDump.class);
 
 	static final String FC_DUMP_LOC_TPL = "data/saved/%s/%d/%s-round%d.fcm";
+	static final String COMPRESSED_FC_DUMP_LOC_TPL = FC_DUMP_LOC_TPL + "z";
 	static final String DUMP_IO_WARNING = "Couldn't dump %s FCM!";
 
 	@FunctionalInterface
@@ -65,6 +70,16 @@ public class FcmDump {
 		}
 	};
 
+	private Function<String, MerkleDataOutputStream> compressedMerkleOutFn = dumpLoc -> {
+		try {
+			directoryCreation.createDirectories(Path.of(dumpLoc).getParent());
+			final var chunkedOut = new ChunkedDumpOutputStream(Files.newOutputStream(Path.of(dumpLoc)));
+			return new MerkleDataOutputStream(chunkedOut).setExternal(true);
+		} catch (IOException e) {
+			log.error("Unable to use suggested dump location {}, please fix", dumpLoc, e);
+			throw new UncheckedIOException(e);
+		}
+	};
 
 	@Inject
 	public FcmDump() {
@@ -86,9 +101,56 @@ public class FcmDump {
 		}
 	}
 
+	/**
+	 * Dumps each FCM in the given state to its own compressed, checksummed file (see
+	 * {@link ChunkedDumpOutputStream}), serializing the FCMs in parallel on a pool with at most one
+	 * thread per available processor. The resulting dumps of two nodes can be compared with {@link FcmDumpDiff}.
+	 *
+	 * @param state
+	 * 		the state to dump
+	 * @param self
+	 * 		the id of this node
+	 * @param round
+	 * 		the round of the state
+	 */
+	public void dumpCompressedFrom(ServicesState state, NodeId self, long round) {
+		final var numThreads = Math.min(fcmFuncs.size(), Runtime.getRuntime().availableProcessors());
+		final var pool = Executors.newFixedThreadPool(numThreads);
+		try {
+			final List<Future<?>> dumps = new ArrayList<>();
+			for (var fcmMeta : fcmFuncs) {
+				final var node = fcmMeta.getRight().apply(state);
+				dumps.add(pool.submit(() -> dump(
+						node, fcmMeta.getLeft(), self, round, COMPRESSED_FC_DUMP_LOC_TPL, compressedMerkleOutFn)));
+			}
+			for (var dump : dumps) {
+				try {
+					dump.get();
+				} catch (ExecutionException e) {
+					log.warn("Unable to finish compressed FCM dump", e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 	private void dump(MerkleNode fcm, String name, NodeId self, long round) {
-		var loc = String.format(FC_DUMP_LOC_TPL, ServicesMain.class.getName(), self.getId(), name, round);
-		try (MerkleDataOutputStream out = merkleOutFn.apply(loc)) {
+		dump(fcm, name, self, round, FC_DUMP_LOC_TPL, merkleOutFn);
+	}
+
+	private void dump(
+			final MerkleNode fcm,
+			final String name,
+			final NodeId self,
+			final long round,
+			final String locTpl,
+			final Function<String, MerkleDataOutputStream> outFn
+	) {
+		var loc = String.format(locTpl, ServicesMain.class.getName(), self.getId(), name, round);
+		try (MerkleDataOutputStream out = outFn.apply(loc)) {
 			out.writeMerkleTree(fcm);
 		} catch (IOException e) {
 			log.warn(String.format(DUMP_IO_WARNING, name));
@@ -104,6 +166,14 @@ public class FcmDump {
 		return merkleOutFn;
 	}
 
+	void setCompressedMerkleOutFn(final Function<String, MerkleDataOutputStream> compressedMerkleOutFn) {
+		this.compressedMerkleOutFn = compressedMerkleOutFn;
+	}
+
+	Function<String, MerkleDataOutputStream> getCompressedMerkleOutFn() {
+		return compressedMerkleOutFn;
+	}
+
 	void setDirectoryCreation(final DirectoryCreation directoryCreation) {
 		this.directoryCreation = directoryCreation;
 	}
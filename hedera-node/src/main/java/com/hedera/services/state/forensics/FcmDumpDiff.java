@@ -0,0 +1,349 @@
+package com.hedera.services.state.forensics;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.utils.EntityNumPair;
+import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.constructable.ConstructableRegistryException;
+import com.swirlds.common.io.streams.MerkleDataInputStream;
+import com.swirlds.common.merkle.MerkleNode;
+import com.swirlds.merkle.map.MerkleMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Compares the compressed FCM dumps of two nodes (as written by {@link FcmDump#dumpCompressedFrom}) for the
+ * same round, to localize where their states diverged after an ISS. Each FCM's pair of dumps is compared on
+ * its own thread.
+ *
+ * The dumps are first compared a chunk at a time, which verifies every chunk's checksum and dismisses
+ * identical dumps without deserializing them. If they differ, both are deserialized and, if they are
+ * {@link MerkleMap}s, walked in key order; each run of consecutive keys whose values differ (or that only
+ * one node has) is reported as a {@link KeyRange}. Since an inserted or resized entry shifts every later
+ * byte of a dump, this is the only way to localize most divergences. Dumps that cannot be read as a
+ * {@code MerkleMap} (for example, a virtual map serialized externally) are instead reported as the
+ * {@link ByteRange}s of their uncompressed serializations that differ, at the granularity of the chunk size.
+ *
+ * Operators can run the comparison with,
+ * <pre>
+ * java -cp &lt;node classpath&gt; com.hedera.services.state.forensics.FcmDumpDiff &lt;leftDir&gt; &lt;rightDir&gt; &lt;round&gt;
+ * </pre>
+ * where each directory holds one node's {@code data/saved/com.hedera.services.ServicesMain/<id>} dumps;
+ * it exits with status 0 if the dumps match, 1 if they differ, and 2 if they cannot be compared.
+ */
+public class FcmDumpDiff {
+	private static final Logger log = LogManager.getLogger(FcmDumpDiff.class);
+
+	static final String SUFFIX_TPL = "-round%d.fcmz";
+
+	private static final int MATCH_STATUS = 0;
+	private static final int DIFFERENCE_STATUS = 1;
+	private static final int ERROR_STATUS = 2;
+
+	static final Comparator<Object> KEY_ORDER = FcmDumpDiff::compareKeys;
+
+	/**
+	 * A difference between two nodes' dumps of an FCM.
+	 */
+	public sealed interface Difference permits KeyRange, ByteRange {
+		String fcm();
+	}
+
+	/**
+	 * A run of {@code numKeys} consecutive keys, from {@code firstKey} to {@code lastKey} inclusive, whose
+	 * values differ between two nodes' dumps of a map (or that are in only one of them).
+	 */
+	public record KeyRange(String fcm, String firstKey, String lastKey, int numKeys) implements Difference {
+	}
+
+	/**
+	 * A range {@code [start, end)} of offsets into an uncompressed FCM dump in which two nodes' dumps differ.
+	 */
+	public record ByteRange(String fcm, long start, long end) implements Difference {
+	}
+
+	public static void main(final String... args) {
+		System.exit(run(System.out, args));
+	}
+
+	static int run(final PrintStream out, final String... args) {
+		if (args.length != 3) {
+			out.println("Usage: FcmDumpDiff <leftDir> <rightDir> <round>");
+			return ERROR_STATUS;
+		}
+		try {
+			registerConstructables();
+			final var diffs = new FcmDumpDiff().diff(Path.of(args[0]), Path.of(args[1]), Long.parseLong(args[2]));
+			var status = MATCH_STATUS;
+			for (var entry : diffs.entrySet()) {
+				if (entry.getValue().isEmpty()) {
+					out.println(entry.getKey() + ": no differences");
+				} else {
+					status = DIFFERENCE_STATUS;
+					entry.getValue().forEach(difference -> out.println(describe(difference)));
+				}
+			}
+			return status;
+		} catch (NumberFormatException | IOException | ConstructableRegistryException e) {
+			out.println("Unable to compare dumps: " + e.getMessage());
+			return ERROR_STATUS;
+		}
+	}
+
+	static String describe(final Difference difference) {
+		if (difference instanceof KeyRange keys) {
+			return String.format("%s: %d differing key(s) from %s to %s",
+					keys.fcm(), keys.numKeys(), keys.firstKey(), keys.lastKey());
+		}
+		final var bytes = (ByteRange) difference;
+		return String.format("%s: bytes [%d, %d) differ", bytes.fcm(), bytes.start(), bytes.end());
+	}
+
+	private static void registerConstructables() throws ConstructableRegistryException {
+		ConstructableRegistry.registerConstructables("com.swirlds");
+		ConstructableRegistry.registerConstructables("com.hedera.services.state");
+	}
+
+	/**
+	 * Compares every FCM dumped by both nodes in the given round; FCMs dumped by only one node are
+	 * logged and skipped. Any classes in the dumps must already be registered with the
+	 * {@link ConstructableRegistry} to compare them by key.
+	 *
+	 * @param leftDir
+	 * 		the directory with the first node's dumps
+	 * @param rightDir
+	 * 		the directory with the second node's dumps
+	 * @param round
+	 * 		the round of the dumps
+	 * @return the differences found, per FCM, in the order of the FCM names
+	 * @throws IOException
+	 * 		if a dump cannot be listed, read, or verified
+	 */
+	public Map<String, List<Difference>> diff(
+			final Path leftDir,
+			final Path rightDir,
+			final long round
+	) throws IOException {
+		final var suffix = String.format(SUFFIX_TPL, round);
+		final var leftNames = fcmNamesIn(leftDir, suffix);
+		final var rightNames = fcmNamesIn(rightDir, suffix);
+		final List<String> names = new ArrayList<>();
+		for (var name : leftNames) {
+			if (rightNames.contains(name)) {
+				names.add(name);
+			} else {
+				log.warn("No {} dump in {} to compare", name, rightDir);
+			}
+		}
+		for (var name : rightNames) {
+			if (!leftNames.contains(name)) {
+				log.warn("No {} dump in {} to compare", name, leftDir);
+			}
+		}
+		if (names.isEmpty()) {
+			return Map.of();
+		}
+
+		final var pool = Executors.newFixedThreadPool(
+				Math.min(names.size(), Runtime.getRuntime().availableProcessors()));
+		try {
+			final Map<String, Future<List<Difference>>> futures = new LinkedHashMap<>();
+			for (var name : names) {
+				futures.put(name, pool.submit(() -> diff(
+						name,
+						leftDir.resolve(name + suffix),
+						rightDir.resolve(name + suffix))));
+			}
+			final Map<String, List<Difference>> diffs = new LinkedHashMap<>();
+			for (var entry : futures.entrySet()) {
+				diffs.put(entry.getKey(), entry.getValue().get());
+			}
+			return diffs;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while comparing dumps", e);
+		} catch (ExecutionException e) {
+			final var cause = e.getCause();
+			if (cause instanceof IOException ioe) {
+				throw ioe;
+			}
+			throw new IOException("Unable to compare dumps", cause);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Compares two compressed dumps of the same FCM; by key if both can be read as {@link MerkleMap}s, and
+	 * otherwise by the byte ranges of their serializations.
+	 *
+	 * @param fcm
+	 * 		the name of the dumped FCM
+	 * @param left
+	 * 		the first dump
+	 * @param right
+	 * 		the second dump
+	 * @return the differences found
+	 * @throws IOException
+	 * 		if either dump cannot be read or verified, or they use different chunk sizes
+	 */
+	List<Difference> diff(final String fcm, final Path left, final Path right) throws IOException {
+		final var byteRanges = byteRangeDiff(fcm, left, right);
+		if (byteRanges.isEmpty()) {
+			return byteRanges;
+		}
+		try {
+			return keyRangeDiff(fcm, left, right);
+		} catch (IOException | RuntimeException e) {
+			log.warn("Cannot compare {} dumps by key ({}), reporting differing byte ranges", fcm, e.getMessage());
+			return byteRanges;
+		}
+	}
+
+	/**
+	 * Deserializes two dumps of the same map and walks their keys in order, coalescing each run of
+	 * consecutive keys with different (or missing) values into a single {@link KeyRange}.
+	 */
+	@SuppressWarnings("rawtypes")
+	List<Difference> keyRangeDiff(final String fcm, final Path left, final Path right) throws IOException {
+		final MerkleMap l = mapFrom(left);
+		final MerkleMap r = mapFrom(right);
+		final Set<?> leftKeys = l.keySet();
+		final Set<?> rightKeys = r.keySet();
+		final List<Object> keys = new ArrayList<>(leftKeys);
+		for (var key : rightKeys) {
+			if (!l.containsKey(key)) {
+				keys.add(key);
+			}
+		}
+		keys.sort(KEY_ORDER);
+
+		final List<Difference> diffs = new ArrayList<>();
+		Object firstKey = null;
+		Object lastKey = null;
+		int numKeys = 0;
+		for (var key : keys) {
+			if (Objects.equals(l.get(key), r.get(key))) {
+				if (numKeys > 0) {
+					diffs.add(new KeyRange(fcm, String.valueOf(firstKey), String.valueOf(lastKey), numKeys));
+					numKeys = 0;
+				}
+			} else {
+				if (numKeys++ == 0) {
+					firstKey = key;
+				}
+				lastKey = key;
+			}
+		}
+		if (numKeys > 0) {
+			diffs.add(new KeyRange(fcm, String.valueOf(firstKey), String.valueOf(lastKey), numKeys));
+		}
+		return diffs;
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static MerkleMap mapFrom(final Path dump) throws IOException {
+		try (var in = new MerkleDataInputStream(new ChunkedDumpInputStream(Files.newInputStream(dump)))) {
+			final MerkleNode root = in.readMerkleTree(Integer.MAX_VALUE);
+			if (!(root instanceof MerkleMap<?, ?>)) {
+				throw new IOException("Dump " + dump + " is not a MerkleMap");
+			}
+			return (MerkleMap) root;
+		}
+	}
+
+	/**
+	 * Compares two compressed dumps of the same FCM chunk-by-chunk, coalescing adjacent differing chunks.
+	 */
+	List<Difference> byteRangeDiff(final String fcm, final Path left, final Path right) throws IOException {
+		try (var l = new ChunkedDumpInputStream(Files.newInputStream(left));
+			 var r = new ChunkedDumpInputStream(Files.newInputStream(right))) {
+			if (l.chunkSize() != r.chunkSize()) {
+				throw new IOException("Dumps of " + fcm + " use different chunk sizes");
+			}
+			final List<Difference> diffs = new ArrayList<>();
+			long offset = 0;
+			long diffStart = -1;
+			while (true) {
+				final var lLen = l.nextChunk();
+				final var rLen = r.nextChunk();
+				if (lLen == -1 && rLen == -1) {
+					break;
+				}
+				final var len = Math.max(lLen, rLen);
+				final var same = lLen == rLen && l.lastChunkMatches(r);
+				if (!same && diffStart == -1) {
+					diffStart = offset;
+				} else if (same && diffStart != -1) {
+					diffs.add(new ByteRange(fcm, diffStart, offset));
+					diffStart = -1;
+				}
+				offset += len;
+			}
+			if (diffStart != -1) {
+				diffs.add(new ByteRange(fcm, diffStart, offset));
+			}
+			return diffs;
+		}
+	}
+
+	/**
+	 * Orders entity numbers and packed entity number pairs numerically, and any other keys by their natural
+	 * order if they have one, or else by their string form.
+	 */
+	@SuppressWarnings("unchecked")
+	private static int compareKeys(final Object a, final Object b) {
+		if (a instanceof EntityNumPair pa && b instanceof EntityNumPair pb) {
+			return Long.compareUnsigned(pa.value(), pb.value());
+		}
+		if (a instanceof Comparable<?> && a.getClass() == b.getClass()) {
+			return ((Comparable<Object>) a).compareTo(b);
+		}
+		return String.valueOf(a).compareTo(String.valueOf(b));
+	}
+
+	private static List<String> fcmNamesIn(final Path dir, final String suffix) throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.map(path -> path.getFileName().toString())
+					.filter(name -> name.endsWith(suffix))
+					.map(name -> name.substring(0, name.length() - suffix.length()))
+					.sorted()
+					.toList();
+		}
+	}
+}
@@ -79,7 +79,11 @@ public class IssListener implements InvalidSignedStateListener {
 						CommonUtils.hex(sig), CommonUtils.hex(hash));
 				log.error(msg);
 				if (nodeLocalProperties.shouldDumpFcmsOnIss()) {
-					fcmDump.dumpFrom(issState, self, round);
+					if (nodeLocalProperties.shouldDumpFcmsCompressed()) {
+						fcmDump.dumpCompressedFrom(issState, self, round);
+					} else {
+						fcmDump.dumpFrom(issState, self, round);
+					}
 				}
 				issState.logSummary();
 			}
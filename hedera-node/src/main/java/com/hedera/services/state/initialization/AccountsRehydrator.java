@@ -0,0 +1,184 @@
+package com.hedera.services.state.initialization;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.annotations.VisibleForTesting;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.utils.EntityNum;
+import com.swirlds.merkle.map.MerkleMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hedera.services.utils.MiscUtils.forEach;
+
+/**
+ * Rebuilds every {@link DerivedAccountsIndex} in a single, parallel scan of the accounts in state.
+ *
+ * <p>The calling thread walks the accounts {@code MerkleMap} and hands off batches of
+ * {@link #BATCH_SIZE} accounts to a {@link ForkJoinPool}, where each index accumulates its derived
+ * information from the batch. At most {@code 2 * parallelism} batches are in flight at once, so the
+ * walk cannot race far ahead of the workers. Once all batches are done, each index is rebuilt from its
+ * accumulators in iteration order; and the time spent by each index is logged.
+ */
+@Singleton
+public class AccountsRehydrator {
+	private static final Logger log = LogManager.getLogger(AccountsRehydrator.class);
+
+	static final int BATCH_SIZE = 1_000;
+
+	private final List<DerivedAccountsIndex<?>> indexes;
+
+	ForkJoinPool rehydrationPool = ForkJoinPool.commonPool();
+
+	@Inject
+	public AccountsRehydrator(final Set<DerivedAccountsIndex<?>> indexes) {
+		this.indexes = new ArrayList<>(indexes);
+	}
+
+	/**
+	 * Rebuilds all derived indexes from the given accounts.
+	 *
+	 * @param accounts
+	 * 		the accounts to scan
+	 * @return the time spent on each index
+	 */
+	public List<IndexTiming> rehydrateFrom(final MerkleMap<EntityNum, MerkleAccount> accounts) {
+		final var scanStart = System.nanoTime();
+		final var scans = new ArrayList<IndexScan<?>>();
+		for (final var index : indexes) {
+			scans.add(new IndexScan<>(index));
+		}
+
+		final var maxInFlight = 2 * rehydrationPool.getParallelism();
+		final Deque<CompletableFuture<Void>> inFlight = new ArrayDeque<>();
+		final var numAccounts = new AtomicLong();
+		final List<EntityNum> nums = new ArrayList<>(BATCH_SIZE);
+		final List<MerkleAccount> batch = new ArrayList<>(BATCH_SIZE);
+		forEach(accounts, (num, account) -> {
+			nums.add(num);
+			batch.add(account);
+			if (batch.size() == BATCH_SIZE) {
+				submit(scans, nums, batch, inFlight, maxInFlight);
+				numAccounts.addAndGet(BATCH_SIZE);
+				nums.clear();
+				batch.clear();
+			}
+		});
+		if (!batch.isEmpty()) {
+			submit(scans, nums, batch, inFlight, maxInFlight);
+			numAccounts.addAndGet(batch.size());
+		}
+		while (!inFlight.isEmpty()) {
+			inFlight.poll().join();
+		}
+		final var scanNanos = System.nanoTime() - scanStart;
+
+		final List<IndexTiming> timings = new ArrayList<>();
+		for (final var scan : scans) {
+			timings.add(scan.rebuild());
+		}
+		log.info("Rehydrated {} derived indexes from {} accounts in a {}ms parallel scan",
+				scans.size(), numAccounts.get(), scanNanos / 1_000_000);
+		for (final var timing : timings) {
+			log.info("  ↪ {} accumulated in {}ms (summed over workers), rebuilt in {}ms",
+					timing.name(), timing.accumulateNanos() / 1_000_000, timing.rebuildNanos() / 1_000_000);
+		}
+		return timings;
+	}
+
+	private void submit(
+			final List<IndexScan<?>> scans,
+			final List<EntityNum> nums,
+			final List<MerkleAccount> batch,
+			final Deque<CompletableFuture<Void>> inFlight,
+			final int maxInFlight
+	) {
+		if (inFlight.size() == maxInFlight) {
+			inFlight.poll().join();
+		}
+		final var batchNums = nums.toArray(EntityNum[]::new);
+		final var batchAccounts = batch.toArray(MerkleAccount[]::new);
+		final List<Runnable> work = new ArrayList<>(scans.size());
+		for (final var scan : scans) {
+			work.add(scan.newBatch(batchNums, batchAccounts));
+		}
+		inFlight.add(CompletableFuture.runAsync(() -> work.forEach(Runnable::run), rehydrationPool));
+	}
+
+	/**
+	 * The time spent rehydrating one derived index.
+	 *
+	 * @param name
+	 * 		the name of the index
+	 * @param accumulateNanos
+	 * 		the total time spent accumulating, summed over all workers
+	 * @param rebuildNanos
+	 * 		the time spent rebuilding the index from its accumulators
+	 */
+	public record IndexTiming(String name, long accumulateNanos, long rebuildNanos) {
+	}
+
+	@VisibleForTesting
+	List<DerivedAccountsIndex<?>> getIndexes() {
+		return indexes;
+	}
+
+	private static final class IndexScan<A> {
+		private final DerivedAccountsIndex<A> index;
+		private final List<A> accumulators = new ArrayList<>();
+		private final AtomicLong accumulateNanos = new AtomicLong();
+
+		private IndexScan(final DerivedAccountsIndex<A> index) {
+			this.index = index;
+		}
+
+		/* Called only from the scanning thread, so the accumulators stay in iteration order */
+		private Runnable newBatch(final EntityNum[] nums, final MerkleAccount[] accounts) {
+			final var accumulator = index.newAccumulator();
+			accumulators.add(accumulator);
+			return () -> {
+				final var start = System.nanoTime();
+				for (int i = 0; i < nums.length; i++) {
+					index.accumulate(accumulator, nums[i], accounts[i]);
+				}
+				accumulateNanos.addAndGet(System.nanoTime() - start);
+			};
+		}
+
+		private IndexTiming rebuild() {
+			final var start = System.nanoTime();
+			index.rebuildFrom(accumulators);
+			return new IndexTiming(index.name(), accumulateNanos.get(), System.nanoTime() - start);
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package com.hedera.services.state.initialization;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.utils.EntityNum;
+
+import java.util.List;
+
+/**
+ * An in-memory index derived from the accounts in state (for example, the alias map), which must be rebuilt
+ * on every restart and reconnect.
+ *
+ * <p>The {@link AccountsRehydrator} rebuilds all such indexes in a single parallel scan of the accounts. It
+ * partitions the accounts into batches, and gives each batch its own accumulator from each index. So
+ * {@link #accumulate(Object, EntityNum, MerkleAccount)} may be called concurrently, but never concurrently
+ * for the same accumulator; and {@link #rebuildFrom(List)} is called once, after the scan completes.
+ *
+ * @param <A>
+ * 		the type of partial result accumulated from a batch of accounts
+ */
+public interface DerivedAccountsIndex<A> {
+	/**
+	 * A short name for the index, used when reporting rehydration timings.
+	 *
+	 * @return the name of the index
+	 */
+	String name();
+
+	/**
+	 * Creates an empty accumulator for a batch of accounts.
+	 *
+	 * @return a new accumulator
+	 */
+	A newAccumulator();
+
+	/**
+	 * Accumulates whatever information this index derives from the given account.
+	 *
+	 * @param accumulator
+	 * 		the accumulator for the account's batch
+	 * @param num
+	 * 		the number of the account
+	 * @param account
+	 * 		the account
+	 */
+	void accumulate(A accumulator, EntityNum num, MerkleAccount account);
+
+	/**
+	 * Discards the current contents of the index and replaces them with those accumulated from all accounts.
+	 *
+	 * @param accumulators
+	 * 		the accumulators from every batch, in account iteration order
+	 */
+	void rebuildFrom(List<A> accumulators);
+}
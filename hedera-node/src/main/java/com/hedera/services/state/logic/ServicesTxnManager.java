@@ -29,6 +29,7 @@ import com.hedera.services.records.RecordsHistorian;
 import com.hedera.services.state.annotations.RunTopLevelTransition;
 import com.hedera.services.state.annotations.RunTriggeredTransition;
 import com.hedera.services.state.migration.MigrationRecordsManager;
+import com.hedera.services.stats.ExecutionTimeTracker;
 import com.hedera.services.utils.accessors.TxnAccessor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -37,6 +38,9 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.time.Instant;
 
+import static com.hedera.services.stats.HandleStage.LEDGER_COMMIT;
+import static com.hedera.services.stats.HandleStage.RECORD_CREATION;
+import static com.hedera.services.stats.HandleStage.STREAM_HANDOFF;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.FAIL_INVALID;
 
 @Singleton
@@ -56,6 +60,7 @@ public class ServicesTxnManager {
 	private final RecordStreaming recordStreaming;
 	private final BlockManager blockManager;
 	private final RewardCalculator rewardCalculator;
+	private final ExecutionTimeTracker executionTimeTracker;
 
 	@Inject
 	public ServicesTxnManager(
@@ -69,7 +74,8 @@ public class ServicesTxnManager {
 			final MigrationRecordsManager migrationRecordsManager,
 			final RecordStreaming recordStreaming,
 			final BlockManager blockManager,
-			final RewardCalculator rewardCalculator
+			final RewardCalculator rewardCalculator,
+			final ExecutionTimeTracker executionTimeTracker
 	) {
 		this.txnCtx = txnCtx;
 		this.ledger = ledger;
@@ -82,6 +88,7 @@ public class ServicesTxnManager {
 		this.scopedTriggeredProcessing = scopedTriggeredProcessing;
 		this.blockManager = blockManager;
 		this.rewardCalculator = rewardCalculator;
+		this.executionTimeTracker = executionTimeTracker;
 	}
 
 	private boolean needToPublishMigrationRecords = true;
@@ -127,24 +134,30 @@ public class ServicesTxnManager {
 	}
 
 	private void attemptRecordStreaming() {
+		executionTimeTracker.startStage(STREAM_HANDOFF);
 		try {
 			recordStreaming.streamUserTxnRecords();
 		} catch (Exception e) {
 			logContextualizedError(e, "record streaming");
 		}
+		executionTimeTracker.stopStage(STREAM_HANDOFF);
 	}
 
 	private void attemptCommit(TxnAccessor accessor, Instant consensusTime, long submittingMember) {
+		executionTimeTracker.startStage(LEDGER_COMMIT);
 		try {
 			ledger.commit();
+			executionTimeTracker.stopStage(LEDGER_COMMIT);
 			createdStreamableRecord = true;
 		} catch (Exception e) {
+			executionTimeTracker.stopStage(LEDGER_COMMIT);
 			logContextualizedError(e, "txn commit");
 			attemptRollback(accessor, consensusTime, submittingMember);
 		}
 	}
 
 	private void attemptRollback(TxnAccessor accessor, Instant consensusTime, long submittingMember) {
+		executionTimeTracker.startStage(RECORD_CREATION);
 		try {
 			recordCache.setFailInvalid(
 					txnCtx.effectivePayer(),
@@ -154,6 +167,7 @@ public class ServicesTxnManager {
 		} catch (Exception e) {
 			logContextualizedError(e, "failure record creation");
 		}
+		executionTimeTracker.stopStage(RECORD_CREATION);
 		try {
 			ledger.rollback();
 		} catch (Exception e) {
@@ -28,6 +28,7 @@ import com.hedera.services.state.expiry.EntityAutoRenewal;
 import com.hedera.services.state.expiry.ExpiryManager;
 import com.hedera.services.stats.ExecutionTimeTracker;
 import com.hedera.services.txns.ProcessLogic;
+import com.hedera.services.txns.prefetch.PrefetchProcessor;
 import com.hedera.services.txns.schedule.ScheduleProcessing;
 import com.hedera.services.txns.span.ExpandHandleSpan;
 import com.hedera.services.utils.accessors.TxnAccessor;
@@ -39,6 +40,8 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.time.Instant;
 
+import static com.hedera.services.stats.HandleStage.SPAN_RATIONALIZATION;
+
 @Singleton
 public class StandardProcessLogic implements ProcessLogic {
 	private static final Logger log = LogManager.getLogger(StandardProcessLogic.class);
@@ -54,6 +57,7 @@ public class StandardProcessLogic implements ProcessLogic {
 	private final ExecutionTimeTracker executionTimeTracker;
 	private final ScheduleProcessing scheduleProcessing;
 	private final RecordStreaming recordStreaming;
+	private final PrefetchProcessor prefetchProcessor;
 
 	@Inject
 	public StandardProcessLogic(
@@ -67,7 +71,8 @@ public class StandardProcessLogic implements ProcessLogic {
 			final TransactionContext txnCtx,
 			final ScheduleProcessing scheduleProcessing,
 			final ExecutionTimeTracker executionTimeTracker,
-			final RecordStreaming recordStreaming
+			final RecordStreaming recordStreaming,
+			final PrefetchProcessor prefetchProcessor
 	) {
 		this.expiries = expiries;
 		this.invariantChecks = invariantChecks;
@@ -80,14 +85,19 @@ public class StandardProcessLogic implements ProcessLogic {
 		this.scheduleProcessing = scheduleProcessing;
 		this.sigImpactHistorian = sigImpactHistorian;
 		this.recordStreaming = recordStreaming;
+		this.prefetchProcessor = prefetchProcessor;
 	}
 
 	@Override
 	public void incorporateConsensusTxn(SwirldTransaction platformTxn, Instant consensusTime, long submittingMember) {
 		try {
+			executionTimeTracker.startStage(SPAN_RATIONALIZATION);
 			final var accessor = expandHandleSpan.accessorFor(platformTxn);
+			prefetchProcessor.claim(accessor);
+			executionTimeTracker.stopStage(SPAN_RATIONALIZATION);
 
 			if (!invariantChecks.holdFor(accessor, consensusTime, submittingMember)) {
+				executionTimeTracker.discardStages();
 				return;
 			}
 
@@ -108,8 +118,10 @@ public class StandardProcessLogic implements ProcessLogic {
 
 			autoRenewal.execute(consensusTime);
 		} catch (InvalidProtocolBufferException e) {
+			executionTimeTracker.discardStages();
 			log.warn("Consensus platform txn was not gRPC!", e);
 		} catch (Exception internal) {
+			executionTimeTracker.discardStages();
 			log.error("Unhandled internal process failure", internal);
 		}
 	}
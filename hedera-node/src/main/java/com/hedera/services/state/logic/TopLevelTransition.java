@@ -22,10 +22,14 @@ package com.hedera.services.state.logic;
 
 import com.hedera.services.context.TransactionContext;
 import com.hedera.services.fees.charging.TxnChargingPolicyAgent;
+import com.hedera.services.stats.ExecutionTimeTracker;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import static com.hedera.services.stats.HandleStage.CHARGING;
+import static com.hedera.services.stats.HandleStage.SIG_SCREENING;
+import static com.hedera.services.stats.HandleStage.TRANSITION;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 
 /**
@@ -51,6 +55,7 @@ public class TopLevelTransition implements Runnable {
 	private final SigsAndPayerKeyScreen sigsAndPayerKeyScreen;
 	private final TxnChargingPolicyAgent chargingPolicyAgent;
 	private final NetworkUtilization networkUtilization;
+	private final ExecutionTimeTracker executionTimeTracker;
 
 	@Inject
 	public TopLevelTransition(
@@ -60,9 +65,11 @@ public class TopLevelTransition implements Runnable {
 			final TransactionContext txnCtx,
 			final NonPayerKeysScreen nonPayerKeysScreen,
 			final NetworkUtilization networkUtilization,
-			final TxnChargingPolicyAgent chargingPolicyAgent
+			final TxnChargingPolicyAgent chargingPolicyAgent,
+			final ExecutionTimeTracker executionTimeTracker
 	) {
 		this.txnCtx = txnCtx;
+		this.executionTimeTracker = executionTimeTracker;
 		this.networkCtxManager = networkCtxManager;
 		this.networkUtilization = networkUtilization;
 		this.chargingPolicyAgent = chargingPolicyAgent;
@@ -77,7 +84,9 @@ public class TopLevelTransition implements Runnable {
 		final var now = txnCtx.consensusTime();
 		networkCtxManager.advanceConsensusClockTo(now);
 
+		executionTimeTracker.startStage(SIG_SCREENING);
 		final var sigStatus = sigsAndPayerKeyScreen.applyTo(accessor);
+		executionTimeTracker.stopStage(SIG_SCREENING);
 		// We update the network utilization before we compute and charge fees b/c
 		// network utilization determines the congestion pricing multiplier; so this
 		// is the simplest way to guarantee a reconnected node will apply the same
@@ -89,14 +98,22 @@ public class TopLevelTransition implements Runnable {
 			// If the signature status isn't ok, only work done will be fee charging
 			networkUtilization.trackFeePayments(now);
 		}
-		if (!chargingPolicyAgent.applyPolicyFor(accessor)) {
+		executionTimeTracker.startStage(CHARGING);
+		final var charged = chargingPolicyAgent.applyPolicyFor(accessor);
+		executionTimeTracker.stopStage(CHARGING);
+		if (!charged) {
 			return;
 		}
-		if (!nonPayerKeysScreen.reqKeysAreActiveGiven(sigStatus)) {
+		executionTimeTracker.startStage(SIG_SCREENING);
+		final var reqKeysAreActive = nonPayerKeysScreen.reqKeysAreActiveGiven(sigStatus);
+		executionTimeTracker.stopStage(SIG_SCREENING);
+		if (!reqKeysAreActive) {
 			return;
 		}
 		if (networkUtilization.screenForAvailableCapacity()) {
+			executionTimeTracker.startStage(TRANSITION);
 			requestedTransition.finishFor(accessor);
+			executionTimeTracker.stopStage(TRANSITION);
 		}
 	}
 }
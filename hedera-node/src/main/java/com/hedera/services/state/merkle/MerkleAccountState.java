@@ -25,6 +25,8 @@ import com.google.protobuf.ByteString;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.legacy.core.jproto.JKeySerializer;
 import com.hedera.services.state.merkle.internals.BitPackUtils;
+import com.hedera.services.state.merkle.internals.PackedAllowanceMap;
+import com.hedera.services.state.merkle.internals.PackedAllowanceSet;
 import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.FcTokenAllowanceId;
 import com.hedera.services.state.virtual.ContractKey;
@@ -38,7 +40,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -48,6 +49,12 @@ import java.util.SortedMap;
 import static com.hedera.services.legacy.core.jproto.JKey.equalUpToDecodability;
 import static com.hedera.services.state.merkle.internals.BitPackUtils.getAlreadyUsedAutomaticAssociationsFrom;
 import static com.hedera.services.state.merkle.internals.BitPackUtils.getMaxAutomaticAssociationsFrom;
+import static com.hedera.services.state.merkle.internals.PackedAllowanceMap.cryptoAllowancesFrom;
+import static com.hedera.services.state.merkle.internals.PackedAllowanceMap.emptyCryptoAllowances;
+import static com.hedera.services.state.merkle.internals.PackedAllowanceMap.emptyTokenAllowances;
+import static com.hedera.services.state.merkle.internals.PackedAllowanceMap.tokenAllowancesFrom;
+import static com.hedera.services.state.merkle.internals.PackedAllowanceSet.emptyNftAllowances;
+import static com.hedera.services.state.merkle.internals.PackedAllowanceSet.nftAllowancesFrom;
 import static com.hedera.services.state.serdes.IoUtils.readNullable;
 import static com.hedera.services.state.serdes.IoUtils.readNullableSerializable;
 import static com.hedera.services.state.serdes.IoUtils.writeNullable;
@@ -118,10 +125,11 @@ public class MerkleAccountState extends AbstractMerkleLeaf {
 	private long stakeAtStartOfLastRewardedPeriod = -1;
 
 	// C.f. https://github.com/hashgraph/hedera-services/issues/2842; we may want to migrate
-	// these per-account maps to top-level maps using the "linked-list" values idiom
-	private Map<EntityNum, Long> cryptoAllowances = Collections.emptyMap();
-	private Map<FcTokenAllowanceId, Long> fungibleTokenAllowances = Collections.emptyMap();
-	private Set<FcTokenAllowanceId> approveForAllNfts = Collections.emptySet();
+	// these per-account maps to top-level maps using the "linked-list" values idiom. Until then they are kept as
+	// immutable packed arrays, which a fast-copy can share and a change replaces wholesale
+	private PackedAllowanceMap<EntityNum> cryptoAllowances = emptyCryptoAllowances();
+	private PackedAllowanceMap<FcTokenAllowanceId> fungibleTokenAllowances = emptyTokenAllowances();
+	private PackedAllowanceSet<FcTokenAllowanceId> approveForAllNfts = emptyNftAllowances();
 
 	private EntityId autoRenewAccount;
 
@@ -214,9 +222,9 @@ public class MerkleAccountState extends AbstractMerkleLeaf {
 		this.usedAutoAssociations = usedAutoAssociations;
 		this.alias = Optional.ofNullable(alias).orElse(DEFAULT_ALIAS);
 		this.numContractKvPairs = numContractKvPairs;
-		this.cryptoAllowances = cryptoAllowances;
-		this.fungibleTokenAllowances = fungibleTokenAllowances;
-		this.approveForAllNfts = approveForAllNfts;
+		this.cryptoAllowances = cryptoAllowancesFrom(cryptoAllowances);
+		this.fungibleTokenAllowances = tokenAllowancesFrom(fungibleTokenAllowances);
+		this.approveForAllNfts = nftAllowancesFrom(approveForAllNfts);
 		this.firstUint256Key = firstUint256Key;
 		this.firstUint256KeyNonZeroBytes = firstUint256KeyNonZeroBytes;
 		this.nftsOwned = nftsOwned;
@@ -668,12 +676,12 @@ public class MerkleAccountState extends AbstractMerkleLeaf {
 	}
 
 	public Map<EntityNum, Long> getCryptoAllowances() {
-		return Collections.unmodifiableMap(cryptoAllowances);
+		return cryptoAllowances;
 	}
 
 	public void setCryptoAllowances(final SortedMap<EntityNum, Long> cryptoAllowances) {
 		assertMutable("cryptoAllowances");
-		this.cryptoAllowances = cryptoAllowances;
+		this.cryptoAllowances = cryptoAllowancesFrom(cryptoAllowances);
 	}
 
 	public Map<EntityNum, Long> getCryptoAllowancesUnsafe() {
@@ -682,7 +690,7 @@ public class MerkleAccountState extends AbstractMerkleLeaf {
 
 	public void setCryptoAllowancesUnsafe(final Map<EntityNum, Long> cryptoAllowances) {
 		assertMutable("cryptoAllowances");
-		this.cryptoAllowances = cryptoAllowances;
+		this.cryptoAllowances = cryptoAllowancesFrom(cryptoAllowances);
 	}
 
 	public boolean isTokenTreasury() {
@@ -699,12 +707,12 @@ public class MerkleAccountState extends AbstractMerkleLeaf {
 	}
 
 	public Set<FcTokenAllowanceId> getApproveForAllNfts() {
-		return Collections.unmodifiableSet(approveForAllNfts);
+		return approveForAllNfts;
 	}
 
 	public void setApproveForAllNfts(final Set<FcTokenAllowanceId> approveForAllNfts) {
 		assertMutable("ApproveForAllNfts");
-		this.approveForAllNfts = approveForAllNfts;
+		this.approveForAllNfts = nftAllowancesFrom(approveForAllNfts);
 	}
 
 	public Set<FcTokenAllowanceId> getApproveForAllNftsUnsafe() {
@@ -712,12 +720,12 @@ public class MerkleAccountState extends AbstractMerkleLeaf {
 	}
 
 	public Map<FcTokenAllowanceId, Long> getFungibleTokenAllowances() {
-		return Collections.unmodifiableMap(fungibleTokenAllowances);
+		return fungibleTokenAllowances;
 	}
 
 	public void setFungibleTokenAllowances(final SortedMap<FcTokenAllowanceId, Long> fungibleTokenAllowances) {
 		assertMutable("fungibleTokenAllowances");
-		this.fungibleTokenAllowances = fungibleTokenAllowances;
+		this.fungibleTokenAllowances = tokenAllowancesFrom(fungibleTokenAllowances);
 	}
 
 	public Map<FcTokenAllowanceId, Long> getFungibleTokenAllowancesUnsafe() {
@@ -726,7 +734,7 @@ public class MerkleAccountState extends AbstractMerkleLeaf {
 
 	public void setFungibleTokenAllowancesUnsafe(final Map<FcTokenAllowanceId, Long> fungibleTokenAllowances) {
 		assertMutable("fungibleTokenAllowances");
-		this.fungibleTokenAllowances = fungibleTokenAllowances;
+		this.fungibleTokenAllowances = tokenAllowancesFrom(fungibleTokenAllowances);
 	}
 
 	public ContractKey getFirstContractStorageKey() {
@@ -24,7 +24,6 @@ import com.google.common.base.MoreObjects;
 import com.google.common.primitives.Longs;
 import com.hedera.services.state.merkle.internals.BytesElement;
 import com.hederahashgraph.api.proto.java.FileID;
-import com.swirlds.common.crypto.CryptoFactory;
 import com.swirlds.common.crypto.DigestType;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
@@ -35,10 +34,17 @@ import com.swirlds.fcqueue.FCQueue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -46,6 +52,7 @@ import java.util.Objects;
 import java.util.function.Supplier;
 
 import static com.hedera.services.context.properties.StaticPropertiesHolder.STATIC_PROPERTIES;
+import static com.hedera.services.legacy.proto.utils.CommonUtils.getSha384Hash;
 import static com.hedera.services.legacy.proto.utils.CommonUtils.noThrowSha384HashOf;
 import static com.hedera.services.utils.EntityIdUtils.readableId;
 
@@ -57,6 +64,11 @@ import static com.hedera.services.utils.EntityIdUtils.readableId;
  * away with a very naive implementation of the {@link MerkleNode#copy()} contract. Each copy
  * keeps its own map of file contents; and when a file's bytes change in the mutable copy, it
  * updates that map with a completely new {@code byte[]}.
+ *
+ * Upgrade files can be hundreds of MB, built from thousands of appends; so each copy also keeps a
+ * running SHA-384 digest of every file, updated on each append, and {@link #hashMatches(FileID, byte[])}
+ * never needs to concatenate the file's parts. Callers that only need to read a large file should
+ * likewise prefer {@link #getAsStream(FileID)} to {@link #get(FileID)}.
  */
 public class MerkleSpecialFiles extends AbstractMerkleLeaf {
 	private static final Logger log = LogManager.getLogger(MerkleSpecialFiles.class);
@@ -68,17 +80,21 @@ public class MerkleSpecialFiles extends AbstractMerkleLeaf {
 	public static final int CURRENT_VERSION = 2;
 
 	private final Map<FileID, byte[]> hashCache;
+	private final Map<FileID, MessageDigest> runningHashes;
 	private final Map<FileID, FCQueue<BytesElement>> fileContents;
 
 	private static Supplier<ByteArrayOutputStream> baosSupplier = ByteArrayOutputStream::new;
 
 	public MerkleSpecialFiles() {
 		this.hashCache = new LinkedHashMap<>();
+		this.runningHashes = new HashMap<>();
 		this.fileContents = new LinkedHashMap<>();
 	}
 
 	public MerkleSpecialFiles(MerkleSpecialFiles that) {
 		hashCache = new HashMap<>(that.hashCache);
+		runningHashes = new HashMap<>();
+		that.runningHashes.forEach((fid, runningHash) -> runningHashes.put(fid, copyOf(runningHash)));
 		fileContents = new LinkedHashMap<>();
 		for (final var entry : that.getFileContents().entrySet()) {
 			fileContents.put(entry.getKey(), entry.getValue().copy());
@@ -139,6 +155,45 @@ public class MerkleSpecialFiles extends AbstractMerkleLeaf {
 		return baos.toByteArray();
 	}
 
+	/**
+	 * Gets a read-only view of the contents of the given file, without concatenating its parts. The
+	 * view reflects the contents at the time of this call, even if the file is later changed.
+	 *
+	 * @param fid
+	 * 		the id of the file to get
+	 * @return a stream over the file's contents
+	 */
+	public synchronized InputStream getAsStream(final FileID fid) {
+		final var fileByParts = fileContents.get(fid);
+		if (fileByParts == null) {
+			return new ByteArrayInputStream(NO_CONTENTS);
+		}
+		final var parts = new ArrayList<InputStream>(fileByParts.size());
+		for (final BytesElement part : fileByParts) {
+			parts.add(new ByteArrayInputStream(part.getData()));
+		}
+		return new SequenceInputStream(Collections.enumeration(parts));
+	}
+
+	/**
+	 * Gets the size of the contents of the given file.
+	 *
+	 * @param fid
+	 * 		the id of the file to get the size of
+	 * @return the number of bytes in the file
+	 */
+	public synchronized long sizeOf(final FileID fid) {
+		final var fileByParts = fileContents.get(fid);
+		if (fileByParts == null) {
+			return 0;
+		}
+		long size = 0;
+		for (final BytesElement part : fileByParts) {
+			size += part.getData().length;
+		}
+		return size;
+	}
+
 	/**
 	 * Checks if the given file exists.
 	 *
@@ -166,7 +221,9 @@ public class MerkleSpecialFiles extends AbstractMerkleLeaf {
 			update(fid, extraContents);
 			return;
 		}
+		final var runningHash = runningHashOf(fid);
 		fileByParts.add(new BytesElement(extraContents));
+		runningHash.update(extraContents);
 		hashCache.remove(fid);
 	}
 
@@ -181,6 +238,9 @@ public class MerkleSpecialFiles extends AbstractMerkleLeaf {
 	public synchronized void update(FileID fid, byte[] newContents) {
 		throwIfImmutable();
 		fileContents.put(fid, newFcqWith(newContents));
+		final var runningHash = newSha384();
+		runningHash.update(newContents);
+		runningHashes.put(fid, runningHash);
 		hashCache.remove(fid);
 	}
 
@@ -271,8 +331,34 @@ public class MerkleSpecialFiles extends AbstractMerkleLeaf {
 	}
 
 	private byte[] hashOfKnown(FileID fid) {
-		return hashCache.computeIfAbsent(fid, missingFid ->
-				CryptoFactory.getInstance().digestSync(get(missingFid)).getValue());
+		return hashCache.computeIfAbsent(fid, missingFid -> copyOf(runningHashOf(missingFid)).digest());
+	}
+
+	private MessageDigest runningHashOf(final FileID fid) {
+		// After deserialization, a file's running hash must be computed once from its parts
+		return runningHashes.computeIfAbsent(fid, missingFid -> {
+			final var runningHash = newSha384();
+			for (final BytesElement part : fileContents.get(missingFid)) {
+				runningHash.update(part.getData());
+			}
+			return runningHash;
+		});
+	}
+
+	private static MessageDigest newSha384() {
+		try {
+			return getSha384Hash();
+		} catch (NoSuchAlgorithmException fatal) {
+			throw new IllegalStateException(fatal);
+		}
+	}
+
+	private static MessageDigest copyOf(final MessageDigest runningHash) {
+		try {
+			return (MessageDigest) runningHash.clone();
+		} catch (CloneNotSupportedException fatal) {
+			throw new IllegalStateException(fatal);
+		}
 	}
 
 	private FCQueue<BytesElement> newFcqWith(byte[] initialContents) {
@@ -290,6 +376,10 @@ public class MerkleSpecialFiles extends AbstractMerkleLeaf {
 		return hashCache;
 	}
 
+	Map<FileID, MessageDigest> getRunningHashes() {
+		return runningHashes;
+	}
+
 	static void setBaosSupplier(Supplier<ByteArrayOutputStream> baosSupplier) {
 		MerkleSpecialFiles.baosSupplier = baosSupplier;
 	}
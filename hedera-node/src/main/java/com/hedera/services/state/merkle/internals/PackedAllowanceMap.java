@@ -0,0 +1,317 @@
+package com.hedera.services.state.merkle.internals;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.submerkle.FcTokenAllowanceId;
+import com.hedera.services.utils.EntityNum;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+import static com.hedera.services.state.merkle.internals.PackedKeyCodec.ENTITY_NUM_CODEC;
+import static com.hedera.services.state.merkle.internals.PackedKeyCodec.TOKEN_ALLOWANCE_ID_CODEC;
+
+/**
+ * An immutable map from allowance keys to {@code long} allowances, stored as a sorted {@code long[]} of
+ * keys packed by a {@link PackedKeyCodec} and a parallel {@code long[]} of allowances. Lookups are binary
+ * searches, and iteration visits entries in the same order as a {@link java.util.TreeMap} of the same
+ * mappings; so the map can replace such a {@code TreeMap} in account state without changing its serialized form.
+ *
+ * Since instances are never mutated, a fast-copy of an account can share them freely; a change instead
+ * creates a new instance with {@link #with(Object, long)} or {@link #without(Object)}.
+ *
+ * @param <K>
+ * 		the type of allowance key
+ */
+public final class PackedAllowanceMap<K> extends AbstractMap<K, Long> {
+	private static final long[] NO_LONGS = new long[0];
+
+	private static final PackedAllowanceMap<EntityNum> NO_CRYPTO_ALLOWANCES =
+			new PackedAllowanceMap<>(ENTITY_NUM_CODEC, NO_LONGS, NO_LONGS);
+	private static final PackedAllowanceMap<FcTokenAllowanceId> NO_TOKEN_ALLOWANCES =
+			new PackedAllowanceMap<>(TOKEN_ALLOWANCE_ID_CODEC, NO_LONGS, NO_LONGS);
+
+	private final PackedKeyCodec<K> codec;
+	private final long[] keys;
+	private final long[] allowances;
+
+	private Set<Entry<K, Long>> entrySet;
+
+	PackedAllowanceMap(final PackedKeyCodec<K> codec, final long[] keys, final long[] allowances) {
+		this.codec = codec;
+		this.keys = keys;
+		this.allowances = allowances;
+	}
+
+	public static PackedAllowanceMap<EntityNum> emptyCryptoAllowances() {
+		return NO_CRYPTO_ALLOWANCES;
+	}
+
+	public static PackedAllowanceMap<FcTokenAllowanceId> emptyTokenAllowances() {
+		return NO_TOKEN_ALLOWANCES;
+	}
+
+	/**
+	 * Returns a packed map with the same mappings as the given map of hbar allowances; or the given map
+	 * itself, if it is already packed.
+	 *
+	 * @param cryptoAllowances
+	 * 		the hbar allowances to pack
+	 * @return the packed allowances
+	 */
+	public static PackedAllowanceMap<EntityNum> cryptoAllowancesFrom(final Map<EntityNum, Long> cryptoAllowances) {
+		return from(ENTITY_NUM_CODEC, cryptoAllowances, NO_CRYPTO_ALLOWANCES);
+	}
+
+	/**
+	 * Returns a packed map with the same mappings as the given map of fungible token allowances; or the given
+	 * map itself, if it is already packed.
+	 *
+	 * @param tokenAllowances
+	 * 		the fungible token allowances to pack
+	 * @return the packed allowances
+	 */
+	public static PackedAllowanceMap<FcTokenAllowanceId> tokenAllowancesFrom(
+			final Map<FcTokenAllowanceId, Long> tokenAllowances
+	) {
+		return from(TOKEN_ALLOWANCE_ID_CODEC, tokenAllowances, NO_TOKEN_ALLOWANCES);
+	}
+
+	/**
+	 * Creates a packed map from packed keys and their allowances, in any order; intended for deserialization,
+	 * where the keys are usually already sorted. As with a {@link java.util.TreeMap}, the last allowance
+	 * given for a repeated key wins.
+	 *
+	 * @param codec
+	 * 		the codec that packed the keys
+	 * @param keys
+	 * 		the packed keys
+	 * @param allowances
+	 * 		the allowance for each key
+	 * @param <K>
+	 * 		the type of allowance key
+	 * @return the packed map
+	 */
+	public static <K> PackedAllowanceMap<K> fromPacked(
+			final PackedKeyCodec<K> codec,
+			final long[] keys,
+			final long[] allowances
+	) {
+		if (isSorted(keys)) {
+			return new PackedAllowanceMap<>(codec, keys, allowances);
+		}
+		final var sorted = new TreeMap<Long, Long>();
+		for (int i = 0; i < keys.length; i++) {
+			sorted.put(keys[i], allowances[i]);
+		}
+		final var sortedKeys = new long[sorted.size()];
+		final var sortedAllowances = new long[sorted.size()];
+		var i = 0;
+		for (final var entry : sorted.entrySet()) {
+			sortedKeys[i] = entry.getKey();
+			sortedAllowances[i++] = entry.getValue();
+		}
+		return new PackedAllowanceMap<>(codec, sortedKeys, sortedAllowances);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K> PackedAllowanceMap<K> from(
+			final PackedKeyCodec<K> codec,
+			final Map<K, Long> map,
+			final PackedAllowanceMap<K> empty
+	) {
+		if (map instanceof PackedAllowanceMap<?> packed && packed.codec == codec) {
+			return (PackedAllowanceMap<K>) packed;
+		}
+		final var n = map.size();
+		if (n == 0) {
+			return empty;
+		}
+		final var keys = new long[n];
+		final var allowances = new long[n];
+		var i = 0;
+		for (final var entry : map.entrySet()) {
+			keys[i] = codec.pack(entry.getKey());
+			allowances[i++] = entry.getValue();
+		}
+		return fromPacked(codec, keys, allowances);
+	}
+
+	/**
+	 * Returns a map with all the mappings of this one, plus the given mapping (replacing any existing
+	 * allowance for the key). This map is unchanged.
+	 *
+	 * @param key
+	 * 		the key to map
+	 * @param allowance
+	 * 		its new allowance
+	 * @return the updated map
+	 */
+	public PackedAllowanceMap<K> with(final K key, final long allowance) {
+		final var packedKey = codec.pack(key);
+		final var i = Arrays.binarySearch(keys, packedKey);
+		if (i >= 0) {
+			if (allowances[i] == allowance) {
+				return this;
+			}
+			final var newAllowances = allowances.clone();
+			newAllowances[i] = allowance;
+			return new PackedAllowanceMap<>(codec, keys, newAllowances);
+		}
+		final var at = -i - 1;
+		final var n = keys.length;
+		final var newKeys = new long[n + 1];
+		final var newAllowances = new long[n + 1];
+		System.arraycopy(keys, 0, newKeys, 0, at);
+		System.arraycopy(allowances, 0, newAllowances, 0, at);
+		newKeys[at] = packedKey;
+		newAllowances[at] = allowance;
+		System.arraycopy(keys, at, newKeys, at + 1, n - at);
+		System.arraycopy(allowances, at, newAllowances, at + 1, n - at);
+		return new PackedAllowanceMap<>(codec, newKeys, newAllowances);
+	}
+
+	/**
+	 * Returns a map with all the mappings of this one, except for the given key. This map is unchanged.
+	 *
+	 * @param key
+	 * 		the key to unmap
+	 * @return the updated map
+	 */
+	public PackedAllowanceMap<K> without(final K key) {
+		final var i = Arrays.binarySearch(keys, codec.pack(key));
+		if (i < 0) {
+			return this;
+		}
+		final var n = keys.length;
+		final var newKeys = new long[n - 1];
+		final var newAllowances = new long[n - 1];
+		System.arraycopy(keys, 0, newKeys, 0, i);
+		System.arraycopy(allowances, 0, newAllowances, 0, i);
+		System.arraycopy(keys, i + 1, newKeys, i, n - i - 1);
+		System.arraycopy(allowances, i + 1, newAllowances, i, n - i - 1);
+		return new PackedAllowanceMap<>(codec, newKeys, newAllowances);
+	}
+
+	@Override
+	public int size() {
+		return keys.length;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return keys.length == 0;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	public Long get(final Object key) {
+		final var i = indexOf(key);
+		return i < 0 ? null : allowances[i];
+	}
+
+	@Override
+	public void forEach(final BiConsumer<? super K, ? super Long> action) {
+		for (int i = 0; i < keys.length; i++) {
+			action.accept(codec.unpack(keys[i]), allowances[i]);
+		}
+	}
+
+	@Override
+	public Set<Entry<K, Long>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o instanceof PackedAllowanceMap<?> that && that.codec == codec) {
+			return Arrays.equals(keys, that.keys) && Arrays.equals(allowances, that.allowances);
+		}
+		return super.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return super.hashCode();
+	}
+
+	private int indexOf(final Object key) {
+		if (!codec.keyType().isInstance(key)) {
+			return -1;
+		}
+		return Arrays.binarySearch(keys, codec.pack(codec.keyType().cast(key)));
+	}
+
+	private static boolean isSorted(final long[] keys) {
+		for (int i = 1; i < keys.length; i++) {
+			if (keys[i - 1] >= keys[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private final class EntrySet extends AbstractSet<Entry<K, Long>> {
+		@Override
+		public int size() {
+			return keys.length;
+		}
+
+		@Override
+		public Iterator<Entry<K, Long>> iterator() {
+			return new Iterator<>() {
+				private int next = 0;
+
+				@Override
+				public boolean hasNext() {
+					return next < keys.length;
+				}
+
+				@Override
+				public Entry<K, Long> next() {
+					if (next >= keys.length) {
+						throw new NoSuchElementException();
+					}
+					final var i = next++;
+					return new SimpleImmutableEntry<>(codec.unpack(keys[i]), allowances[i]);
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,206 @@
+package com.hedera.services.state.merkle.internals;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.submerkle.FcTokenAllowanceId;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static com.hedera.services.state.merkle.internals.PackedKeyCodec.TOKEN_ALLOWANCE_ID_CODEC;
+
+/**
+ * An immutable set of allowance keys, stored as a sorted {@code long[]} of keys packed by a {@link PackedKeyCodec}.
+ * Membership tests are binary searches, and iteration visits keys in the same order as a {@link java.util.TreeSet}
+ * of the same keys; so the set can replace such a {@code TreeSet} in account state without changing its serialized
+ * form. As with {@link PackedAllowanceMap}, a change creates a new instance.
+ *
+ * @param <K>
+ * 		the type of allowance key
+ */
+public final class PackedAllowanceSet<K> extends AbstractSet<K> {
+	private static final PackedAllowanceSet<FcTokenAllowanceId> NO_NFT_ALLOWANCES =
+			new PackedAllowanceSet<>(TOKEN_ALLOWANCE_ID_CODEC, new long[0]);
+
+	private final PackedKeyCodec<K> codec;
+	private final long[] keys;
+
+	PackedAllowanceSet(final PackedKeyCodec<K> codec, final long[] keys) {
+		this.codec = codec;
+		this.keys = keys;
+	}
+
+	public static PackedAllowanceSet<FcTokenAllowanceId> emptyNftAllowances() {
+		return NO_NFT_ALLOWANCES;
+	}
+
+	/**
+	 * Returns a packed set with the same approved-for-all NFT allowances as the given set; or the given set
+	 * itself, if it is already packed.
+	 *
+	 * @param nftAllowances
+	 * 		the approved-for-all allowances to pack
+	 * @return the packed allowances
+	 */
+	@SuppressWarnings("unchecked")
+	public static PackedAllowanceSet<FcTokenAllowanceId> nftAllowancesFrom(
+			final Set<FcTokenAllowanceId> nftAllowances
+	) {
+		if (nftAllowances instanceof PackedAllowanceSet<?> packed && packed.codec == TOKEN_ALLOWANCE_ID_CODEC) {
+			return (PackedAllowanceSet<FcTokenAllowanceId>) packed;
+		}
+		final var n = nftAllowances.size();
+		if (n == 0) {
+			return NO_NFT_ALLOWANCES;
+		}
+		final var keys = new long[n];
+		var i = 0;
+		for (final var allowanceId : nftAllowances) {
+			keys[i++] = TOKEN_ALLOWANCE_ID_CODEC.pack(allowanceId);
+		}
+		return fromPacked(TOKEN_ALLOWANCE_ID_CODEC, keys);
+	}
+
+	/**
+	 * Creates a packed set from packed keys in any order; intended for deserialization, where the keys
+	 * are usually already sorted and distinct.
+	 *
+	 * @param codec
+	 * 		the codec that packed the keys
+	 * @param keys
+	 * 		the packed keys
+	 * @param <K>
+	 * 		the type of allowance key
+	 * @return the packed set
+	 */
+	public static <K> PackedAllowanceSet<K> fromPacked(final PackedKeyCodec<K> codec, final long[] keys) {
+		for (int i = 1; i < keys.length; i++) {
+			if (keys[i - 1] >= keys[i]) {
+				return new PackedAllowanceSet<>(codec, LongStream.of(keys).sorted().distinct().toArray());
+			}
+		}
+		return new PackedAllowanceSet<>(codec, keys);
+	}
+
+	/**
+	 * Returns a set with all the keys of this one, plus the given key. This set is unchanged.
+	 *
+	 * @param key
+	 * 		the key to add
+	 * @return the updated set
+	 */
+	public PackedAllowanceSet<K> with(final K key) {
+		final var packedKey = codec.pack(key);
+		final var i = Arrays.binarySearch(keys, packedKey);
+		if (i >= 0) {
+			return this;
+		}
+		final var at = -i - 1;
+		final var newKeys = new long[keys.length + 1];
+		System.arraycopy(keys, 0, newKeys, 0, at);
+		newKeys[at] = packedKey;
+		System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+		return new PackedAllowanceSet<>(codec, newKeys);
+	}
+
+	/**
+	 * Returns a set with all the keys of this one, except the given key. This set is unchanged.
+	 *
+	 * @param key
+	 * 		the key to remove
+	 * @return the updated set
+	 */
+	public PackedAllowanceSet<K> without(final K key) {
+		final var i = Arrays.binarySearch(keys, codec.pack(key));
+		if (i < 0) {
+			return this;
+		}
+		final var newKeys = new long[keys.length - 1];
+		System.arraycopy(keys, 0, newKeys, 0, i);
+		System.arraycopy(keys, i + 1, newKeys, i, keys.length - i - 1);
+		return new PackedAllowanceSet<>(codec, newKeys);
+	}
+
+	@Override
+	public int size() {
+		return keys.length;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return keys.length == 0;
+	}
+
+	@Override
+	public boolean contains(final Object key) {
+		return codec.keyType().isInstance(key)
+				&& Arrays.binarySearch(keys, codec.pack(codec.keyType().cast(key))) >= 0;
+	}
+
+	@Override
+	public void forEach(final Consumer<? super K> action) {
+		for (final var key : keys) {
+			action.accept(codec.unpack(key));
+		}
+	}
+
+	@Override
+	public Iterator<K> iterator() {
+		return new Iterator<>() {
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < keys.length;
+			}
+
+			@Override
+			public K next() {
+				if (next >= keys.length) {
+					throw new NoSuchElementException();
+				}
+				return codec.unpack(keys[next++]);
+			}
+		};
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o instanceof PackedAllowanceSet<?> that && that.codec == codec) {
+			return Arrays.equals(keys, that.keys);
+		}
+		return super.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return super.hashCode();
+	}
+}
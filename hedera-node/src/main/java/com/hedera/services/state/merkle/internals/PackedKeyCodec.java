@@ -0,0 +1,85 @@
+package com.hedera.services.state.merkle.internals;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.submerkle.FcTokenAllowanceId;
+import com.hedera.services.utils.EntityNum;
+
+/**
+ * Packs the keys of an allowance container into single {@code long}s, such that comparing two packed keys
+ * with {@link Long#compare(long, long)} gives the same order as comparing the keys themselves; so a
+ * sorted {@code long[]} of packed keys iterates in the same order as a {@link java.util.TreeMap}.
+ *
+ * @param <K>
+ * 		the type of key being packed
+ */
+public interface PackedKeyCodec<K> {
+	/**
+	 * Packs an {@link EntityNum} as its (signed) integer code.
+	 */
+	PackedKeyCodec<EntityNum> ENTITY_NUM_CODEC = new PackedKeyCodec<>() {
+		@Override
+		public long pack(final EntityNum key) {
+			return key.intValue();
+		}
+
+		@Override
+		public EntityNum unpack(final long packed) {
+			return EntityNum.fromInt((int) packed);
+		}
+
+		@Override
+		public Class<EntityNum> keyType() {
+			return EntityNum.class;
+		}
+	};
+
+	/**
+	 * Packs a {@link FcTokenAllowanceId} as its token code in the high 32 bits, and its spender code (with the
+	 * sign bit flipped, so that the low bits order as a signed integer) in the low 32 bits.
+	 */
+	PackedKeyCodec<FcTokenAllowanceId> TOKEN_ALLOWANCE_ID_CODEC = new PackedKeyCodec<>() {
+		@Override
+		public long pack(final FcTokenAllowanceId key) {
+			return ((long) key.getTokenNum().intValue() << 32)
+					| ((key.getSpenderNum().intValue() ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+		}
+
+		@Override
+		public FcTokenAllowanceId unpack(final long packed) {
+			return new FcTokenAllowanceId(
+					EntityNum.fromInt((int) (packed >> 32)),
+					EntityNum.fromInt((int) packed ^ Integer.MIN_VALUE));
+		}
+
+		@Override
+		public Class<FcTokenAllowanceId> keyType() {
+			return FcTokenAllowanceId.class;
+		}
+	};
+
+	long pack(K key);
+
+	K unpack(long packed);
+
+	Class<K> keyType();
+}
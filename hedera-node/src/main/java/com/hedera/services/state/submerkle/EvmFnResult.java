@@ -25,15 +25,12 @@ import com.google.protobuf.ByteString;
 import com.google.protobuf.BytesValue;
 import com.hedera.services.contracts.execution.TransactionProcessingResult;
 import com.hedera.services.ethereum.EthTxData;
-import com.hedera.services.utils.EntityIdUtils;
+import com.hedera.services.store.contracts.ContractStateChanges;
 import com.hederahashgraph.api.proto.java.ContractFunctionResult;
 import com.hederahashgraph.api.proto.java.ContractID;
-import com.hederahashgraph.api.proto.java.ContractStateChange;
-import com.hederahashgraph.api.proto.java.StorageChange;
 import com.swirlds.common.io.SelfSerializable;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.evm.log.Log;
@@ -44,9 +41,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.TreeMap;
 
 import static com.hedera.services.state.serdes.IoUtils.readNullableSerializable;
 import static com.hedera.services.state.serdes.IoUtils.readNullableString;
@@ -80,7 +75,7 @@ public class EvmFnResult implements SelfSerializable {
 	private EntityId contractId;
 	private List<EntityId> createdContractIds = Collections.emptyList();
 	private List<EvmLog> logs = Collections.emptyList();
-	private Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> stateChanges = Collections.emptyMap();
+	private ContractStateChanges stateChanges = ContractStateChanges.EMPTY;
 	private long gas;
 	private long amount;
 	private byte[] functionParameters = EMPTY;
@@ -129,7 +124,7 @@ public class EvmFnResult implements SelfSerializable {
 			final List<EvmLog> logs,
 			final List<EntityId> createdContractIds,
 			final byte[] evmAddress,
-			final Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> stateChanges,
+			final ContractStateChanges stateChanges,
 			final long gas,
 			final long amount,
 			final byte[] functionParameters,
@@ -178,22 +173,7 @@ public class EvmFnResult implements SelfSerializable {
 		// Added in 0.23
 		evmAddress = in.readByteArray(MAX_ADDRESS_BYTES);
 		// Added in 0.24
-		int numAffectedContracts = in.readInt();
-		final Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> state = new TreeMap<>();
-		while (numAffectedContracts-- > 0) {
-			final byte[] contractAddress = in.readByteArray(MAX_ADDRESS_BYTES);
-			int numAffectedSlots = in.readInt();
-			final Map<Bytes, Pair<Bytes, Bytes>> storage = new TreeMap<>();
-			state.put(Address.fromHexString(hex(contractAddress)), storage);
-			while (numAffectedSlots-- > 0) {
-				final var slot = Bytes.wrap(in.readByteArray(32));
-				final var left = Bytes.wrap(in.readByteArray(32));
-				final var hasRight = in.readBoolean();
-				final var right = hasRight ? Bytes.wrap(in.readByteArray(32)) : null;
-				storage.put(slot, Pair.of(left, right));
-			}
-		}
-		stateChanges = state;
+		stateChanges = ContractStateChanges.deserialize(in);
 		if (version >= RELEASE_0250_VERSION) {
 			gas = in.readLong();
 			amount = in.readLong();
@@ -214,23 +194,7 @@ public class EvmFnResult implements SelfSerializable {
 		out.writeSerializableList(logs, true, true);
 		out.writeSerializableList(createdContractIds, true, true);
 		out.writeByteArray(evmAddress);
-		out.writeInt(stateChanges.size());
-		for (Map.Entry<Address, Map<Bytes, Pair<Bytes, Bytes>>> entry : stateChanges.entrySet()) {
-			out.writeByteArray(entry.getKey().trimLeadingZeros().toArrayUnsafe());
-			Map<Bytes, Pair<Bytes, Bytes>> slots = entry.getValue();
-			out.writeInt(slots.size());
-			for (var slot : slots.entrySet()) {
-				out.writeByteArray(slot.getKey().trimLeadingZeros().toArrayUnsafe());
-				out.writeByteArray(slot.getValue().getLeft().trimLeadingZeros().toArrayUnsafe());
-				Bytes right = slot.getValue().getRight();
-				if (right == null) {
-					out.writeBoolean(false);
-				} else {
-					out.writeBoolean(true);
-					out.writeByteArray(right.trimLeadingZeros().toArrayUnsafe());
-				}
-			}
-		}
+		stateChanges.serialize(out);
 		out.writeLong(gas);
 		out.writeLong(amount);
 		out.writeByteArray(functionParameters);
@@ -322,7 +286,7 @@ public class EvmFnResult implements SelfSerializable {
 		return createdContractIds;
 	}
 
-	public Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> getStateChanges() {
+	public ContractStateChanges getStateChanges() {
 		return stateChanges;
 	}
 
@@ -350,7 +314,7 @@ public class EvmFnResult implements SelfSerializable {
 		this.evmAddress = evmAddress;
 	}
 
-	public void setStateChanges(final Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> stateChanges) {
+	public void setStateChanges(final ContractStateChanges stateChanges) {
 		this.stateChanges = stateChanges;
 	}
 
@@ -397,12 +361,7 @@ public class EvmFnResult implements SelfSerializable {
 		if (evmAddress.length > 0) {
 			grpc.setEvmAddress(BytesValue.newBuilder().setValue(ByteString.copyFrom(evmAddress)));
 		}
-		stateChanges.forEach((address, slotAccesses) -> {
-			final var builder = ContractStateChange.newBuilder()
-					.setContractID(EntityIdUtils.contractIdFromEvmAddress(address.toArrayUnsafe()));
-			slotAccesses.forEach((slot, access) -> builder.addStorageChanges(trimmedGrpc(slot, access)));
-			grpc.addStateChanges(builder);
-		});
+		stateChanges.exportTo(grpc);
 		grpc.setGas(gas);
 		grpc.setAmount(amount);
 		grpc.setFunctionParameters(ByteString.copyFrom(functionParameters));
@@ -412,17 +371,6 @@ public class EvmFnResult implements SelfSerializable {
 		return grpc.build();
 	}
 
-	static StorageChange.Builder trimmedGrpc(final Bytes slot, final Pair<Bytes, Bytes> access) {
-		final var grpc = StorageChange.newBuilder()
-				.setSlot(ByteString.copyFrom(slot.trimLeadingZeros().toArrayUnsafe()))
-				.setValueRead(ByteString.copyFrom(access.getLeft().trimLeadingZeros().toArrayUnsafe()));
-		if (access.getRight() != null) {
-			grpc.setValueWritten(BytesValue.newBuilder().setValue(
-					ByteString.copyFrom(access.getRight().trimLeadingZeros().toArrayUnsafe())));
-		}
-		return grpc;
-	}
-
 	private static byte[] bloomFor(final List<Log> logs) {
 		return LogsBloomFilter.builder().insertLogs(logs).build().toArray();
 	}
@@ -445,7 +393,7 @@ public class EvmFnResult implements SelfSerializable {
 			final long gasUsed,
 			final Bytes output,
 			final Address recipient,
-			final Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> stateChanges,
+			final ContractStateChanges stateChanges,
 			final List<EntityId> createdContractIds,
 			final byte[] evmAddress
 	) {
@@ -469,7 +417,7 @@ public class EvmFnResult implements SelfSerializable {
 	private static EvmFnResult failure(
 			final long gasUsed,
 			final String error,
-			final Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> stateChanges
+			final ContractStateChanges stateChanges
 	) {
 		return new EvmFnResult(
 				null,
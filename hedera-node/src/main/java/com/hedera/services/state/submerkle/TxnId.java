@@ -74,6 +74,14 @@ public class TxnId implements SelfSerializable {
 		return validStart;
 	}
 
+	public boolean isScheduled() {
+		return scheduled;
+	}
+
+	public int getNonce() {
+		return nonce;
+	}
+
 	/* --- SelfSerializable --- */
 	@Override
 	public long getClassId() {
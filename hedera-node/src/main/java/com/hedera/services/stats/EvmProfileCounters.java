@@ -0,0 +1,232 @@
+package com.hedera.services.stats;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.swirlds.common.system.Platform;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Aggregates wall-clock nanoseconds, invocation counts, and gas charged for each EVM opcode and
+ * each (precompile address, function selector) pair, so that contract work whose gas price badly
+ * understates node CPU time can be found.
+ *
+ * Every counter is a {@link LongAdder}, so that concurrent EVM executions (e.g., a handle thread
+ * and several {@code ContractCallLocal} queries) record into striped cells and do not contend on
+ * a single cache line. Sums are only ever read by the stats and dump threads.
+ */
+public class EvmProfileCounters {
+	private static final Logger log = LogManager.getLogger(EvmProfileCounters.class);
+
+	private static final int NUM_OPCODES = 256;
+	static final String DUMP_HEADER = "kind,name,count,nanos,gas,nanosPerGas";
+
+	private final boolean enabled;
+	private final CounterFactory counter;
+	private final String[] opNames = new String[NUM_OPCODES];
+	private final Stats[] opStats = new Stats[NUM_OPCODES];
+	private final Map<PrecompileCall, Stats> precompileStats = new ConcurrentHashMap<>();
+
+	public EvmProfileCounters(final CounterFactory counter, final boolean enabled) {
+		this.counter = counter;
+		this.enabled = enabled;
+		for (int i = 0; i < NUM_OPCODES; i++) {
+			opStats[i] = new Stats();
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void registerWith(final Platform platform) {
+		if (!enabled) {
+			return;
+		}
+		platform.addAppStatEntry(counter.from(
+				Names.OP_NANOS, Descriptions.OP_NANOS, () -> sumOf(List.of(opStats), Stats::nanos)));
+		platform.addAppStatEntry(counter.from(
+				Names.OP_GAS, Descriptions.OP_GAS, () -> sumOf(List.of(opStats), Stats::gas)));
+		platform.addAppStatEntry(counter.from(
+				Names.PRECOMPILE_NANOS, Descriptions.PRECOMPILE_NANOS,
+				() -> sumOf(precompileStats.values(), Stats::nanos)));
+		platform.addAppStatEntry(counter.from(
+				Names.PRECOMPILE_GAS, Descriptions.PRECOMPILE_GAS,
+				() -> sumOf(precompileStats.values(), Stats::gas)));
+	}
+
+	/**
+	 * Records one execution of the given opcode.
+	 *
+	 * @param opcode
+	 * 		the opcode executed
+	 * @param name
+	 * 		the mnemonic of the opcode
+	 * @param nanos
+	 * 		the wall-clock time of the execution
+	 * @param gas
+	 * 		the gas charged for the execution
+	 */
+	public void recordOpcode(final int opcode, final String name, final long nanos, final long gas) {
+		final var i = opcode & 0xFF;
+		if (opNames[i] == null) {
+			opNames[i] = name;
+		}
+		opStats[i].record(nanos, gas);
+	}
+
+	/**
+	 * Records one call to a precompile.
+	 *
+	 * @param address
+	 * 		the address of the precompile
+	 * @param selector
+	 * 		the first four bytes of the call data (or zero, if there were fewer)
+	 * @param nanos
+	 * 		the wall-clock time of the call
+	 * @param gas
+	 * 		the gas charged for the call
+	 */
+	public void recordPrecompile(final String address, final int selector, final long nanos, final long gas) {
+		precompileStats.computeIfAbsent(new PrecompileCall(address, selector), ignore -> new Stats())
+				.record(nanos, gas);
+	}
+
+	/**
+	 * Overwrites the given file with a CSV of all non-empty aggregates, most expensive first.
+	 *
+	 * @param file
+	 * 		the file to write
+	 */
+	public void dumpTo(final Path file) {
+		try {
+			final var dir = file.getParent();
+			if (dir != null) {
+				Files.createDirectories(dir);
+			}
+			try (final var writer = Files.newBufferedWriter(file)) {
+				writeTo(writer);
+			}
+		} catch (IOException e) {
+			log.warn("Unable to dump EVM profile to {}", file, e);
+		}
+	}
+
+	void writeTo(final Writer writer) throws IOException {
+		final List<Row> rows = new ArrayList<>();
+		for (int i = 0; i < NUM_OPCODES; i++) {
+			final var stats = opStats[i];
+			if (stats.count.sum() > 0) {
+				final var name = opNames[i] == null ? String.format("0x%02x", i) : opNames[i];
+				rows.add(new Row("opcode", name, stats.count.sum(), stats.nanos(), stats.gas()));
+			}
+		}
+		precompileStats.forEach((call, stats) -> rows.add(new Row(
+				"precompile",
+				String.format("%s:0x%08x", call.address(), call.selector()),
+				stats.count.sum(), stats.nanos(), stats.gas())));
+		rows.sort(Comparator.comparingLong(Row::nanos).reversed());
+
+		writer.write(DUMP_HEADER);
+		writer.write('\n');
+		for (final var row : rows) {
+			final var nanosPerGas = row.gas() == 0 ? "" : String.format("%.3f", (double) row.nanos() / row.gas());
+			writer.write(String.join(",",
+					row.kind(), row.name(),
+					Long.toString(row.count()), Long.toString(row.nanos()), Long.toString(row.gas()),
+					nanosPerGas));
+			writer.write('\n');
+		}
+	}
+
+	private static long sumOf(
+			final Iterable<Stats> all,
+			final ToLongFunction<Stats> measure
+	) {
+		var sum = 0L;
+		for (final var stats : all) {
+			sum += measure.applyAsLong(stats);
+		}
+		return sum;
+	}
+
+	private record PrecompileCall(String address, int selector) {
+	}
+
+	private record Row(String kind, String name, long count, long nanos, long gas) {
+	}
+
+	private static final class Stats {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		private final LongAdder gas = new LongAdder();
+
+		private void record(final long elapsedNanos, final long gasCharged) {
+			count.increment();
+			nanos.add(elapsedNanos);
+			gas.add(gasCharged);
+		}
+
+		private long nanos() {
+			return nanos.sum();
+		}
+
+		private long gas() {
+			return gas.sum();
+		}
+	}
+
+	static final class Names {
+		static final String OP_NANOS = "evmOpNanos";
+		static final String OP_GAS = "evmOpGas";
+		static final String PRECOMPILE_NANOS = "evmPrecompileNanos";
+		static final String PRECOMPILE_GAS = "evmPrecompileGas";
+
+		private Names() {
+			throw new UnsupportedOperationException("Utility Class");
+		}
+	}
+
+	static final class Descriptions {
+		static final String OP_NANOS = "total nanoseconds spent executing profiled EVM opcodes";
+		static final String OP_GAS = "total gas charged for profiled EVM opcodes";
+		static final String PRECOMPILE_NANOS = "total nanoseconds spent executing profiled precompile calls";
+		static final String PRECOMPILE_GAS = "total gas charged for profiled precompile calls";
+
+		private Descriptions() {
+			throw new UnsupportedOperationException("Utility Class");
+		}
+	}
+}
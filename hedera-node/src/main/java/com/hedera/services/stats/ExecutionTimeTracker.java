@@ -30,32 +30,63 @@ import org.apache.logging.log4j.Logger;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
 
+/**
+ * Tracks the wall-clock time spent handling each consensus transaction, both in total and broken out by
+ * {@link HandleStage}. The most recent times are kept by {@link TransactionID} for the {@code GetExecTime}
+ * query; and every breakdown is also recorded in the per-functionality {@link HandleStageHistograms}.
+ *
+ * Stages may nest (for example, record creation happens during the ledger commit); the time spent in a
+ * nested stage is attributed only to the nested stage, so the stage times never double-count. Stage times
+ * recorded before {@link #start()} (such as span rationalization) are included in the breakdown reported at
+ * the next {@link #stop()}. All methods other than the getters must be called from the handle thread.
+ */
 @Singleton
 public class ExecutionTimeTracker {
 	private static final Logger log = LogManager.getLogger(ExecutionTimeTracker.class);
 
+	private static final HandleStage[] STAGES = HandleStage.values();
+
 	private final boolean shouldNoop;
 	private final TransactionContext txnCtx;
+	private final HandleStageHistograms stageHistograms;
 
 	private final Cache<TransactionID, Long> execNanosCache;
+	private final Cache<TransactionID, long[]> stageNanosCache;
 
+	private final long[] stageNanos = new long[STAGES.length];
+	private final HandleStage[] openStages = new HandleStage[STAGES.length];
+	private int numOpenStages;
+	private long lastStageMark;
 	private long startTime;
 
 	@Inject
-	public ExecutionTimeTracker(TransactionContext txnCtx, NodeLocalProperties properties) {
+	public ExecutionTimeTracker(
+			final TransactionContext txnCtx,
+			final NodeLocalProperties properties,
+			final HandleStageHistograms stageHistograms
+	) {
 		this.txnCtx = txnCtx;
+		this.stageHistograms = stageHistograms;
 
 		final var timesToTrack = properties.numExecutionTimesToTrack();
 		shouldNoop = (timesToTrack == 0);
 		if (shouldNoop) {
 			execNanosCache = null;
+			stageNanosCache = null;
 			log.info("Not tracking execution times (stats.executionTimesToTrack=0)");
 		} else {
 			execNanosCache = CacheBuilder
 					.newBuilder()
 					.maximumSize(timesToTrack)
 					.build();
+			stageNanosCache = CacheBuilder
+					.newBuilder()
+					.maximumSize(timesToTrack)
+					.build();
 			log.info("Tracking last {} execution times", timesToTrack);
 		}
 	}
@@ -72,14 +103,98 @@ public class ExecutionTimeTracker {
 			return;
 		}
 		final var execTime = System.nanoTime() - startTime;
-		final var txnId = txnCtx.accessor().getTxnId();
+		final var accessor = txnCtx.accessor();
+		final var txnId = accessor.getTxnId();
 		execNanosCache.put(txnId, execTime);
+		stageNanosCache.put(txnId, stageNanos.clone());
+		stageHistograms.record(accessor.getFunction(), stageNanos);
+		discardStages();
+	}
+
+	/**
+	 * Starts timing the given stage, pausing the innermost stage already open (if any).
+	 *
+	 * @param stage
+	 * 		the stage beginning
+	 */
+	public void startStage(final HandleStage stage) {
+		if (shouldNoop || numOpenStages == openStages.length) {
+			return;
+		}
+		final var now = System.nanoTime();
+		if (numOpenStages > 0) {
+			stageNanos[openStages[numOpenStages - 1].ordinal()] += now - lastStageMark;
+		}
+		openStages[numOpenStages++] = stage;
+		lastStageMark = now;
+	}
+
+	/**
+	 * Stops timing the given stage, resuming the stage it interrupted (if any). If a stage nested inside
+	 * the given stage was never stopped (for example, because of an exception), it is stopped now as well.
+	 *
+	 * @param stage
+	 * 		the stage ending
+	 */
+	public void stopStage(final HandleStage stage) {
+		if (shouldNoop || !isOpen(stage)) {
+			return;
+		}
+		final var now = System.nanoTime();
+		stageNanos[openStages[numOpenStages - 1].ordinal()] += now - lastStageMark;
+		HandleStage closed;
+		do {
+			closed = openStages[--numOpenStages];
+		} while (closed != stage);
+		lastStageMark = now;
+	}
+
+	/**
+	 * Discards any stage times recorded since the last {@link #stop()}; for example, when a platform
+	 * transaction fails its invariant checks and is never processed.
+	 */
+	public void discardStages() {
+		if (shouldNoop) {
+			return;
+		}
+		Arrays.fill(stageNanos, 0L);
+		numOpenStages = 0;
 	}
 
 	public Long getExecNanosIfPresentFor(TransactionID txnId) {
 		return shouldNoop ? null : execNanosCache.getIfPresent(txnId);
 	}
 
+	/**
+	 * Returns the nanoseconds the given transaction spent in each stage it reached, if it is still tracked.
+	 *
+	 * @param txnId
+	 * 		the transaction of interest
+	 * @return the stage times, or null if the transaction is not tracked
+	 */
+	public Map<HandleStage, Long> getStageNanosIfPresentFor(final TransactionID txnId) {
+		final var nanos = shouldNoop ? null : stageNanosCache.getIfPresent(txnId);
+		if (nanos == null) {
+			return null;
+		}
+		final Map<HandleStage, Long> breakdown = new EnumMap<>(HandleStage.class);
+		for (final var stage : STAGES) {
+			if (nanos[stage.ordinal()] > 0) {
+				breakdown.put(stage, nanos[stage.ordinal()]);
+			}
+		}
+		return breakdown;
+	}
+
+	private boolean isOpen(final HandleStage stage) {
+		for (int i = 0; i < numOpenStages; i++) {
+			if (openStages[i] == stage) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/* --- Only used by unit tests --- */
 	boolean isShouldNoop() {
 		return shouldNoop;
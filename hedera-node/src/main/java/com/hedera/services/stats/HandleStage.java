@@ -0,0 +1,53 @@
+package com.hedera.services.stats;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+/**
+ * The stages of handling a consensus transaction whose wall-clock times the {@link ExecutionTimeTracker}
+ * breaks out from each transaction's total execution time.
+ */
+public enum HandleStage {
+	/** Expanding (or re-using the pre-computed expansion of) the transaction's span. */
+	SPAN_RATIONALIZATION("spanRationalization"),
+	/** Screening the payer and non-payer signatures. */
+	SIG_SCREENING("sigScreening"),
+	/** Applying the fee charging policy. */
+	CHARGING("charging"),
+	/** Running the requested transition logic. */
+	TRANSITION("transition"),
+	/** Committing the ledgers, apart from record creation. */
+	LEDGER_COMMIT("ledgerCommit"),
+	/** Creating and caching the transaction's records. */
+	RECORD_CREATION("recordCreation"),
+	/** Handing the records off to the record stream. */
+	STREAM_HANDOFF("streamHandoff");
+
+	private final String statName;
+
+	HandleStage(final String statName) {
+		this.statName = statName;
+	}
+
+	public String statName() {
+		return statName;
+	}
+}
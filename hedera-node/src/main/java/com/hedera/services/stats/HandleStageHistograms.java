@@ -0,0 +1,251 @@
+package com.hedera.services.stats;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.annotations.VisibleForTesting;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.swirlds.common.system.Platform;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_STAGE_NANOS_DESC_TPL;
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_STAGE_NANOS_NAME_TPL;
+import static com.hedera.services.stats.ServicesStatsConfig.GAUGE_FUNCTION_STAGE_P99_NANOS_DESC_TPL;
+import static com.hedera.services.stats.ServicesStatsConfig.GAUGE_STAGE_P99_NANOS_DESC_TPL;
+import static com.hedera.services.stats.ServicesStatsConfig.GAUGE_STAGE_P99_NANOS_NAME_TPL;
+
+/**
+ * Keeps, for each functionality and {@link HandleStage}, a histogram of the nanoseconds handled
+ * transactions spent in that stage; plus the same histograms aggregated over all functionalities.
+ * The aggregated histograms back the per-stage stats registered with the platform, and the histograms
+ * of the given exported functionalities back per-functionality percentile stats.
+ *
+ * Each histogram has power-of-two buckets (bucket {@code i} counts times in {@code [2^i, 2^(i+1))}
+ * nanoseconds), so recording a time is just a few array updates with no allocation. So that the
+ * percentiles reflect recent transactions, the bucket counts are halved once per half-life, the
+ * same half-life used by the running averages; while the total nanoseconds per stage are cumulative
+ * counters. Only the handle thread records times (and decays the buckets), so its updates need not be
+ * atomic; the stats thread may see a histogram that is a few updates behind.
+ *
+ * When {@code stats.executionTimesToTrack=0} no stage times are ever recorded, so no stats are registered.
+ */
+public class HandleStageHistograms {
+	static final int NUM_BUCKETS = 40;
+
+	private static final HandleStage[] STAGES = HandleStage.values();
+	private static final int NUM_STAGES = STAGES.length;
+	private static final int ALL_FUNCTIONS_ROW = HederaFunctionality.values().length;
+	private static final int NUM_ROWS = ALL_FUNCTIONS_ROW + 1;
+
+	private final CounterFactory counter;
+	private final GaugeFactory gauge;
+	private final Function<HederaFunctionality, String> statNameFn;
+	private final Set<HederaFunctionality> exportedFunctions;
+	private final long halfLifeNanos;
+	private final boolean isTrackingOn;
+	private final LongSupplier nanoClock;
+	private final AtomicLongArray buckets = new AtomicLongArray(NUM_ROWS * NUM_STAGES * NUM_BUCKETS);
+	private final AtomicLongArray totalNanos = new AtomicLongArray(NUM_ROWS * NUM_STAGES);
+
+	private volatile long lastDecayNanos;
+
+	public HandleStageHistograms(
+			final CounterFactory counter,
+			final GaugeFactory gauge,
+			final Function<HederaFunctionality, String> statNameFn,
+			final Set<HederaFunctionality> exportedFunctions,
+			final double halfLifeSecs,
+			final boolean isTrackingOn
+	) {
+		this(counter, gauge, statNameFn, exportedFunctions, halfLifeSecs, isTrackingOn, System::nanoTime);
+	}
+
+	@VisibleForTesting
+	HandleStageHistograms(
+			final CounterFactory counter,
+			final GaugeFactory gauge,
+			final Function<HederaFunctionality, String> statNameFn,
+			final Set<HederaFunctionality> exportedFunctions,
+			final double halfLifeSecs,
+			final boolean isTrackingOn,
+			final LongSupplier nanoClock
+	) {
+		this.counter = counter;
+		this.gauge = gauge;
+		this.statNameFn = statNameFn;
+		this.exportedFunctions = exportedFunctions;
+		this.halfLifeNanos = Math.max(1L, (long) (halfLifeSecs * 1_000_000_000L));
+		this.isTrackingOn = isTrackingOn;
+		this.nanoClock = nanoClock;
+		this.lastDecayNanos = nanoClock.getAsLong();
+	}
+
+	public void registerWith(final Platform platform) {
+		if (!isTrackingOn) {
+			return;
+		}
+		for (final var stage : STAGES) {
+			final var baseName = stage.statName();
+			platform.addAppStatEntry(counter.from(
+					String.format(COUNTER_STAGE_NANOS_NAME_TPL, baseName),
+					String.format(COUNTER_STAGE_NANOS_DESC_TPL, baseName),
+					() -> totalNanos.get(cell(ALL_FUNCTIONS_ROW, stage))));
+			platform.addAppStatEntry(gauge.from(
+					String.format(GAUGE_STAGE_P99_NANOS_NAME_TPL, baseName),
+					String.format(GAUGE_STAGE_P99_NANOS_DESC_TPL, baseName),
+					() -> percentileNanos(ALL_FUNCTIONS_ROW, stage, 0.99)));
+			for (final var function : exportedFunctions) {
+				final var functionName = statNameFn.apply(function);
+				final var functionStageName = functionName
+						+ Character.toUpperCase(baseName.charAt(0)) + baseName.substring(1);
+				platform.addAppStatEntry(gauge.from(
+						String.format(GAUGE_STAGE_P99_NANOS_NAME_TPL, functionStageName),
+						String.format(GAUGE_FUNCTION_STAGE_P99_NANOS_DESC_TPL, baseName, functionName),
+						() -> percentileNanos(function.ordinal(), stage, 0.99)));
+			}
+		}
+	}
+
+	/**
+	 * Records the time a transaction of the given functionality spent in each stage it reached.
+	 *
+	 * @param function
+	 * 		the functionality of the handled transaction
+	 * @param stageNanos
+	 * 		the nanoseconds spent in each stage, indexed by ordinal; zero for stages not reached
+	 */
+	public void record(final HederaFunctionality function, final long[] stageNanos) {
+		decayIfDue();
+		final var row = function.ordinal();
+		for (int i = 0; i < NUM_STAGES; i++) {
+			final var nanos = stageNanos[i];
+			if (nanos > 0) {
+				final var bucket = bucketFor(nanos);
+				increment(row, i, bucket, nanos);
+				increment(ALL_FUNCTIONS_ROW, i, bucket, nanos);
+			}
+		}
+	}
+
+	/**
+	 * Returns an upper bound on the given percentile of the times transactions of the given functionality
+	 * spent in the given stage; accurate to within a factor of two.
+	 *
+	 * @param function
+	 * 		the functionality of interest
+	 * @param stage
+	 * 		the stage of interest
+	 * @param percentile
+	 * 		the percentile of interest, in {@code (0, 1]}
+	 * @return the percentile upper bound in nanoseconds, or zero if no times were recorded
+	 */
+	public long percentileNanos(final HederaFunctionality function, final HandleStage stage, final double percentile) {
+		return percentileNanos(function.ordinal(), stage, percentile);
+	}
+
+	/**
+	 * Returns the (decayed) number of times recorded for the given functionality and stage.
+	 *
+	 * @param function
+	 * 		the functionality of interest
+	 * @param stage
+	 * 		the stage of interest
+	 * @return the decayed count of recorded times
+	 */
+	public long countOf(final HederaFunctionality function, final HandleStage stage) {
+		final var base = cell(function.ordinal(), stage) * NUM_BUCKETS;
+		final var shift = pendingDecayShift();
+		var count = 0L;
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			count += buckets.get(base + i) >>> shift;
+		}
+		return count;
+	}
+
+	public long totalNanosOf(final HederaFunctionality function, final HandleStage stage) {
+		return totalNanos.get(cell(function.ordinal(), stage));
+	}
+
+	private long percentileNanos(final int row, final HandleStage stage, final double percentile) {
+		final var base = cell(row, stage) * NUM_BUCKETS;
+		final long[] counts = new long[NUM_BUCKETS];
+		/* If no transactions were handled for a while, apply the decay that is due before reading */
+		final var shift = pendingDecayShift();
+		var count = 0L;
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			counts[i] = buckets.get(base + i) >>> shift;
+			count += counts[i];
+		}
+		if (count == 0) {
+			return 0;
+		}
+		final var rank = (long) Math.ceil(percentile * count);
+		var seen = 0L;
+		for (int i = 0; i < NUM_BUCKETS - 1; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return 1L << (i + 1);
+			}
+		}
+		return 1L << NUM_BUCKETS;
+	}
+
+	private void decayIfDue() {
+		final var halfLives = halfLivesSinceDecay();
+		if (halfLives > 0) {
+			lastDecayNanos += halfLives * halfLifeNanos;
+			final var shift = (int) Math.min(Long.SIZE - 1, halfLives);
+			for (int i = 0, n = buckets.length(); i < n; i++) {
+				final var count = buckets.get(i);
+				if (count != 0) {
+					buckets.lazySet(i, count >>> shift);
+				}
+			}
+		}
+	}
+
+	private int pendingDecayShift() {
+		return (int) Math.min(Long.SIZE - 1, halfLivesSinceDecay());
+	}
+
+	private long halfLivesSinceDecay() {
+		return (nanoClock.getAsLong() - lastDecayNanos) / halfLifeNanos;
+	}
+
+	private void increment(final int row, final int stageOrdinal, final int bucket, final long nanos) {
+		final var i = row * NUM_STAGES + stageOrdinal;
+		final var j = i * NUM_BUCKETS + bucket;
+		buckets.lazySet(j, buckets.get(j) + 1);
+		totalNanos.lazySet(i, totalNanos.get(i) + nanos);
+	}
+
+	private static int cell(final int row, final HandleStage stage) {
+		return row * NUM_STAGES + stage.ordinal();
+	}
+
+	static int bucketFor(final long nanos) {
+		return Math.min(NUM_BUCKETS - 1, 63 - Long.numberOfLeadingZeros(nanos));
+	}
+}
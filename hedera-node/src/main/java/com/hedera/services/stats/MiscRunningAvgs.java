@@ -34,6 +34,25 @@ public class MiscRunningAvgs {
 	StatsRunningAverage writeQueueSizeRecordStream;
 	StatsRunningAverage hashQueueSizeRecordStream;
 
+	StatsRunningAverage prefetchQueueDepth;
+	StatsRunningAverage prefetchLeadTimeMs;
+
+	StatsRunningAverage handoffStallRetries;
+	StatsRunningAverage handoffQueueDepth;
+	StatsRunningAverage handoffBatchSize;
+
+	StatsRunningAverage ingestQueueWaitUs;
+	StatsRunningAverage ingestWorkUs;
+	StatsRunningAverage precheckSigBatchSize;
+	StatsRunningAverage precheckSigVerifyUs;
+
+	StatsRunningAverage localCallCacheHitRatio;
+	StatsRunningAverage localCallQueueWaitMs;
+
+	StatsRunningAverage feeCacheHitRatio;
+
+	StatsRunningAverage queryAnswerCacheHitRatio;
+
 	public MiscRunningAvgs(final RunningAvgFactory runningAvg, final double halfLife) {
 		this.runningAvg = runningAvg;
 
@@ -44,6 +63,25 @@ public class MiscRunningAvgs {
 
 		writeQueueSizeRecordStream = new StatsRunningAverage(halfLife);
 		hashQueueSizeRecordStream = new StatsRunningAverage(halfLife);
+
+		prefetchQueueDepth = new StatsRunningAverage(halfLife);
+		prefetchLeadTimeMs = new StatsRunningAverage(halfLife);
+
+		handoffStallRetries = new StatsRunningAverage(halfLife);
+		handoffQueueDepth = new StatsRunningAverage(halfLife);
+		handoffBatchSize = new StatsRunningAverage(halfLife);
+
+		ingestQueueWaitUs = new StatsRunningAverage(halfLife);
+		ingestWorkUs = new StatsRunningAverage(halfLife);
+		precheckSigBatchSize = new StatsRunningAverage(halfLife);
+		precheckSigVerifyUs = new StatsRunningAverage(halfLife);
+
+		localCallCacheHitRatio = new StatsRunningAverage(halfLife);
+		localCallQueueWaitMs = new StatsRunningAverage(halfLife);
+
+		feeCacheHitRatio = new StatsRunningAverage(halfLife);
+
+		queryAnswerCacheHitRatio = new StatsRunningAverage(halfLife);
 	}
 
 	public void registerWith(final Platform platform) {
@@ -77,6 +115,71 @@ public class MiscRunningAvgs {
 						Names.GAS_PER_CONSENSUS_SEC,
 						Descriptions.GAS_PER_CONSENSUS_SEC,
 						gasPerConsSec));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.PREFETCH_QUEUE_DEPTH,
+						Descriptions.PREFETCH_QUEUE_DEPTH,
+						prefetchQueueDepth));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.PREFETCH_LEAD_TIME_MS,
+						Descriptions.PREFETCH_LEAD_TIME_MS,
+						prefetchLeadTimeMs));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.HANDOFF_STALL_RETRIES,
+						Descriptions.HANDOFF_STALL_RETRIES,
+						handoffStallRetries));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.HANDOFF_QUEUE_DEPTH,
+						Descriptions.HANDOFF_QUEUE_DEPTH,
+						handoffQueueDepth));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.HANDOFF_BATCH_SIZE,
+						Descriptions.HANDOFF_BATCH_SIZE,
+						handoffBatchSize));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.INGEST_QUEUE_WAIT_US,
+						Descriptions.INGEST_QUEUE_WAIT_US,
+						ingestQueueWaitUs));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.INGEST_WORK_US,
+						Descriptions.INGEST_WORK_US,
+						ingestWorkUs));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.PRECHECK_SIG_BATCH_SIZE,
+						Descriptions.PRECHECK_SIG_BATCH_SIZE,
+						precheckSigBatchSize));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.PRECHECK_SIG_VERIFY_US,
+						Descriptions.PRECHECK_SIG_VERIFY_US,
+						precheckSigVerifyUs));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.LOCAL_CALL_CACHE_HIT_RATIO,
+						Descriptions.LOCAL_CALL_CACHE_HIT_RATIO,
+						localCallCacheHitRatio));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.LOCAL_CALL_QUEUE_WAIT_MS,
+						Descriptions.LOCAL_CALL_QUEUE_WAIT_MS,
+						localCallQueueWaitMs));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.FEE_CACHE_HIT_RATIO,
+						Descriptions.FEE_CACHE_HIT_RATIO,
+						feeCacheHitRatio));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.QUERY_ANSWER_CACHE_HIT_RATIO,
+						Descriptions.QUERY_ANSWER_CACHE_HIT_RATIO,
+						queryAnswerCacheHitRatio));
 	}
 
 	public void recordAccountLookupRetries(final int num) {
@@ -103,6 +206,58 @@ public class MiscRunningAvgs {
 		gasPerConsSec.recordValue(gas);
 	}
 
+	public void recordPrefetchQueueDepth(final int num) {
+		prefetchQueueDepth.recordValue(num);
+	}
+
+	public void recordPrefetchLeadTimeMs(final double time) {
+		prefetchLeadTimeMs.recordValue(time);
+	}
+
+	public void recordHandoffStallRetries(final int num) {
+		handoffStallRetries.recordValue(num);
+	}
+
+	public void recordHandoffQueueDepth(final int num) {
+		handoffQueueDepth.recordValue(num);
+	}
+
+	public void recordHandoffBatchSize(final int num) {
+		handoffBatchSize.recordValue(num);
+	}
+
+	public void recordIngestQueueWaitUs(final double time) {
+		ingestQueueWaitUs.recordValue(time);
+	}
+
+	public void recordIngestWorkUs(final double time) {
+		ingestWorkUs.recordValue(time);
+	}
+
+	public void recordPrecheckSigBatchSize(final int num) {
+		precheckSigBatchSize.recordValue(num);
+	}
+
+	public void recordPrecheckSigVerifyUs(final double time) {
+		precheckSigVerifyUs.recordValue(time);
+	}
+
+	public void recordLocalCallCacheHit(final boolean hit) {
+		localCallCacheHitRatio.recordValue(hit ? 1.0 : 0.0);
+	}
+
+	public void recordLocalCallQueueWaitMs(final double time) {
+		localCallQueueWaitMs.recordValue(time);
+	}
+
+	public void recordFeeCacheHit(final boolean hit) {
+		feeCacheHitRatio.recordValue(hit ? 1.0 : 0.0);
+	}
+
+	public void recordQueryAnswerCacheHit(final boolean hit) {
+		queryAnswerCacheHitRatio.recordValue(hit ? 1.0 : 0.0);
+	}
+
 	public static final class Names {
 		static final String GAS_PER_CONSENSUS_SEC = "gasPerConsSec";
 		static final String ACCOUNT_RETRY_WAIT_MS = "avgAcctRetryWaitMs";
@@ -112,6 +267,25 @@ public class MiscRunningAvgs {
 		static final String WRITE_QUEUE_SIZE_RECORD_STREAM = "writeQueueSizeRecordStream";
 		static final String HASH_QUEUE_SIZE_RECORD_STREAM = "hashQueueSizeRecordStream";
 
+		static final String PREFETCH_QUEUE_DEPTH = "prefetchQueueDepth";
+		static final String PREFETCH_LEAD_TIME_MS = "avgPrefetchLeadTimeMs";
+
+		static final String HANDOFF_STALL_RETRIES = "avgRecordHandoffStallRetries";
+		static final String HANDOFF_QUEUE_DEPTH = "recordHandoffQueueDepth";
+		static final String HANDOFF_BATCH_SIZE = "avgRecordHandoffBatchSize";
+
+		static final String INGEST_QUEUE_WAIT_US = "avgIngestQueueWaitUs";
+		static final String INGEST_WORK_US = "avgIngestWorkUs";
+		static final String PRECHECK_SIG_BATCH_SIZE = "avgPrecheckSigBatchSize";
+		static final String PRECHECK_SIG_VERIFY_US = "avgPrecheckSigVerifyUs";
+
+		static final String LOCAL_CALL_CACHE_HIT_RATIO = "localCallCacheHitRatio";
+		static final String LOCAL_CALL_QUEUE_WAIT_MS = "avgLocalCallQueueWaitMs";
+
+		static final String FEE_CACHE_HIT_RATIO = "feeCacheHitRatio";
+
+		static final String QUERY_ANSWER_CACHE_HIT_RATIO = "queryAnswerCacheHitRatio";
+
 		private Names() {
 			throw new UnsupportedOperationException("Utility Class");
 		}
@@ -132,6 +306,38 @@ public class MiscRunningAvgs {
 		static final String HASH_QUEUE_SIZE_RECORD_STREAM =
 				"size of working queue for calculating hash and runningHash";
 
+		static final String PREFETCH_QUEUE_DEPTH =
+				"number of pre-fetch tasks queued across all lanes";
+		static final String PREFETCH_LEAD_TIME_MS =
+				"average time in millis between a pre-fetch finishing and handle reaching its transaction";
+
+		static final String HANDOFF_STALL_RETRIES =
+				"average number of retries the handle thread made before a full record stream handoff accepted a record";
+		static final String HANDOFF_QUEUE_DEPTH =
+				"number of records waiting in the record stream handoff when a batch is drained";
+		static final String HANDOFF_BATCH_SIZE =
+				"average number of records moved per batch from the handoff to the record stream";
+
+		static final String INGEST_QUEUE_WAIT_US =
+				"average time in micros a submitted transaction waits for an ingest worker";
+		static final String INGEST_WORK_US =
+				"average time in micros an ingest worker spends prechecking and submitting a transaction";
+		static final String PRECHECK_SIG_BATCH_SIZE =
+				"average number of precheck signatures verified per coalesced batch";
+		static final String PRECHECK_SIG_VERIFY_US =
+				"average time in micros to verify a coalesced batch of precheck signatures";
+
+		static final String LOCAL_CALL_CACHE_HIT_RATIO =
+				"fraction of ContractCallLocal queries answered from the signed-state result cache";
+		static final String LOCAL_CALL_QUEUE_WAIT_MS =
+				"average time in millis a ContractCallLocal query waits for the local call executor";
+
+		static final String FEE_CACHE_HIT_RATIO =
+				"fraction of transaction fee calculations whose usage shape was already priced";
+
+		static final String QUERY_ANSWER_CACHE_HIT_RATIO =
+				"fraction of account, token, and contract info and balance answers served from the signed-state cache";
+
 		private Descriptions() {
 			throw new UnsupportedOperationException("Utility Class");
 		}
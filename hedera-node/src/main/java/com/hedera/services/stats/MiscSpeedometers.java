@@ -28,12 +28,18 @@ public class MiscSpeedometers {
 
 	StatsSpeedometer syncVerifications;
 	StatsSpeedometer platformTxnRejections;
+	StatsSpeedometer prefetchOverflows;
+	StatsSpeedometer prefetchDeadlineDrops;
+	StatsSpeedometer prefetchLateFinishes;
 
 	public MiscSpeedometers(final SpeedometerFactory speedometer, final double halfLife) {
 		this.speedometer = speedometer;
 
 		syncVerifications = new StatsSpeedometer(halfLife);
 		platformTxnRejections = new StatsSpeedometer(halfLife);
+		prefetchOverflows = new StatsSpeedometer(halfLife);
+		prefetchDeadlineDrops = new StatsSpeedometer(halfLife);
+		prefetchLateFinishes = new StatsSpeedometer(halfLife);
 	}
 
 	public void registerWith(final Platform platform) {
@@ -47,6 +53,21 @@ public class MiscSpeedometers {
 						Names.PLATFORM_TXN_REJECTIONS,
 						Descriptions.PLATFORM_TXN_REJECTIONS,
 						platformTxnRejections));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.PREFETCH_OVERFLOWS,
+						Descriptions.PREFETCH_OVERFLOWS,
+						prefetchOverflows));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.PREFETCH_DEADLINE_DROPS,
+						Descriptions.PREFETCH_DEADLINE_DROPS,
+						prefetchDeadlineDrops));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.PREFETCH_LATE_FINISHES,
+						Descriptions.PREFETCH_LATE_FINISHES,
+						prefetchLateFinishes));
 	}
 
 	public void cycleSyncVerifications() {
@@ -57,9 +78,24 @@ public class MiscSpeedometers {
 		platformTxnRejections.update(1);
 	}
 
+	public void cyclePrefetchOverflows() {
+		prefetchOverflows.update(1);
+	}
+
+	public void cyclePrefetchDeadlineDrops() {
+		prefetchDeadlineDrops.update(1);
+	}
+
+	public void cyclePrefetchLateFinishes() {
+		prefetchLateFinishes.update(1);
+	}
+
 	public static final class Names {
 		static final String SYNC_VERIFICATIONS = "sigVerifySync/sec";
 		static final String PLATFORM_TXN_REJECTIONS = "platformTxnNotCreated/sec";
+		static final String PREFETCH_OVERFLOWS = "prefetchLaneFull/sec";
+		static final String PREFETCH_DEADLINE_DROPS = "prefetchDroppedAtHandle/sec";
+		static final String PREFETCH_LATE_FINISHES = "prefetchRunningAtHandle/sec";
 
 		private Names() {
 			throw new UnsupportedOperationException("Utility Class");
@@ -71,6 +107,12 @@ public class MiscSpeedometers {
 				"number of transactions received per second that must be verified synchronously in handleTransaction";
 		static final String PLATFORM_TXN_REJECTIONS =
 				"number of platform transactions not created per second";
+		static final String PREFETCH_OVERFLOWS =
+				"number of pre-fetch tasks skipped per second because their lane was full";
+		static final String PREFETCH_DEADLINE_DROPS =
+				"number of pre-fetch tasks dropped per second because handle reached them before a worker did";
+		static final String PREFETCH_LATE_FINISHES =
+				"number of pre-fetch tasks per second still running when handle reached their transaction";
 
 		private Descriptions() {
 			throw new UnsupportedOperationException("Utility Class");
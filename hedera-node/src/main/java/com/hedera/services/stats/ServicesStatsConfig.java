@@ -41,6 +41,12 @@ public final class ServicesStatsConfig {
 	static final String COUNTER_RECEIVED_DEPRECATED_NAME_TPL = "DeprTxnsRcv";
 	static final String COUNTER_ANSWERED_NAME_TPL = "%sSub";
 	static final String COUNTER_SUBMITTED_NAME_TPL = "%sSub";
+	static final String COUNTER_SPAN_HIT_NAME_TPL = "%sSpanHit";
+	static final String COUNTER_SPAN_MISS_NAME_TPL = "%sSpanMiss";
+	static final String COUNTER_STAGE_NANOS_NAME_TPL = "%sStageNanos";
+	static final String COUNTER_STORAGE_CACHE_HITS_NAME = "storageWarmCacheHits";
+	static final String COUNTER_STORAGE_CACHE_MISSES_NAME = "storageWarmCacheMisses";
+	static final String GAUGE_STAGE_P99_NANOS_NAME_TPL = "%sStageP99Nanos";
 	static final String SPEEDOMETER_HANDLED_NAME_TPL = "%sHdl/sec";
 	static final String SPEEDOMETER_RECEIVED_NAME_TPL = "%sRcv/sec";
 	static final String SPEEDOMETER_ANSWERED_NAME_TPL = "%sSub/sec";
@@ -52,6 +58,15 @@ public final class ServicesStatsConfig {
 	static final String COUNTER_RECEIVED_DEPRECATED_DESC_TPL = "number of deprecated txns received";
 	static final String COUNTER_ANSWERED_DESC_TPL = "number of %s answered";
 	static final String COUNTER_SUBMITTED_DESC_TPL = "number of %s submitted";
+	static final String COUNTER_SPAN_HIT_DESC_TPL = "number of %s handled with a re-usable span expansion";
+	static final String COUNTER_SPAN_MISS_DESC_TPL = "number of %s handled with a missing or stale span expansion";
+	static final String COUNTER_STAGE_NANOS_DESC_TPL = "total nanoseconds spent in the %s stage of handled txns";
+	static final String COUNTER_STORAGE_CACHE_HITS_DESC = "number of contract storage reads served by the warm cache";
+	static final String COUNTER_STORAGE_CACHE_MISSES_DESC = "number of contract storage reads that missed the warm cache";
+	static final String GAUGE_STAGE_P99_NANOS_DESC_TPL =
+			"approximate recent 99th percentile nanoseconds spent in the %s stage of a handled txn";
+	static final String GAUGE_FUNCTION_STAGE_P99_NANOS_DESC_TPL =
+			"approximate recent 99th percentile nanoseconds spent in the %s stage of a handled %s";
 	static final String SPEEDOMETER_HANDLED_DESC_TPL = "number of %s handled per second";
 	static final String SPEEDOMETER_RECEIVED_DESC_TPL = "number of %s received per second";
 	static final String SPEEDOMETER_ANSWERED_DESC_TPL = "number of %s answered per second";
@@ -31,6 +31,7 @@ import com.swirlds.virtualmap.VirtualMap;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.nio.file.Paths;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -46,12 +47,18 @@ public class ServicesStatsManager {
 	});
 
 	static final String SPEEDOMETER_UPDATE_THREAD_NAME_TPL = "SpeedometerUpdateThread%d";
+	static final String EVM_PROFILE_DUMP_THREAD_NAME_TPL = "EvmProfileDumpThread%d";
+	static final String EVM_PROFILE_DUMP_FILE_TPL = "evm-profile-node%d.csv";
 
 	private final HapiOpCounters opCounters;
 	private final MiscRunningAvgs runningAvgs;
 	private final MiscSpeedometers speedometers;
 	private final HapiOpSpeedometers opSpeedometers;
 	private final NodeLocalProperties properties;
+	private final SpanExpansionCounters spanCounters;
+	private final EvmProfileCounters evmProfileCounters;
+	private final HandleStageHistograms stageHistograms;
+	private final StorageWarmCacheCounters storageCacheCounters;
 	private final Supplier<VirtualMap<ContractKey, IterableContractValue>> storage;
 	private final Supplier<VirtualMap<VirtualBlobKey, VirtualBlobValue>> bytecode;
 
@@ -62,12 +69,20 @@ public class ServicesStatsManager {
 			final MiscSpeedometers speedometers,
 			final HapiOpSpeedometers opSpeedometers,
 			final NodeLocalProperties properties,
+			final SpanExpansionCounters spanCounters,
+			final EvmProfileCounters evmProfileCounters,
+			final HandleStageHistograms stageHistograms,
+			final StorageWarmCacheCounters storageCacheCounters,
 			final Supplier<VirtualMap<ContractKey, IterableContractValue>> storage,
 			final Supplier<VirtualMap<VirtualBlobKey, VirtualBlobValue>> bytecode
 	) {
 		this.storage = storage;
 		this.bytecode = bytecode;
 		this.properties = properties;
+		this.spanCounters = spanCounters;
+		this.evmProfileCounters = evmProfileCounters;
+		this.stageHistograms = stageHistograms;
+		this.storageCacheCounters = storageCacheCounters;
 		this.opCounters = opCounters;
 		this.runningAvgs = runningAvgs;
 		this.speedometers = speedometers;
@@ -79,6 +94,10 @@ public class ServicesStatsManager {
 		runningAvgs.registerWith(platform);
 		speedometers.registerWith(platform);
 		opSpeedometers.registerWith(platform);
+		spanCounters.registerWith(platform);
+		evmProfileCounters.registerWith(platform);
+		stageHistograms.registerWith(platform);
+		storageCacheCounters.registerWith(platform);
 		storage.get().registerStatistics(platform::addAppStatEntry);
 		bytecode.get().registerStatistics(platform::addAppStatEntry);
 
@@ -90,5 +109,18 @@ public class ServicesStatsManager {
 		});
 		updateThread.setName(String.format(SPEEDOMETER_UPDATE_THREAD_NAME_TPL, platform.getSelfId().getId()));
 		updateThread.start();
+
+		if (evmProfileCounters.isEnabled()) {
+			final var selfId = platform.getSelfId().getId();
+			final var dumpFile = Paths.get(
+					properties.statsEvmProfileDumpDir(),
+					String.format(EVM_PROFILE_DUMP_FILE_TPL, selfId));
+			var dumpThread = loopFactory.apply(() -> {
+				pause.forMs(properties.statsEvmProfileDumpIntervalMs());
+				evmProfileCounters.dumpTo(dumpFile);
+			});
+			dumpThread.setName(String.format(EVM_PROFILE_DUMP_THREAD_NAME_TPL, selfId));
+			dumpThread.start();
+		}
 	}
 }
@@ -0,0 +1,110 @@
+package com.hedera.services.stats;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.swirlds.common.system.Platform;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_SPAN_HIT_DESC_TPL;
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_SPAN_HIT_NAME_TPL;
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_SPAN_MISS_DESC_TPL;
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_SPAN_MISS_NAME_TPL;
+
+/**
+ * Counts, by functionality, how often work pre-computed in a transaction's span from the latest
+ * signed state could be re-used in {@code handleTransaction} (a "hit"); versus how often it was
+ * missing or invalidated by an intervening change to a linked entity (a "miss").
+ */
+public class SpanExpansionCounters {
+	private final CounterFactory counter;
+	private final Function<HederaFunctionality, String> statNameFn;
+
+	EnumMap<HederaFunctionality, AtomicLong> hits = new EnumMap<>(HederaFunctionality.class);
+	EnumMap<HederaFunctionality, AtomicLong> misses = new EnumMap<>(HederaFunctionality.class);
+
+	public SpanExpansionCounters(
+			final CounterFactory counter,
+			final Function<HederaFunctionality, String> statNameFn,
+			final Set<HederaFunctionality> expandedFunctions
+	) {
+		this.counter = counter;
+		this.statNameFn = statNameFn;
+
+		expandedFunctions.forEach(function -> {
+			hits.put(function, new AtomicLong());
+			misses.put(function, new AtomicLong());
+		});
+	}
+
+	public void registerWith(final Platform platform) {
+		registerCounters(platform, hits, COUNTER_SPAN_HIT_NAME_TPL, COUNTER_SPAN_HIT_DESC_TPL);
+		registerCounters(platform, misses, COUNTER_SPAN_MISS_NAME_TPL, COUNTER_SPAN_MISS_DESC_TPL);
+	}
+
+	public void countHit(final HederaFunctionality function) {
+		safeIncrement(hits, function);
+	}
+
+	public void countMiss(final HederaFunctionality function) {
+		safeIncrement(misses, function);
+	}
+
+	public long hitsSoFar(final HederaFunctionality function) {
+		final var hitsCounter = hits.get(function);
+		return hitsCounter == null ? 0 : hitsCounter.get();
+	}
+
+	public long missesSoFar(final HederaFunctionality function) {
+		final var missesCounter = misses.get(function);
+		return missesCounter == null ? 0 : missesCounter.get();
+	}
+
+	private void registerCounters(
+			final Platform platform,
+			final Map<HederaFunctionality, AtomicLong> counters,
+			final String nameTpl,
+			final String descTpl
+	) {
+		for (final var entry : counters.entrySet()) {
+			final var baseName = statNameFn.apply(entry.getKey());
+			final var fullName = String.format(nameTpl, baseName);
+			final var description = String.format(descTpl, baseName);
+			platform.addAppStatEntry(counter.from(fullName, description, entry.getValue()::get));
+		}
+	}
+
+	private void safeIncrement(
+			final Map<HederaFunctionality, AtomicLong> counters,
+			final HederaFunctionality function
+	) {
+		final var functionCounter = counters.get(function);
+		if (functionCounter != null) {
+			functionCounter.getAndIncrement();
+		}
+	}
+}
@@ -22,6 +22,8 @@ package com.hedera.services.stats;
 
 import com.hedera.services.context.TransactionContext;
 import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.store.contracts.StorageWarmCache;
+import com.hedera.services.txns.span.SpanMapManager;
 import com.hedera.services.utils.MiscUtils;
 import dagger.Module;
 import dagger.Provides;
@@ -67,6 +69,41 @@ public final class StatsModule {
 		}, runningAvgs, txnCtx, MiscUtils::baseStatNameOf);
 	}
 
+	@Provides
+	@Singleton
+	public static SpanExpansionCounters provideSpanExpansionCounters() {
+		return new SpanExpansionCounters(new CounterFactory() {
+		}, MiscUtils::baseStatNameOf, SpanMapManager.EXPANDED_FUNCTIONS);
+	}
+
+	@Provides
+	@Singleton
+	public static EvmProfileCounters provideEvmProfileCounters(final NodeLocalProperties nodeLocalProperties) {
+		return new EvmProfileCounters(new CounterFactory() {
+		}, nodeLocalProperties.statsEvmProfileEnabled());
+	}
+
+	@Provides
+	@Singleton
+	public static StorageWarmCacheCounters provideStorageWarmCacheCounters(final StorageWarmCache storageWarmCache) {
+		return new StorageWarmCacheCounters(new CounterFactory() {
+		}, storageWarmCache);
+	}
+
+	@Provides
+	@Singleton
+	public static HandleStageHistograms provideHandleStageHistograms(final NodeLocalProperties nodeLocalProperties) {
+		return new HandleStageHistograms(
+				new CounterFactory() {
+				},
+				new GaugeFactory() {
+				},
+				MiscUtils::baseStatNameOf,
+				SpanMapManager.EXPANDED_FUNCTIONS,
+				nodeLocalProperties.statsRunningAvgHalfLifeSecs(),
+				nodeLocalProperties.numExecutionTimesToTrack() > 0);
+	}
+
 	private StatsModule() {
 		throw new UnsupportedOperationException("Dagger2 module");
 	}
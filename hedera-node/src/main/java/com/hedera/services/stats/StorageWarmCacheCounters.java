@@ -0,0 +1,50 @@
+package com.hedera.services.stats;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.store.contracts.StorageWarmCache;
+import com.swirlds.common.system.Platform;
+
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_STORAGE_CACHE_HITS_DESC;
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_STORAGE_CACHE_HITS_NAME;
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_STORAGE_CACHE_MISSES_DESC;
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_STORAGE_CACHE_MISSES_NAME;
+
+/**
+ * Exports how many contract storage reads were served by the {@link StorageWarmCache}, and how many missed it.
+ */
+public class StorageWarmCacheCounters {
+	private final CounterFactory counter;
+	private final StorageWarmCache storageWarmCache;
+
+	public StorageWarmCacheCounters(final CounterFactory counter, final StorageWarmCache storageWarmCache) {
+		this.counter = counter;
+		this.storageWarmCache = storageWarmCache;
+	}
+
+	public void registerWith(final Platform platform) {
+		platform.addAppStatEntry(counter.from(
+				COUNTER_STORAGE_CACHE_HITS_NAME, COUNTER_STORAGE_CACHE_HITS_DESC, storageWarmCache::hits));
+		platform.addAppStatEntry(counter.from(
+				COUNTER_STORAGE_CACHE_MISSES_NAME, COUNTER_STORAGE_CACHE_MISSES_DESC, storageWarmCache::misses));
+	}
+}
@@ -0,0 +1,346 @@
+package com.hedera.services.store.contracts;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
+import com.google.protobuf.UnsafeByteOperations;
+import com.hedera.services.utils.EntityIdUtils;
+import com.hederahashgraph.api.proto.java.ContractFunctionResult;
+import com.hederahashgraph.api.proto.java.ContractStateChange;
+import com.hederahashgraph.api.proto.java.StorageChange;
+import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.common.io.streams.SerializableDataOutputStream;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.datatypes.Address;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.swirlds.common.utility.CommonUtils.hex;
+
+/**
+ * An immutable, compact list of the storage slots a contract transaction read and wrote, grouped by contract.
+ *
+ * Each slot access takes twelve consecutive longs in a single array&mdash;the slot key, the value read, and the
+ * value written, each as four big-endian 64-bit words&mdash;plus a flag saying if the slot was written. This
+ * replaces the nested {@code Map<Address, Map<Bytes, Pair<Bytes, Bytes>>>} that used to carry the same
+ * information from the world state updater to the {@link ContractFunctionResult}; so an {@link
+ * com.hedera.services.state.submerkle.EvmFnResult} can export its state changes straight into protobuf.
+ *
+ * The order of contracts and slots is the order in which they were added; see {@link StateChangeCollector} for
+ * the canonical order used when collecting changes from the EVM.
+ */
+public final class ContractStateChanges {
+	private static final int MAX_ADDRESS_BYTES = 20;
+	private static final int MAX_WORD_BYTES = 32;
+
+	static final int WORDS_PER_VALUE = 4;
+	static final int SLOT_OFFSET = 0;
+	static final int READ_OFFSET = WORDS_PER_VALUE;
+	static final int WRITTEN_OFFSET = 2 * WORDS_PER_VALUE;
+	static final int WORDS_PER_CHANGE = 3 * WORDS_PER_VALUE;
+
+	public static final ContractStateChanges EMPTY =
+			new ContractStateChanges(new Address[0], new int[0], new long[0], new boolean[0]);
+
+	private final Address[] contracts;
+	/* The (exclusive) index of the last change for each contract */
+	private final int[] contractEnds;
+	private final long[] words;
+	private final boolean[] written;
+
+	ContractStateChanges(
+			final Address[] contracts,
+			final int[] contractEnds,
+			final long[] words,
+			final boolean[] written
+	) {
+		this.contracts = contracts;
+		this.contractEnds = contractEnds;
+		this.words = words;
+		this.written = written;
+	}
+
+	public static Builder newBuilder() {
+		return new Builder();
+	}
+
+	public boolean isEmpty() {
+		return written.length == 0;
+	}
+
+	public int numContracts() {
+		return contracts.length;
+	}
+
+	public int numChanges() {
+		return written.length;
+	}
+
+	/**
+	 * Adds one {@link ContractStateChange} per contract to the given builder, with slot keys and values stripped
+	 * of leading zeros.
+	 *
+	 * @param grpc
+	 * 		the function result under construction
+	 */
+	public void exportTo(final ContractFunctionResult.Builder grpc) {
+		var i = 0;
+		for (int c = 0; c < contracts.length; c++) {
+			final var builder = ContractStateChange.newBuilder()
+					.setContractID(EntityIdUtils.contractIdFromEvmAddress(contracts[c].toArrayUnsafe()));
+			for (final int end = contractEnds[c]; i < end; i++) {
+				final var base = i * WORDS_PER_CHANGE;
+				final var change = StorageChange.newBuilder()
+						.setSlot(trimmedWord(words, base + SLOT_OFFSET))
+						.setValueRead(trimmedWord(words, base + READ_OFFSET));
+				if (written[i]) {
+					change.setValueWritten(BytesValue.newBuilder().setValue(trimmedWord(words, base + WRITTEN_OFFSET)));
+				}
+				builder.addStorageChanges(change);
+			}
+			grpc.addStateChanges(builder);
+		}
+	}
+
+	/**
+	 * Writes these changes in the format used by {@link com.hedera.services.state.submerkle.EvmFnResult} since
+	 * release 0.24; that is, with every address, slot, and value stripped of leading zeros.
+	 *
+	 * @param out
+	 * 		the stream to write to
+	 * @throws IOException
+	 * 		if the stream cannot be written
+	 */
+	public void serialize(final SerializableDataOutputStream out) throws IOException {
+		out.writeInt(contracts.length);
+		var i = 0;
+		for (int c = 0; c < contracts.length; c++) {
+			out.writeByteArray(contracts[c].trimLeadingZeros().toArrayUnsafe());
+			final var end = contractEnds[c];
+			out.writeInt(end - i);
+			for (; i < end; i++) {
+				final var base = i * WORDS_PER_CHANGE;
+				out.writeByteArray(trimmedBytes(words, base + SLOT_OFFSET));
+				out.writeByteArray(trimmedBytes(words, base + READ_OFFSET));
+				out.writeBoolean(written[i]);
+				if (written[i]) {
+					out.writeByteArray(trimmedBytes(words, base + WRITTEN_OFFSET));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads changes written by {@link ContractStateChanges#serialize(SerializableDataOutputStream)}. As in earlier
+	 * releases, contracts and slots are re-ordered by their natural {@link Bytes} ordering.
+	 *
+	 * @param in
+	 * 		the stream to read from
+	 * @return the changes read
+	 * @throws IOException
+	 * 		if the stream cannot be read
+	 */
+	public static ContractStateChanges deserialize(final SerializableDataInputStream in) throws IOException {
+		int numAffectedContracts = in.readInt();
+		final Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> state = new TreeMap<>();
+		while (numAffectedContracts-- > 0) {
+			final byte[] contractAddress = in.readByteArray(MAX_ADDRESS_BYTES);
+			int numAffectedSlots = in.readInt();
+			final Map<Bytes, Pair<Bytes, Bytes>> storage = new TreeMap<>();
+			state.put(Address.fromHexString(hex(contractAddress)), storage);
+			while (numAffectedSlots-- > 0) {
+				final var slot = Bytes.wrap(in.readByteArray(MAX_WORD_BYTES));
+				final var left = Bytes.wrap(in.readByteArray(MAX_WORD_BYTES));
+				final var hasRight = in.readBoolean();
+				final var right = hasRight ? Bytes.wrap(in.readByteArray(MAX_WORD_BYTES)) : null;
+				storage.put(slot, Pair.of(left, right));
+			}
+		}
+		return from(state);
+	}
+
+	/**
+	 * Returns the changes in the given map, in its iteration order; each slot is mapped to a pair of its value read
+	 * and (possibly null) value written.
+	 *
+	 * @param changes
+	 * 		the slot accesses for each contract
+	 * @return the equivalent compact changes
+	 */
+	public static ContractStateChanges from(final Map<Address, ? extends Map<Bytes, Pair<Bytes, Bytes>>> changes) {
+		if (changes.isEmpty()) {
+			return EMPTY;
+		}
+		final var builder = newBuilder();
+		changes.forEach((contract, storage) -> {
+			builder.startContract(contract);
+			storage.forEach((slot, access) -> builder.addChange(slot, access.getLeft(), access.getRight()));
+		});
+		return builder.build();
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || ContractStateChanges.class != o.getClass()) {
+			return false;
+		}
+		final var that = (ContractStateChanges) o;
+		return Arrays.equals(contracts, that.contracts) &&
+				Arrays.equals(contractEnds, that.contractEnds) &&
+				Arrays.equals(words, that.words) &&
+				Arrays.equals(written, that.written);
+	}
+
+	@Override
+	public int hashCode() {
+		var code = Arrays.hashCode(contracts);
+		code = code * 31 + Arrays.hashCode(contractEnds);
+		code = code * 31 + Arrays.hashCode(words);
+		return code * 31 + Arrays.hashCode(written);
+	}
+
+	/**
+	 * Renders the changes as a map from each contract to its slot accesses, each displayed as a
+	 * {@code (read,written)} pair of trimmed hex values.
+	 *
+	 * @return a readable description of the changes
+	 */
+	@Override
+	public String toString() {
+		final var sb = new StringBuilder("{");
+		var i = 0;
+		for (int c = 0; c < contracts.length; c++) {
+			sb.append(c == 0 ? "" : ", ").append(contracts[c]).append("={");
+			for (final int start = i, end = contractEnds[c]; i < end; i++) {
+				final var base = i * WORDS_PER_CHANGE;
+				sb.append(i == start ? "" : ", ")
+						.append(trimmedHex(base + SLOT_OFFSET))
+						.append("=(")
+						.append(trimmedHex(base + READ_OFFSET))
+						.append(",")
+						.append(written[i] ? trimmedHex(base + WRITTEN_OFFSET) : "null")
+						.append(")");
+			}
+			sb.append("}");
+		}
+		return sb.append("}").toString();
+	}
+
+	private String trimmedHex(final int from) {
+		return Bytes.wrap(trimmedBytes(words, from)).toHexString();
+	}
+
+	static void putWords(final Bytes value, final long[] dest, final int at) {
+		final var word = (value.size() == MAX_WORD_BYTES) ? value : Bytes32.leftPad(value);
+		for (int j = 0; j < WORDS_PER_VALUE; j++) {
+			dest[at + j] = word.getLong(j * Long.BYTES);
+		}
+	}
+
+	static ByteString trimmedWord(final long[] words, final int from) {
+		final var trimmed = trimmedBytes(words, from);
+		return trimmed.length == 0 ? ByteString.EMPTY : UnsafeByteOperations.unsafeWrap(trimmed);
+	}
+
+	static byte[] trimmedBytes(final long[] words, final int from) {
+		var firstWord = 0;
+		while (firstWord < WORDS_PER_VALUE && words[from + firstWord] == 0L) {
+			firstWord++;
+		}
+		if (firstWord == WORDS_PER_VALUE) {
+			return new byte[0];
+		}
+		final var len = (WORDS_PER_VALUE - firstWord) * Long.BYTES
+				- Long.numberOfLeadingZeros(words[from + firstWord]) / Byte.SIZE;
+		final var trimmed = new byte[len];
+		for (int j = 0, k = MAX_WORD_BYTES - len; j < len; j++, k++) {
+			trimmed[j] = (byte) (words[from + k / Long.BYTES] >>> (Byte.SIZE * (Long.BYTES - 1 - k % Long.BYTES)));
+		}
+		return trimmed;
+	}
+
+	/**
+	 * Accumulates changes in the exact order given, for use when the order is already known (as when
+	 * deserializing).
+	 */
+	public static final class Builder {
+		private static final int INITIAL_CAPACITY = 8;
+
+		private Address[] contracts = new Address[INITIAL_CAPACITY];
+		private int[] contractEnds = new int[INITIAL_CAPACITY];
+		private long[] words = new long[INITIAL_CAPACITY * WORDS_PER_CHANGE];
+		private boolean[] written = new boolean[INITIAL_CAPACITY];
+		private int numContracts = 0;
+		private int numChanges = 0;
+
+		private Builder() {
+		}
+
+		public Builder startContract(final Address contract) {
+			if (numContracts == contracts.length) {
+				contracts = Arrays.copyOf(contracts, 2 * numContracts);
+				contractEnds = Arrays.copyOf(contractEnds, 2 * numContracts);
+			}
+			contracts[numContracts] = contract;
+			contractEnds[numContracts] = numChanges;
+			numContracts++;
+			return this;
+		}
+
+		public Builder addChange(final Bytes slot, final Bytes read, @Nullable final Bytes written) {
+			if (numContracts == 0) {
+				throw new IllegalStateException("No contract started for slot " + slot);
+			}
+			if (numChanges == this.written.length) {
+				this.written = Arrays.copyOf(this.written, 2 * numChanges);
+				words = Arrays.copyOf(words, 2 * numChanges * WORDS_PER_CHANGE);
+			}
+			final var base = numChanges * WORDS_PER_CHANGE;
+			putWords(slot, words, base + SLOT_OFFSET);
+			putWords(read, words, base + READ_OFFSET);
+			if (written != null) {
+				putWords(written, words, base + WRITTEN_OFFSET);
+				this.written[numChanges] = true;
+			}
+			contractEnds[numContracts - 1] = ++numChanges;
+			return this;
+		}
+
+		public ContractStateChanges build() {
+			return new ContractStateChanges(
+					Arrays.copyOf(contracts, numContracts),
+					Arrays.copyOf(contractEnds, numContracts),
+					Arrays.copyOf(words, numChanges * WORDS_PER_CHANGE),
+					Arrays.copyOf(written, numChanges));
+		}
+	}
+}
@@ -26,12 +26,8 @@ import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.ledger.SigImpactHistorian;
 import com.hedera.services.ledger.accounts.ContractCustomizer;
 import com.hedera.services.ledger.ids.EntityIdSource;
-import com.hedera.services.utils.BytesComparator;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.ContractID;
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
-import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.units.bigints.UInt256;
 import org.hyperledger.besu.datatypes.Address;
@@ -47,8 +43,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 import java.util.stream.Stream;
 
 import static com.hedera.services.exceptions.ValidationUtils.validateTrue;
@@ -67,6 +61,8 @@ public class HederaWorldState implements HederaMutableWorldState {
 	private final List<ContractID> provisionalContractCreations = new LinkedList<>();
 	private final CodeCache codeCache;
 	private final GlobalDynamicProperties dynamicProperties;
+	// Reused by every top-level updater, since only one EVM transaction runs against this world state at a time
+	private final StateChangeCollector stateChangeCollector = new StateChangeCollector();
 
 	// If non-null, the new contract customizations requested by the HAPI contractCreate sender
 	private ContractCustomizer hapiSenderCustomizer;
@@ -187,7 +183,7 @@ public class HederaWorldState implements HederaMutableWorldState {
 			extends AbstractLedgerWorldUpdater<HederaMutableWorldState, Account>
 			implements HederaWorldUpdater {
 
-		Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> stateChanges = new TreeMap<>(BytesComparator.INSTANCE);
+		final StateChangeCollector stateChanges;
 		GlobalDynamicProperties dynamicProperties;
 
 		private int numAllocatedIds = 0;
@@ -200,32 +196,26 @@ public class HederaWorldState implements HederaMutableWorldState {
 		) {
 			super(world, trackingLedgers);
 			this.dynamicProperties = dynamicProperties;
+			this.stateChanges = world.stateChangeCollector;
+			this.stateChanges.clear();
 		}
 
-		public Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> getStateChanges() {
+		public StateChangeCollector getStateChanges() {
 			return stateChanges;
 		}
 
-		public Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> getFinalStateChanges() {
+		public ContractStateChanges getFinalStateChanges() {
 			this.addAllStorageUpdatesToStateChanges();
-			return stateChanges;
+			return stateChanges.toStateChanges();
 		}
 
 		@SuppressWarnings("unchecked")
 		private void addAllStorageUpdatesToStateChanges() {
 			for (UpdateTrackingLedgerAccount<? extends Account> uta :
 					(Collection<UpdateTrackingLedgerAccount<? extends Account>>) this.getTouchedAccounts()) {
-				final var storageUpdates = uta.getUpdatedStorage().entrySet();
-				if (!storageUpdates.isEmpty()) {
-					final Map<Bytes, Pair<Bytes, Bytes>> accountChanges =
-							stateChanges.computeIfAbsent(uta.getAddress(),
-									a -> new TreeMap<>(BytesComparator.INSTANCE));
-					for (Map.Entry<UInt256, UInt256> entry : storageUpdates) {
-						UInt256 key = entry.getKey();
-						UInt256 originalStorageValue = uta.getOriginalStorageValue(key);
-						UInt256 updatedStorageValue = uta.getStorageValue(key);
-						accountChanges.put(key, new ImmutablePair<>(originalStorageValue, updatedStorageValue));
-					}
+				final var address = uta.getAddress();
+				for (UInt256 key : uta.getUpdatedStorage().keySet()) {
+					stateChanges.recordWrite(address, key, uta.getOriginalStorageValue(key), uta.getStorageValue(key));
 				}
 			}
 		}
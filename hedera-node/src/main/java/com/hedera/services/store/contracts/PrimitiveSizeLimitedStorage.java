@@ -0,0 +1,448 @@
+package com.hedera.services.store.contracts;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.annotations.VisibleForTesting;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.ledger.TransactionalLedger;
+import com.hedera.services.ledger.properties.AccountProperty;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.virtual.ContractKey;
+import com.hedera.services.state.virtual.IterableContractValue;
+import com.hedera.services.utils.EntityNum;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.swirlds.merkle.map.MerkleMap;
+import com.swirlds.virtualmap.VirtualMap;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.eclipse.collections.impl.map.mutable.primitive.LongIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static com.hedera.services.context.properties.StaticPropertiesHolder.STATIC_PROPERTIES;
+import static com.hedera.services.exceptions.ValidationUtils.validateTrue;
+import static com.hedera.services.ledger.properties.AccountProperty.FIRST_CONTRACT_STORAGE_KEY;
+import static com.hedera.services.ledger.properties.AccountProperty.NUM_CONTRACT_KV_PAIRS;
+import static com.hedera.services.utils.EntityNum.fromLong;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.MAX_CONTRACT_STORAGE_EXCEEDED;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.MAX_STORAGE_IN_PRICE_REGIME_HAS_BEEN_USED;
+import static com.swirlds.common.utility.NonCryptographicHashing.hash32;
+import static org.apache.tuweni.units.bigints.UInt256.ZERO;
+
+/**
+ * A {@link SizeLimitedStorage} that buffers its session in primitive structures. Per-contract usages and first keys
+ * are kept in {@code long}-keyed maps; and the pending value of each touched storage key in an open-addressing table
+ * keyed by the packed form of the key, that is, its contract number and the eight {@code int}s of its EVM word. So
+ * reading a pending value never allocates a {@link ContractKey}, and there is no boxed map entry per change.
+ *
+ * Instead of maintaining a {@link java.util.TreeSet} per contract on every change, it remembers the slot of each
+ * newly touched key and sorts those keys once at commit; since {@link ContractKey#compareTo(ContractKey)} orders
+ * first by contract id, the sorted keys visit contracts and keys in exactly the order the
+ * {@link MapSizeLimitedStorage} commits them.
+ */
+@Singleton
+public class PrimitiveSizeLimitedStorage implements SizeLimitedStorage {
+	private static final int INITIAL_SLOT_CAPACITY = 128;
+	private static final int WORDS_PER_KEY = 8;
+
+	// Marks a touched key whose pending update was later zeroed out before it ever existed in storage
+	static final IterableContractValue NO_CHANGE = new IterableContractValue();
+
+	// Used to upsert to a contract's doubly-linked list of storage mappings
+	private final IterableStorageUpserter storageUpserter;
+	// Used to remove from a contract's doubly-linked list of storage mappings
+	private final IterableStorageRemover storageRemover;
+	// Used to get the key/value storage limits
+	private final GlobalDynamicProperties dynamicProperties;
+	// Used to look up the initial key/value counts for the contracts involved in a change set
+	private final Supplier<MerkleMap<EntityNum, MerkleAccount>> accounts;
+	// Used to both read and write key/value pairs throughout the lifecycle of a change set
+	private final Supplier<VirtualMap<ContractKey, IterableContractValue>> storage;
+	// Used to read storage values, possibly pre-fetched, without going to the VirtualMap every time
+	private final StorageWarmCache warmCache;
+
+	private final LongIntHashMap newUsages = new LongIntHashMap();
+	private final LongObjectHashMap<ContractKey> newFirstKeys = new LongObjectHashMap<>();
+
+	/* The open-addressing table of touched keys, in parallel arrays; ZERO_VALUE marks the removal of a mapping */
+	private long[] slotContracts = new long[INITIAL_SLOT_CAPACITY];
+	private int[] slotWords = new int[INITIAL_SLOT_CAPACITY * WORDS_PER_KEY];
+	private ContractKey[] slotKeys = new ContractKey[INITIAL_SLOT_CAPACITY];
+	private IterableContractValue[] slotValues = new IterableContractValue[INITIAL_SLOT_CAPACITY];
+
+	// The slot of each touched key, in arrival order; and at commit, the touched keys and values in sorted order
+	private int[] touchedSlots = new int[INITIAL_SLOT_CAPACITY / 2];
+	private ContractKey[] sortedKeys = new ContractKey[INITIAL_SLOT_CAPACITY / 2];
+	private IterableContractValue[] sortedValues = new IterableContractValue[INITIAL_SLOT_CAPACITY / 2];
+	private int numTouched;
+
+	private long totalKvPairs;
+
+	@Inject
+	public PrimitiveSizeLimitedStorage(
+			final IterableStorageUpserter storageUpserter,
+			final IterableStorageRemover storageRemover,
+			final GlobalDynamicProperties dynamicProperties,
+			final Supplier<MerkleMap<EntityNum, MerkleAccount>> accounts,
+			final Supplier<VirtualMap<ContractKey, IterableContractValue>> storage,
+			final StorageWarmCache warmCache
+	) {
+		this.dynamicProperties = dynamicProperties;
+		this.storageRemover = storageRemover;
+		this.storageUpserter = storageUpserter;
+		this.accounts = accounts;
+		this.storage = storage;
+		this.warmCache = warmCache;
+	}
+
+	@Override
+	public void beginSession() {
+		newUsages.clear();
+		newFirstKeys.clear();
+		for (int i = 0; i < numTouched; i++) {
+			final var slot = touchedSlots[i];
+			slotKeys[slot] = null;
+			slotValues[slot] = null;
+		}
+		Arrays.fill(sortedKeys, 0, numTouched, null);
+		Arrays.fill(sortedValues, 0, numTouched, null);
+		numTouched = 0;
+		/* We will update this count as changes are buffered throughout the session. */
+		totalKvPairs = storage.get().size();
+	}
+
+	@Override
+	public void validateAndCommit() {
+		validatePendingSizeChanges();
+		if (numTouched == 0) {
+			return;
+		}
+
+		for (int i = 0; i < numTouched; i++) {
+			sortedKeys[i] = slotKeys[touchedSlots[i]];
+		}
+		Arrays.sort(sortedKeys, 0, numTouched);
+		for (int i = 0; i < numTouched; i++) {
+			final var key = sortedKeys[i];
+			sortedValues[i] = slotValues[slotOf(key.getContractId(), key.getKey())];
+		}
+		final var curStorage = storage.get();
+		commitPendingRemovals(curStorage);
+		commitPendingUpdates(curStorage);
+		warmCache.invalidate(sortedKeys, numTouched);
+	}
+
+	@Override
+	public void recordNewKvUsageTo(final TransactionalLedger<AccountID, AccountProperty, MerkleAccount> accountsLedger) {
+		if (newUsages.isEmpty()) {
+			return;
+		}
+		newUsages.forEachKeyValue((contractNum, kvPairs) -> {
+			final var id = STATIC_PROPERTIES.scopedAccountWith(contractNum);
+			accountsLedger.set(id, NUM_CONTRACT_KV_PAIRS, kvPairs);
+			final var newFirstKey = newFirstKeys.get(contractNum);
+			accountsLedger.set(id, FIRST_CONTRACT_STORAGE_KEY, newFirstKey == null ? null : newFirstKey.getKey());
+		});
+	}
+
+	@Override
+	public UInt256 getStorage(final AccountID id, final UInt256 key) {
+		final var contractNum = id.getAccountNum();
+		final var words = ContractKey.asPackedInts(key);
+		final var slot = slotOf(contractNum, words);
+		if (slot >= 0) {
+			final var pendingValue = slotValues[slot];
+			if (pendingValue == ZERO_VALUE) {
+				return ZERO;
+			} else if (pendingValue != NO_CHANGE) {
+				return pendingValue.asUInt256();
+			}
+		}
+		return warmCache.getStorage(new ContractKey(contractNum, words), storage.get());
+	}
+
+	@Override
+	public void putStorage(final AccountID id, final UInt256 key, final UInt256 value) {
+		final var contractKey = ContractKey.from(id, key);
+		final var kvCountImpact = incorporateKvImpact(contractKey, virtualValueFrom(value), storage.get());
+		if (kvCountImpact != 0) {
+			final var contractNum = id.getAccountNum();
+			if (!newUsages.containsKey(contractNum)) {
+				newUsages.put(contractNum, initialKvPairs(contractNum));
+			}
+			newUsages.addToValue(contractNum, kvCountImpact);
+			totalKvPairs += kvCountImpact;
+		}
+	}
+
+	/**
+	 * Incorporates the new {@code key}/{@code value} mapping into the pending changes, returning its impact on the
+	 * total count of key/value pairs <i>taking into account</i> all changes buffered so far in the session. Has the
+	 * same semantics as {@link MapSizeLimitedStorage#incorporateKvImpact(ContractKey, IterableContractValue,
+	 * java.util.Map, java.util.Map, java.util.Map, VirtualMap)}.
+	 *
+	 * @param key
+	 * 		the key of the storage value to be changed
+	 * @param value
+	 * 		the desired storage value
+	 * @param curStorage
+	 * 		the data source for key/value storage
+	 * @return the impact this change has on total key/value pairs count
+	 */
+	int incorporateKvImpact(
+			final ContractKey key,
+			final IterableContractValue value,
+			final VirtualMap<ContractKey, IterableContractValue> curStorage
+	) {
+		final var slot = slotOf(key.getContractId(), key.getKey());
+		final var priorValue = (slot >= 0) ? slotValues[slot] : null;
+		if (value == ZERO_VALUE) {
+			return incorporateZeroingOf(key, slot, priorValue, curStorage);
+		}
+		if (priorValue == null) {
+			track(key, -(slot + 1), value);
+		} else {
+			slotValues[slot] = value;
+			if (priorValue == ZERO_VALUE) {
+				// This key was about to be removed; but no longer, and net storage usage goes back up by 1
+				return 1;
+			} else if (priorValue != NO_CHANGE) {
+				// If there was already a pending update, net storage usage hasn't changed
+				return 0;
+			}
+		}
+		return curStorage.containsKey(key) ? 0 : 1;
+	}
+
+	private int incorporateZeroingOf(
+			final ContractKey key,
+			final int slot,
+			final IterableContractValue priorValue,
+			final VirtualMap<ContractKey, IterableContractValue> curStorage
+	) {
+		final var hasPendingUpdate = isUpdate(priorValue);
+		final var wasAlreadyPresent = curStorage.containsKey(key);
+		if (hasPendingUpdate || wasAlreadyPresent) {
+			// If there was no extant mapping for this key, no reason to explicitly remove it when we commit
+			final var newValue = wasAlreadyPresent ? ZERO_VALUE : NO_CHANGE;
+			if (priorValue == null) {
+				track(key, -(slot + 1), newValue);
+			} else {
+				slotValues[slot] = newValue;
+			}
+			// But no matter what, relative to our existing change set, this removed one mapping
+			return -1;
+		} else {
+			return 0;
+		}
+	}
+
+	private void validatePendingSizeChanges() {
+		validateTrue(
+				totalKvPairs <= dynamicProperties.maxAggregateContractKvPairs(),
+				MAX_STORAGE_IN_PRICE_REGIME_HAS_BEEN_USED);
+		final var perContractMax = dynamicProperties.maxIndividualContractKvPairs();
+		validateTrue(newUsages.allSatisfy(newKvPairs -> newKvPairs <= perContractMax), MAX_CONTRACT_STORAGE_EXCEEDED);
+	}
+
+	private void commitPendingRemovals(final VirtualMap<ContractKey, IterableContractValue> curStorage) {
+		for (int i = 0, end; i < numTouched; i = end) {
+			final var contractNum = sortedKeys[i].getContractId();
+			end = endOfContract(i);
+			ContractKey firstKey = null;
+			var anyRemoved = false;
+			for (int j = i; j < end; j++) {
+				if (sortedValues[j] == ZERO_VALUE) {
+					if (!anyRemoved) {
+						firstKey = firstKeyLookup(contractNum);
+						anyRemoved = true;
+					}
+					firstKey = storageRemover.removeMapping(sortedKeys[j], firstKey, curStorage);
+				}
+			}
+			if (anyRemoved) {
+				newFirstKeys.put(contractNum, firstKey);
+			}
+		}
+	}
+
+	private void commitPendingUpdates(final VirtualMap<ContractKey, IterableContractValue> curStorage) {
+		// Like the MapSizeLimitedStorage, give no contract a new first key unless some mapping is really updated;
+		// so a contract whose only changes were cancelled records a null first key, exactly as it does there
+		if (!hasAnyUpdate()) {
+			return;
+		}
+		for (int i = 0, end; i < numTouched; i = end) {
+			final var contractNum = sortedKeys[i].getContractId();
+			end = endOfContract(i);
+			// A contract id->null mapping means all its existing key/value pairs were removed, so we must
+			// ignore any existing first key in the accounts map
+			var firstKey = newFirstKeys.containsKey(contractNum)
+					? newFirstKeys.get(contractNum)
+					: firstKeyLookup(contractNum);
+			IterableContractValue firstValue = null;
+			for (int j = i; j < end; j++) {
+				final var newValue = sortedValues[j];
+				if (isUpdate(newValue)) {
+					final var changedKey = sortedKeys[j];
+					firstKey = storageUpserter.upsertMapping(changedKey, newValue, firstKey, firstValue, curStorage);
+					firstValue = firstKey.equals(changedKey) ? newValue : null;
+				}
+			}
+			newFirstKeys.put(contractNum, firstKey);
+		}
+	}
+
+	private boolean hasAnyUpdate() {
+		for (int i = 0; i < numTouched; i++) {
+			if (isUpdate(sortedValues[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int endOfContract(final int start) {
+		final var contractNum = sortedKeys[start].getContractId();
+		var end = start + 1;
+		while (end < numTouched && sortedKeys[end].getContractId() == contractNum) {
+			end++;
+		}
+		return end;
+	}
+
+	private int initialKvPairs(final long num) {
+		final var account = accounts.get().get(fromLong(num));
+		return account == null ? 0 : account.getNumContractKvPairs();
+	}
+
+	private ContractKey firstKeyLookup(final long num) {
+		final var account = accounts.get().get(fromLong(num));
+		return account == null ? null : account.getFirstContractStorageKey();
+	}
+
+	/**
+	 * Returns the slot of the given packed key if it was touched this session; or, if not, {@code -(i + 1)}
+	 * where {@code i} is the free slot it would be stored in.
+	 */
+	private int slotOf(final long contractNum, final int[] words) {
+		final var mask = slotKeys.length - 1;
+		var i = hash(contractNum, words) & mask;
+		while (slotKeys[i] != null) {
+			if (slotContracts[i] == contractNum && hasWords(i, words)) {
+				return i;
+			}
+			i = (i + 1) & mask;
+		}
+		return -(i + 1);
+	}
+
+	private boolean hasWords(final int slot, final int[] words) {
+		final var offset = slot * WORDS_PER_KEY;
+		for (int k = 0; k < WORDS_PER_KEY; k++) {
+			if (slotWords[offset + k] != words[k]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void track(final ContractKey key, final int slot, final IterableContractValue value) {
+		put(slot, key, value);
+		if (numTouched == touchedSlots.length) {
+			touchedSlots = Arrays.copyOf(touchedSlots, 2 * numTouched);
+			sortedKeys = Arrays.copyOf(sortedKeys, 2 * numTouched);
+			sortedValues = Arrays.copyOf(sortedValues, 2 * numTouched);
+		}
+		touchedSlots[numTouched++] = slot;
+		/* Keep the table at most half full */
+		if (2 * numTouched > slotKeys.length) {
+			rehashInto(2 * slotKeys.length);
+		}
+	}
+
+	private void put(final int slot, final ContractKey key, final IterableContractValue value) {
+		slotContracts[slot] = key.getContractId();
+		System.arraycopy(key.getKey(), 0, slotWords, slot * WORDS_PER_KEY, WORDS_PER_KEY);
+		slotKeys[slot] = key;
+		slotValues[slot] = value;
+	}
+
+	private void rehashInto(final int capacity) {
+		final var oldKeys = slotKeys;
+		final var oldValues = slotValues;
+		slotContracts = new long[capacity];
+		slotWords = new int[capacity * WORDS_PER_KEY];
+		slotKeys = new ContractKey[capacity];
+		slotValues = new IterableContractValue[capacity];
+		for (int i = 0; i < numTouched; i++) {
+			final var key = oldKeys[touchedSlots[i]];
+			final var value = oldValues[touchedSlots[i]];
+			final var slot = -(slotOf(key.getContractId(), key.getKey()) + 1);
+			put(slot, key, value);
+			touchedSlots[i] = slot;
+		}
+	}
+
+	private static int hash(final long contractNum, final int[] words) {
+		return hash32(contractNum, words[7], words[6], words[5], words[4], words[3], words[2], words[1], words[0]);
+	}
+
+	private static boolean isUpdate(final IterableContractValue value) {
+		return value != null && value != ZERO_VALUE && value != NO_CHANGE;
+	}
+
+	private static IterableContractValue virtualValueFrom(final UInt256 evmWord) {
+		return evmWord.isZero() ? ZERO_VALUE : IterableContractValue.from(evmWord);
+	}
+
+	// --- Only used by unit tests ---
+	@VisibleForTesting
+	int usageSoFar(final AccountID id) {
+		final var contractNum = id.getAccountNum();
+		return newUsages.containsKey(contractNum) ? newUsages.get(contractNum) : initialKvPairs(contractNum);
+	}
+
+	@VisibleForTesting
+	IterableContractValue pendingValueOf(final ContractKey key) {
+		final var slot = slotOf(key.getContractId(), key.getKey());
+		return (slot >= 0) ? slotValues[slot] : null;
+	}
+
+	@VisibleForTesting
+	LongIntHashMap getPrimitiveUsages() {
+		return newUsages;
+	}
+
+	@VisibleForTesting
+	LongObjectHashMap<ContractKey> getPrimitiveFirstKeys() {
+		return newFirstKeys;
+	}
+
+	@VisibleForTesting
+	int numTouched() {
+		return numTouched;
+	}
+}
@@ -0,0 +1,286 @@
+package com.hedera.services.store.contracts;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.utils.BytesComparator;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.datatypes.Address;
+
+import java.util.Arrays;
+
+import static com.hedera.services.store.contracts.ContractStateChanges.READ_OFFSET;
+import static com.hedera.services.store.contracts.ContractStateChanges.SLOT_OFFSET;
+import static com.hedera.services.store.contracts.ContractStateChanges.WORDS_PER_CHANGE;
+import static com.hedera.services.store.contracts.ContractStateChanges.WORDS_PER_VALUE;
+import static com.hedera.services.store.contracts.ContractStateChanges.WRITTEN_OFFSET;
+import static com.hedera.services.store.contracts.ContractStateChanges.putWords;
+
+/**
+ * Collects the storage slots read and written during one EVM transaction into reusable primitive arrays,
+ * indexed by an open-addressing hash table over (contract, slot); so recording an access allocates nothing
+ * once the arrays have grown to fit the largest transaction seen.
+ *
+ * The first access to a slot fixes its value read, unless a final write is later recorded for the slot with
+ * its original value. When the transaction is done, {@link StateChangeCollector#toStateChanges()} sorts the
+ * accesses once&mdash;by contract address and then slot key, both in {@link BytesComparator} order&mdash;and
+ * copies them into an exact-sized {@link ContractStateChanges}.
+ *
+ * Not thread-safe; each {@link HederaWorldState} owns one collector that is cleared for every new top-level
+ * updater.
+ */
+public final class StateChangeCollector {
+	private static final int INITIAL_CAPACITY = 64;
+	private static final int NO_CHANGE = -1;
+	/* Flips the sign bit of each byte, so that signed byte order becomes unsigned long order */
+	private static final long SIGNED_BYTE_FLIP = 0x8080808080808080L;
+
+	private Address[] contracts = new Address[INITIAL_CAPACITY];
+	private long[] words = new long[INITIAL_CAPACITY * WORDS_PER_CHANGE];
+	private boolean[] written = new boolean[INITIAL_CAPACITY];
+	/* Open-addressing index from (contract, slot) to change number; always at least twice the capacity */
+	private int[] index = newIndex(2 * INITIAL_CAPACITY);
+	private int[] order = new int[INITIAL_CAPACITY];
+	private int[] scratch = new int[INITIAL_CAPACITY];
+	private int size = 0;
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		if (size > 0) {
+			Arrays.fill(contracts, 0, size, null);
+			Arrays.fill(written, 0, size, false);
+			Arrays.fill(index, NO_CHANGE);
+			size = 0;
+		}
+	}
+
+	/**
+	 * Records the value of a slot the first time it is read; later reads of the same slot are ignored.
+	 *
+	 * @param contract
+	 * 		the address of the contract whose storage was read
+	 * @param slot
+	 * 		the slot key
+	 * @param value
+	 * 		the value read
+	 */
+	public void recordRead(final Address contract, final Bytes slot, final Bytes value) {
+		final var bucket = bucketOf(contract, slot);
+		if (index[bucket] == NO_CHANGE) {
+			final var i = append(contract, slot, bucket);
+			putWords(value, words, i * WORDS_PER_CHANGE + READ_OFFSET);
+		}
+	}
+
+	/**
+	 * Records the original and final values of a slot written by the transaction, replacing any read already
+	 * recorded for the slot.
+	 *
+	 * @param contract
+	 * 		the address of the contract whose storage was written
+	 * @param slot
+	 * 		the slot key
+	 * @param original
+	 * 		the value of the slot before the transaction
+	 * @param updated
+	 * 		the value of the slot after the transaction
+	 */
+	public void recordWrite(final Address contract, final Bytes slot, final Bytes original, final Bytes updated) {
+		final var bucket = bucketOf(contract, slot);
+		var i = index[bucket];
+		if (i == NO_CHANGE) {
+			i = append(contract, slot, bucket);
+		}
+		final var base = i * WORDS_PER_CHANGE;
+		putWords(original, words, base + READ_OFFSET);
+		putWords(updated, words, base + WRITTEN_OFFSET);
+		written[i] = true;
+	}
+
+	/**
+	 * Sorts the collected accesses by contract and slot, and copies them into an immutable {@link
+	 * ContractStateChanges}.
+	 *
+	 * @return the sorted changes
+	 */
+	public ContractStateChanges toStateChanges() {
+		if (size == 0) {
+			return ContractStateChanges.EMPTY;
+		}
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		mergeSort(0, size);
+
+		var numContracts = 1;
+		for (int i = 1; i < size; i++) {
+			if (!contracts[order[i]].equals(contracts[order[i - 1]])) {
+				numContracts++;
+			}
+		}
+		final var sortedContracts = new Address[numContracts];
+		final var contractEnds = new int[numContracts];
+		final var sortedWords = new long[size * WORDS_PER_CHANGE];
+		final var sortedWritten = new boolean[size];
+		var c = -1;
+		for (int i = 0; i < size; i++) {
+			final var from = order[i];
+			if (c < 0 || !sortedContracts[c].equals(contracts[from])) {
+				sortedContracts[++c] = contracts[from];
+			}
+			contractEnds[c] = i + 1;
+			System.arraycopy(words, from * WORDS_PER_CHANGE, sortedWords, i * WORDS_PER_CHANGE, WORDS_PER_CHANGE);
+			sortedWritten[i] = written[from];
+		}
+		return new ContractStateChanges(sortedContracts, contractEnds, sortedWords, sortedWritten);
+	}
+
+	private int append(final Address contract, final Bytes slot, int bucket) {
+		if (size == written.length) {
+			grow();
+			bucket = bucketOf(contract, slot);
+		}
+		final var i = size++;
+		contracts[i] = contract;
+		putWords(slot, words, i * WORDS_PER_CHANGE + SLOT_OFFSET);
+		index[bucket] = i;
+		return i;
+	}
+
+	/**
+	 * Returns the bucket holding the given (contract, slot) access if it has been recorded; or else the empty
+	 * bucket where it should be recorded.
+	 */
+	private int bucketOf(final Address contract, final Bytes slot) {
+		final Bytes paddedSlot = (slot.size() == Bytes32.SIZE) ? slot : Bytes32.leftPad(slot);
+		var hash = contract.hashCode();
+		for (int j = 0; j < WORDS_PER_VALUE; j++) {
+			hash = 31 * hash + Long.hashCode(paddedSlot.getLong(j * Long.BYTES));
+		}
+		final var mask = index.length - 1;
+		var bucket = spread(hash) & mask;
+		for (var i = index[bucket]; i != NO_CHANGE; i = index[bucket]) {
+			if (isAccessTo(i, contract, paddedSlot)) {
+				return bucket;
+			}
+			bucket = (bucket + 1) & mask;
+		}
+		return bucket;
+	}
+
+	private boolean isAccessTo(final int i, final Address contract, final Bytes paddedSlot) {
+		final var base = i * WORDS_PER_CHANGE + SLOT_OFFSET;
+		for (int j = 0; j < WORDS_PER_VALUE; j++) {
+			if (words[base + j] != paddedSlot.getLong(j * Long.BYTES)) {
+				return false;
+			}
+		}
+		return contracts[i].equals(contract);
+	}
+
+	private void grow() {
+		final var capacity = 2 * written.length;
+		contracts = Arrays.copyOf(contracts, capacity);
+		words = Arrays.copyOf(words, capacity * WORDS_PER_CHANGE);
+		written = Arrays.copyOf(written, capacity);
+		order = new int[capacity];
+		scratch = new int[capacity];
+		index = newIndex(2 * capacity);
+		final var mask = index.length - 1;
+		for (int i = 0; i < size; i++) {
+			var bucket = spread(hashOf(i)) & mask;
+			while (index[bucket] != NO_CHANGE) {
+				bucket = (bucket + 1) & mask;
+			}
+			index[bucket] = i;
+		}
+	}
+
+	private int hashOf(final int i) {
+		var hash = contracts[i].hashCode();
+		final var base = i * WORDS_PER_CHANGE + SLOT_OFFSET;
+		for (int j = 0; j < WORDS_PER_VALUE; j++) {
+			hash = 31 * hash + Long.hashCode(words[base + j]);
+		}
+		return hash;
+	}
+
+	/* --- Sorting of the order array by (contract, slot) --- */
+	private void mergeSort(final int from, final int to) {
+		if (to - from < 2) {
+			return;
+		}
+		final var mid = (from + to) >>> 1;
+		mergeSort(from, mid);
+		mergeSort(mid, to);
+		if (compare(order[mid - 1], order[mid]) <= 0) {
+			return;
+		}
+		System.arraycopy(order, from, scratch, from, to - from);
+		for (int i = from, l = from, r = mid; i < to; i++) {
+			if (r >= to || (l < mid && compare(scratch[l], scratch[r]) <= 0)) {
+				order[i] = scratch[l++];
+			} else {
+				order[i] = scratch[r++];
+			}
+		}
+	}
+
+	/**
+	 * Compares two accesses first by contract address, and then by slot key, with both in {@link
+	 * BytesComparator} order; that is, as if comparing their bytes from last to first as signed values.
+	 */
+	private int compare(final int a, final int b) {
+		final var byContract = BytesComparator.INSTANCE.compare(contracts[a], contracts[b]);
+		if (byContract != 0) {
+			return byContract;
+		}
+		final var aBase = a * WORDS_PER_CHANGE + SLOT_OFFSET;
+		final var bBase = b * WORDS_PER_CHANGE + SLOT_OFFSET;
+		for (int j = WORDS_PER_VALUE - 1; j >= 0; j--) {
+			final var bySlot = Long.compareUnsigned(
+					Long.reverseBytes(words[aBase + j]) ^ SIGNED_BYTE_FLIP,
+					Long.reverseBytes(words[bBase + j]) ^ SIGNED_BYTE_FLIP);
+			if (bySlot != 0) {
+				return bySlot;
+			}
+		}
+		return 0;
+	}
+
+	private static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	private static int[] newIndex(final int capacity) {
+		final var index = new int[capacity];
+		Arrays.fill(index, NO_CHANGE);
+		return index;
+	}
+}
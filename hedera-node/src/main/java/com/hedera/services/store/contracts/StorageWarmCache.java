@@ -0,0 +1,252 @@
+package com.hedera.services.store.contracts;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.state.virtual.ContractKey;
+import com.hedera.services.state.virtual.IterableContractValue;
+import com.swirlds.virtualmap.VirtualMap;
+import org.apache.tuweni.units.bigints.UInt256;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.apache.tuweni.units.bigints.UInt256.ZERO;
+
+/**
+ * Bounded read-through cache of contract storage values, used by {@link SizeLimitedStorage} so that
+ * hot slots are not re-read from the {@link VirtualMap} (and hence, often, from disk) on the handle thread.
+ *
+ * The cache is filled from two directions:
+ * <ol>
+ *     <li>The handle thread caches every value it reads, and remembers which keys each contract read
+ *     recently.</li>
+ *     <li>During the prepare stage, a pre-fetch for a call to a contract {@link #warm(long)}s the
+ *     keys that contract read recently, on the pre-fetch thread.</li>
+ * </ol>
+ *
+ * Since a pre-fetch thread can read a value just before the handle thread overwrites it, every cached
+ * value carries the <i>generation</i> in which its read began; and the handle thread bumps the
+ * generation (after writing) each time it commits storage changes to a contract. A cached value is only
+ * used if it was read no earlier than the last commit to its contract. All methods other than
+ * {@link #warm(long)} must be called from the handle thread.
+ */
+@Singleton
+public class StorageWarmCache {
+	static final int MAX_KEYS_PER_CONTRACT = 256;
+	static final int MAX_TRACKED_CONTRACTS = 4_096;
+
+	private final Supplier<VirtualMap<ContractKey, IterableContractValue>> storage;
+	private final Cache<ContractKey, CachedValue> values;
+	private final Cache<Long, Set<ContractKey>> recentReads;
+	private final AtomicLong generation = new AtomicLong();
+	private final Map<Long, Long> lastCommitGenerations = new HashMap<>();
+	// No value read in an earlier generation than this is current
+	private long floorGeneration;
+
+	// Only written by the handle thread, but sampled by the stats thread
+	private volatile long hits;
+	private volatile long misses;
+
+	@Inject
+	public StorageWarmCache(
+			final NodeLocalProperties properties,
+			final Supplier<VirtualMap<ContractKey, IterableContractValue>> storage
+	) {
+		this(properties.prefetchStorageCacheSize(), properties.prefetchStorageCacheTtlSecs(), storage);
+	}
+
+	public StorageWarmCache(
+			final int maxValues,
+			final int ttlSecs,
+			final Supplier<VirtualMap<ContractKey, IterableContractValue>> storage
+	) {
+		this.storage = storage;
+		this.values = Caffeine.newBuilder()
+				.maximumSize(maxValues)
+				.build();
+		this.recentReads = Caffeine.newBuilder()
+				.maximumSize(MAX_TRACKED_CONTRACTS)
+				.expireAfterAccess(ttlSecs, TimeUnit.SECONDS)
+				.build();
+	}
+
+	/**
+	 * Loads the storage values the given contract read recently into the cache. Safe to call from any thread.
+	 *
+	 * @param contractNum
+	 * 		the contract about to be called
+	 */
+	public void warm(final long contractNum) {
+		final var keys = recentReads.getIfPresent(contractNum);
+		if (keys == null) {
+			return;
+		}
+		final var curStorage = storage.get();
+		for (final var key : keys) {
+			if (values.getIfPresent(key) == null) {
+				final var readGeneration = generation.get();
+				values.put(key, new CachedValue(valueOf(curStorage.get(key)), readGeneration));
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of the given key in the given storage, using a cached value if it is still current.
+	 *
+	 * @param key
+	 * 		the key of interest
+	 * @param curStorage
+	 * 		the working storage
+	 * @return the value if it exists, zero if it does not
+	 */
+	public UInt256 getStorage(final ContractKey key, final VirtualMap<ContractKey, IterableContractValue> curStorage) {
+		final var cached = values.getIfPresent(key);
+		if (cached != null && isCurrent(cached, key.getContractId())) {
+			hits++;
+			return cached.value();
+		}
+		misses++;
+		final var scopedReads = recentReads.get(key.getContractId(), ignore -> ConcurrentHashMap.newKeySet());
+		if (scopedReads.size() < MAX_KEYS_PER_CONTRACT) {
+			scopedReads.add(key);
+		}
+		final var value = valueOf(curStorage.get(key));
+		values.put(key, new CachedValue(value, generation.get()));
+		return value;
+	}
+
+	/**
+	 * Invalidates any cached values for the given contracts' changed keys. Must be called <i>after</i> the
+	 * changes are written to storage.
+	 *
+	 * @param changedKeys
+	 * 		the keys changed per contract
+	 */
+	public void invalidate(final Map<Long, ? extends Collection<ContractKey>> changedKeys) {
+		if (changedKeys.isEmpty()) {
+			return;
+		}
+		final var commitGeneration = nextCommitGeneration();
+		changedKeys.forEach((contractNum, keys) -> {
+			lastCommitGenerations.put(contractNum, commitGeneration);
+			values.invalidateAll(keys);
+		});
+	}
+
+	/**
+	 * Invalidates any cached values for the first {@code n} of the given changed keys, which should be grouped by
+	 * contract (as they are when sorted). Must be called <i>after</i> the changes are written to storage.
+	 *
+	 * @param changedKeys
+	 * 		the changed keys, grouped by contract
+	 * @param n
+	 * 		the number of changed keys
+	 */
+	public void invalidate(final ContractKey[] changedKeys, final int n) {
+		if (n == 0) {
+			return;
+		}
+		final var commitGeneration = nextCommitGeneration();
+		long lastContractNum = -1;
+		for (int i = 0; i < n; i++) {
+			final var key = changedKeys[i];
+			final var contractNum = key.getContractId();
+			if (contractNum != lastContractNum) {
+				lastCommitGenerations.put(contractNum, commitGeneration);
+				lastContractNum = contractNum;
+			}
+			values.invalidate(key);
+		}
+	}
+
+	/**
+	 * Invalidates any cached values for the given contract, whose storage was changed outside a
+	 * {@link SizeLimitedStorage} session (for example, by expiry). Must be called <i>after</i> the
+	 * changes are written to storage.
+	 *
+	 * @param contractNum
+	 * 		the contract whose storage changed
+	 */
+	public void invalidate(final long contractNum) {
+		lastCommitGenerations.put(contractNum, generation.incrementAndGet());
+		recentReads.invalidate(contractNum);
+	}
+
+	/**
+	 * Discards all cached values and read history; used when the working state is replaced wholesale. Must be
+	 * called <i>after</i> the storage supplier reflects the new working state.
+	 */
+	public void clear() {
+		values.invalidateAll();
+		recentReads.invalidateAll();
+		lastCommitGenerations.clear();
+		floorGeneration = generation.incrementAndGet();
+	}
+
+	public long hits() {
+		return hits;
+	}
+
+	public long misses() {
+		return misses;
+	}
+
+	private long nextCommitGeneration() {
+		final var commitGeneration = generation.incrementAndGet();
+		if (lastCommitGenerations.size() >= MAX_TRACKED_CONTRACTS) {
+			// Rather than track commits to every contract ever changed, just treat all older values as stale
+			lastCommitGenerations.clear();
+			floorGeneration = commitGeneration;
+		}
+		return commitGeneration;
+	}
+
+	private boolean isCurrent(final CachedValue cached, final long contractNum) {
+		return cached.generation() >= floorGeneration
+				&& cached.generation() >= lastCommitGenerations.getOrDefault(contractNum, 0L);
+	}
+
+	private static UInt256 valueOf(final IterableContractValue value) {
+		return (value == null) ? ZERO : value.asUInt256();
+	}
+
+	private record CachedValue(UInt256 value, long generation) {
+	}
+
+	/* --- Only used by unit tests --- */
+	@VisibleForTesting
+	Set<ContractKey> recentReadsOf(final long contractNum) {
+		return recentReads.getIfPresent(contractNum);
+	}
+}
@@ -0,0 +1,153 @@
+package com.hedera.services.store.schedule;
+
+/*
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hedera.services.state.merkle.MerkleScheduledTransactions;
+import com.hedera.services.state.submerkle.RichInstant;
+import com.hedera.services.state.virtual.schedule.ScheduleSecondVirtualValue;
+import com.hedera.services.state.virtual.schedule.ScheduleVirtualValue;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An in-memory cursor over the ids of the schedules due in one expiration second, flattened in execution
+ * order; so that processing a busy second is one pass over its ids, instead of re-reading the second's
+ * {@link ScheduleSecondVirtualValue} (and the schedule at its head) each time the next schedule is needed.
+ *
+ * The cursor only mirrors the second's ids while they change through the {@link HederaScheduleStore},
+ * which reports every such change. It is tied to the {@link MerkleScheduledTransactions} it was loaded
+ * from, and so is rebuilt from state whenever that is replaced (each round, or on reconnect).
+ */
+final class DueScheduleCursor {
+	private static final long NO_SECOND = Long.MIN_VALUE;
+
+	private final LongArrayList ids = new LongArrayList();
+	private final List<RichInstant> instants = new ArrayList<>();
+
+	private MerkleScheduledTransactions source;
+	private long second = NO_SECOND;
+	private int head;
+	private boolean hasEmptySecond;
+	private ScheduleVirtualValue headSchedule;
+
+	boolean isLoadedFor(final MerkleScheduledTransactions source, final long second) {
+		return this.source == source && this.second == second;
+	}
+
+	void load(
+			final MerkleScheduledTransactions source,
+			final long second,
+			@Nullable final ScheduleSecondVirtualValue bySecond
+	) {
+		ids.clear();
+		instants.clear();
+		if (bySecond != null) {
+			bySecond.getIds().forEach((instant, instantIds) -> instantIds.forEach(id -> {
+				ids.add(id);
+				instants.add(instant);
+			}));
+		}
+		this.source = source;
+		this.second = second;
+		hasEmptySecond = bySecond != null && ids.isEmpty();
+		head = 0;
+		headSchedule = null;
+	}
+
+	void invalidate() {
+		source = null;
+		second = NO_SECOND;
+		headSchedule = null;
+	}
+
+	/**
+	 * Returns whether the second was loaded from a {@link ScheduleSecondVirtualValue} with no ids.
+	 */
+	boolean hasEmptySecond() {
+		return hasEmptySecond;
+	}
+
+	int head() {
+		return head;
+	}
+
+	int size() {
+		return ids.size();
+	}
+
+	long idAt(final int i) {
+		return ids.get(i);
+	}
+
+	RichInstant instantAt(final int i) {
+		return instants.get(i);
+	}
+
+	/**
+	 * Returns the schedule last read for the id at the head of the cursor, if it is still current.
+	 */
+	@Nullable
+	ScheduleVirtualValue headSchedule() {
+		return headSchedule;
+	}
+
+	void setHeadSchedule(final ScheduleVirtualValue headSchedule) {
+		this.headSchedule = headSchedule;
+	}
+
+	/**
+	 * Notes that the given schedule was removed from the given expiration second; if the cursor is over
+	 * that second, it advances past the schedule if it was at the head, and is otherwise invalidated.
+	 */
+	void noteRemoved(final long second, final long id) {
+		if (this.second != second) {
+			return;
+		}
+		if (head < ids.size() && ids.get(head) == id) {
+			head++;
+			headSchedule = null;
+		} else {
+			invalidate();
+		}
+	}
+
+	/**
+	 * Notes that a schedule was added to the given expiration second.
+	 */
+	void noteAdded(final long second) {
+		if (this.second == second) {
+			invalidate();
+		}
+	}
+
+	/**
+	 * Notes that the given schedule changed; so it must be re-read if it is at the head.
+	 */
+	void noteChanged(final long id) {
+		if (head < ids.size() && ids.get(head) == id) {
+			headSchedule = null;
+		}
+	}
+}
@@ -78,6 +78,7 @@ public final class HederaScheduleStore extends HederaStore implements ScheduleSt
 
 	private final GlobalDynamicProperties properties;
 	private final Supplier<MerkleScheduledTransactions> schedules;
+	private final DueScheduleCursor dueCursor = new DueScheduleCursor();
 
 	ScheduleID pendingId = NO_PENDING_ID;
 	ScheduleVirtualValue pendingCreation;
@@ -122,6 +123,7 @@ public final class HederaScheduleStore extends HederaStore implements ScheduleSt
 		var key = fromScheduleId(id);
 		var virtualKey = new EntityNumVirtualKey(key);
 		var schedule = schedules.get().byId().get(virtualKey).asWritable();
+		dueCursor.noteChanged(key.longValue());
 		try {
 			change.accept(schedule);
 		} catch (Exception e) {
@@ -222,6 +224,7 @@ public final class HederaScheduleStore extends HederaStore implements ScheduleSt
 		bySecond.add(pendingCreation.calculatedExpirationTime(), new LongArrayList(id.getKeyAsLong()));
 
 		schedules.get().byExpirationSecond().put(secondKey, bySecond);
+		dueCursor.noteAdded(secondKey.getKeyAsLong());
 
 
 		var equalityKey = new ScheduleEqualityVirtualKey(pendingCreation.equalityCheckKey());
@@ -261,15 +264,22 @@ public final class HederaScheduleStore extends HederaStore implements ScheduleSt
 	@Override
 	public Pair<ScheduleID, ScheduleVirtualValue> lookupSchedule(final byte[] bodyBytes) {
 		final var schedule = ScheduleVirtualValue.from(bodyBytes, 0L);
+		return lookupSchedule(schedule, schedule.equalityCheckKey(), schedule.equalityCheckValue());
+	}
 
+	@Override
+	public Pair<ScheduleID, ScheduleVirtualValue> lookupSchedule(
+			final ScheduleVirtualValue schedule,
+			final long equalityKey,
+			final String equalityValue
+	) {
 		if (isCreationPending() && schedule.equals(pendingCreation)) {
 			return Pair.of(pendingId, pendingCreation);
 		}
 
-		var equalityKey = new ScheduleEqualityVirtualKey(schedule.equalityCheckKey());
-		var byEquality = schedules.get().byEquality().get(equalityKey);
+		var byEquality = schedules.get().byEquality().get(new ScheduleEqualityVirtualKey(equalityKey));
 		if (byEquality != null) {
-			var existingId = byEquality.getIds().get(schedule.equalityCheckValue());
+			var existingId = byEquality.getIds().get(equalityValue);
 
 			if (existingId != null) {
 
@@ -326,6 +336,7 @@ public final class HederaScheduleStore extends HederaStore implements ScheduleSt
 			if (bySecond != null) {
 				bySecond = bySecond.asWritable();
 				bySecond.removeId(existingSchedule.calculatedExpirationTime(), idToDelete.getKeyAsLong());
+				dueCursor.noteRemoved(secondKey.getKeyAsLong(), idToDelete.getKeyAsLong());
 
 				if (bySecond.getIds().isEmpty()) {
 					schedules.get().byExpirationSecond().remove(secondKey);
@@ -386,55 +397,52 @@ public final class HederaScheduleStore extends HederaStore implements ScheduleSt
 		}
 
 		final var bySecondKey = new SecondSinceEpocVirtualKey(curSecond);
-
-		var bySecond = schedules.get().byExpirationSecond().get(bySecondKey);
+		final var due = dueCursorAt(curSecond);
 
 		final List<ScheduleID> list = new ArrayList<>();
 		final List<Pair<RichInstant, Long>> toRemove = new ArrayList<>();
 
-		if (bySecond != null) {
-			outer: for (var entry : bySecond.getIds().entrySet()) {
-				var instant = entry.getKey();
-				var ids = entry.getValue();
-				for (int i = 0; i < ids.size(); ++i) {
-					var id = ids.get(i);
-					var scheduleId = EntityNum.fromLong(id).toGrpcScheduleId();
-
-					var schedule = getNoError(scheduleId);
-
-					if (schedule == null) {
-						log.error("bySecond contained a schedule that does not exist! Removing it! second={}, id={}",
-								curSecond, scheduleId);
-						toRemove.add(Pair.of(instant, id));
-
-					} else if (schedule.calculatedExpirationTime().getSeconds() != curSecond) {
-						log.error("bySecond contained a schedule in the wrong spot! Removing and expiring it! spot={}, id={}, schedule={}",
-								curSecond, scheduleId, schedule);
-						toRemove.add(Pair.of(instant, id));
-						list.add(scheduleId);
-
-					} else if (schedule.isDeleted() || schedule.isExecuted()) {
-						list.add(scheduleId);
-
-					} else {
-						break outer;
-					}
+		for (int i = due.head(), n = due.size(); i < n; i++) {
+			var id = due.idAt(i);
+			var scheduleId = EntityNum.fromLong(id).toGrpcScheduleId();
+
+			var schedule = getNoError(scheduleId);
+
+			if (schedule == null) {
+				log.error("bySecond contained a schedule that does not exist! Removing it! second={}, id={}",
+						curSecond, scheduleId);
+				toRemove.add(Pair.of(due.instantAt(i), id));
+
+			} else if (schedule.calculatedExpirationTime().getSeconds() != curSecond) {
+				log.error("bySecond contained a schedule in the wrong spot! Removing and expiring it! spot={}, id={}, schedule={}",
+						curSecond, scheduleId, schedule);
+				toRemove.add(Pair.of(due.instantAt(i), id));
+				list.add(scheduleId);
+
+			} else if (schedule.isDeleted() || schedule.isExecuted()) {
+				list.add(scheduleId);
+
+			} else {
+				if (i == due.head()) {
+					due.setHeadSchedule(schedule);
 				}
+				break;
 			}
+		}
 
-			if ((!toRemove.isEmpty()) || bySecond.getIds().isEmpty()) {
-				bySecond = bySecond.asWritable();
-				for (var p : toRemove) {
-					bySecond.removeId(p.getKey(), p.getValue());
-				}
+		if ((!toRemove.isEmpty()) || due.hasEmptySecond()) {
+			var bySecond = schedules.get().byExpirationSecond().get(bySecondKey).asWritable();
+			for (var p : toRemove) {
+				bySecond.removeId(p.getKey(), p.getValue());
+			}
 
-				if (bySecond.getIds().size() <= 0) {
-					log.error("bySecond was unexpectedly empty! Removing it! second={}", curSecond);
-					schedules.get().byExpirationSecond().remove(bySecondKey);
-				} else {
-					schedules.get().byExpirationSecond().put(bySecondKey, bySecond);
-				}
+			if (bySecond.getIds().size() <= 0) {
+				log.error("bySecond was unexpectedly empty! Removing it! second={}", curSecond);
+				schedules.get().byExpirationSecond().remove(bySecondKey);
+			} else {
+				schedules.get().byExpirationSecond().put(bySecondKey, bySecond);
 			}
+			due.invalidate();
 		}
 
 		return list;
@@ -450,34 +458,32 @@ public final class HederaScheduleStore extends HederaStore implements ScheduleSt
 			return null;
 		}
 
-		final var bySecond = schedules.get().byExpirationSecond().get(
-				new SecondSinceEpocVirtualKey(curSecond));
+		final var due = dueCursorAt(curSecond);
 
-		if (bySecond != null) {
-			for (var ids : bySecond.getIds().values()) {
-				if (ids.size() > 0) {
-					var scheduleId = EntityNum.fromLong(ids.get(0)).toGrpcScheduleId();
+		if (due.head() < due.size()) {
+			var scheduleId = EntityNum.fromLong(due.idAt(due.head())).toGrpcScheduleId();
 
-					var schedule = getNoError(scheduleId);
+			var schedule = due.headSchedule();
+			if (schedule == null) {
+				schedule = getNoError(scheduleId);
+			}
 
-					if (schedule == null) {
-						log.error("bySecond contained a schedule that does not exist! Not evaluating it! second={}, id={}",
-								curSecond, scheduleId);
-						return null;
-					}
+			if (schedule == null) {
+				log.error("bySecond contained a schedule that does not exist! Not evaluating it! second={}, id={}",
+						curSecond, scheduleId);
+				return null;
+			}
 
-					if (schedule.calculatedExpirationTime().getSeconds() != curSecond) {
-						log.error("bySecond contained a schedule in the wrong spot! Not evaluating it! spot={}, id={}, schedule={}",
-								curSecond, scheduleId, schedule);
-						return null;
-					}
+			if (schedule.calculatedExpirationTime().getSeconds() != curSecond) {
+				log.error("bySecond contained a schedule in the wrong spot! Not evaluating it! spot={}, id={}, schedule={}",
+						curSecond, scheduleId, schedule);
+				return null;
+			}
 
-					if (schedule.isDeleted() || schedule.isExecuted()) {
-						return null;
-					} else {
-						return scheduleId;
-					}
-				}
+			if (schedule.isDeleted() || schedule.isExecuted()) {
+				return null;
+			} else {
+				return scheduleId;
 			}
 		}
 
@@ -489,6 +495,15 @@ public final class HederaScheduleStore extends HederaStore implements ScheduleSt
 		return schedules.get().byExpirationSecond().get(new SecondSinceEpocVirtualKey(second));
 	}
 
+	private DueScheduleCursor dueCursorAt(final long second) {
+		final var curSchedules = schedules.get();
+		if (!dueCursor.isLoadedFor(curSchedules, second)) {
+			dueCursor.load(curSchedules, second,
+					curSchedules.byExpirationSecond().get(new SecondSinceEpocVirtualKey(second)));
+		}
+		return dueCursor;
+	}
+
 	private boolean shouldProcessSecond(final Instant consensusTime, final long curSecond) {
 		return consensusTime.getEpochSecond() > curSecond;
 	}
@@ -544,4 +559,10 @@ public final class HederaScheduleStore extends HederaStore implements ScheduleSt
 		}
 	}
 
+
+	/* --- Only used by unit tests --- */
+	@VisibleForTesting
+	DueScheduleCursor getDueCursor() {
+		return dueCursor;
+	}
 }
@@ -47,6 +47,8 @@ public interface ScheduleStore extends Store<ScheduleID, ScheduleVirtualValue> {
 	CreationResult<ScheduleID> createProvisionally(ScheduleVirtualValue candidate, RichInstant consensusTime);
 
 	Pair<ScheduleID, ScheduleVirtualValue> lookupSchedule(byte[] bodyBytes);
+	Pair<ScheduleID, ScheduleVirtualValue> lookupSchedule(
+			ScheduleVirtualValue schedule, long equalityKey, String equalityValue);
 	ResponseCodeEnum preMarkAsExecuted(ScheduleID id);
 	ResponseCodeEnum markAsExecuted(ScheduleID id, Instant consensusTime);
 	void expire(ScheduleID id);
@@ -0,0 +1,59 @@
+package com.hedera.services.stream;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.Optional;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How the consumer of a {@link NonBlockingHandoff} waits for more record stream objects. {@code BLOCKING} hands
+ * off one object at a time through a {@link java.util.concurrent.BlockingQueue}, which does its own waiting;
+ * every other strategy drains objects in batches from a single-producer/single-consumer ring, and differs only
+ * in how it idles when the ring is empty.
+ */
+public enum HandoffWaitStrategy {
+	BLOCKING(null),
+	/** Lowest latency, but burns a core even when there are no records. */
+	SPIN(Thread::onSpinWait),
+	/** Gives the core to other runnable threads between checks. */
+	YIELD(Thread::yield),
+	/** Sleeps briefly between checks; cheapest when record volume is low. */
+	PARK(() -> LockSupport.parkNanos(HandoffWaitStrategy.PARK_NANOS));
+
+	static final long PARK_NANOS = 50_000L;
+
+	private final Runnable idler;
+
+	HandoffWaitStrategy(final Runnable idler) {
+		this.idler = idler;
+	}
+
+	/**
+	 * Returns how a batched consumer waits before it next checks for records; or empty if this strategy does
+	 * not batch, and so has no idle loop at all.
+	 *
+	 * @return the idle action of a batched strategy, if this is one
+	 */
+	public Optional<Runnable> batchedIdler() {
+		return Optional.ofNullable(idler);
+	}
+}
@@ -20,7 +20,9 @@ package com.hedera.services.stream;
  * ‍
  */
 
+import com.google.common.annotations.VisibleForTesting;
 import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.stats.MiscRunningAvgs;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -28,30 +30,77 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 
+/**
+ * Hands off {@link RecordStreamObject}s from the handle thread to the {@link RecordStreamManager} on a
+ * dedicated thread. With the {@link HandoffWaitStrategy#BLOCKING} strategy each object moves individually
+ * through a {@link BlockingQueue}; with any other strategy, the handle thread writes to an {@link SpscRing}
+ * and the handoff thread drains it in batches, idling per the strategy when it is empty.
+ */
 @Singleton
 public class NonBlockingHandoff {
 	private static final int MIN_CAPACITY = 5_000;
+	static final int MAX_BATCH_SIZE = 1_024;
 
 	private ExecutorService executor = newSingleThreadExecutor();
 
 	private final AtomicBoolean timeToStop = new AtomicBoolean(false);
 	private final RecordStreamManager recordStreamManager;
+	private final MiscRunningAvgs runningAvgs;
+	// How the batched consumer waits when the ring is empty; null when not batched
+	private final Runnable idler;
+	private final Consumer<RecordStreamObject> addToStream;
+	// Exactly one of these is used, depending on whether the wait strategy is batched
 	private final BlockingQueue<RecordStreamObject> queue;
+	private final SpscRing<RecordStreamObject> ring;
+
+	// Failed offers since the last successful one; only touched by the handle thread
+	private int failedOffers;
 
 	@Inject
-	public NonBlockingHandoff(final RecordStreamManager recordStreamManager, final NodeLocalProperties nodeLocalProperties) {
+	public NonBlockingHandoff(
+			final RecordStreamManager recordStreamManager,
+			final NodeLocalProperties nodeLocalProperties,
+			final MiscRunningAvgs runningAvgs
+	) {
 		this.recordStreamManager = recordStreamManager;
+		this.runningAvgs = runningAvgs;
+		this.addToStream = recordStreamManager::addRecordStreamObject;
+		final var batchedIdler = nodeLocalProperties.recordStreamHandoffWaitStrategy().batchedIdler();
 		final int capacity = Math.max(MIN_CAPACITY, nodeLocalProperties.recordStreamQueueCapacity());
-		queue = new ArrayBlockingQueue<>(capacity);
-		executor.execute(this::handoff);
+		if (batchedIdler.isPresent()) {
+			idler = batchedIdler.get();
+			queue = null;
+			ring = new SpscRing<>(capacity);
+			executor.execute(this::batchedHandoff);
+		} else {
+			idler = null;
+			queue = new ArrayBlockingQueue<>(capacity);
+			ring = null;
+			executor.execute(this::handoff);
+		}
 		Runtime.getRuntime().addShutdownHook(new Thread(getShutdownHook()));
 	}
 
+	/**
+	 * Attempts to hand off the given record stream object; must only be called from the handle thread.
+	 *
+	 * @param rso
+	 * 		the object to hand off
+	 * @return whether there was room for it
+	 */
 	public boolean offer(RecordStreamObject rso) {
-		return queue.offer(rso);
+		final var accepted = (ring != null) ? ring.offer(rso) : queue.offer(rso);
+		if (!accepted) {
+			failedOffers++;
+		} else if (failedOffers > 0) {
+			runningAvgs.recordHandoffStallRetries(failedOffers);
+			failedOffers = 0;
+		}
+		return accepted;
 	}
 
 	private void handoff() {
@@ -66,6 +115,23 @@ public class NonBlockingHandoff {
 		}
 	}
 
+	private void batchedHandoff() {
+		while (!timeToStop.get() && !Thread.currentThread().isInterrupted()) {
+			drainBatch();
+		}
+	}
+
+	@VisibleForTesting
+	void drainBatch() {
+		final var depth = ring.size();
+		if (depth == 0) {
+			idler.run();
+			return;
+		}
+		runningAvgs.recordHandoffQueueDepth(depth);
+		runningAvgs.recordHandoffBatchSize(ring.drainTo(addToStream, MAX_BATCH_SIZE));
+	}
+
 	ExecutorService getExecutor() {
 		return executor;
 	}
@@ -48,10 +48,13 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 
 import static com.swirlds.common.stream.LinkedObjectStreamUtilities.generateSigFilePath;
 import static com.swirlds.common.stream.LinkedObjectStreamUtilities.generateStreamFileNameFromInstant;
@@ -60,11 +63,13 @@ import static com.swirlds.common.stream.StreamAligned.NO_ALIGNMENT;
 import static com.swirlds.logging.LogMarker.EXCEPTION;
 import static com.swirlds.logging.LogMarker.OBJECT_STREAM;
 import static com.swirlds.logging.LogMarker.OBJECT_STREAM_FILE;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 
 class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 	private static final Logger LOG = LogManager.getLogger(RecordStreamFileWriter.class);
 
 	private static final DigestType currentDigestType = DigestType.SHA_384;
+	private static final int INITIAL_BUFFER_SIZE = 1 << 20;
 
 	/**
 	 * <	 * the current record stream type;
@@ -73,7 +78,8 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 	private final RecordStreamType streamType;
 
 	/**
-	 * a messageDigest object for digesting entire stream file and generating entire record stream file hash
+	 * a messageDigest object for digesting entire stream file and generating entire record stream file hash;
+	 * it is updated as each object is serialized, so the hash is ready as soon as the file is complete
 	 */
 	private final MessageDigest streamDigest;
 
@@ -129,15 +135,44 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 	 * the path to which we write record stream files and signature files
 	 */
 	private final String dirPath;
-	private RecordStreamFile.Builder recordStreamFileBuilder;
 	private int recordFileVersion;
 
+	/**
+	 * whether we are currently serializing objects into a record stream file
+	 */
+	private boolean writingFile;
+	private long blockNumber;
+	private Instant firstTxnConsensusTime;
+
+	/**
+	 * the protobuf serialization of the current {@link RecordStreamFile}, built up incrementally in field order
+	 * (header, one record stream item per consumed object, then trailer); reused across files
+	 */
+	private ByteBuffer recordFileBuffer = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
+
+	/**
+	 * signs completed record stream files and writes their signature files off the write queue thread
+	 */
+	private final ExecutorService signingExecutor;
+
 	public RecordStreamFileWriter(
 			final String dirPath,
 			final long logPeriodMs,
 			final Signer signer,
 			final boolean startWriteAtCompleteWindow,
 			final RecordStreamType streamType
+	) throws NoSuchAlgorithmException {
+		this(dirPath, logPeriodMs, signer, startWriteAtCompleteWindow, streamType,
+				newSingleThreadExecutor(RecordStreamFileWriter::newSigningThread));
+	}
+
+	RecordStreamFileWriter(
+			final String dirPath,
+			final long logPeriodMs,
+			final Signer signer,
+			final boolean startWriteAtCompleteWindow,
+			final RecordStreamType streamType,
+			final ExecutorService signingExecutor
 	) throws NoSuchAlgorithmException {
 		this.dirPath = dirPath;
 		this.logPeriodMs = logPeriodMs;
@@ -146,6 +181,13 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 		this.streamType = streamType;
 		this.streamDigest = MessageDigest.getInstance(currentDigestType.algorithmName());
 		this.metadataStreamDigest = MessageDigest.getInstance(currentDigestType.algorithmName());
+		this.signingExecutor = signingExecutor;
+	}
+
+	private static Thread newSigningThread(final Runnable runnable) {
+		final var thread = new Thread(runnable, "recordStreamSigner");
+		thread.setDaemon(true);
+		return thread;
 	}
 
 	@Override
@@ -158,10 +200,10 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 			beginNew(object);
 		}
 
-		// if recordStreamFile is null, it means startWriteAtCompleteWindow is true,
+		// if we are not writing a file, it means startWriteAtCompleteWindow is true,
 		// and we are still in the first incomplete window, so we don't serialize this object;
-		// so we only serialize the object when stream is not null
-		if (recordStreamFileBuilder != null) {
+		// so we only serialize the object when we are writing a file
+		if (writingFile) {
 			consume(object);
 		}
 
@@ -224,46 +266,50 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 	}
 
 	/**
-	 * if recordStreamFile is not null:
+	 * if we are writing a file:
 	 * write last runningHash to current file;
 	 * close current file;
-	 * and generate a corresponding signature file
+	 * and generate a corresponding signature file on the signing executor
 	 */
 	public void closeCurrentAndSign() {
-		if (recordStreamFileBuilder != null) {
+		if (writingFile) {
 			// generate file name
-			final var firstTxnTimestamp =
-					recordStreamFileBuilder.getRecordStreamItems(0).getRecord().getConsensusTimestamp();
-			final var file = new File(
-					generateStreamFilePath(
-							Instant.ofEpochSecond(firstTxnTimestamp.getSeconds(), firstTxnTimestamp.getNanos())));
+			final var file = new File(generateStreamFilePath(firstTxnConsensusTime));
 			final var fileNameShort = file.getName(); // for logging purposes
 			if (file.exists() && !file.isDirectory()) {
 				LOG.debug(OBJECT_STREAM.getMarker(), "Stream file already exists {}", fileNameShort);
+				abandonCurrentFile();
 			} else {
 				try {
 					// write endRunningHash
 					final var endRunningHash = runningHash.getFutureHash().get();
-					recordStreamFileBuilder.setEndObjectRunningHash(toProto(endRunningHash.getValue()));
 					dosMeta.write(endRunningHash.getValue());
 					LOG.debug(OBJECT_STREAM_FILE.getMarker(), "closeCurrentAndSign :: write endRunningHash {}",
 							endRunningHash);
 
 					// write block number to metadata
-					dosMeta.writeLong(recordStreamFileBuilder.getBlockNumber());
+					dosMeta.writeLong(blockNumber);
 					LOG.debug(OBJECT_STREAM_FILE.getMarker(), "closeCurrentAndSign :: write block number {}",
-							recordStreamFileBuilder.getBlockNumber());
+							blockNumber);
+
+					// the trailing fields of the RecordStreamFile follow all its record stream items
+					appendFields(RecordStreamFile.newBuilder()
+							.setEndObjectRunningHash(toProto(endRunningHash.getValue()))
+							.setBlockNumber(blockNumber)
+							.build());
 				} catch (InterruptedException | ExecutionException e) {
 					Thread.currentThread().interrupt();
 					LOG.error(EXCEPTION.getMarker(),
 							"closeCurrentAndSign :: failed when getting endRunningHash for writing {}",
 							fileNameShort, e);
+					abandonCurrentFile();
 					return;
 				} catch (IOException e) {
 					Thread.currentThread().interrupt();
 					LOG.warn(EXCEPTION.getMarker(),
 							"closeCurrentAndSign :: IOException when serializing endRunningHash and block number into "
 									+ "metadata", e);
+					abandonCurrentFile();
 					return;
 				}
 
@@ -279,41 +325,52 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 				// create record file
 				try (FileOutputStream stream = new FileOutputStream(file, false);
 					 SerializableDataOutputStream dos = new SerializableDataOutputStream(
-							 new BufferedOutputStream(new HashingOutputStream(streamDigest, stream)))
+							 new BufferedOutputStream(stream))
 				) {
 					LOG.debug(OBJECT_STREAM_FILE.getMarker(), "Stream file created {}", fileNameShort);
 
 					// write contents of record file - record file version and serialized RecordFile protobuf
 					dos.writeInt(recordFileVersion);
-					dos.write(serialize(recordStreamFileBuilder));
+					dos.flush();
+					final var channel = stream.getChannel();
+					recordFileBuffer.flip();
+					while (recordFileBuffer.hasRemaining()) {
+						channel.write(recordFileBuffer);
+					}
 
 					// make sure the whole file is written to disk
-					dos.flush();
 					stream.flush();
-					stream.getChannel().force(true);
+					channel.force(true);
 					stream.getFD().sync();
 					LOG.debug(OBJECT_STREAM_FILE.getMarker(), "Stream file written successfully {}", fileNameShort);
 
 					// close dosMeta manually; stream and dos will be automatically closed
 					dosMeta.close();
 					dosMeta = null;
-					recordStreamFileBuilder = null;
+					writingFile = false;
+					recordFileBuffer.clear();
 
 					LOG.debug(OBJECT_STREAM_FILE.getMarker(),
 							"File {} is closed at {}", () -> fileNameShort, Instant::now);
 				} catch (FileNotFoundException e) {
 					Thread.currentThread().interrupt();
 					LOG.error(EXCEPTION.getMarker(), "closeCurrentAndSign :: FileNotFound: {}", e.getMessage());
+					abandonCurrentFile();
 					return;
 				} catch (IOException e) {
 					Thread.currentThread().interrupt();
 					LOG.warn(EXCEPTION.getMarker(),
-							"closeCurrentAndSign :: IOException when serializing {}", recordStreamFileBuilder, e);
+							"closeCurrentAndSign :: IOException when serializing {}", fileNameShort, e);
+					abandonCurrentFile();
 					return;
 				}
 
-				// if this line is reached, record file has been created successfully, so create its signature
-				createSignatureFile(file);
+				// if this line is reached, record file has been created successfully, so create its signature;
+				// both hashes are final now, so only signing and writing the signature file are deferred
+				final var fileHash = streamDigest.digest();
+				final var metadataHash = metadataStreamDigest.digest();
+				final var sigFilePath = generateSigFilePath(file);
+				signingExecutor.execute(() -> createSignatureFile(fileNameShort, sigFilePath, fileHash, metadataHash));
 			}
 		}
 	}
@@ -328,9 +385,17 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 		// the record file version in it, save the version and
 		// perform the whole file creation in {@link #closeCurrentAndSign()} method
 		recordFileVersion = fileHeader[0];
+		blockNumber = object.getStreamAlignment();
+		firstTxnConsensusTime = null;
+		writingFile = true;
+		recordFileBuffer.clear();
+		streamDigest.reset();
+		metadataStreamDigest.reset();
+		// the record file version precedes the RecordStreamFile protobuf in the record file
+		streamDigest.update(intBytes(recordFileVersion));
 		// add known values to recordStreamFile proto
-		recordStreamFileBuilder = RecordStreamFile.newBuilder().setBlockNumber(object.getStreamAlignment());
-		recordStreamFileBuilder.setHapiProtoVersion(SemanticVersion.newBuilder()
+		final var header = RecordStreamFile.newBuilder();
+		header.setHapiProtoVersion(SemanticVersion.newBuilder()
 				.setMajor(fileHeader[1])
 				.setMinor(fileHeader[2])
 				.setPatch(fileHeader[3])
@@ -343,7 +408,7 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 			}
 			// write startRunningHash
 			final var startRunningHash = runningHash.getFutureHash().get();
-			recordStreamFileBuilder.setStartObjectRunningHash(toProto(startRunningHash.getValue()));
+			header.setStartObjectRunningHash(toProto(startRunningHash.getValue()));
 			dosMeta.write(startRunningHash.getValue());
 			LOG.debug(
 					OBJECT_STREAM_FILE.getMarker(),
@@ -359,6 +424,7 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 					EXCEPTION.getMarker(),
 					"beginNew :: Exception when getting startRunningHash for writing to metadata stream", e);
 		}
+		appendFields(header.build());
 	}
 
 	/**
@@ -368,12 +434,15 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 	 * 		object to be added to the record stream file
 	 */
 	private void consume(final RecordStreamObject object) {
-		recordStreamFileBuilder.addRecordStreamItems(
-				RecordStreamItem.newBuilder()
-						.setTransaction(object.getTransaction())
-						.setRecord(object.getTransactionRecord())
-						.build()
-		);
+		final var transactionRecord = object.getTransactionRecord();
+		if (firstTxnConsensusTime == null) {
+			final var firstTxnTimestamp = transactionRecord.getConsensusTimestamp();
+			firstTxnConsensusTime = Instant.ofEpochSecond(firstTxnTimestamp.getSeconds(), firstTxnTimestamp.getNanos());
+		}
+		appendItem(RecordStreamItem.newBuilder()
+				.setTransaction(object.getTransaction())
+				.setRecord(transactionRecord)
+				.build());
 
 		// In phase 2 we will need to add logic here to also
 		// save the sidecar records of the current object
@@ -396,7 +465,7 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 
 	/**
 	 * this method is called when the node falls behind
-	 * resets all populated up to this point fields (metadataDigest, dosMeta, recordStreamFile)
+	 * resets all populated up to this point fields (metadataDigest, dosMeta, serialized record file)
 	 */
 	@Override
 	public void clear() {
@@ -409,12 +478,15 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 				LOG.warn(EXCEPTION.getMarker(), "RecordStreamFileWriter::clear Exception in closing dosMeta", e);
 			}
 		}
-		recordStreamFileBuilder = null;
+		writingFile = false;
+		recordFileBuffer.clear();
+		streamDigest.reset();
 		LOG.debug(OBJECT_STREAM.getMarker(), "RecordStreamFileWriter::clear executed.");
 	}
 
 	public void close() {
 		this.closeCurrentAndSign();
+		awaitPendingSignatures();
 		LOG.debug(LogMarker.FREEZE.getMarker(), "RecordStreamFileWriter finished writing the last object, is stopped");
 	}
 
@@ -429,22 +501,104 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 	}
 
 	/**
-	 * Helper method that serializes a RecordStreamFile.
-	 * Uses deterministic serialization to ensure multiple invocations on the same
-	 * object lead to identical serialization.
+	 * Appends the given (partial) RecordStreamFile to the serialized record file. Since protobuf
+	 * concatenation is a merge, appending the header, then each item, then the trailer yields the same bytes
+	 * as serializing the complete message, as long as each part only sets fields numbered after those
+	 * already appended.
+	 *
+	 * @param fields
+	 * 		the RecordStreamFile fields to append
+	 */
+	private void appendFields(final RecordStreamFile fields) {
+		final var start = reserve(fields.getSerializedSize());
+		final var output = deterministicOutput();
+		try {
+			fields.writeTo(output);
+			output.flush();
+		} catch (IOException impossible) {
+			throw new UncheckedIOException(impossible);
+		}
+		digestFrom(start);
+	}
+
+	private void appendItem(final RecordStreamItem item) {
+		final var fieldNumber = RecordStreamFile.RECORD_STREAM_ITEMS_FIELD_NUMBER;
+		final var start = reserve(CodedOutputStream.computeMessageSize(fieldNumber, item));
+		final var output = deterministicOutput();
+		try {
+			output.writeMessage(fieldNumber, item);
+			output.flush();
+		} catch (IOException impossible) {
+			throw new UncheckedIOException(impossible);
+		}
+		digestFrom(start);
+	}
+
+	/**
+	 * Ensures the record file buffer has room for the given number of bytes, growing it if necessary.
 	 *
-	 * @param recordStreamFileProtoBuilder
-	 * 		the RecordStreamFile object that needs to be serialized
-	 * @return the serialized bytes
+	 * @param size
+	 * 		the number of bytes about to be appended
+	 * @return the position at which they will be appended
 	 */
-	private byte[] serialize(final RecordStreamFile.Builder recordStreamFileProtoBuilder) throws IOException {
-		final var recordStreamFileProto = recordStreamFileProtoBuilder.build();
-		final var result = new byte[recordStreamFileProto.getSerializedSize()];
-		final var output = CodedOutputStream.newInstance(result);
+	private int reserve(final int size) {
+		if (recordFileBuffer.remaining() < size) {
+			final var grown = ByteBuffer.allocateDirect(
+					Math.max(2 * recordFileBuffer.capacity(), recordFileBuffer.position() + size));
+			recordFileBuffer.flip();
+			grown.put(recordFileBuffer);
+			recordFileBuffer = grown;
+		}
+		return recordFileBuffer.position();
+	}
+
+	private CodedOutputStream deterministicOutput() {
+		final var output = CodedOutputStream.newInstance(recordFileBuffer);
 		output.useDeterministicSerialization();
-		recordStreamFileProto.writeTo(output);
-		output.checkNoSpaceLeft();
-		return result;
+		return output;
+	}
+
+	private void digestFrom(final int start) {
+		final var appended = recordFileBuffer.duplicate();
+		appended.flip().position(start);
+		streamDigest.update(appended);
+	}
+
+	private static byte[] intBytes(final int value) {
+		return new byte[] { (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value };
+	}
+
+	/**
+	 * Discards everything serialized and digested for the current record file, so that a file whose write
+	 * failed (or that already exists) cannot leak its bytes or hashes into the next one.
+	 */
+	private void abandonCurrentFile() {
+		if (dosMeta != null) {
+			try {
+				dosMeta.close();
+			} catch (IOException e) {
+				LOG.warn(EXCEPTION.getMarker(), "Exception in closing dosMeta of abandoned record file", e);
+			}
+			dosMeta = null;
+		}
+		writingFile = false;
+		recordFileBuffer.clear();
+		streamDigest.reset();
+		metadataStreamDigest.reset();
+	}
+
+	/**
+	 * Blocks until all signature files for already-closed record files have been written.
+	 */
+	private void awaitPendingSignatures() {
+		try {
+			signingExecutor.submit(() -> { }).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOG.warn(EXCEPTION.getMarker(), "Interrupted while waiting for pending signature files", e);
+		} catch (ExecutionException e) {
+			LOG.warn(EXCEPTION.getMarker(), "Failed waiting for pending signature files", e);
+		}
 	}
 
 	private HashObject toProto(final byte[] hash) {
@@ -455,16 +609,20 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 				.build();
 	}
 
-	private void createSignatureFile(final File relatedRecordStreamFile) {
+	private void createSignatureFile(
+			final String relatedFileNameShort,
+			final String sigFilePath,
+			final byte[] fileHash,
+			final byte[] metadataHash
+	) {
 		// create proto messages for signature file
-		final var fileSignature = generateSignatureObject(streamDigest.digest());
-		final var metadataSignature = generateSignatureObject(metadataStreamDigest.digest());
+		final var fileSignature = generateSignatureObject(fileHash);
+		final var metadataSignature = generateSignatureObject(metadataHash);
 		final var signatureFile = SignatureFile.newBuilder()
 				.setFileSignature(fileSignature)
 				.setMetadataSignature(metadataSignature);
 
 		// create signature file
-		final var sigFilePath = generateSigFilePath(relatedRecordStreamFile);
 		try (final var fos = new FileOutputStream(sigFilePath)) {
 			// version in signature files is 1 byte, compared to 4 in record files
 			fos.write(streamType.getSigFileHeader()[0]);
@@ -474,7 +632,7 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 		} catch (IOException e) {
 			LOG.error(EXCEPTION.getMarker(),
 					"closeCurrentAndSign ::  :: Fail to generate signature file for {}",
-					relatedRecordStreamFile.getName(), e);
+					relatedFileNameShort, e);
 		}
 	}
 
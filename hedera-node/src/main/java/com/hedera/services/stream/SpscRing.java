@@ -0,0 +1,107 @@
+package com.hedera.services.stream;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A bounded ring buffer that is safe for exactly one producer thread and one consumer thread. The
+ * producer never allocates, and the consumer takes everything available in one {@link #drainTo(Consumer, int)}
+ * call, publishing its progress once per batch instead of once per element.
+ *
+ * @param <T>
+ * 		the type of element in the ring
+ */
+final class SpscRing<T> {
+	private final Object[] slots;
+	private final int mask;
+	// The sequence of the next slot the consumer will read; only written by the consumer
+	private final AtomicLong head = new AtomicLong();
+	// The sequence of the next slot the producer will write; only written by the producer
+	private final AtomicLong tail = new AtomicLong();
+	// The producer's last view of head, refreshed only when the ring looks full
+	private long cachedHead;
+
+	SpscRing(final int minCapacity) {
+		final var capacity = minCapacity <= 1 ? 1 : Integer.highestOneBit(minCapacity - 1) << 1;
+		slots = new Object[capacity];
+		mask = capacity - 1;
+	}
+
+	/**
+	 * Adds the given element if there is room. Must only be called from the producer thread.
+	 *
+	 * @param element
+	 * 		the element to add
+	 * @return whether there was room
+	 */
+	boolean offer(final T element) {
+		final var seq = tail.get();
+		if (seq - cachedHead >= slots.length) {
+			cachedHead = head.get();
+			if (seq - cachedHead >= slots.length) {
+				return false;
+			}
+		}
+		slots[(int) (seq & mask)] = element;
+		tail.lazySet(seq + 1);
+		return true;
+	}
+
+	/**
+	 * Passes up to {@code limit} of the available elements, in order, to the given consumer. Must only
+	 * be called from the consumer thread.
+	 *
+	 * @param consumer
+	 * 		the consumer of the elements
+	 * @param limit
+	 * 		the maximum number of elements to drain
+	 * @return the number of elements drained
+	 */
+	@SuppressWarnings("unchecked")
+	int drainTo(final Consumer<? super T> consumer, final int limit) {
+		final var start = head.get();
+		final var n = (int) Math.min(tail.get() - start, limit);
+		var i = 0;
+		try {
+			while (i < n) {
+				final var index = (int) ((start + i) & mask);
+				final var element = (T) slots[index];
+				slots[index] = null;
+				i++;
+				consumer.accept(element);
+			}
+		} finally {
+			head.lazySet(start + i);
+		}
+		return n;
+	}
+
+	int size() {
+		return (int) (tail.get() - head.get());
+	}
+
+	int capacity() {
+		return slots.length;
+	}
+}
@@ -29,6 +29,8 @@ import com.hedera.services.sysfiles.domain.throttling.ThrottleBucket;
 import com.hedera.services.sysfiles.domain.throttling.ThrottleDefinitions;
 import com.hedera.services.sysfiles.domain.throttling.ThrottleGroup;
 import com.hedera.services.sysfiles.domain.throttling.ThrottleReqOpsScaleFactor;
+import com.hedera.services.throttles.ConcurrentDeterministicThrottle;
+import com.hedera.services.throttles.ConcurrentGasLimitThrottle;
 import com.hedera.services.throttles.DeterministicThrottle;
 import com.hedera.services.throttles.GasLimitDeterministicThrottle;
 import com.hedera.services.utils.accessors.TxnAccessor;
@@ -58,6 +60,16 @@ import static com.hedera.services.utils.accessors.SignedTxnAccessor.IS_THROTTLE_
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoCreate;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
 
+/**
+ * Throttles transactions and queries by their {@link HederaFunctionality} using the buckets in the active
+ * {@link ThrottleDefinitions}.
+ *
+ * <p>When constructed to be {@code lockFree} (as for {@link DeterministicThrottlingMode#HAPI} ingest throttling),
+ * the throttles are lock-free copies; that is, {@link ConcurrentDeterministicThrottle}s and a
+ * {@link ConcurrentGasLimitThrottle}. So many ingest threads can make throttling decisions at once without
+ * synchronizing. Otherwise, it keeps the deterministic, single-threaded throttles whose usage is part of
+ * consensus state.
+ */
 public class DeterministicThrottling implements TimedFunctionalityThrottling {
 	private static final Logger log = LogManager.getLogger(DeterministicThrottling.class);
 	private static final ThrottleReqOpsScaleFactor ONE_TO_ONE_SCALE = ThrottleReqOpsScaleFactor.from("1:1");
@@ -67,18 +79,21 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
 
 	public enum DeterministicThrottlingMode { HAPI, CONSENSUS, SCHEDULE }
 
+	private final boolean lockFree;
 	private final IntSupplier capacitySplitSource;
 	private final AliasManager aliasManager;
 	private final GlobalDynamicProperties dynamicProperties;
 	private final ScheduleStore scheduleStore;
 
-	private List<DeterministicThrottle> activeThrottles = Collections.emptyList();
-	private EnumMap<HederaFunctionality, ThrottleReqsManager> functionReqs = new EnumMap<>(HederaFunctionality.class);
+	private volatile List<DeterministicThrottle> activeThrottles = Collections.emptyList();
+	private volatile EnumMap<HederaFunctionality, ThrottleReqsManager> functionReqs =
+			new EnumMap<>(HederaFunctionality.class);
 	private ThrottleDefinitions activeDefs = null;
 
 	private DeterministicThrottlingMode mode;
-	private boolean lastTxnWasGasThrottled;
-	private GasLimitDeterministicThrottle gasThrottle;
+	/* Decisions may be made concurrently, so whether the last one was gas throttled is per thread */
+	private final ThreadLocal<boolean[]> lastTxnWasGasThrottled = ThreadLocal.withInitial(() -> new boolean[1]);
+	private volatile GasLimitDeterministicThrottle gasThrottle;
 
 	// we reuse this instance as an optimization
 	private AccessorTransactionDetails accessorTransactionDetails = new AccessorTransactionDetails();
@@ -89,6 +104,17 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
 			final GlobalDynamicProperties dynamicProperties,
 			final DeterministicThrottlingMode mode,
 			final ScheduleStore scheduleStore) {
+		this(capacitySplitSource, aliasManager, dynamicProperties, mode, scheduleStore, false);
+	}
+
+	public DeterministicThrottling(
+			final IntSupplier capacitySplitSource,
+			final AliasManager aliasManager,
+			final GlobalDynamicProperties dynamicProperties,
+			final DeterministicThrottlingMode mode,
+			final ScheduleStore scheduleStore,
+			final boolean lockFree) {
+		this.lockFree = lockFree;
 		this.capacitySplitSource = capacitySplitSource;
 		this.dynamicProperties = dynamicProperties;
 		this.mode = mode;
@@ -109,9 +135,13 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
 	@Override
 	public boolean shouldThrottleTxn(final TxnAccessor accessor, final Instant now) {
 		resetLastAllowedUse();
-		lastTxnWasGasThrottled = false;
-		accessorTransactionDetails.reset(accessor);
-		if (shouldThrottleTxn(false, accessorTransactionDetails, now)) {
+		lastTxnWasGasThrottled.get()[0] = false;
+		/* Lock-free throttling may be concurrent, so cannot share the reusable details */
+		final var details = lockFree
+				? new AccessorTransactionDetails()
+				: accessorTransactionDetails;
+		details.reset(accessor);
+		if (shouldThrottleTxn(false, details, now)) {
 			reclaimLastAllowedUse();
 			return true;
 		}
@@ -120,7 +150,7 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
 
 	@Override
 	public boolean wasLastTxnGasThrottled() {
-		return lastTxnWasGasThrottled;
+		return lastTxnWasGasThrottled.get()[0];
 	}
 
 	@Override
@@ -134,9 +164,10 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
 	@Override
 	public boolean shouldThrottleQuery(HederaFunctionality queryFunction, Instant now, Query query) {
 		resetLastAllowedUse();
+		final var curGasThrottle = gasThrottle;
 		if (isGasThrottled(queryFunction) &&
 				dynamicProperties.shouldThrottleByGas() &&
-				(gasThrottle == null || !gasThrottle.allow(now, query.getContractCallLocal().getGas()))) {
+				(curGasThrottle == null || !curGasThrottle.allow(now, query.getContractCallLocal().getGas()))) {
 			reclaimLastAllowedUse();
 			return true;
 		}
@@ -210,7 +241,9 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
 			default: throw new IllegalStateException("unknown mode " + mode);
 		}
 
-		gasThrottle = new GasLimitDeterministicThrottle(capacity);
+		gasThrottle = lockFree
+				? new ConcurrentGasLimitThrottle(capacity)
+				: new GasLimitDeterministicThrottle(capacity);
 
 		final var configDesc = "Resolved " +
 				mode +
@@ -229,7 +262,7 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
 
 	@Override
 	public void resetUsage() {
-		lastTxnWasGasThrottled = false;
+		lastTxnWasGasThrottled.get()[0] = false;
 		activeThrottles.forEach(DeterministicThrottle::resetUsage);
 		if (gasThrottle != null) {
 			gasThrottle.resetUsage();
@@ -261,7 +294,7 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
 		}
 
 		if (isGasExhausted(function, now, details)) {
-			lastTxnWasGasThrottled = true;
+			lastTxnWasGasThrottled.get()[0] = true;
 			return true;
 		}
 
@@ -421,22 +454,25 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
 	}
 
 	private boolean isGasExhausted(final HederaFunctionality function, final Instant now, TransactionDetails details) {
+		final var curGasThrottle = gasThrottle;
 		return dynamicProperties.shouldThrottleByGas() &&
 				isGasThrottled(function) &&
-				(gasThrottle == null || !gasThrottle.allow(now, details.getGasLimitForContractTx()));
+				(curGasThrottle == null || !curGasThrottle.allow(now, details.getGasLimitForContractTx()));
 	}
 
 	private void reclaimLastAllowedUse() {
 		activeThrottles.forEach(DeterministicThrottle::reclaimLastAllowedUse);
-		if (gasThrottle != null) {
-			gasThrottle.reclaimLastAllowedUse();
+		final var curGasThrottle = gasThrottle;
+		if (curGasThrottle != null) {
+			curGasThrottle.reclaimLastAllowedUse();
 		}
 	}
 
 	private void resetLastAllowedUse() {
 		activeThrottles.forEach(DeterministicThrottle::resetLastAllowedUse);
-		if (gasThrottle != null) {
-			gasThrottle.resetLastAllowedUse();
+		final var curGasThrottle = gasThrottle;
+		if (curGasThrottle != null) {
+			curGasThrottle.resetLastAllowedUse();
 		}
 	}
 
@@ -448,7 +484,9 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
 		for (var bucket : defs.getBuckets()) {
 			try {
 				var mapping = bucket.asThrottleMapping(capacitySplit);
-				var throttle = mapping.getLeft();
+				var throttle = lockFree
+						? ConcurrentDeterministicThrottle.copyOf(mapping.getLeft())
+						: mapping.getLeft();
 				var reqs = mapping.getRight();
 				for (var req : reqs) {
 					reqLists.computeIfAbsent(req.getLeft(), ignore -> new ArrayList<>())
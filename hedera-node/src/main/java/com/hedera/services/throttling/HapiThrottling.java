@@ -30,6 +30,11 @@ import com.hederahashgraph.api.proto.java.Query;
 import java.time.Instant;
 import java.util.List;
 
+/**
+ * Throttles transactions and queries at ingest, against the wall clock. The delegate is expected to be a
+ * {@link DeterministicThrottling} in {@code HAPI} mode, whose throttles are lock-free; so decisions from
+ * concurrent gRPC threads are not serialized here.
+ */
 public class HapiThrottling implements FunctionalityThrottling {
 	private static final String STABLE_SOURCE_OF_THROTTLES_ERROR =
 			"HAPI throttling should not be treated as a stable source of throttles";
@@ -41,12 +46,12 @@ public class HapiThrottling implements FunctionalityThrottling {
 	}
 
 	@Override
-	public synchronized boolean shouldThrottleTxn(TxnAccessor accessor) {
+	public boolean shouldThrottleTxn(TxnAccessor accessor) {
 		return delegate.shouldThrottleTxn(accessor, Instant.now());
 	}
 
 	@Override
-	public synchronized boolean shouldThrottleQuery(HederaFunctionality queryFunction, Query query) {
+	public boolean shouldThrottleQuery(HederaFunctionality queryFunction, Query query) {
 		return delegate.shouldThrottleQuery(queryFunction, Instant.now(), query);
 	}
 
@@ -30,12 +30,10 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 public class ThrottleReqsManager {
-	private final boolean[] passedReq;
 	private final List<Pair<DeterministicThrottle, Integer>> allReqs;
 
 	public ThrottleReqsManager(List<Pair<DeterministicThrottle, Integer>> allReqs) {
 		this.allReqs = allReqs;
-		passedReq = new boolean[allReqs.size()];
 	}
 
 	public boolean allReqsMetAt(Instant now) {
@@ -48,14 +46,13 @@ public class ThrottleReqsManager {
 
 	private boolean allVerboseReqsMetAt(Instant now, int nTransactions, ThrottleReqOpsScaleFactor scaleFactor) {
 		var allPassed = true;
-		for (int i = 0; i < passedReq.length; i++) {
+		for (int i = 0, n = allReqs.size(); i < n; i++) {
 			var req = allReqs.get(i);
 			var opsRequired = req.getRight();
 			if (scaleFactor != null) {
 				opsRequired = scaleFactor.scaling(nTransactions * opsRequired);
 			}
-			passedReq[i] = req.getLeft().allow(opsRequired, now);
-			allPassed &= passedReq[i];
+			allPassed &= req.getLeft().allow(opsRequired, now);
 		}
 
 		return allPassed;
@@ -47,7 +47,12 @@ public final class ThrottlingModule {
 			final ScheduleStore scheduleStore
 	) {
 		final var delegate = new DeterministicThrottling(
-				() -> addressBook.get().getSize(), aliasManager, dynamicProperties, DeterministicThrottlingMode.HAPI, scheduleStore);
+				() -> addressBook.get().getSize(),
+				aliasManager,
+				dynamicProperties,
+				DeterministicThrottlingMode.HAPI,
+				scheduleStore,
+				true);
 		return new HapiThrottling(delegate);
 	}
 
@@ -23,6 +23,7 @@ package com.hedera.services.txns;
 import com.hedera.services.context.TransactionContext;
 import com.hedera.services.exceptions.InvalidTransactionException;
 import com.hedera.services.ledger.ids.EntityIdSource;
+import com.hedera.services.txns.span.ExpandHandleSpanMapAccessor;
 import com.hedera.services.utils.accessors.TxnAccessor;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import org.apache.logging.log4j.LogManager;
@@ -87,16 +88,19 @@ public class TransitionRunner {
 	private final EntityIdSource ids;
 	private final TransactionContext txnCtx;
 	private final TransitionLogicLookup lookup;
+	private final ExpandHandleSpanMapAccessor spanMapAccessor;
 
 	@Inject
 	public TransitionRunner(
 			final EntityIdSource ids,
 			final TransactionContext txnCtx,
-			final TransitionLogicLookup lookup
+			final TransitionLogicLookup lookup,
+			final ExpandHandleSpanMapAccessor spanMapAccessor
 	) {
 		this.ids = ids;
 		this.txnCtx = txnCtx;
 		this.lookup = lookup;
+		this.spanMapAccessor = spanMapAccessor;
 	}
 
 	/**
@@ -123,6 +127,14 @@ public class TransitionRunner {
 				return false;
 			}
 
+			// A rationalized span may already tell us the first entity the transition loads is unusable
+			final var tokenOpsExpansion = spanMapAccessor.getTokenOpsExpansion(accessor);
+			if (tokenOpsExpansion != null && tokenOpsExpansion.result() != OK) {
+				txnCtx.setStatus(tokenOpsExpansion.result());
+				ids.reclaimProvisionalIds();
+				return true;
+			}
+
 			try {
 				transition.doStateTransition();
 				if (opsWithDefaultSuccessStatus.contains(function)) {
@@ -23,6 +23,7 @@ package com.hedera.services.txns.consensus;
 import com.hedera.services.context.TransactionContext;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.state.merkle.MerkleTopic;
+import com.hedera.services.txns.span.ExpandHandleSpanMapAccessor;
 import com.hedera.services.utils.EntityNum;
 import com.hedera.services.txns.TransitionLogic;
 import com.hedera.services.txns.validation.OptionValidator;
@@ -57,18 +58,21 @@ public class SubmitMessageTransitionLogic implements TransitionLogic {
 	private final TransactionContext transactionContext;
 	private final Supplier<MerkleMap<EntityNum, MerkleTopic>> topics;
 	private final GlobalDynamicProperties globalDynamicProperties;
+	private final ExpandHandleSpanMapAccessor spanMapAccessor;
 
 	@Inject
 	public SubmitMessageTransitionLogic(
 			Supplier<MerkleMap<EntityNum, MerkleTopic>> topics,
 			OptionValidator validator,
 			TransactionContext transactionContext,
-			GlobalDynamicProperties globalDynamicProperties
+			GlobalDynamicProperties globalDynamicProperties,
+			ExpandHandleSpanMapAccessor spanMapAccessor
 	) {
 		this.topics = topics;
 		this.validator = validator;
 		this.transactionContext = transactionContext;
 		this.globalDynamicProperties = globalDynamicProperties;
+		this.spanMapAccessor = spanMapAccessor;
 	}
 
 	@Override
@@ -86,7 +90,11 @@ public class SubmitMessageTransitionLogic implements TransitionLogic {
 			return;
 		}
 
-		var topicStatus = validator.queryableTopicStatus(op.getTopicID(), topics.get());
+		// If the span was rationalized, the topic status computed from the signed state is still valid
+		var topicExpansion = spanMapAccessor.getTopicExpansion(transactionContext.accessor());
+		var topicStatus = (topicExpansion != null)
+				? topicExpansion.topicStatus()
+				: validator.queryableTopicStatus(op.getTopicID(), topics.get());
 		if (OK != topicStatus) {
 			transactionContext.setStatus(topicStatus);
 			return;
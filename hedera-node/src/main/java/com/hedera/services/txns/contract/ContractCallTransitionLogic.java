@@ -32,6 +32,7 @@ import com.hedera.services.store.contracts.CodeCache;
 import com.hedera.services.store.contracts.EntityAccess;
 import com.hedera.services.store.contracts.HederaMutableWorldState;
 import com.hedera.services.store.contracts.HederaWorldState;
+import com.hedera.services.store.contracts.StorageWarmCache;
 import com.hedera.services.store.models.Account;
 import com.hedera.services.store.models.Id;
 import com.hedera.services.txns.PreFetchableTransition;
@@ -70,6 +71,7 @@ public class ContractCallTransitionLogic implements PreFetchableTransition {
 	private final AliasManager aliasManager;
 	private final SigImpactHistorian sigImpactHistorian;
 	private final EntityAccess entityAccess;
+	private final StorageWarmCache storageWarmCache;
 
 	@Inject
 	public ContractCallTransitionLogic(
@@ -82,7 +84,8 @@ public class ContractCallTransitionLogic implements PreFetchableTransition {
 			final CodeCache codeCache,
 			final SigImpactHistorian sigImpactHistorian,
 			final AliasManager aliasManager,
-			final EntityAccess entityAccess
+			final EntityAccess entityAccess,
+			final StorageWarmCache storageWarmCache
 	) {
 		this.txnCtx = txnCtx;
 		this.aliasManager = aliasManager;
@@ -94,6 +97,7 @@ public class ContractCallTransitionLogic implements PreFetchableTransition {
 		this.codeCache = codeCache;
 		this.sigImpactHistorian = sigImpactHistorian;
 		this.entityAccess = entityAccess;
+		this.storageWarmCache = storageWarmCache;
 	}
 
 	@Override
@@ -204,6 +208,11 @@ public class ContractCallTransitionLogic implements PreFetchableTransition {
 		} catch (Exception e) {
 			log.warn("Exception while attempting to pre-fetch code for {}", address, e);
 		}
+		try {
+			storageWarmCache.warm(id.longValue());
+		} catch (Exception e) {
+			log.warn("Exception while attempting to pre-fetch storage for {}", address, e);
+		}
 	}
 
 	private EntityNum targetOf(final ContractCallTransactionBody op) {
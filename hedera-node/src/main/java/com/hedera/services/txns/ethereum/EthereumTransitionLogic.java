@@ -168,6 +168,10 @@ public class EthereumTransitionLogic implements PreFetchableTransition {
 	@Override
 	public void preFetch(final TxnAccessor accessor) {
 		spanMapManager.expandEthereumSpan(accessor);
+		final var synthTxn = spanMapAccessor.getEthTxBodyMeta(accessor);
+		if (synthTxn != null && synthTxn.hasContractCall()) {
+			contractCallTransitionLogic.preFetchOperation(synthTxn.getContractCall());
+		}
 	}
 
 	@Override
@@ -84,8 +84,10 @@ public class FreezeTransitionLogic implements TransitionLogic {
 
 		switch (op.getFreezeType()) {
 			case PREPARE_UPGRADE:
-				final var softwareUpdateZip = specialFiles.get().get(op.getUpdateFile());
-				upgradeActions.extractSoftwareUpgrade(softwareUpdateZip);
+				final var softwareUpdateFiles = specialFiles.get();
+				upgradeActions.extractSoftwareUpgrade(
+						softwareUpdateFiles.getAsStream(op.getUpdateFile()),
+						softwareUpdateFiles.sizeOf(op.getUpdateFile()));
 				networkCtx.get().recordPreparedUpgrade(op);
 				break;
 			case FREEZE_UPGRADE:
@@ -96,8 +98,11 @@ public class FreezeTransitionLogic implements TransitionLogic {
 				networkCtx.get().discardPreparedUpgradeMeta();
 				break;
 			case TELEMETRY_UPGRADE:
-				final var telemetryUpdateZip = specialFiles.get().get(op.getUpdateFile());
-				upgradeActions.extractTelemetryUpgrade(telemetryUpdateZip, timestampToInstant(op.getStartTime()));
+				final var telemetryUpdateFiles = specialFiles.get();
+				upgradeActions.extractTelemetryUpgrade(
+						telemetryUpdateFiles.getAsStream(op.getUpdateFile()),
+						telemetryUpdateFiles.sizeOf(op.getUpdateFile()),
+						timestampToInstant(op.getStartTime()));
 				break;
 			default:
 			case FREEZE_ONLY:
@@ -33,6 +33,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
@@ -65,7 +66,7 @@ public class UpgradeActions {
 	public static final String MARK = "✓";
 
 	public interface UnzipAction {
-		void unzip(byte[] archiveData, String artifactsLoc) throws IOException;
+		void unzip(InputStream archive, String artifactsLoc) throws IOException;
 	}
 
 	private FileStringWriter fileStringWriter = Files::writeString;
@@ -97,12 +98,12 @@ public class UpgradeActions {
 		}
 	}
 
-	public CompletableFuture<Void> extractTelemetryUpgrade(final byte[] archiveData, final Instant now) {
-		return extractNow(archiveData, TELEMETRY_UPGRADE_DESC, EXEC_TELEMETRY_MARKER, now);
+	public CompletableFuture<Void> extractTelemetryUpgrade(final InputStream archive, final long size, final Instant now) {
+		return extractNow(archive, size, TELEMETRY_UPGRADE_DESC, EXEC_TELEMETRY_MARKER, now);
 	}
 
-	public CompletableFuture<Void> extractSoftwareUpgrade(final byte[] archiveData) {
-		return extractNow(archiveData, PREPARE_UPGRADE_DESC, EXEC_IMMEDIATE_MARKER, null);
+	public CompletableFuture<Void> extractSoftwareUpgrade(final InputStream archive, final long size) {
+		return extractNow(archive, size, PREPARE_UPGRADE_DESC, EXEC_IMMEDIATE_MARKER, null);
 	}
 
 	public void scheduleFreezeOnlyAt(final Instant freezeTime) {
@@ -140,18 +141,18 @@ public class UpgradeActions {
 	/* --- Internal methods --- */
 
 	private CompletableFuture<Void> extractNow(
-			final byte[] archiveData,
+			final InputStream archive,
+			final long size,
 			final String desc,
 			final String marker,
 			@Nullable final Instant now
 	) {
-		final var size = archiveData.length;
 		final var artifactsLoc = dynamicProperties.upgradeArtifactsLoc();
 		log.info("About to unzip {} bytes for {} update into {}", size, desc, artifactsLoc);
 		return runAsync(() -> {
 			try {
 				FileUtils.cleanDirectory(new File(artifactsLoc));
-				unzipAction.unzip(archiveData, artifactsLoc);
+				unzipAction.unzip(archive, artifactsLoc);
 				log.info("Finished unzipping {} bytes for {} update into {}", size, desc, artifactsLoc);
 				writeSecondMarker(marker, now);
 			} catch (IOException e) {
@@ -189,8 +190,8 @@ public class UpgradeActions {
 			return;
 		}
 
-		final var archiveData = curSpecialFiles.get(upgradeFileId);
-		extractSoftwareUpgrade(archiveData).join();
+		final var archive = curSpecialFiles.getAsStream(upgradeFileId);
+		extractSoftwareUpgrade(archive, curSpecialFiles.sizeOf(upgradeFileId)).join();
 	}
 
 	private void withNonNullDualState(String actionDesc, Consumer<SwirldDualState> action) {
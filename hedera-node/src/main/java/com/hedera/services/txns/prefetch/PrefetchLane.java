@@ -0,0 +1,44 @@
+package com.hedera.services.txns.prefetch;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+
+/**
+ * The bounded lanes of the {@link PrefetchProcessor}, in the order its workers drain them. Only smart
+ * contract transitions are pre-fetchable; and among those, Ethereum transactions come before HAPI contract
+ * calls because they additionally pay for the sender's ECDSA key recovery.
+ */
+public enum PrefetchLane {
+    ETHEREUM,
+    CONTRACT;
+
+    /**
+     * Returns the lane a pre-fetch for the given functionality should be queued in.
+     *
+     * @param function the functionality of the transaction being pre-fetched
+     * @return its lane
+     */
+    public static PrefetchLane laneFor(final HederaFunctionality function) {
+        return function == HederaFunctionality.EthereumTransaction ? ETHEREUM : CONTRACT;
+    }
+}
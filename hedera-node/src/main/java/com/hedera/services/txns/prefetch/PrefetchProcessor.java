@@ -21,7 +21,11 @@ package com.hedera.services.txns.prefetch;
  */
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.stats.MiscSpeedometers;
 import com.hedera.services.txns.PreFetchableTransition;
 import com.hedera.services.txns.TransitionLogicLookup;
 import com.hedera.services.utils.accessors.SwirldsTxnAccessor;
@@ -30,17 +34,28 @@ import org.apache.logging.log4j.Logger;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Processing dispatch layer for transactions submitted during the prepare stage (aka expand
- * signatures) that uses an {@code ExecutorService} to schedule the tasks to a static thread
- * pool. The tasks are responsible for fetching data that can be used during the serial execution
- * portion of the transaction (for example, loading of EVM contract bytecode).
+ * signatures) that schedules the tasks to a static pool of worker threads. The tasks are
+ * responsible for fetching data that can be used during the serial execution portion of the
+ * transaction (for example, loading of EVM contract bytecode).
+ *
+ * Tasks are queued in a bounded lane per {@link PrefetchLane}, so that a burst of one kind of
+ * transaction cannot crowd out pre-fetches of another; and the workers always drain the
+ * highest-priority non-empty lane first. Once the handle thread reaches a transaction, it
+ * {@link #claim(SwirldsTxnAccessor)}s its task; a task that is still queued at that point is
+ * dropped, since running it would only contend with handle for the same data. Tasks for transactions
+ * that never reach handle (for example, because their event was stale) are evicted from the in-flight
+ * cache once it exceeds the combined lane capacity, or after {@link #IN_FLIGHT_TTL_SECS} seconds.
  */
 @Singleton
 public class PrefetchProcessor {
@@ -52,42 +67,55 @@ public class PrefetchProcessor {
     @VisibleForTesting
     static final int MINIMUM_THREAD_POOL_SIZE = 2;
 
-    BlockingQueue<Runnable> queue;
+    @VisibleForTesting
+    static final long IN_FLIGHT_TTL_SECS = 180;
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    final Map<PrefetchLane, BlockingQueue<PrefetchTask>> lanes = new EnumMap<>(PrefetchLane.class);
+    final Semaphore queuedTasks = new Semaphore(0);
+    final Cache<SwirldsTxnAccessor, PrefetchTask> inFlight;
     ExecutorService executorService;
     TransitionLogicLookup lookup;
+    MiscRunningAvgs runningAvgs;
+    MiscSpeedometers speedometers;
 
     @Inject
     public PrefetchProcessor(
             NodeLocalProperties properties,
-            TransitionLogicLookup lookup
+            TransitionLogicLookup lookup,
+            MiscRunningAvgs runningAvgs,
+            MiscSpeedometers speedometers
     ) {
-        final int queueSize = Math.max(properties.prefetchQueueCapacity(), MINIMUM_QUEUE_CAPACITY);
+        final int laneCapacity = Math.max(properties.prefetchQueueCapacity(), MINIMUM_QUEUE_CAPACITY);
         final int threadPoolSize = Math.max(properties.prefetchThreadPoolSize(), MINIMUM_THREAD_POOL_SIZE);
 
         this.lookup = lookup;
-        queue = new ArrayBlockingQueue<>(queueSize);
-        executorService = createExecutorService(threadPoolSize, queue);
+        this.runningAvgs = runningAvgs;
+        this.speedometers = speedometers;
+        for (final var lane : PrefetchLane.values()) {
+            lanes.put(lane, new ArrayBlockingQueue<>(laneCapacity));
+        }
+        inFlight = CacheBuilder.newBuilder()
+                .maximumSize((long) laneCapacity * lanes.size())
+                .expireAfterWrite(IN_FLIGHT_TTL_SECS, TimeUnit.SECONDS)
+                .build();
+        executorService = createExecutorService(threadPoolSize);
+        for (int i = 0; i < threadPoolSize; i++) {
+            executorService.execute(this::drainLanes);
+        }
     }
 
     @VisibleForTesting
-    ExecutorService createExecutorService(int threadPoolSize, BlockingQueue<Runnable> queue) {
-        final var executor = new ThreadPoolExecutor(
-                threadPoolSize,
-                threadPoolSize,
-                0L,
-                TimeUnit.MILLISECONDS,
-                queue
-        );
-        executor.setRejectedExecutionHandler((runnable, execService) -> logger.warn("Pre-fetch queue is FULL!"));
-        executor.prestartAllCoreThreads();
-        return executor;
+    ExecutorService createExecutorService(int threadPoolSize) {
+        return Executors.newFixedThreadPool(threadPoolSize);
     }
 
     /**
      * Attempts to schedule a pre-fetch task for the given transaction. A task will be created
      * only if the transition logic associated with the transaction request type implements
-     * {@code PreFetchableTransition}. If the task cannot be scheduled due to the schedule queue
-     * being full, the task will be skipped. The pre-fetch action is optional and is only intended
+     * {@code PreFetchableTransition}. If the task cannot be scheduled due to its lane being
+     * full, the task will be skipped. The pre-fetch action is optional and is only intended
      * for performance optimization; the handleTransaction portion of {@code EventFlow} will pay
      * the cost of whatever the pre-fetch operation was.
      *
@@ -99,13 +127,71 @@ public class PrefetchProcessor {
         if (opt.isPresent()) {
             final var logic = opt.get();
             if (logic instanceof PreFetchableTransition transition) {
-                executorService.execute(() -> {
-                    try {
-                        transition.preFetch(accessor);
-                    } catch (RuntimeException e) {
-                        logger.warn("Exception thrown during pre-fetch", e);
-                    }
-                });
+                final var lane = PrefetchLane.laneFor(accessor.getFunction());
+                final var task = new PrefetchTask(accessor, transition, lane, System.nanoTime());
+                inFlight.put(accessor, task);
+                if (lanes.get(lane).offer(task)) {
+                    queuedTasks.release();
+                    runningAvgs.recordPrefetchQueueDepth(queuedTasks.availablePermits());
+                } else {
+                    inFlight.invalidate(accessor);
+                    speedometers.cyclePrefetchOverflows();
+                    logger.warn("Pre-fetch {} lane is FULL!", lane);
+                }
+            }
+        }
+    }
+
+    /**
+     * Called from the handle thread when consensus handling of the given transaction begins. If its
+     * pre-fetch is still queued, it is dropped; if it already completed successfully, the lead time it
+     * had over handle is recorded.
+     *
+     * @param accessor the transaction whose handling is starting
+     */
+    public void claim(SwirldsTxnAccessor accessor) {
+        final var task = inFlight.getIfPresent(accessor);
+        if (task == null) {
+            return;
+        }
+        inFlight.invalidate(accessor);
+        final var handleStart = System.nanoTime();
+        if (task.tryDrop()) {
+            speedometers.cyclePrefetchDeadlineDrops();
+        } else if (task.status() == PrefetchTask.Status.COMPLETED) {
+            runningAvgs.recordPrefetchLeadTimeMs((handleStart - task.completedNanos()) / NANOS_PER_MILLI);
+        } else if (!task.isDone()) {
+            speedometers.cyclePrefetchLateFinishes();
+        }
+    }
+
+    /**
+     * Polls the lanes in priority order for the next queued task.
+     *
+     * @return the next task, or null if all lanes are empty
+     */
+    @VisibleForTesting
+    PrefetchTask nextTask() {
+        for (final var lane : PrefetchLane.values()) {
+            final var task = lanes.get(lane).poll();
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private void drainLanes() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                queuedTasks.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            final var task = nextTask();
+            if (task != null) {
+                task.run();
             }
         }
     }
@@ -0,0 +1,116 @@
+package com.hedera.services.txns.prefetch;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.txns.PreFetchableTransition;
+import com.hedera.services.utils.accessors.TxnAccessor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A single pre-fetch scheduled by the {@link PrefetchProcessor}, which doubles as the completion handle
+ * the handle thread can check once it reaches the transaction.
+ *
+ * The task moves from {@link Status#QUEUED} to either {@link Status#RUNNING} (when a worker picks it up)
+ * or {@link Status#DROPPED} (when consensus handling starts first); since both transitions are a
+ * compare-and-set from {@code QUEUED}, a task whose handling has already begun is never run.
+ */
+public class PrefetchTask implements Runnable {
+    private static final Logger logger = LogManager.getLogger(PrefetchTask.class);
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, DROPPED
+    }
+
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+    private final TxnAccessor accessor;
+    private final PreFetchableTransition transition;
+    private final PrefetchLane lane;
+    private final long submittedNanos;
+    private volatile long completedNanos;
+
+    public PrefetchTask(
+            final TxnAccessor accessor,
+            final PreFetchableTransition transition,
+            final PrefetchLane lane,
+            final long submittedNanos
+    ) {
+        this.accessor = accessor;
+        this.transition = transition;
+        this.lane = lane;
+        this.submittedNanos = submittedNanos;
+    }
+
+    @Override
+    public void run() {
+        if (!status.compareAndSet(Status.QUEUED, Status.RUNNING)) {
+            return;
+        }
+        try {
+            transition.preFetch(accessor);
+            completedNanos = System.nanoTime();
+            status.set(Status.COMPLETED);
+        } catch (RuntimeException e) {
+            logger.warn("Exception thrown during pre-fetch", e);
+            completedNanos = System.nanoTime();
+            status.set(Status.FAILED);
+        }
+    }
+
+    /**
+     * Drops this task if no worker has started it yet.
+     *
+     * @return whether the task was dropped
+     */
+    boolean tryDrop() {
+        return status.compareAndSet(Status.QUEUED, Status.DROPPED);
+    }
+
+    /**
+     * Indicates whether the pre-fetch has finished, successfully or not; so that the handle thread
+     * will not contend with it for the same data.
+     *
+     * @return whether the pre-fetch is finished
+     */
+    public boolean isDone() {
+        final var current = status.get();
+        return current == Status.COMPLETED || current == Status.FAILED;
+    }
+
+    public Status status() {
+        return status.get();
+    }
+
+    public PrefetchLane lane() {
+        return lane;
+    }
+
+    public long submittedNanos() {
+        return submittedNanos;
+    }
+
+    public long completedNanos() {
+        return completedNanos;
+    }
+}
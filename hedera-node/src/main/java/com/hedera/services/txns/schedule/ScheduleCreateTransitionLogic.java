@@ -28,8 +28,10 @@ import com.hedera.services.ledger.SigImpactHistorian;
 import com.hedera.services.state.virtual.schedule.ScheduleVirtualValue;
 import com.hedera.services.store.schedule.ScheduleStore;
 import com.hedera.services.txns.TransitionLogic;
+import com.hedera.services.txns.span.ExpandHandleSpanMapAccessor;
 import com.hedera.services.txns.validation.OptionValidator;
 import com.hedera.services.txns.validation.PureValidation;
+import com.hedera.services.utils.accessors.TxnAccessor;
 import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
 import com.hederahashgraph.api.proto.java.ScheduleID;
 import com.hederahashgraph.api.proto.java.SignatureMap;
@@ -68,6 +70,7 @@ public class ScheduleCreateTransitionLogic implements TransitionLogic {
 	private final ScheduleStore store;
 	private final TransactionContext txnCtx;
 	private final ScheduleProcessing scheduleProcessing;
+	private final ExpandHandleSpanMapAccessor spanMapAccessor;
 
 	SigMapScheduleClassifier classifier;
 	SignatoryUtils.ScheduledSigningsWitness signingsWitness;
@@ -81,7 +84,8 @@ public class ScheduleCreateTransitionLogic implements TransitionLogic {
 			final OptionValidator validator,
 			final ScheduleExecutor executor,
 			final SigImpactHistorian sigImpactHistorian,
-			final ScheduleProcessing scheduleProcessing
+			final ScheduleProcessing scheduleProcessing,
+			final ExpandHandleSpanMapAccessor spanMapAccessor
 	) {
 		this.properties = properties;
 		this.store = store;
@@ -91,6 +95,7 @@ public class ScheduleCreateTransitionLogic implements TransitionLogic {
 		this.executor = executor;
 		this.sigImpactHistorian = sigImpactHistorian;
 		this.scheduleProcessing = scheduleProcessing;
+		this.spanMapAccessor = spanMapAccessor;
 		classifier = scheduleProcessing.classifier;
 		signingsWitness = scheduleProcessing.signingsWitness;
 	}
@@ -99,15 +104,18 @@ public class ScheduleCreateTransitionLogic implements TransitionLogic {
 	public void doStateTransition() {
 		try {
 			final var accessor = txnCtx.accessor();
-			transitionFor(accessor.getTxnBytes(), accessor.getSigMap());
+			transitionFor(accessor, accessor.getSigMap());
 		} catch (Exception e) {
 			log.warn("Unhandled error while processing :: {}!", txnCtx.accessor().getSignedTxnWrapper(), e);
 			abortWith(FAIL_INVALID);
 		}
 	}
 
-	private void transitionFor(final byte[] bodyBytes, final SignatureMap sigMap) throws InvalidProtocolBufferException {
-		final var idSchedulePair = store.lookupSchedule(bodyBytes);
+	private void transitionFor(final TxnAccessor accessor, final SignatureMap sigMap) throws InvalidProtocolBufferException {
+		final var expansion = spanMapAccessor.getScheduleCreateExpansion(accessor);
+		final var idSchedulePair = (expansion == null)
+				? store.lookupSchedule(accessor.getTxnBytes())
+				: store.lookupSchedule(expansion.schedule(), expansion.equalityKey(), expansion.equalityValue());
 		@Nullable final var existingScheduleId = idSchedulePair.getLeft();
 		final var schedule = idSchedulePair.getRight();
 		if (null != existingScheduleId) {
@@ -85,7 +85,10 @@ public class ExpandHandleSpan {
 			spanMapManager.rationalizeSpan(cachedAccessor);
 			return cachedAccessor;
 		} else {
-			return spanAccessorFor(transaction);
+			final var accessor = spanAccessorFor(transaction);
+			// Any expansion here was still computed from the latest signed state, so must be rationalized
+			spanMapManager.rationalizeSpan(accessor);
+			return accessor;
 		}
 	}
 
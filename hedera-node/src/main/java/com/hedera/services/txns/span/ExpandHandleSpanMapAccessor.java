@@ -66,6 +66,9 @@ public class ExpandHandleSpanMapAccessor {
 	private static final String ETH_TX_BODY_META_KEY = "ethTxBodyMeta";
 	private static final String ETH_TX_EXPANSION_KEY = "ethTxExpansion";
 	private static final String PRNG_META_KEY = "prngMeta";
+	private static final String TOKEN_OPS_EXPANSION_KEY = "tokenOpsExpansion";
+	private static final String TOPIC_EXPANSION_KEY = "topicExpansion";
+	private static final String SCHEDULE_CREATE_EXPANSION_KEY = "scheduleCreateExpansion";
 
 	@Inject
 	public ExpandHandleSpanMapAccessor() {
@@ -235,4 +238,44 @@ public class ExpandHandleSpanMapAccessor {
 	public void setPrngMeta(TxnAccessor accessor, PrngMeta prngMeta) {
 		accessor.getSpanMap().put(PRNG_META_KEY, prngMeta);
 	}
+
+	public void setTokenOpsExpansion(final TxnAccessor accessor, final TokenOpsExpansion expansion) {
+		accessor.getSpanMap().put(TOKEN_OPS_EXPANSION_KEY, expansion);
+	}
+
+	public void setTokenOpsExpansion(final Map<String, Object> spanMap, final TokenOpsExpansion expansion) {
+		spanMap.put(TOKEN_OPS_EXPANSION_KEY, expansion);
+	}
+
+	public TokenOpsExpansion getTokenOpsExpansion(final TxnAccessor accessor) {
+		return (TokenOpsExpansion) accessor.getSpanMap().get(TOKEN_OPS_EXPANSION_KEY);
+	}
+
+	public void clearTokenOpsExpansion(final Map<String, Object> spanMap) {
+		spanMap.remove(TOKEN_OPS_EXPANSION_KEY);
+	}
+
+	public void setTopicExpansion(final TxnAccessor accessor, final TopicExpansion expansion) {
+		accessor.getSpanMap().put(TOPIC_EXPANSION_KEY, expansion);
+	}
+
+	public TopicExpansion getTopicExpansion(final TxnAccessor accessor) {
+		return (TopicExpansion) accessor.getSpanMap().get(TOPIC_EXPANSION_KEY);
+	}
+
+	public void clearTopicExpansion(final Map<String, Object> spanMap) {
+		spanMap.remove(TOPIC_EXPANSION_KEY);
+	}
+
+	public void setScheduleCreateExpansion(final TxnAccessor accessor, final ScheduleCreateExpansion expansion) {
+		accessor.getSpanMap().put(SCHEDULE_CREATE_EXPANSION_KEY, expansion);
+	}
+
+	public ScheduleCreateExpansion getScheduleCreateExpansion(final TxnAccessor accessor) {
+		return (ScheduleCreateExpansion) accessor.getSpanMap().get(SCHEDULE_CREATE_EXPANSION_KEY);
+	}
+
+	public void clearScheduleCreateExpansion(final Map<String, Object> spanMap) {
+		spanMap.remove(SCHEDULE_CREATE_EXPANSION_KEY);
+	}
 }
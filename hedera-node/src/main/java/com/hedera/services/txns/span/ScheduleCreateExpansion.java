@@ -0,0 +1,40 @@
+package com.hedera.services.txns.span;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.virtual.schedule.ScheduleVirtualValue;
+
+/**
+ * Summarizes the schedule parsed from a {@code ScheduleCreate}, along with the equality hash used to find an
+ * identical existing schedule. Since all of these are pure functions of the transaction body bytes, they are
+ * computed during signature expansion instead of on the handle thread.
+ *
+ * @param schedule the schedule parsed from the body bytes
+ * @param equalityKey the key of the schedule's equality hash
+ * @param equalityValue the value of the schedule's equality hash
+ */
+public record ScheduleCreateExpansion(ScheduleVirtualValue schedule, long equalityKey, String equalityValue) {
+	public static ScheduleCreateExpansion from(final byte[] bodyBytes) {
+		final var schedule = ScheduleVirtualValue.from(bodyBytes, 0L);
+		return new ScheduleCreateExpansion(schedule, schedule.equalityCheckKey(), schedule.equalityCheckValue());
+	}
+}
@@ -32,15 +32,24 @@ import com.hedera.services.grpc.marshalling.ImpliedTransfersMarshal;
 import com.hedera.services.ledger.SigImpactHistorian;
 import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.sigs.order.LinkedRefs;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleToken;
 import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.virtual.VirtualBlobKey;
 import com.hedera.services.state.virtual.VirtualBlobValue;
 import com.hedera.services.store.contracts.precompile.SyntheticTxnFactory;
 import com.hedera.services.txns.contract.ContractCallTransitionLogic;
+import com.hedera.services.stats.SpanExpansionCounters;
 import com.hedera.services.txns.customfees.CustomFeeSchedules;
+import com.hedera.services.utils.EntityNum;
 import com.hedera.services.utils.accessors.TxnAccessor;
+import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.FileID;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.TokenID;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.swirlds.merkle.map.MerkleMap;
 import com.swirlds.virtualmap.VirtualMap;
 import org.apache.commons.lang3.tuple.Pair;
 import org.bouncycastle.util.encoders.Hex;
@@ -48,6 +57,9 @@ import org.bouncycastle.util.encoders.Hex;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -56,13 +68,25 @@ import java.util.Set;
 import java.util.function.Function;
 
 import static com.hedera.services.state.merkle.internals.BitPackUtils.codeFromNum;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ConsensusSubmitMessage;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.EthereumTransaction;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ScheduleCreate;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenAccountWipe;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenAssociateToAccount;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenBurn;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenDissociateFromAccount;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenMint;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.ACCOUNT_DELETED;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.CONTRACT_FILE_EMPTY;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.FILE_DELETED;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_ACCOUNT_ID;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_ETHEREUM_TRANSACTION;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_FILE_ID;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_TOKEN_ID;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_TOPIC_ID;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.TOKEN_WAS_DELETED;
 
 /**
  * Responsible for managing the properties in a {@link TxnAccessor#getSpanMap()}.
@@ -76,15 +100,26 @@ import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
  * safely.</li>
  * </ol>
  *
- * The only entry currently in the span map is the {@link com.hedera.services.grpc.marshalling.ImpliedTransfers}
- * produced by the {@link ImpliedTransfersMarshal}; this improves performance for
- * CrypoTransfers specifically.
+ * For CryptoTransfers, the span map holds the {@link com.hedera.services.grpc.marshalling.ImpliedTransfers}
+ * produced by the {@link ImpliedTransfersMarshal}; and for EthereumTransactions, an {@link EthTxExpansion}.
  *
- * Other operations will certainly be able to benefit from the same infrastructure
- * over time.
+ * For the token operations in {@link SpanMapManager#TOKEN_OPS_FUNCTIONS} and for ConsensusSubmitMessage,
+ * the span map holds a {@link TokenOpsExpansion} or {@link TopicExpansion} that pre-validates, from the
+ * latest signed state, the existence and deletion status of the entities {@code handleTransaction} will
+ * load first. These are exactly the changes tracked by the {@link SigImpactHistorian}, so the expansions
+ * are re-usable whenever none of their {@link LinkedRefs} have changed.
+ *
+ * For ScheduleCreate, the span map holds a {@link ScheduleCreateExpansion} with the parsed schedule and its
+ * equality hash; these depend only on the transaction body, so need no state to compute or re-validate.
  */
 @Singleton
 public class SpanMapManager {
+	public static final Set<HederaFunctionality> TOKEN_OPS_FUNCTIONS = Collections.unmodifiableSet(EnumSet.of(
+			TokenMint, TokenBurn, TokenAccountWipe, TokenAssociateToAccount, TokenDissociateFromAccount));
+	public static final Set<HederaFunctionality> EXPANDED_FUNCTIONS = Collections.unmodifiableSet(EnumSet.of(
+			CryptoTransfer, EthereumTransaction, ConsensusSubmitMessage, ScheduleCreate,
+			TokenMint, TokenBurn, TokenAccountWipe, TokenAssociateToAccount, TokenDissociateFromAccount));
+
 	private final AliasManager aliasManager;
 	private final SigImpactHistorian sigImpactHistorian;
 	private final MutableStateChildren workingState;
@@ -96,6 +131,7 @@ public class SpanMapManager {
 	private final ExpandHandleSpanMapAccessor spanMapAccessor;
 	private final ContractCallTransitionLogic contractCallTransitionLogic;
 	private final Function<EthTxData, EthTxSigs> sigsFunction;
+	private final SpanExpansionCounters spanCounters;
 
 	@Inject
 	public SpanMapManager(
@@ -109,7 +145,8 @@ public class SpanMapManager {
 			final CustomFeeSchedules customFeeSchedules,
 			final SigImpactHistorian sigImpactHistorian,
 			final MutableStateChildren workingState,
-			final AliasManager aliasManager
+			final AliasManager aliasManager,
+			final SpanExpansionCounters spanCounters
 	) {
 		this.contractCallTransitionLogic = contractCallTransitionLogic;
 		this.impliedTransfersMarshal = impliedTransfersMarshal;
@@ -122,12 +159,98 @@ public class SpanMapManager {
 		this.sigsFunction = sigsFunction;
 		this.workingState = workingState;
 		this.aliasManager = aliasManager;
+		this.spanCounters = spanCounters;
 	}
 
 	public void expandSpan(TxnAccessor accessor) {
 		final var function = accessor.getFunction();
 		if (function == CryptoTransfer) {
 			expandImpliedTransfers(accessor);
+		} else if (function == ConsensusSubmitMessage) {
+			expandTopicSpan(accessor);
+		} else if (function == ScheduleCreate) {
+			expandScheduleCreateSpan(accessor);
+		} else if (TOKEN_OPS_FUNCTIONS.contains(function)) {
+			expandTokenOpsSpan(accessor);
+		}
+	}
+
+	/**
+	 * Given an accessor for one of the {@link SpanMapManager#TOKEN_OPS_FUNCTIONS}, uses the latest signed
+	 * state to pre-validate the existence and deletion status of the entity that {@code handleTransaction}
+	 * will load first; that is, the target token for a mint, burn, or wipe; and the target account for an
+	 * association or dissociation. Adds the result to the accessor's span map as a {@link TokenOpsExpansion}
+	 * whose {@link LinkedRefs} can be used to confirm nothing relevant changed before the transaction was
+	 * handled.
+	 *
+	 * @param accessor
+	 * 		a token operation accessor
+	 */
+	public void expandTokenOpsSpan(final TxnAccessor accessor) {
+		final var stateChildren = stateViewFactory.childrenOfLatestSignedState();
+		if (stateChildren.isEmpty()) {
+			// The token operation will do all validation synchronously in handleTransaction
+			return;
+		}
+		final var signedStateChildren = stateChildren.get();
+		final var linkedRefs = new LinkedRefs(signedStateChildren.signedAt());
+		final var result = preValidateTokenOp(accessor.getFunction(), accessor.getTxn(), signedStateChildren,
+				linkedRefs);
+		try {
+			spanMapAccessor.setTokenOpsExpansion(accessor, new TokenOpsExpansion(linkedRefs, result));
+		} catch (UnsupportedOperationException ignore) {
+			// Thrown if the span map is immutable; handleTransaction already rationalized this span
+		}
+	}
+
+	/**
+	 * Given an accessor for a {@link com.hederahashgraph.api.proto.java.ConsensusSubmitMessageTransactionBody},
+	 * uses the latest signed state to pre-compute the queryable status of the target topic. Adds the result to
+	 * the accessor's span map as a {@link TopicExpansion}.
+	 *
+	 * @param accessor
+	 * 		a ConsensusSubmitMessage accessor
+	 */
+	public void expandTopicSpan(final TxnAccessor accessor) {
+		final var stateChildren = stateViewFactory.childrenOfLatestSignedState();
+		if (stateChildren.isEmpty()) {
+			// The topic status will be computed synchronously in handleTransaction
+			return;
+		}
+		final var signedStateChildren = stateChildren.get();
+		final var linkedRefs = new LinkedRefs(signedStateChildren.signedAt());
+		final var topicId = accessor.getTxn().getConsensusSubmitMessage().getTopicID();
+		linkedRefs.link(topicId.getTopicNum());
+		final var topic = signedStateChildren.topics().get(EntityNum.fromTopicId(topicId));
+		final var topicStatus = (topic == null || topic.isDeleted()) ? INVALID_TOPIC_ID : OK;
+		try {
+			spanMapAccessor.setTopicExpansion(accessor, new TopicExpansion(linkedRefs, topicStatus));
+		} catch (UnsupportedOperationException ignore) {
+			// Thrown if the span map is immutable; handleTransaction already rationalized this span
+		}
+	}
+
+	/**
+	 * Given an accessor for a {@link com.hederahashgraph.api.proto.java.ScheduleCreateTransactionBody}, parses
+	 * the schedule it would create and computes its equality hash. Adds the result to the accessor's span map
+	 * as a {@link ScheduleCreateExpansion}, so that {@code handleTransaction} only needs to probe for an
+	 * identical existing schedule.
+	 *
+	 * @param accessor
+	 * 		a ScheduleCreate accessor
+	 */
+	public void expandScheduleCreateSpan(final TxnAccessor accessor) {
+		final ScheduleCreateExpansion expansion;
+		try {
+			expansion = ScheduleCreateExpansion.from(accessor.getTxnBytes());
+		} catch (IllegalArgumentException ignore) {
+			// The transition logic will fail the same way in handleTransaction
+			return;
+		}
+		try {
+			spanMapAccessor.setScheduleCreateExpansion(accessor, expansion);
+		} catch (UnsupportedOperationException ignore) {
+			// Thrown if the span map is immutable; handleTransaction already rationalized this span
 		}
 	}
 
@@ -180,19 +303,117 @@ public class SpanMapManager {
 			rationalizeImpliedTransfers(accessor);
 		} else if (function == EthereumTransaction) {
 			rationalizeEthereumSpan(accessor);
+		} else if (function == ConsensusSubmitMessage) {
+			rationalizeTopicSpan(accessor);
+		} else if (function == ScheduleCreate) {
+			rationalizeScheduleCreateSpan(accessor);
+		} else if (TOKEN_OPS_FUNCTIONS.contains(function)) {
+			rationalizeTokenOpsSpan(accessor);
 		}
 	}
 
 	private void rationalizeEthereumSpan(final TxnAccessor accessor) {
 		final var expansion = spanMapAccessor.getEthTxExpansion(accessor);
 		if (expansion == null || areChanged(Objects.requireNonNull(expansion.linkedRefs()))) {
+			spanCounters.countMiss(EthereumTransaction);
 			final Map<String, Object> spanMap = new HashMap<>();
 			spanMapAccessor.setEthTxDataMeta(spanMap, spanMapAccessor.getEthTxDataMeta(accessor));
 			expandEthContext(accessor, workingState, spanMap, null);
 			accessor.setRationalizedSpanMap(spanMap);
+		} else {
+			spanCounters.countHit(EthereumTransaction);
+		}
+	}
+
+	private void rationalizeTokenOpsSpan(final TxnAccessor accessor) {
+		final var expansion = spanMapAccessor.getTokenOpsExpansion(accessor);
+		if (expansion == null || areChanged(Objects.requireNonNull(expansion.linkedRefs()))) {
+			spanCounters.countMiss(accessor.getFunction());
+			if (expansion != null) {
+				// The transition logic will simply re-do the validation against the working state
+				final Map<String, Object> spanMap = new HashMap<>(accessor.getSpanMap());
+				spanMapAccessor.clearTokenOpsExpansion(spanMap);
+				accessor.setRationalizedSpanMap(spanMap);
+			}
+		} else {
+			spanCounters.countHit(accessor.getFunction());
+		}
+	}
+
+	private void rationalizeTopicSpan(final TxnAccessor accessor) {
+		final var expansion = spanMapAccessor.getTopicExpansion(accessor);
+		if (expansion == null || areChanged(Objects.requireNonNull(expansion.linkedRefs()))) {
+			spanCounters.countMiss(ConsensusSubmitMessage);
+			if (expansion != null) {
+				final Map<String, Object> spanMap = new HashMap<>(accessor.getSpanMap());
+				spanMapAccessor.clearTopicExpansion(spanMap);
+				accessor.setRationalizedSpanMap(spanMap);
+			}
+		} else {
+			spanCounters.countHit(ConsensusSubmitMessage);
+		}
+	}
+
+	private void rationalizeScheduleCreateSpan(final TxnAccessor accessor) {
+		final var expansion = spanMapAccessor.getScheduleCreateExpansion(accessor);
+		if (expansion == null || !Arrays.equals(expansion.schedule().bodyBytes(), accessor.getTxnBytes())) {
+			spanCounters.countMiss(ScheduleCreate);
+			if (expansion != null) {
+				// The store will simply re-parse the schedule from the body bytes
+				final Map<String, Object> spanMap = new HashMap<>(accessor.getSpanMap());
+				spanMapAccessor.clearScheduleCreateExpansion(spanMap);
+				accessor.setRationalizedSpanMap(spanMap);
+			}
+		} else {
+			spanCounters.countHit(ScheduleCreate);
 		}
 	}
 
+	private ResponseCodeEnum preValidateTokenOp(
+			final HederaFunctionality function,
+			final TransactionBody txn,
+			final StateChildren stateChildren,
+			final LinkedRefs linkedRefs
+	) {
+		return switch (function) {
+			case TokenMint -> usableTokenStatus(txn.getTokenMint().getToken(), stateChildren.tokens(), linkedRefs);
+			case TokenBurn -> usableTokenStatus(txn.getTokenBurn().getToken(), stateChildren.tokens(), linkedRefs);
+			case TokenAccountWipe -> usableTokenStatus(
+					txn.getTokenWipe().getToken(), stateChildren.tokens(), linkedRefs);
+			case TokenAssociateToAccount -> usableAccountStatus(
+					txn.getTokenAssociate().getAccount(), stateChildren.accounts(), linkedRefs);
+			case TokenDissociateFromAccount -> usableAccountStatus(
+					txn.getTokenDissociate().getAccount(), stateChildren.accounts(), linkedRefs);
+			default -> throw new IllegalArgumentException("Cannot pre-validate a " + function + " operation");
+		};
+	}
+
+	private ResponseCodeEnum usableTokenStatus(
+			final TokenID tokenId,
+			final MerkleMap<EntityNum, MerkleToken> tokens,
+			final LinkedRefs linkedRefs
+	) {
+		linkedRefs.link(tokenId.getTokenNum());
+		final var token = tokens.get(EntityNum.fromTokenId(tokenId));
+		if (token == null) {
+			return INVALID_TOKEN_ID;
+		}
+		return token.isDeleted() ? TOKEN_WAS_DELETED : OK;
+	}
+
+	private ResponseCodeEnum usableAccountStatus(
+			final AccountID accountId,
+			final MerkleMap<EntityNum, MerkleAccount> accounts,
+			final LinkedRefs linkedRefs
+	) {
+		linkedRefs.link(accountId.getAccountNum());
+		final var account = accounts.get(EntityNum.fromAccountId(accountId));
+		if (account == null) {
+			return INVALID_ACCOUNT_ID;
+		}
+		return account.isDeleted() ? ACCOUNT_DELETED : OK;
+	}
+
 	private boolean areChanged(final LinkedRefs linkedRefs) {
 		return !linkedRefs.haveNoChangesAccordingTo(sigImpactHistorian);
 	}
@@ -320,7 +541,10 @@ public class SpanMapManager {
 	private void rationalizeImpliedTransfers(TxnAccessor accessor) {
 		final var impliedTransfers = spanMapAccessor.getImpliedTransfers(accessor);
 		if (!impliedTransfers.getMeta().wasDerivedFrom(dynamicProperties, customFeeSchedules, aliasManager)) {
+			spanCounters.countMiss(CryptoTransfer);
 			expandImpliedTransfers(accessor);
+		} else {
+			spanCounters.countHit(CryptoTransfer);
 		}
 	}
 
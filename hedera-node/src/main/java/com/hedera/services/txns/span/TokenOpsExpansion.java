@@ -0,0 +1,39 @@
+package com.hedera.services.txns.span;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.sigs.order.LinkedRefs;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+
+import javax.annotation.Nullable;
+
+/**
+ * Summarizes the usability of the token and account entities a token operation will load first in
+ * {@code handleTransaction}, as pre-validated against the latest signed state. Since the
+ * {@link com.hedera.services.ledger.SigImpactHistorian} only tracks creations, deletions, and key
+ * changes, the result covers exactly the existence and deletion checks of those entities.
+ *
+ * @param linkedRefs the entities whose usability was pre-validated, if computed from a signed state
+ * @param result the first failure found, or {@code OK}
+ */
+public record TokenOpsExpansion(@Nullable LinkedRefs linkedRefs, ResponseCodeEnum result) {
+}
@@ -0,0 +1,37 @@
+package com.hedera.services.txns.span;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.sigs.order.LinkedRefs;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+
+import javax.annotation.Nullable;
+
+/**
+ * Summarizes the status of the topic targeted by a {@code ConsensusSubmitMessage}, as pre-validated
+ * against the latest signed state.
+ *
+ * @param linkedRefs the topic whose status was pre-validated, if computed from a signed state
+ * @param topicStatus the queryable status of the topic
+ */
+public record TopicExpansion(@Nullable LinkedRefs linkedRefs, ResponseCodeEnum topicStatus) {
+}
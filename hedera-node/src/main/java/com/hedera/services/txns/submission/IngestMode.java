@@ -0,0 +1,35 @@
+package com.hedera.services.txns.submission;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+/**
+ * Where the node runs the precheck and submission of a transaction received over gRPC.
+ */
+public enum IngestMode {
+	/** On the Netty event-loop thread that received the call (the historical behavior). */
+	EVENT_LOOP,
+	/**
+	 * On a bounded pool of ingest workers, answering {@code BUSY} when the pool is saturated; and with the
+	 * precheck signatures of concurrent submissions verified in coalesced batches.
+	 */
+	WORKER_POOL
+}
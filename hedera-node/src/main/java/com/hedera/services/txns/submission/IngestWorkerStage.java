@@ -0,0 +1,130 @@
+package com.hedera.services.txns.submission;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.stats.MiscRunningAvgs;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hedera.services.txns.submission.IngestMode.WORKER_POOL;
+
+/**
+ * Moves HAPI transaction ingest work (parsing, prechecks, signature verification, and
+ * platform submission) off the Netty event loop onto a fixed pool of worker threads
+ * fed by a bounded queue.
+ *
+ * When the queue is full the stage refuses the work instead of blocking the event loop,
+ * so the caller can respond {@code BUSY} immediately. In {@link IngestMode#EVENT_LOOP}
+ * mode the work simply runs on the calling thread, as it always did.
+ */
+@Singleton
+public class IngestWorkerStage {
+	private static final long NANOS_PER_MICRO = 1_000L;
+	static final String THREAD_NAME_PREFIX = "ingest-worker-";
+
+	private final MiscRunningAvgs runningAvgs;
+	private final ThreadPoolExecutor workers;
+
+	@Inject
+	public IngestWorkerStage(final NodeLocalProperties nodeLocalProperties, final MiscRunningAvgs runningAvgs) {
+		this.runningAvgs = runningAvgs;
+		if (nodeLocalProperties.nettyIngestMode() == WORKER_POOL) {
+			final var numThreads = nodeLocalProperties.nettyIngestWorkerThreads();
+			workers = new ThreadPoolExecutor(
+					numThreads,
+					numThreads,
+					0L,
+					TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(nodeLocalProperties.nettyIngestQueueCapacity()),
+					new DaemonThreadFactory(),
+					new ThreadPoolExecutor.AbortPolicy());
+		} else {
+			workers = null;
+		}
+	}
+
+	/**
+	 * Runs the given ingest work, either inline or on the worker pool.
+	 *
+	 * @param work
+	 * 		the ingest work to run
+	 * @return false if the worker queue was full and the work was refused; true otherwise
+	 */
+	public boolean tryRun(final Runnable work) {
+		if (workers == null) {
+			work.run();
+			return true;
+		}
+		final var enqueuedAt = System.nanoTime();
+		try {
+			workers.execute(() -> {
+				final var startedAt = System.nanoTime();
+				runningAvgs.recordIngestQueueWaitUs((startedAt - enqueuedAt) / (double) NANOS_PER_MICRO);
+				try {
+					work.run();
+				} finally {
+					runningAvgs.recordIngestWorkUs((System.nanoTime() - startedAt) / (double) NANOS_PER_MICRO);
+				}
+			});
+			return true;
+		} catch (RejectedExecutionException ignore) {
+			return false;
+		}
+	}
+
+	/**
+	 * Stops accepting new work, and waits up to the given time for queued work to finish; called
+	 * when the gRPC servers are terminated.
+	 *
+	 * @param timeout
+	 * 		the maximum time to wait
+	 * @param unit
+	 * 		the unit of the timeout
+	 * @throws InterruptedException
+	 * 		if interrupted while waiting
+	 */
+	public void shutdown(final long timeout, final TimeUnit unit) throws InterruptedException {
+		if (workers != null) {
+			workers.shutdown();
+			workers.awaitTermination(timeout, unit);
+		}
+	}
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+		private final AtomicInteger nextId = new AtomicInteger();
+
+		@Override
+		public Thread newThread(final Runnable r) {
+			final var thread = new Thread(r, THREAD_NAME_PREFIX + nextId.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -33,6 +33,7 @@ import org.apache.logging.log4j.Logger;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.FAIL_INVALID;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 
@@ -43,14 +44,20 @@ public final class TxnResponseHelper {
 	static final TransactionResponse FAIL_INVALID_RESPONSE = TransactionResponse.newBuilder()
 			.setNodeTransactionPrecheckCode(FAIL_INVALID)
 			.build();
+	static final TransactionResponse BUSY_RESPONSE = TransactionResponse.newBuilder()
+			.setNodeTransactionPrecheckCode(BUSY)
+			.build();
 
 	private final SubmissionFlow submissionFlow;
 	private final HapiOpCounters opCounters;
+	private final IngestWorkerStage ingestStage;
 
 	@Inject
 	public TxnResponseHelper(final SubmissionFlow submissionFlow,
-			final HapiOpCounters opCounters) {
+			final HapiOpCounters opCounters,
+			final IngestWorkerStage ingestStage) {
 		this.opCounters = opCounters;
+		this.ingestStage = ingestStage;
 		this.submissionFlow = submissionFlow;
 	}
 
@@ -73,6 +80,18 @@ public final class TxnResponseHelper {
 			final Runnable incSubmittedCount
 	) {
 		incReceivedCount.run();
+		final var accepted = ingestStage.tryRun(() -> submitAndRespond(signedTxn, observer, incSubmittedCount));
+		if (!accepted) {
+			observer.onNext(BUSY_RESPONSE);
+			observer.onCompleted();
+		}
+	}
+
+	private void submitAndRespond(
+			final Transaction signedTxn,
+			final StreamObserver<TransactionResponse> observer,
+			final Runnable incSubmittedCount
+	) {
 		TransactionResponse response;
 
 		try {
@@ -20,16 +20,18 @@ package com.hedera.services.utils;
  * ‍
  */
 
+import com.hedera.services.state.merkle.internals.PackedAllowanceMap;
+import com.hedera.services.state.merkle.internals.PackedAllowanceSet;
 import com.hedera.services.state.submerkle.FcTokenAllowanceId;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
 
 import java.io.IOException;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
-import java.util.TreeSet;
+
+import static com.hedera.services.state.merkle.internals.PackedKeyCodec.ENTITY_NUM_CODEC;
+import static com.hedera.services.state.merkle.internals.PackedKeyCodec.TOKEN_ALLOWANCE_ID_CODEC;
 
 public final class SerializationUtils {
 	private SerializationUtils() {
@@ -57,20 +59,21 @@ public final class SerializationUtils {
 		}
 	}
 
-	public static Map<FcTokenAllowanceId, Long> deserializeFungibleTokenAllowances(
+	public static PackedAllowanceMap<FcTokenAllowanceId> deserializeFungibleTokenAllowances(
 			final SerializableDataInputStream in
 	) throws IOException {
-		var numFungibleTokenAllowances = in.readInt();
+		final var numFungibleTokenAllowances = in.readInt();
 		if (numFungibleTokenAllowances == 0) {
-			return Collections.emptyMap();
+			return PackedAllowanceMap.emptyTokenAllowances();
 		}
-		final Map<FcTokenAllowanceId, Long> fungibleTokenAllowances = new TreeMap<>();
-		while (numFungibleTokenAllowances-- > 0) {
+		final var allowanceIds = new long[numFungibleTokenAllowances];
+		final var values = new long[numFungibleTokenAllowances];
+		for (int i = 0; i < numFungibleTokenAllowances; i++) {
 			final FcTokenAllowanceId fungibleAllowanceId = in.readSerializable();
-			final Long value = in.readLong();
-			fungibleTokenAllowances.put(fungibleAllowanceId, value);
+			allowanceIds[i] = TOKEN_ALLOWANCE_ID_CODEC.pack(fungibleAllowanceId);
+			values[i] = in.readLong();
 		}
-		return fungibleTokenAllowances;
+		return PackedAllowanceMap.fromPacked(TOKEN_ALLOWANCE_ID_CODEC, allowanceIds, values);
 	}
 
 	public static void serializeApproveForAllNftsAllowances(
@@ -81,32 +84,32 @@ public final class SerializationUtils {
 		}
 	}
 
-	public static Map<EntityNum, Long> deserializeCryptoAllowances(
+	public static PackedAllowanceMap<EntityNum> deserializeCryptoAllowances(
 			final SerializableDataInputStream in) throws IOException {
-		var numCryptoAllowances = in.readInt();
+		final var numCryptoAllowances = in.readInt();
 		if (numCryptoAllowances == 0) {
-			return Collections.emptyMap();
+			return PackedAllowanceMap.emptyCryptoAllowances();
 		}
-		final Map<EntityNum, Long> cryptoAllowances = new TreeMap<>();
-		while (numCryptoAllowances-- > 0) {
-			final var entityNum = EntityNum.fromLong(in.readLong());
-			final var allowance = in.readLong();
-			cryptoAllowances.put(entityNum, allowance);
+		final var spenderNums = new long[numCryptoAllowances];
+		final var allowances = new long[numCryptoAllowances];
+		for (int i = 0; i < numCryptoAllowances; i++) {
+			spenderNums[i] = ENTITY_NUM_CODEC.pack(EntityNum.fromLong(in.readLong()));
+			allowances[i] = in.readLong();
 		}
-		return cryptoAllowances;
+		return PackedAllowanceMap.fromPacked(ENTITY_NUM_CODEC, spenderNums, allowances);
 	}
 
-	public static Set<FcTokenAllowanceId> deserializeApproveForAllNftsAllowances(
+	public static PackedAllowanceSet<FcTokenAllowanceId> deserializeApproveForAllNftsAllowances(
 			final SerializableDataInputStream in) throws IOException {
-		var numApproveForAllNftsAllowances = in.readInt();
+		final var numApproveForAllNftsAllowances = in.readInt();
 		if (numApproveForAllNftsAllowances == 0) {
-			return Collections.emptySet();
+			return PackedAllowanceSet.emptyNftAllowances();
 		}
-		final Set<FcTokenAllowanceId> approveForAllNftsAllowances = new TreeSet<>();
-		while (numApproveForAllNftsAllowances-- > 0) {
+		final var allowanceIds = new long[numApproveForAllNftsAllowances];
+		for (int i = 0; i < numApproveForAllNftsAllowances; i++) {
 			final FcTokenAllowanceId allowanceId = in.readSerializable();
-			approveForAllNftsAllowances.add(allowanceId);
+			allowanceIds[i] = TOKEN_ALLOWANCE_ID_CODEC.pack(allowanceId);
 		}
-		return approveForAllNftsAllowances;
+		return PackedAllowanceSet.fromPacked(TOKEN_ALLOWANCE_ID_CODEC, allowanceIds);
 	}
 }
@@ -28,6 +28,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -41,13 +42,17 @@ public final class UnzipUtility {
 	}
 
 	public static void unzip(final byte[] bytes, final String dstDir) throws IOException {
+		unzip(new ByteArrayInputStream(bytes), dstDir);
+	}
+
+	public static void unzip(final InputStream archive, final String dstDir) throws IOException {
 		final File destDir = new File(dstDir);
 		if (!destDir.exists()) {
 			destDir.mkdir();
 			log.info("Created directory {} for update assets", destDir);
 		}
 
-		final var zipIn = new ZipInputStream(new ByteArrayInputStream(bytes));
+		final var zipIn = new ZipInputStream(archive);
 		ZipEntry entry = zipIn.getNextEntry();
 		while (entry != null) {
 			var filePath = dstDir + File.separator + entry.getName();
@@ -24,6 +24,8 @@ import com.google.common.base.MoreObjects;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.sigs.order.LinkedRefs;
+import com.hedera.services.sigs.sourcing.OffsetSigMap;
+import com.hedera.services.sigs.sourcing.OffsetSigMapPubKeyToSigBytes;
 import com.hedera.services.sigs.sourcing.PojoSigMapPubKeyToSigBytes;
 import com.hedera.services.sigs.sourcing.PubKeyToSigBytes;
 import com.hedera.services.txns.span.ExpandHandleSpanMapAccessor;
@@ -65,7 +67,7 @@ public class PlatformTxnAccessor implements SwirldsTxnAccessor {
 	protected PlatformTxnAccessor(final TxnAccessor delegate, SwirldTransaction platformTxn) {
 		this.platformTxn = platformTxn;
 		this.delegate = delegate;
-		pubKeyToSigBytes = new PojoSigMapPubKeyToSigBytes(delegate.getSigMap());
+		pubKeyToSigBytes = pkToSigsFnFor(delegate);
 	}
 
 	public static PlatformTxnAccessor from(final TxnAccessor delegate, final SwirldTransaction platformTxn) {
@@ -76,6 +78,22 @@ public class PlatformTxnAccessor implements SwirldsTxnAccessor {
 		return new PlatformTxnAccessor(SignedTxnAccessor.from(platformTxn.getContents()), platformTxn);
 	}
 
+	/* Shares the delegate's view of its signature map when possible, but always tracks sig usage separately */
+	private static PubKeyToSigBytes pkToSigsFnFor(final TxnAccessor delegate) {
+		if (delegate instanceof SignedTxnAccessor signedAccessor) {
+			return new OffsetSigMapPubKeyToSigBytes(signedAccessor.getSigMapView());
+		}
+		final var wrapperBytes = delegate.getSignedTxnWrapperBytes();
+		if (wrapperBytes != null) {
+			try {
+				return new OffsetSigMapPubKeyToSigBytes(OffsetSigMap.fromSignedTxnWrapper(wrapperBytes));
+			} catch (InvalidProtocolBufferException ignore) {
+				/* Fall through to the parsed signature map */
+			}
+		}
+		return new PojoSigMapPubKeyToSigBytes(delegate.getSigMap());
+	}
+
 	@Override
 	public SwirldTransaction getPlatformTxn() {
 		return platformTxn;
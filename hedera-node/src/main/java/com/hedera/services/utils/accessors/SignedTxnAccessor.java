@@ -25,7 +25,8 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.services.ethereum.EthTxData;
 import com.hedera.services.grpc.marshalling.AliasResolver;
 import com.hedera.services.ledger.accounts.AliasManager;
-import com.hedera.services.sigs.sourcing.PojoSigMapPubKeyToSigBytes;
+import com.hedera.services.sigs.sourcing.OffsetSigMap;
+import com.hedera.services.sigs.sourcing.OffsetSigMapPubKeyToSigBytes;
 import com.hedera.services.sigs.sourcing.PubKeyToSigBytes;
 import com.hedera.services.txns.span.ExpandHandleSpanMapAccessor;
 import com.hedera.services.usage.BaseTransactionMeta;
@@ -109,6 +110,7 @@ public class SignedTxnAccessor implements TxnAccessor {
 	private boolean memoHasZeroByte;
 	private Transaction signedTxnWrapper;
 	private SignatureMap sigMap;
+	private OffsetSigMap sigMapView;
 	private TransactionID txnId;
 	private TransactionBody txn;
 	private SubmitMessageMeta submitMessageMeta;
@@ -152,7 +154,8 @@ public class SignedTxnAccessor implements TxnAccessor {
 			sigMap = signedTxn.getSigMap();
 			hash = noThrowSha384HashOf(signedTxnBytes.toByteArray());
 		}
-		pubKeyToSigBytes = new PojoSigMapPubKeyToSigBytes(sigMap);
+		sigMapView = OffsetSigMap.fromSignedTxnWrapper(signedTxnWrapperBytes);
+		pubKeyToSigBytes = new OffsetSigMapPubKeyToSigBytes(sigMapView);
 
 		txn = TransactionBody.parseFrom(txnBytes);
 		memo = txn.getMemo();
@@ -199,6 +202,10 @@ public class SignedTxnAccessor implements TxnAccessor {
 		return sigMap;
 	}
 
+	OffsetSigMap getSigMapView() {
+		return sigMapView;
+	}
+
 	@Override
 	public HederaFunctionality getFunction() {
 		if (function == null) {
@@ -37,6 +37,7 @@ public class MockGlobalDynamicProps extends GlobalDynamicProperties {
 	private boolean useContractAutoRenew = true;
 	private boolean schedulingLongTermEnabled = false;
 	private boolean exportBalances = true;
+	private boolean streamBalancesExport = false;
 	private CongestionMultipliers currentMultipliers = defaultMultipliers;
 	private boolean throttleByGas;
 
@@ -97,6 +98,10 @@ public class MockGlobalDynamicProps extends GlobalDynamicProperties {
 		exportBalances = false;
 	}
 
+	public void turnOnStreamingBalancesExport() {
+		streamBalancesExport = true;
+	}
+
 	@Override
 	public boolean shouldExportBalances() {
 		return exportBalances;
@@ -117,6 +122,11 @@ public class MockGlobalDynamicProps extends GlobalDynamicProperties {
 		return true;
 	}
 
+	@Override
+	public boolean shouldStreamBalancesExport() {
+		return streamBalancesExport;
+	}
+
 	@Override
 	public int maxTransferListSize() {
 		return 10;
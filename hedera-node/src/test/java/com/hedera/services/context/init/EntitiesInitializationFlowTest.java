@@ -29,6 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 
@@ -54,7 +55,7 @@ class EntitiesInitializationFlowTest {
 		subject.run();
 
 		// then:
-		verify(expiryManager).reviewExistingPayerRecords();
+		verify(expiryManager, never()).reviewExistingPayerRecords();
 		verify(expiryManager).reviewExistingShortLivedEntities();
 		verify(sigImpactHistorian).invalidateCurrentWindow();
 		verify(networkCtxManager).setObservableFilesNotLoaded();
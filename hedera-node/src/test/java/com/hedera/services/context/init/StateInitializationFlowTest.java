@@ -36,6 +36,7 @@ import com.hedera.services.state.virtual.ContractKey;
 import com.hedera.services.state.virtual.IterableContractValue;
 import com.hedera.services.state.virtual.VirtualBlobKey;
 import com.hedera.services.state.virtual.VirtualBlobValue;
+import com.hedera.services.store.contracts.StorageWarmCache;
 import com.hedera.services.stream.RecordStreamManager;
 import com.hedera.services.stream.RecordsRunningHashLeaf;
 import com.hedera.services.utils.EntityNum;
@@ -99,6 +100,8 @@ class StateInitializationFlowTest {
 	private MerkleMap<EntityNumPair, MerkleTokenRelStatus> tokenAssociations;
 	@Mock
 	private VirtualMap<ContractKey, IterableContractValue> contractStorage;
+	@Mock
+	private StorageWarmCache storageWarmCache;
 
 	private StateInitializationFlow subject;
 
@@ -109,7 +112,8 @@ class StateInitializationFlowTest {
 				defaultNumbers,
 				recordStreamManager,
 				workingState,
-				Set.of(aFileInterceptor, bFileInterceptor));
+				Set.of(aFileInterceptor, bFileInterceptor),
+				storageWarmCache);
 	}
 
 	@Test
@@ -126,6 +130,7 @@ class StateInitializationFlowTest {
 		// then:
 		verify(staticNumbersHolder).accept(defaultNumbers);
 		verify(workingState).updateFrom(activeState);
+		verify(storageWarmCache).clear();
 		verify(recordStreamManager).setInitialHash(hash);
 		verify(hfs).register(aFileInterceptor);
 		verify(hfs).register(bFileInterceptor);
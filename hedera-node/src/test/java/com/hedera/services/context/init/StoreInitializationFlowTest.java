@@ -21,8 +21,8 @@ package com.hedera.services.context.init;
  */
 
 import com.hedera.services.context.MutableStateChildren;
-import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.ledger.backing.BackingStore;
+import com.hedera.services.state.initialization.AccountsRehydrator;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleToken;
 import com.hedera.services.state.merkle.MerkleTokenRelStatus;
@@ -53,7 +53,7 @@ class StoreInitializationFlowTest {
 	@Mock
 	private MutableStateChildren workingState;
 	@Mock
-	private AliasManager aliasManager;
+	private AccountsRehydrator accountsRehydrator;
 	@Mock
 	private BackingStore<AccountID, MerkleAccount> backingAccounts;
 	@Mock
@@ -72,7 +72,7 @@ class StoreInitializationFlowTest {
 		subject = new StoreInitializationFlow(
 				tokenStore,
 				scheduleStore,
-				aliasManager,
+				accountsRehydrator,
 				workingState,
 				backingAccounts,
 				backingTokens,
@@ -93,6 +93,6 @@ class StoreInitializationFlowTest {
 		verify(backingNfts).rebuildFromSources();
 		verify(tokenStore).rebuildViews();
 		verify(scheduleStore).rebuildViews();
-		verify(aliasManager).rebuildAliasesMap(accounts);
+		verify(accountsRehydrator).rehydrateFrom(accounts);
 	}
 }
@@ -21,6 +21,8 @@ package com.hedera.services.context.properties;
  */
 
 import com.hedera.services.fees.calculation.CongestionMultipliers;
+import com.hedera.services.stream.HandoffWaitStrategy;
+import com.hedera.services.txns.submission.IngestMode;
 import com.hedera.services.sysfiles.domain.throttling.ThrottleReqOpsScaleFactor;
 import com.hedera.test.extensions.LogCaptor;
 import com.hedera.test.extensions.LogCaptureExtension;
@@ -82,6 +84,7 @@ class BootstrapPropertiesTest {
 			entry("balances.exportDir.path", "/opt/hgcapp/accountBalances/"),
 			entry("balances.exportEnabled", true),
 			entry("balances.exportPeriodSecs", 900),
+			entry("balances.exportStreaming", false),
 			entry("balances.exportTokenBalances", true),
 			entry("balances.nodeBalanceWarningThreshold", 0L),
 			entry("accounts.exchangeRatesAdmin", 57L),
@@ -130,15 +133,24 @@ class BootstrapPropertiesTest {
 			entry("hedera.accountsExportPath", "data/onboard/exportedAccount.txt"),
 			entry("hedera.exportAccountsOnStartup", false),
 			entry("hedera.firstUserEntity", 1001L),
+			entry("hedera.localCalls.queueCapacity", 256),
+			entry("hedera.localCalls.resultCacheSize", 10000),
+			entry("hedera.localCalls.maxWaitMs", 10000L),
+			entry("hedera.localCalls.signedStateEnabled", false),
 			entry("hedera.prefetch.queueCapacity", 10000),
 			entry("hedera.prefetch.threadPoolSize", 2),
 			entry("hedera.prefetch.codeCacheTtlSecs", 120),
+			entry("hedera.prefetch.storageCacheSize", 100000),
+			entry("hedera.prefetch.storageCacheTtlSecs", 120),
+			entry("hedera.queryAnswers.cacheEnabled", false),
+			entry("hedera.queryAnswers.maxCachedBytes", 16777216L),
 			entry("hedera.profiles.active", Profile.PROD),
 			entry("hedera.realm", 0L),
 			entry("hedera.recordStream.logDir", "/opt/hgcapp/recordStreams"),
 			entry("hedera.recordStream.logPeriod", 2L),
 			entry("hedera.recordStream.isEnabled", true),
 			entry("hedera.recordStream.queueCapacity", 5000),
+			entry("hedera.recordStream.handoffWaitStrategy", HandoffWaitStrategy.BLOCKING),
 			entry("hedera.shard", 0L),
 			entry("hedera.transaction.maxMemoUtf8Bytes", 100),
 			entry("hedera.transaction.minValidDuration", 15L),
@@ -164,9 +176,14 @@ class BootstrapPropertiesTest {
 			entry("ledger.autoRenewPeriod.minDuration", 6999999L),
 			entry("ledger.schedule.txExpiryTimeSecs", 1800),
 			entry("iss.dumpFcms", false),
+			entry("iss.dumpFcmsCompressed", false),
 			entry("iss.resetPeriod", 60),
 			entry("iss.roundsToDump", 5000),
 			entry("netty.mode", Profile.PROD),
+			entry("netty.ingest.maxSigBatchSize", 256),
+			entry("netty.ingest.mode", IngestMode.EVENT_LOOP),
+			entry("netty.ingest.queueCapacity", 1024),
+			entry("netty.ingest.workerThreads", 8),
 			entry("netty.prod.flowControlWindow", 10240),
 			entry("netty.prod.maxConcurrentCalls", 10),
 			entry("netty.prod.maxConnectionAge", 15L),
@@ -202,6 +219,9 @@ class BootstrapPropertiesTest {
 			entry("stats.runningAvgHalfLifeSecs", 10.0),
 			entry("stats.hapiOps.speedometerUpdateIntervalMs", 3_000L),
 			entry("stats.speedometerHalfLifeSecs", 10.0),
+			entry("stats.evmProfile.dumpDir", "data/stats/evmProfile"),
+			entry("stats.evmProfile.dumpIntervalMs", 60000L),
+			entry("stats.evmProfile.enabled", false),
 			entry("stats.executionTimesToTrack", 0),
 			entry("staking.isEnabled", true),
 			entry("staking.periodMins", 1440L),
@@ -82,6 +82,7 @@ class GlobalDynamicPropertiesTest {
 		// then:
 		assertTrue(subject.shouldExportBalances());
 		assertTrue(subject.shouldExportTokenBalances());
+		assertTrue(subject.shouldStreamBalancesExport());
 		assertTrue(subject.shouldAutoRenewSomeEntityType());
 		assertTrue(subject.areNftsEnabled());
 		assertTrue(subject.shouldThrottleByGas());
@@ -217,6 +218,7 @@ class GlobalDynamicPropertiesTest {
 		// then:
 		assertFalse(subject.shouldExportBalances());
 		assertFalse(subject.shouldExportTokenBalances());
+		assertFalse(subject.shouldStreamBalancesExport());
 		assertTrue(subject.shouldAutoRenewSomeEntityType());
 		assertFalse(subject.areNftsEnabled());
 		assertFalse(subject.shouldThrottleByGas());
@@ -350,6 +352,7 @@ class GlobalDynamicPropertiesTest {
 		given(properties.getLongProperty("balances.nodeBalanceWarningThreshold")).willReturn(i + 12L);
 		given(properties.getStringProperty("balances.exportDir.path")).willReturn(balanceExportPaths[i % 2]);
 		given(properties.getBooleanProperty("balances.exportTokenBalances")).willReturn((i + 13) % 2 == 0);
+		given(properties.getBooleanProperty("balances.exportStreaming")).willReturn((i + 13) % 2 == 0);
 		given(properties.getIntProperty("ledger.transfers.maxLen")).willReturn(i + 14);
 		given(properties.getIntProperty("ledger.tokenTransfers.maxLen")).willReturn(i + 15);
 		given(properties.getIntProperty("hedera.transaction.maxMemoUtf8Bytes")).willReturn(i + 16);
@@ -20,6 +20,8 @@ package com.hedera.services.context.properties;
  * ‍
  */
 
+import com.hedera.services.stream.HandoffWaitStrategy;
+import com.hedera.services.txns.submission.IngestMode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -53,6 +55,7 @@ class NodeLocalPropertiesTest {
 		assertEquals(1, subject.port());
 		assertEquals(2, subject.tlsPort());
 		assertEquals(12, subject.recordStreamQueueCapacity());
+		assertEquals(HandoffWaitStrategy.SPIN, subject.recordStreamHandoffWaitStrategy());
 		assertEquals(13, subject.queryBlobLookupRetries());
 		assertEquals(19, subject.nettyMaxConcurrentCalls());
 		assertEquals(20, subject.nettyFlowControlWindow());
@@ -63,6 +66,19 @@ class NodeLocalPropertiesTest {
 		assertEquals(28, subject.prefetchQueueCapacity());
 		assertEquals(29, subject.prefetchThreadPoolSize());
 		assertEquals(30, subject.prefetchCodeCacheTtlSecs());
+		assertEquals(31, subject.prefetchStorageCacheSize());
+		assertEquals(IngestMode.WORKER_POOL, subject.nettyIngestMode());
+		assertEquals(32, subject.nettyIngestWorkerThreads());
+		assertEquals(33, subject.nettyIngestQueueCapacity());
+		assertEquals(34, subject.nettyIngestMaxSigBatchSize());
+		assertTrue(subject.statsEvmProfileEnabled());
+		assertEquals(logDir(35), subject.statsEvmProfileDumpDir());
+		assertEquals(36L, subject.statsEvmProfileDumpIntervalMs());
+		assertEquals(37, subject.localCallsQueueCapacity());
+		assertEquals(38, subject.localCallsResultCacheSize());
+		assertEquals(39L, subject.queryAnswersMaxCachedBytes());
+		assertEquals(40, subject.prefetchStorageCacheTtlSecs());
+		assertEquals(41L, subject.localCallsMaxWaitMs());
 	}
 
 	@Test
@@ -92,6 +108,9 @@ class NodeLocalPropertiesTest {
 		assertEquals(Profile.PROD, subject.nettyMode());
 		assertEquals(24L, subject.nettyStartRetryIntervalMs());
 		assertTrue(subject.shouldDumpFcmsOnIss());
+		assertFalse(subject.shouldDumpFcmsCompressed());
+		assertTrue(subject.queryAnswersCacheEnabled());
+		assertTrue(subject.localCallsSignedStateEnabled());
 	}
 
 	@Test
@@ -106,6 +125,7 @@ class NodeLocalPropertiesTest {
 		assertEquals(3, subject.tlsPort());
 		assertEquals(logDir(10), subject.recordLogDir());
 		assertEquals(13, subject.recordStreamQueueCapacity());
+		assertEquals(HandoffWaitStrategy.YIELD, subject.recordStreamHandoffWaitStrategy());
 		assertEquals(14, subject.queryBlobLookupRetries());
 		assertEquals(20, subject.nettyMaxConcurrentCalls());
 		assertEquals(21, subject.nettyFlowControlWindow());
@@ -116,6 +136,19 @@ class NodeLocalPropertiesTest {
 		assertEquals(29, subject.prefetchQueueCapacity());
 		assertEquals(30, subject.prefetchThreadPoolSize());
 		assertEquals(31, subject.prefetchCodeCacheTtlSecs());
+		assertEquals(32, subject.prefetchStorageCacheSize());
+		assertEquals(IngestMode.EVENT_LOOP, subject.nettyIngestMode());
+		assertEquals(33, subject.nettyIngestWorkerThreads());
+		assertEquals(34, subject.nettyIngestQueueCapacity());
+		assertEquals(35, subject.nettyIngestMaxSigBatchSize());
+		assertFalse(subject.statsEvmProfileEnabled());
+		assertEquals(logDir(36), subject.statsEvmProfileDumpDir());
+		assertEquals(37L, subject.statsEvmProfileDumpIntervalMs());
+		assertEquals(38, subject.localCallsQueueCapacity());
+		assertEquals(39, subject.localCallsResultCacheSize());
+		assertEquals(40L, subject.queryAnswersMaxCachedBytes());
+		assertEquals(41, subject.prefetchStorageCacheTtlSecs());
+		assertEquals(42L, subject.localCallsMaxWaitMs());
 	}
 
 	@Test
@@ -147,6 +180,9 @@ class NodeLocalPropertiesTest {
 		assertEquals(Profile.TEST, subject.nettyMode());
 		assertEquals(25L, subject.nettyStartRetryIntervalMs());
 		assertFalse(subject.shouldDumpFcmsOnIss());
+		assertTrue(subject.shouldDumpFcmsCompressed());
+		assertFalse(subject.queryAnswersCacheEnabled());
+		assertFalse(subject.localCallsSignedStateEnabled());
 	}
 
 	private void givenPropsWithSeed(int i) {
@@ -162,6 +198,8 @@ class NodeLocalPropertiesTest {
 		given(properties.getLongProperty("hedera.recordStream.logPeriod")).willReturn(i + 9L);
 		given(properties.getBooleanProperty("hedera.recordStream.isEnabled")).willReturn(i % 2 == 1);
 		given(properties.getIntProperty("hedera.recordStream.queueCapacity")).willReturn(i + 11);
+		given(properties.getTypedProperty(HandoffWaitStrategy.class, "hedera.recordStream.handoffWaitStrategy"))
+				.willReturn(HandoffWaitStrategy.values()[i % HandoffWaitStrategy.values().length]);
 		given(properties.getIntProperty("queries.blob.lookupRetries")).willReturn(i + 12);
 		given(properties.getLongProperty("netty.prod.keepAliveTime")).willReturn(i + 13L);
 		given(properties.getStringProperty("netty.tlsCrt.path")).willReturn("hedera" + i + ".crt");
@@ -181,12 +219,29 @@ class NodeLocalPropertiesTest {
 		given(properties.getIntProperty("netty.startRetries")).willReturn(i + 22);
 		given(properties.getLongProperty("netty.startRetryIntervalMs")).willReturn(i + 23L);
 		given(properties.getBooleanProperty("iss.dumpFcms")).willReturn(i % 2 == 1);
+		given(properties.getBooleanProperty("iss.dumpFcmsCompressed")).willReturn(i % 2 == 0);
 		given(properties.getIntProperty("stats.executionTimesToTrack")).willReturn(i + 24);
 		given(properties.getIntProperty("iss.resetPeriod")).willReturn(i + 25);
 		given(properties.getIntProperty("iss.roundsToDump")).willReturn(i + 26);
 		given(properties.getIntProperty("hedera.prefetch.queueCapacity")).willReturn(i + 27);
 		given(properties.getIntProperty("hedera.prefetch.threadPoolSize")).willReturn(i + 28);
 		given(properties.getIntProperty("hedera.prefetch.codeCacheTtlSecs")).willReturn(i + 29);
+		given(properties.getIntProperty("hedera.prefetch.storageCacheSize")).willReturn(i + 30);
+		given(properties.getTypedProperty(IngestMode.class, "netty.ingest.mode"))
+				.willReturn(IngestMode.values()[i % IngestMode.values().length]);
+		given(properties.getIntProperty("netty.ingest.workerThreads")).willReturn(i + 31);
+		given(properties.getIntProperty("netty.ingest.queueCapacity")).willReturn(i + 32);
+		given(properties.getIntProperty("netty.ingest.maxSigBatchSize")).willReturn(i + 33);
+		given(properties.getBooleanProperty("stats.evmProfile.enabled")).willReturn(i % 2 == 1);
+		given(properties.getStringProperty("stats.evmProfile.dumpDir")).willReturn(logDir(i + 34));
+		given(properties.getLongProperty("stats.evmProfile.dumpIntervalMs")).willReturn(i + 35L);
+		given(properties.getIntProperty("hedera.localCalls.queueCapacity")).willReturn(i + 36);
+		given(properties.getIntProperty("hedera.localCalls.resultCacheSize")).willReturn(i + 37);
+		given(properties.getBooleanProperty("hedera.queryAnswers.cacheEnabled")).willReturn(i % 2 == 1);
+		given(properties.getLongProperty("hedera.queryAnswers.maxCachedBytes")).willReturn(i + 38L);
+		given(properties.getIntProperty("hedera.prefetch.storageCacheTtlSecs")).willReturn(i + 39);
+		given(properties.getLongProperty("hedera.localCalls.maxWaitMs")).willReturn(i + 40L);
+		given(properties.getBooleanProperty("hedera.localCalls.signedStateEnabled")).willReturn(i % 2 == 1);
 	}
 
 	static String logDir(int num) {
@@ -27,7 +27,9 @@ import com.google.protobuf.BytesValue;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.exceptions.InvalidTransactionException;
 import com.hedera.services.ledger.accounts.AliasManager;
+import com.hedera.services.stats.EvmProfileCounters;
 import com.hedera.services.store.contracts.CodeCache;
+import com.hedera.services.store.contracts.ContractStateChanges;
 import com.hedera.services.store.contracts.HederaWorldState;
 import com.hedera.services.store.models.Account;
 import com.hedera.services.store.models.Id;
@@ -35,7 +37,6 @@ import com.hedera.services.txns.contract.helpers.StorageExpiry;
 import com.hedera.services.utils.EntityIdUtils;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.units.bigints.UInt256;
 import org.hyperledger.besu.datatypes.Address;
@@ -91,6 +92,8 @@ class CallEvmTxProcessorTest {
 	@Mock
 	private CodeCache codeCache;
 	@Mock
+	private EvmProfileCounters evmProfileCounters;
+	@Mock
 	private GlobalDynamicProperties globalDynamicProperties;
 	@Mock
 	private GasCalculator gasCalculator;
@@ -134,7 +137,8 @@ class CallEvmTxProcessorTest {
 		callEvmTxProcessor = new CallEvmTxProcessor(
 				worldState, livePricesSource,
 				codeCache, globalDynamicProperties, gasCalculator,
-				operations, precompiledContractMap, aliasManager, storageExpiry, blockMetaSource);
+				operations, precompiledContractMap, aliasManager, storageExpiry, blockMetaSource,
+				evmProfileCounters);
 	}
 
 	@Test
@@ -245,8 +249,10 @@ class CallEvmTxProcessorTest {
 		final var oldSlotValue = 4L;
 		final var newSlotValue = 255L;
 		given(updater.getFinalStateChanges())
-				.willReturn(Map.of(Address.fromHexString(contractAddress), Map.of(UInt256.valueOf(slot),
-								Pair.of(UInt256.valueOf(oldSlotValue), UInt256.valueOf(newSlotValue)))));
+				.willReturn(ContractStateChanges.newBuilder()
+						.startContract(Address.fromHexString(contractAddress))
+						.addChange(UInt256.valueOf(slot), UInt256.valueOf(oldSlotValue), UInt256.valueOf(newSlotValue))
+						.build());
 		given(storageExpiry.hapiCallOracle()).willReturn(oracle);
 
 		final var result = callEvmTxProcessor.execute(
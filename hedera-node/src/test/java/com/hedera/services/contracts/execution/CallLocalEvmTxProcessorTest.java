@@ -24,6 +24,7 @@ package com.hedera.services.contracts.execution;
 
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.ledger.accounts.AliasManager;
+import com.hedera.services.stats.EvmProfileCounters;
 import com.hedera.services.store.contracts.CodeCache;
 import com.hedera.services.store.contracts.HederaWorldState;
 import com.hedera.services.store.models.Account;
@@ -76,6 +77,8 @@ class CallLocalEvmTxProcessorTest {
 	@Mock
 	private CodeCache codeCache;
 	@Mock
+	private EvmProfileCounters evmProfileCounters;
+	@Mock
 	private GlobalDynamicProperties globalDynamicProperties;
 	@Mock
 	private GasCalculator gasCalculator;
@@ -111,7 +114,8 @@ class CallLocalEvmTxProcessorTest {
 
 		callLocalEvmTxProcessor = new CallLocalEvmTxProcessor(
 				codeCache, livePricesSource, globalDynamicProperties,
-				gasCalculator, operations, precompiledContractMap, aliasManager, storageExpiry);
+				gasCalculator, operations, precompiledContractMap, aliasManager, storageExpiry,
+				evmProfileCounters);
 
 		callLocalEvmTxProcessor.setWorldState(worldState);
 		callLocalEvmTxProcessor.setBlockMetaSource(blockMetaSource);
@@ -25,6 +25,7 @@ import com.hedera.services.contracts.operation.HederaExceptionalHaltReason;
 import com.hedera.services.exceptions.InvalidTransactionException;
 import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.store.AccountStore;
+import com.hedera.services.store.contracts.ContractStateChanges;
 import com.hedera.services.store.contracts.EntityAccess;
 import com.hedera.services.store.models.Account;
 import com.hedera.services.store.models.Id;
@@ -48,9 +49,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Optional;
-import java.util.TreeMap;
 
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.CONTRACT_REVERT_EXECUTED;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_ACCOUNT_ID;
@@ -100,7 +99,7 @@ class CallLocalExecutorTest {
 
 		final var transactionProcessingResult = TransactionProcessingResult
 				.successful(new ArrayList<>(), 0, 0, 1, Bytes.EMPTY,
-						callerID.asEvmAddress(), new TreeMap<>());
+						callerID.asEvmAddress(), ContractStateChanges.EMPTY);
 		final var expected = response(OK, transactionProcessingResult);
 
 		given(accountStore.loadAccount(any())).willReturn(new Account(callerID));
@@ -128,7 +127,7 @@ class CallLocalExecutorTest {
 
 		final var transactionProcessingResult = TransactionProcessingResult
 				.successful(new ArrayList<>(), 0, 0, 1, Bytes.EMPTY,
-						callerID.asEvmAddress(), new TreeMap<>());
+						callerID.asEvmAddress(), ContractStateChanges.EMPTY);
 		final var expected = response(OK,transactionProcessingResult);
 
 		given(accountStore.loadAccount(any())).willReturn(new Account(callerID));
@@ -149,7 +148,7 @@ class CallLocalExecutorTest {
 		// setup:
 		final var transactionProcessingResult = TransactionProcessingResult
 				.successful(new ArrayList<>(), 0, 0, 1, Bytes.EMPTY, callerID.asEvmAddress(),
-						Collections.emptyMap());
+						ContractStateChanges.EMPTY);
 		final var expected = response(OK, transactionProcessingResult);
 
 		given(accountStore.loadAccount(any())).willReturn(new Account(callerID));
@@ -170,7 +169,7 @@ class CallLocalExecutorTest {
 		// setup:
 		final var transactionProcessingResult = TransactionProcessingResult
 				.successful(new ArrayList<>(), 0, 0, 1, Bytes.EMPTY, callerID.asEvmAddress(),
-						Collections.emptyMap());
+						ContractStateChanges.EMPTY);
 		final var expected = response(OK, transactionProcessingResult);
 
 		given(entityAccess.isTokenAccount(any())).willReturn(true);
@@ -190,7 +189,7 @@ class CallLocalExecutorTest {
 		// setup:
 		final var transactionProcessingResult = TransactionProcessingResult
 				.failed(0, 0, 1, Optional.empty(),
-						Optional.of(ExceptionalHaltReason.ILLEGAL_STATE_CHANGE), Collections.emptyMap());
+						Optional.of(ExceptionalHaltReason.ILLEGAL_STATE_CHANGE), ContractStateChanges.EMPTY);
 		final var expected = response(LOCAL_CALL_MODIFICATION_EXCEPTION, transactionProcessingResult);
 
 		given(accountStore.loadAccount(any())).willReturn(new Account(callerID));
@@ -211,7 +210,7 @@ class CallLocalExecutorTest {
 		// setup:
 		final var transactionProcessingResult = TransactionProcessingResult
 				.failed(0, 0, 1, Optional.empty(),
-						Optional.of(HederaExceptionalHaltReason.INVALID_SOLIDITY_ADDRESS), Collections.emptyMap());
+						Optional.of(HederaExceptionalHaltReason.INVALID_SOLIDITY_ADDRESS), ContractStateChanges.EMPTY);
 		final var expected = response(INVALID_SOLIDITY_ADDRESS, transactionProcessingResult);
 
 		given(accountStore.loadAccount(any())).willReturn(new Account(callerID));
@@ -232,7 +231,7 @@ class CallLocalExecutorTest {
 		// setup:
 		final var transactionProcessingResult = TransactionProcessingResult
 				.failed(0, 0, 1, Optional.of(Bytes.of("out of gas".getBytes())),
-						Optional.empty(), Collections.emptyMap());
+						Optional.empty(), ContractStateChanges.EMPTY);
 		final var expected = response(CONTRACT_REVERT_EXECUTED, transactionProcessingResult);
 
 		given(accountStore.loadAccount(any())).willReturn(new Account(callerID));
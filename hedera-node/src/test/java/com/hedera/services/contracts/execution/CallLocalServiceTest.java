@@ -0,0 +1,347 @@
+package com.hedera.services.contracts.execution;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.config.NetworkInfo;
+import com.hedera.services.context.StateChildren;
+import com.hedera.services.context.primitives.SignedStateViewFactory;
+import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.ledger.accounts.AliasManager;
+import com.hedera.services.ledger.ids.EntityIdSource;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.store.AccountStore;
+import com.hedera.services.store.schedule.ScheduleStore;
+import com.hedera.services.txns.validation.OptionValidator;
+import com.hedera.services.utils.EntityNum;
+import com.hedera.test.utils.IdUtils;
+import com.hederahashgraph.api.proto.java.ContractCallLocalQuery;
+import com.hederahashgraph.api.proto.java.ContractCallLocalResponse;
+import com.hederahashgraph.api.proto.java.ContractFunctionResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_CONTRACT_ID;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static com.swirlds.common.utility.CommonUtils.unhex;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CallLocalServiceTest {
+	private static final Instant firstRound = Instant.ofEpochSecond(1_234_567L);
+	private static final Instant secondRound = firstRound.plusSeconds(2);
+	private static final ContractCallLocalQuery balanceOf = localCall("0.0.2", "70a08231");
+	private static final ContractCallLocalQuery totalSupply = localCall("0.0.2", "18160ddd");
+
+	@Mock
+	private EntityIdSource ids;
+	@Mock
+	private AliasManager aliasManager;
+	@Mock
+	private AccountStore accountStore;
+	@Mock
+	private OptionValidator validator;
+	@Mock
+	private NetworkInfo networkInfo;
+	@Mock
+	private ScheduleStore scheduleStore;
+	@Mock
+	private MiscRunningAvgs runningAvgs;
+	@Mock
+	private NodeLocalProperties nodeProperties;
+	@Mock
+	private GlobalDynamicProperties dynamicProperties;
+	@Mock
+	private CallLocalEvmTxProcessor evmTxProcessor;
+	@Mock
+	private SignedStateViewFactory stateViewFactory;
+	@Mock
+	private StateChildren children;
+	@Mock
+	private StateView workingView;
+
+	private final AtomicInteger executions = new AtomicInteger();
+	private final List<StateView> executedViews = new CopyOnWriteArrayList<>();
+
+	private CallLocalService subject;
+
+	@BeforeEach
+	void setUp() {
+		givenSubjectWith(1, 10);
+	}
+
+	@AfterEach
+	void tearDown() {
+		subject.shutdown();
+	}
+
+	@Test
+	void isEmptyWithoutUsableSignedState() {
+		given(stateViewFactory.childrenOfLatestSignedState()).willReturn(Optional.empty());
+
+		assertTrue(subject.execute(balanceOf, workingView).isEmpty());
+		assertEquals(0, executions.get());
+	}
+
+	@Test
+	void reusesResultWithinSameSignedState() {
+		givenLatestSignedAt(firstRound);
+
+		final var first = subject.execute(balanceOf, workingView);
+		final var second = subject.execute(balanceOf, workingView);
+
+		assertEquals(first, second);
+		assertEquals(1, executions.get());
+		assertNotSame(workingView, executedViews.get(0));
+		verify(runningAvgs).recordLocalCallCacheHit(false);
+		verify(runningAvgs).recordLocalCallCacheHit(true);
+		verify(runningAvgs).recordLocalCallQueueWaitMs(anyDouble());
+	}
+
+	@Test
+	void distinguishesCallData() {
+		givenLatestSignedAt(firstRound);
+
+		subject.execute(balanceOf, workingView);
+		subject.execute(totalSupply, workingView);
+
+		assertEquals(2, executions.get());
+	}
+
+	@Test
+	void distinguishesSenderAndGas() {
+		givenLatestSignedAt(firstRound);
+
+		subject.execute(balanceOf, workingView);
+		subject.execute(balanceOf.toBuilder().setSenderId(IdUtils.asAccount("0.0.1002")).build(), workingView);
+		subject.execute(balanceOf.toBuilder().setGas(balanceOf.getGas() + 1).build(), workingView);
+
+		assertEquals(3, executions.get());
+	}
+
+	@Test
+	void dropsAllResultsWhenSignedStateAdvances() {
+		given(stateViewFactory.childrenOfLatestSignedState()).willReturn(Optional.of(children));
+		givenCallableInSignedState();
+		given(children.signedAt()).willReturn(firstRound, secondRound, secondRound);
+
+		subject.execute(balanceOf, workingView);
+		subject.execute(balanceOf, workingView);
+		subject.execute(balanceOf, workingView);
+
+		assertEquals(2, executions.get());
+	}
+
+	@Test
+	void doesNotCacheAgainstOlderSignedState() {
+		given(stateViewFactory.childrenOfLatestSignedState()).willReturn(Optional.of(children));
+		givenCallableInSignedState();
+		given(children.signedAt()).willReturn(secondRound, firstRound, firstRound);
+
+		subject.execute(balanceOf, workingView);
+		subject.execute(balanceOf, workingView);
+		subject.execute(balanceOf, workingView);
+
+		assertEquals(3, executions.get());
+	}
+
+	@Test
+	void doesNotCacheFailures() {
+		givenLatestSignedAt(firstRound);
+		subject.execution = (op, view, signedChildren) -> {
+			if (executions.incrementAndGet() == 1) {
+				throw new IllegalStateException("Boom");
+			}
+			return responseFor(op);
+		};
+
+		assertThrows(IllegalStateException.class, () -> subject.execute(balanceOf, workingView));
+		assertEquals(responseFor(balanceOf), subject.execute(balanceOf, workingView).orElseThrow());
+		assertEquals(2, executions.get());
+	}
+
+	@Test
+	void stopsCachingAtMaxSize() {
+		givenSubjectWith(1, 1);
+		givenLatestSignedAt(firstRound);
+
+		subject.execute(balanceOf, workingView);
+		subject.execute(totalSupply, workingView);
+		subject.execute(totalSupply, workingView);
+		subject.execute(balanceOf, workingView);
+
+		assertEquals(3, executions.get());
+	}
+
+	@Test
+	void isEmptyWhenExecutorIsSaturated() throws InterruptedException {
+		givenLatestSignedAt(firstRound);
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		subject.execution = (op, view, signedChildren) -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return responseFor(op);
+		};
+		final var callers = Executors.newFixedThreadPool(2);
+		callers.submit(() -> subject.execute(balanceOf, workingView));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		callers.submit(() -> subject.execute(totalSupply, workingView));
+		while (subject.executor.getQueue().size() < 1) {
+			Thread.onSpinWait();
+		}
+
+		final var refused = subject.execute(balanceOf.toBuilder().setGas(1).build(), workingView);
+
+		assertTrue(refused.isEmpty());
+		release.countDown();
+		callers.shutdown();
+		assertTrue(callers.awaitTermination(5, TimeUnit.SECONDS));
+		verify(runningAvgs, atLeastOnce()).recordLocalCallQueueWaitMs(anyDouble());
+	}
+
+	@Test
+	void runsUncachedAgainstWorkingViewWhenSignedStateDisabled() {
+		givenSubjectWith(1, 10, false, 5_000L);
+		given(stateViewFactory.childrenOfLatestSignedState()).willReturn(Optional.of(children));
+
+		subject.execute(balanceOf, workingView);
+		subject.execute(balanceOf, workingView);
+
+		assertEquals(2, executions.get());
+		assertEquals(List.of(workingView, workingView), executedViews);
+		verify(runningAvgs, never()).recordLocalCallCacheHit(anyBoolean());
+	}
+
+	@Test
+	void fallsBackToWorkingViewForContractMissingFromSignedState() {
+		given(stateViewFactory.childrenOfLatestSignedState()).willReturn(Optional.of(children));
+		given(validator.queryableContractStatus(any(EntityNum.class), any())).willReturn(INVALID_CONTRACT_ID);
+
+		subject.execute(balanceOf, workingView);
+		subject.execute(balanceOf, workingView);
+
+		assertEquals(2, executions.get());
+		assertEquals(List.of(workingView, workingView), executedViews);
+		verify(runningAvgs, never()).recordLocalCallCacheHit(anyBoolean());
+	}
+
+	@Test
+	void isEmptyWhenExecutionOutlastsMaxWait() throws InterruptedException {
+		givenSubjectWith(1, 10, true, 10L);
+		givenLatestSignedAt(firstRound);
+		final var release = new CountDownLatch(1);
+		subject.execution = (op, view, signedChildren) -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return responseFor(op);
+		};
+
+		assertTrue(subject.execute(balanceOf, workingView).isEmpty());
+		release.countDown();
+	}
+
+	private void givenSubjectWith(final int queueCapacity, final int cacheSize) {
+		givenSubjectWith(queueCapacity, cacheSize, true, 5_000L);
+	}
+
+	private void givenSubjectWith(
+			final int queueCapacity,
+			final int cacheSize,
+			final boolean signedStateEnabled,
+			final long maxWaitMs
+	) {
+		if (subject != null) {
+			subject.shutdown();
+		}
+		given(nodeProperties.localCallsQueueCapacity()).willReturn(queueCapacity);
+		given(nodeProperties.localCallsResultCacheSize()).willReturn(cacheSize);
+		given(nodeProperties.localCallsSignedStateEnabled()).willReturn(signedStateEnabled);
+		given(nodeProperties.localCallsMaxWaitMs()).willReturn(maxWaitMs);
+		subject = new CallLocalService(
+				ids, aliasManager, accountStore, validator, networkInfo, scheduleStore, runningAvgs,
+				nodeProperties, dynamicProperties, evmTxProcessor, stateViewFactory);
+		subject.execution = (op, view, signedChildren) -> {
+			executions.incrementAndGet();
+			executedViews.add(view);
+			return responseFor(op);
+		};
+	}
+
+	private void givenLatestSignedAt(final Instant signedAt) {
+		given(stateViewFactory.childrenOfLatestSignedState()).willReturn(Optional.of(children));
+		given(children.signedAt()).willReturn(signedAt);
+		givenCallableInSignedState();
+	}
+
+	private void givenCallableInSignedState() {
+		given(validator.queryableContractStatus(any(EntityNum.class), any())).willReturn(OK);
+	}
+
+	private static ContractCallLocalResponse responseFor(final ContractCallLocalQuery op) {
+		return ContractCallLocalResponse.newBuilder()
+				.setFunctionResult(ContractFunctionResult.newBuilder()
+						.setContractCallResult(op.getFunctionParameters()))
+				.build();
+	}
+
+	private static ContractCallLocalQuery localCall(final String contract, final String selector) {
+		return ContractCallLocalQuery.newBuilder()
+				.setContractID(IdUtils.asContract(contract))
+				.setSenderId(IdUtils.asAccount("0.0.1001"))
+				.setGas(100_000L)
+				.setFunctionParameters(ByteString.copyFrom(unhex(selector)))
+				.build();
+	}
+}
@@ -23,6 +23,7 @@ package com.hedera.services.contracts.execution;
  */
 
 import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.stats.EvmProfileCounters;
 import com.hedera.services.store.contracts.CodeCache;
 import com.hedera.services.store.contracts.HederaWorldState;
 import com.hedera.services.store.models.Account;
@@ -78,6 +79,8 @@ class CreateEvmTxProcessorTest {
 	@Mock
 	private CodeCache codeCache;
 	@Mock
+	private EvmProfileCounters evmProfileCounters;
+	@Mock
 	private GlobalDynamicProperties globalDynamicProperties;
 	@Mock
 	private GasCalculator gasCalculator;
@@ -116,7 +119,8 @@ class CreateEvmTxProcessorTest {
 		createEvmTxProcessor = new CreateEvmTxProcessor(
 				worldState,
 				livePricesSource, codeCache, globalDynamicProperties,
-				gasCalculator, operations, precompiledContractMap, storageExpiry, blockMetaSource);
+				gasCalculator, operations, precompiledContractMap, storageExpiry, blockMetaSource,
+				evmProfileCounters);
 	}
 
 	@Test
@@ -0,0 +1,101 @@
+package com.hedera.services.contracts.execution;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.stats.EvmProfileCounters;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ProfilingHederaTracerTest {
+	private static final Address HTS_PRECOMPILE = Address.fromHexString("0x167");
+
+	@Mock
+	private MessageFrame frame;
+	@Mock
+	private Operation operation;
+	@Mock
+	private OperationTracer.ExecuteOperation executeOperation;
+	@Mock
+	private EvmProfileCounters counters;
+
+	private ProfilingHederaTracer subject;
+
+	@BeforeEach
+	void setUp() {
+		subject = new ProfilingHederaTracer(counters);
+	}
+
+	@Test
+	void recordsOpcodeGasAndTime() {
+		given(frame.getCurrentOperation()).willReturn(operation);
+		given(operation.getOpcode()).willReturn(0x54);
+		given(operation.getName()).willReturn("SLOAD");
+		given(frame.getRemainingGas()).willReturn(10_000L, 7_900L);
+
+		subject.traceExecution(frame, executeOperation);
+
+		verify(executeOperation).execute();
+		verify(counters).recordOpcode(eq(0x54), eq("SLOAD"), anyLong(), eq(2_100L));
+	}
+
+	@Test
+	void recordsPrecompileCallBySelector() {
+		given(frame.getContractAddress()).willReturn(HTS_PRECOMPILE);
+		given(frame.getInputData()).willReturn(Bytes.fromHexString("0x49146bde0000"));
+
+		subject.profileFrame(frame, () -> subject.tracePrecompileCall(frame, 100L, Bytes.EMPTY));
+
+		verify(counters).recordPrecompile(
+				eq(HTS_PRECOMPILE.toHexString()), eq(0x49146bde), anyLong(), eq(100L));
+	}
+
+	@Test
+	void ignoresFramesThatAreNotPrecompileCalls() {
+		subject.profileFrame(frame, () -> { });
+
+		verify(counters, never()).recordPrecompile(anyString(), anyInt(), anyLong(), anyLong());
+	}
+
+	@Test
+	void selectorIsZeroForShortInput() {
+		assertEquals(0, ProfilingHederaTracer.selectorOf(Bytes.of(1, 2, 3)));
+		assertEquals(0x01020304, ProfilingHederaTracer.selectorOf(Bytes.of(1, 2, 3, 4, 5)));
+	}
+}
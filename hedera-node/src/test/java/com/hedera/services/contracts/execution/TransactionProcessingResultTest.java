@@ -24,6 +24,7 @@ package com.hedera.services.contracts.execution;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.BytesValue;
+import com.hedera.services.store.contracts.ContractStateChanges;
 import com.hedera.services.store.models.Account;
 import com.hedera.services.store.models.Id;
 import com.hedera.services.utils.BytesComparator;
@@ -141,7 +142,7 @@ class TransactionProcessingResultTest {
 				1234L,
 				Bytes.EMPTY,
 				recipient.getId().asEvmAddress(),
-				contractStateChanges);
+				ContractStateChanges.from(contractStateChanges));
 		result.setCreatedContracts(listOfCreatedContracts);
 
 		assertEquals(expect.getGasUsed(), result.getGasUsed());
@@ -179,7 +180,7 @@ class TransactionProcessingResultTest {
 		expect.setErrorMessageBytes(ByteString.copyFrom(revertReason.get().toArray()));
 
 		var result = TransactionProcessingResult.failed(GAS_USAGE, GAS_REFUND, GAS_PRICE, revertReason,
-				Optional.of(exception),Map.of());
+				Optional.of(exception),ContractStateChanges.EMPTY);
 
 		assertEquals(expect.getGasUsed(), result.getGasUsed());
 		assertEquals(GAS_PRICE, result.getGasPrice());
@@ -197,7 +198,7 @@ class TransactionProcessingResultTest {
 				GAS_PRICE,
 				Bytes.EMPTY,
 				recipient.getId().asEvmAddress(),
-				Map.of());
+				ContractStateChanges.EMPTY);
 
 		assertEquals(GAS_PRICE, result.getGasPrice());
 	}
@@ -211,7 +212,7 @@ class TransactionProcessingResultTest {
 				GAS_PRICE,
 				Bytes.EMPTY,
 				recipient.getId().asEvmAddress(),
-				Map.of());
+				ContractStateChanges.EMPTY);
 
 		assertEquals(GAS_REFUND, result.getSbhRefund());
 	}
@@ -225,7 +226,7 @@ class TransactionProcessingResultTest {
 				GAS_PRICE,
 				Bytes.EMPTY,
 				recipient.getId().asEvmAddress(),
-				Map.of());
+				ContractStateChanges.EMPTY);
 
 		assertEquals(GAS_USAGE, result.getGasUsed());
 	}
@@ -239,7 +240,7 @@ class TransactionProcessingResultTest {
 				GAS_PRICE,
 				Bytes.EMPTY,
 				recipient.getId().asEvmAddress(),
-				Map.of());
+				ContractStateChanges.EMPTY);
 
 		assertTrue(result.isSuccessful());
 	}
@@ -25,10 +25,11 @@ package com.hedera.services.contracts.operation;
 import com.hedera.services.contracts.sources.EvmSigsVerifier;
 import com.hedera.services.ledger.accounts.ContractAliases;
 import com.hedera.services.store.contracts.HederaStackedWorldStateUpdater;
+import com.hedera.services.store.contracts.ContractStateChanges;
 import com.hedera.services.store.contracts.HederaWorldState;
+import com.hedera.services.store.contracts.StateChangeCollector;
 import com.hedera.services.store.contracts.WorldLedgers;
 import com.hedera.services.store.contracts.WorldStateAccount;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.units.bigints.UInt256;
@@ -48,7 +49,6 @@ import java.util.ArrayDeque;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
-import java.util.TreeMap;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
@@ -325,9 +325,10 @@ class HederaOperationUtilTest {
 		frameStack.add(messageFrame);
 
 		given(messageFrame.getMessageFrameStack()).willReturn(frameStack);
-		TreeMap<Address, Map<Bytes, Pair<Bytes, Bytes>>> map = new TreeMap<>();
-		given(updater.getStateChanges()).willReturn(map);
+		final var collector = new StateChangeCollector();
+		given(updater.getStateChanges()).willReturn(collector);
 		given(hederaWorldUpdater.get(PRETEND_RECIPIENT_ADDR)).willReturn(worldStateAccount);
+		given(worldStateAccount.getStorageValue(UInt256.ONE)).willReturn(UInt256.valueOf(2));
 
 		Bytes32 key = UInt256.fromBytes(messageFrame.popStackItem());
 		Account account = messageFrame.getWorldUpdater().get(messageFrame.getRecipientAddress());
@@ -337,8 +338,11 @@ class HederaOperationUtilTest {
 				key,
 				account.getStorageValue(UInt256.fromBytes(key)));
 
-		assertTrue(updater.getStateChanges().containsKey(PRETEND_RECIPIENT_ADDR));
-		assertTrue(updater.getStateChanges().get(PRETEND_RECIPIENT_ADDR).containsKey(UInt256.ONE));
+		final var expected = ContractStateChanges.newBuilder()
+				.startContract(PRETEND_RECIPIENT_ADDR)
+				.addChange(UInt256.ONE, UInt256.valueOf(2), null)
+				.build();
+		assertEquals(expected, collector.toStateChanges());
 	}
 
 
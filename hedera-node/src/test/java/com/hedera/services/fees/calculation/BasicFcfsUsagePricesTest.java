@@ -172,6 +172,16 @@ class BasicFcfsUsagePricesTest {
 				actual);
 	}
 
+	@Test
+	void settingSchedulesAdvancesGeneration() {
+		final var initialGeneration = subject.scheduleGeneration();
+
+		subject.loadPriceSchedules();
+		subject.setFeeSchedules(feeSchedules);
+
+		assertEquals(initialGeneration + 2, subject.scheduleGeneration());
+	}
+
 	@Test
 	void getsActivePrices() {
 		// given:
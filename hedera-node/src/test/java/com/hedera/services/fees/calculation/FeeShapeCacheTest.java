@@ -0,0 +1,174 @@
+package com.hedera.services.fees.calculation;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.usage.state.UsageAccumulator;
+import com.hederahashgraph.api.proto.java.ExchangeRate;
+import com.hederahashgraph.api.proto.java.FeeComponents;
+import com.hederahashgraph.api.proto.java.FeeData;
+import com.hederahashgraph.api.proto.java.SubType;
+import com.hederahashgraph.fee.FeeObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.hedera.services.fees.calculation.FeeShapeCache.MAX_CACHED_SHAPES;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ConsensusSubmitMessage;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FeeShapeCacheTest {
+	private static final long multiplier = 1L;
+	private static final ExchangeRate rate = ExchangeRate.newBuilder().setHbarEquiv(1).setCentEquiv(12).build();
+	private static final FeeComponents comps = FeeComponents.newBuilder()
+			.setConstant(1_000L).setBpt(2L).setVpt(3L).setRbh(4L).setSbh(5L)
+			.setMax(Long.MAX_VALUE)
+			.build();
+	private static final FeeData prices = FeeData.newBuilder()
+			.setNetworkdata(comps).setNodedata(comps).setServicedata(comps)
+			.build();
+	private static final FeeData usage = FeeData.newBuilder()
+			.setNetworkdata(FeeComponents.newBuilder().setBpt(100L))
+			.setNodedata(FeeComponents.newBuilder().setBpt(100L))
+			.setServicedata(FeeComponents.newBuilder().setRbh(100L))
+			.build();
+
+	@Mock
+	private MiscRunningAvgs runningAvgs;
+	@Mock
+	private UsagePricesProvider usagePrices;
+
+	private final AtomicInteger computations = new AtomicInteger();
+	private FeeShapeCache subject;
+
+	@BeforeEach
+	void setUp() {
+		subject = new FeeShapeCache(runningAvgs, usagePrices);
+	}
+
+	@Test
+	void reusesFeesForSameEstimatedShape() {
+		final var first = subject.feesGiven(CryptoTransfer, usage, prices, rate, multiplier, fees(1L));
+		final var second = subject.feesGiven(CryptoTransfer, usage.toBuilder().build(), prices, rate, multiplier, fees(2L));
+
+		assertSame(first, second);
+		assertEquals(1, computations.get());
+		verify(runningAvgs).recordFeeCacheHit(false);
+		verify(runningAvgs).recordFeeCacheHit(true);
+	}
+
+	@Test
+	void reusesFeesForSameAccumulatedShape() {
+		final var aUsage = new UsageAccumulator();
+		aUsage.addBpt(100L);
+		aUsage.addRbs(200L);
+		final var bUsage = new UsageAccumulator();
+		bUsage.addBpt(100L);
+		bUsage.addRbs(200L);
+
+		final var first = subject.feesGiven(
+				ConsensusSubmitMessage, SubType.DEFAULT, aUsage, prices, rate, multiplier, fees(1L));
+		final var second = subject.feesGiven(
+				ConsensusSubmitMessage, SubType.DEFAULT, bUsage, prices, rate, multiplier, fees(2L));
+		bUsage.addBpt(1L);
+		final var third = subject.feesGiven(
+				ConsensusSubmitMessage, SubType.DEFAULT, bUsage, prices, rate, multiplier, fees(3L));
+
+		assertSame(first, second);
+		assertEquals(3L, third.getNodeFee());
+		assertEquals(2, computations.get());
+	}
+
+	@Test
+	void distinguishesAllShapeComponents() {
+		subject.feesGiven(CryptoTransfer, usage, prices, rate, multiplier, fees(1L));
+		subject.feesGiven(ConsensusSubmitMessage, usage, prices, rate, multiplier, fees(2L));
+		subject.feesGiven(CryptoTransfer, usage.toBuilder().setSubType(SubType.TOKEN_FUNGIBLE_COMMON).build(),
+				prices, rate, multiplier, fees(3L));
+		subject.feesGiven(CryptoTransfer, usage, usage, rate, multiplier, fees(4L));
+		subject.feesGiven(CryptoTransfer, usage, prices, rate, multiplier + 1, fees(5L));
+
+		assertEquals(5, computations.get());
+		assertEquals(5, subject.size());
+	}
+
+	@Test
+	void clearsWhenScheduleGenerationChanges() {
+		subject.feesGiven(CryptoTransfer, usage, prices, rate, multiplier, fees(1L));
+		given(usagePrices.scheduleGeneration()).willReturn(1L);
+
+		final var fees = subject.feesGiven(CryptoTransfer, usage, prices, rate, multiplier, fees(2L));
+
+		assertEquals(2L, fees.getNodeFee());
+		assertEquals(1, subject.size());
+	}
+
+	@Test
+	void clearsWhenRateChanges() {
+		subject.feesGiven(CryptoTransfer, usage, prices, rate, multiplier, fees(1L));
+		final var newRate = rate.toBuilder().setCentEquiv(13).build();
+
+		final var fees = subject.feesGiven(CryptoTransfer, usage, prices, newRate, multiplier, fees(2L));
+
+		assertEquals(2L, fees.getNodeFee());
+		assertEquals(1, subject.size());
+		subject.feesGiven(CryptoTransfer, usage, prices, newRate.toBuilder().setHbarEquiv(2).build(), multiplier, fees(3L));
+		assertEquals(3, computations.get());
+	}
+
+	@Test
+	void staysBounded() {
+		for (int i = 0; i <= MAX_CACHED_SHAPES; i++) {
+			subject.feesGiven(CryptoTransfer, usage, prices, rate, i + 1L, fees(i));
+		}
+
+		assertEquals(1, subject.size());
+	}
+
+	@Test
+	void doesNotCacheFailedComputations() {
+		final Supplier<FeeObject> overflow = () -> {
+			throw new IllegalArgumentException("Overflow");
+		};
+
+		assertThrows(IllegalArgumentException.class,
+				() -> subject.feesGiven(CryptoTransfer, usage, prices, rate, multiplier, overflow));
+		assertEquals(0, subject.size());
+	}
+
+	private Supplier<FeeObject> fees(final long nodeFee) {
+		return () -> {
+			computations.incrementAndGet();
+			return new FeeObject(nodeFee, 0L, 0L);
+		};
+	}
+}
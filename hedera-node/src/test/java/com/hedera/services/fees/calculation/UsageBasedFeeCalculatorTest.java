@@ -26,6 +26,7 @@ import com.hedera.services.fees.HbarCentExchange;
 import com.hedera.services.fees.calculation.utils.PricedUsageCalculator;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.stats.MiscRunningAvgs;
 import com.hedera.services.txns.crypto.AutoCreationLogic;
 import com.hedera.services.usage.state.UsageAccumulator;
 import com.hedera.services.utils.accessors.SignedTxnAccessor;
@@ -178,6 +179,7 @@ class UsageBasedFeeCalculatorTest {
 				usagePrices,
 				new NestedMultiplierSource(),
 				pricedUsageCalculator,
+				new FeeShapeCache(mock(MiscRunningAvgs.class), usagePrices),
 				Set.of(incorrectQueryEstimator, correctQueryEstimator),
 				txnUsageEstimators);
 	}
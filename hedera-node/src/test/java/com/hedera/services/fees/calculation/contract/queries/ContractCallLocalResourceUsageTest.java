@@ -24,23 +24,15 @@ import com.google.protobuf.ByteString;
 import com.hedera.services.config.MockGlobalDynamicProps;
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
-import com.hedera.services.context.properties.NodeLocalProperties;
-import com.hedera.services.contracts.execution.BlockMetaSource;
-import com.hedera.services.contracts.execution.CallLocalEvmTxProcessor;
-import com.hedera.services.contracts.execution.StaticBlockMetaProvider;
+import com.hedera.services.contracts.execution.CallLocalService;
 import com.hedera.services.contracts.execution.TransactionProcessingResult;
-import com.hedera.services.ledger.accounts.AliasManager;
-import com.hedera.services.ledger.ids.EntityIdSource;
 import com.hedera.services.queries.contract.ContractCallLocalAnswer;
-import com.hedera.services.store.AccountStore;
-import com.hedera.services.store.models.Account;
+import com.hedera.services.store.contracts.ContractStateChanges;
 import com.hedera.services.store.models.Id;
-import com.hedera.services.txns.validation.OptionValidator;
 import com.hedera.test.extensions.LogCaptor;
 import com.hedera.test.extensions.LogCaptureExtension;
 import com.hedera.test.extensions.LoggingSubject;
 import com.hedera.test.extensions.LoggingTarget;
-import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.ContractCallLocalQuery;
 import com.hederahashgraph.api.proto.java.ContractCallLocalResponse;
 import com.hederahashgraph.api.proto.java.ContractID;
@@ -60,7 +52,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Optional;
 
@@ -75,7 +66,6 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -92,26 +82,12 @@ class ContractCallLocalResourceUsageTest {
 	private static final Query satisfiableAnswerOnly = localCallQuery(target, ANSWER_ONLY);
 	private static final GlobalDynamicProperties properties = new MockGlobalDynamicProps();
 
-	@Mock
-	private AccountStore accountStore;
 	@Mock
 	private StateView view;
 	@Mock
 	private SmartContractFeeBuilder usageEstimator;
 	@Mock
-	private CallLocalEvmTxProcessor evmTxProcessor;
-	@Mock
-	private EntityIdSource ids;
-	@Mock
-	private OptionValidator validator;
-	@Mock
-	private NodeLocalProperties nodeLocalProperties;
-	@Mock
-	private AliasManager aliasManager;
-	@Mock
-	private BlockMetaSource blockMetaSource;
-	@Mock
-	private StaticBlockMetaProvider blockMetaProvider;
+	private CallLocalService callLocalService;
 
 	@LoggingTarget
 	private LogCaptor logCaptor;
@@ -121,9 +97,7 @@ class ContractCallLocalResourceUsageTest {
 
 	@BeforeEach
 	private void setup() {
-		subject = new ContractCallLocalResourceUsage(
-				usageEstimator, properties, nodeLocalProperties,
-				accountStore, evmTxProcessor, ids, validator, aliasManager, blockMetaProvider);
+		subject = new ContractCallLocalResourceUsage(usageEstimator, properties, callLocalService);
 	}
 
 	@Test
@@ -140,15 +114,13 @@ class ContractCallLocalResourceUsageTest {
 		final var queryCtx = new HashMap<String, Object>();
 		final var transactionProcessingResult = TransactionProcessingResult.successful(
 				new ArrayList<>(), 0, 0, 1, Bytes.EMPTY,
-				callerID.asEvmAddress(), Collections.emptyMap());
+				callerID.asEvmAddress(), ContractStateChanges.EMPTY);
 		final var response = okResponse(transactionProcessingResult);
 		final var estimateResponse = subject.dummyResponse(target);
 		final var expected = expectedUsage();
 
-		given(accountStore.loadAccount(any())).willReturn(new Account(Id.fromGrpcContract(target)));
-		given(accountStore.loadContract(any())).willReturn(new Account(Id.fromGrpcContract(target)));
-		given(evmTxProcessor.execute(any(), any(), anyLong(), anyLong(), any(), any()))
-				.willReturn(transactionProcessingResult);
+		given(callLocalService.execute(satisfiableAnswerOnly.getContractCallLocal(), view))
+				.willReturn(Optional.of(response));
 		given(usageEstimator.getContractCallLocalFeeMatrices(
 				params.size(),
 				response.getFunctionResult(),
@@ -157,7 +129,6 @@ class ContractCallLocalResourceUsageTest {
 				params.size(),
 				estimateResponse.getFunctionResult(),
 				ANSWER_ONLY)).willReturn(nonGasUsage);
-		given(blockMetaProvider.getSource()).willReturn(Optional.of(blockMetaSource));
 
 		final var actualUsage1 = subject.usageGiven(satisfiableAnswerOnly, view);
 		final var actualUsage2 = subject.usageGivenType(satisfiableAnswerOnly, view, ANSWER_ONLY);
@@ -181,12 +152,30 @@ class ContractCallLocalResourceUsageTest {
 		final var actualUsage = subject.usageGivenType(satisfiableCostAnswer, view, ANSWER_ONLY);
 
 		assertEquals(expected, actualUsage);
-		verifyNoInteractions(evmTxProcessor);
+		verifyNoInteractions(callLocalService);
+	}
+
+	@Test
+	void usesEstimateWithoutCtxIfLocalCallServiceIsBusy() {
+		final var queryCtx = new HashMap<String, Object>();
+		final var response = subject.dummyResponse(target);
+		final var expected = expectedUsage();
+		given(callLocalService.execute(satisfiableAnswerOnly.getContractCallLocal(), view)).willReturn(Optional.empty());
+		given(usageEstimator.getContractCallLocalFeeMatrices(
+				params.size(),
+				response.getFunctionResult(),
+				ANSWER_ONLY)).willReturn(nonGasUsage);
+
+		final var actualUsage = subject.usageGiven(satisfiableAnswerOnly, view, queryCtx);
+
+		assertEquals(expected, actualUsage);
+		assertFalse(queryCtx.containsKey(ContractCallLocalAnswer.CONTRACT_CALL_LOCAL_CTX_KEY));
 	}
 
 	@Test
 	void translatesExecutionException() {
 		final var queryCtx = new HashMap<String, Object>();
+		given(callLocalService.execute(any(), any())).willThrow(IllegalArgumentException.class);
 
 		assertThrows(IllegalStateException.class, () -> subject.usageGiven(satisfiableAnswerOnly, view, queryCtx));
 		assertFalse(queryCtx.containsKey(ContractCallLocalAnswer.CONTRACT_CALL_LOCAL_CTX_KEY));
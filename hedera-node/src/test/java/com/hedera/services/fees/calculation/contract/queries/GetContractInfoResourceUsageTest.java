@@ -21,10 +21,13 @@ package com.hedera.services.fees.calculation.contract.queries;
  */
 
 import com.google.protobuf.ByteString;
+import com.hedera.services.context.primitives.SignedStateViewFactory;
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.NodeLocalProperties;
 import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.ledger.accounts.staking.RewardCalculator;
+import com.hedera.services.queries.answering.SignedStateAnswerCache;
 import com.hedera.services.queries.contract.GetContractInfoAnswer;
 import com.hedera.services.usage.contract.ContractGetInfoUsage;
 import com.hederahashgraph.api.proto.java.ContractGetInfoQuery;
@@ -105,7 +108,9 @@ class GetContractInfoResourceUsageTest {
 		given(estimator.givenCurrentTokenAssocs(3)).willReturn(estimator);
 		given(estimator.get()).willReturn(expected);
 
-		subject = new GetContractInfoResourceUsage(aliasManager, dynamicProperties, rewardCalculator);
+		final var answerCache = new SignedStateAnswerCache(
+				null, null, null, mock(NodeLocalProperties.class), mock(SignedStateViewFactory.class));
+		subject = new GetContractInfoResourceUsage(aliasManager, dynamicProperties, rewardCalculator, answerCache);
 	}
 
 	@AfterEach
@@ -21,10 +21,13 @@ package com.hedera.services.fees.calculation.crypto.queries;
  */
 
 import com.google.protobuf.ByteString;
+import com.hedera.services.context.primitives.SignedStateViewFactory;
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.NodeLocalProperties;
 import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.ledger.accounts.staking.RewardCalculator;
+import com.hedera.services.queries.answering.SignedStateAnswerCache;
 import com.hedera.services.usage.crypto.CryptoOpsUsage;
 import com.hedera.services.usage.crypto.ExtantCryptoContext;
 import com.hedera.test.utils.IdUtils;
@@ -59,6 +62,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -93,7 +97,10 @@ class GetAccountInfoResourceUsageTest {
 
 	@BeforeEach
 	private void setup() {
-		subject = new GetAccountInfoResourceUsage(cryptoOpsUsage, aliasManager, dynamicProperties, rewardCalculator);
+		final var answerCache = new SignedStateAnswerCache(
+				null, null, null, mock(NodeLocalProperties.class), mock(SignedStateViewFactory.class));
+		subject = new GetAccountInfoResourceUsage(
+				cryptoOpsUsage, aliasManager, dynamicProperties, rewardCalculator, answerCache);
 	}
 
 	@Test
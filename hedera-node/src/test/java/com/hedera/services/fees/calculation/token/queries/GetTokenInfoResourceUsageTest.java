@@ -20,7 +20,10 @@ package com.hedera.services.fees.calculation.token.queries;
  * ‍
  */
 
+import com.hedera.services.context.primitives.SignedStateViewFactory;
 import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.queries.answering.SignedStateAnswerCache;
 import com.hedera.services.queries.token.GetTokenInfoAnswer;
 import com.hedera.services.usage.token.TokenGetInfoUsage;
 import com.hedera.test.factories.scenarios.TxnHandlingScenario;
@@ -103,7 +106,9 @@ class GetTokenInfoResourceUsageTest {
 
 		given(view.infoForToken(target)).willReturn(Optional.of(info));
 
-		subject = new GetTokenInfoResourceUsage();
+		final var answerCache = new SignedStateAnswerCache(
+				null, null, null, mock(NodeLocalProperties.class), mock(SignedStateViewFactory.class));
+		subject = new GetTokenInfoResourceUsage(answerCache);
 	}
 
 	@AfterEach
@@ -22,7 +22,10 @@ package com.hedera.services.fees.calculation.utils;
 
 import com.hedera.services.calc.OverflowCheckingCalc;
 import com.hedera.services.fees.FeeMultiplierSource;
+import com.hedera.services.fees.calculation.FeeShapeCache;
+import com.hedera.services.fees.calculation.UsagePricesProvider;
 import com.hedera.services.legacy.core.jproto.JKey;
+import com.hedera.services.stats.MiscRunningAvgs;
 import com.hedera.services.usage.SigUsage;
 import com.hedera.services.usage.state.UsageAccumulator;
 import com.hedera.services.utils.accessors.TxnAccessor;
@@ -47,6 +50,7 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -73,12 +77,17 @@ class PricedUsageCalculatorTest {
 	private FeeMultiplierSource feeMultiplierSource;
 	@Mock
 	private OverflowCheckingCalc calculator;
+	@Mock
+	private MiscRunningAvgs runningAvgs;
+	@Mock
+	private UsagePricesProvider usagePrices;
 
 	private PricedUsageCalculator subject;
 
 	@BeforeEach
 	void setUp() {
-		subject = new PricedUsageCalculator(accessorBasedUsages, feeMultiplierSource, calculator);
+		subject = new PricedUsageCalculator(
+				accessorBasedUsages, feeMultiplierSource, calculator, new FeeShapeCache(runningAvgs, usagePrices));
 	}
 
 	@Test
@@ -132,4 +141,24 @@ class PricedUsageCalculatorTest {
 		assertSame(feesCaptor.getValue(), assessCaptor.getValue());
 		assertNotSame(inHandleAccum, feesCaptor.getValue());
 	}
+
+	@Test
+	void pricesRepeatedShapeOnlyOnce() {
+		// setup:
+		final var inHandleAccum = subject.getHandleScopedAccumulator();
+		given(accessor.usageGiven(numSimpleKeys(payerKey))).willReturn(new SigUsage(numSigPairs, sigMapSize, 1));
+		given(accessor.getFunction()).willReturn(HederaFunctionality.CryptoTransfer);
+		given(feeMultiplierSource.currentMultiplier(accessor)).willReturn(multiplier);
+		given(calculator.fees(inHandleAccum, mockPrices, mockRate, multiplier)).willReturn(mockFees);
+
+		// when:
+		final var first = subject.inHandleFees(accessor, mockPrices, mockRate, payerKey);
+		final var second = subject.inHandleFees(accessor, mockPrices, mockRate, payerKey);
+
+		// then:
+		assertSame(first, second);
+		verify(calculator, times(1)).fees(inHandleAccum, mockPrices, mockRate, multiplier);
+		verify(runningAvgs).recordFeeCacheHit(false);
+		verify(runningAvgs).recordFeeCacheHit(true);
+	}
 }
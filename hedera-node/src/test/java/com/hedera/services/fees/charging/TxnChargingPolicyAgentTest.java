@@ -26,6 +26,7 @@ import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.fees.FeeCalculator;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.records.TxnIdRecentHistory;
+import com.hedera.services.records.TxnReceiptIndex;
 import com.hedera.services.state.logic.AwareNodeDiligenceScreen;
 import com.hedera.services.utils.accessors.PlatformTxnAccessor;
 import com.hedera.test.factories.scenarios.TxnHandlingScenario;
@@ -42,7 +43,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
-import java.util.Map;
 
 import static com.hedera.services.txns.diligence.DuplicateClassification.BELIEVED_UNIQUE;
 import static com.hedera.services.txns.diligence.DuplicateClassification.DUPLICATE;
@@ -87,7 +87,7 @@ class TxnChargingPolicyAgentTest {
 	@Mock
 	private AwareNodeDiligenceScreen nodeDiligenceScreen;
 	@Mock
-	private Map<TransactionID, TxnIdRecentHistory> txnHistories;
+	private TxnReceiptIndex receiptIndex;
 
 	private TxnChargingPolicyAgent subject;
 
@@ -97,7 +97,7 @@ class TxnChargingPolicyAgentTest {
 	@BeforeEach
 	void setUp() {
 		subject = new TxnChargingPolicyAgent(
-				fees, chargingPolicy, txnCtx, () -> currentView, nodeDiligenceScreen, txnHistories);
+				fees, chargingPolicy, txnCtx, () -> currentView, nodeDiligenceScreen, receiptIndex);
 	}
 
 	@Test
@@ -124,7 +124,7 @@ class TxnChargingPolicyAgentTest {
 	void appliesForPayerDuplicate() {
 		givenBaseCtx();
 		given(txnCtx.submittingSwirldsMember()).willReturn(submittingNode);
-		given(txnHistories.get(accessor.getTxnId())).willReturn(recentHistory);
+		given(receiptIndex.historyOf(accessor.getTxnId())).willReturn(recentHistory);
 		given(recentHistory.currentDuplicityFor(submittingNode)).willReturn(DUPLICATE);
 
 		// when:
@@ -21,6 +21,7 @@ package com.hedera.services.grpc;
  */
 
 import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.txns.submission.IngestWorkerStage;
 import com.hedera.services.utils.Pause;
 import io.grpc.BindableService;
 import io.grpc.Server;
@@ -63,6 +64,7 @@ class NettyGrpcServerManagerTest {
 	private ConfigDrivenNettyFactory nettyFactory;
 	private BindableService a, b, c;
 	private Set<BindableService> bindableServices;
+	private IngestWorkerStage ingestStage;
 
 	private NettyGrpcServerManager subject;
 
@@ -95,9 +97,10 @@ class NettyGrpcServerManagerTest {
 
 		println = mock(Consumer.class);
 		hookAdder = mock(Consumer.class);
+		ingestStage = mock(IngestWorkerStage.class);
 
 		subject = new NettyGrpcServerManager(
-				hookAdder, nodeProperties, bindableServices, nettyFactory);
+				hookAdder, nodeProperties, bindableServices, nettyFactory, ingestStage);
 	}
 
 	@Test
@@ -139,7 +142,7 @@ class NettyGrpcServerManagerTest {
 
 		given(nodeProperties.nettyStartRetries()).willReturn(0);
 		subject = new NettyGrpcServerManager(
-				hookAdder, nodeProperties, bindableServices, nettyFactory);
+				hookAdder, nodeProperties, bindableServices, nettyFactory, ingestStage);
 		given(server.start())
 				.willThrow(new IOException("Failed to bind"));
 
@@ -199,6 +202,7 @@ class NettyGrpcServerManagerTest {
 		// and:
 		verify(server).awaitTermination(anyLong(), any());
 		verify(tlsServer).awaitTermination(anyLong(), any());
+		verify(ingestStage).shutdown(anyLong(), any());
 	}
 
 	private void verifyBuilder(NettyServerBuilder builder) {
@@ -296,6 +296,55 @@ class TransactionalLedgerTest {
 		assertTrue(testLedger.getChanges().isEmpty());
 	}
 
+	@Test
+	void reusesChangeSlotsAcrossTransactions() {
+		setupTestLedger();
+		given(backingTestAccounts.contains(1L)).willReturn(true);
+
+		testLedger.begin();
+		testLedger.set(1L, OBJ, new Object());
+		final var firstSlot = testLedger.getChanges().get(1L);
+		testLedger.rollback();
+		testLedger.begin();
+		testLedger.set(1L, FLAG, true);
+
+		assertSame(firstSlot, testLedger.getChanges().get(1L));
+		assertEquals(Map.of(FLAG, true), firstSlot);
+	}
+
+	@Test
+	void persistsUnboxedLongChanges() {
+		setupTestLedger();
+		given(backingTestAccounts.contains(1L)).willReturn(true);
+		given(backingTestAccounts.getRef(1L)).willReturn(anAccount);
+		final var expected = new TestAccount(42L, anAccount.thing, anAccount.flag, anAccount.tokenThing,
+				anAccount.validHbarAllowances, anAccount.validFungibleAllowances, anAccount.validNftAllowances);
+
+		testLedger.begin();
+		testLedger.setLong(1L, LONG, 42L);
+
+		assertEquals(42L, testLedger.get(1L, LONG));
+		testLedger.commit();
+
+		verify(backingTestAccounts).put(1L, expected);
+	}
+
+	@Test
+	void doesNotPoolSlotsFromUnusuallyLargeTransactions() {
+		setupTestLedger();
+		final var n = TransactionalLedger.MAX_POOLED_CHANGE_SLOTS + 10;
+
+		testLedger.begin();
+		for (long i = 1; i <= n; i++) {
+			testLedger.create(i);
+		}
+		assertEquals(n, testLedger.numPooledChangeSlots());
+		testLedger.rollback();
+		testLedger.begin();
+
+		assertEquals(TransactionalLedger.MAX_POOLED_CHANGE_SLOTS, testLedger.numPooledChangeSlots());
+	}
+
 	@Test
 	void getUsesMutableRefIfPendingChanges() {
 		setupTestLedger();
@@ -40,6 +40,7 @@ import org.hyperledger.besu.datatypes.Address;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import static com.swirlds.common.utility.CommonUtils.unhex;
@@ -183,6 +184,30 @@ class AliasManagerTest {
 		assertTrue(subject.isInUse(nonMirrorAddress));
 	}
 
+	@Test
+	void rebuildsFromSeveralBatches() {
+		final var aNum = EntityNum.fromLong(1L);
+		final var bNum = EntityNum.fromLong(2L);
+		final var aAlias = ByteString.copyFromUtf8("aaaaaaa");
+		final var bAlias = ByteString.copyFromUtf8("bbbbbbb");
+		final var aAccount = new MerkleAccount();
+		aAccount.setAlias(aAlias);
+		final var bAccount = new MerkleAccount();
+		bAccount.setAlias(bAlias);
+		bAccount.setSmartContract(true);
+
+		final var aBatch = subject.newAccumulator();
+		subject.accumulate(aBatch, aNum, aAccount);
+		final var bBatch = subject.newAccumulator();
+		subject.accumulate(bBatch, bNum, bAccount);
+		subject.accumulate(bBatch, EntityNum.fromLong(3L), new MerkleAccount());
+		subject.getAliases().put(ByteString.copyFromUtf8("expired"), bNum);
+		subject.rebuildFrom(List.of(aBatch, bBatch));
+
+		assertEquals("aliases", subject.name());
+		assertEquals(Map.of(aAlias, aNum, bAlias, bNum), subject.getAliases());
+	}
+
 	@Test
 	void rebuildsFromMap() throws ConstructableRegistryException {
 		ConstructableRegistry.registerConstructable(
@@ -20,6 +20,7 @@ package com.hedera.services.ledger.backing;
  * ‍
  */
 
+import com.hedera.services.state.expiry.renewal.RenewableEntityIndex;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.utils.EntityNum;
 import com.hedera.services.utils.FcLong;
@@ -42,6 +43,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 class BackingAccountsTest {
 	private final AccountID a = asAccount("0.0.1");
@@ -108,6 +111,22 @@ class BackingAccountsTest {
 		assertTrue(subject.contains(a));
 	}
 
+	@Test
+	void putAndRemoveUpdateRenewableEntities() throws ConstructableRegistryException {
+		ConstructableRegistry.registerConstructable(
+				new ClassConstructorPair(MerkleAccount.class, MerkleAccount::new));
+		final var renewableEntities = mock(RenewableEntityIndex.class);
+		subject = new BackingAccounts(() -> delegate, renewableEntities);
+		final var c = asAccount("0.0.1234");
+		final var cValue = MerkleAccountFactory.newAccount().expirationTime(1_234_567L).get();
+
+		subject.put(c, cValue);
+		subject.remove(c);
+
+		verify(renewableEntities).track(1234L, 1_234_567L);
+		verify(renewableEntities).forget(1234L);
+	}
+
 	@Test
 	void getRefIsReadThrough() {
 		// expect:
@@ -78,6 +78,20 @@ class ChangeSummaryManagerTest {
 		assertEquals(new TestAccount(5L, thing, true), testAccount);
 	}
 
+	@Test
+	void updatesAndPersistsChangeSlots() {
+		final var thing = new Object();
+		final var testAccount = new TestAccount(1L, thing, false);
+		final var slot = new PropertyChanges<TestAccount, TestAccountProperty>(TestAccountProperty.class);
+
+		subject.update(slot, LONG, 5L);
+		subject.update(slot, FLAG, true);
+		subject.persist(slot, testAccount);
+
+		assertEquals(5L, slot.getLong(LONG));
+		assertEquals(new TestAccount(5L, thing, true), testAccount);
+	}
+
 	@Test
 	void setsFlagWithPrimitiveArg() {
 		subject.update(changes, FLAG, true);
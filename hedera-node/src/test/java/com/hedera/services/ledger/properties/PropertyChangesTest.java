@@ -0,0 +1,209 @@
+package com.hedera.services.ledger.properties;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.ledger.accounts.TestAccount;
+import com.hedera.services.state.merkle.MerkleAccount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static com.hedera.services.ledger.properties.AccountProperty.BALANCE;
+import static com.hedera.services.ledger.properties.AccountProperty.IS_DELETED;
+import static com.hedera.services.ledger.properties.AccountProperty.NUM_POSITIVE_BALANCES;
+import static com.hedera.services.ledger.properties.TestAccountProperty.FLAG;
+import static com.hedera.services.ledger.properties.TestAccountProperty.LONG;
+import static com.hedera.services.ledger.properties.TestAccountProperty.OBJ;
+import static com.hedera.services.ledger.properties.TestAccountProperty.TOKEN_LONG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PropertyChangesTest {
+	private PropertyChanges<TestAccount, TestAccountProperty> subject;
+
+	@BeforeEach
+	void setUp() {
+		subject = new PropertyChanges<>(TestAccountProperty.class);
+	}
+
+	@Test
+	void returnsValuesAsGiven() {
+		final Long value = 1_234_567L;
+		final var thing = new Object();
+
+		subject.set(LONG, value);
+		subject.set(FLAG, true);
+		subject.set(OBJ, thing);
+
+		assertSame(value, subject.get(LONG));
+		assertEquals(Boolean.TRUE, subject.get(FLAG));
+		assertSame(thing, subject.get(OBJ));
+		assertEquals(1_234_567L, subject.getLong(LONG));
+		assertEquals(3, subject.size());
+	}
+
+	@Test
+	void boxesUnboxedLongsOnlyOnce() {
+		subject.setLong(LONG, 1_234_567L);
+
+		final var boxed = subject.get(LONG);
+
+		assertEquals(1_234_567L, boxed);
+		assertSame(boxed, subject.get(LONG));
+		assertEquals(1_234_567L, subject.getLong(LONG));
+	}
+
+	@Test
+	void unboxedLongReplacesBoxedValue() {
+		subject.set(LONG, 1L);
+		subject.setLong(LONG, 2L);
+
+		assertEquals(2L, subject.get(LONG));
+		assertEquals(1, subject.size());
+	}
+
+	@Test
+	void getLongRequiresChangedLong() {
+		subject.set(FLAG, true);
+
+		assertThrows(IllegalArgumentException.class, () -> subject.getLong(FLAG));
+		assertThrows(IllegalArgumentException.class, () -> subject.getLong(LONG));
+	}
+
+	@Test
+	void keepsIntAndBooleanTypes() {
+		final var accountChanges = new PropertyChanges<MerkleAccount, AccountProperty>(AccountProperty.class);
+
+		accountChanges.setLong(BALANCE, 5L);
+		accountChanges.put(NUM_POSITIVE_BALANCES, 3);
+		accountChanges.put(IS_DELETED, false);
+		accountChanges.clear();
+		accountChanges.put(NUM_POSITIVE_BALANCES, 4);
+		accountChanges.put(IS_DELETED, true);
+
+		assertInstanceOf(Integer.class, accountChanges.get(NUM_POSITIVE_BALANCES));
+		assertEquals(4, accountChanges.get(NUM_POSITIVE_BALANCES));
+		assertEquals(Boolean.TRUE, accountChanges.get(IS_DELETED));
+		assertFalse(accountChanges.containsKey(BALANCE));
+	}
+
+	@Test
+	void persistsWithUnboxedSetterWherePossible() {
+		final var accountChanges = new PropertyChanges<MerkleAccount, AccountProperty>(AccountProperty.class);
+		final var account = new MerkleAccount();
+
+		accountChanges.setLong(BALANCE, 1_234L);
+		accountChanges.put(NUM_POSITIVE_BALANCES, 2);
+		accountChanges.put(IS_DELETED, true);
+		accountChanges.persistTo(account);
+
+		assertEquals(1_234L, account.getBalance());
+		assertEquals(2, account.getNumPositiveBalances());
+		assertTrue(account.isDeleted());
+	}
+
+	@Test
+	void unboxedNegativeBalanceIsIllegal() {
+		final var accountChanges = new PropertyChanges<MerkleAccount, AccountProperty>(AccountProperty.class);
+		final var account = new MerkleAccount();
+
+		accountChanges.setLong(BALANCE, -1L);
+
+		assertThrows(IllegalArgumentException.class, () -> accountChanges.persistTo(account));
+	}
+
+	@Test
+	void behavesLikeEnumMap() {
+		final var thing = new Object();
+		final Map<TestAccountProperty, Object> expected = new EnumMap<>(TestAccountProperty.class);
+		expected.put(OBJ, thing);
+		expected.put(LONG, 2L);
+		expected.put(FLAG, false);
+
+		subject.put(OBJ, thing);
+		assertNull(subject.put(FLAG, true));
+		assertEquals(Boolean.TRUE, subject.put(FLAG, false));
+		subject.setLong(LONG, 2L);
+
+		assertEquals(expected, subject);
+		assertEquals(subject, expected);
+		assertEquals(expected.hashCode(), subject.hashCode());
+		assertEquals(expected.toString(), subject.toString());
+		final List<TestAccountProperty> order = new ArrayList<>();
+		subject.forEach((property, value) -> order.add(property));
+		assertEquals(new ArrayList<>(expected.keySet()), order);
+	}
+
+	@Test
+	void removesSingleChanges() {
+		subject.set(LONG, 1L);
+		subject.set(TOKEN_LONG, 2L);
+
+		assertEquals(1L, subject.remove(LONG));
+		assertNull(subject.remove(LONG));
+		assertNull(subject.remove("LONG"));
+		assertFalse(subject.containsKey(LONG));
+		assertFalse(subject.containsKey("TOKEN_LONG"));
+		assertNull(subject.get("TOKEN_LONG"));
+		assertEquals(1, subject.size());
+	}
+
+	@Test
+	void entryIteratorCanRemove() {
+		subject.set(LONG, 1L);
+		subject.set(FLAG, true);
+
+		final var iter = subject.entrySet().iterator();
+		assertThrows(IllegalStateException.class, iter::remove);
+		assertEquals(FLAG, iter.next().getKey());
+		iter.remove();
+		assertEquals(LONG, iter.next().getKey());
+		assertFalse(iter.hasNext());
+		assertThrows(NoSuchElementException.class, iter::next);
+
+		assertEquals(Map.of(LONG, 1L), subject);
+	}
+
+	@Test
+	void clearedSlotIsEmpty() {
+		subject.clear();
+		subject.set(OBJ, null);
+
+		assertTrue(subject.containsKey(OBJ));
+		assertNull(subject.get(OBJ));
+
+		subject.clear();
+
+		assertTrue(subject.isEmpty());
+		assertFalse(subject.containsKey(OBJ));
+	}
+}
@@ -0,0 +1,234 @@
+package com.hedera.services.queries.answering;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.context.StateChildren;
+import com.hedera.services.context.primitives.SignedStateViewFactory;
+import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.CryptoGetInfoResponse;
+import com.hederahashgraph.api.proto.java.TokenID;
+import com.hederahashgraph.api.proto.java.TokenInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoGetInfo;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenGetInfo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SignedStateAnswerCacheTest {
+	@Mock
+	private StateView workingView;
+	@Mock
+	private StateChildren signedChildren;
+	@Mock
+	private StateChildren newerSignedChildren;
+	@Mock
+	private MiscRunningAvgs runningAvgs;
+	@Mock
+	private NodeLocalProperties nodeProperties;
+	@Mock
+	private SignedStateViewFactory stateViewFactory;
+
+	private final List<StateView> viewsUsed = new ArrayList<>();
+	private SignedStateAnswerCache subject;
+
+	@BeforeEach
+	void setUp() {
+		given(nodeProperties.queryAnswersCacheEnabled()).willReturn(true);
+		given(nodeProperties.queryAnswersMaxCachedBytes()).willReturn(1_024L);
+
+		subject = new SignedStateAnswerCache(null, null, runningAvgs, nodeProperties, stateViewFactory);
+	}
+
+	@Test
+	void alwaysUsesWorkingViewWhenDisabled() {
+		given(nodeProperties.queryAnswersCacheEnabled()).willReturn(false);
+		subject = new SignedStateAnswerCache(null, null, runningAvgs, nodeProperties, stateViewFactory);
+
+		final var answer = subject.answerFor(CryptoGetInfo, account, maxTokenRels, workingView, infoFromView);
+
+		assertEquals(Optional.of(workingInfo), answer);
+		assertEquals(List.of(workingView), viewsUsed);
+		assertEquals(0, subject.numCached());
+		verifyNoInteractions(stateViewFactory, runningAvgs);
+	}
+
+	@Test
+	void usesWorkingViewWithoutSignedState() {
+		final var answer = subject.answerFor(CryptoGetInfo, account, maxTokenRels, workingView, infoFromView);
+
+		assertEquals(Optional.of(workingInfo), answer);
+		assertEquals(List.of(workingView), viewsUsed);
+		assertEquals(0, subject.numCached());
+		verifyNoInteractions(runningAvgs);
+	}
+
+	@Test
+	void answersRepeatedQueriesFromOneSignedStateOnce() {
+		givenLatest(signedChildren, signedAt);
+
+		final var first = subject.answerFor(CryptoGetInfo, account, maxTokenRels, workingView, infoFromView);
+		final var second = subject.answerFor(CryptoGetInfo, account, maxTokenRels, workingView, infoFromView);
+
+		assertEquals(Optional.of(signedInfo), first);
+		assertSame(first.get(), second.get());
+		assertEquals(1, viewsUsed.size());
+		assertNotSame(workingView, viewsUsed.get(0));
+		assertEquals(1, subject.numCached());
+		assertEquals(signedInfo.getSerializedSize(), subject.cachedBytes());
+		verify(runningAvgs).recordQueryAnswerCacheHit(false);
+		verify(runningAvgs).recordQueryAnswerCacheHit(true);
+	}
+
+	@Test
+	void reusesOneViewPerSignedState() {
+		givenLatest(signedChildren, signedAt);
+
+		subject.answerFor(CryptoGetInfo, account, maxTokenRels, workingView, infoFromView);
+		subject.answerFor(TokenGetInfo, token, 0, workingView, tokenInfoFromView);
+
+		assertEquals(2, viewsUsed.size());
+		assertSame(viewsUsed.get(0), viewsUsed.get(1));
+		assertEquals(2, subject.numCached());
+	}
+
+	@Test
+	void distinguishesTokenRelLimits() {
+		givenLatest(signedChildren, signedAt);
+
+		subject.answerFor(CryptoGetInfo, account, maxTokenRels, workingView, infoFromView);
+		subject.answerFor(CryptoGetInfo, account, maxTokenRels + 1, workingView, infoFromView);
+
+		assertEquals(2, viewsUsed.size());
+		assertEquals(2, subject.numCached());
+	}
+
+	@Test
+	void dropsAnswersWhenNewerStateIsSigned() {
+		givenLatest(signedChildren, signedAt);
+		subject.answerFor(CryptoGetInfo, account, maxTokenRels, workingView, infoFromView);
+		subject.answerFor(TokenGetInfo, token, 0, workingView, tokenInfoFromView);
+
+		givenLatest(newerSignedChildren, signedAt.plusSeconds(1));
+		subject.answerFor(CryptoGetInfo, account, maxTokenRels, workingView, infoFromView);
+
+		assertEquals(3, viewsUsed.size());
+		assertNotSame(viewsUsed.get(0), viewsUsed.get(2));
+		assertEquals(1, subject.numCached());
+		assertEquals(signedInfo.getSerializedSize(), subject.cachedBytes());
+	}
+
+	@Test
+	void doesNotCacheAnswersFromOlderSignedState() {
+		givenLatest(newerSignedChildren, signedAt.plusSeconds(1));
+		subject.answerFor(TokenGetInfo, token, 0, workingView, tokenInfoFromView);
+
+		givenLatest(signedChildren, signedAt);
+		final var answer = subject.answerFor(CryptoGetInfo, account, maxTokenRels, workingView, infoFromView);
+
+		assertEquals(Optional.of(signedInfo), answer);
+		assertEquals(1, subject.numCached());
+		verify(runningAvgs, never()).recordQueryAnswerCacheHit(true);
+	}
+
+	@Test
+	void fallsBackToWorkingViewForEntitiesNotYetSigned() {
+		givenLatest(signedChildren, signedAt);
+
+		final var answer = subject.answerFor(
+				CryptoGetInfo, account, maxTokenRels, workingView, onlyInWorkingView);
+
+		assertEquals(Optional.of(workingInfo), answer);
+		assertEquals(2, viewsUsed.size());
+		assertSame(workingView, viewsUsed.get(1));
+		assertEquals(0, subject.numCached());
+	}
+
+	@Test
+	void doesNotCacheBeyondByteLimit() {
+		given(nodeProperties.queryAnswersMaxCachedBytes()).willReturn(signedInfo.getSerializedSize() - 1L);
+		subject = new SignedStateAnswerCache(null, null, runningAvgs, nodeProperties, stateViewFactory);
+		givenLatest(signedChildren, signedAt);
+
+		subject.answerFor(CryptoGetInfo, account, maxTokenRels, workingView, infoFromView);
+		final var answer = subject.answerFor(CryptoGetInfo, account, maxTokenRels, workingView, infoFromView);
+
+		assertEquals(Optional.of(signedInfo), answer);
+		assertEquals(2, viewsUsed.size());
+		assertEquals(0, subject.numCached());
+		assertEquals(0L, subject.cachedBytes());
+		assertTrue(signedInfo.getSerializedSize() > 0);
+	}
+
+	private void givenLatest(final StateChildren children, final Instant at) {
+		given(children.signedAt()).willReturn(at);
+		given(stateViewFactory.childrenOfLatestSignedState()).willReturn(Optional.of(children));
+	}
+
+	private final Function<StateView, Optional<CryptoGetInfoResponse.AccountInfo>> infoFromView = view -> {
+		viewsUsed.add(view);
+		return Optional.of(view == workingView ? workingInfo : signedInfo);
+	};
+	private final Function<StateView, Optional<CryptoGetInfoResponse.AccountInfo>> onlyInWorkingView = view -> {
+		viewsUsed.add(view);
+		return view == workingView ? Optional.of(workingInfo) : Optional.empty();
+	};
+	private final Function<StateView, Optional<TokenInfo>> tokenInfoFromView = view -> {
+		viewsUsed.add(view);
+		return Optional.of(TokenInfo.newBuilder().setTokenId(token).setSymbol("HOT").build());
+	};
+
+	private static final int maxTokenRels = 10;
+	private static final Instant signedAt = Instant.ofEpochSecond(1_234_567L);
+	private static final AccountID account = AccountID.newBuilder().setAccountNum(1_001L).build();
+	private static final TokenID token = TokenID.newBuilder().setTokenNum(1_002L).build();
+	private static final CryptoGetInfoResponse.AccountInfo signedInfo = CryptoGetInfoResponse.AccountInfo.newBuilder()
+			.setAccountID(account)
+			.setBalance(1_000L)
+			.setMemo("Signed")
+			.build();
+	private static final CryptoGetInfoResponse.AccountInfo workingInfo = CryptoGetInfoResponse.AccountInfo.newBuilder()
+			.setAccountID(account)
+			.setBalance(2_000L)
+			.setMemo("Working")
+			.build();
+}
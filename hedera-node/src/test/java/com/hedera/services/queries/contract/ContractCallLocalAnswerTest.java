@@ -23,18 +23,10 @@ package com.hedera.services.queries.contract;
 import com.google.protobuf.ByteString;
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
-import com.hedera.services.context.properties.NodeLocalProperties;
-import com.hedera.services.contracts.execution.BlockMetaSource;
-import com.hedera.services.contracts.execution.CallLocalEvmTxProcessor;
-import com.hedera.services.contracts.execution.StaticBlockMetaProvider;
-import com.hedera.services.contracts.execution.TransactionProcessingResult;
+import com.hedera.services.contracts.execution.CallLocalService;
 import com.hedera.services.ledger.accounts.AliasManager;
-import com.hedera.services.ledger.ids.EntityIdSource;
 import com.hedera.services.state.merkle.MerkleAccount;
-import com.hedera.services.store.AccountStore;
 import com.hedera.services.store.contracts.EntityAccess;
-import com.hedera.services.store.models.Account;
-import com.hedera.services.store.models.Id;
 import com.hedera.services.txns.validation.OptionValidator;
 import com.hedera.services.utils.EntityNum;
 import com.hedera.test.utils.IdUtils;
@@ -60,7 +52,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.TreeMap;
 
 import static com.hedera.test.factories.scenarios.TxnHandlingScenario.COMPLEX_KEY_ACCOUNT_KT;
 import static com.hedera.test.utils.TxnUtils.payerSponsoredTransfer;
@@ -79,7 +70,6 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -96,35 +86,24 @@ class ContractCallLocalAnswerTest {
 	@Mock
 	private StateView view;
 	@Mock
-	private AccountStore accountStore;
-	@Mock
-	private EntityIdSource ids;
-	@Mock
 	private OptionValidator validator;
 	@Mock
 	private EntityAccess entityAccess;
 	@Mock
 	private GlobalDynamicProperties dynamicProperties;
 	@Mock
-	private CallLocalEvmTxProcessor evmTxProcessor;
+	private CallLocalService callLocalService;
 	@Mock
 	private MerkleMap<EntityNum, MerkleAccount> contracts;
 	@Mock
-	private NodeLocalProperties nodeLocalProperties;
-	@Mock
 	private AliasManager aliasManager;
-	@Mock
-	private StaticBlockMetaProvider blockMetaProvider;
-	@Mock
-	private BlockMetaSource blockMetaSource;
 
 	private ContractCallLocalAnswer subject;
 
 	@BeforeEach
 	private void setup() {
 		subject = new ContractCallLocalAnswer(
-				ids, aliasManager, accountStore, validator, entityAccess,
-				dynamicProperties, nodeLocalProperties, evmTxProcessor, blockMetaProvider);
+				aliasManager, validator, entityAccess, dynamicProperties, callLocalService);
 	}
 
 	@Test
@@ -254,17 +233,14 @@ class ContractCallLocalAnswerTest {
 		assertEquals(CONTRACT_EXECUTION_EXCEPTION, opResponse.getHeader().getNodeTransactionPrecheckCode());
 		assertEquals(result, opResponse.getFunctionResult().getContractCallResult());
 		assertEquals(target, opResponse.getFunctionResult().getContractID());
-		verify(accountStore, never()).loadAccount(any());
+		verify(callLocalService, never()).execute(any(), any());
 	}
 
 	@Test
-	void getsCallResponseWhenNoBlockMetaAvailable() throws Throwable {
+	void getsBusyResponseWhenLocalCallServiceCannotAnswer() throws Throwable {
 		// setup:
 		Query sensibleQuery = validQuery(ANSWER_ONLY, 5L);
-
-		final var transactionProcessingResult = TransactionProcessingResult
-				.failed(0, 0, 1, Optional.empty(),
-						Optional.empty(), new TreeMap<>());
+		given(callLocalService.execute(sensibleQuery.getContractCallLocal(), view)).willReturn(Optional.empty());
 
 		Response response = subject.responseGiven(sensibleQuery, view, OK, 0L);
 
@@ -278,16 +254,8 @@ class ContractCallLocalAnswerTest {
 	void getsCallResponseWhenNoCtx() throws Throwable {
 		// setup:
 		Query sensibleQuery = validQuery(ANSWER_ONLY, 5L);
-
-		final var transactionProcessingResult = TransactionProcessingResult
-				.failed(0, 0, 1, Optional.empty(),
-						Optional.empty(), new TreeMap<>());
-
-		given(accountStore.loadAccount(any())).willReturn(new Account(Id.fromGrpcContract(target)));
-		given(accountStore.loadContract(any())).willReturn(new Account(Id.fromGrpcContract(target)));
-		given(evmTxProcessor.execute(any(), any(), anyLong(), anyLong(), any(), any()))
-				.willReturn(transactionProcessingResult);
-		given(blockMetaProvider.getSource()).willReturn(Optional.of(blockMetaSource));
+		given(callLocalService.execute(sensibleQuery.getContractCallLocal(), view))
+				.willReturn(Optional.of(response(CONTRACT_EXECUTION_EXCEPTION)));
 
 		Response response = subject.responseGiven(sensibleQuery, view, OK, 0L);
 
@@ -295,6 +263,7 @@ class ContractCallLocalAnswerTest {
 		var opResponse = response.getContractCallLocal();
 		assertTrue(opResponse.hasHeader(), "Missing response header!");
 		assertEquals(CONTRACT_EXECUTION_EXCEPTION, opResponse.getHeader().getNodeTransactionPrecheckCode());
+		assertEquals(result, opResponse.getFunctionResult().getContractCallResult());
 		assertEquals(target, opResponse.getFunctionResult().getContractID());
 	}
 
@@ -302,7 +271,8 @@ class ContractCallLocalAnswerTest {
 	void translatesFailWhenNoCtx() throws Throwable {
 		// setup:
 		Query sensibleQuery = validQuery(ANSWER_ONLY, 5L);
-		given(blockMetaProvider.getSource()).willReturn(Optional.of(blockMetaSource));
+		given(callLocalService.execute(sensibleQuery.getContractCallLocal(), view))
+				.willThrow(IllegalStateException.class);
 
 		// when:
 		Response response = subject.responseGiven(sensibleQuery, view, OK, 0L);
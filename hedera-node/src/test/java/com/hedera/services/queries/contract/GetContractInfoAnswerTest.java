@@ -21,10 +21,13 @@ package com.hedera.services.queries.contract;
  */
 
 import com.google.protobuf.ByteString;
+import com.hedera.services.context.primitives.SignedStateViewFactory;
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.NodeLocalProperties;
 import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.ledger.accounts.staking.RewardCalculator;
+import com.hedera.services.queries.answering.SignedStateAnswerCache;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.txns.validation.OptionValidator;
 import com.hedera.services.utils.EntityIdUtils;
@@ -72,6 +75,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.verify;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 
 @ExtendWith(MockitoExtension.class)
@@ -116,7 +120,10 @@ class GetContractInfoAnswerTest {
 						.build())
 				.build();
 
-		subject = new GetContractInfoAnswer(aliasManager, optionValidator, dynamicProperties, rewardCalculator);
+		final var answerCache = new SignedStateAnswerCache(
+				null, null, null, mock(NodeLocalProperties.class), mock(SignedStateViewFactory.class));
+		subject = new GetContractInfoAnswer(
+				aliasManager, optionValidator, dynamicProperties, rewardCalculator, answerCache);
 	}
 
 	@Test
@@ -22,12 +22,15 @@ package com.hedera.services.queries.crypto;
 
 import com.google.protobuf.ByteString;
 import com.hedera.services.context.MutableStateChildren;
+import com.hedera.services.context.primitives.SignedStateViewFactory;
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.NodeLocalProperties;
 import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.legacy.core.jproto.JEd25519Key;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.legacy.proto.utils.ByteStringUtils;
+import com.hedera.services.queries.answering.SignedStateAnswerCache;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleToken;
 import com.hedera.services.state.merkle.MerkleTokenRelStatus;
@@ -88,7 +91,9 @@ class GetAccountBalanceAnswerTest {
 
 	@BeforeEach
 	private void setup() {
-		subject = new GetAccountBalanceAnswer(aliasManager, optionValidator, dynamicProperties);
+		final var answerCache = new SignedStateAnswerCache(
+				null, null, null, mock(NodeLocalProperties.class), mock(SignedStateViewFactory.class));
+		subject = new GetAccountBalanceAnswer(aliasManager, optionValidator, dynamicProperties, answerCache);
 	}
 
 	@Test
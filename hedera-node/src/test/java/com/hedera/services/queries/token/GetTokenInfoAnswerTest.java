@@ -21,7 +21,10 @@ package com.hedera.services.queries.token;
  */
 
 import com.google.protobuf.ByteString;
+import com.hedera.services.context.primitives.SignedStateViewFactory;
 import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.queries.answering.SignedStateAnswerCache;
 import com.hedera.services.txns.validation.OptionValidator;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.Query;
@@ -86,7 +89,9 @@ class GetTokenInfoAnswerTest {
 		view = mock(StateView.class);
 		optionValidator = mock(OptionValidator.class);
 
-		subject = new GetTokenInfoAnswer();
+		final var answerCache = new SignedStateAnswerCache(
+				null, null, null, mock(NodeLocalProperties.class), mock(SignedStateViewFactory.class));
+		subject = new GetTokenInfoAnswer(answerCache);
 	}
 
 	@Test
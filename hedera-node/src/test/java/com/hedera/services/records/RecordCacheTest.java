@@ -20,7 +20,6 @@ package com.hedera.services.records;
  * ‍
  */
 
-import com.google.common.cache.Cache;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.services.legacy.core.jproto.TxnReceipt;
 import com.hedera.services.state.EntityCreator;
@@ -51,7 +50,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import static com.hedera.services.state.submerkle.EntityId.fromGrpcScheduleId;
 import static com.hedera.test.utils.IdUtils.asAccount;
@@ -79,9 +77,7 @@ class RecordCacheTest {
 	@Mock
 	private EntityCreator creator;
 	@Mock
-	private Cache<TransactionID, Boolean> receiptCache;
-	@Mock
-	private Map<TransactionID, TxnIdRecentHistory> histories;
+	private TxnReceiptIndex receiptIndex;
 	@Mock
 	private TxnIdRecentHistory recentHistory;
 	@Mock
@@ -93,7 +89,7 @@ class RecordCacheTest {
 
 	@BeforeEach
 	private void setup() {
-		subject = new RecordCache(receiptCache, histories);
+		subject = new RecordCache(receiptIndex);
 
 		subject.setCreator(creator);
 	}
@@ -101,7 +97,7 @@ class RecordCacheTest {
 	@Test
 	void getsReceiptWithKnownStatusPostConsensus() {
 		given(recentHistory.priorityRecord()).willReturn(aRecord);
-		given(histories.get(txnIdA)).willReturn(recentHistory);
+		given(receiptIndex.historyOf(txnIdA)).willReturn(recentHistory);
 
 		assertEquals(knownReceipt, subject.getPriorityReceipt(txnIdA));
 	}
@@ -110,7 +106,7 @@ class RecordCacheTest {
 	void getsDuplicateRecordsAsExpected() {
 		final var duplicateRecords = List.of(aRecord);
 		given(recentHistory.allDuplicateRecords()).willReturn(duplicateRecords);
-		given(histories.get(txnIdA)).willReturn(recentHistory);
+		given(receiptIndex.historyOf(txnIdA)).willReturn(recentHistory);
 
 		final var actual = subject.getDuplicateRecords(txnIdA);
 
@@ -122,8 +118,8 @@ class RecordCacheTest {
 		final var expectedChildren = List.of(aChildRecord.asGrpc());
 
 		given(recentHistory.priorityRecord()).willReturn(aRecord);
-		given(histories.get(txnIdA)).willReturn(recentHistory);
-		given(histories.get(txnIdA.toBuilder().setNonce(1).build())).willReturn(recentChildHistory);
+		given(receiptIndex.historyOf(txnIdA)).willReturn(recentHistory);
+		given(receiptIndex.historyOf(txnIdA, 1)).willReturn(recentChildHistory);
 		given(recentChildHistory.priorityRecord()).willReturn(aChildRecord);
 
 		final var actual = subject.getChildRecords(txnIdA);
@@ -136,8 +132,8 @@ class RecordCacheTest {
 		final var expectedChildren = List.of(aChildRecord.asGrpc().getReceipt());
 
 		given(recentHistory.priorityRecord()).willReturn(aRecord);
-		given(histories.get(txnIdA)).willReturn(recentHistory);
-		given(histories.get(txnIdA.toBuilder().setNonce(1).build())).willReturn(recentChildHistory);
+		given(receiptIndex.historyOf(txnIdA)).willReturn(recentHistory);
+		given(receiptIndex.historyOf(txnIdA, 1)).willReturn(recentChildHistory);
 		given(recentChildHistory.priorityRecord()).willReturn(aChildRecord);
 
 		final var actual = subject.getChildReceipts(txnIdA);
@@ -149,7 +145,7 @@ class RecordCacheTest {
 	void getsNoChildReceiptsIfParentRecordMissingOrUnknownOrHasNoChildren() {
 		assertSame(Collections.emptyList(), subject.getChildReceipts(txnIdA));
 
-		given(histories.get(txnIdA)).willReturn(recentHistory);
+		given(receiptIndex.historyOf(txnIdA)).willReturn(recentHistory);
 		aRecord.setNumChildRecords((short) 0);
 		given(recentHistory.priorityRecord()).willReturn(aRecord);
 
@@ -159,8 +155,8 @@ class RecordCacheTest {
 	@Test
 	void worksAroundExpiredChildRecordInExtraordinaryEdgeCase() {
 		given(recentHistory.priorityRecord()).willReturn(aRecord);
-		given(histories.get(txnIdA)).willReturn(recentHistory);
-		given(histories.get(txnIdA.toBuilder().setNonce(1).build())).willReturn(null);
+		given(receiptIndex.historyOf(txnIdA)).willReturn(recentHistory);
+		given(receiptIndex.historyOf(txnIdA, 1)).willReturn(null);
 
 		final var actual = subject.getChildReceipts(txnIdA);
 
@@ -177,7 +173,7 @@ class RecordCacheTest {
 		final var history = mock(TxnIdRecentHistory.class);
 		final var duplicateRecords = List.of(aRecord);
 		given(history.allDuplicateRecords()).willReturn(duplicateRecords);
-		given(histories.get(txnIdA)).willReturn(history);
+		given(receiptIndex.historyOf(txnIdA)).willReturn(history);
 
 		final var duplicateReceipts = subject.getDuplicateReceipts(txnIdA);
 
@@ -191,8 +187,8 @@ class RecordCacheTest {
 
 	@Test
 	void getsReceiptWithUnknownStatusPreconsensus() {
-		given(histories.get(txnIdA)).willReturn(null);
-		given(receiptCache.getIfPresent(txnIdA)).willReturn(Boolean.TRUE);
+		given(receiptIndex.historyOf(txnIdA)).willReturn(null);
+		given(receiptIndex.isMarkedPreConsensus(argThat(txnIdA::equals), anyLong())).willReturn(true);
 
 		assertEquals(unknownReceipt, subject.getPriorityReceipt(txnIdA));
 	}
@@ -200,7 +196,7 @@ class RecordCacheTest {
 	@Test
 	void getsReceiptWithUnknownStatusWhenNoPriorityRecordExists() {
 		given(recentHistory.priorityRecord()).willReturn(null);
-		given(histories.get(txnIdA)).willReturn(recentHistory);
+		given(receiptIndex.historyOf(txnIdA)).willReturn(recentHistory);
 
 		assertEquals(unknownReceipt, subject.getPriorityReceipt(txnIdA));
 	}
@@ -212,7 +208,7 @@ class RecordCacheTest {
 
 	@Test
 	void getsNullRecordWhenPreconsensus() {
-		given(histories.get(txnIdA)).willReturn(null);
+		given(receiptIndex.historyOf(txnIdA)).willReturn(null);
 
 		assertNull(subject.getPriorityRecord(txnIdA));
 	}
@@ -221,7 +217,7 @@ class RecordCacheTest {
 	void getsNullRecordWhenNoPriorityExists() {
 		final var history = mock(TxnIdRecentHistory.class);
 		given(history.priorityRecord()).willReturn(null);
-		given(histories.get(txnIdA)).willReturn(history);
+		given(receiptIndex.historyOf(txnIdA)).willReturn(history);
 
 		assertNull(subject.getPriorityRecord(txnIdA));
 	}
@@ -229,7 +225,7 @@ class RecordCacheTest {
 	@Test
 	void getsRecordWhenPresent() {
 		given(recentHistory.priorityRecord()).willReturn(aRecord);
-		given(histories.get(txnIdA)).willReturn(recentHistory);
+		given(receiptIndex.historyOf(txnIdA)).willReturn(recentHistory);
 
 		assertEquals(aRecord, subject.getPriorityRecord(txnIdA));
 	}
@@ -238,12 +234,12 @@ class RecordCacheTest {
 	void addsMarkerForPreconsensusReceipt() {
 		subject.addPreConsensus(txnIdB);
 
-		verify(receiptCache).put(txnIdB, Boolean.TRUE);
+		verify(receiptIndex).markPreConsensus(argThat(txnIdB::equals), anyLong());
 	}
 
 	@Test
 	void delegatesToPutPostConsensus() {
-		given(histories.computeIfAbsent(argThat(txnIdA::equals), any())).willReturn(recentHistory);
+		given(receiptIndex.getOrCreateHistory(txnIdA)).willReturn(recentHistory);
 
 		subject.setPostConsensus(
 				txnIdA,
@@ -265,7 +261,7 @@ class RecordCacheTest {
 				.build();
 		final var platformTxn = new SwirldTransaction(signedTxn.toByteArray());
 		final var effectivePayer = IdUtils.asAccount("0.0.3");
-		given(histories.computeIfAbsent(argThat(txnId::equals), any())).willReturn(recentHistory);
+		given(receiptIndex.getOrCreateHistory(txnId)).willReturn(recentHistory);
 		final var accessor = PlatformTxnAccessor.from(SignedTxnAccessor.from(platformTxn.getContents()),
 				platformTxn);
 
@@ -302,7 +298,7 @@ class RecordCacheTest {
 				.build();
 		final var effectivePayer = IdUtils.asAccount("0.0.3");
 		final var effectiveScheduleID = IdUtils.asSchedule("0.0.123");
-		given(histories.computeIfAbsent(argThat(txnId::equals), any())).willReturn(recentHistory);
+		given(receiptIndex.getOrCreateHistory(txnId)).willReturn(recentHistory);
 		willCallRealMethod().given(factory).triggeredTxn(
 				signedTxn.toByteArray(), effectivePayer, effectiveScheduleID, false, false);
 
@@ -332,12 +328,12 @@ class RecordCacheTest {
 
 
 	@Test
-	void usesHistoryThenCacheToTestReceiptPresence() {
-		given(histories.containsKey(txnIdA)).willReturn(true);
-		given(histories.containsKey(txnIdB)).willReturn(false);
-		given(receiptCache.getIfPresent(txnIdB)).willReturn(RecordCache.MARKER);
-		given(histories.containsKey(txnIdC)).willReturn(false);
-		given(receiptCache.getIfPresent(txnIdC)).willReturn(null);
+	void usesHistoryThenMarkerToTestReceiptPresence() {
+		given(receiptIndex.historyOf(txnIdA)).willReturn(recentHistory);
+		given(receiptIndex.historyOf(txnIdB)).willReturn(null);
+		given(receiptIndex.isMarkedPreConsensus(argThat(txnIdB::equals), anyLong())).willReturn(true);
+		given(receiptIndex.historyOf(txnIdC)).willReturn(null);
+		given(receiptIndex.isMarkedPreConsensus(argThat(txnIdC::equals), anyLong())).willReturn(false);
 
 		final var hasA = subject.isReceiptPresent(txnIdA);
 		final var hasB = subject.isReceiptPresent(txnIdB);
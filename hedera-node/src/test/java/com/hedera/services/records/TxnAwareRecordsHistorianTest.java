@@ -30,6 +30,7 @@ import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hedera.services.state.submerkle.RichInstant;
 import com.hedera.services.state.submerkle.TxnId;
+import com.hedera.services.stats.ExecutionTimeTracker;
 import com.hedera.services.stream.RecordStreamObject;
 import com.hedera.services.utils.accessors.TxnAccessor;
 import com.hederahashgraph.api.proto.java.AccountID;
@@ -53,6 +54,7 @@ import java.util.List;
 import java.util.function.Consumer;
 
 import static com.hedera.services.legacy.proto.utils.CommonUtils.noThrowSha384HashOf;
+import static com.hedera.services.stats.HandleStage.RECORD_CREATION;
 import static com.hedera.test.utils.IdUtils.asAccount;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_ACCOUNT_ID;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_CHUNK_NUMBER;
@@ -122,12 +124,15 @@ class TxnAwareRecordsHistorianTest {
 	private RecordStreamObject rso;
 	@Mock
 	private ConsensusTimeTracker consensusTimeTracker;
+	@Mock
+	private ExecutionTimeTracker executionTimeTracker;
 
 	private RecordsHistorian subject;
 
 	@BeforeEach
 	void setUp() {
-		subject = new TxnAwareRecordsHistorian(recordCache, txnCtx, expiries, consensusTimeTracker);
+		subject = new TxnAwareRecordsHistorian(
+				recordCache, txnCtx, expiries, consensusTimeTracker, executionTimeTracker);
 		subject.setCreator(creator);
 	}
 
@@ -211,6 +216,8 @@ class TxnAwareRecordsHistorianTest {
 		final var followingRsos = subject.getFollowingChildRecords();
 		assertTrue(followingRsos.isEmpty());
 		verify(consensusTimeTracker).setActualFollowingRecordsCount(0L);
+		verify(executionTimeTracker).startStage(RECORD_CREATION);
+		verify(executionTimeTracker).stopStage(RECORD_CREATION);
 	}
 
 	@Test
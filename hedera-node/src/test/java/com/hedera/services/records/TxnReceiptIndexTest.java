@@ -0,0 +1,269 @@
+package com.hedera.services.records;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.state.submerkle.TxnId;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class TxnReceiptIndexTest {
+	private static final long ttl = 180L;
+	private static final long now = 1_234_567L;
+
+	private TxnReceiptIndex subject;
+
+	@BeforeEach
+	void setUp() {
+		subject = new TxnReceiptIndex(ttl);
+	}
+
+	@Test
+	void readsTtlFromProperties() {
+		final var properties = mock(PropertySource.class);
+		given(properties.getIntProperty("cache.records.ttl")).willReturn(10);
+		subject = new TxnReceiptIndex(properties);
+
+		subject.markPreConsensus(txnId, now);
+		subject.purgeMarkersExpiredAt(now + 9);
+		assertTrue(subject.isMarkedPreConsensus(txnId, now));
+		subject.purgeMarkersExpiredAt(now + 10);
+		assertFalse(subject.isMarkedPreConsensus(txnId, now));
+	}
+
+	@Test
+	void grpcAndSubmerkleIdsShareHistories() {
+		final var history = subject.getOrCreateHistory(txnId);
+
+		assertSame(history, subject.historyOf(txnId));
+		assertSame(history, subject.historyOf(TxnId.fromGrpc(txnId)));
+		assertSame(history, subject.getOrCreateHistory(TxnId.fromGrpc(txnId)));
+		assertNull(subject.historyOf(scheduledTxnId));
+		assertEquals(1, subject.size());
+	}
+
+	@Test
+	void findsChildHistoriesByNonceWithoutBuildingIds() {
+		final var parent = subject.getOrCreateHistory(txnId);
+		final var child = subject.getOrCreateHistory(TxnId.fromGrpc(txnId).withNonce(2));
+
+		assertSame(parent, subject.historyOf(txnId, 0));
+		assertSame(child, subject.historyOf(txnId, 2));
+		assertSame(child, subject.historyOf(txnId.toBuilder().setNonce(2).build()));
+		assertNull(subject.historyOf(txnId, 1));
+	}
+
+	@Test
+	void purgesOnlyMarkersThatExpired() {
+		subject.markPreConsensus(txnId, now);
+		subject.markPreConsensus(scheduledTxnId, now + 1);
+		subject.markPreConsensus(txnId, now + 2);
+
+		subject.purgeMarkersExpiredAt(now + ttl + 1);
+		assertTrue(subject.isMarkedPreConsensus(txnId, now));
+		assertFalse(subject.isMarkedPreConsensus(scheduledTxnId, now));
+		assertEquals(1, subject.size());
+
+		subject.purgeMarkersExpiredAt(now + ttl + 2);
+		assertFalse(subject.isMarkedPreConsensus(txnId, now));
+		assertEquals(0, subject.size());
+	}
+
+	@Test
+	void expiredMarkersAreIgnoredEvenBeforeBeingPurged() {
+		subject.markPreConsensus(txnId, now);
+		subject.markPreConsensus(otherShardTxnId, now);
+
+		assertTrue(subject.isMarkedPreConsensus(txnId, now + ttl - 1));
+		assertTrue(subject.isMarkedPreConsensus(otherShardTxnId, now + ttl - 1));
+		assertFalse(subject.isMarkedPreConsensus(txnId, now + ttl));
+		assertFalse(subject.isMarkedPreConsensus(otherShardTxnId, now + ttl));
+		assertEquals(2, subject.size());
+	}
+
+	@Test
+	void markingSweepsExpiredMarkers() {
+		subject.markPreConsensus(txnId, now);
+		subject.markPreConsensus(otherShardTxnId, now);
+
+		subject.markPreConsensus(scheduledTxnId, now + ttl);
+
+		assertFalse(subject.isMarkedPreConsensus(txnId, now));
+		assertFalse(subject.isMarkedPreConsensus(otherShardTxnId, now));
+		assertTrue(subject.isMarkedPreConsensus(scheduledTxnId, now + ttl));
+		assertEquals(1, subject.size());
+	}
+
+	@Test
+	void markersAndHistoriesAreIndependent() {
+		subject.markPreConsensus(txnId, now);
+		final var history = subject.getOrCreateHistory(txnId);
+
+		subject.purgeMarkersExpiredAt(now + ttl);
+		assertFalse(subject.isMarkedPreConsensus(txnId, now));
+		assertSame(history, subject.historyOf(txnId));
+
+		subject.markPreConsensus(txnId, now);
+		subject.forgetHistory(TxnId.fromGrpc(txnId));
+		assertNull(subject.historyOf(txnId));
+		assertTrue(subject.isMarkedPreConsensus(txnId, now));
+		assertEquals(1, subject.size());
+	}
+
+	@Test
+	void clearingHistoriesKeepsMarkers() {
+		subject.markPreConsensus(txnId, now);
+		subject.getOrCreateHistory(txnId);
+		subject.getOrCreateHistory(scheduledTxnId);
+		subject.getOrCreateHistory(otherShardTxnId);
+
+		subject.clearHistories();
+
+		assertNull(subject.historyOf(txnId));
+		assertNull(subject.historyOf(scheduledTxnId));
+		assertNull(subject.historyOf(otherShardTxnId));
+		assertTrue(subject.isMarkedPreConsensus(txnId, now));
+		assertEquals(1, subject.size());
+	}
+
+	@Test
+	void unpackableIdsUseFallback() {
+		final var unpackable = List.of(otherShardTxnId, hugeNanosTxnId);
+		for (final var id : unpackable) {
+			subject.markPreConsensus(id, now);
+			final var history = subject.getOrCreateHistory(id);
+			assertSame(history, subject.historyOf(id));
+			assertSame(history, subject.historyOf(TxnId.fromGrpc(id)));
+			assertTrue(subject.isMarkedPreConsensus(id, now));
+		}
+		final var child = subject.getOrCreateHistory(otherShardTxnId.toBuilder().setNonce(1).build());
+		assertSame(child, subject.historyOf(otherShardTxnId, 1));
+		assertEquals(5, subject.size());
+
+		subject.purgeMarkersExpiredAt(now + ttl);
+		for (final var id : unpackable) {
+			assertFalse(subject.isMarkedPreConsensus(id, now));
+			subject.forgetHistory(TxnId.fromGrpc(id));
+			assertNull(subject.historyOf(id));
+		}
+		assertEquals(1, subject.size());
+	}
+
+	@Test
+	void aliasPayersUseFallback() {
+		subject.markPreConsensus(aliasTxnId, now);
+		final var history = subject.getOrCreateHistory(aliasTxnId);
+
+		assertSame(history, subject.historyOf(aliasTxnId));
+		assertTrue(subject.isMarkedPreConsensus(aliasTxnId, now));
+		assertNull(subject.historyOf(txnId.toBuilder().setAccountID(asAccount("0.0.0")).build()));
+	}
+
+	@Test
+	void visitsEveryHistory() {
+		subject.getOrCreateHistory(txnId);
+		subject.getOrCreateHistory(otherShardTxnId);
+		subject.markPreConsensus(scheduledTxnId, now);
+
+		final List<TxnIdRecentHistory> visited = new ArrayList<>();
+		subject.forEachHistory(visited::add);
+
+		assertEquals(2, visited.size());
+		assertTrue(visited.contains(subject.historyOf(txnId)));
+		assertTrue(visited.contains(subject.historyOf(otherShardTxnId)));
+	}
+
+	@Test
+	void growsAndShiftsBackOnRemovalWithoutLosingEntries() {
+		final var n = 100_000;
+		final var initialCapacity = subject.capacity();
+		for (int i = 1; i <= n; i++) {
+			subject.getOrCreateHistory(idWith(i));
+		}
+		assertTrue(subject.capacity() > initialCapacity);
+		assertEquals(n, subject.size());
+
+		for (int i = 1; i <= n; i += 2) {
+			subject.forgetHistory(TxnId.fromGrpc(idWith(i)));
+		}
+		assertEquals(n / 2, subject.size());
+		for (int i = 1; i <= n; i++) {
+			final var history = subject.historyOf(idWith(i));
+			if (i % 2 == 0) {
+				assertNotNull(history);
+			} else {
+				assertNull(history);
+			}
+		}
+	}
+
+	@Test
+	void packsDistinctFieldsIntoDistinctWords() {
+		assertEquals(-1, TxnReceiptIndex.packedRest(-1, 0, false));
+		assertEquals(-1, TxnReceiptIndex.packedRest(1 << 30, 0, false));
+		assertEquals(1, TxnReceiptIndex.packedRest(0, 0, true));
+		assertEquals(2, TxnReceiptIndex.packedRest(0, 1, false));
+		assertEquals(1L << 33, TxnReceiptIndex.packedRest(1, 0, false));
+		assertEquals(0xFFFFFFFFL << 1, TxnReceiptIndex.packedRest(0, -1, false));
+		assertEquals(((999_999_999L) << 33) | (0xFFFFFFFFL << 1) | 1,
+				TxnReceiptIndex.packedRest(999_999_999, -1, true));
+	}
+
+	private static TransactionID idWith(final int i) {
+		return TransactionID.newBuilder()
+				.setAccountID(asAccount("0.0." + (1 + i % 97)))
+				.setTransactionValidStart(Timestamp.newBuilder().setSeconds(now + i / 1000).setNanos(i))
+				.build();
+	}
+
+	private static final TransactionID txnId = TransactionID.newBuilder()
+			.setAccountID(asAccount("0.0.1001"))
+			.setTransactionValidStart(Timestamp.newBuilder().setSeconds(now).setNanos(123))
+			.build();
+	private static final TransactionID scheduledTxnId = txnId.toBuilder().setScheduled(true).build();
+	private static final TransactionID otherShardTxnId = txnId.toBuilder()
+			.setAccountID(asAccount("1.2.1001"))
+			.build();
+	private static final TransactionID aliasTxnId = txnId.toBuilder()
+			.setAccountID(AccountID.newBuilder().setAlias(ByteString.copyFromUtf8("alias")))
+			.build();
+	private static final TransactionID hugeNanosTxnId = txnId.toBuilder()
+			.setTransactionValidStart(Timestamp.newBuilder().setSeconds(now).setNanos(Integer.MAX_VALUE))
+			.build();
+}
@@ -0,0 +1,289 @@
+package com.hedera.services.sigs.sourcing;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.services.legacy.exception.KeyPrefixMismatchException;
+import com.hederahashgraph.api.proto.java.SignatureMap;
+import com.hederahashgraph.api.proto.java.SignaturePair;
+import com.hederahashgraph.api.proto.java.SignedTransaction;
+import com.hederahashgraph.api.proto.java.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffsetSigMapTest {
+	private static final String FAKE_SIG = "012345678901234567890123456789012345678901234567";
+
+	@Test
+	void distinguishesBetweenFullAndPartialPrefixes() throws InvalidProtocolBufferException {
+		final var sigMap = SignatureMap.newBuilder()
+				.addSigPair(ed25519Pair("a", FAKE_SIG))
+				.addSigPair(ed25519Pair("01234567890123456789012345678901", FAKE_SIG))
+				.build();
+
+		final var subject = OffsetSigMap.fromSigMapBytes(sigMap.toByteArray());
+
+		assertThrows(IllegalArgumentException.class, () -> subject.isFullPrefixAt(-1));
+		assertThrows(IllegalArgumentException.class, () -> subject.isFullPrefixAt(2));
+		assertFalse(subject.isFullPrefixAt(0));
+		assertTrue(subject.isFullPrefixAt(1));
+	}
+
+	@Test
+	void accessorsAsExpected() throws InvalidProtocolBufferException {
+		final var secondSig = FAKE_SIG.substring(1) + FAKE_SIG.charAt(0);
+		final var thirdSig = FAKE_SIG.substring(2) + FAKE_SIG.substring(0, 2);
+		final var grpc = SignatureMap.newBuilder()
+				.addSigPair(ed25519Pair("a", FAKE_SIG))
+				.addSigPair(ed25519Pair("ab", secondSig))
+				.addSigPair(SignaturePair.newBuilder()
+						.setPubKeyPrefix(ByteString.copyFromUtf8("abc"))
+						.setECDSASecp256K1(ByteString.copyFromUtf8(thirdSig)))
+				.build();
+
+		final var subject = OffsetSigMap.fromSigMapBytes(grpc.toByteArray());
+
+		assertEquals(3, subject.numSigsPairs());
+		assertArrayEquals("a".getBytes(), subject.pubKeyPrefix(0));
+		assertArrayEquals(FAKE_SIG.getBytes(), subject.primitiveSignature(0));
+		assertArrayEquals("ab".getBytes(), subject.pubKeyPrefix(1));
+		assertArrayEquals(secondSig.getBytes(), subject.primitiveSignature(1));
+		assertArrayEquals("abc".getBytes(), subject.pubKeyPrefix(2));
+		assertArrayEquals(thirdSig.getBytes(), subject.primitiveSignature(2));
+		assertEquals(KeyType.ED25519, subject.keyType(0));
+		assertEquals(KeyType.ED25519, subject.keyType(1));
+		assertEquals(KeyType.ECDSA_SECP256K1, subject.keyType(2));
+		assertEquals(
+				"OffsetSigMap{keyTypes=[ED25519, ED25519, ECDSA_SECP256K1], pubKeyPrefixes=[61, 6162, 616263]}",
+				subject.toString());
+	}
+
+	@Test
+	void viewsSigMapInSignedTransactionBytes() throws InvalidProtocolBufferException {
+		final var sigMap = SignatureMap.newBuilder()
+				.addSigPair(ed25519Pair("a", FAKE_SIG))
+				.build();
+		final var decoyMap = SignatureMap.newBuilder()
+				.addSigPair(ed25519Pair("z", FAKE_SIG))
+				.build();
+		final var wrapper = Transaction.newBuilder()
+				.setSigMap(decoyMap)
+				.setSignedTransactionBytes(SignedTransaction.newBuilder()
+						.setBodyBytes(ByteString.copyFromUtf8("NONSENSE"))
+						.setSigMap(sigMap)
+						.build()
+						.toByteString())
+				.build();
+
+		final var subject = OffsetSigMap.fromSignedTxnWrapper(wrapper.toByteArray());
+
+		assertEquals(1, subject.numSigsPairs());
+		assertArrayEquals("a".getBytes(), subject.pubKeyPrefix(0));
+	}
+
+	@Test
+	void viewsLegacySigMapWithoutSignedTransactionBytes() throws InvalidProtocolBufferException {
+		final var wrapper = Transaction.newBuilder()
+				.setBodyBytes(ByteString.copyFromUtf8("NONSENSE"))
+				.setSigMap(SignatureMap.newBuilder()
+						.addSigPair(ed25519Pair("a", FAKE_SIG))
+						.addSigPair(ed25519Pair("b", FAKE_SIG)))
+				.build();
+
+		final var subject = OffsetSigMap.fromSignedTxnWrapper(wrapper.toByteArray());
+
+		assertEquals(2, subject.numSigsPairs());
+		assertArrayEquals("b".getBytes(), subject.pubKeyPrefix(1));
+	}
+
+	@Test
+	void followsProtobufSemanticsForRepeatedAndUnusualFields() throws Exception {
+		final var first = SignatureMap.newBuilder().addSigPair(ed25519Pair("a", FAKE_SIG)).build();
+		final var second = SignatureMap.newBuilder()
+				.addSigPair(SignaturePair.newBuilder()
+						.setPubKeyPrefix(ByteString.copyFromUtf8("b"))
+						.setRSA3072(ByteString.copyFromUtf8(FAKE_SIG)))
+				.addSigPair(SignaturePair.newBuilder()
+						.setPubKeyPrefix(ByteString.copyFromUtf8("c"))
+						.setECDSASecp256K1(ByteString.EMPTY))
+				.build();
+		final var out = new ByteArrayOutputStream();
+		/* Two occurrences of the sigMap field are merged by protobuf */
+		Transaction.newBuilder().setSigMap(first).build().writeTo(out);
+		Transaction.newBuilder().setSigMap(second).build().writeTo(out);
+		final var bytes = out.toByteArray();
+		final var expected = PojoSigMap.fromGrpc(Transaction.parseFrom(bytes).getSigMap());
+
+		final var subject = OffsetSigMap.fromSignedTxnWrapper(bytes);
+
+		assertSameAs(expected, subject);
+		assertEquals(0, subject.primitiveSignature(1).length);
+		assertEquals(KeyType.ED25519, subject.keyType(2));
+	}
+
+	@Test
+	void lastPrefixAndSignatureWinLikeProtobuf() throws Exception {
+		final var out = new ByteArrayOutputStream();
+		ed25519Pair("a", FAKE_SIG).writeTo(out);
+		SignaturePair.newBuilder()
+				.setPubKeyPrefix(ByteString.copyFromUtf8("bb"))
+				.setECDSASecp256K1(ByteString.copyFromUtf8("sig"))
+				.build()
+				.writeTo(out);
+		final var sigMapBytes = SignatureMap.newBuilder()
+				.addSigPair(SignaturePair.parseFrom(out.toByteArray()))
+				.build()
+				.toByteArray();
+		final var rawSigMapBytes = withSinglePairOf(out.toByteArray());
+
+		final var subject = OffsetSigMap.fromSigMapBytes(rawSigMapBytes);
+
+		assertSameAs(PojoSigMap.fromGrpc(SignatureMap.parseFrom(sigMapBytes)), subject);
+		assertEquals(KeyType.ECDSA_SECP256K1, subject.keyType(0));
+	}
+
+	@Test
+	void rejectsMalformedBytes() {
+		final var truncated = Transaction.newBuilder()
+				.setSigMap(SignatureMap.newBuilder().addSigPair(ed25519Pair("a", FAKE_SIG)))
+				.build()
+				.toByteArray();
+		final var malformed = Arrays.copyOf(truncated, truncated.length - 1);
+
+		assertThrows(InvalidProtocolBufferException.class, () -> OffsetSigMap.fromSignedTxnWrapper(malformed));
+		assertThrows(InvalidProtocolBufferException.class, () -> OffsetSigMap.fromSigMapBytes(new byte[] { 10, 5 }));
+	}
+
+	@Test
+	void findsUniquePrefixesAcrossLengths() throws Exception {
+		final var subject = OffsetSigMap.fromSigMapBytes(SignatureMap.newBuilder()
+				.addSigPair(ed25519Pair("abc", "1"))
+				.addSigPair(ed25519Pair("b", "2"))
+				.addSigPair(ed25519Pair("abd", "3"))
+				.addSigPair(ed25519Pair("cd", "4"))
+				.build()
+				.toByteArray());
+
+		assertEquals(0, subject.indexOfPrefixFor("abcdef".getBytes()));
+		assertEquals(1, subject.indexOfPrefixFor("bcd".getBytes()));
+		assertEquals(2, subject.indexOfPrefixFor("abd".getBytes()));
+		assertEquals(3, subject.indexOfPrefixFor("cdef".getBytes()));
+		assertEquals(-1, subject.indexOfPrefixFor("ab".getBytes()));
+		assertEquals(-1, subject.indexOfPrefixFor("zzzz".getBytes()));
+		assertEquals(-1, subject.indexOfPrefixFor(new byte[0]));
+	}
+
+	@Test
+	void rejectsAmbiguousPrefixes() throws Exception {
+		final var subject = OffsetSigMap.fromSigMapBytes(SignatureMap.newBuilder()
+				.addSigPair(ed25519Pair("ab", "1"))
+				.addSigPair(ed25519Pair("abc", "2"))
+				.addSigPair(ed25519Pair("x", "3"))
+				.addSigPair(ed25519Pair("x", "4"))
+				.build()
+				.toByteArray());
+
+		final var e = assertThrows(KeyPrefixMismatchException.class, () -> subject.indexOfPrefixFor("abcd".getBytes()));
+		assertEquals(
+				"Source signature map with prefix 616263 is ambiguous for given public key! (61626364)",
+				e.getMessage());
+		assertThrows(KeyPrefixMismatchException.class, () -> subject.indexOfPrefixFor("xyz".getBytes()));
+		assertEquals(0, subject.indexOfPrefixFor("abd".getBytes()));
+	}
+
+	@Test
+	void lookupsAgreeWithLinearScan() throws Exception {
+		final var r = new SplittableRandom(1_234_567L);
+		for (int trial = 0; trial < 200; trial++) {
+			final var builder = SignatureMap.newBuilder();
+			final var n = r.nextInt(0, 12);
+			for (int i = 0; i < n; i++) {
+				builder.addSigPair(ed25519Pair(randomBytes(r, r.nextInt(0, 4)), randomBytes(r, 2)));
+			}
+			final var sigMap = builder.build();
+			final var expected = new PojoSigMapPubKeyToSigBytes(sigMap);
+			final var actual = new OffsetSigMapPubKeyToSigBytes(OffsetSigMap.fromSigMapBytes(sigMap.toByteArray()));
+			for (int k = 0; k < 20; k++) {
+				final var pubKey = randomBytes(r, r.nextInt(0, 5)).getBytes();
+				byte[] expectedSig = null;
+				byte[] actualSig = null;
+				try {
+					expectedSig = expected.sigBytesFor(pubKey);
+				} catch (KeyPrefixMismatchException ignore) {
+					/* Checked below */
+				}
+				try {
+					actualSig = actual.sigBytesFor(pubKey);
+				} catch (KeyPrefixMismatchException ignore) {
+					/* Checked below */
+				}
+				if (expectedSig == null) {
+					assertEquals(null, actualSig);
+				} else {
+					assertArrayEquals(expectedSig, actualSig);
+				}
+			}
+		}
+	}
+
+	private static void assertSameAs(final PojoSigMap expected, final OffsetSigMap actual) {
+		assertEquals(expected.numSigsPairs(), actual.numSigsPairs());
+		for (int i = 0, n = expected.numSigsPairs(); i < n; i++) {
+			assertEquals(expected.keyType(i), actual.keyType(i));
+			assertArrayEquals(expected.pubKeyPrefix(i), actual.pubKeyPrefix(i));
+			assertArrayEquals(expected.primitiveSignature(i), actual.primitiveSignature(i));
+		}
+	}
+
+	private static byte[] withSinglePairOf(final byte[] rawPairBytes) {
+		final var out = new ByteArrayOutputStream();
+		out.write(10);
+		out.write(rawPairBytes.length);
+		out.writeBytes(rawPairBytes);
+		return out.toByteArray();
+	}
+
+	private static String randomBytes(final SplittableRandom r, final int n) {
+		final var sb = new StringBuilder();
+		for (int i = 0; i < n; i++) {
+			sb.append((char) ('a' + r.nextInt(3)));
+		}
+		return sb.toString();
+	}
+
+	private static SignaturePair ed25519Pair(final String prefix, final String sig) {
+		return SignaturePair.newBuilder()
+				.setPubKeyPrefix(ByteString.copyFromUtf8(prefix))
+				.setEd25519(ByteString.copyFromUtf8(sig))
+				.build();
+	}
+}
@@ -0,0 +1,149 @@
+package com.hedera.services.sigs.verification;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.sigs.factories.PlatformSigFactory;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.swirlds.common.crypto.TransactionSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hedera.test.factories.sigs.SyncVerifiers.ALWAYS_VALID;
+import static com.swirlds.common.crypto.VerificationStatus.VALID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.verifyNoInteractions;
+
+class BatchingSyncVerifierTest {
+	private static final int MAX_BATCH_SIZE = 8;
+
+	private MiscRunningAvgs runningAvgs;
+
+	private BatchingSyncVerifier subject;
+
+	@BeforeEach
+	void setUp() {
+		runningAvgs = mock(MiscRunningAvgs.class);
+	}
+
+	@Test
+	void emptyListIsNoop() {
+		final SyncVerifier delegate = mock(SyncVerifier.class);
+		subject = new BatchingSyncVerifier(delegate, runningAvgs, MAX_BATCH_SIZE);
+
+		subject.verifySync(Collections.emptyList());
+
+		verifyNoInteractions(delegate, runningAvgs);
+	}
+
+	@Test
+	void singleCallerIsVerifiedInPlaceAndMeasured() {
+		subject = new BatchingSyncVerifier(ALWAYS_VALID, runningAvgs, MAX_BATCH_SIZE);
+		final var sigs = sigs(3);
+
+		subject.verifySync(sigs);
+
+		assertEquals(3, sigs.size());
+		sigs.forEach(sig -> assertEquals(VALID, sig.getSignatureStatus()));
+		verify(runningAvgs).recordPrecheckSigBatchSize(3);
+		verify(runningAvgs).recordPrecheckSigVerifyUs(anyDouble());
+	}
+
+	@Test
+	void requestLargerThanMaxBatchIsStillVerified() {
+		subject = new BatchingSyncVerifier(ALWAYS_VALID, runningAvgs, 1);
+		final var sigs = sigs(5);
+
+		subject.verifySync(sigs);
+
+		sigs.forEach(sig -> assertEquals(VALID, sig.getSignatureStatus()));
+		verify(runningAvgs).recordPrecheckSigBatchSize(5);
+	}
+
+	@Test
+	void delegateFailureIsPropagated() {
+		final var failure = new IllegalStateException("Crypto engine unavailable");
+		subject = new BatchingSyncVerifier(l -> {
+			throw failure;
+		}, runningAvgs, MAX_BATCH_SIZE);
+
+		final var actual = assertThrows(IllegalStateException.class, () -> subject.verifySync(sigs(1)));
+
+		assertSame(failure, actual);
+	}
+
+	@Test
+	void concurrentCallersShareDelegateCalls() throws Exception {
+		final int numCallers = 16;
+		final var delegateCalls = new AtomicInteger();
+		final var sigsVerified = new AtomicInteger();
+		subject = new BatchingSyncVerifier(l -> {
+			delegateCalls.incrementAndGet();
+			sigsVerified.addAndGet(l.size());
+			ALWAYS_VALID.verifySync(l);
+		}, runningAvgs, MAX_BATCH_SIZE);
+
+		final var exec = Executors.newFixedThreadPool(numCallers);
+		final var start = new CountDownLatch(1);
+		final List<Future<List<TransactionSignature>>> results = new ArrayList<>();
+		for (int i = 0; i < numCallers; i++) {
+			results.add(exec.submit(() -> {
+				final var sigs = sigs(2);
+				start.await();
+				subject.verifySync(sigs);
+				return sigs;
+			}));
+		}
+		start.countDown();
+
+		for (final var result : results) {
+			result.get(10, TimeUnit.SECONDS)
+					.forEach(sig -> assertEquals(VALID, sig.getSignatureStatus()));
+		}
+		exec.shutdown();
+
+		assertEquals(2 * numCallers, sigsVerified.get());
+		assertTrue(delegateCalls.get() <= numCallers);
+	}
+
+	private static List<TransactionSignature> sigs(final int n) {
+		final List<TransactionSignature> sigs = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			sigs.add(PlatformSigFactory.ed25519Sig(new byte[] { (byte) i }, "SIG".getBytes(), "DATA".getBytes()));
+		}
+		return sigs;
+	}
+}
@@ -20,14 +20,21 @@ package com.hedera.services.state.expiry;
  * ‍
  */
 
-import com.hedera.services.config.HederaNumbers;
 import com.hedera.services.config.MockGlobalDynamicProps;
 import com.hedera.services.config.MockHederaNumbers;
 import com.hedera.services.records.ConsensusTimeTracker;
+import com.hedera.services.state.expiry.renewal.RenewableEntityIndex;
 import com.hedera.services.state.expiry.renewal.RenewalProcess;
 import com.hedera.services.state.logic.NetworkCtxManager;
+import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleNetworkContext;
-import com.hedera.services.state.submerkle.SequenceNumber;
+import com.hedera.services.utils.EntityNum;
+import com.hedera.test.factories.accounts.MerkleAccountFactory;
+import com.swirlds.common.constructable.ClassConstructorPair;
+import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.constructable.ConstructableRegistryException;
+import com.swirlds.merkle.map.MerkleMap;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -50,13 +57,11 @@ import static org.mockito.internal.verification.VerificationModeFactory.times;
 @ExtendWith(MockitoExtension.class)
 class EntityAutoRenewalTest {
 	private final Instant instantNow = Instant.ofEpochSecond(1_234_567L);
-	private final HederaNumbers mockHederaNums = new MockHederaNumbers();
+	private final long now = instantNow.getEpochSecond();
 	private final MockGlobalDynamicProps properties = new MockGlobalDynamicProps();
 
 	private final long aNum = 1002L, bNum = 1003L, cNum = 1004L;
 
-	@Mock
-	private SequenceNumber seqNo;
 	@Mock
 	private RenewalProcess renewalProcess;
 	@Mock
@@ -66,13 +71,25 @@ class EntityAutoRenewalTest {
 	@Mock
 	private ConsensusTimeTracker consensusTimeTracker;
 
+	private MerkleMap<EntityNum, MerkleAccount> accounts;
+	private RenewableEntityIndex renewableEntities;
+
 	private EntityAutoRenewal subject;
 
+	@BeforeAll
+	static void registerConstructables() throws ConstructableRegistryException {
+		ConstructableRegistry.registerConstructable(
+				new ClassConstructorPair(MerkleAccount.class, MerkleAccount::new));
+	}
+
 	@BeforeEach
 	void setUp() {
+		accounts = new MerkleMap<>();
+		renewableEntities = new RenewableEntityIndex(new MockHederaNumbers(), () -> accounts);
+
 		subject = new EntityAutoRenewal(
-				mockHederaNums, renewalProcess, properties, networkCtxManager, () -> networkCtx,
-				consensusTimeTracker, () -> seqNo);
+				renewalProcess, renewableEntities, properties, networkCtxManager, () -> networkCtx,
+				consensusTimeTracker);
 	}
 
 	@Test
@@ -103,23 +120,23 @@ class EntityAutoRenewalTest {
 	}
 
 	@Test
-	void abortsIfNoNonSystemEntities() {
+	void abortsIfNothingHasExpired() {
 		// setup:
-		givenWrapNum(mockHederaNums.numReservedSystemEntities() + 1);
+		given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
+		givenExpiring(now + 1, aNum, bNum);
 
 		// when:
 		subject.execute(instantNow);
 
 		// then:
 		verifyNoInteractions(renewalProcess);
+		verify(networkCtx, never()).updateLastScannedEntity(anyLong());
 	}
 
 	@Test
 	void resetsSummaryCountsIfNewConsensusSecond() {
 		given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
 		given(networkCtxManager.currentTxnIsFirstInConsensusSecond()).willReturn(true);
-		givenWrapNum(aNum + 123);
-		givenLastScanned(aNum - 1);
 
 		// when:
 		subject.execute(instantNow);
@@ -128,13 +145,53 @@ class EntityAutoRenewalTest {
 		verify(networkCtx).clearAutoRenewSummaryCounts();
 	}
 
+	@Test
+	void visitsOnlyExpiredEntitiesOnceEachInNumberOrder() {
+		// setup:
+		given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
+		givenExpiring(now, aNum, cNum);
+		givenExpiring(now + 1, bNum);
+		givenLastScanned(aNum - 1);
+		given(renewalProcess.process(anyLong())).willReturn(NOTHING_TO_DO);
+
+		// when:
+		subject.execute(instantNow);
+
+		// then:
+		verify(renewalProcess).beginRenewalCycle(instantNow);
+		verify(renewalProcess).process(aNum);
+		verify(renewalProcess).process(cNum);
+		verify(renewalProcess).endRenewalCycle();
+		verifyNoMoreInteractions(renewalProcess);
+		verify(networkCtx).updateLastScannedEntity(cNum);
+		verify(networkCtx).updateAutoRenewSummaryCounts(2, 0);
+	}
+
+	@Test
+	void entitiesBecomeDueAsTimeAdvances() {
+		// setup:
+		given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
+		givenExpiring(now + 1, bNum);
+		givenLastScanned(aNum - 1);
+		given(renewalProcess.process(bNum)).willReturn(NOTHING_TO_DO);
+
+		// when:
+		subject.execute(instantNow);
+		subject.execute(instantNow.plusSeconds(1));
+
+		// then:
+		verify(renewalProcess).process(bNum);
+	}
+
 	@Test
 	void scansToExpectedNumWithNothingToTouch() {
 		// setup:
 		given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
 		long numToScan = properties.autoRenewNumberOfEntitiesToScan();
 
-		givenWrapNum(aNum + numToScan);
+		for (long i = aNum; i <= aNum + numToScan; i++) {
+			givenExpiring(now - 1, i);
+		}
 		givenLastScanned(aNum - 1);
 		given(renewalProcess.process(anyLong())).willReturn(NOTHING_TO_DO);
 
@@ -147,16 +204,15 @@ class EntityAutoRenewalTest {
 			verify(renewalProcess).process(i);
 		}
 		// and:
+		verify(renewalProcess, never()).process(aNum + numToScan);
 		verify(renewalProcess).endRenewalCycle();
 		verify(networkCtx).updateLastScannedEntity(aNum + numToScan - 1);
 	}
 
 	@Test
 	void onlyAdvancesScanIfTouchedEntityIsDone() {
-		final var numToScan = 3L;
-
 		given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
-		givenWrapNum(aNum + numToScan + 1);
+		givenExpiring(now, aNum);
 		givenLastScanned(aNum - 1);
 		given(renewalProcess.process(aNum))
 				.willReturn(STILL_MORE_TO_DO)
@@ -175,10 +231,8 @@ class EntityAutoRenewalTest {
 
 	@Test
 	void lastEntityScannedDoesntChangeIfTouchedEntityIsntDone() {
-		final var numToScan = 3L;
-
 		given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
-		givenWrapNum(aNum + numToScan + 1);
+		givenExpiring(now, aNum, bNum);
 		givenLastScanned(aNum - 1);
 		given(renewalProcess.process(aNum))
 				.willReturn(STILL_MORE_TO_DO);
@@ -198,9 +252,7 @@ class EntityAutoRenewalTest {
 	void stopsEarlyWhenLotsToTouch() {
 		// setup:
 		given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
-		long numToScan = properties.autoRenewNumberOfEntitiesToScan();
-
-		givenWrapNum(aNum + numToScan);
+		givenExpiring(now, aNum, bNum, cNum);
 		givenLastScanned(aNum - 1);
 		given(renewalProcess.process(aNum)).willReturn(DONE);
 		given(renewalProcess.process(bNum)).willReturn(DONE);
@@ -210,9 +262,8 @@ class EntityAutoRenewalTest {
 
 		// then:
 		verify(renewalProcess).beginRenewalCycle(instantNow);
-		for (long i = aNum; i < cNum; i++) {
-			verify(renewalProcess).process(i);
-		}
+		verify(renewalProcess).process(aNum);
+		verify(renewalProcess).process(bNum);
 		// and:
 		verify(renewalProcess, never()).process(cNum);
 		verify(renewalProcess).endRenewalCycle();
@@ -223,9 +274,7 @@ class EntityAutoRenewalTest {
 	void stopsEarlyWhenNoMoreStandaloneRecordTime() {
 		// setup:
 		given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
-		long numToScan = properties.autoRenewNumberOfEntitiesToScan();
-
-		givenWrapNum(aNum + numToScan);
+		givenExpiring(now, aNum, bNum);
 		givenLastScanned(aNum - 1);
 		given(renewalProcess.process(aNum)).willAnswer(i -> {
 			given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(false);
@@ -248,12 +297,9 @@ class EntityAutoRenewalTest {
 	void understandsHowToWrap() {
 		// setup:
 		given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
-		long numToScan = properties.autoRenewNumberOfEntitiesToScan();
-
-		givenWrapNum(aNum + numToScan);
-		givenLastScanned(aNum + numToScan - 2);
-		given(renewalProcess.process(aNum + numToScan - 1)).willReturn(NOTHING_TO_DO);
-		given(renewalProcess.process(aNum - 1)).willReturn(NOTHING_TO_DO);
+		givenExpiring(now, aNum, bNum, cNum);
+		givenLastScanned(bNum);
+		given(renewalProcess.process(cNum)).willReturn(NOTHING_TO_DO);
 		given(renewalProcess.process(aNum)).willReturn(DONE);
 		given(renewalProcess.process(bNum)).willReturn(DONE);
 
@@ -262,21 +308,58 @@ class EntityAutoRenewalTest {
 
 		// then:
 		verify(renewalProcess).beginRenewalCycle(instantNow);
-		verify(renewalProcess).process(aNum + numToScan - 1);
-		for (long i = aNum; i < cNum; i++) {
-			verify(renewalProcess).process(i);
-		}
-		// and:
-		verify(renewalProcess, never()).process(cNum);
+		verify(renewalProcess).process(cNum);
+		verify(renewalProcess).process(aNum);
+		verify(renewalProcess).process(bNum);
 		verify(renewalProcess).endRenewalCycle();
 		verify(networkCtx).updateLastScannedEntity(bNum);
 		// and:
-		verify(networkCtx).updateAutoRenewSummaryCounts(4, 2);
+		verify(networkCtx).updateAutoRenewSummaryCounts(3, 2);
 	}
 
+	@Test
+	void renewedEntitiesAreNoLongerDue() {
+		// setup:
+		given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
+		givenExpiring(now, aNum);
+		givenLastScanned(aNum - 1);
+		given(renewalProcess.process(aNum)).willAnswer(i -> {
+			accounts.getForModify(EntityNum.fromLong(aNum)).setExpiry(now + 1);
+			return DONE;
+		});
 
-	private void givenWrapNum(long num) {
-		given(seqNo.current()).willReturn(num);
+		// when:
+		subject.execute(instantNow);
+		subject.execute(instantNow);
+
+		// then:
+		verify(renewalProcess).process(aNum);
+	}
+
+	@Test
+	void removedEntitiesAreNoLongerDue() {
+		// setup:
+		given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
+		givenExpiring(now, aNum);
+		givenLastScanned(aNum - 1);
+		given(renewalProcess.process(aNum)).willAnswer(i -> {
+			accounts.remove(EntityNum.fromLong(aNum));
+			return DONE;
+		});
+
+		// when:
+		subject.execute(instantNow);
+		subject.execute(instantNow);
+
+		// then:
+		verify(renewalProcess).process(aNum);
+	}
+
+	private void givenExpiring(final long expiry, final long... nums) {
+		for (final var num : nums) {
+			accounts.put(EntityNum.fromLong(num), MerkleAccountFactory.newAccount().expirationTime(expiry).get());
+			renewableEntities.track(num, expiry);
+		}
 	}
 
 	private void givenLastScanned(long num) {
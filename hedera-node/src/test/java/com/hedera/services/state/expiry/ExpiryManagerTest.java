@@ -24,7 +24,7 @@ import com.hedera.services.config.HederaNumbers;
 import com.hedera.services.config.MockHederaNumbers;
 import com.hedera.services.ledger.SigImpactHistorian;
 import com.hedera.services.legacy.core.jproto.TxnReceipt;
-import com.hedera.services.records.TxnIdRecentHistory;
+import com.hedera.services.records.TxnReceiptIndex;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
@@ -44,14 +44,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.SUCCESS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -67,14 +67,14 @@ class ExpiryManagerTest {
 	private final MerkleAccount anAccount = new MerkleAccount();
 
 	private MerkleMap<EntityNum, MerkleAccount> liveAccounts = new MerkleMap<>();
-	private Map<TransactionID, TxnIdRecentHistory> liveTxnHistories = new HashMap<>();
+	private TxnReceiptIndex liveTxnHistories = new TxnReceiptIndex(180L);
 
 	private final HederaNumbers nums = new MockHederaNumbers();
 
 	@Mock
 	private SigImpactHistorian sigImpactHistorian;
 	@Mock
-	private Map<TransactionID, TxnIdRecentHistory> mockTxnHistories;
+	private TxnReceiptIndex mockTxnHistories;
 	@Mock
 	private MerkleMap<EntityNum, MerkleAccount> mockAccounts;
 
@@ -99,7 +99,7 @@ class ExpiryManagerTest {
 				nums, sigImpactHistorian, liveTxnHistories, () -> liveAccounts);
 		final var newTxnId = recordWith(aGrpcId, start).getTxnId().toGrpc();
 		final var leftoverTxnId = recordWith(bGrpcId, now).getTxnId().toGrpc();
-		liveTxnHistories.put(leftoverTxnId, new TxnIdRecentHistory());
+		liveTxnHistories.getOrCreateHistory(leftoverTxnId);
 		anAccount.records().offer(expiring(recordWith(aGrpcId, start), firstThen));
 		anAccount.records().offer(expiring(recordWith(aGrpcId, start), secondThen));
 		liveAccounts.put(aKey, anAccount);
@@ -107,9 +107,32 @@ class ExpiryManagerTest {
 		subject.reviewExistingPayerRecords();
 
 		// then:
-		assertFalse(liveTxnHistories.containsKey(leftoverTxnId));
-		assertEquals(firstThen, liveTxnHistories.get(newTxnId).priorityRecord().getExpiry());
-		assertEquals(secondThen, liveTxnHistories.get(newTxnId).allDuplicateRecords().get(0).getExpiry());
+		assertNull(liveTxnHistories.historyOf(leftoverTxnId));
+		assertEquals(firstThen, liveTxnHistories.historyOf(newTxnId).priorityRecord().getExpiry());
+		assertEquals(secondThen, liveTxnHistories.historyOf(newTxnId).allDuplicateRecords().get(0).getExpiry());
+	}
+
+	@Test
+	void rebuildsRecordsFromSeveralBatches() {
+		subject = new ExpiryManager(
+				nums, sigImpactHistorian, liveTxnHistories, () -> liveAccounts);
+		final var aTxnId = recordWith(aGrpcId, start).getTxnId().toGrpc();
+		final var bTxnId = recordWith(bGrpcId, start).getTxnId().toGrpc();
+		final var aAccount = new MerkleAccount();
+		aAccount.records().offer(expiring(recordWith(aGrpcId, start), secondThen));
+		final var bAccount = new MerkleAccount();
+		bAccount.records().offer(expiring(recordWith(bGrpcId, start), firstThen));
+
+		final var aBatch = subject.newAccumulator();
+		subject.accumulate(aBatch, aKey, aAccount);
+		final var bBatch = subject.newAccumulator();
+		subject.accumulate(bBatch, bKey, bAccount);
+		subject.accumulate(bBatch, EntityNum.fromLong(5L), new MerkleAccount());
+		subject.rebuildFrom(List.of(aBatch, bBatch));
+
+		assertEquals("payer record expiries", subject.name());
+		assertEquals(secondThen, liveTxnHistories.historyOf(aTxnId).priorityRecord().getExpiry());
+		assertEquals(firstThen, liveTxnHistories.historyOf(bTxnId).priorityRecord().getExpiry());
 	}
 
 	@Test
@@ -121,18 +144,18 @@ class ExpiryManagerTest {
 
 		final var firstRecord = expiring(recordWith(aGrpcId, start), firstThen);
 		addLiveRecord(aKey, firstRecord);
-		liveTxnHistories.computeIfAbsent(newTxnId, ignore -> new TxnIdRecentHistory()).observe(firstRecord, OK);
+		liveTxnHistories.getOrCreateHistory(newTxnId).observe(firstRecord, OK);
 		subject.trackRecordInState(aGrpcId, firstThen);
 
 		final var secondRecord = expiring(recordWith(aGrpcId, start), secondThen);
 		addLiveRecord(aKey, secondRecord);
-		liveTxnHistories.computeIfAbsent(newTxnId, ignore -> new TxnIdRecentHistory()).observe(secondRecord, OK);
+		liveTxnHistories.getOrCreateHistory(newTxnId).observe(secondRecord, OK);
 		subject.trackRecordInState(aGrpcId, secondThen);
 
 		subject.purge(now);
 
 		assertEquals(1, liveAccounts.get(aKey).records().size());
-		assertEquals(secondThen, liveTxnHistories.get(newTxnId).priorityRecord().getExpiry());
+		assertEquals(secondThen, liveTxnHistories.historyOf(newTxnId).priorityRecord().getExpiry());
 	}
 
 	@Test
@@ -144,13 +167,25 @@ class ExpiryManagerTest {
 
 		final var firstRecord = expiring(recordWith(aGrpcId, start), firstThen);
 		addLiveRecord(aKey, firstRecord);
-		liveTxnHistories.computeIfAbsent(newTxnId, ignore -> new TxnIdRecentHistory()).observe(firstRecord, OK);
+		liveTxnHistories.getOrCreateHistory(newTxnId).observe(firstRecord, OK);
 		subject.trackRecordInState(aGrpcId, firstThen);
 
 		subject.purge(now);
 
 		assertEquals(0, liveAccounts.get(aKey).records().size());
-		assertFalse(liveTxnHistories.containsKey(newTxnId));
+		assertNull(liveTxnHistories.historyOf(newTxnId));
+	}
+
+	@Test
+	void leavesPreConsensusMarkersToTheWallClock() {
+		subject = new ExpiryManager(
+				nums, sigImpactHistorian, liveTxnHistories, () -> liveAccounts);
+		final var markedTxnId = recordWith(aGrpcId, start).getTxnId().toGrpc();
+		liveTxnHistories.markPreConsensus(markedTxnId, start);
+
+		subject.purge(start + 1_000L);
+
+		assertTrue(liveTxnHistories.isMarkedPreConsensus(markedTxnId, start));
 	}
 
 	private void addLiveRecord(EntityNum key, ExpirableTxnRecord expirableTxnRecord) {
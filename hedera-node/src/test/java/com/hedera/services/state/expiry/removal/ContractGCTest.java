@@ -28,6 +28,7 @@ import com.hedera.services.state.virtual.ContractStorageListMutation;
 import com.hedera.services.state.virtual.IterableContractValue;
 import com.hedera.services.state.virtual.VirtualBlobKey;
 import com.hedera.services.state.virtual.VirtualBlobValue;
+import com.hedera.services.store.contracts.StorageWarmCache;
 import com.hedera.services.utils.EntityNum;
 import com.hedera.test.factories.accounts.MerkleAccountFactory;
 import com.swirlds.merkle.map.MerkleMap;
@@ -59,12 +60,15 @@ class ContractGCTest {
 	private VirtualMap<VirtualBlobKey, VirtualBlobValue> bytecode;
 	@Mock
 	private ContractGC.RemovalFacilitation removalFacilitation;
+	@Mock
+	private StorageWarmCache storageWarmCache;
 
 	private ContractGC subject;
 
 	@BeforeEach
 	void setUp() {
-		subject = new ContractGC(dynamicProperties, () -> contracts, () -> storage, () -> bytecode);
+		subject = new ContractGC(dynamicProperties, () -> contracts, () -> storage, () -> bytecode,
+				storageWarmCache);
 		subject.setRemovalFacilitation(removalFacilitation);
 	}
 
@@ -96,6 +100,7 @@ class ContractGCTest {
 		final var done = subject.expireBestEffort(contractNum, contractSomeKvPairs);
 
 		assertTrue(done);
+		verify(storageWarmCache).invalidate(contractNum.longValue());
 	}
 
 	@Test
@@ -0,0 +1,216 @@
+package com.hedera.services.state.expiry.renewal;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.config.MockHederaNumbers;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.utils.EntityNum;
+import com.hedera.test.factories.accounts.MerkleAccountFactory;
+import com.swirlds.merkle.map.MerkleMap;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.hedera.services.state.expiry.renewal.RenewableEntityIndex.NO_DUE_ENTITY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RenewableEntityIndexTest {
+	private static final long now = 1_234_567L;
+	private static final long aNum = 1001L, bNum = 1002L, cNum = 1003L;
+
+	private MerkleMap<EntityNum, MerkleAccount> accounts;
+	private RenewableEntityIndex subject;
+
+	@BeforeEach
+	void setUp() {
+		accounts = new MerkleMap<>();
+		subject = new RenewableEntityIndex(new MockHederaNumbers(), () -> accounts);
+	}
+
+	@Test
+	void hasExpectedName() {
+		assertEquals("renewable entities", subject.name());
+	}
+
+	@Test
+	void rebuildsFromAccumulatorsSkippingSystemEntities() {
+		final var firstBatch = subject.newAccumulator();
+		final var secondBatch = subject.newAccumulator();
+		subject.accumulate(firstBatch, EntityNum.fromLong(2L), accountExpiringAt(now - 1));
+		subject.accumulate(firstBatch, EntityNum.fromLong(cNum), accountExpiringAt(now - 1));
+		subject.accumulate(secondBatch, EntityNum.fromLong(aNum), accountExpiringAt(now));
+		subject.accumulate(secondBatch, EntityNum.fromLong(bNum), accountExpiringAt(now + 1));
+		subject.track(1234L, now);
+
+		subject.rebuildFrom(List.of(firstBatch, secondBatch));
+
+		assertEquals(3, subject.numIndexed());
+		assertEquals(2, subject.advanceTo(now));
+		assertEquals(aNum, subject.nextDueAfter(0L));
+		assertEquals(cNum, subject.nextDueAfter(aNum));
+	}
+
+	@Test
+	void rebuildResetsWheel() {
+		subject.track(aNum, now);
+		subject.advanceTo(now);
+
+		subject.rebuildFrom(List.of(LongArrayList.newListWith(bNum, now + 1)));
+
+		assertEquals(0, subject.numDue());
+		assertEquals(1, subject.advanceTo(now + 1));
+		assertEquals(bNum, subject.nextDueAfter(0L));
+	}
+
+	@Test
+	void advancingMovesPassedEntriesToDueSet() {
+		subject.track(aNum, now - 10);
+		subject.track(bNum, now);
+		subject.track(cNum, now + 1);
+
+		assertEquals(2, subject.advanceTo(now));
+		assertEquals(1, subject.numPendingEntries());
+		assertEquals(3, subject.advanceTo(now + 5));
+		assertEquals(0, subject.numPendingEntries());
+	}
+
+	@Test
+	void advancingBackwardsIsNoop() {
+		subject.track(aNum, now);
+		subject.advanceTo(now);
+		subject.track(bNum, now - 1);
+
+		assertEquals(2, subject.advanceTo(now - 5));
+	}
+
+	@Test
+	void nextDueWrapsAroundInNumberOrder() {
+		subject.track(cNum, now);
+		subject.track(aNum, now - 1);
+		subject.advanceTo(now);
+
+		assertEquals(aNum, subject.nextDueAfter(0L));
+		assertEquals(cNum, subject.nextDueAfter(aNum));
+		assertEquals(aNum, subject.nextDueAfter(cNum));
+		assertEquals(aNum, subject.nextDueAfter(bNum + 100));
+	}
+
+	@Test
+	void nothingDueIfEmpty() {
+		subject.track(aNum, now + 1);
+
+		assertEquals(0, subject.advanceTo(now));
+		assertEquals(NO_DUE_ENTITY, subject.nextDueAfter(0L));
+	}
+
+	@Test
+	void trackingMovesEntitiesBetweenPendingAndDueSet() {
+		subject.track(aNum, now);
+		subject.track(bNum, now + 1);
+		subject.advanceTo(now);
+
+		subject.track(aNum, now + 2);
+		subject.track(bNum, now - 1);
+
+		assertEquals(1, subject.numDue());
+		assertEquals(bNum, subject.nextDueAfter(0L));
+		assertEquals(1, subject.advanceTo(now + 1));
+
+		subject.track(aNum, now + 3);
+		subject.track(aNum, now + 3);
+		assertEquals(2, subject.numIndexed());
+		assertEquals(1, subject.advanceTo(now + 2));
+		assertEquals(2, subject.advanceTo(now + 3));
+		assertEquals(0, subject.numPendingEntries());
+	}
+
+	@Test
+	void entityWhoseExpiryChangesBackIsDueOnce() {
+		subject.track(aNum, now + 1);
+		subject.track(aNum, now + 2);
+		subject.track(aNum, now + 1);
+		subject.track(bNum, now + 1);
+
+		assertEquals(2, subject.advanceTo(now + 2));
+		assertEquals(bNum, subject.nextDueAfter(aNum));
+		assertEquals(aNum, subject.nextDueAfter(bNum));
+	}
+
+	@Test
+	void compactsOnceStaleEntriesOutnumberLiveOnes() {
+		final var n = 2_000;
+		for (int i = 0; i < n; i++) {
+			subject.track(aNum + i, now + 1);
+		}
+		for (int i = 0; i < n; i++) {
+			subject.track(aNum + i, now + 2);
+		}
+
+		assertEquals(n, subject.numPendingEntries());
+		assertEquals(0, subject.advanceTo(now + 1));
+		assertEquals(n, subject.advanceTo(now + 2));
+		assertEquals(aNum, subject.nextDueAfter(0L));
+		assertEquals(aNum + n - 1, subject.nextDueAfter(aNum + n - 2));
+	}
+
+	@Test
+	void ignoresSystemEntities() {
+		subject.track(800L, now);
+
+		assertEquals(0, subject.numIndexed());
+	}
+
+	@Test
+	void forgetsFromPendingAndDueSet() {
+		subject.track(aNum, now);
+		subject.track(bNum, now + 1);
+		subject.advanceTo(now);
+
+		subject.forget(aNum);
+		subject.forget(bNum);
+		subject.forget(cNum);
+
+		assertEquals(0, subject.numIndexed());
+		assertEquals(0, subject.numDue());
+		assertEquals(0, subject.advanceTo(now + 1));
+	}
+
+	@Test
+	void refreshesFromState() {
+		accounts.put(EntityNum.fromLong(aNum), accountExpiringAt(now + 1));
+		subject.track(aNum, now);
+		subject.track(bNum, now);
+		subject.advanceTo(now);
+
+		subject.refresh(aNum);
+		subject.refresh(bNum);
+
+		assertEquals(0, subject.numDue());
+		assertEquals(1, subject.numIndexed());
+		assertEquals(1, subject.numPendingEntries());
+	}
+
+	private static MerkleAccount accountExpiringAt(final long expiry) {
+		return MerkleAccountFactory.newAccount().expirationTime(expiry).get();
+	}
+}
@@ -59,11 +59,14 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executors;
 import java.util.function.UnaryOperator;
 
 import static com.hedera.services.state.exports.SignedStateBalancesExporter.SINGLE_ACCOUNT_BALANCES_COMPARATOR;
@@ -74,11 +77,13 @@ import static com.hedera.test.utils.IdUtils.asAccount;
 import static com.hedera.test.utils.IdUtils.asToken;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
@@ -478,6 +483,84 @@ class SignedStateBalancesExporterTest {
 		assertEquals(startTime.plusSeconds(exportPeriodInSecs * 2), subject.getNextExportTime());
 	}
 
+	@Test
+	void streamedExportMatchesLegacyExportAcrossPartitions() throws IOException, NoSuchAlgorithmException {
+		final var pool = Executors.newSingleThreadExecutor();
+		final var farAccount = asAccount("0.0." + (2 * SignedStateBalancesExporter.STREAMING_PARTITION_SIZE + 1));
+		accounts.put(fromAccountId(farAccount), MerkleAccountFactory.newAccount().balance(0).get());
+		final var loc = expectedExportLoc();
+		given(hashReader.readHash(loc)).willReturn(fileHash);
+		given(sigFileWriter.writeSigFile(any(), any(), any())).willReturn(loc + "_sig");
+
+		subject.exportBalancesFrom(state, now, nodeId);
+		final var legacyBytes = Files.readAllBytes(Path.of(loc));
+		new File(loc).delete();
+
+		dynamicProperties.turnOnStreamingBalancesExport();
+		subject = new SignedStateBalancesExporter(systemExits, properties, signer, dynamicProperties);
+		subject.sigFileWriter = sigFileWriter;
+		subject.hashReader = hashReader;
+		subject.summarizingExecutor = pool;
+		subject.streamingPartitionSize = 2;
+		subject.exportBalancesFrom(state, now, nodeId);
+		final var streamedBytes = Files.readAllBytes(Path.of(loc));
+
+		assertArrayEquals(legacyBytes, streamedBytes);
+		final var streamedAccounts = importBalanceProtoFile(loc).get().getAllAccountsList();
+		assertEquals(5, streamedAccounts.size());
+		assertEquals(farAccount, streamedAccounts.get(4).getAccountID());
+		final var expectedHash = MessageDigest.getInstance("SHA-384").digest(streamedBytes);
+		verify(sigFileWriter).writeSigFile(eq(loc), any(), eq(expectedHash));
+		verify(hashReader).readHash(loc);
+
+		pool.shutdown();
+		new File(loc).delete();
+	}
+
+	@Test
+	void streamedExportRemovesFileAndExitsOnUnexpectedTotalFloat() throws NegativeAccountBalanceException {
+		final var mutableAnotherNodeAccount = accounts.getForModify(fromAccountId(anotherNode));
+		final var desiredSuffix = "had total balance 1001 not 1000; exiting";
+		mutableAnotherNodeAccount.setBalance(anotherNodeBalance + 1);
+		dynamicProperties.turnOnStreamingBalancesExport();
+
+		subject.exportBalancesFrom(state, now, nodeId);
+
+		assertThat(logCaptor.errorLogs(), contains(Matchers.endsWith(desiredSuffix)));
+		verify(systemExits).fail(1);
+		assertFalse(new File(expectedExportLoc()).exists());
+	}
+
+	@Test
+	void streamedExportLogsOnIoException() {
+		final var otherDynamicProperties = new MockGlobalDynamicProps() {
+			@Override
+			public String pathToBalancesExportDir() {
+				return "not/a/real/location";
+			}
+		};
+		otherDynamicProperties.turnOnStreamingBalancesExport();
+		subject = new SignedStateBalancesExporter(systemExits, properties, signer, otherDynamicProperties);
+		subject.directories = assurance;
+
+		subject.exportBalancesFrom(state, now, nodeId);
+
+		assertThat(logCaptor.errorLogs(), contains(Matchers.startsWith("Could not export to")));
+	}
+
+	@Test
+	void streamedExportLogsOnSigningFailure() {
+		final var loc = expectedExportLoc();
+		dynamicProperties.turnOnStreamingBalancesExport();
+		given(signer.apply(any())).willThrow(IllegalStateException.class);
+
+		subject.exportBalancesFrom(state, now, nodeId);
+
+		assertThat(logCaptor.errorLogs(), contains(Matchers.startsWith("Could not sign balance file")));
+
+		new File(loc).delete();
+	}
+
 	@AfterAll
 	static void tearDown() throws IOException {
 		Files.walk(Path.of("src/test/resources/balance0.0.3"))
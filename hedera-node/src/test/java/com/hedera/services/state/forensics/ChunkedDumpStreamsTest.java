@@ -0,0 +1,174 @@
+package com.hedera.services.state.forensics;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkedDumpStreamsTest {
+	private static final int CHUNK_SIZE = 1024;
+
+	@Test
+	void roundTripsAcrossChunkBoundaries() throws IOException {
+		final var data = randomBytes(5 * CHUNK_SIZE + 17);
+
+		final var dump = chunked(data);
+
+		try (var in = new ChunkedDumpInputStream(new ByteArrayInputStream(dump))) {
+			assertEquals(CHUNK_SIZE, in.chunkSize());
+			assertArrayEquals(data, in.readAllBytes());
+			assertEquals(-1, in.read());
+			assertEquals(-1, in.nextChunk());
+		}
+	}
+
+	@Test
+	void roundTripsSingleByteWrites() throws IOException {
+		final var baos = new ByteArrayOutputStream();
+		try (var out = new ChunkedDumpOutputStream(baos, CHUNK_SIZE)) {
+			for (int i = 0; i < CHUNK_SIZE + 1; i++) {
+				out.write(i);
+			}
+		}
+
+		try (var in = new ChunkedDumpInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+			for (int i = 0; i < CHUNK_SIZE + 1; i++) {
+				assertEquals(i & 0xff, in.read());
+			}
+			assertEquals(-1, in.read());
+		}
+	}
+
+	@Test
+	void roundTripsEmptyDump() throws IOException {
+		try (var in = new ChunkedDumpInputStream(new ByteArrayInputStream(chunked(new byte[0])))) {
+			assertEquals(-1, in.read());
+			assertEquals(0, in.read(new byte[1], 0, 0));
+		}
+	}
+
+	@Test
+	void compressesRepetitiveData() throws IOException {
+		final var data = new byte[4 * CHUNK_SIZE];
+
+		assertTrue(chunked(data).length < data.length / 4);
+	}
+
+	@Test
+	void detectsCorruptedChunk() throws IOException {
+		final var dump = chunked(new byte[3 * CHUNK_SIZE]);
+		// Flip a bit in the first chunk's checksum
+		dump[8 + 8 + 7] ^= 1;
+
+		try (var in = new ChunkedDumpInputStream(new ByteArrayInputStream(dump))) {
+			final var e = assertThrows(IOException.class, in::readAllBytes);
+			assertEquals("Chunk checksum mismatch", e.getMessage());
+		}
+	}
+
+	@Test
+	void detectsTruncatedDump() throws IOException {
+		final var dump = chunked(randomBytes(2 * CHUNK_SIZE));
+		final var truncated = new byte[dump.length - 10];
+		System.arraycopy(dump, 0, truncated, 0, truncated.length);
+
+		try (var in = new ChunkedDumpInputStream(new ByteArrayInputStream(truncated))) {
+			assertThrows(IOException.class, in::readAllBytes);
+		}
+	}
+
+	@Test
+	void rejectsMalformedChunkHeader() throws IOException {
+		final var dump = chunked(new byte[CHUNK_SIZE]);
+		// Claim a chunk longer than the chunk size
+		dump[8] = 0x7f;
+
+		try (var in = new ChunkedDumpInputStream(new ByteArrayInputStream(dump))) {
+			assertThrows(IOException.class, in::nextChunk);
+		}
+	}
+
+	@Test
+	void rejectsNonDumps() {
+		final var notADump = new ByteArrayInputStream(new byte[8]);
+
+		assertThrows(IOException.class, () -> new ChunkedDumpInputStream(notADump));
+	}
+
+	@Test
+	void comparesChunks() throws IOException {
+		final var data = randomBytes(2 * CHUNK_SIZE);
+		final var changed = data.clone();
+		changed[CHUNK_SIZE + 1] ^= 1;
+
+		try (var a = new ChunkedDumpInputStream(new ByteArrayInputStream(chunked(data)));
+			 var b = new ChunkedDumpInputStream(new ByteArrayInputStream(chunked(changed)))) {
+			a.nextChunk();
+			b.nextChunk();
+			assertTrue(a.lastChunkMatches(b));
+			assertEquals(a.lastChecksum(), b.lastChecksum());
+			a.nextChunk();
+			b.nextChunk();
+			assertFalse(a.lastChunkMatches(b));
+		}
+	}
+
+	@Test
+	void closeIsIdempotent() throws IOException {
+		final var baos = new ByteArrayOutputStream();
+		final var out = new ChunkedDumpOutputStream(baos);
+		out.write(new byte[] { 1, 2, 3 });
+		out.close();
+		final var len = baos.size();
+
+		out.close();
+
+		assertEquals(len, baos.size());
+	}
+
+	static byte[] chunked(final byte[] data) throws IOException {
+		final var baos = new ByteArrayOutputStream();
+		try (var out = new ChunkedDumpOutputStream(baos, CHUNK_SIZE)) {
+			out.write(data);
+		}
+		return baos.toByteArray();
+	}
+
+	static byte[] randomBytes(final int n) {
+		final var data = new byte[n];
+		final var r = new SplittableRandom(n);
+		for (int i = 0; i < n; i++) {
+			data[i] = (byte) r.nextInt();
+		}
+		return data;
+	}
+}
@@ -0,0 +1,256 @@
+package com.hedera.services.state.forensics;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.merkle.MerkleTopic;
+import com.hedera.services.utils.EntityNum;
+import com.hedera.test.extensions.LogCaptor;
+import com.hedera.test.extensions.LogCaptureExtension;
+import com.hedera.test.extensions.LoggingSubject;
+import com.hedera.test.extensions.LoggingTarget;
+import com.swirlds.common.constructable.ClassConstructorPair;
+import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.constructable.ConstructableRegistryException;
+import com.swirlds.common.io.streams.MerkleDataOutputStream;
+import com.swirlds.merkle.map.MerkleMap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static com.hedera.services.state.forensics.ChunkedDumpStreamsTest.randomBytes;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(LogCaptureExtension.class)
+class FcmDumpDiffTest {
+	private static final int CHUNK_SIZE = 1024;
+	private static final long round = 1_234_567;
+
+	@TempDir
+	private Path left;
+	@TempDir
+	private Path right;
+
+	@LoggingTarget
+	private LogCaptor logCaptor;
+
+	@LoggingSubject
+	private FcmDumpDiff subject = new FcmDumpDiff();
+
+	@BeforeAll
+	static void registerConstructables() throws ConstructableRegistryException {
+		ConstructableRegistry.registerConstructables("com.swirlds");
+		ConstructableRegistry.registerConstructable(new ClassConstructorPair(MerkleTopic.class, MerkleTopic::new));
+	}
+
+	@Test
+	void findsNoDifferencesInSameDumps() throws IOException {
+		final var accounts = randomBytes(3 * CHUNK_SIZE);
+		givenDumps("accounts", accounts, accounts);
+
+		final var diffs = subject.diff(left, right, round);
+
+		assertEquals(Map.of("accounts", List.of()), diffs);
+	}
+
+	@Test
+	void findsCoalescedChunkRangesPerFcm() throws IOException {
+		final var accounts = randomBytes(6 * CHUNK_SIZE);
+		final var otherAccounts = accounts.clone();
+		otherAccounts[CHUNK_SIZE + 1] ^= 1;
+		otherAccounts[2 * CHUNK_SIZE + 1] ^= 1;
+		otherAccounts[5 * CHUNK_SIZE + 1] ^= 1;
+		final var topics = randomBytes(CHUNK_SIZE);
+		givenDumps("accounts", accounts, otherAccounts);
+		givenDumps("topics", topics, topics);
+
+		final var diffs = subject.diff(left, right, round);
+
+		assertEquals(List.of("accounts", "topics"), List.copyOf(diffs.keySet()));
+		assertEquals(List.of(
+				new FcmDumpDiff.ByteRange("accounts", CHUNK_SIZE, 3 * CHUNK_SIZE),
+				new FcmDumpDiff.ByteRange("accounts", 5 * CHUNK_SIZE, 6 * CHUNK_SIZE)), diffs.get("accounts"));
+		assertEquals(List.of(), diffs.get("topics"));
+	}
+
+	@Test
+	void reportsExtraTailAsDifference() throws IOException {
+		final var tokens = randomBytes(2 * CHUNK_SIZE + 10);
+		final var fewerTokens = new byte[CHUNK_SIZE + 5];
+		System.arraycopy(tokens, 0, fewerTokens, 0, fewerTokens.length);
+		givenDumps("tokens", tokens, fewerTokens);
+
+		final var diffs = subject.diff(left, right, round);
+
+		assertEquals(
+				List.of(new FcmDumpDiff.ByteRange("tokens", CHUNK_SIZE, 2L * CHUNK_SIZE + 10)),
+				diffs.get("tokens"));
+	}
+
+	@Test
+	void localizesShiftedMapDifferencesByKeyRange() throws IOException {
+		final var leftTopics = topicsWith(1, 50);
+		final var rightTopics = topicsWith(1, 50);
+		/* A longer memo shifts every later byte of the right dump */
+		rightTopics.getForModify(EntityNum.fromLong(3)).setMemo("A much, much longer memo than any other topic's");
+		rightTopics.remove(EntityNum.fromLong(4));
+		rightTopics.put(EntityNum.fromLong(51), topic(51));
+		leftTopics.getForModify(EntityNum.fromLong(20)).setSequenceNumber(2);
+		givenMapDumps("topics", leftTopics, rightTopics);
+
+		final var diffs = subject.diff(left, right, round);
+
+		assertEquals(List.of(
+				new FcmDumpDiff.KeyRange("topics", key(3), key(4), 2),
+				new FcmDumpDiff.KeyRange("topics", key(20), key(20), 1),
+				new FcmDumpDiff.KeyRange("topics", key(51), key(51), 1)), diffs.get("topics"));
+	}
+
+	@Test
+	void cliReportsDifferencesAndExitStatus() throws IOException {
+		final var leftTopics = topicsWith(1, 3);
+		final var rightTopics = topicsWith(1, 3);
+		rightTopics.getForModify(EntityNum.fromLong(2)).setMemo("Different");
+		givenMapDumps("topics", leftTopics, rightTopics);
+		givenDumps("tokens", new byte[1], new byte[1]);
+		final var bytes = new ByteArrayOutputStream();
+
+		final var status = FcmDumpDiff.run(
+				new PrintStream(bytes, true), left.toString(), right.toString(), String.valueOf(round));
+
+		assertEquals(1, status);
+		assertEquals(
+				"tokens: no differences" + System.lineSeparator()
+						+ "topics: 1 differing key(s) from " + key(2) + " to " + key(2) + System.lineSeparator(),
+				bytes.toString());
+	}
+
+	@Test
+	void cliRejectsBadUsage() {
+		final var bytes = new ByteArrayOutputStream();
+
+		assertEquals(2, FcmDumpDiff.run(new PrintStream(bytes, true), left.toString()));
+		assertTrue(bytes.toString().startsWith("Usage: FcmDumpDiff"));
+	}
+
+	@Test
+	void skipsFcmsOnlyOneNodeDumped() throws IOException {
+		givenDump(left, "topics", new byte[1]);
+		givenDump(right, "tokens", new byte[1]);
+		givenDump(right, "accounts", new byte[1], round + 1);
+
+		final var diffs = subject.diff(left, right, round);
+
+		assertEquals(Map.of(), diffs);
+		assertThat(logCaptor.warnLogs(), contains(
+				"No topics dump in " + right + " to compare",
+				"No tokens dump in " + left + " to compare"));
+	}
+
+	@Test
+	void propagatesCorruptDumps() throws IOException {
+		givenDumps("accounts", new byte[1], new byte[1]);
+		Files.write(right.resolve("accounts" + String.format(FcmDumpDiff.SUFFIX_TPL, round)), new byte[8]);
+
+		assertThrows(IOException.class, () -> subject.diff(left, right, round));
+	}
+
+	@Test
+	void rejectsMismatchedChunkSizes() throws IOException {
+		givenDump(left, "accounts", new byte[1]);
+		try (var out = new ChunkedDumpOutputStream(Files.newOutputStream(dumpLoc(right, "accounts", round)), 512)) {
+			out.write(1);
+		}
+
+		assertThrows(IOException.class, () -> subject.diff(left, right, round));
+	}
+
+	private static MerkleMap<EntityNum, MerkleTopic> topicsWith(final long from, final long to) {
+		final MerkleMap<EntityNum, MerkleTopic> topics = new MerkleMap<>();
+		for (long num = from; num <= to; num++) {
+			topics.put(EntityNum.fromLong(num), topic(num));
+		}
+		return topics;
+	}
+
+	private static MerkleTopic topic(final long num) {
+		final var topic = new MerkleTopic();
+		topic.setMemo("Topic #" + num);
+		topic.setSequenceNumber(1);
+		return topic;
+	}
+
+	private static String key(final long num) {
+		return EntityNum.fromLong(num).toString();
+	}
+
+	private void givenMapDumps(
+			final String fcm,
+			final MerkleMap<EntityNum, MerkleTopic> leftMap,
+			final MerkleMap<EntityNum, MerkleTopic> rightMap
+	) throws IOException {
+		givenMapDump(left, fcm, leftMap);
+		givenMapDump(right, fcm, rightMap);
+	}
+
+	private void givenMapDump(
+			final Path dir,
+			final String fcm,
+			final MerkleMap<EntityNum, MerkleTopic> map
+	) throws IOException {
+		final var chunkedOut = new ChunkedDumpOutputStream(Files.newOutputStream(dumpLoc(dir, fcm, round)), CHUNK_SIZE);
+		try (var out = new MerkleDataOutputStream(chunkedOut).setExternal(true)) {
+			out.writeMerkleTree(map);
+		}
+	}
+
+	private void givenDumps(final String fcm, final byte[] leftData, final byte[] rightData) throws IOException {
+		givenDump(left, fcm, leftData);
+		givenDump(right, fcm, rightData);
+	}
+
+	private void givenDump(final Path dir, final String fcm, final byte[] data) throws IOException {
+		givenDump(dir, fcm, data, round);
+	}
+
+	private void givenDump(final Path dir, final String fcm, final byte[] data, final long r) throws IOException {
+		try (var out = new ChunkedDumpOutputStream(Files.newOutputStream(dumpLoc(dir, fcm, r)), CHUNK_SIZE)) {
+			out.write(data);
+		}
+	}
+
+	private static Path dumpLoc(final Path dir, final String fcm, final long r) {
+		return dir.resolve(fcm + String.format(FcmDumpDiff.SUFFIX_TPL, r));
+	}
+}
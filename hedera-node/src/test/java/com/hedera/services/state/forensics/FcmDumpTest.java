@@ -20,6 +20,7 @@ package com.hedera.services.state.forensics;
  * ‍
  */
 
+import com.hedera.services.ServicesMain;
 import com.hedera.services.ServicesState;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleScheduledTransactions;
@@ -38,12 +39,15 @@ import com.swirlds.common.io.streams.MerkleDataOutputStream;
 import com.swirlds.common.system.NodeId;
 import com.swirlds.merkle.map.MerkleMap;
 import com.swirlds.virtualmap.VirtualMap;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Paths;
@@ -52,6 +56,7 @@ import java.util.function.Function;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.given;
@@ -149,6 +154,83 @@ class FcmDumpTest {
 				String.format(FcmDump.DUMP_IO_WARNING, "scheduleTxs")));
 	}
 
+	@Test
+	void dumpsAllFcmsCompressedInParallel() throws IOException {
+		subject.setCompressedMerkleOutFn(merkleOutFn);
+
+		given(merkleOutFn.apply(any())).willReturn(out);
+		// and:
+		given(state.accounts()).willReturn(accounts);
+		given(state.storage()).willReturn(storage);
+		given(state.topics()).willReturn(topics);
+		given(state.tokens()).willReturn(tokens);
+		given(state.tokenAssociations()).willReturn(tokenAssociations);
+		given(state.scheduleTxs()).willReturn(scheduleTxs);
+
+		// when:
+		subject.dumpCompressedFrom(state, self, round);
+
+		// then:
+		verify(merkleOutFn).apply(String.format(
+				FcmDump.COMPRESSED_FC_DUMP_LOC_TPL, ServicesMain.class.getName(), selfId, "accounts", round));
+		verify(out).writeMerkleTree(accounts);
+		verify(out).writeMerkleTree(storage);
+		verify(out).writeMerkleTree(topics);
+		verify(out).writeMerkleTree(tokens);
+		verify(out).writeMerkleTree(tokenAssociations);
+		verify(out).writeMerkleTree(scheduleTxs);
+		// and:
+		verify(out, times(6)).close();
+	}
+
+	@Test
+	void compressedDumpKeepsGoingIfOneFails() throws IOException {
+		subject.setCompressedMerkleOutFn(merkleOutFn);
+
+		given(merkleOutFn.apply(any())).willReturn(out);
+		given(merkleOutFn.apply(String.format(
+				FcmDump.COMPRESSED_FC_DUMP_LOC_TPL, ServicesMain.class.getName(), selfId, "topics", round)))
+				.willThrow(new UncheckedIOException(new IOException()));
+		// and:
+		given(state.accounts()).willReturn(accounts);
+		given(state.storage()).willReturn(storage);
+		given(state.topics()).willReturn(topics);
+		given(state.tokens()).willReturn(tokens);
+		given(state.tokenAssociations()).willReturn(tokenAssociations);
+		given(state.scheduleTxs()).willReturn(scheduleTxs);
+
+		// when:
+		subject.dumpCompressedFrom(state, self, round);
+
+		// then:
+		verify(out).writeMerkleTree(scheduleTxs);
+		verify(out, times(5)).close();
+		assertThat(logCaptor.warnLogs(), contains(Matchers.startsWith("Unable to finish compressed FCM dump")));
+	}
+
+	@Test
+	void compressedMerkleSupplierWorksWithOkPath() throws IOException {
+		final var fout = subject.getCompressedMerkleOutFn().apply(OK_PATH);
+		fout.writeUTF("Here is something");
+		fout.close();
+
+		try (var in = new DataInputStream(new ChunkedDumpInputStream(new FileInputStream(OK_PATH)))) {
+			assertEquals("Here is something", in.readUTF());
+		}
+
+		(new File(OK_PATH)).delete();
+	}
+
+	@Test
+	void compressedSupplierPropagatesIoEUnchecked() throws IOException {
+		given(directoryCreation.createDirectories(Paths.get(OK_PATH).getParent())).willThrow(IOException.class);
+
+		subject.setDirectoryCreation(directoryCreation);
+
+		final var actualMerkleOutFn = subject.getCompressedMerkleOutFn();
+		assertThrows(UncheckedIOException.class, () -> actualMerkleOutFn.apply(OK_PATH));
+	}
+
 	@Test
 	void merkleSupplierWorksWithOkPath() {
 		// when:
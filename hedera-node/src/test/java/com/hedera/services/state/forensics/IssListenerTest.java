@@ -122,6 +122,23 @@ class IssListenerTest {
 		verify(state).logSummary();
 	}
 
+	@Test
+	void dumpsCompressedIfConfigured() {
+		given(info.shouldDumpThisRound()).willReturn(true);
+		given(nodeLocalProperties.shouldDumpFcmsOnIss()).willReturn(true);
+		given(nodeLocalProperties.shouldDumpFcmsCompressed()).willReturn(true);
+
+		// when:
+		subject.notifyError(
+				platform, book, state, new PlatformEvent[0],
+				self, other, round, consensusTime, numConsEvents, sig, hash);
+
+		// then:
+		verify(fcmDump).dumpCompressedFrom(state, self, round);
+		verify(fcmDump, never()).dumpFrom(state, self, round);
+		verify(state).logSummary();
+	}
+
 	@Test
 	void onlyLogsIfConfiguredInfo() {
 		given(info.shouldDumpThisRound()).willReturn(true);
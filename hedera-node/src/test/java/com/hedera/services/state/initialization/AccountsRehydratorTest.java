@@ -0,0 +1,141 @@
+package com.hedera.services.state.initialization;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.utils.EntityNum;
+import com.swirlds.common.constructable.ClassConstructorPair;
+import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.constructable.ConstructableRegistryException;
+import com.swirlds.merkle.map.MerkleMap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountsRehydratorTest {
+	private AccountsRehydrator subject;
+
+	@BeforeAll
+	static void registerConstructables() throws ConstructableRegistryException {
+		ConstructableRegistry.registerConstructable(
+				new ClassConstructorPair(MerkleAccount.class, MerkleAccount::new));
+	}
+
+	@Test
+	void rebuildsEveryIndexFromOneScan() {
+		final var numAccounts = 2 * AccountsRehydrator.BATCH_SIZE + 1;
+		final var nums = new NumsIndex("nums");
+		final var balances = new NumsIndex("balances");
+		subject = new AccountsRehydrator(Set.of(nums, balances));
+		subject.rehydrationPool = new ForkJoinPool(4);
+
+		final var timings = subject.rehydrateFrom(accountsWith(numAccounts));
+
+		assertEquals(2, timings.size());
+		assertTrue(timings.stream().allMatch(timing -> timing.accumulateNanos() >= 0 && timing.rebuildNanos() >= 0));
+		for (final var index : List.of(nums, balances)) {
+			assertEquals(3, index.numAccumulators);
+			assertEquals(numAccounts, index.rebuilt.size());
+			for (int i = 0; i < numAccounts; i++) {
+				assertEquals(i + 1L, index.rebuilt.get(i));
+			}
+		}
+		assertEquals(2, subject.getIndexes().size());
+	}
+
+	@Test
+	void rebuildsFromNoAccounts() {
+		final var nums = new NumsIndex("nums");
+		subject = new AccountsRehydrator(Set.of(nums));
+
+		subject.rehydrateFrom(new MerkleMap<>());
+
+		assertEquals(0, nums.numAccumulators);
+		assertTrue(nums.rebuilt.isEmpty());
+	}
+
+	@Test
+	void propagatesIndexFailures() {
+		final var failing = new NumsIndex("failing") {
+			@Override
+			public void accumulate(final List<Long> accumulator, final EntityNum num, final MerkleAccount account) {
+				throw new IllegalStateException("Cannot index " + num);
+			}
+		};
+		subject = new AccountsRehydrator(Set.of(failing));
+		final var accounts = accountsWith(1);
+
+		assertThrows(CompletionException.class, () -> subject.rehydrateFrom(accounts));
+	}
+
+	private static MerkleMap<EntityNum, MerkleAccount> accountsWith(final int n) {
+		final MerkleMap<EntityNum, MerkleAccount> accounts = new MerkleMap<>();
+		for (long i = 1; i <= n; i++) {
+			final var account = new MerkleAccount();
+			account.setBalanceUnchecked(i);
+			accounts.put(EntityNum.fromLong(i), account);
+		}
+		return accounts;
+	}
+
+	private static class NumsIndex implements DerivedAccountsIndex<List<Long>> {
+		private final String name;
+		private int numAccumulators;
+		private List<Long> rebuilt = new ArrayList<>();
+
+		private NumsIndex(final String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String name() {
+			return name;
+		}
+
+		@Override
+		public List<Long> newAccumulator() {
+			return new ArrayList<>();
+		}
+
+		@Override
+		public void accumulate(final List<Long> accumulator, final EntityNum num, final MerkleAccount account) {
+			accumulator.add("balances".equals(name) ? account.getBalance() : num.longValue());
+		}
+
+		@Override
+		public void rebuildFrom(final List<List<Long>> accumulators) {
+			numAccumulators = accumulators.size();
+			rebuilt = new ArrayList<>();
+			accumulators.forEach(rebuilt::addAll);
+			rebuilt.sort(Long::compare);
+		}
+	}
+}
@@ -28,6 +28,7 @@ import com.hedera.services.records.RecordsHistorian;
 import com.hedera.services.records.RecordCache;
 import com.hedera.services.state.merkle.MerkleStakingInfo;
 import com.hedera.services.state.migration.MigrationRecordsManager;
+import com.hedera.services.stats.ExecutionTimeTracker;
 import com.hedera.services.utils.EntityNum;
 import com.hedera.services.utils.accessors.SignedTxnAccessor;
 import com.hedera.test.extensions.LogCaptor;
@@ -49,6 +50,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
 
+import static com.hedera.services.stats.HandleStage.LEDGER_COMMIT;
+import static com.hedera.services.stats.HandleStage.STREAM_HANDOFF;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -90,6 +93,8 @@ class ServicesTxnManagerTest {
 	private BlockManager blockManager;
 	@Mock
 	private RewardCalculator rewardCalculator;
+	@Mock
+	private ExecutionTimeTracker executionTimeTracker;
 
 	@LoggingTarget
 	private LogCaptor logCaptor;
@@ -100,14 +105,15 @@ class ServicesTxnManagerTest {
 	void setup() {
 		subject = new ServicesTxnManager(
 				processLogic, triggeredProcessLogic, recordCache, ledger,
-				txnCtx, sigImpactHistorian, recordsHistorian, migrationRecordsManager, recordStreaming, blockManager, rewardCalculator);
+				txnCtx, sigImpactHistorian, recordsHistorian, migrationRecordsManager, recordStreaming, blockManager, rewardCalculator,
+				executionTimeTracker);
 	}
 
 	@Test
 	void managesHappyPath() {
 		// setup:
 		InOrder inOrder = inOrder(
-				ledger, txnCtx, processLogic,
+				ledger, txnCtx, processLogic, executionTimeTracker,
 				recordStreaming, recordsHistorian, sigImpactHistorian, migrationRecordsManager);
 
 		// when:
@@ -120,8 +126,12 @@ class ServicesTxnManagerTest {
 		inOrder.verify(ledger).begin();
 		inOrder.verify(migrationRecordsManager).publishMigrationRecords(consensusTime);
 		inOrder.verify(processLogic).run();
+		inOrder.verify(executionTimeTracker).startStage(LEDGER_COMMIT);
 		inOrder.verify(ledger).commit();
+		inOrder.verify(executionTimeTracker).stopStage(LEDGER_COMMIT);
+		inOrder.verify(executionTimeTracker).startStage(STREAM_HANDOFF);
 		inOrder.verify(recordStreaming).streamUserTxnRecords();
+		inOrder.verify(executionTimeTracker).stopStage(STREAM_HANDOFF);
 	}
 
 	@Test
@@ -27,6 +27,7 @@ import com.hedera.services.records.ConsensusTimeTracker;
 import com.hedera.services.state.expiry.EntityAutoRenewal;
 import com.hedera.services.state.expiry.ExpiryManager;
 import com.hedera.services.stats.ExecutionTimeTracker;
+import com.hedera.services.txns.prefetch.PrefetchProcessor;
 import com.hedera.services.txns.schedule.ScheduleProcessing;
 import com.hedera.services.txns.span.ExpandHandleSpan;
 import com.hedera.services.utils.accessors.PlatformTxnAccessor;
@@ -46,6 +47,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
 
+import static com.hedera.services.stats.HandleStage.SPAN_RATIONALIZATION;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.mockito.ArgumentMatchers.any;
@@ -92,6 +94,8 @@ class StandardProcessLogicTest {
 	private RecordStreaming recordStreaming;
 	@Mock
 	private ScheduleProcessing scheduleProcessing;
+	@Mock
+	private PrefetchProcessor prefetchProcessor;
 
 	@LoggingTarget
 	private LogCaptor logCaptor;
@@ -104,12 +108,12 @@ class StandardProcessLogicTest {
 				expiries, invariantChecks,
 				expandHandleSpan, consensusTimeTracker, autoRenewal, txnManager,
 				sigImpactHistorian, txnCtx, scheduleProcessing,
-				executionTimeTracker, recordStreaming);
+				executionTimeTracker, recordStreaming, prefetchProcessor);
 	}
 
 	@Test
 	void happyPathFlowsForNonTriggered() throws InvalidProtocolBufferException {
-		final InOrder inOrder = inOrder(consensusTimeTracker, scheduleProcessing,
+		final InOrder inOrder = inOrder(prefetchProcessor, consensusTimeTracker, scheduleProcessing,
 				expiries, executionTimeTracker, txnManager, autoRenewal, sigImpactHistorian, recordStreaming);
 
 		given(expandHandleSpan.accessorFor(swirldTransaction)).willReturn(accessor);
@@ -122,6 +126,9 @@ class StandardProcessLogicTest {
 		subject.incorporateConsensusTxn(swirldTransaction, consensusNow, member);
 
 		// then:
+		inOrder.verify(executionTimeTracker).startStage(SPAN_RATIONALIZATION);
+		inOrder.verify(prefetchProcessor).claim(accessor);
+		inOrder.verify(executionTimeTracker).stopStage(SPAN_RATIONALIZATION);
 		inOrder.verify(consensusTimeTracker).reset(consensusNow);
 		inOrder.verify(sigImpactHistorian).setChangeTime(consensusNow);
 		inOrder.verify(expiries).purge(consensusNow.getEpochSecond());
@@ -173,6 +180,8 @@ class StandardProcessLogicTest {
 		subject.incorporateConsensusTxn(swirldTransaction, consensusNow, member);
 
 		// then:
+		verify(prefetchProcessor).claim(accessor);
+		verify(executionTimeTracker).discardStages();
 		verifyNoInteractions(expiries, txnManager, autoRenewal);
 	}
 
@@ -206,6 +215,7 @@ class StandardProcessLogicTest {
 		subject.incorporateConsensusTxn(swirldTransaction, consensusNow, member);
 
 		assertThat(logCaptor.warnLogs(), contains(Matchers.startsWith("Consensus platform txn was not gRPC!")));
+		verify(executionTimeTracker).discardStages();
 	}
 
 	@Test
@@ -215,6 +225,7 @@ class StandardProcessLogicTest {
 		subject.incorporateConsensusTxn(swirldTransaction, consensusNow, member);
 
 		assertThat(logCaptor.errorLogs(), contains(Matchers.startsWith("Unhandled internal process failure")));
+		verify(executionTimeTracker).discardStages();
 	}
 
 	@Test
@@ -22,6 +22,7 @@ package com.hedera.services.state.logic;
 
 import com.hedera.services.context.TransactionContext;
 import com.hedera.services.fees.charging.TxnChargingPolicyAgent;
+import com.hedera.services.stats.ExecutionTimeTracker;
 import com.hedera.services.utils.accessors.PlatformTxnAccessor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,6 +34,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
 
+import static com.hedera.services.stats.HandleStage.CHARGING;
+import static com.hedera.services.stats.HandleStage.SIG_SCREENING;
+import static com.hedera.services.stats.HandleStage.TRANSITION;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_SIGNATURE;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 import static org.mockito.BDDMockito.given;
@@ -60,6 +64,8 @@ class TopLevelTransitionTest {
 	private NonPayerKeysScreen nonPayerKeysScreen;
 	@Mock
 	private NetworkUtilization networkUtilization;
+	@Mock
+	private ExecutionTimeTracker executionTimeTracker;
 
 	private TopLevelTransition subject;
 
@@ -72,7 +78,8 @@ class TopLevelTransitionTest {
 				txnCtx,
 				nonPayerKeysScreen,
 				networkUtilization,
-				chargingPolicyAgent);
+				chargingPolicyAgent,
+				executionTimeTracker);
 	}
 
 	@Test
@@ -94,7 +101,7 @@ class TopLevelTransitionTest {
 		// setup:
 		InOrder inOrder = Mockito.inOrder(
 				networkCtxManager, sigsAndPayerKeyScreen, chargingPolicyAgent,
-				networkUtilization, nonPayerKeysScreen, requestedTransition);
+				networkUtilization, nonPayerKeysScreen, requestedTransition, executionTimeTracker);
 
 		given(txnCtx.swirldsTxnAccessor()).willReturn(accessor);
 		given(txnCtx.consensusTime()).willReturn(consensusNow);
@@ -107,12 +114,20 @@ class TopLevelTransitionTest {
 
 		// then:
 		inOrder.verify(networkCtxManager).advanceConsensusClockTo(consensusNow);
+		inOrder.verify(executionTimeTracker).startStage(SIG_SCREENING);
 		inOrder.verify(sigsAndPayerKeyScreen).applyTo(accessor);
+		inOrder.verify(executionTimeTracker).stopStage(SIG_SCREENING);
 		inOrder.verify(networkUtilization).trackUserTxn(accessor, consensusNow);
+		inOrder.verify(executionTimeTracker).startStage(CHARGING);
 		inOrder.verify(chargingPolicyAgent).applyPolicyFor(accessor);
+		inOrder.verify(executionTimeTracker).stopStage(CHARGING);
+		inOrder.verify(executionTimeTracker).startStage(SIG_SCREENING);
 		inOrder.verify(nonPayerKeysScreen).reqKeysAreActiveGiven(OK);
+		inOrder.verify(executionTimeTracker).stopStage(SIG_SCREENING);
 		inOrder.verify(networkUtilization).screenForAvailableCapacity();
+		inOrder.verify(executionTimeTracker).startStage(TRANSITION);
 		inOrder.verify(requestedTransition).finishFor(accessor);
+		inOrder.verify(executionTimeTracker).stopStage(TRANSITION);
 	}
 
 	@Test
@@ -50,6 +50,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
@@ -161,6 +162,44 @@ class MerkleSpecialFilesTest {
 		assertTrue(subject.hashMatches(secondFid, stuffHash), "Appended stuff should have SHA-384 hash");
 	}
 
+	@Test
+	void streamsContentsWithoutConcatenating() throws IOException {
+		subject.append(secondFid, Arrays.copyOfRange(stuff, 0, stuff.length / 2));
+		subject.append(secondFid, Arrays.copyOfRange(stuff, stuff.length / 2, stuff.length));
+
+		final var view = subject.getAsStream(secondFid);
+		subject.append(secondFid, stuffHash);
+
+		assertArrayEquals(stuff, view.readAllBytes(), "Stream should reflect contents when requested");
+		assertEquals(stuff.length + stuffHash.length, subject.sizeOf(secondFid));
+		assertArrayEquals(new byte[0], subject.getAsStream(fid).readAllBytes());
+		assertEquals(0, subject.sizeOf(fid));
+	}
+
+	@Test
+	void appendUpdatesRunningHash() {
+		subject.append(secondFid, Arrays.copyOfRange(stuff, 0, stuff.length / 2));
+		final var runningHash = subject.getRunningHashes().get(secondFid);
+
+		subject.append(secondFid, Arrays.copyOfRange(stuff, stuff.length / 2, stuff.length));
+
+		assertSame(runningHash, subject.getRunningHashes().get(secondFid));
+		assertTrue(subject.hashMatches(secondFid, stuffHash), "Appended stuff should have SHA-384 hash");
+	}
+
+	@Test
+	void copiesHaveIndependentRunningHashes() {
+		subject.append(secondFid, Arrays.copyOfRange(stuff, 0, stuff.length / 2));
+		final var copySub = subject.copy();
+
+		copySub.append(secondFid, Arrays.copyOfRange(stuff, stuff.length / 2, stuff.length));
+
+		assertTrue(copySub.hashMatches(secondFid, stuffHash));
+		assertFalse(subject.hashMatches(secondFid, stuffHash));
+		assertTrue(subject.hashMatches(
+				secondFid, CommonUtils.noThrowSha384HashOf(Arrays.copyOfRange(stuff, 0, stuff.length / 2))));
+	}
+
 	@Test
 	void hashSummarizesAsExpected() throws IOException {
 		subject.append(fid, Arrays.copyOfRange(stuff, 0, stuff.length / 2));
@@ -226,8 +265,9 @@ class MerkleSpecialFilesTest {
 				.willReturn(stuff);
 
 		subject.deserialize(in, 1);
+		subject.append(fid, stuffHash);
 
-		assertTrue(subject.hashMatches(fid, stuffHash));
+		assertTrue(subject.hashMatches(fid, CommonUtils.noThrowSha384HashOf(subject.get(fid))));
 		assertTrue(subject.hashMatches(secondFid, stuffHash));
 	}
 
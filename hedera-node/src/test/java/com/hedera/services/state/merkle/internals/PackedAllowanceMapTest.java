@@ -0,0 +1,174 @@
+package com.hedera.services.state.merkle.internals;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.submerkle.FcTokenAllowanceId;
+import com.hedera.services.utils.EntityNum;
+import com.hedera.services.utils.SerializationUtils;
+import com.swirlds.common.constructable.ClassConstructorPair;
+import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.constructable.ConstructableRegistryException;
+import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.common.io.streams.SerializableDataOutputStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static com.hedera.services.state.merkle.internals.PackedAllowanceMap.cryptoAllowancesFrom;
+import static com.hedera.services.state.merkle.internals.PackedAllowanceMap.emptyCryptoAllowances;
+import static com.hedera.services.state.merkle.internals.PackedAllowanceMap.emptyTokenAllowances;
+import static com.hedera.services.state.merkle.internals.PackedAllowanceMap.tokenAllowancesFrom;
+import static com.hedera.services.state.merkle.internals.PackedKeyCodec.ENTITY_NUM_CODEC;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackedAllowanceMapTest {
+	private static final EntityNum aSpender = EntityNum.fromLong(1001L);
+	private static final EntityNum bSpender = EntityNum.fromLong(1002L);
+	private static final EntityNum cSpender = EntityNum.fromLong(1003L);
+
+	@BeforeAll
+	static void registerConstructables() throws ConstructableRegistryException {
+		ConstructableRegistry.registerConstructable(
+				new ClassConstructorPair(FcTokenAllowanceId.class, FcTokenAllowanceId::new));
+	}
+
+	@Test
+	void iteratesAndComparesLikeTreeMap() {
+		final var r = new SplittableRandom(1_234_567L);
+		for (int trial = 0; trial < 100; trial++) {
+			final Map<FcTokenAllowanceId, Long> expected = new TreeMap<>();
+			final Map<FcTokenAllowanceId, Long> unordered = new HashMap<>();
+			for (int i = 0, n = r.nextInt(20); i < n; i++) {
+				final var id = FcTokenAllowanceId.from(
+						EntityNum.fromInt(r.nextInt(8) - 4), EntityNum.fromInt(r.nextInt(8) - 4));
+				final var allowance = r.nextLong();
+				expected.put(id, allowance);
+				unordered.put(id, allowance);
+			}
+
+			final var subject = tokenAllowancesFrom(unordered);
+
+			assertEquals(expected, subject);
+			assertEquals(subject, expected);
+			assertEquals(expected.hashCode(), subject.hashCode());
+			assertEquals(expected.toString(), subject.toString());
+			assertEquals(List.copyOf(expected.keySet()), List.copyOf(subject.keySet()));
+			assertEquals(List.copyOf(expected.values()), List.copyOf(subject.values()));
+			for (final var id : expected.keySet()) {
+				assertEquals(expected.get(id), subject.get(id));
+			}
+		}
+	}
+
+	@Test
+	void withAndWithoutAreCopyOnWrite() {
+		final var original = cryptoAllowancesFrom(new TreeMap<>(Map.of(aSpender, 1L, cSpender, 3L)));
+
+		final var added = original.with(bSpender, 2L);
+		final var replaced = added.with(bSpender, 22L);
+		final var removed = replaced.without(aSpender);
+
+		assertEquals(Map.of(aSpender, 1L, cSpender, 3L), original);
+		assertEquals(Map.of(aSpender, 1L, bSpender, 2L, cSpender, 3L), added);
+		assertEquals(Map.of(aSpender, 1L, bSpender, 22L, cSpender, 3L), replaced);
+		assertEquals(Map.of(bSpender, 22L, cSpender, 3L), removed);
+		assertSame(added, added.with(bSpender, 2L));
+		assertSame(original, original.without(bSpender));
+		assertEquals(List.of(bSpender, cSpender), List.copyOf(removed.keySet()));
+	}
+
+	@Test
+	void isImmutable() {
+		final var subject = emptyCryptoAllowances().with(aSpender, 1L);
+
+		assertThrows(UnsupportedOperationException.class, () -> subject.put(bSpender, 2L));
+		assertThrows(UnsupportedOperationException.class, () -> subject.remove(aSpender));
+		assertThrows(UnsupportedOperationException.class, subject::clear);
+		assertThrows(UnsupportedOperationException.class, () -> subject.entrySet().iterator().next().setValue(2L));
+	}
+
+	@Test
+	void lookupsOfMissingOrForeignKeysAreNull() {
+		final var subject = emptyCryptoAllowances().with(aSpender, 1L);
+
+		assertNull(subject.get(bSpender));
+		assertNull(subject.get(1001L));
+		assertFalse(subject.containsKey(FcTokenAllowanceId.from(aSpender, aSpender)));
+		assertTrue(subject.containsKey(aSpender));
+	}
+
+	@Test
+	void packingIsIdempotentAndEmptyIsSingleton() {
+		final var subject = emptyCryptoAllowances().with(aSpender, 1L);
+
+		assertSame(subject, cryptoAllowancesFrom(subject));
+		assertSame(emptyCryptoAllowances(), cryptoAllowancesFrom(new HashMap<>()));
+		assertSame(emptyTokenAllowances(), tokenAllowancesFrom(Map.of()));
+	}
+
+	@Test
+	void lastAllowanceForRepeatedPackedKeyWins() {
+		final var subject = PackedAllowanceMap.fromPacked(
+				ENTITY_NUM_CODEC, new long[] { 3, 1, 3 }, new long[] { 30, 10, 33 });
+
+		assertEquals(Map.of(EntityNum.fromInt(1), 10L, EntityNum.fromInt(3), 33L), subject);
+	}
+
+	@Test
+	void serializesExactlyAsTreeMaps() throws IOException {
+		final var cryptoAllowances = new TreeMap<>(Map.of(aSpender, 1L, cSpender, 3L, bSpender, 2L));
+		final var tokenAllowances = new TreeMap<>(Map.of(
+				FcTokenAllowanceId.from(bSpender, aSpender), 5L,
+				FcTokenAllowanceId.from(aSpender, cSpender), 6L));
+
+		final var expected = new ByteArrayOutputStream();
+		try (final var out = new SerializableDataOutputStream(expected)) {
+			SerializationUtils.serializeCryptoAllowances(out, cryptoAllowances);
+			SerializationUtils.serializeTokenAllowances(out, tokenAllowances);
+		}
+		final var actual = new ByteArrayOutputStream();
+		try (final var out = new SerializableDataOutputStream(actual)) {
+			SerializationUtils.serializeCryptoAllowances(out, cryptoAllowancesFrom(cryptoAllowances));
+			SerializationUtils.serializeTokenAllowances(out, tokenAllowancesFrom(tokenAllowances));
+		}
+		assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+
+		try (final var in = new SerializableDataInputStream(new ByteArrayInputStream(actual.toByteArray()))) {
+			assertEquals(cryptoAllowances, SerializationUtils.deserializeCryptoAllowances(in));
+			assertEquals(tokenAllowances, SerializationUtils.deserializeFungibleTokenAllowances(in));
+		}
+	}
+}
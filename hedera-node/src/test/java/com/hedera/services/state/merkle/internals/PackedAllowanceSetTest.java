@@ -0,0 +1,143 @@
+package com.hedera.services.state.merkle.internals;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.submerkle.FcTokenAllowanceId;
+import com.hedera.services.utils.EntityNum;
+import com.hedera.services.utils.SerializationUtils;
+import com.swirlds.common.constructable.ClassConstructorPair;
+import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.constructable.ConstructableRegistryException;
+import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.common.io.streams.SerializableDataOutputStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import static com.hedera.services.state.merkle.internals.PackedAllowanceSet.emptyNftAllowances;
+import static com.hedera.services.state.merkle.internals.PackedAllowanceSet.nftAllowancesFrom;
+import static com.hedera.services.state.merkle.internals.PackedKeyCodec.TOKEN_ALLOWANCE_ID_CODEC;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackedAllowanceSetTest {
+	private static final FcTokenAllowanceId aId = FcTokenAllowanceId.from(
+			EntityNum.fromLong(2001L), EntityNum.fromLong(1001L));
+	private static final FcTokenAllowanceId bId = FcTokenAllowanceId.from(
+			EntityNum.fromLong(2001L), EntityNum.fromLong(1002L));
+	private static final FcTokenAllowanceId cId = FcTokenAllowanceId.from(
+			EntityNum.fromLong(2002L), EntityNum.fromLong(1000L));
+
+	@BeforeAll
+	static void registerConstructables() throws ConstructableRegistryException {
+		ConstructableRegistry.registerConstructable(
+				new ClassConstructorPair(FcTokenAllowanceId.class, FcTokenAllowanceId::new));
+	}
+
+	@Test
+	void iteratesAndComparesLikeTreeSet() {
+		final var r = new SplittableRandom(7_654_321L);
+		for (int trial = 0; trial < 100; trial++) {
+			final Set<FcTokenAllowanceId> expected = new TreeSet<>();
+			final Set<FcTokenAllowanceId> unordered = new HashSet<>();
+			for (int i = 0, n = r.nextInt(20); i < n; i++) {
+				final var id = FcTokenAllowanceId.from(
+						EntityNum.fromInt(r.nextInt()), EntityNum.fromInt(r.nextInt(8) - 4));
+				expected.add(id);
+				unordered.add(id);
+			}
+
+			final var subject = nftAllowancesFrom(unordered);
+
+			assertEquals(expected, subject);
+			assertEquals(subject, expected);
+			assertEquals(expected.hashCode(), subject.hashCode());
+			assertEquals(List.copyOf(expected), List.copyOf(subject));
+			expected.forEach(id -> assertTrue(subject.contains(id)));
+		}
+	}
+
+	@Test
+	void withAndWithoutAreCopyOnWrite() {
+		final var original = nftAllowancesFrom(Set.of(cId, aId));
+
+		final var added = original.with(bId);
+		final var removed = added.without(aId);
+
+		assertEquals(List.of(aId, cId), List.copyOf(original));
+		assertEquals(List.of(aId, bId, cId), List.copyOf(added));
+		assertEquals(List.of(bId, cId), List.copyOf(removed));
+		assertSame(added, added.with(bId));
+		assertSame(original, original.without(bId));
+		assertThrows(UnsupportedOperationException.class, () -> added.add(aId));
+		assertThrows(UnsupportedOperationException.class, () -> added.remove(aId));
+	}
+
+	@Test
+	void packingIsIdempotentAndEmptyIsSingleton() {
+		final var subject = nftAllowancesFrom(Set.of(aId));
+
+		assertSame(subject, nftAllowancesFrom(subject));
+		assertSame(emptyNftAllowances(), nftAllowancesFrom(Set.of()));
+		assertFalse(subject.contains(aId.getTokenNum()));
+	}
+
+	@Test
+	void dropsRepeatedPackedKeys() {
+		final var subject = PackedAllowanceSet.fromPacked(TOKEN_ALLOWANCE_ID_CODEC, new long[] {
+				TOKEN_ALLOWANCE_ID_CODEC.pack(cId), TOKEN_ALLOWANCE_ID_CODEC.pack(aId), TOKEN_ALLOWANCE_ID_CODEC.pack(cId)
+		});
+
+		assertEquals(List.of(aId, cId), List.copyOf(subject));
+	}
+
+	@Test
+	void serializesExactlyAsTreeSets() throws IOException {
+		final var approvals = new TreeSet<>(Set.of(cId, aId, bId));
+
+		final var expected = new ByteArrayOutputStream();
+		try (final var out = new SerializableDataOutputStream(expected)) {
+			SerializationUtils.serializeApproveForAllNftsAllowances(out, approvals);
+		}
+		final var actual = new ByteArrayOutputStream();
+		try (final var out = new SerializableDataOutputStream(actual)) {
+			SerializationUtils.serializeApproveForAllNftsAllowances(out, nftAllowancesFrom(approvals));
+		}
+		assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+
+		try (final var in = new SerializableDataInputStream(new ByteArrayInputStream(actual.toByteArray()))) {
+			assertEquals(approvals, SerializationUtils.deserializeApproveForAllNftsAllowances(in));
+		}
+	}
+}
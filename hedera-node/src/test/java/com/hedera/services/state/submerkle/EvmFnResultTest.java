@@ -25,13 +25,13 @@ import com.google.protobuf.BytesValue;
 import com.hedera.services.contracts.execution.HederaMessageCallProcessor;
 import com.hedera.services.contracts.execution.TransactionProcessingResult;
 import com.hedera.services.ethereum.EthTxData;
+import com.hedera.services.store.contracts.ContractStateChanges;
 import com.hedera.services.utils.EntityNum;
 import com.hederahashgraph.api.proto.java.ContractFunctionResult;
 import com.hederahashgraph.api.proto.java.ContractID;
 import com.hederahashgraph.api.proto.java.ContractStateChange;
 import com.hederahashgraph.api.proto.java.StorageChange;
 import com.swirlds.common.utility.CommonUtils;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.evm.log.Log;
@@ -44,9 +44,7 @@ import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.TreeMap;
 
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
@@ -80,14 +78,16 @@ class EvmFnResultTest {
 	private static final List<ContractID> grpcCreatedContractIds = createdContractIds.stream()
 			.map(EntityId::toGrpcContractId).toList();
 	private final List<EvmLog> logs = List.of(logFrom(0), logFrom(1));
-	private final Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> stateChanges =
-			new TreeMap<>(Map.of(Address.fromHexString("0x6"),
-					Map.of(Bytes.of(7), Pair.of(Bytes.of(8), null)),
-					Address.fromHexString("0x9"),
-					Map.of(Bytes.of(10), Pair.of(Bytes.of(11), Bytes.of(12)))));
-	private static Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> specialStateChanges =
-			Map.of(realContract,
-					Map.of(Bytes.of(slot), Pair.of(Bytes.of(left), Bytes.of(right))));
+	private final ContractStateChanges stateChanges = ContractStateChanges.newBuilder()
+			.startContract(Address.fromHexString("0x6"))
+			.addChange(Bytes.of(7), Bytes.of(8), null)
+			.startContract(Address.fromHexString("0x9"))
+			.addChange(Bytes.of(10), Bytes.of(11), Bytes.of(12))
+			.build();
+	private static final ContractStateChanges specialStateChanges = ContractStateChanges.newBuilder()
+			.startContract(realContract)
+			.addChange(Bytes.of(slot), Bytes.of(left), Bytes.of(right))
+			.build();
 
 	private EvmFnResult subject;
 
@@ -111,10 +111,13 @@ class EvmFnResultTest {
 
 	@Test
 	void stripsLeadingZerosInChangeRepresentation() {
-		final var slot = Bytes.wrap(Address.BLS12_G1MULTIEXP.toArray());
-		final var access = Pair.of(
-								Bytes.of(Address.BLS12_MAP_FP2_TO_G2.toArray()),
-								Bytes.of(Address.BLS12_G1MUL.toArray()));
+		final var changes = ContractStateChanges.newBuilder()
+				.startContract(realContract)
+				.addChange(
+						Bytes.wrap(Address.BLS12_G1MULTIEXP.toArray()),
+						Bytes.of(Address.BLS12_MAP_FP2_TO_G2.toArray()),
+						Bytes.of(Address.BLS12_G1MUL.toArray()))
+				.build();
 		final var expected = StorageChange.newBuilder()
 				.setSlot(ByteString.copyFrom(Address.BLS12_G1MULTIEXP.trimLeadingZeros().toArray()))
 				.setValueRead(ByteString.copyFrom(Address.BLS12_MAP_FP2_TO_G2.trimLeadingZeros().toArray()))
@@ -122,8 +125,9 @@ class EvmFnResultTest {
 						.setValue(ByteString.copyFrom(Address.BLS12_G1MUL.trimLeadingZeros().toArray()))
 						.build())
 				.build();
-		final var actual = EvmFnResult.trimmedGrpc(slot, access);
-		assertEquals(expected, actual.build());
+		final var actual = ContractFunctionResult.newBuilder();
+		changes.exportTo(actual);
+		assertEquals(expected, actual.getStateChanges(0).getStorageChanges(0));
 	}
 
 	@Test
@@ -337,7 +341,7 @@ class EvmFnResultTest {
 				logs,
 				createdContractIds,
 				evmAddress,
-				Collections.emptyMap(),
+				ContractStateChanges.EMPTY,
 				gas,
 				amount,
 				functionParameters, 
@@ -28,6 +28,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TxnIdTest {
 	private static final int nonce = 123;
@@ -47,6 +48,9 @@ class TxnIdTest {
 
 		assertEquals(fcPayer, subject.getPayerAccount());
 		assertEquals(fcValidStart, subject.getValidStart());
+		assertTrue(subject.isScheduled());
+		assertEquals(nonce, subject.getNonce());
+		assertEquals(2, subject.withNonce(2).getNonce());
 	}
 
 	@Test
@@ -0,0 +1,125 @@
+package com.hedera.services.stats;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.swirlds.common.statistics.StatEntry;
+import com.swirlds.common.system.Platform;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.List;
+
+import static com.hedera.services.stats.EvmProfileCounters.DUMP_HEADER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.verifyNoInteractions;
+import static org.mockito.Mockito.times;
+
+class EvmProfileCountersTest {
+	private Platform platform;
+	private CounterFactory factory;
+
+	private EvmProfileCounters subject;
+
+	@BeforeEach
+	void setup() {
+		platform = mock(Platform.class);
+		factory = mock(CounterFactory.class);
+
+		subject = new EvmProfileCounters(factory, true);
+	}
+
+	@Test
+	void registersExpectedStatEntriesOnlyIfEnabled() {
+		final var stat = mock(StatEntry.class);
+		given(factory.from(any(), any(), any())).willReturn(stat);
+
+		subject.registerWith(platform);
+
+		verify(platform, times(4)).addAppStatEntry(stat);
+		verify(factory).from(
+				eq(EvmProfileCounters.Names.OP_NANOS), eq(EvmProfileCounters.Descriptions.OP_NANOS), any());
+	}
+
+	@Test
+	void doesNothingOnRegistrationIfDisabled() {
+		subject = new EvmProfileCounters(factory, false);
+
+		subject.registerWith(platform);
+
+		assertFalse(subject.isEnabled());
+		verifyNoInteractions(factory, platform);
+	}
+
+	@Test
+	void writesAggregatesMostExpensiveFirst() throws IOException {
+		subject.recordOpcode(0x54, "SLOAD", 1_000, 2_100);
+		subject.recordOpcode(0x54, "SLOAD", 3_000, 2_100);
+		subject.recordOpcode(0x01, "ADD", 10, 3);
+		subject.recordPrecompile("0x0000000000000000000000000000000000000167", 0x49146bde, 50_000, 100);
+
+		final var out = new StringWriter();
+		subject.writeTo(out);
+
+		assertEquals(List.of(
+				DUMP_HEADER,
+				"precompile,0x0000000000000000000000000000000000000167:0x49146bde,1,50000,100,500.000",
+				"opcode,SLOAD,2,4000,4200,0.952",
+				"opcode,ADD,1,10,3,3.333"
+		), out.toString().lines().toList());
+	}
+
+	@Test
+	void usesHexForUnnamedOpcodeAndBlankRatioForZeroGas() throws IOException {
+		subject.recordOpcode(0xfe, null, 5, 0);
+
+		final var out = new StringWriter();
+		subject.writeTo(out);
+
+		assertEquals(List.of(DUMP_HEADER, "opcode,0xfe,1,5,0,"), out.toString().lines().toList());
+	}
+
+	@Test
+	void dumpsToFileInNewDirectory() throws IOException {
+		final var dir = Files.createTempDirectory("evm-profile");
+		final var file = dir.resolve("nested").resolve("profile.csv");
+		subject.recordOpcode(0x01, "ADD", 10, 3);
+
+		subject.dumpTo(file);
+
+		assertTrue(Files.exists(file));
+		assertEquals(2, Files.readAllLines(file).size());
+
+		Files.delete(file);
+		Files.delete(file.getParent());
+		Files.delete(dir);
+	}
+}
@@ -22,7 +22,7 @@ package com.hedera.services.stats;
 
 import com.hedera.services.context.TransactionContext;
 import com.hedera.services.context.properties.NodeLocalProperties;
-import com.hedera.services.utils.accessors.SignedTxnAccessor;
+import com.hedera.services.utils.accessors.TxnAccessor;
 import com.hedera.test.utils.IdUtils;
 import com.hederahashgraph.api.proto.java.Timestamp;
 import com.hederahashgraph.api.proto.java.TransactionID;
@@ -31,11 +31,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Map;
+import java.util.Set;
+
+import static com.hedera.services.stats.HandleStage.LEDGER_COMMIT;
+import static com.hedera.services.stats.HandleStage.RECORD_CREATION;
+import static com.hedera.services.stats.HandleStage.SPAN_RATIONALIZATION;
+import static com.hedera.services.stats.HandleStage.STREAM_HANDOFF;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class ExecutionTimeTrackerTest {
@@ -53,7 +66,9 @@ class ExecutionTimeTrackerTest {
 	@Mock
 	private TransactionContext txnCtx;
 	@Mock
-	private SignedTxnAccessor accessor;
+	private TxnAccessor accessor;
+	@Mock
+	private HandleStageHistograms stageHistograms;
 
 	private ExecutionTimeTracker subject;
 
@@ -65,7 +80,12 @@ class ExecutionTimeTrackerTest {
 		assertNull(subject.getExecNanosCache());
 		assertDoesNotThrow(subject::stop);
 		assertDoesNotThrow(subject::start);
+		assertDoesNotThrow(() -> subject.startStage(LEDGER_COMMIT));
+		assertDoesNotThrow(() -> subject.stopStage(LEDGER_COMMIT));
+		assertDoesNotThrow(subject::discardStages);
 		assertNull(subject.getExecNanosIfPresentFor(aTxnId));
+		assertNull(subject.getStageNanosIfPresentFor(aTxnId));
+		verifyNoInteractions(stageHistograms);
 	}
 
 	@Test
@@ -91,6 +111,77 @@ class ExecutionTimeTrackerTest {
 		assertNotNull(subject.getExecNanosIfPresentFor(bTxnId));
 	}
 
+	@Test
+	void tracksExclusiveStageTimes() {
+		final var busyNanos = 1_000_000;
+		givenTrackingFor(aTxnId);
+
+		subject.startStage(SPAN_RATIONALIZATION);
+		stayBusyFor(busyNanos);
+		subject.stopStage(SPAN_RATIONALIZATION);
+		subject.start();
+		subject.startStage(LEDGER_COMMIT);
+		stayBusyFor(busyNanos);
+		subject.startStage(RECORD_CREATION);
+		stayBusyFor(busyNanos);
+		subject.stopStage(RECORD_CREATION);
+		stayBusyFor(busyNanos);
+		subject.stopStage(LEDGER_COMMIT);
+		subject.stop();
+
+		final var breakdown = subject.getStageNanosIfPresentFor(aTxnId);
+		assertEquals(Set.of(SPAN_RATIONALIZATION, LEDGER_COMMIT, RECORD_CREATION), breakdown.keySet());
+		assertTrue(breakdown.get(SPAN_RATIONALIZATION) >= busyNanos);
+		assertTrue(breakdown.get(LEDGER_COMMIT) >= 2 * busyNanos);
+		assertTrue(breakdown.get(RECORD_CREATION) >= busyNanos);
+		assertTrue(subject.getExecNanosIfPresentFor(aTxnId) >= 3 * busyNanos);
+		verify(stageHistograms).record(eq(CryptoTransfer), any());
+	}
+
+	@Test
+	void stoppingOuterStageAlsoStopsUnstoppedNestedStages() {
+		final var busyNanos = 1_000_000;
+		givenTrackingFor(aTxnId);
+
+		subject.start();
+		subject.startStage(LEDGER_COMMIT);
+		subject.startStage(RECORD_CREATION);
+		stayBusyFor(busyNanos);
+		subject.stopStage(LEDGER_COMMIT);
+		subject.stopStage(RECORD_CREATION);
+		subject.stopStage(STREAM_HANDOFF);
+		subject.startStage(STREAM_HANDOFF);
+		subject.stopStage(STREAM_HANDOFF);
+		subject.stop();
+
+		final var breakdown = subject.getStageNanosIfPresentFor(aTxnId);
+		assertTrue(breakdown.get(RECORD_CREATION) >= busyNanos);
+		assertTrue(breakdown.containsKey(STREAM_HANDOFF));
+	}
+
+	@Test
+	void discardedStagesAreNotReported() {
+		givenTrackingFor(aTxnId);
+
+		subject.startStage(SPAN_RATIONALIZATION);
+		stayBusyFor(1_000);
+		subject.stopStage(SPAN_RATIONALIZATION);
+		subject.discardStages();
+		subject.start();
+		subject.stop();
+
+		assertEquals(Map.of(), subject.getStageNanosIfPresentFor(aTxnId));
+		assertNull(subject.getStageNanosIfPresentFor(bTxnId));
+	}
+
+	private void givenTrackingFor(final TransactionID txnId) {
+		given(nodeLocalProperties.numExecutionTimesToTrack()).willReturn(10);
+		withImpliedSubject();
+		given(txnCtx.accessor()).willReturn(accessor);
+		given(accessor.getTxnId()).willReturn(txnId);
+		given(accessor.getFunction()).willReturn(CryptoTransfer);
+	}
+
 	private void stayBusyFor(long nanos) {
 		long now = System.nanoTime();
 		while (System.nanoTime() - now < nanos) {
@@ -99,6 +190,6 @@ class ExecutionTimeTrackerTest {
 	}
 
 	private void withImpliedSubject() {
-		subject = new ExecutionTimeTracker(txnCtx, nodeLocalProperties);
+		subject = new ExecutionTimeTracker(txnCtx, nodeLocalProperties, stageHistograms);
 	}
 }
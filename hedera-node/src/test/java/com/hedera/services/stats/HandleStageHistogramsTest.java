@@ -0,0 +1,194 @@
+package com.hedera.services.stats;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.utils.MiscUtils;
+import com.swirlds.common.statistics.StatEntry;
+import com.swirlds.common.system.Platform;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.EnumSet;
+import java.util.function.Supplier;
+
+import static com.hedera.services.stats.HandleStage.CHARGING;
+import static com.hedera.services.stats.HandleStage.SIG_SCREENING;
+import static com.hedera.services.stats.HandleStage.TRANSITION;
+import static com.hedera.services.stats.HandleStageHistograms.NUM_BUCKETS;
+import static com.hedera.services.stats.HandleStageHistograms.bucketFor;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ConsensusSubmitMessage;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class HandleStageHistogramsTest {
+	private static final int NUM_STAGES = HandleStage.values().length;
+
+	private static final double halfLifeSecs = 10.0;
+	private static final long halfLifeNanos = 10_000_000_000L;
+
+	private long now = 1_234_567L;
+	private Platform platform;
+	private CounterFactory factory;
+	private GaugeFactory gaugeFactory;
+
+	private HandleStageHistograms subject;
+
+	@BeforeEach
+	void setup() {
+		platform = mock(Platform.class);
+		factory = mock(CounterFactory.class);
+		gaugeFactory = mock(GaugeFactory.class);
+
+		subject = new HandleStageHistograms(
+				factory, gaugeFactory, MiscUtils::baseStatNameOf, EnumSet.of(CryptoTransfer), halfLifeSecs, true,
+				() -> now);
+	}
+
+	@Test
+	void bucketsArePowersOfTwo() {
+		assertEquals(0, bucketFor(1));
+		assertEquals(1, bucketFor(2));
+		assertEquals(1, bucketFor(3));
+		assertEquals(10, bucketFor(1024));
+		assertEquals(NUM_BUCKETS - 1, bucketFor(Long.MAX_VALUE));
+	}
+
+	@Test
+	void recordsOnlyReachedStagesByFunction() {
+		subject.record(CryptoTransfer, stageNanos(SIG_SCREENING, 1_000, CHARGING, 0));
+		subject.record(CryptoTransfer, stageNanos(SIG_SCREENING, 3_000, TRANSITION, 500));
+		subject.record(ConsensusSubmitMessage, stageNanos(SIG_SCREENING, 7_000));
+
+		assertEquals(2, subject.countOf(CryptoTransfer, SIG_SCREENING));
+		assertEquals(4_000, subject.totalNanosOf(CryptoTransfer, SIG_SCREENING));
+		assertEquals(0, subject.countOf(CryptoTransfer, CHARGING));
+		assertEquals(1, subject.countOf(CryptoTransfer, TRANSITION));
+		assertEquals(1, subject.countOf(ConsensusSubmitMessage, SIG_SCREENING));
+		assertEquals(7_000, subject.totalNanosOf(ConsensusSubmitMessage, SIG_SCREENING));
+	}
+
+	@Test
+	void percentilesAreBucketUpperBounds() {
+		for (int i = 0; i < 99; i++) {
+			subject.record(CryptoTransfer, stageNanos(TRANSITION, 1_000));
+		}
+		subject.record(CryptoTransfer, stageNanos(TRANSITION, 1_000_000));
+
+		assertEquals(1_024, subject.percentileNanos(CryptoTransfer, TRANSITION, 0.5));
+		assertEquals(1_024, subject.percentileNanos(CryptoTransfer, TRANSITION, 0.99));
+		assertEquals(1L << 20, subject.percentileNanos(CryptoTransfer, TRANSITION, 1.0));
+		assertEquals(0, subject.percentileNanos(CryptoTransfer, CHARGING, 0.99));
+	}
+
+	@Test
+	void overflowBucketReportsMaxBound() {
+		subject.record(CryptoTransfer, stageNanos(TRANSITION, Long.MAX_VALUE / 2));
+
+		assertEquals(1L << NUM_BUCKETS, subject.percentileNanos(CryptoTransfer, TRANSITION, 0.99));
+	}
+
+	@Test
+	void bucketCountsHalveEachHalfLife() {
+		for (int i = 0; i < 4; i++) {
+			subject.record(CryptoTransfer, stageNanos(TRANSITION, 1_000_000));
+		}
+
+		now += halfLifeNanos;
+		assertEquals(2, subject.countOf(CryptoTransfer, TRANSITION));
+		subject.record(CryptoTransfer, stageNanos(TRANSITION, 1_000));
+		assertEquals(3, subject.countOf(CryptoTransfer, TRANSITION));
+		assertEquals(1L << 20, subject.percentileNanos(CryptoTransfer, TRANSITION, 0.99));
+
+		now += 2 * halfLifeNanos;
+		subject.record(CryptoTransfer, stageNanos(TRANSITION, 1_000));
+		assertEquals(1, subject.countOf(CryptoTransfer, TRANSITION));
+		assertEquals(1_024, subject.percentileNanos(CryptoTransfer, TRANSITION, 0.99));
+		assertEquals(4_002_000L, subject.totalNanosOf(CryptoTransfer, TRANSITION));
+	}
+
+	@Test
+	void percentilesDecayEvenWithoutNewRecords() {
+		subject.record(CryptoTransfer, stageNanos(TRANSITION, 1_000));
+
+		now += 100 * halfLifeNanos;
+
+		assertEquals(0, subject.countOf(CryptoTransfer, TRANSITION));
+		assertEquals(0, subject.percentileNanos(CryptoTransfer, TRANSITION, 0.99));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void registersTotalAndPercentilesForEachStage() {
+		final var stat = mock(StatEntry.class);
+		final ArgumentCaptor<Supplier<Object>> samples = ArgumentCaptor.forClass(Supplier.class);
+		final ArgumentCaptor<Supplier<Object>> gaugeSamples = ArgumentCaptor.forClass(Supplier.class);
+		given(factory.from(any(), any(), samples.capture())).willReturn(stat);
+		given(gaugeFactory.from(any(), any(), gaugeSamples.capture())).willReturn(stat);
+		subject.record(CryptoTransfer, stageNanos(SIG_SCREENING, 1_000));
+		subject.record(ConsensusSubmitMessage, stageNanos(SIG_SCREENING, 2_000));
+
+		subject.registerWith(platform);
+
+		verify(platform, times(3 * NUM_STAGES)).addAppStatEntry(stat);
+		verify(factory).from(
+				eq("sigScreeningStageNanos"),
+				eq("total nanoseconds spent in the sigScreening stage of handled txns"),
+				any());
+		verify(gaugeFactory).from(eq("sigScreeningStageP99Nanos"), any(), any());
+		verify(gaugeFactory).from(
+				eq("cryptoTransferSigScreeningStageP99Nanos"),
+				eq("approximate recent 99th percentile nanoseconds spent in the sigScreening stage of a handled " +
+						"cryptoTransfer"),
+				any());
+		final var sigScreeningI = SIG_SCREENING.ordinal();
+		assertEquals(3_000L, samples.getAllValues().get(sigScreeningI).get());
+		assertEquals(2_048L, gaugeSamples.getAllValues().get(2 * sigScreeningI).get());
+		assertEquals(1_024L, gaugeSamples.getAllValues().get(2 * sigScreeningI + 1).get());
+	}
+
+	@Test
+	void registersNothingWhenTrackingIsOff() {
+		subject = new HandleStageHistograms(
+				factory, gaugeFactory, MiscUtils::baseStatNameOf, EnumSet.of(CryptoTransfer), halfLifeSecs, false,
+				() -> now);
+
+		subject.registerWith(platform);
+
+		verifyNoInteractions(platform, factory, gaugeFactory);
+	}
+
+	private static long[] stageNanos(final Object... stagesAndNanos) {
+		final var nanos = new long[NUM_STAGES];
+		for (int i = 0; i < stagesAndNanos.length; i += 2) {
+			nanos[((HandleStage) stagesAndNanos[i]).ordinal()] = ((Number) stagesAndNanos[i + 1]).longValue();
+		}
+		return nanos;
+	}
+}
@@ -53,6 +53,19 @@ class MiscRunningAvgsTest {
 		final var queueSizes = mock(StatEntry.class);
 		final var submitSizes = mock(StatEntry.class);
 		final var gasPerSec = mock(StatEntry.class);
+		final var prefetchDepth = mock(StatEntry.class);
+		final var prefetchLead = mock(StatEntry.class);
+		final var stallRetries = mock(StatEntry.class);
+		final var handoffDepth = mock(StatEntry.class);
+		final var batchSize = mock(StatEntry.class);
+		final var ingestWait = mock(StatEntry.class);
+		final var ingestWork = mock(StatEntry.class);
+		final var sigBatchSize = mock(StatEntry.class);
+		final var sigVerify = mock(StatEntry.class);
+		final var localCallHits = mock(StatEntry.class);
+		final var localCallWait = mock(StatEntry.class);
+		final var feeCacheHits = mock(StatEntry.class);
+		final var queryAnswerHits = mock(StatEntry.class);
 		given(factory.from(
 				MiscRunningAvgs.Names.ACCOUNT_LOOKUP_RETRIES,
 				MiscRunningAvgs.Descriptions.ACCOUNT_LOOKUP_RETRIES,
@@ -73,6 +86,58 @@ class MiscRunningAvgsTest {
 				MiscRunningAvgs.Names.GAS_PER_CONSENSUS_SEC,
 				MiscRunningAvgs.Descriptions.GAS_PER_CONSENSUS_SEC,
 				subject.gasPerConsSec)).willReturn(gasPerSec);
+		given(factory.from(
+				MiscRunningAvgs.Names.PREFETCH_QUEUE_DEPTH,
+				MiscRunningAvgs.Descriptions.PREFETCH_QUEUE_DEPTH,
+				subject.prefetchQueueDepth)).willReturn(prefetchDepth);
+		given(factory.from(
+				MiscRunningAvgs.Names.PREFETCH_LEAD_TIME_MS,
+				MiscRunningAvgs.Descriptions.PREFETCH_LEAD_TIME_MS,
+				subject.prefetchLeadTimeMs)).willReturn(prefetchLead);
+		given(factory.from(
+				MiscRunningAvgs.Names.HANDOFF_STALL_RETRIES,
+				MiscRunningAvgs.Descriptions.HANDOFF_STALL_RETRIES,
+				subject.handoffStallRetries)).willReturn(stallRetries);
+		given(factory.from(
+				MiscRunningAvgs.Names.HANDOFF_QUEUE_DEPTH,
+				MiscRunningAvgs.Descriptions.HANDOFF_QUEUE_DEPTH,
+				subject.handoffQueueDepth)).willReturn(handoffDepth);
+		given(factory.from(
+				MiscRunningAvgs.Names.HANDOFF_BATCH_SIZE,
+				MiscRunningAvgs.Descriptions.HANDOFF_BATCH_SIZE,
+				subject.handoffBatchSize)).willReturn(batchSize);
+		given(factory.from(
+				MiscRunningAvgs.Names.INGEST_QUEUE_WAIT_US,
+				MiscRunningAvgs.Descriptions.INGEST_QUEUE_WAIT_US,
+				subject.ingestQueueWaitUs)).willReturn(ingestWait);
+		given(factory.from(
+				MiscRunningAvgs.Names.INGEST_WORK_US,
+				MiscRunningAvgs.Descriptions.INGEST_WORK_US,
+				subject.ingestWorkUs)).willReturn(ingestWork);
+		given(factory.from(
+				MiscRunningAvgs.Names.PRECHECK_SIG_BATCH_SIZE,
+				MiscRunningAvgs.Descriptions.PRECHECK_SIG_BATCH_SIZE,
+				subject.precheckSigBatchSize)).willReturn(sigBatchSize);
+		given(factory.from(
+				MiscRunningAvgs.Names.PRECHECK_SIG_VERIFY_US,
+				MiscRunningAvgs.Descriptions.PRECHECK_SIG_VERIFY_US,
+				subject.precheckSigVerifyUs)).willReturn(sigVerify);
+		given(factory.from(
+				MiscRunningAvgs.Names.LOCAL_CALL_CACHE_HIT_RATIO,
+				MiscRunningAvgs.Descriptions.LOCAL_CALL_CACHE_HIT_RATIO,
+				subject.localCallCacheHitRatio)).willReturn(localCallHits);
+		given(factory.from(
+				MiscRunningAvgs.Names.LOCAL_CALL_QUEUE_WAIT_MS,
+				MiscRunningAvgs.Descriptions.LOCAL_CALL_QUEUE_WAIT_MS,
+				subject.localCallQueueWaitMs)).willReturn(localCallWait);
+		given(factory.from(
+				MiscRunningAvgs.Names.FEE_CACHE_HIT_RATIO,
+				MiscRunningAvgs.Descriptions.FEE_CACHE_HIT_RATIO,
+				subject.feeCacheHitRatio)).willReturn(feeCacheHits);
+		given(factory.from(
+				MiscRunningAvgs.Names.QUERY_ANSWER_CACHE_HIT_RATIO,
+				MiscRunningAvgs.Descriptions.QUERY_ANSWER_CACHE_HIT_RATIO,
+				subject.queryAnswerCacheHitRatio)).willReturn(queryAnswerHits);
 
 		subject.registerWith(platform);
 
@@ -81,6 +146,19 @@ class MiscRunningAvgsTest {
 		verify(platform).addAppStatEntry(queueSizes);
 		verify(platform).addAppStatEntry(submitSizes);
 		verify(platform).addAppStatEntry(gasPerSec);
+		verify(platform).addAppStatEntry(prefetchDepth);
+		verify(platform).addAppStatEntry(prefetchLead);
+		verify(platform).addAppStatEntry(stallRetries);
+		verify(platform).addAppStatEntry(handoffDepth);
+		verify(platform).addAppStatEntry(batchSize);
+		verify(platform).addAppStatEntry(ingestWait);
+		verify(platform).addAppStatEntry(ingestWork);
+		verify(platform).addAppStatEntry(sigBatchSize);
+		verify(platform).addAppStatEntry(sigVerify);
+		verify(platform).addAppStatEntry(localCallHits);
+		verify(platform).addAppStatEntry(localCallWait);
+		verify(platform).addAppStatEntry(feeCacheHits);
+		verify(platform).addAppStatEntry(queryAnswerHits);
 	}
 
 	@Test
@@ -91,12 +169,38 @@ class MiscRunningAvgsTest {
 		final var submitSizes = mock(StatsRunningAverage.class);
 		final var hashS = mock(StatsRunningAverage.class);
 		final var gasPerSec = mock(StatsRunningAverage.class);
+		final var prefetchDepth = mock(StatsRunningAverage.class);
+		final var prefetchLead = mock(StatsRunningAverage.class);
+		final var stallRetries = mock(StatsRunningAverage.class);
+		final var handoffDepth = mock(StatsRunningAverage.class);
+		final var batchSize = mock(StatsRunningAverage.class);
+		final var ingestWait = mock(StatsRunningAverage.class);
+		final var ingestWork = mock(StatsRunningAverage.class);
+		final var sigBatchSize = mock(StatsRunningAverage.class);
+		final var sigVerify = mock(StatsRunningAverage.class);
+		final var localCallHits = mock(StatsRunningAverage.class);
+		final var localCallWait = mock(StatsRunningAverage.class);
+		final var feeCacheHits = mock(StatsRunningAverage.class);
+		final var queryAnswerHits = mock(StatsRunningAverage.class);
 		subject.accountLookupRetries = retries;
 		subject.accountRetryWaitMs = waitMs;
 		subject.handledSubmitMessageSize = submitSizes;
 		subject.writeQueueSizeRecordStream = queueSize;
 		subject.hashQueueSizeRecordStream = hashS;
 		subject.gasPerConsSec = gasPerSec;
+		subject.prefetchQueueDepth = prefetchDepth;
+		subject.prefetchLeadTimeMs = prefetchLead;
+		subject.handoffStallRetries = stallRetries;
+		subject.handoffQueueDepth = handoffDepth;
+		subject.handoffBatchSize = batchSize;
+		subject.ingestQueueWaitUs = ingestWait;
+		subject.ingestWorkUs = ingestWork;
+		subject.precheckSigBatchSize = sigBatchSize;
+		subject.precheckSigVerifyUs = sigVerify;
+		subject.localCallCacheHitRatio = localCallHits;
+		subject.localCallQueueWaitMs = localCallWait;
+		subject.feeCacheHitRatio = feeCacheHits;
+		subject.queryAnswerCacheHitRatio = queryAnswerHits;
 
 		subject.recordAccountLookupRetries(1);
 		subject.recordAccountRetryWaitMs(2.0);
@@ -104,6 +208,22 @@ class MiscRunningAvgsTest {
 		subject.writeQueueSizeRecordStream(4);
 		subject.hashQueueSizeRecordStream(5);
 		subject.recordGasPerConsSec(6L);
+		subject.recordPrefetchQueueDepth(7);
+		subject.recordPrefetchLeadTimeMs(8.0);
+		subject.recordHandoffStallRetries(9);
+		subject.recordHandoffQueueDepth(10);
+		subject.recordHandoffBatchSize(11);
+		subject.recordIngestQueueWaitUs(12.0);
+		subject.recordIngestWorkUs(13.0);
+		subject.recordPrecheckSigBatchSize(14);
+		subject.recordPrecheckSigVerifyUs(15.0);
+		subject.recordLocalCallCacheHit(true);
+		subject.recordLocalCallCacheHit(false);
+		subject.recordLocalCallQueueWaitMs(16.0);
+		subject.recordFeeCacheHit(true);
+		subject.recordFeeCacheHit(false);
+		subject.recordQueryAnswerCacheHit(true);
+		subject.recordQueryAnswerCacheHit(false);
 
 		verify(retries).recordValue(1.0);
 		verify(waitMs).recordValue(2.0);
@@ -111,5 +231,21 @@ class MiscRunningAvgsTest {
 		verify(queueSize).recordValue(4.0);
 		verify(hashS).recordValue(5);
 		verify(gasPerSec).recordValue(6L);
+		verify(prefetchDepth).recordValue(7);
+		verify(prefetchLead).recordValue(8.0);
+		verify(stallRetries).recordValue(9);
+		verify(handoffDepth).recordValue(10);
+		verify(batchSize).recordValue(11);
+		verify(ingestWait).recordValue(12.0);
+		verify(ingestWork).recordValue(13.0);
+		verify(sigBatchSize).recordValue(14);
+		verify(sigVerify).recordValue(15.0);
+		verify(localCallHits).recordValue(1.0);
+		verify(localCallHits).recordValue(0.0);
+		verify(localCallWait).recordValue(16.0);
+		verify(feeCacheHits).recordValue(1.0);
+		verify(feeCacheHits).recordValue(0.0);
+		verify(queryAnswerHits).recordValue(1.0);
+		verify(queryAnswerHits).recordValue(0.0);
 	}
 }
@@ -52,6 +52,9 @@ class MiscSpeedometersTest {
 	void registersExpectedStatEntries() {
 		final var sync = mock(StatEntry.class);
 		final var rejections = mock(StatEntry.class);
+		final var overflows = mock(StatEntry.class);
+		final var drops = mock(StatEntry.class);
+		final var lates = mock(StatEntry.class);
 		given(factory.from(
 				argThat(MiscSpeedometers.Names.SYNC_VERIFICATIONS::equals),
 				argThat(MiscSpeedometers.Descriptions.SYNC_VERIFICATIONS::equals),
@@ -60,24 +63,51 @@ class MiscSpeedometersTest {
 				argThat(MiscSpeedometers.Names.PLATFORM_TXN_REJECTIONS::equals),
 				argThat(MiscSpeedometers.Descriptions.PLATFORM_TXN_REJECTIONS::equals),
 				any())).willReturn(rejections);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.PREFETCH_OVERFLOWS::equals),
+				argThat(MiscSpeedometers.Descriptions.PREFETCH_OVERFLOWS::equals),
+				any())).willReturn(overflows);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.PREFETCH_DEADLINE_DROPS::equals),
+				argThat(MiscSpeedometers.Descriptions.PREFETCH_DEADLINE_DROPS::equals),
+				any())).willReturn(drops);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.PREFETCH_LATE_FINISHES::equals),
+				argThat(MiscSpeedometers.Descriptions.PREFETCH_LATE_FINISHES::equals),
+				any())).willReturn(lates);
 
 		subject.registerWith(platform);
 
 		verify(platform).addAppStatEntry(sync);
 		verify(platform).addAppStatEntry(rejections);
+		verify(platform).addAppStatEntry(overflows);
+		verify(platform).addAppStatEntry(drops);
+		verify(platform).addAppStatEntry(lates);
 	}
 
 	@Test
 	void cyclesExpectedSpeedometers() {
 		final var sync = mock(StatsSpeedometer.class);
 		final var rejections = mock(StatsSpeedometer.class);
+		final var overflows = mock(StatsSpeedometer.class);
+		final var drops = mock(StatsSpeedometer.class);
+		final var lates = mock(StatsSpeedometer.class);
 		subject.syncVerifications = sync;
 		subject.platformTxnRejections = rejections;
+		subject.prefetchOverflows = overflows;
+		subject.prefetchDeadlineDrops = drops;
+		subject.prefetchLateFinishes = lates;
 
 		subject.cycleSyncVerifications();
 		subject.cyclePlatformTxnRejections();
+		subject.cyclePrefetchOverflows();
+		subject.cyclePrefetchDeadlineDrops();
+		subject.cyclePrefetchLateFinishes();
 
 		verify(rejections).update(1.0);
 		verify(sync).update(1.0);
+		verify(overflows).update(1.0);
+		verify(drops).update(1.0);
+		verify(lates).update(1.0);
 	}
 }
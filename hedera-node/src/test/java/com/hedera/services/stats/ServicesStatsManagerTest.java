@@ -38,12 +38,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Paths;
 import java.util.function.Function;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.verify;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 
 
@@ -68,6 +70,14 @@ class ServicesStatsManagerTest {
 	@Mock
 	private NodeLocalProperties properties;
 	@Mock
+	private SpanExpansionCounters spanCounters;
+	@Mock
+	private EvmProfileCounters evmProfileCounters;
+	@Mock
+	private HandleStageHistograms stageHistograms;
+	@Mock
+	private StorageWarmCacheCounters storageCacheCounters;
+	@Mock
 	private VirtualMap<ContractKey, IterableContractValue> storage;
 	@Mock
 	private VirtualMap<VirtualBlobKey, VirtualBlobValue> bytecode;
@@ -84,7 +94,7 @@ class ServicesStatsManagerTest {
 
 		subject = new ServicesStatsManager(
 				counters, runningAvgs, miscSpeedometers, speedometers,
-				properties,
+				properties, spanCounters, evmProfileCounters, stageHistograms, storageCacheCounters,
 				() -> storage, () -> bytecode);
 	}
 
@@ -116,6 +126,10 @@ class ServicesStatsManagerTest {
 		verify(speedometers).registerWith(platform);
 		verify(miscSpeedometers).registerWith(platform);
 		verify(runningAvgs).registerWith(platform);
+		verify(spanCounters).registerWith(platform);
+		verify(evmProfileCounters).registerWith(platform);
+		verify(stageHistograms).registerWith(platform);
+		verify(storageCacheCounters).registerWith(platform);
 		verify(platform).appStatInit();
 		// and:
 		verify(thread).start();
@@ -128,4 +142,29 @@ class ServicesStatsManagerTest {
 		verify(storage).registerStatistics(any());
 		verify(bytecode).registerStatistics(any());
 	}
+
+	@Test
+	void startsEvmProfileDumpThreadIfEnabled() {
+		final var dumpIntervalMs = 60_000L;
+		final Thread updateThread = mock(Thread.class);
+		final Thread dumpThread = mock(Thread.class);
+		final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+
+		given(evmProfileCounters.isEnabled()).willReturn(true);
+		given(properties.statsEvmProfileDumpDir()).willReturn("data/stats/evmProfile");
+		given(properties.statsEvmProfileDumpIntervalMs()).willReturn(dumpIntervalMs);
+		given(pause.forMs(anyLong())).willReturn(true);
+		given(threads.apply(captor.capture())).willReturn(updateThread, dumpThread);
+
+		subject.initializeFor(platform);
+
+		verify(dumpThread).setName(String.format(ServicesStatsManager.EVM_PROFILE_DUMP_THREAD_NAME_TPL, 123L));
+		verify(dumpThread).start();
+		// and when:
+		captor.getAllValues().forEach(Runnable::run);
+		// then:
+		verify(pause, atLeastOnce()).forMs(updateIntervalMs);
+		verify(pause, atLeastOnce()).forMs(dumpIntervalMs);
+		verify(evmProfileCounters).dumpTo(Paths.get("data/stats/evmProfile", "evm-profile-node123.csv"));
+	}
 }
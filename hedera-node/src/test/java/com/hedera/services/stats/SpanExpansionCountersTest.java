@@ -0,0 +1,85 @@
+package com.hedera.services.stats;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.swirlds.common.statistics.StatEntry;
+import com.swirlds.common.system.Platform;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenMint;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.Mockito.mock;
+
+class SpanExpansionCountersTest {
+	private Platform platform;
+	private CounterFactory factory;
+
+	private SpanExpansionCounters subject;
+
+	@BeforeEach
+	void setup() {
+		platform = mock(Platform.class);
+		factory = mock(CounterFactory.class);
+
+		subject = new SpanExpansionCounters(factory, HederaFunctionality::toString, EnumSet.of(TokenMint));
+	}
+
+	@Test
+	void countsHitsAndMissesOnlyForExpandedFunctions() {
+		subject.countHit(TokenMint);
+		subject.countHit(TokenMint);
+		subject.countMiss(TokenMint);
+		subject.countHit(CryptoTransfer);
+		subject.countMiss(CryptoTransfer);
+
+		assertEquals(2, subject.hitsSoFar(TokenMint));
+		assertEquals(1, subject.missesSoFar(TokenMint));
+		assertEquals(0, subject.hitsSoFar(CryptoTransfer));
+		assertEquals(0, subject.missesSoFar(CryptoTransfer));
+	}
+
+	@Test
+	void registersExpectedStatEntries() {
+		final var mintHit = mock(StatEntry.class);
+		final var mintMiss = mock(StatEntry.class);
+		final var hitName = String.format(ServicesStatsConfig.COUNTER_SPAN_HIT_NAME_TPL, "TokenMint");
+		final var hitDesc = String.format(ServicesStatsConfig.COUNTER_SPAN_HIT_DESC_TPL, "TokenMint");
+		final var missName = String.format(ServicesStatsConfig.COUNTER_SPAN_MISS_NAME_TPL, "TokenMint");
+		final var missDesc = String.format(ServicesStatsConfig.COUNTER_SPAN_MISS_DESC_TPL, "TokenMint");
+		given(factory.from(argThat(hitName::equals), argThat(hitDesc::equals), any())).willReturn(mintHit);
+		given(factory.from(argThat(missName::equals), argThat(missDesc::equals), any())).willReturn(mintMiss);
+
+		subject.registerWith(platform);
+
+		verify(platform).addAppStatEntry(mintHit);
+		verify(platform).addAppStatEntry(mintMiss);
+	}
+}
@@ -0,0 +1,84 @@
+package com.hedera.services.stats;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.store.contracts.StorageWarmCache;
+import com.swirlds.common.statistics.StatEntry;
+import com.swirlds.common.system.Platform;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.function.Supplier;
+
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_STORAGE_CACHE_HITS_DESC;
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_STORAGE_CACHE_HITS_NAME;
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_STORAGE_CACHE_MISSES_DESC;
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_STORAGE_CACHE_MISSES_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.Mockito.mock;
+
+class StorageWarmCacheCountersTest {
+	private Platform platform;
+	private CounterFactory factory;
+	private StorageWarmCache storageWarmCache;
+
+	private StorageWarmCacheCounters subject;
+
+	@BeforeEach
+	void setup() {
+		platform = mock(Platform.class);
+		factory = mock(CounterFactory.class);
+		storageWarmCache = mock(StorageWarmCache.class);
+
+		subject = new StorageWarmCacheCounters(factory, storageWarmCache);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void registersHitAndMissCountersBackedByCache() {
+		final var hits = mock(StatEntry.class);
+		final var misses = mock(StatEntry.class);
+		final ArgumentCaptor<Supplier<Object>> hitsSample = ArgumentCaptor.forClass(Supplier.class);
+		final ArgumentCaptor<Supplier<Object>> missesSample = ArgumentCaptor.forClass(Supplier.class);
+		given(factory.from(
+				eq(COUNTER_STORAGE_CACHE_HITS_NAME),
+				eq(COUNTER_STORAGE_CACHE_HITS_DESC),
+				hitsSample.capture())).willReturn(hits);
+		given(factory.from(
+				eq(COUNTER_STORAGE_CACHE_MISSES_NAME),
+				eq(COUNTER_STORAGE_CACHE_MISSES_DESC),
+				missesSample.capture())).willReturn(misses);
+		given(storageWarmCache.hits()).willReturn(3L);
+		given(storageWarmCache.misses()).willReturn(4L);
+
+		subject.registerWith(platform);
+
+		verify(platform).addAppStatEntry(hits);
+		verify(platform).addAppStatEntry(misses);
+		assertEquals(3L, hitsSample.getValue().get());
+		assertEquals(4L, missesSample.getValue().get());
+	}
+}
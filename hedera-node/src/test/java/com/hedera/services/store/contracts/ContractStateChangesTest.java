@@ -0,0 +1,172 @@
+package com.hedera.services.store.contracts;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
+import com.hederahashgraph.api.proto.java.ContractFunctionResult;
+import com.hederahashgraph.api.proto.java.ContractID;
+import com.hederahashgraph.api.proto.java.ContractStateChange;
+import com.hederahashgraph.api.proto.java.StorageChange;
+import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.common.io.streams.SerializableDataOutputStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.hyperledger.besu.datatypes.Address;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContractStateChangesTest {
+	private static final Address first = Address.fromHexString("0x6");
+	private static final Address second = Address.fromHexString("0x9");
+
+	private final ContractStateChanges subject = ContractStateChanges.newBuilder()
+			.startContract(first)
+			.addChange(Bytes.of(7), Bytes.of(8), null)
+			.startContract(second)
+			.addChange(Bytes.of(10), Bytes.of(11), Bytes.of(12))
+			.addChange(UInt256.valueOf(0x0102), UInt256.ZERO, UInt256.MAX_VALUE)
+			.build();
+
+	@Test
+	void countsAsExpected() {
+		assertEquals(2, subject.numContracts());
+		assertEquals(3, subject.numChanges());
+		assertTrue(ContractStateChanges.EMPTY.isEmpty());
+		assertEquals(0, ContractStateChanges.EMPTY.numContracts());
+	}
+
+	@Test
+	void exportsTrimmedValuesDirectlyToGrpc() {
+		final var expected = ContractFunctionResult.newBuilder()
+				.addStateChanges(ContractStateChange.newBuilder()
+						.setContractID(ContractID.newBuilder().setContractNum(6))
+						.addStorageChanges(StorageChange.newBuilder()
+								.setSlot(ByteString.copyFrom(new byte[] { 7 }))
+								.setValueRead(ByteString.copyFrom(new byte[] { 8 }))))
+				.addStateChanges(ContractStateChange.newBuilder()
+						.setContractID(ContractID.newBuilder().setContractNum(9))
+						.addStorageChanges(StorageChange.newBuilder()
+								.setSlot(ByteString.copyFrom(new byte[] { 10 }))
+								.setValueRead(ByteString.copyFrom(new byte[] { 11 }))
+								.setValueWritten(BytesValue.of(ByteString.copyFrom(new byte[] { 12 }))))
+						.addStorageChanges(StorageChange.newBuilder()
+								.setSlot(ByteString.copyFrom(new byte[] { 1, 2 }))
+								.setValueRead(ByteString.EMPTY)
+								.setValueWritten(BytesValue.of(ByteString.copyFrom(UInt256.MAX_VALUE.toArray())))))
+				.build();
+
+		final var actual = ContractFunctionResult.newBuilder();
+		subject.exportTo(actual);
+
+		assertEquals(expected, actual.build());
+	}
+
+	@Test
+	void trimsEveryByteLength() {
+		for (int len = 0; len <= 32; len++) {
+			final var bytes = new byte[len];
+			if (len > 0) {
+				bytes[0] = (byte) 0x80;
+				bytes[len - 1] |= 0x01;
+			}
+			final var words = new long[ContractStateChanges.WORDS_PER_VALUE];
+			ContractStateChanges.putWords(Bytes.wrap(bytes), words, 0);
+
+			assertEquals(Bytes.wrap(bytes), Bytes.wrap(ContractStateChanges.trimmedBytes(words, 0)));
+		}
+	}
+
+	@Test
+	void serdeRoundTripsWithNaturalOrdering() throws IOException {
+		final var unordered = ContractStateChanges.newBuilder()
+				.startContract(second)
+				.addChange(Bytes.of(10), Bytes.of(11), Bytes.of(12))
+				.addChange(UInt256.valueOf(0x0102), UInt256.ZERO, UInt256.MAX_VALUE)
+				.startContract(first)
+				.addChange(Bytes.of(7), Bytes.of(8), null)
+				.build();
+
+		final var baos = new ByteArrayOutputStream();
+		unordered.serialize(new SerializableDataOutputStream(baos));
+		final var in = new SerializableDataInputStream(new ByteArrayInputStream(baos.toByteArray()));
+
+		assertEquals(subject, ContractStateChanges.deserialize(in));
+	}
+
+	@Test
+	void deserializesNoChangesAsEmpty() throws IOException {
+		final var baos = new ByteArrayOutputStream();
+		ContractStateChanges.EMPTY.serialize(new SerializableDataOutputStream(baos));
+		final var in = new SerializableDataInputStream(new ByteArrayInputStream(baos.toByteArray()));
+
+		assertSame(ContractStateChanges.EMPTY, ContractStateChanges.deserialize(in));
+	}
+
+	@Test
+	void objectContractMet() {
+		final var same = ContractStateChanges.newBuilder()
+				.startContract(first)
+				.addChange(Bytes.of(7), Bytes.of(8), null)
+				.startContract(second)
+				.addChange(Bytes.of(10), Bytes.of(11), Bytes.of(12))
+				.addChange(UInt256.valueOf(0x0102), UInt256.ZERO, UInt256.MAX_VALUE)
+				.build();
+		final var readNotWritten = ContractStateChanges.newBuilder()
+				.startContract(first)
+				.addChange(Bytes.of(7), Bytes.of(8), Bytes.of(0))
+				.build();
+
+		assertEquals(subject, subject);
+		assertEquals(subject, same);
+		assertEquals(subject.hashCode(), same.hashCode());
+		assertNotEquals(subject, readNotWritten);
+		assertNotEquals(subject, null);
+		assertNotEquals(subject, new Object());
+	}
+
+	@Test
+	void toStringRendersTrimmedHex() {
+		assertEquals(
+				"{0x0000000000000000000000000000000000000006={0x07=(0x08,null)}, " +
+						"0x0000000000000000000000000000000000000009={0x0a=(0x0b,0x0c), 0x0102=(0x," +
+						UInt256.MAX_VALUE.toHexString() + ")}}",
+				subject.toString());
+	}
+
+	@Test
+	void cannotAddChangeWithoutContract() {
+		final var builder = ContractStateChanges.newBuilder();
+		final var slot = Bytes.of(1);
+
+		assertThrows(IllegalStateException.class, () -> builder.addChange(slot, slot, null));
+	}
+}
@@ -517,13 +517,11 @@ class HederaWorldStateTest {
 		assertEquals(0, actualSubject.getTouchedAccounts().size());
 		actualSubject.track(updatedAccount);
 
-		final var finalStateChanges = actualSubject.getFinalStateChanges();
-		assertEquals(1, finalStateChanges.size());
-		final var contractStateChange = finalStateChanges.get(Address.fromHexString(contractAddress));
-		assertEquals(1, contractStateChange.size());
-		assertNotNull(contractStateChange.get(UInt256.valueOf(slot)));
-		assertEquals(contractStateChange.get(UInt256.valueOf(slot)).getLeft(), UInt256.valueOf(oldSlotValue));
-		assertEquals(contractStateChange.get(UInt256.valueOf(slot)).getRight(), UInt256.valueOf(newSlotValue));
+		final var expected = ContractStateChanges.newBuilder()
+				.startContract(Address.fromHexString(contractAddress))
+				.addChange(UInt256.valueOf(slot), UInt256.valueOf(oldSlotValue), UInt256.valueOf(newSlotValue))
+				.build();
+		assertEquals(expected, actualSubject.getFinalStateChanges());
 	}
 
 	@Test
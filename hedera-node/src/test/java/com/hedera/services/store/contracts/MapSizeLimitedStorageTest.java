@@ -47,9 +47,9 @@ import java.util.TreeSet;
 
 import static com.hedera.services.ledger.properties.AccountProperty.FIRST_CONTRACT_STORAGE_KEY;
 import static com.hedera.services.ledger.properties.AccountProperty.NUM_CONTRACT_KV_PAIRS;
+import static com.hedera.services.store.contracts.MapSizeLimitedStorage.incorporateKvImpact;
+import static com.hedera.services.store.contracts.MapSizeLimitedStorage.treeSetFactory;
 import static com.hedera.services.store.contracts.SizeLimitedStorage.ZERO_VALUE;
-import static com.hedera.services.store.contracts.SizeLimitedStorage.incorporateKvImpact;
-import static com.hedera.services.store.contracts.SizeLimitedStorage.treeSetFactory;
 import static com.hedera.test.utils.TxnUtils.assertFailsWith;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.MAX_CONTRACT_STORAGE_EXCEEDED;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.MAX_STORAGE_IN_PRICE_REGIME_HAS_BEEN_USED;
@@ -60,10 +60,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
-class SizeLimitedStorageTest {
+class MapSizeLimitedStorageTest {
 	@Mock
 	private SizeLimitedStorage.IterableStorageUpserter storageUpserter;
 	@Mock
@@ -81,12 +82,12 @@ class SizeLimitedStorageTest {
 	private final Map<Long, TreeSet<ContractKey>> removedKeys = new TreeMap<>();
 	private final Map<ContractKey, IterableContractValue> newMappings = new HashMap<>();
 
-	private SizeLimitedStorage subject;
+	private MapSizeLimitedStorage subject;
 
 	@BeforeEach
 	void setUp() {
-		subject = new SizeLimitedStorage(storageUpserter, storageRemover, dynamicProperties, () -> accounts,
-				() -> storage);
+		subject = new MapSizeLimitedStorage(storageUpserter, storageRemover, dynamicProperties, () -> accounts,
+				() -> storage, new StorageWarmCache(1_000, 60, () -> storage));
 	}
 
 	@Test
@@ -225,6 +226,31 @@ class SizeLimitedStorageTest {
 		assertEquals(UInt256.ZERO, subject.getStorage(firstAccount, bLiteralKey));
 	}
 
+	@Test
+	void repeatedReadsAreServedFromCache() {
+		given(storage.get(firstAKey)).willReturn(aValue);
+
+		assertEquals(aLiteralValue, subject.getStorage(firstAccount, aLiteralKey));
+		assertEquals(aLiteralValue, subject.getStorage(firstAccount, aLiteralKey));
+
+		verify(storage, times(1)).get(firstAKey);
+	}
+
+	@Test
+	void committedChangesInvalidateCachedReads() {
+		given(dynamicProperties.maxAggregateContractKvPairs()).willReturn(Long.MAX_VALUE);
+		givenContainedStorage(firstAKey, aValue);
+		given(storageUpserter.upsertMapping(firstAKey, bValue, null, null, storage)).willReturn(firstAKey);
+
+		assertEquals(aLiteralValue, subject.getStorage(firstAccount, aLiteralKey));
+		subject.putStorage(firstAccount, aLiteralKey, bLiteralValue);
+		subject.validateAndCommit();
+		subject.beginSession();
+		given(storage.get(firstAKey)).willReturn(bValue);
+
+		assertEquals(bLiteralValue, subject.getStorage(firstAccount, aLiteralKey));
+	}
+
 	@Test
 	void resetsPendingChangesAsExpected() {
 		given(storage.containsKey(firstAKey)).willReturn(true);
@@ -0,0 +1,444 @@
+package com.hedera.services.store.contracts;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.ledger.TransactionalLedger;
+import com.hedera.services.ledger.properties.AccountProperty;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.virtual.ContractKey;
+import com.hedera.services.state.virtual.IterableContractValue;
+import com.hedera.services.utils.EntityNum;
+import com.hedera.test.utils.IdUtils;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.swirlds.merkle.map.MerkleMap;
+import com.swirlds.virtualmap.VirtualMap;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static com.hedera.services.ledger.properties.AccountProperty.FIRST_CONTRACT_STORAGE_KEY;
+import static com.hedera.services.ledger.properties.AccountProperty.NUM_CONTRACT_KV_PAIRS;
+import static com.hedera.services.store.contracts.PrimitiveSizeLimitedStorage.NO_CHANGE;
+import static com.hedera.services.store.contracts.SizeLimitedStorage.ZERO_VALUE;
+import static com.hedera.test.utils.TxnUtils.assertFailsWith;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.MAX_CONTRACT_STORAGE_EXCEEDED;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.MAX_STORAGE_IN_PRICE_REGIME_HAS_BEEN_USED;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PrimitiveSizeLimitedStorageTest {
+	@Mock
+	private SizeLimitedStorage.IterableStorageUpserter storageUpserter;
+	@Mock
+	private SizeLimitedStorage.IterableStorageRemover storageRemover;
+	@Mock
+	private GlobalDynamicProperties dynamicProperties;
+	@Mock
+	private MerkleMap<EntityNum, MerkleAccount> accounts;
+	@Mock
+	private VirtualMap<ContractKey, IterableContractValue> storage;
+	@Mock
+	private TransactionalLedger<AccountID, AccountProperty, MerkleAccount> accountsLedger;
+
+	private PrimitiveSizeLimitedStorage subject;
+
+	@BeforeEach
+	void setUp() {
+		subject = new PrimitiveSizeLimitedStorage(storageUpserter, storageRemover, dynamicProperties,
+				() -> accounts, () -> storage, new StorageWarmCache(1_000, 60, () -> storage));
+	}
+
+	@Test
+	void removesMappingsInOrder() {
+		givenAccount(nextAccount, nextKvPairs, nextRootKey);
+		givenAccount(firstAccount, firstKvPairs, firstRootKey);
+		given(storageRemover.removeMapping(firstAKey, firstRootKey, storage)).willReturn(firstRootKey);
+		given(storageRemover.removeMapping(firstBKey, firstRootKey, storage)).willReturn(firstRootKey);
+		given(storageRemover.removeMapping(nextAKey, nextRootKey, storage)).willReturn(null);
+		givenNoSizeLimits();
+		given(storage.containsKey(firstAKey)).willReturn(true);
+		given(storage.containsKey(firstBKey)).willReturn(true);
+		given(storage.containsKey(nextAKey)).willReturn(true);
+
+		final InOrder inOrder = Mockito.inOrder(storageRemover);
+
+		subject.putStorage(nextAccount, aLiteralKey, UInt256.ZERO);
+		subject.putStorage(firstAccount, bLiteralKey, UInt256.ZERO);
+		subject.putStorage(firstAccount, aLiteralKey, UInt256.ZERO);
+
+		subject.validateAndCommit();
+		subject.recordNewKvUsageTo(accountsLedger);
+
+		inOrder.verify(storageRemover).removeMapping(firstAKey, firstRootKey, storage);
+		inOrder.verify(storageRemover).removeMapping(firstBKey, firstRootKey, storage);
+		inOrder.verify(storageRemover).removeMapping(nextAKey, nextRootKey, storage);
+		verify(accountsLedger).set(firstAccount, NUM_CONTRACT_KV_PAIRS, firstKvPairs - 2);
+		verify(accountsLedger).set(firstAccount, FIRST_CONTRACT_STORAGE_KEY, firstRootKey.getKey());
+		verify(accountsLedger).set(nextAccount, NUM_CONTRACT_KV_PAIRS, nextKvPairs - 1);
+		verify(accountsLedger).set(nextAccount, FIRST_CONTRACT_STORAGE_KEY, null);
+	}
+
+	@Test
+	void commitsMappingsInOrder() {
+		givenNoSizeLimits();
+		givenAccount(firstAccount, firstKvPairs, firstRootKey);
+		givenAccount(nextAccount, nextKvPairs, nextRootKey);
+		given(storageUpserter.upsertMapping(
+				firstAKey, aValue, firstRootKey, null, storage)).willReturn(firstAKey);
+		given(storageUpserter.upsertMapping(
+				firstBKey, bValue, firstAKey, aValue, storage)).willReturn(firstAKey);
+		given(storageUpserter.upsertMapping(
+				firstDKey, dValue, firstAKey, null, storage)).willReturn(firstAKey);
+		given(storageUpserter.upsertMapping(
+				nextAKey, aValue, nextRootKey, null, storage)).willReturn(nextAKey);
+
+		final InOrder inOrder = Mockito.inOrder(storageUpserter);
+
+		subject.putStorage(firstAccount, dLiteralKey, dLiteralValue);
+		subject.putStorage(nextAccount, aLiteralKey, aLiteralValue);
+		subject.putStorage(firstAccount, bLiteralKey, bLiteralValue);
+		subject.putStorage(firstAccount, aLiteralKey, aLiteralValue);
+
+		subject.validateAndCommit();
+
+		inOrder.verify(storageUpserter).upsertMapping(
+				firstAKey, aValue, firstRootKey, null, storage);
+		inOrder.verify(storageUpserter).upsertMapping(
+				firstBKey, bValue, firstAKey, aValue, storage);
+		inOrder.verify(storageUpserter).upsertMapping(
+				firstDKey, dValue, firstAKey, null, storage);
+		inOrder.verify(storageUpserter).upsertMapping(
+				nextAKey, aValue, nextRootKey, null, storage);
+		assertEquals(firstAKey, subject.getPrimitiveFirstKeys().get(firstAccount.getAccountNum()));
+		assertEquals(nextAKey, subject.getPrimitiveFirstKeys().get(nextAccount.getAccountNum()));
+	}
+
+	@Test
+	void okToCommitNoChanges() {
+		assertDoesNotThrow(subject::validateAndCommit);
+		subject.recordNewKvUsageTo(accountsLedger);
+
+		verify(accountsLedger, never()).set(any(), any(), any());
+	}
+
+	@Test
+	void validatesSingleContractStorage() {
+		givenAccount(firstAccount, firstKvPairs);
+		given(dynamicProperties.maxIndividualContractKvPairs()).willReturn(firstKvPairs + 1);
+		given(dynamicProperties.maxAggregateContractKvPairs()).willReturn(Long.MAX_VALUE);
+
+		subject.putStorage(firstAccount, aLiteralKey, bLiteralValue);
+		subject.putStorage(firstAccount, bLiteralKey, aLiteralValue);
+
+		assertFailsWith(subject::validateAndCommit, MAX_CONTRACT_STORAGE_EXCEEDED);
+	}
+
+	@Test
+	void validatesMaxContractStorage() {
+		final var maxKvPairs = (long) firstKvPairs + nextKvPairs;
+		givenAccount(firstAccount, firstKvPairs);
+		givenAccount(nextAccount, nextKvPairs);
+		given(storage.size()).willReturn(maxKvPairs);
+		given(storage.containsKey(firstAKey)).willReturn(false);
+		given(storage.containsKey(firstBKey)).willReturn(false);
+		given(storage.containsKey(nextAKey)).willReturn(true);
+		given(dynamicProperties.maxAggregateContractKvPairs()).willReturn(maxKvPairs);
+
+		subject.beginSession();
+		subject.putStorage(firstAccount, aLiteralKey, bLiteralValue);
+		subject.putStorage(firstAccount, bLiteralKey, aLiteralValue);
+		subject.putStorage(nextAccount, aLiteralKey, UInt256.ZERO);
+
+		assertFailsWith(subject::validateAndCommit, MAX_STORAGE_IN_PRICE_REGIME_HAS_BEEN_USED);
+	}
+
+	@Test
+	void pendingChangesAreVisibleAndTrackUsage() {
+		givenAccount(firstAccount, firstKvPairs);
+		givenContainedStorage(firstAKey, aValue);
+
+		assertEquals(aLiteralValue, subject.getStorage(firstAccount, aLiteralKey));
+		subject.putStorage(firstAccount, aLiteralKey, bLiteralValue);
+		assertEquals(bLiteralValue, subject.getStorage(firstAccount, aLiteralKey));
+		assertEquals(firstKvPairs, subject.usageSoFar(firstAccount));
+
+		subject.putStorage(firstAccount, aLiteralKey, UInt256.ZERO);
+		assertEquals(UInt256.ZERO, subject.getStorage(firstAccount, aLiteralKey));
+		assertEquals(firstKvPairs - 1, subject.usageSoFar(firstAccount));
+
+		subject.putStorage(firstAccount, aLiteralKey, aLiteralValue);
+		assertEquals(aLiteralValue, subject.getStorage(firstAccount, aLiteralKey));
+		assertEquals(firstKvPairs, subject.usageSoFar(firstAccount));
+		assertEquals(1, subject.numTouched());
+	}
+
+	@Test
+	void zeroingNewPendingUpdateLeavesNoChange() {
+		assertEquals(1, subject.incorporateKvImpact(firstAKey, aValue, storage));
+		assertEquals(-1, subject.incorporateKvImpact(firstAKey, ZERO_VALUE, storage));
+		assertSame(NO_CHANGE, subject.pendingValueOf(firstAKey));
+		assertEquals(0, subject.incorporateKvImpact(firstAKey, ZERO_VALUE, storage));
+		assertEquals(1, subject.incorporateKvImpact(firstAKey, bValue, storage));
+		assertEquals(1, subject.numTouched());
+	}
+
+	@Test
+	void contractWithOnlyCancelledChangesRecordsNullFirstKeyLikeMapBasedImplementation() {
+		givenNoSizeLimits();
+		givenAccount(firstAccount, firstKvPairs, firstRootKey);
+
+		subject.putStorage(firstAccount, aLiteralKey, aLiteralValue);
+		subject.putStorage(firstAccount, aLiteralKey, UInt256.ZERO);
+		subject.validateAndCommit();
+		subject.recordNewKvUsageTo(accountsLedger);
+
+		verify(storageUpserter, never()).upsertMapping(any(), any(), any(), any(), any());
+		verify(accountsLedger).set(firstAccount, NUM_CONTRACT_KV_PAIRS, firstKvPairs);
+		verify(accountsLedger).set(firstAccount, FIRST_CONTRACT_STORAGE_KEY, null);
+		assertFalse(subject.getPrimitiveFirstKeys().containsKey(firstAccount.getAccountNum()));
+	}
+
+	@Test
+	void beginSessionResetsAllPendingChanges() {
+		givenAccount(firstAccount, firstKvPairs);
+
+		subject.putStorage(firstAccount, aLiteralKey, aLiteralValue);
+		subject.getPrimitiveFirstKeys().put(firstAccount.getAccountNum(), firstAKey);
+		subject.beginSession();
+
+		assertTrue(subject.getPrimitiveUsages().isEmpty());
+		assertTrue(subject.getPrimitiveFirstKeys().isEmpty());
+		assertNull(subject.pendingValueOf(firstAKey));
+		assertEquals(0, subject.numTouched());
+	}
+
+	@Test
+	void committedValuesAreNotServedStaleFromWarmCache() {
+		final var account = mock(MerkleAccount.class);
+		given(account.getFirstContractStorageKey()).willReturn(firstRootKey);
+		given(accounts.get(EntityNum.fromAccountId(firstAccount))).willReturn(account);
+		givenNoSizeLimits();
+		givenContainedStorage(firstAKey, aValue);
+		given(storageUpserter.upsertMapping(
+				firstAKey, bValue, firstRootKey, null, storage)).willReturn(firstRootKey);
+
+		assertEquals(aLiteralValue, subject.getStorage(firstAccount, aLiteralKey));
+		subject.putStorage(firstAccount, aLiteralKey, bLiteralValue);
+		subject.validateAndCommit();
+		subject.beginSession();
+		given(storage.get(firstAKey)).willReturn(bValue);
+
+		assertEquals(bLiteralValue, subject.getStorage(firstAccount, aLiteralKey));
+	}
+
+	@Test
+	void matchesMapBasedImplementationOnRandomSessions() {
+		final var r = new SplittableRandom(1_234_567L);
+		final var present = new HashSet<ContractKey>();
+		for (int i = 0; i < 200; i++) {
+			present.add(new ContractKey(1 + r.nextInt(numContracts), r.nextInt(numSlots)));
+		}
+		final var curStorage = fakeStorageWith(present);
+		final var curAccounts = fakeAccountsWith(present);
+		given(dynamicProperties.maxIndividualContractKvPairs()).willReturn(Integer.MAX_VALUE);
+		given(dynamicProperties.maxAggregateContractKvPairs()).willReturn(Long.MAX_VALUE);
+
+		for (int session = 0; session < 50; session++) {
+			final List<String> expectedCalls = new ArrayList<>();
+			final List<String> actualCalls = new ArrayList<>();
+			final var expectedLedger = new HashMap<String, String>();
+			final var actualLedger = new HashMap<String, String>();
+			final var expected = new MapSizeLimitedStorage(
+					recordingUpserter(expectedCalls), recordingRemover(expectedCalls), dynamicProperties,
+					() -> curAccounts, () -> curStorage, new StorageWarmCache(1_000, 60, () -> curStorage));
+			final var actual = new PrimitiveSizeLimitedStorage(
+					recordingUpserter(actualCalls), recordingRemover(actualCalls), dynamicProperties,
+					() -> curAccounts, () -> curStorage, new StorageWarmCache(1_000, 60, () -> curStorage));
+			expected.beginSession();
+			actual.beginSession();
+
+			if (session % 5 == 4) {
+				// Only set-then-zero changes to absent keys, so the session has no real updates at all
+				final var numCancellations = 1 + r.nextInt(20);
+				for (int i = 0; i < numCancellations; i++) {
+					final var id = IdUtils.asAccount("0.0." + (1 + r.nextInt(numContracts)));
+					final var key = UInt256.valueOf(numSlots + 1 + r.nextInt(numSlots));
+					putAndCompare(expected, actual, id, key, UInt256.valueOf(1 + r.nextInt(1_000)));
+					putAndCompare(expected, actual, id, key, UInt256.ZERO);
+				}
+			} else {
+				final var numChanges = 1 + r.nextInt(300);
+				for (int i = 0; i < numChanges; i++) {
+					final var id = IdUtils.asAccount("0.0." + (1 + r.nextInt(numContracts)));
+					final var key = UInt256.valueOf(r.nextInt(numSlots));
+					final var value = r.nextInt(3) == 0 ? UInt256.ZERO : UInt256.valueOf(1 + r.nextInt(1_000));
+					putAndCompare(expected, actual, id, key, value);
+				}
+			}
+			expected.validateAndCommit();
+			actual.validateAndCommit();
+			expected.recordNewKvUsageTo(recordingLedger(expectedLedger));
+			actual.recordNewKvUsageTo(recordingLedger(actualLedger));
+
+			assertEquals(expectedCalls, actualCalls);
+			assertEquals(expectedLedger, actualLedger);
+		}
+	}
+
+	/* --- Internal helpers --- */
+	private static void putAndCompare(
+			final MapSizeLimitedStorage expected,
+			final PrimitiveSizeLimitedStorage actual,
+			final AccountID id,
+			final UInt256 key,
+			final UInt256 value
+	) {
+		expected.putStorage(id, key, value);
+		actual.putStorage(id, key, value);
+		assertEquals(expected.getStorage(id, key), actual.getStorage(id, key));
+		assertEquals(expected.usageSoFar(id), actual.usageSoFar(id));
+	}
+
+	private VirtualMap<ContractKey, IterableContractValue> fakeStorageWith(final Set<ContractKey> present) {
+		final VirtualMap<ContractKey, IterableContractValue> curStorage = mock(VirtualMap.class);
+		willAnswer(invocation -> present.contains(invocation.<ContractKey>getArgument(0)))
+				.given(curStorage).containsKey(any());
+		willAnswer(invocation -> present.contains(invocation.<ContractKey>getArgument(0)) ? aValue : null)
+				.given(curStorage).get(any());
+		return curStorage;
+	}
+
+	private MerkleMap<EntityNum, MerkleAccount> fakeAccountsWith(final Set<ContractKey> present) {
+		final MerkleMap<EntityNum, MerkleAccount> curAccounts = mock(MerkleMap.class);
+		final Map<EntityNum, MerkleAccount> contracts = new HashMap<>();
+		for (int num = 1; num <= numContracts; num++) {
+			final var contractNum = num;
+			final var account = mock(MerkleAccount.class);
+			given(account.getNumContractKvPairs()).willReturn(
+					(int) present.stream().filter(key -> key.getContractId() == contractNum).count());
+			given(account.getFirstContractStorageKey()).willReturn(new ContractKey(contractNum, numSlots));
+			contracts.put(EntityNum.fromLong(num), account);
+		}
+		willAnswer(invocation -> contracts.get(invocation.<EntityNum>getArgument(0)))
+				.given(curAccounts).get(any());
+		return curAccounts;
+	}
+
+	private static SizeLimitedStorage.IterableStorageUpserter recordingUpserter(final List<String> calls) {
+		return (key, value, rootKey, rootValue, curStorage) -> {
+			calls.add("upsert " + key + " -> " + value + " @ " + rootKey + " -> " + rootValue);
+			return key.hashCode() % 2 == 0 ? key : rootKey;
+		};
+	}
+
+	private static SizeLimitedStorage.IterableStorageRemover recordingRemover(final List<String> calls) {
+		return (key, rootKey, curStorage) -> {
+			calls.add("remove " + key + " @ " + rootKey);
+			return key.equals(rootKey) ? null : rootKey;
+		};
+	}
+
+	private static TransactionalLedger<AccountID, AccountProperty, MerkleAccount> recordingLedger(
+			final Map<String, String> sets
+	) {
+		final TransactionalLedger<AccountID, AccountProperty, MerkleAccount> ledger = mock(TransactionalLedger.class);
+		willAnswer(invocation -> {
+			final Object value = invocation.getArgument(2);
+			sets.put(
+					invocation.getArgument(0) + "." + invocation.getArgument(1),
+					value instanceof int[] packed ? Arrays.toString(packed) : String.valueOf(value));
+			return null;
+		}).given(ledger).set(any(), any(), any());
+		return ledger;
+	}
+
+	private void givenAccount(final AccountID id, final int initialKvPairs, final ContractKey firstKey) {
+		final var account = givenAccount(id, initialKvPairs);
+		given(account.getFirstContractStorageKey()).willReturn(firstKey);
+	}
+
+	private MerkleAccount givenAccount(final AccountID id, final int initialKvPairs) {
+		final var account = mock(MerkleAccount.class);
+		given(account.getNumContractKvPairs()).willReturn(initialKvPairs);
+		given(accounts.get(EntityNum.fromAccountId(id))).willReturn(account);
+		return account;
+	}
+
+	private void givenContainedStorage(final ContractKey key, final IterableContractValue value) {
+		given(storage.get(key)).willReturn(value);
+		given(storage.containsKey(key)).willReturn(true);
+	}
+
+	private void givenNoSizeLimits() {
+		given(dynamicProperties.maxIndividualContractKvPairs()).willReturn(Integer.MAX_VALUE);
+		given(dynamicProperties.maxAggregateContractKvPairs()).willReturn(Long.MAX_VALUE);
+	}
+
+	private static final int numContracts = 4;
+	private static final int numSlots = 100;
+	private static final AccountID firstAccount = IdUtils.asAccount("0.0.1234");
+	private static final AccountID nextAccount = IdUtils.asAccount("0.0.2345");
+	private static final UInt256 aLiteralKey = UInt256.fromHexString("0xaabbcc");
+	private static final UInt256 bLiteralKey = UInt256.fromHexString("0xbbccdd");
+	private static final UInt256 cLiteralKey = UInt256.fromHexString("0xffddee");
+	private static final UInt256 dLiteralKey = UInt256.fromHexString("0xdddddd");
+	private static final UInt256 aLiteralValue = UInt256.fromHexString("0x1234aa");
+	private static final UInt256 bLiteralValue = UInt256.fromHexString("0x1234bb");
+	private static final UInt256 dLiteralValue = UInt256.fromHexString("0xadadad");
+	private static final ContractKey firstAKey = ContractKey.from(firstAccount, aLiteralKey);
+	private static final ContractKey firstBKey = ContractKey.from(firstAccount, bLiteralKey);
+	private static final ContractKey firstDKey = ContractKey.from(firstAccount, dLiteralKey);
+	private static final ContractKey nextAKey = ContractKey.from(nextAccount, aLiteralKey);
+	private static final ContractKey firstRootKey = ContractKey.from(firstAccount, cLiteralKey);
+	private static final ContractKey nextRootKey = ContractKey.from(nextAccount, cLiteralKey);
+	private static final IterableContractValue aValue = IterableContractValue.from(aLiteralValue);
+	private static final IterableContractValue bValue = IterableContractValue.from(bLiteralValue);
+	private static final IterableContractValue dValue = IterableContractValue.from(dLiteralValue);
+	private static final int firstKvPairs = 5;
+	private static final int nextKvPairs = 6;
+}
@@ -0,0 +1,123 @@
+package com.hedera.services.store.contracts;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.utils.BytesComparator;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.hyperledger.besu.datatypes.Address;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StateChangeCollectorTest {
+	private static final Address first = Address.fromHexString("0x1234");
+	private static final Address second = Address.fromHexString("0x5678");
+
+	private final StateChangeCollector subject = new StateChangeCollector();
+
+	@Test
+	void emptyCollectorHasEmptyChanges() {
+		assertTrue(subject.isEmpty());
+		assertSame(ContractStateChanges.EMPTY, subject.toStateChanges());
+	}
+
+	@Test
+	void firstReadWinsButFinalWriteReplacesIt() {
+		subject.recordRead(first, UInt256.ONE, UInt256.valueOf(2));
+		subject.recordRead(first, Bytes32.leftPad(Bytes.of(1)), UInt256.valueOf(3));
+		subject.recordRead(second, UInt256.ONE, UInt256.valueOf(4));
+		subject.recordWrite(second, UInt256.ONE, UInt256.valueOf(5), UInt256.valueOf(6));
+
+		final var expected = ContractStateChanges.newBuilder()
+				.startContract(first)
+				.addChange(UInt256.ONE, UInt256.valueOf(2), null)
+				.startContract(second)
+				.addChange(UInt256.ONE, UInt256.valueOf(5), UInt256.valueOf(6))
+				.build();
+
+		assertEquals(2, subject.size());
+		assertEquals(expected, subject.toStateChanges());
+	}
+
+	@Test
+	void clearAllowsReuse() {
+		subject.recordRead(first, UInt256.ONE, UInt256.valueOf(2));
+		subject.clear();
+		subject.recordRead(second, UInt256.ONE, UInt256.valueOf(3));
+
+		final var expected = ContractStateChanges.newBuilder()
+				.startContract(second)
+				.addChange(UInt256.ONE, UInt256.valueOf(3), null)
+				.build();
+
+		assertEquals(expected, subject.toStateChanges());
+	}
+
+	@Test
+	void ordersLikeBytesComparatorTreeMapsAcrossGrowth() {
+		final var random = new SplittableRandom(1_234_567L);
+		final var addresses = new Address[] {
+				first, second, Address.fromHexString("0xff00000000000000000000000000000000000001")
+		};
+		final Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> expected = new TreeMap<>(BytesComparator.INSTANCE);
+		for (int i = 0; i < 1_000; i++) {
+			final var contract = addresses[random.nextInt(addresses.length)];
+			final var slot = randomWord(random);
+			final var value = randomWord(random);
+			final var slots = expected.computeIfAbsent(contract, c -> new TreeMap<>(BytesComparator.INSTANCE));
+			if (random.nextBoolean()) {
+				final var updated = randomWord(random);
+				slots.put(slot, Pair.of(value, updated));
+				subject.recordWrite(contract, slot, value, updated);
+			} else {
+				slots.putIfAbsent(slot, Pair.of(value, null));
+				subject.recordRead(contract, slot, value);
+			}
+		}
+
+		final var builder = ContractStateChanges.newBuilder();
+		expected.forEach((contract, slots) -> {
+			builder.startContract(contract);
+			slots.forEach((slot, access) -> builder.addChange(slot, access.getLeft(), access.getRight()));
+		});
+
+		assertEquals(builder.build(), subject.toStateChanges());
+	}
+
+	private static UInt256 randomWord(final SplittableRandom random) {
+		/* Small values make repeated slots likely; high bytes exercise the signed byte ordering */
+		return switch (random.nextInt(3)) {
+			case 0 -> UInt256.valueOf(random.nextInt(64));
+			case 1 -> UInt256.valueOf(random.nextLong() & Long.MAX_VALUE).shiftLeft(192);
+			default -> UInt256.fromBytes(Bytes32.random());
+		};
+	}
+}
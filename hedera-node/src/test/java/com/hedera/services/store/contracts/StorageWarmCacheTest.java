@@ -0,0 +1,229 @@
+package com.hedera.services.store.contracts;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.state.virtual.ContractKey;
+import com.hedera.services.state.virtual.IterableContractValue;
+import com.swirlds.virtualmap.VirtualMap;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Set;
+
+import static com.hedera.services.store.contracts.StorageWarmCache.MAX_KEYS_PER_CONTRACT;
+import static com.hedera.services.store.contracts.StorageWarmCache.MAX_TRACKED_CONTRACTS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class StorageWarmCacheTest {
+	@Mock
+	private VirtualMap<ContractKey, IterableContractValue> storage;
+	@Mock
+	private NodeLocalProperties properties;
+
+	private StorageWarmCache subject;
+
+	@BeforeEach
+	void setUp() {
+		subject = new StorageWarmCache(1_000, 60, () -> storage);
+	}
+
+	@Test
+	void injectableConstructorUsesProperties() {
+		given(properties.prefetchStorageCacheSize()).willReturn(10);
+		given(properties.prefetchStorageCacheTtlSecs()).willReturn(60);
+
+		subject = new StorageWarmCache(properties, () -> storage);
+
+		assertEquals(0, subject.hits());
+	}
+
+	@Test
+	void readsThroughAndThenServesFromCache() {
+		given(storage.get(aKey)).willReturn(aValue);
+
+		assertEquals(aLiteral, subject.getStorage(aKey, storage));
+		assertEquals(aLiteral, subject.getStorage(aKey, storage));
+
+		verify(storage, times(1)).get(aKey);
+		assertEquals(1, subject.hits());
+		assertEquals(1, subject.misses());
+		assertEquals(Set.of(aKey), subject.recentReadsOf(contractNum));
+	}
+
+	@Test
+	void missingValuesAreZero() {
+		assertEquals(UInt256.ZERO, subject.getStorage(aKey, storage));
+		assertEquals(UInt256.ZERO, subject.getStorage(aKey, storage));
+
+		verify(storage, times(1)).get(aKey);
+	}
+
+	@Test
+	void warmsRecentlyReadKeys() {
+		given(storage.get(aKey)).willReturn(aValue);
+		subject.getStorage(aKey, storage);
+		subject.invalidate(Map.of(contractNum, Set.of(aKey)));
+		given(storage.get(aKey)).willReturn(bValue);
+
+		subject.warm(contractNum);
+
+		assertEquals(bLiteral, subject.getStorage(aKey, storage));
+		verify(storage, times(2)).get(aKey);
+		assertEquals(1, subject.hits());
+	}
+
+	@Test
+	void warmingUnknownContractIsNoop() {
+		subject.warm(contractNum);
+
+		verify(storage, never()).get(aKey);
+	}
+
+	@Test
+	void valuesReadBeforeCommitAreStale() {
+		given(storage.get(aKey)).willReturn(aValue);
+		subject.getStorage(aKey, storage);
+
+		// A commit touching only bKey still makes the contract's earlier reads stale
+		subject.invalidate(Map.of(contractNum, Set.of(bKey)));
+		given(storage.get(aKey)).willReturn(bValue);
+
+		assertEquals(bLiteral, subject.getStorage(aKey, storage));
+		assertEquals(0, subject.hits());
+	}
+
+	@Test
+	void commitsToOtherContractsDontInvalidate() {
+		given(storage.get(aKey)).willReturn(aValue);
+		subject.getStorage(aKey, storage);
+
+		subject.invalidate(Map.of(contractNum + 1, Set.of(otherKey)));
+
+		assertEquals(aLiteral, subject.getStorage(aKey, storage));
+		assertEquals(1, subject.hits());
+	}
+
+	@Test
+	void emptyCommitIsNoop() {
+		given(storage.get(aKey)).willReturn(aValue);
+		subject.getStorage(aKey, storage);
+
+		subject.invalidate(Map.of());
+
+		assertEquals(aLiteral, subject.getStorage(aKey, storage));
+		assertEquals(1, subject.hits());
+	}
+
+	@Test
+	void groupedKeyInvalidationOnlyAffectsChangedContracts() {
+		given(storage.get(aKey)).willReturn(aValue);
+		subject.getStorage(aKey, storage);
+		subject.getStorage(otherKey, storage);
+
+		subject.invalidate(new ContractKey[] { bKey, bKey, otherKey }, 2);
+		given(storage.get(aKey)).willReturn(bValue);
+
+		assertEquals(bLiteral, subject.getStorage(aKey, storage));
+		subject.getStorage(otherKey, storage);
+		assertEquals(1, subject.hits());
+	}
+
+	@Test
+	void emptyGroupedKeyInvalidationIsNoop() {
+		given(storage.get(aKey)).willReturn(aValue);
+		subject.getStorage(aKey, storage);
+
+		subject.invalidate(new ContractKey[0], 0);
+
+		assertEquals(aLiteral, subject.getStorage(aKey, storage));
+		assertEquals(1, subject.hits());
+	}
+
+	@Test
+	void contractInvalidationForgetsReads() {
+		given(storage.get(aKey)).willReturn(aValue);
+		subject.getStorage(aKey, storage);
+
+		subject.invalidate(contractNum);
+
+		assertNull(subject.recentReadsOf(contractNum));
+		subject.getStorage(aKey, storage);
+		assertEquals(0, subject.hits());
+	}
+
+	@Test
+	void clearDiscardsEverything() {
+		given(storage.get(aKey)).willReturn(aValue);
+		subject.getStorage(aKey, storage);
+
+		subject.clear();
+
+		assertNull(subject.recentReadsOf(contractNum));
+		subject.getStorage(aKey, storage);
+		assertEquals(0, subject.hits());
+	}
+
+	@Test
+	void tooManyCommittedContractsMakesAllOlderValuesStale() {
+		given(storage.get(aKey)).willReturn(aValue);
+		subject.getStorage(aKey, storage);
+
+		for (long i = 1; i <= MAX_TRACKED_CONTRACTS + 1; i++) {
+			subject.invalidate(Map.of(contractNum + i, Set.of()));
+		}
+
+		subject.getStorage(aKey, storage);
+		assertEquals(0, subject.hits());
+	}
+
+	@Test
+	void tracksBoundedReadsPerContract() {
+		for (int i = 0; i < MAX_KEYS_PER_CONTRACT + 1; i++) {
+			subject.getStorage(new ContractKey(contractNum, i), storage);
+		}
+
+		assertEquals(MAX_KEYS_PER_CONTRACT, subject.recentReadsOf(contractNum).size());
+		assertTrue(subject.recentReadsOf(contractNum).contains(new ContractKey(contractNum, 0)));
+	}
+
+	private static final long contractNum = 1234L;
+	private static final UInt256 aLiteral = UInt256.fromHexString("0x1234aa");
+	private static final UInt256 bLiteral = UInt256.fromHexString("0x1234bb");
+	private static final IterableContractValue aValue = IterableContractValue.from(aLiteral);
+	private static final IterableContractValue bValue = IterableContractValue.from(bLiteral);
+	private static final ContractKey aKey = new ContractKey(contractNum, 1L);
+	private static final ContractKey bKey = new ContractKey(contractNum, 2L);
+	private static final ContractKey otherKey = new ContractKey(contractNum + 1, 1L);
+}
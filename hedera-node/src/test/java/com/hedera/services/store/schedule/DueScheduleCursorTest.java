@@ -0,0 +1,162 @@
+package com.hedera.services.store.schedule;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hedera.services.state.merkle.MerkleScheduledTransactions;
+import com.hedera.services.state.submerkle.RichInstant;
+import com.hedera.services.state.virtual.schedule.ScheduleSecondVirtualValue;
+import com.hedera.services.state.virtual.schedule.ScheduleVirtualValue;
+import org.eclipse.collections.api.list.primitive.ImmutableLongList;
+import org.eclipse.collections.impl.factory.primitive.LongLists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class DueScheduleCursorTest {
+	private static final long second = 1_234_567L;
+	private static final RichInstant first = new RichInstant(second, 0);
+	private static final RichInstant later = new RichInstant(second, 1);
+
+	@Mock
+	private MerkleScheduledTransactions source;
+	@Mock
+	private MerkleScheduledTransactions otherSource;
+	@Mock
+	private ScheduleSecondVirtualValue bySecond;
+	@Mock
+	private ScheduleVirtualValue schedule;
+
+	private DueScheduleCursor subject;
+
+	@BeforeEach
+	void setUp() {
+		subject = new DueScheduleCursor();
+	}
+
+	@Test
+	void flattensIdsInExecutionOrder() {
+		givenIds();
+
+		subject.load(source, second, bySecond);
+
+		assertTrue(subject.isLoadedFor(source, second));
+		assertFalse(subject.isLoadedFor(otherSource, second));
+		assertFalse(subject.isLoadedFor(source, second + 1));
+		assertFalse(subject.hasEmptySecond());
+		assertEquals(3, subject.size());
+		assertEquals(0, subject.head());
+		assertEquals(1L, subject.idAt(0));
+		assertEquals(2L, subject.idAt(1));
+		assertEquals(3L, subject.idAt(2));
+		assertEquals(first, subject.instantAt(1));
+		assertEquals(later, subject.instantAt(2));
+	}
+
+	@Test
+	void distinguishesMissingFromEmptySecond() {
+		subject.load(source, second, null);
+		assertEquals(0, subject.size());
+		assertFalse(subject.hasEmptySecond());
+
+		given(bySecond.getIds()).willReturn(new TreeMap<>());
+		subject.load(source, second, bySecond);
+		assertEquals(0, subject.size());
+		assertTrue(subject.hasEmptySecond());
+	}
+
+	@Test
+	void removingHeadAdvancesCursor() {
+		givenIds();
+		subject.load(source, second, bySecond);
+		subject.setHeadSchedule(schedule);
+
+		subject.noteRemoved(second, 1L);
+
+		assertTrue(subject.isLoadedFor(source, second));
+		assertEquals(1, subject.head());
+		assertNull(subject.headSchedule());
+	}
+
+	@Test
+	void removingOtherThanHeadInvalidates() {
+		givenIds();
+		subject.load(source, second, bySecond);
+
+		subject.noteRemoved(second, 2L);
+
+		assertFalse(subject.isLoadedFor(source, second));
+	}
+
+	@Test
+	void changesToOtherSecondsAreIgnored() {
+		givenIds();
+		subject.load(source, second, bySecond);
+
+		subject.noteRemoved(second + 1, 2L);
+		subject.noteAdded(second + 1);
+
+		assertTrue(subject.isLoadedFor(source, second));
+		assertEquals(0, subject.head());
+	}
+
+	@Test
+	void addingToSecondInvalidates() {
+		givenIds();
+		subject.load(source, second, bySecond);
+
+		subject.noteAdded(second);
+
+		assertFalse(subject.isLoadedFor(source, second));
+	}
+
+	@Test
+	void onlyChangeToHeadForgetsHeadSchedule() {
+		givenIds();
+		subject.load(source, second, bySecond);
+		subject.setHeadSchedule(schedule);
+
+		subject.noteChanged(2L);
+		assertSame(schedule, subject.headSchedule());
+
+		subject.noteChanged(1L);
+		assertNull(subject.headSchedule());
+	}
+
+	private void givenIds() {
+		final var ids = new TreeMap<RichInstant, ImmutableLongList>();
+		ids.put(first, LongLists.immutable.of(1L, 2L));
+		ids.put(later, LongLists.immutable.of(3L));
+		given(bySecond.getIds()).willReturn(ids);
+	}
+}
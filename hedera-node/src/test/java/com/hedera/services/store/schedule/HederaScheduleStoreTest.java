@@ -561,6 +561,19 @@ class HederaScheduleStoreTest {
 		assertEquals(Pair.of(created, schedule), scheduleIdPair);
 	}
 
+	@Test
+	void recognizesCollidingScheduleFromPrecomputedEqualityHash() {
+		final var candSchedule = ScheduleVirtualValue.from(parentTxn.toByteArray(), 0L);
+		final var eqValue = new ScheduleEqualityVirtualValue();
+		eqValue.add("precomputed", fromScheduleId(created).longValue());
+
+		given(byEquality.get(new ScheduleEqualityVirtualKey(123L))).willReturn(eqValue);
+
+		final var scheduleIdPair = subject.lookupSchedule(candSchedule, 123L, "precomputed");
+
+		assertEquals(Pair.of(created, schedule), scheduleIdPair);
+	}
+
 	@Test
 	void understandsMissingButExistsInEqMap() {
 		final var expected = ScheduleVirtualValue.from(parentTxn.toByteArray(), expectedExpiry);
@@ -1146,6 +1159,8 @@ class HederaScheduleStoreTest {
 
 		assertEquals(created, toEvaluate);
 
+		// the second's ids change below without going through the store
+		subject.getDueCursor().invalidate();
 		given(bySecondValue.getIds()).willReturn(new TreeMap<>(
 				ImmutableMap.of(
 						notExecuted.calculatedExpirationTime(),
@@ -1160,6 +1175,7 @@ class HederaScheduleStoreTest {
 		assertEquals(toEvaluate, notExecutedId);
 
 
+		subject.getDueCursor().invalidate();
 		given(bySecondValue.getIds()).willReturn(new TreeMap<>(
 				ImmutableMap.of(
 						notExecuted.calculatedExpirationTime(),
@@ -1176,6 +1192,7 @@ class HederaScheduleStoreTest {
 
 		assertNull(toEvaluate);
 
+		subject.getDueCursor().invalidate();
 		given(bySecondValue.getIds()).willReturn(new TreeMap<>(
 				ImmutableMap.of(
 						notExecuted.calculatedExpirationTime(),
@@ -1186,6 +1203,7 @@ class HederaScheduleStoreTest {
 
 		assertNull(toEvaluate);
 
+		subject.getDueCursor().invalidate();
 		given(bySecondValue.getIds()).willReturn(new TreeMap<>());
 
 		toEvaluate = subject.nextScheduleToEvaluate(Instant.ofEpochSecond(expectedExpiry + 1));
@@ -1247,6 +1265,7 @@ class HederaScheduleStoreTest {
 
 		assertNull(toEvaluate);
 
+		subject.getDueCursor().invalidate();
 		given(bySecondValue.getIds()).willReturn(new TreeMap<>(
 				ImmutableMap.of(
 						new RichInstant(expectedExpiry, 0),
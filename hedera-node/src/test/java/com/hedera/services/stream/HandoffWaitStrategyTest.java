@@ -0,0 +1,44 @@
+package com.hedera.services.stream;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HandoffWaitStrategyTest {
+	@Test
+	void onlyBlockingHasNoBatchedIdler() {
+		assertTrue(HandoffWaitStrategy.BLOCKING.batchedIdler().isEmpty());
+		assertTrue(HandoffWaitStrategy.SPIN.batchedIdler().isPresent());
+		assertTrue(HandoffWaitStrategy.YIELD.batchedIdler().isPresent());
+		assertTrue(HandoffWaitStrategy.PARK.batchedIdler().isPresent());
+	}
+
+	@Test
+	void batchedStrategiesCanIdle() {
+		assertDoesNotThrow(HandoffWaitStrategy.SPIN.batchedIdler().orElseThrow()::run);
+		assertDoesNotThrow(HandoffWaitStrategy.YIELD.batchedIdler().orElseThrow()::run);
+		assertDoesNotThrow(HandoffWaitStrategy.PARK.batchedIdler().orElseThrow()::run);
+	}
+}
@@ -21,16 +21,23 @@ package com.hedera.services.stream;
  */
 
 import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.stats.MiscRunningAvgs;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class NonBlockingHandoffTest {
@@ -43,14 +50,16 @@ class NonBlockingHandoffTest {
 	private RecordStreamManager recordStreamManager;
 	@Mock
 	private NodeLocalProperties nodeLocalProperties;
+	@Mock
+	private MiscRunningAvgs runningAvgs;
 
 	private NonBlockingHandoff subject;
 
 	@Test
 	void handoffWorksAsExpected() {
-		given(nodeLocalProperties.recordStreamQueueCapacity()).willReturn(mockCap);
+		givenStrategy(HandoffWaitStrategy.BLOCKING);
 		// and:
-		subject = new NonBlockingHandoff(recordStreamManager, nodeLocalProperties);
+		subject = new NonBlockingHandoff(recordStreamManager, nodeLocalProperties, runningAvgs);
 
 		// when:
 		assertTrue(subject.offer(rso));
@@ -66,11 +75,70 @@ class NonBlockingHandoffTest {
 		}
 	}
 
+	@Test
+	void batchedHandoffWorksAsExpected() {
+		givenStrategy(HandoffWaitStrategy.PARK);
+		// and:
+		subject = new NonBlockingHandoff(recordStreamManager, nodeLocalProperties, runningAvgs);
+
+		// when:
+		assertTrue(subject.offer(rso));
+
+		// then:
+		verify(recordStreamManager, timeout(1_000L)).addRecordStreamObject(any());
+		verify(runningAvgs, timeout(1_000L)).recordHandoffBatchSize(1);
+		// and:
+		subject.getExecutor().shutdownNow();
+	}
+
+	@Test
+	void drainsEverythingAvailableInOneBatch() throws InterruptedException {
+		givenStoppedBatchedSubject();
+
+		// when:
+		for (int i = 0; i < 3; i++) {
+			assertTrue(subject.offer(rso));
+		}
+		subject.drainBatch();
+
+		// then:
+		verify(recordStreamManager, times(3)).addRecordStreamObject(rso);
+		verify(runningAvgs).recordHandoffQueueDepth(3);
+		verify(runningAvgs).recordHandoffBatchSize(3);
+	}
+
+	@Test
+	void idlesWithoutMetricsWhenNothingToDrain() throws InterruptedException {
+		givenStoppedBatchedSubject();
+
+		// when:
+		subject.drainBatch();
+
+		// then:
+		verifyNoInteractions(recordStreamManager, runningAvgs);
+	}
+
+	@Test
+	void recordsStallRetriesOnceRoomFreesUp() throws InterruptedException {
+		givenStoppedBatchedSubject();
+		while (subject.offer(rso)) {
+			/* Fill the ring */
+		}
+
+		// when:
+		assertFalse(subject.offer(rso));
+		subject.drainBatch();
+		assertTrue(subject.offer(rso));
+
+		// then:
+		verify(runningAvgs).recordHandoffStallRetries(2);
+	}
+
 	@Test
 	void shutdownHookWorksAsExpected() {
-		given(nodeLocalProperties.recordStreamQueueCapacity()).willReturn(mockCap);
+		givenStrategy(HandoffWaitStrategy.BLOCKING);
 		// and:
-		subject = new NonBlockingHandoff(recordStreamManager, nodeLocalProperties);
+		subject = new NonBlockingHandoff(recordStreamManager, nodeLocalProperties, runningAvgs);
 		// and:
 		subject.setExecutor(executorService);
 
@@ -82,4 +150,17 @@ class NonBlockingHandoffTest {
 		// and:
 		verify(executorService).shutdown();
 	}
+
+	private void givenStoppedBatchedSubject() throws InterruptedException {
+		givenStrategy(HandoffWaitStrategy.PARK);
+		subject = new NonBlockingHandoff(recordStreamManager, nodeLocalProperties, runningAvgs);
+		/* Stop the handoff thread so the test is the only consumer of the ring */
+		subject.getShutdownHook().run();
+		assertTrue(subject.getExecutor().awaitTermination(1, TimeUnit.SECONDS));
+	}
+
+	private void givenStrategy(final HandoffWaitStrategy strategy) {
+		given(nodeLocalProperties.recordStreamQueueCapacity()).willReturn(mockCap);
+		given(nodeLocalProperties.recordStreamHandoffWaitStrategy()).willReturn(strategy);
+	}
 }
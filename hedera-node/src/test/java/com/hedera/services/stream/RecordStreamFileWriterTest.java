@@ -20,12 +20,15 @@ package com.hedera.services.stream;
  * ‍
  */
 
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
 import com.hedera.services.config.MockGlobalDynamicProps;
 import com.hedera.services.recordstreaming.RecordStreamingUtils;
 import com.hedera.services.stream.proto.HashAlgorithm;
 import com.hedera.services.stream.proto.HashObject;
 import com.hedera.services.stream.proto.RecordStreamFile;
+import com.hedera.services.stream.proto.RecordStreamItem;
 import com.hedera.services.stream.proto.SignatureType;
 import com.hedera.test.extensions.LogCaptor;
 import com.hedera.test.extensions.LogCaptureExtension;
@@ -53,6 +56,8 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -66,6 +71,7 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
 import static com.swirlds.common.stream.LinkedObjectStreamUtilities.generateSigFilePath;
@@ -97,7 +103,8 @@ class RecordStreamFileWriterTest {
 				logPeriodMs,
 				signer,
 				false,
-				streamType
+				streamType,
+				MoreExecutors.newDirectExecutorService()
 		);
 		messageDigest = MessageDigest.getInstance(DigestType.SHA_384.algorithmName());
 		messageDigest.digest("yumyum".getBytes(StandardCharsets.UTF_8));
@@ -269,6 +276,172 @@ class RecordStreamFileWriterTest {
 	}
 
 
+	@Test
+	void incrementallySerializedFileMatchesWholeMessageSerialization() throws IOException {
+		// given
+		given(streamType.getFileHeader()).willReturn(FILE_HEADER_VALUES);
+		given(streamType.getSigFileHeader()).willReturn(SIG_FILE_HEADER_VALUES);
+		given(streamType.getExtension()).willReturn(RecordStreamType.RECORD_EXTENSION);
+		given(signer.sign(any())).willReturn("signature".getBytes(StandardCharsets.UTF_8));
+		final var firstTransactionInstant = LocalDateTime.of(2022, 6, 2, 9, 2, 55).toInstant(ZoneOffset.UTC);
+		final var startRunningHash = new Hash(messageDigest.digest("start".getBytes(StandardCharsets.UTF_8)));
+		subject.setRunningHash(startRunningHash);
+
+		// when
+		final var firstBlockRSOs = generateNRecordStreamObjectsForBlockMStartingFromT(5, 1, firstTransactionInstant);
+		final var secondBlockRSOs = generateNRecordStreamObjectsForBlockMStartingFromT(1, 2,
+				firstTransactionInstant.plusSeconds(logPeriodMs / 1000));
+		Stream.of(firstBlockRSOs, secondBlockRSOs)
+				.flatMap(Collection::stream)
+				.forEach(subject::addObject);
+
+		// then
+		final var expected = RecordStreamFile.newBuilder()
+				.setHapiProtoVersion(SemanticVersion.newBuilder()
+						.setMajor(FILE_HEADER_VALUES[1])
+						.setMinor(FILE_HEADER_VALUES[2])
+						.setPatch(FILE_HEADER_VALUES[3]))
+				.setStartObjectRunningHash(toProto(startRunningHash))
+				.setEndObjectRunningHash(toProto(firstBlockRSOs.get(4).getRunningHash().getHash()))
+				.setBlockNumber(1L);
+		firstBlockRSOs.forEach(rso -> expected.addRecordStreamItems(RecordStreamItem.newBuilder()
+				.setTransaction(rso.getTransaction())
+				.setRecord(rso.getTransactionRecord())));
+		final var actualBytes = Files.readAllBytes(Path.of(subject.generateStreamFilePath(firstTransactionInstant)));
+		assertArrayEquals(expectedRecordFileBytes(expected.build()), actualBytes);
+	}
+
+	@Test
+	void growsBufferForBlocksLargerThanItsInitialCapacity() throws IOException, NoSuchAlgorithmException {
+		// given
+		given(streamType.getFileHeader()).willReturn(FILE_HEADER_VALUES);
+		given(streamType.getSigFileHeader()).willReturn(SIG_FILE_HEADER_VALUES);
+		given(streamType.getExtension()).willReturn(RecordStreamType.RECORD_EXTENSION);
+		final var entireFileSignature = "entireSignatureBlock1".getBytes(StandardCharsets.UTF_8);
+		final var metadataSignature = "metadataSignatureBlock1".getBytes(StandardCharsets.UTF_8);
+		given(signer.sign(any()))
+				.willReturn(entireFileSignature)
+				.willReturn(metadataSignature);
+		final var firstTransactionInstant = LocalDateTime.of(2022, 6, 3, 9, 2, 55).toInstant(ZoneOffset.UTC);
+		final var startRunningHash = new Hash(messageDigest.digest("start".getBytes(StandardCharsets.UTF_8)));
+		subject.setRunningHash(startRunningHash);
+
+		// when
+		final var firstBlockRSOs = new ArrayList<RecordStreamObject>();
+		for (int i = 0; i < 3; i++) {
+			firstBlockRSOs.add(largeRecordStreamObject(firstTransactionInstant.plusNanos(1000L * i), i));
+		}
+		final var secondBlockRSOs = generateNRecordStreamObjectsForBlockMStartingFromT(1, 2,
+				firstTransactionInstant.plusSeconds(logPeriodMs / 1000));
+		Stream.of(firstBlockRSOs, secondBlockRSOs)
+				.flatMap(Collection::stream)
+				.forEach(subject::addObject);
+
+		// then
+		assertRecordStreamFiles(1L, firstBlockRSOs, startRunningHash, entireFileSignature, metadataSignature);
+	}
+
+	@Test
+	void closeWaitsForSignaturesPendingOnSigningExecutor() throws NoSuchAlgorithmException {
+		// given
+		final var signingExecutor = Executors.newSingleThreadExecutor();
+		subject = new RecordStreamFileWriter(
+				expectedExportDir(),
+				logPeriodMs,
+				signer,
+				false,
+				streamType,
+				signingExecutor
+		);
+		given(streamType.getFileHeader()).willReturn(FILE_HEADER_VALUES);
+		given(streamType.getSigFileHeader()).willReturn(SIG_FILE_HEADER_VALUES);
+		given(streamType.getExtension()).willReturn(RecordStreamType.RECORD_EXTENSION);
+		given(signer.sign(any())).willReturn("signature".getBytes(StandardCharsets.UTF_8));
+		final var firstTransactionInstant = LocalDateTime.of(2022, 6, 4, 9, 2, 55).toInstant(ZoneOffset.UTC);
+		subject.setRunningHash(new Hash(messageDigest.digest("start".getBytes(StandardCharsets.UTF_8))));
+		final var firstBlockRSOs = generateNRecordStreamObjectsForBlockMStartingFromT(2, 1, firstTransactionInstant);
+		final var secondBlockRSOs = generateNRecordStreamObjectsForBlockMStartingFromT(2, 2,
+				firstTransactionInstant.plusSeconds(logPeriodMs / 1000));
+		Stream.of(firstBlockRSOs, secondBlockRSOs)
+				.flatMap(Collection::stream)
+				.forEach(subject::addObject);
+
+		// when
+		subject.close();
+
+		// then
+		for (final var blockRSOs : List.of(firstBlockRSOs, secondBlockRSOs)) {
+			final var recordFile = new File(subject.generateStreamFilePath(blockRSOs.get(0).getTimestamp()));
+			assertTrue(recordFile.exists());
+			assertTrue(new File(generateSigFilePath(recordFile)).exists());
+		}
+		signingExecutor.shutdownNow();
+	}
+
+	@Test
+	void clearDiscardsPartiallySerializedFile() throws IOException, NoSuchAlgorithmException {
+		// given
+		given(streamType.getFileHeader()).willReturn(FILE_HEADER_VALUES);
+		given(streamType.getSigFileHeader()).willReturn(SIG_FILE_HEADER_VALUES);
+		given(streamType.getExtension()).willReturn(RecordStreamType.RECORD_EXTENSION);
+		final var entireFileSignature = "entireSignatureBlock2".getBytes(StandardCharsets.UTF_8);
+		final var metadataSignature = "metadataSignatureBlock2".getBytes(StandardCharsets.UTF_8);
+		given(signer.sign(any()))
+				.willReturn(entireFileSignature)
+				.willReturn(metadataSignature);
+		final var firstTransactionInstant = LocalDateTime.of(2022, 6, 5, 9, 2, 55).toInstant(ZoneOffset.UTC);
+		final var firstBlockRSOs = generateNRecordStreamObjectsForBlockMStartingFromT(3, 1, firstTransactionInstant);
+		final var secondBlockRSOs = generateNRecordStreamObjectsForBlockMStartingFromT(2, 2,
+				firstTransactionInstant.plusSeconds(logPeriodMs / 1000));
+		final var thirdBlockRSOs = generateNRecordStreamObjectsForBlockMStartingFromT(1, 3,
+				firstTransactionInstant.plusSeconds(2 * logPeriodMs / 1000));
+
+		// when
+		firstBlockRSOs.forEach(subject::addObject);
+		subject.clear();
+		Stream.of(secondBlockRSOs, thirdBlockRSOs)
+				.flatMap(Collection::stream)
+				.forEach(subject::addObject);
+
+		// then
+		assertFalse(new File(subject.generateStreamFilePath(firstTransactionInstant)).exists());
+		assertRecordStreamFiles(
+				2L,
+				secondBlockRSOs,
+				firstBlockRSOs.get(firstBlockRSOs.size() - 1).getRunningHash().getHash(),
+				entireFileSignature,
+				metadataSignature);
+	}
+
+	private byte[] expectedRecordFileBytes(final RecordStreamFile recordStreamFile) throws IOException {
+		final var serialized = new byte[recordStreamFile.getSerializedSize()];
+		final var output = CodedOutputStream.newInstance(serialized);
+		output.useDeterministicSerialization();
+		recordStreamFile.writeTo(output);
+		final var baos = new ByteArrayOutputStream();
+		try (final var dos = new DataOutputStream(baos)) {
+			dos.writeInt(RECORD_STREAM_VERSION);
+			dos.write(serialized);
+		}
+		return baos.toByteArray();
+	}
+
+	private RecordStreamObject largeRecordStreamObject(final Instant consensusTime, final int i) {
+		final var timestamp = Timestamp.newBuilder()
+				.setSeconds(consensusTime.getEpochSecond())
+				.setNanos(consensusTime.getNano());
+		final var payload = new byte[600_000];
+		payload[0] = (byte) i;
+		final var recordStreamObject = new RecordStreamObject(
+				TransactionRecord.newBuilder().setConsensusTimestamp(timestamp).build(),
+				Transaction.newBuilder().setSignedTransactionBytes(ByteString.copyFrom(payload)).build(),
+				consensusTime);
+		final var hashInput = recordStreamObject.toString().getBytes(StandardCharsets.UTF_8);
+		recordStreamObject.getRunningHash().setHash(new Hash(messageDigest.digest(hashInput)));
+		recordStreamObject.withBlockNumber(1L);
+		return recordStreamObject;
+	}
+
 	private List<RecordStreamObject> generateNRecordStreamObjectsForBlockMStartingFromT(
 			final int numberOfRSOs,
 			final long blockNumber,
@@ -620,6 +793,85 @@ class RecordStreamFileWriterTest {
 		}
 	}
 
+	@Test
+	void nextFileIsUnaffectedByFailedRecordFileWrite() throws IOException, NoSuchAlgorithmException {
+		// given
+		given(streamType.getFileHeader()).willReturn(FILE_HEADER_VALUES);
+		given(streamType.getSigFileHeader()).willReturn(SIG_FILE_HEADER_VALUES);
+		given(streamType.getExtension()).willReturn(RecordStreamType.RECORD_EXTENSION);
+		final var entireFileSignature = "entireSignatureBlock2".getBytes(StandardCharsets.UTF_8);
+		final var metadataSignature = "metadataSignatureBlock2".getBytes(StandardCharsets.UTF_8);
+		given(signer.sign(any()))
+				.willReturn(entireFileSignature)
+				.willReturn(metadataSignature);
+		final var firstTransactionInstant = LocalDateTime.of(2022, 6, 7, 11, 2, 55).toInstant(ZoneOffset.UTC);
+		final var firstBlockRSOs = generateNRecordStreamObjectsForBlockMStartingFromT(3, 1, firstTransactionInstant);
+		final var secondBlockRSOs = generateNRecordStreamObjectsForBlockMStartingFromT(4, 2,
+				firstTransactionInstant.plusSeconds(logPeriodMs / 1000));
+		final var thirdBlockRSOs = generateNRecordStreamObjectsForBlockMStartingFromT(1, 3,
+				firstTransactionInstant.plusSeconds(2 * logPeriodMs / 1000));
+
+		// when
+		firstBlockRSOs.forEach(subject::addObject);
+		try (MockedConstruction<SerializableDataOutputStream> ignored = Mockito.mockConstruction(
+				SerializableDataOutputStream.class,
+				(mock, context) -> doThrow(IOException.class).when(mock).writeInt(anyInt()))
+		) {
+			subject.closeCurrentAndSign();
+		}
+		assertTrue(Thread.interrupted());
+		Stream.of(secondBlockRSOs, thirdBlockRSOs)
+				.flatMap(Collection::stream)
+				.forEach(subject::addObject);
+
+		// then
+		assertFalse(new File(subject.generateStreamFilePath(firstTransactionInstant)).exists());
+		assertRecordStreamFiles(
+				2L,
+				secondBlockRSOs,
+				firstBlockRSOs.get(firstBlockRSOs.size() - 1).getRunningHash().getHash(),
+				entireFileSignature,
+				metadataSignature);
+	}
+
+	@Test
+	void nextFileIsUnaffectedByRecordFileThatCannotBeOpened() throws IOException, NoSuchAlgorithmException {
+		// given
+		given(streamType.getFileHeader()).willReturn(FILE_HEADER_VALUES);
+		given(streamType.getSigFileHeader()).willReturn(SIG_FILE_HEADER_VALUES);
+		given(streamType.getExtension()).willReturn(RecordStreamType.RECORD_EXTENSION);
+		final var entireFileSignature = "entireSignatureBlock2".getBytes(StandardCharsets.UTF_8);
+		final var metadataSignature = "metadataSignatureBlock2".getBytes(StandardCharsets.UTF_8);
+		given(signer.sign(any()))
+				.willReturn(entireFileSignature)
+				.willReturn(metadataSignature);
+		final var firstTransactionInstant = LocalDateTime.of(2022, 6, 8, 11, 2, 55).toInstant(ZoneOffset.UTC);
+		final var firstBlockRSOs = generateNRecordStreamObjectsForBlockMStartingFromT(2, 1, firstTransactionInstant);
+		final var secondBlockRSOs = generateNRecordStreamObjectsForBlockMStartingFromT(3, 2,
+				firstTransactionInstant.plusSeconds(logPeriodMs / 1000));
+		final var thirdBlockRSOs = generateNRecordStreamObjectsForBlockMStartingFromT(1, 3,
+				firstTransactionInstant.plusSeconds(2 * logPeriodMs / 1000));
+		// a directory where the first record file should go makes opening it fail
+		assertTrue(new File(subject.generateStreamFilePath(firstTransactionInstant)).mkdir());
+
+		// when
+		firstBlockRSOs.forEach(subject::addObject);
+		subject.closeCurrentAndSign();
+		assertTrue(Thread.interrupted());
+		Stream.of(secondBlockRSOs, thirdBlockRSOs)
+				.flatMap(Collection::stream)
+				.forEach(subject::addObject);
+
+		// then
+		assertThat(logCaptor.errorLogs(), contains(Matchers.startsWith("closeCurrentAndSign :: FileNotFound: ")));
+		assertRecordStreamFiles(
+				2L,
+				secondBlockRSOs,
+				firstBlockRSOs.get(firstBlockRSOs.size() - 1).getRunningHash().getHash(),
+				entireFileSignature,
+				metadataSignature);
+	}
+
 	@Test
 	void waitingForStartRunningHashInterruptedExceptionIsCaughtAndLoggedProperly() {
 		// given
@@ -0,0 +1,121 @@
+package com.hedera.services.stream;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpscRingTest {
+	@Test
+	void roundsCapacityUpToPowerOfTwo() {
+		assertEquals(1, new SpscRing<>(0).capacity());
+		assertEquals(1, new SpscRing<>(1).capacity());
+		assertEquals(8, new SpscRing<>(5).capacity());
+		assertEquals(8, new SpscRing<>(8).capacity());
+		assertEquals(8192, new SpscRing<>(5_000).capacity());
+	}
+
+	@Test
+	void rejectsOffersWhenFull() {
+		final var subject = new SpscRing<Integer>(2);
+
+		assertTrue(subject.offer(1));
+		assertTrue(subject.offer(2));
+		assertFalse(subject.offer(3));
+		assertEquals(2, subject.size());
+	}
+
+	@Test
+	void drainsInOrderUpToLimitAndWrapsAround() {
+		final var subject = new SpscRing<Integer>(4);
+		final List<Integer> drained = new ArrayList<>();
+
+		for (int i = 0; i < 4; i++) {
+			assertTrue(subject.offer(i));
+		}
+		assertEquals(3, subject.drainTo(drained::add, 3));
+		assertTrue(subject.offer(4));
+		assertTrue(subject.offer(5));
+		assertTrue(subject.offer(6));
+		assertEquals(4, subject.drainTo(drained::add, 10));
+
+		assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), drained);
+		assertEquals(0, subject.size());
+		assertEquals(0, subject.drainTo(drained::add, 10));
+	}
+
+	@Test
+	void consumedElementsStayConsumedIfConsumerThrows() {
+		final var subject = new SpscRing<Integer>(4);
+		final List<Integer> drained = new ArrayList<>();
+		final Consumer<Integer> flaky = i -> {
+			if (i == 1) {
+				throw new IllegalStateException();
+			}
+			drained.add(i);
+		};
+
+		subject.offer(0);
+		subject.offer(1);
+		subject.offer(2);
+
+		assertThrows(IllegalStateException.class, () -> subject.drainTo(flaky, 10));
+		assertEquals(1, subject.size());
+		assertEquals(1, subject.drainTo(drained::add, 10));
+		assertEquals(List.of(0, 2), drained);
+	}
+
+	@Test
+	void handsOffEverythingAcrossThreads() throws InterruptedException {
+		final var n = 100_000;
+		final var subject = new SpscRing<Integer>(64);
+		final List<Integer> drained = new ArrayList<>();
+		final var consumer = new Thread(() -> {
+			while (drained.size() < n) {
+				if (subject.drainTo(drained::add, 16) == 0) {
+					Thread.onSpinWait();
+				}
+			}
+		});
+		consumer.start();
+
+		for (int i = 0; i < n; i++) {
+			while (!subject.offer(i)) {
+				Thread.onSpinWait();
+			}
+		}
+		consumer.join(10_000L);
+
+		assertFalse(consumer.isAlive());
+		for (int i = 0; i < n; i++) {
+			assertEquals(i, drained.get(i));
+		}
+	}
+}
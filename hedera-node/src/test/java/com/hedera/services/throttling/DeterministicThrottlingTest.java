@@ -28,6 +28,8 @@ import com.hedera.services.state.virtual.schedule.ScheduleVirtualValue;
 import com.hedera.services.store.schedule.ScheduleStore;
 import com.hedera.services.sysfiles.domain.throttling.ThrottleReqOpsScaleFactor;
 import com.hedera.services.throttles.BucketThrottle;
+import com.hedera.services.throttles.ConcurrentDeterministicThrottle;
+import com.hedera.services.throttles.ConcurrentGasLimitThrottle;
 import com.hedera.services.throttles.DeterministicThrottle;
 import com.hedera.services.throttles.GasLimitDeterministicThrottle;
 import com.hedera.services.throttling.DeterministicThrottling.DeterministicThrottlingMode;
@@ -75,6 +77,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hedera.services.throttling.DeterministicThrottling.DeterministicThrottlingMode.CONSENSUS;
 import static com.hedera.services.throttling.DeterministicThrottling.DeterministicThrottlingMode.HAPI;
@@ -97,6 +100,7 @@ import static com.hederahashgraph.api.proto.java.HederaFunctionality.ScheduleSig
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenBurn;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenMint;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -931,6 +935,25 @@ class DeterministicThrottlingTest {
 		assertFalse(subject.wasLastTxnGasThrottled());
 	}
 
+	@Test
+	void lastTxnGasThrottledIsPerThread() throws InterruptedException {
+		givenFunction(ContractCreate);
+		given(dynamicProperties.shouldThrottleByGas()).willReturn(true);
+		given(dynamicProperties.maxGasPerSec()).willReturn(1L);
+		given(accessor.getGasLimitForContractTx()).willReturn(2L);
+		subject.setMode(CONSENSUS);
+		subject.applyGasConfig();
+		assertTrue(subject.shouldThrottleTxn(accessor, consensusNow));
+
+		final var seenElsewhere = new AtomicBoolean(true);
+		final var other = new Thread(() -> seenElsewhere.set(subject.wasLastTxnGasThrottled()));
+		other.start();
+		other.join();
+
+		assertFalse(seenElsewhere.get());
+		assertTrue(subject.wasLastTxnGasThrottled());
+	}
+
 	@Test
 	void alwaysThrottlesEthereumTxnWhenGasThrottleIsNotDefined() {
 		givenFunction(EthereumTransaction);
@@ -988,6 +1011,35 @@ class DeterministicThrottlingTest {
 		assertEquals(capacity, subject.gasLimitThrottle().getCapacity());
 	}
 
+	@Test
+	void lockFreeThrottlingUsesConcurrentThrottles() throws IOException {
+		final var defs = SerdeUtils.pojoDefs("bootstrap/throttles.json");
+		final long capacity = 1_000L;
+		given(dynamicProperties.maxGasPerSec()).willReturn(capacity);
+		subject = new DeterministicThrottling(() -> n, aliasManager, dynamicProperties, HAPI, scheduleStore, true);
+
+		subject.rebuildFor(defs);
+		subject.applyGasConfig();
+
+		assertFalse(subject.allActiveThrottles().isEmpty());
+		subject.allActiveThrottles().forEach(throttle ->
+				assertThat(throttle, instanceOf(ConcurrentDeterministicThrottle.class)));
+		assertThat(subject.gasLimitThrottle(), instanceOf(ConcurrentGasLimitThrottle.class));
+		assertEquals(capacity, subject.gasLimitThrottle().getCapacity());
+	}
+
+	@Test
+	void nonLockFreeThrottlingKeepsDeterministicThrottles() throws IOException {
+		final var defs = SerdeUtils.pojoDefs("bootstrap/throttles.json");
+
+		subject.rebuildFor(defs);
+		subject.applyGasConfig();
+
+		subject.allActiveThrottles().forEach(throttle ->
+				assertEquals(DeterministicThrottle.class, throttle.getClass()));
+		assertEquals(GasLimitDeterministicThrottle.class, subject.gasLimitThrottle().getClass());
+	}
+
 	@Test
 	void logsAsExpected() throws IOException {
 		// setup:
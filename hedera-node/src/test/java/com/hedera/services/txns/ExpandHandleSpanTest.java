@@ -98,5 +98,6 @@ class ExpandHandleSpanTest {
 		final var endAccessor = subject.accessorFor(validTxn);
 
 		verify(handleSpanMap).expandSpan(endAccessor.getDelegate());
+		verify(handleSpanMap).rationalizeSpan(endAccessor);
 	}
 }
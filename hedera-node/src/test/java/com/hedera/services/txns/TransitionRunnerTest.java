@@ -23,6 +23,9 @@ package com.hedera.services.txns;
 import com.hedera.services.context.TransactionContext;
 import com.hedera.services.exceptions.InvalidTransactionException;
 import com.hedera.services.ledger.ids.EntityIdSource;
+import com.hedera.services.sigs.order.LinkedRefs;
+import com.hedera.services.txns.span.ExpandHandleSpanMapAccessor;
+import com.hedera.services.txns.span.TokenOpsExpansion;
 import com.hedera.services.utils.accessors.TxnAccessor;
 import com.hedera.test.extensions.LogCaptor;
 import com.hedera.test.extensions.LogCaptureExtension;
@@ -36,6 +39,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.HashMap;
 import java.util.Optional;
 
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenCreate;
@@ -45,6 +49,7 @@ import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_TOKEN_
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_TOKEN_MINT_AMOUNT;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.SUCCESS;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.TOKEN_WAS_DELETED;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
@@ -61,6 +66,7 @@ import static org.mockito.Mockito.verify;
 class TransitionRunnerTest {
 	private final Transaction mockTxn = Transaction.getDefaultInstance();
 	private final TransactionBody mockBody = TransactionBody.getDefaultInstance();
+	private final ExpandHandleSpanMapAccessor spanMapAccessor = new ExpandHandleSpanMapAccessor();
 
 	@Mock
 	private EntityIdSource ids;
@@ -80,7 +86,7 @@ class TransitionRunnerTest {
 
 	@BeforeEach
 	void setUp() {
-		subject = new TransitionRunner(ids, txnCtx, lookup);
+		subject = new TransitionRunner(ids, txnCtx, lookup, spanMapAccessor);
 	}
 
 	@Test
@@ -114,6 +120,26 @@ class TransitionRunnerTest {
 		assertFalse(result);
 	}
 
+	@Test
+	void shortCircuitsOnPreValidatedTokenOpsFailure() {
+		final var spanMap = new HashMap<String, Object>();
+		spanMapAccessor.setTokenOpsExpansion(spanMap, new TokenOpsExpansion(new LinkedRefs(), TOKEN_WAS_DELETED));
+		given(accessor.getFunction()).willReturn(TokenMint);
+		given(accessor.getTxn()).willReturn(mockBody);
+		given(accessor.getSpanMap()).willReturn(spanMap);
+		given(lookup.lookupFor(TokenMint, mockBody)).willReturn(Optional.of(logic));
+		given(logic.validateSemantics(accessor)).willReturn(OK);
+
+		// when:
+		var result = subject.tryTransition(accessor);
+
+		// then:
+		verify(logic, never()).doStateTransition();
+		verify(txnCtx).setStatus(TOKEN_WAS_DELETED);
+		verify(ids).reclaimProvisionalIds();
+		assertTrue(result);
+	}
+
 	@Test
 	void catchesInvalidTxnExceptionAndSetsStatus() {
 		given(accessor.getFunction()).willReturn(TokenMint);
@@ -23,7 +23,10 @@ package com.hedera.services.txns.consensus;
 import com.google.protobuf.ByteString;
 import com.hedera.services.context.TransactionContext;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.sigs.order.LinkedRefs;
 import com.hedera.services.state.merkle.MerkleTopic;
+import com.hedera.services.txns.span.ExpandHandleSpanMapAccessor;
+import com.hedera.services.txns.span.TopicExpansion;
 import com.hedera.services.txns.validation.OptionValidator;
 import com.hedera.services.utils.EntityNum;
 import com.hedera.services.utils.accessors.SignedTxnAccessor;
@@ -39,6 +42,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.HashMap;
 
 import static com.hedera.test.utils.IdUtils.asTopic;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_CHUNK_NUMBER;
@@ -54,7 +58,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
 import static org.mockito.BDDMockito.verify;
 
 class SubmitMessageTransitionLogicTest {
@@ -69,6 +75,7 @@ class SubmitMessageTransitionLogicTest {
 	private SubmitMessageTransitionLogic subject;
 	private MerkleMap<EntityNum, MerkleTopic> topics = new MerkleMap<>();
 	private GlobalDynamicProperties globalDynamicProperties;
+	private ExpandHandleSpanMapAccessor spanMapAccessor = new ExpandHandleSpanMapAccessor();
 	final private AccountID payer = AccountID.newBuilder().setAccountNum(1_234L).build();
 
 	@BeforeEach
@@ -83,7 +90,7 @@ class SubmitMessageTransitionLogicTest {
 		globalDynamicProperties = mock(GlobalDynamicProperties.class);
 		given(globalDynamicProperties.messageMaxBytesAllowed()).willReturn(1024);
 		subject = new SubmitMessageTransitionLogic(() -> topics, validator, transactionContext,
-				globalDynamicProperties);
+				globalDynamicProperties, spanMapAccessor);
 	}
 
 	@Test
@@ -164,6 +171,23 @@ class SubmitMessageTransitionLogicTest {
 		verify(transactionContext).setStatus(INVALID_TOPIC_ID);
 	}
 
+	@Test
+	void usesRationalizedTopicExpansionIfPresent() {
+		// given:
+		givenValidTransactionContext();
+		final var spanMap = new HashMap<String, Object>();
+		given(accessor.getSpanMap()).willReturn(spanMap);
+		spanMapAccessor.setTopicExpansion(accessor, new TopicExpansion(new LinkedRefs(), INVALID_TOPIC_ID));
+
+		// when:
+		subject.doStateTransition();
+
+		// then:
+		assertTrue(topics.isEmpty());
+		verify(transactionContext).setStatus(INVALID_TOPIC_ID);
+		verify(validator, never()).queryableTopicStatus(any(), any());
+	}
+
 	@Test
 	void failsForInvalidChunkNumber() {
 		// given:
@@ -30,8 +30,10 @@ import com.hedera.services.ledger.accounts.AliasManager;
 import com.hedera.services.records.TransactionRecordService;
 import com.hedera.services.store.AccountStore;
 import com.hedera.services.store.contracts.CodeCache;
+import com.hedera.services.store.contracts.ContractStateChanges;
 import com.hedera.services.store.contracts.EntityAccess;
 import com.hedera.services.store.contracts.HederaWorldState;
+import com.hedera.services.store.contracts.StorageWarmCache;
 import com.hedera.services.store.models.Account;
 import com.hedera.services.store.models.Id;
 import com.hedera.services.utils.EntityNum;
@@ -53,7 +55,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigInteger;
 import java.util.List;
-import java.util.Map;
 
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.CONTRACT_NEGATIVE_GAS;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.CONTRACT_NEGATIVE_VALUE;
@@ -65,6 +66,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -98,6 +100,8 @@ class ContractCallTransitionLogicTest {
 	private AliasManager aliasManager;
 	@Mock
 	private EntityAccess entityAccess;
+	@Mock
+	private StorageWarmCache storageWarmCache;
 
 	private TransactionBody contractCallTxn;
 	private final Account senderAccount = new Account(new Id(0, 0, 1002));
@@ -109,7 +113,8 @@ class ContractCallTransitionLogicTest {
 	private void setup() {
 		subject = new ContractCallTransitionLogic(
 				txnCtx, accountStore, worldState, recordService,
-				evmTxProcessor, properties, codeCache, sigImpactHistorian, aliasManager, entityAccess);
+				evmTxProcessor, properties, codeCache, sigImpactHistorian, aliasManager, entityAccess,
+				storageWarmCache);
 	}
 
 	@Test
@@ -136,7 +141,7 @@ class ContractCallTransitionLogicTest {
 		// and:
 		var results = TransactionProcessingResult.successful(
 				null, 1234L, 0L, 124L, Bytes.EMPTY,
-				contractAccount.getId().asEvmAddress(), Map.of());
+				contractAccount.getId().asEvmAddress(), ContractStateChanges.EMPTY);
 		given(evmTxProcessor.execute(senderAccount, contractAccount.getId().asEvmAddress(), gas, sent, Bytes.EMPTY,
 				txnCtx.consensusTime()))
 				.willReturn(results);
@@ -164,7 +169,7 @@ class ContractCallTransitionLogicTest {
 		// and:
 		var results = TransactionProcessingResult.successful(
 				null, 1234L, 0L, 124L, Bytes.EMPTY,
-				contractAccount.getId().asEvmAddress(), Map.of());
+				contractAccount.getId().asEvmAddress(), ContractStateChanges.EMPTY);
 		given(evmTxProcessor.executeEth(
 				senderAccount, contractAccount.getId().asEvmAddress(), gas, sent, Bytes.EMPTY,
 				txnCtx.consensusTime(), biOfferedGasPrice, relayerAccount, maxGas))
@@ -198,7 +203,7 @@ class ContractCallTransitionLogicTest {
 		// and:
 		var results = TransactionProcessingResult.successful(
 				null, 1234L, 0L, 124L, Bytes.EMPTY,
-				contractAccount.getId().asEvmAddress(), Map.of());
+				contractAccount.getId().asEvmAddress(), ContractStateChanges.EMPTY);
 		given(evmTxProcessor.execute(senderAccount,
 				new Account(new Id(target.getShardNum(), target.getRealmNum(), target.getContractNum())).canonicalAddress(),
 				gas, sent,
@@ -240,7 +245,7 @@ class ContractCallTransitionLogicTest {
 		// and:
 		var results = TransactionProcessingResult.successful(
 				null, 1234L, 0L, 124L, Bytes.EMPTY,
-				contractAccount.getId().asEvmAddress(), Map.of());
+				contractAccount.getId().asEvmAddress(), ContractStateChanges.EMPTY);
 		given(evmTxProcessor.execute(senderAccount, contractAccount.getId().asEvmAddress(), gas, sent,
 				Bytes.fromHexString(CommonUtils.hex(functionParams.toByteArray())), txnCtx.consensusTime()))
 				.willReturn(results);
@@ -272,6 +277,21 @@ class ContractCallTransitionLogicTest {
 		subject.preFetch(accessor);
 
 		verify(codeCache).getIfPresent(targetNum.toEvmAddress());
+		verify(storageWarmCache).warm(targetNum.longValue());
+	}
+
+	@Test
+	void storageWarmCacheThrowingExceptionDuringWarmDoesntPropagate() {
+		TransactionBody txnBody = Mockito.mock(TransactionBody.class);
+		ContractCallTransactionBody ccTxnBody = Mockito.mock(ContractCallTransactionBody.class);
+
+		given(accessor.getTxn()).willReturn(txnBody);
+		given(txnBody.getContractCall()).willReturn(ccTxnBody);
+		given(ccTxnBody.getContractID()).willReturn(IdUtils.asContract("0.0.1324"));
+		willThrow(new RuntimeException("oh no")).given(storageWarmCache).warm(1324L);
+
+		// when:
+		assertDoesNotThrow(() -> subject.preFetch(accessor));
 	}
 
 	@Test
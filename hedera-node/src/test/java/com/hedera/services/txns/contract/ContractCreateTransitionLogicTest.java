@@ -36,6 +36,7 @@ import com.hedera.services.records.TransactionRecordService;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.EntityCreator;
 import com.hedera.services.store.AccountStore;
+import com.hedera.services.store.contracts.ContractStateChanges;
 import com.hedera.services.store.contracts.HederaWorldState;
 import com.hedera.services.store.contracts.precompile.SyntheticTxnFactory;
 import com.hedera.services.store.models.Account;
@@ -67,7 +68,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigInteger;
 import java.time.Instant;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import static com.google.protobuf.ByteString.copyFromUtf8;
@@ -373,7 +373,7 @@ class ContractCreateTransitionLogicTest {
 				124L,
 				Bytes.EMPTY,
 				contractAccount.getId().asEvmAddress(),
-				Map.of());
+				ContractStateChanges.EMPTY);
 		given(txnCtx.consensusTime()).willReturn(consensusTime);
 		given(worldState.newContractAddress(senderAccount.getId().asEvmAddress()))
 				.willReturn(contractAccount.getId().asEvmAddress());
@@ -431,7 +431,7 @@ class ContractCreateTransitionLogicTest {
 				124L,
 				Bytes.EMPTY,
 				contractAccount.getId().asEvmAddress(),
-				Map.of());
+				ContractStateChanges.EMPTY);
 		given(txnCtx.consensusTime()).willReturn(consensusTime);
 		given(worldState.newContractAddress(senderAccount.getId().asEvmAddress()))
 				.willReturn(contractAccount.getId().asEvmAddress());
@@ -497,7 +497,7 @@ class ContractCreateTransitionLogicTest {
 				124L,
 				Bytes.EMPTY,
 				contractAccount.getId().asEvmAddress(),
-				Map.of());
+				ContractStateChanges.EMPTY);
 		given(txnCtx.consensusTime()).willReturn(consensusTime);
 		given(worldState.newContractAddress(senderAccount.getId().asEvmAddress()))
 				.willReturn(contractAccount.getId().asEvmAddress());
@@ -545,7 +545,7 @@ class ContractCreateTransitionLogicTest {
 				Duration.newBuilder().setSeconds(customAutoRenewPeriod).build()).getSeconds();
 		var result = TransactionProcessingResult.failed(1234L, 0L,
 				124L, Optional.empty(), Optional.empty(),
-				Map.of());
+				ContractStateChanges.EMPTY);
 		given(evmTxProcessor.execute(
 				senderAccount,
 				contractAccount.getId().asEvmAddress(),
@@ -591,7 +591,7 @@ class ContractCreateTransitionLogicTest {
 				124L,
 				Bytes.EMPTY,
 				contractAccount.getId().asEvmAddress(),
-				Map.of());
+				ContractStateChanges.EMPTY);
 		given(txnCtx.consensusTime()).willReturn(consensusTime);
 		var expiry = RequestBuilder.getExpirationTime(consensusTime,
 				Duration.newBuilder().setSeconds(customAutoRenewPeriod).build()).getSeconds();
@@ -652,7 +652,7 @@ class ContractCreateTransitionLogicTest {
 				124L,
 				Bytes.EMPTY,
 				contractAccount.getId().asEvmAddress(),
-				Map.of());
+				ContractStateChanges.EMPTY);
 		given(txnCtx.consensusTime()).willReturn(consensusTime);
 		var expiry = RequestBuilder.getExpirationTime(consensusTime,
 				Duration.newBuilder().setSeconds(customAutoRenewPeriod).build()).getSeconds();
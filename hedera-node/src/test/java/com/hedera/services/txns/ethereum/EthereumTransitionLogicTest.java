@@ -74,7 +74,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -130,6 +132,26 @@ class EthereumTransitionLogicTest {
 		assertFalse(subject.applicability().test(nonEthTxn));
 	}
 
+	@Test
+	void preFetchExpandsSpanAndWarmsCallTarget() {
+		given(spanMapAccessor.getEthTxBodyMeta(accessor)).willReturn(callTxn);
+
+		subject.preFetch(accessor);
+
+		verify(spanMapManager).expandEthereumSpan(accessor);
+		verify(contractCallTransitionLogic).preFetchOperation(callTxn.getContractCall());
+	}
+
+	@Test
+	void preFetchDoesNotWarmCreations() {
+		given(spanMapAccessor.getEthTxBodyMeta(accessor)).willReturn(createTxn);
+
+		subject.preFetch(accessor);
+
+		verify(spanMapManager).expandEthereumSpan(accessor);
+		verify(contractCallTransitionLogic, never()).preFetchOperation(any());
+	}
+
 	@Test
 	void doesntSupportDirectSemanticCheck() {
 		assertThrows(UnsupportedOperationException.class, subject::semanticCheck);
@@ -40,6 +40,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Optional;
@@ -149,12 +150,14 @@ class FreezeTransitionLogicTest {
 				true, TELEMETRY_UPGRADE, Optional.of(TELEMETRY_UPGRADE_FILE), Optional.of(PRETEND_HASH));
 		given(txnCtx.consensusTime()).willReturn(CONSENSUS_TIME);
 		given(specialFiles.hashMatches(TELEMETRY_UPGRADE_FILE, hashBytes)).willReturn(true);
-		given(specialFiles.get(TELEMETRY_UPGRADE_FILE)).willReturn(PRETEND_ARCHIVE);
+		final var archive = new ByteArrayInputStream(PRETEND_ARCHIVE);
+		given(specialFiles.getAsStream(TELEMETRY_UPGRADE_FILE)).willReturn(archive);
+		given(specialFiles.sizeOf(TELEMETRY_UPGRADE_FILE)).willReturn((long) PRETEND_ARCHIVE.length);
 
 		subject.doStateTransition();
 
 		final var timeUsed = timestampToInstant(freezeTxn.getFreeze().getStartTime());
-		verify(upgradeActions).extractTelemetryUpgrade(PRETEND_ARCHIVE, timeUsed);
+		verify(upgradeActions).extractTelemetryUpgrade(archive, PRETEND_ARCHIVE.length, timeUsed);
 	}
 
 	@Test
@@ -291,11 +294,13 @@ class FreezeTransitionLogicTest {
 	void unarchivesDataWithMatchingHash() {
 		givenTypicalTxnInCtx(false, PREPARE_UPGRADE, Optional.of(SOFTWARE_UPGRADE_FILE), Optional.of(PRETEND_HASH));
 		given(specialFiles.hashMatches(SOFTWARE_UPGRADE_FILE, hashBytes)).willReturn(true);
-		given(specialFiles.get(SOFTWARE_UPGRADE_FILE)).willReturn(PRETEND_ARCHIVE);
+		final var archive = new ByteArrayInputStream(PRETEND_ARCHIVE);
+		given(specialFiles.getAsStream(SOFTWARE_UPGRADE_FILE)).willReturn(archive);
+		given(specialFiles.sizeOf(SOFTWARE_UPGRADE_FILE)).willReturn((long) PRETEND_ARCHIVE.length);
 
 		subject.doStateTransition();
 
-		verify(upgradeActions).extractSoftwareUpgrade(PRETEND_ARCHIVE);
+		verify(upgradeActions).extractSoftwareUpgrade(archive, PRETEND_ARCHIVE.length);
 		verify(networkCtx).recordPreparedUpgrade(freezeTxn.getFreeze());
 	}
 
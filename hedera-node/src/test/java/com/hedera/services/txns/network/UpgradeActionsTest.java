@@ -39,6 +39,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -127,14 +128,16 @@ class UpgradeActionsTest {
 		given(networkCtx.hasPreparedUpgrade()).willReturn(true);
 		given(networkCtx.isPreparedFileHashValidGiven(specialFiles)).willReturn(true);
 		given(networkCtx.getPreparedUpdateFileNum()).willReturn(150L);
-		given(specialFiles.get(IdUtils.asFile("0.0.150"))).willReturn(PRETEND_ARCHIVE);
+		final var archive = new ByteArrayInputStream(PRETEND_ARCHIVE);
+		given(specialFiles.getAsStream(IdUtils.asFile("0.0.150"))).willReturn(archive);
+		given(specialFiles.sizeOf(IdUtils.asFile("0.0.150"))).willReturn((long) PRETEND_ARCHIVE.length);
 		given(dynamicProperties.upgradeArtifactsLoc()).willReturn(markerFilesLoc);
 		given(dualState.getFreezeTime()).willReturn(then);
 		given(dualState.getLastFrozenTime()).willReturn(then);
 
 		subject.catchUpOnMissedSideEffects();
 
-		verify(unzipAction).unzip(PRETEND_ARCHIVE, markerFilesLoc);
+		verify(unzipAction).unzip(archive, markerFilesLoc);
 		assertMarkerCreated(EXEC_IMMEDIATE_MARKER, null);
 	}
 
@@ -216,9 +219,10 @@ class UpgradeActionsTest {
 		rmIfPresent(EXEC_IMMEDIATE_MARKER);
 
 		given(dynamicProperties.upgradeArtifactsLoc()).willReturn(markerFilesLoc);
-		willThrow(IOException.class).given(unzipAction).unzip(PRETEND_ARCHIVE, markerFilesLoc);
+		final var archive = new ByteArrayInputStream(PRETEND_ARCHIVE);
+		willThrow(IOException.class).given(unzipAction).unzip(archive, markerFilesLoc);
 
-		subject.extractSoftwareUpgrade(PRETEND_ARCHIVE).join();
+		subject.extractSoftwareUpgrade(archive, PRETEND_ARCHIVE.length).join();
 
 		assertThat(
 				logCaptor.errorLogs(),
@@ -237,9 +241,11 @@ class UpgradeActionsTest {
 
 		given(dynamicProperties.upgradeArtifactsLoc()).willReturn(markerFilesLoc);
 
-		subject.extractSoftwareUpgrade(PRETEND_ARCHIVE).join();
+		final var archive = new ByteArrayInputStream(PRETEND_ARCHIVE);
 
-		verify(unzipAction).unzip(PRETEND_ARCHIVE, markerFilesLoc);
+		subject.extractSoftwareUpgrade(archive, PRETEND_ARCHIVE.length).join();
+
+		verify(unzipAction).unzip(archive, markerFilesLoc);
 		assertMarkerCreated(EXEC_IMMEDIATE_MARKER, null);
 		assertNoiseFilesAreGone();
 	}
@@ -250,9 +256,11 @@ class UpgradeActionsTest {
 
 		given(dynamicProperties.upgradeArtifactsLoc()).willReturn(markerFilesLoc);
 
-		subject.extractTelemetryUpgrade(PRETEND_ARCHIVE, then).join();
+		final var archive = new ByteArrayInputStream(PRETEND_ARCHIVE);
+
+		subject.extractTelemetryUpgrade(archive, PRETEND_ARCHIVE.length, then).join();
 
-		verify(unzipAction).unzip(PRETEND_ARCHIVE, markerFilesLoc);
+		verify(unzipAction).unzip(archive, markerFilesLoc);
 		assertMarkerCreated(EXEC_TELEMETRY_MARKER, then);
 	}
 
@@ -0,0 +1,45 @@
+package com.hedera.services.txns.prefetch;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCall;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCreate;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.EthereumTransaction;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrefetchLaneTest {
+    @Test
+    void mapsFunctionsToExpectedLanes() {
+        assertEquals(PrefetchLane.ETHEREUM, PrefetchLane.laneFor(EthereumTransaction));
+        assertEquals(PrefetchLane.CONTRACT, PrefetchLane.laneFor(ContractCall));
+        assertEquals(PrefetchLane.CONTRACT, PrefetchLane.laneFor(ContractCreate));
+    }
+
+    @Test
+    void lanesAreDeclaredInPriorityOrder() {
+        final var lanes = PrefetchLane.values();
+        assertEquals(PrefetchLane.ETHEREUM, lanes[0]);
+        assertEquals(PrefetchLane.CONTRACT, lanes[lanes.length - 1]);
+    }
+}
@@ -21,6 +21,8 @@ package com.hedera.services.txns.prefetch;
  */
 
 import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.stats.MiscSpeedometers;
 import com.hedera.services.txns.PreFetchableTransition;
 import com.hedera.services.txns.TransitionLogic;
 import com.hedera.services.txns.TransitionLogicLookup;
@@ -34,24 +36,28 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hedera.services.txns.prefetch.PrefetchProcessor.MINIMUM_QUEUE_CAPACITY;
 import static com.hedera.services.txns.prefetch.PrefetchProcessor.MINIMUM_THREAD_POOL_SIZE;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCall;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.EthereumTransaction;
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.anyDouble;
+import static org.mockito.BDDMockito.anyInt;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith({ MockitoExtension.class })
@@ -59,12 +65,15 @@ import static org.mockito.Mockito.verify;
 class PrefetchProcessorTest {
     @Mock NodeLocalProperties properties;
     @Mock TransitionLogicLookup lookup;
+    @Mock MiscRunningAvgs runningAvgs;
+    @Mock MiscSpeedometers speedometers;
     @Mock PlatformTxnAccessor accessor;
+    @Mock PlatformTxnAccessor otherAccessor;
+    @Mock PlatformTxnAccessor thirdAccessor;
     @Mock PreFetchableTransition logic;
+    @Mock ExecutorService idleExecutor;
 
     PrefetchProcessor processor;
-    List<Runnable> executed = new ArrayList<>();
-    List<Runnable> rejected = new ArrayList<>();
 
     @AfterEach
     void teardown() {
@@ -76,21 +85,18 @@ class PrefetchProcessorTest {
         given(properties.prefetchQueueCapacity()).willReturn(MINIMUM_QUEUE_CAPACITY + 1);
         given(properties.prefetchThreadPoolSize()).willReturn(MINIMUM_THREAD_POOL_SIZE + 1);
 
-        processor = new PrefetchProcessor(properties, lookup) {
+        processor = new PrefetchProcessor(properties, lookup, runningAvgs, speedometers) {
             @Override
-            ExecutorService createExecutorService(int threadPoolSize, BlockingQueue<Runnable> queue) {
-                assertEquals(MINIMUM_QUEUE_CAPACITY + 1, queue.remainingCapacity());
+            ExecutorService createExecutorService(int threadPoolSize) {
                 assertEquals(MINIMUM_THREAD_POOL_SIZE + 1, threadPoolSize);
-
-                return new ThreadPoolExecutor(
-                        threadPoolSize,
-                        threadPoolSize,
-                        0L,
-                        TimeUnit.MILLISECONDS,
-                        queue
-                );
+                return idleExecutor;
             }
         };
+
+        verify(idleExecutor, times(MINIMUM_THREAD_POOL_SIZE + 1)).execute(any());
+        for (final var lane : PrefetchLane.values()) {
+            assertEquals(MINIMUM_QUEUE_CAPACITY + 1, processor.lanes.get(lane).remainingCapacity());
+        }
     }
 
     @Test
@@ -98,117 +104,214 @@ class PrefetchProcessorTest {
         given(properties.prefetchQueueCapacity()).willReturn(2);
         given(properties.prefetchThreadPoolSize()).willReturn(1);
 
-        processor = new PrefetchProcessor(properties, lookup) {
+        processor = new PrefetchProcessor(properties, lookup, runningAvgs, speedometers) {
             @Override
-            ExecutorService createExecutorService(int threadPoolSize, BlockingQueue<Runnable> queue) {
-                assertEquals(MINIMUM_QUEUE_CAPACITY, queue.remainingCapacity());
+            ExecutorService createExecutorService(int threadPoolSize) {
                 assertEquals(MINIMUM_THREAD_POOL_SIZE, threadPoolSize);
-
-                return new ThreadPoolExecutor(
-                        threadPoolSize,
-                        threadPoolSize,
-                        0L,
-                        TimeUnit.MILLISECONDS,
-                        queue
-                );
-            }
-        };
-    }
-
-    BlockingQueue<Runnable> setupSubmit() {
-        given(properties.prefetchQueueCapacity()).willReturn(2);
-        given(properties.prefetchThreadPoolSize()).willReturn(1);
-
-        final AtomicReference<BlockingQueue<Runnable>> queueRef = new AtomicReference<>();
-        processor = new PrefetchProcessor(properties, lookup) {
-            @Override
-            ExecutorService createExecutorService(int threadPoolSize, BlockingQueue<Runnable> queue) {
-                queue = new ArrayBlockingQueue<>(2);
-                ThreadPoolExecutor execService = new ThreadPoolExecutor(
-                        threadPoolSize,
-                        threadPoolSize,
-                        0L,
-                        TimeUnit.MILLISECONDS,
-                        queue
-                ) {
-                    @Override
-                    @java.lang.SuppressWarnings("java:S2925")
-                    protected void beforeExecute(Thread t, Runnable r) {
-                        try {
-                            executed.add(r);
-                            Thread.sleep(10);   // need to wait to allow assertions to work
-                        } catch (InterruptedException e) {
-                            // noop
-                        }
-                    }
-                };
-                execService.setRejectedExecutionHandler((runnable, exec) -> {
-                    rejected.add(runnable);
-                });
-
-                this.queue = queue;
-                queueRef.set(queue);
-                return execService;
+                return idleExecutor;
             }
         };
 
-        return queueRef.get();
+        for (final var lane : PrefetchLane.values()) {
+            assertEquals(MINIMUM_QUEUE_CAPACITY, processor.lanes.get(lane).remainingCapacity());
+        }
     }
 
     @Test
     void submitSuccessful() {
         given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        given(accessor.getFunction()).willReturn(ContractCall);
+        setupRunning();
 
-        final var queue = setupSubmit();
         processor.submit(accessor);
 
-        await().until(() -> executed.size() == 1);
-
+        await().atMost(10, TimeUnit.SECONDS).until(() -> processor.inFlight.getIfPresent(accessor).isDone());
         verify(logic).preFetch(accessor);
+        verify(runningAvgs).recordPrefetchQueueDepth(anyInt());
     }
 
     @Test
     void submitNotPrefetchableLogic() {
         TransitionLogic logic = Mockito.mock(TransitionLogic.class);
         given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        setupIdle();
 
-        final var queue = setupSubmit();
         processor.submit(accessor);
 
-        await().atMost(200, TimeUnit.MILLISECONDS)
-                .until(() -> executed.size() == 0 && rejected.size() == 0);
+        assertNull(processor.nextTask());
+        assertNull(processor.inFlight.getIfPresent(accessor));
+    }
+
+    @Test
+    void submitEmptyTransitionLogic() {
+        given(lookup.lookupFor(any(), any())).willReturn(Optional.empty());
+        setupIdle();
+
+        assertDoesNotThrow(() -> processor.submit(accessor));
+        assertNull(processor.nextTask());
     }
 
     @Test
-    void failedSubmitQueueFull() {
+    void failedSubmitLaneFull() {
         given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        given(accessor.getFunction()).willReturn(ContractCall);
+        given(otherAccessor.getFunction()).willReturn(ContractCall);
+        given(thirdAccessor.getFunction()).willReturn(EthereumTransaction);
+        setupIdle();
 
-        final var queue = setupSubmit();
-        for (int i = 0; i < 20; i++) {
+        for (int i = 0; i < MINIMUM_QUEUE_CAPACITY; i++) {
             processor.submit(accessor);
         }
+        processor.submit(otherAccessor);
+        processor.submit(thirdAccessor);
 
-        await().atMost(10, TimeUnit.SECONDS).until(() -> rejected.size() > 0);
+        verify(speedometers).cyclePrefetchOverflows();
+        assertNull(processor.inFlight.getIfPresent(otherAccessor));
+        assertEquals(1, processor.lanes.get(PrefetchLane.ETHEREUM).size());
     }
 
     @Test
-    void submitEmptyTransitionLogic() {
-        given(lookup.lookupFor(any(), any())).willReturn(Optional.empty());
+    void workersDrainLanesInPriorityOrder() {
+        given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        given(accessor.getFunction()).willReturn(ContractCall);
+        given(otherAccessor.getFunction()).willReturn(EthereumTransaction);
+        setupIdle();
 
-        setupSubmit();
-        assertDoesNotThrow(() -> processor.submit(accessor));
+        processor.submit(accessor);
+        processor.submit(otherAccessor);
+
+        assertEquals(PrefetchLane.ETHEREUM, processor.nextTask().lane());
+        assertEquals(PrefetchLane.CONTRACT, processor.nextTask().lane());
+        assertNull(processor.nextTask());
+    }
+
+    @Test
+    void dropsTaskStillQueuedWhenHandleStarts() {
+        given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        given(accessor.getFunction()).willReturn(ContractCall);
+        setupIdle();
+
+        processor.submit(accessor);
+        processor.claim(accessor);
+        final var task = processor.nextTask();
+        task.run();
+
+        assertEquals(PrefetchTask.Status.DROPPED, task.status());
+        assertFalse(task.isDone());
+        verify(logic, never()).preFetch(accessor);
+        verify(speedometers).cyclePrefetchDeadlineDrops();
+        assertNull(processor.inFlight.getIfPresent(accessor));
+        processor.claim(accessor);
+        verify(speedometers).cyclePrefetchDeadlineDrops();
+    }
+
+    @Test
+    void recordsLeadTimeForFinishedTask() {
+        given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        given(accessor.getFunction()).willReturn(ContractCall);
+        setupIdle();
+
+        processor.submit(accessor);
+        final var task = processor.nextTask();
+        task.run();
+        processor.claim(accessor);
+
+        assertTrue(task.isDone());
+        assertEquals(PrefetchTask.Status.COMPLETED, task.status());
+        assertTrue(task.completedNanos() >= task.submittedNanos());
+        verify(logic).preFetch(accessor);
+        verify(runningAvgs).recordPrefetchLeadTimeMs(anyDouble());
+    }
+
+    @Test
+    void countsTaskStillRunningWhenHandleStarts() {
+        given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        given(accessor.getFunction()).willReturn(ContractCall);
+        setupIdle();
+        processor.submit(accessor);
+        final var task = processor.nextTask();
+        Mockito.doAnswer(invocation -> {
+            assertEquals(PrefetchTask.Status.RUNNING, task.status());
+            processor.claim(accessor);
+            return null;
+        }).when(logic).preFetch(accessor);
+
+        task.run();
+
+        verify(speedometers).cyclePrefetchLateFinishes();
+        verify(runningAvgs, never()).recordPrefetchLeadTimeMs(anyDouble());
     }
 
     @Test
     void submitExceptionThrownDuringRun() {
         given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        given(accessor.getFunction()).willReturn(ContractCall);
         doThrow(new RuntimeException("oh no")).when(logic).preFetch(accessor);
+        setupIdle();
 
-        final var queue = setupSubmit();
         processor.submit(accessor);
-
-        await().until(() -> executed.size() == 1);
+        final var task = processor.nextTask();
+        task.run();
 
         verify(logic).preFetch(accessor);
+        assertEquals(PrefetchTask.Status.FAILED, task.status());
+        assertTrue(task.isDone());
+    }
+
+    @Test
+    void failedTaskDoesNotReportLeadTime() {
+        given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        given(accessor.getFunction()).willReturn(ContractCall);
+        doThrow(new RuntimeException("oh no")).when(logic).preFetch(accessor);
+        setupIdle();
+
+        processor.submit(accessor);
+        processor.nextTask().run();
+        processor.claim(accessor);
+
+        assertNull(processor.inFlight.getIfPresent(accessor));
+        verify(runningAvgs, never()).recordPrefetchLeadTimeMs(anyDouble());
+        verify(speedometers, never()).cyclePrefetchLateFinishes();
+    }
+
+    @Test
+    void inFlightTasksAreBoundedByLaneCapacity() {
+        given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        setupIdle();
+
+        final var maxInFlight = (long) MINIMUM_QUEUE_CAPACITY * PrefetchLane.values().length;
+        for (long i = 0; i < maxInFlight + 100; i++) {
+            final var unhandled = Mockito.mock(PlatformTxnAccessor.class);
+            given(unhandled.getFunction()).willReturn(ContractCall);
+            processor.submit(unhandled);
+            processor.nextTask();
+        }
+        processor.inFlight.cleanUp();
+
+        assertTrue(processor.inFlight.size() <= maxInFlight);
+    }
+
+    private void setupIdle() {
+        given(properties.prefetchQueueCapacity()).willReturn(2);
+        given(properties.prefetchThreadPoolSize()).willReturn(1);
+
+        processor = new PrefetchProcessor(properties, lookup, runningAvgs, speedometers) {
+            @Override
+            ExecutorService createExecutorService(int threadPoolSize) {
+                return idleExecutor;
+            }
+        };
+    }
+
+    private void setupRunning() {
+        given(properties.prefetchQueueCapacity()).willReturn(2);
+        given(properties.prefetchThreadPoolSize()).willReturn(1);
+
+        processor = new PrefetchProcessor(properties, lookup, runningAvgs, speedometers) {
+            @Override
+            ExecutorService createExecutorService(int threadPoolSize) {
+                return Executors.newFixedThreadPool(threadPoolSize);
+            }
+        };
     }
 }
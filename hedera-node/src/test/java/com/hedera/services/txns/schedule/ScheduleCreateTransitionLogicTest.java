@@ -32,6 +32,8 @@ import com.hedera.services.state.submerkle.RichInstant;
 import com.hedera.services.state.virtual.schedule.ScheduleVirtualValue;
 import com.hedera.services.store.CreationResult;
 import com.hedera.services.store.schedule.ScheduleStore;
+import com.hedera.services.txns.span.ExpandHandleSpanMapAccessor;
+import com.hedera.services.txns.span.ScheduleCreateExpansion;
 import com.hedera.services.txns.validation.OptionValidator;
 import com.hedera.services.utils.accessors.SignedTxnAccessor;
 import com.hedera.test.factories.txns.SignedTxnFactory;
@@ -123,6 +125,7 @@ class ScheduleCreateTransitionLogicTest {
 	private SigMapScheduleClassifier classifier;
 	private GlobalDynamicProperties properties;
 	private ScheduleProcessing scheduleProcessing;
+	private ExpandHandleSpanMapAccessor spanMapAccessor;
 
 	private ScheduleCreateTransitionLogic subject;
 
@@ -138,6 +141,7 @@ class ScheduleCreateTransitionLogicTest {
 		sigImpactHistorian = mock(SigImpactHistorian.class);
 		properties = mock(GlobalDynamicProperties.class);
 		scheduleProcessing = mock(ScheduleProcessing.class);
+		spanMapAccessor = mock(ExpandHandleSpanMapAccessor.class);
 		given(accessor.getTxnBytes()).willReturn(bodyBytes);
 
 		classifier = mock(SigMapScheduleClassifier.class);
@@ -152,7 +156,8 @@ class ScheduleCreateTransitionLogicTest {
 		given(txnCtx.activePayerKey()).willReturn(payerKey);
 
 		subject = new ScheduleCreateTransitionLogic(properties,
-				store, txnCtx, activationHelper, validator, executor, sigImpactHistorian, scheduleProcessing);
+				store, txnCtx, activationHelper, validator, executor, sigImpactHistorian, scheduleProcessing,
+				spanMapAccessor);
 
 		subject.signingsWitness = replSigningWitness;
 		subject.classifier = classifier;
@@ -271,6 +276,22 @@ class ScheduleCreateTransitionLogicTest {
 		verify(txnCtx).setScheduledTxnId(scheduledTxnId);
 	}
 
+	@Test
+	void usesExpandedScheduleIfPresent() {
+		givenValidTxnCtx();
+		given(scheduleValue.scheduledTransactionId()).willReturn(scheduledTxnId);
+		given(spanMapAccessor.getScheduleCreateExpansion(accessor))
+				.willReturn(new ScheduleCreateExpansion(scheduleValue, 123L, "456"));
+		given(store.lookupSchedule(scheduleValue, 123L, "456")).willReturn(Pair.of(schedule, scheduleValue));
+
+		subject.doStateTransition();
+
+		verify(store, never()).lookupSchedule(bodyBytes);
+		verify(store, never()).createProvisionally(any(), any());
+		verify(txnCtx).setStatus(IDENTICAL_SCHEDULE_ALREADY_CREATED);
+		verify(txnCtx).setCreated(schedule);
+	}
+
 	@Test
 	void rollsBackForAnyNonOkSigning() throws InvalidProtocolBufferException {
 		givenValidTxnCtx();
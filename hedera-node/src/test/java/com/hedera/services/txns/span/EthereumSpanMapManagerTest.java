@@ -31,6 +31,7 @@ import com.hedera.services.files.MetadataMapFactory;
 import com.hedera.services.grpc.marshalling.ImpliedTransfersMarshal;
 import com.hedera.services.ledger.SigImpactHistorian;
 import com.hedera.services.ledger.accounts.AliasManager;
+import com.hedera.services.stats.SpanExpansionCounters;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.legacy.core.jproto.JKeyList;
 import com.hedera.services.sigs.order.LinkedRefs;
@@ -114,6 +115,8 @@ class EthereumSpanMapManagerTest {
 	@Mock
 	private SigImpactHistorian sigImpactHistorian;
 	@Mock
+	private SpanExpansionCounters spanCounters;
+	@Mock
 	private SyntheticTxnFactory syntheticTxnFactory;
 
 	private final Map<String, Object> spanMap = new HashMap<>();
@@ -126,7 +129,7 @@ class EthereumSpanMapManagerTest {
 		subject = new SpanMapManager(
 				sigsFunction, contractCallTransitionLogic, new ExpandHandleSpanMapAccessor(),
 				impliedTransfersMarshal, dynamicProperties, stateViewFactory,
-				syntheticTxnFactory, customFeeSchedules, sigImpactHistorian, workingState, aliasManager);
+				syntheticTxnFactory, customFeeSchedules, sigImpactHistorian, workingState, aliasManager, spanCounters);
 	}
 
 	@Test
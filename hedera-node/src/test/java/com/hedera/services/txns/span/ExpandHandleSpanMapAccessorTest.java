@@ -23,6 +23,7 @@ package com.hedera.services.txns.span;
 import com.hedera.services.ethereum.EthTxData;
 import com.hedera.services.ethereum.EthTxSigs;
 import com.hedera.services.sigs.order.LinkedRefs;
+import com.hedera.services.state.virtual.schedule.ScheduleVirtualValue;
 import com.hedera.services.usage.crypto.CryptoApproveAllowanceMeta;
 import com.hedera.services.usage.crypto.CryptoCreateMeta;
 import com.hedera.services.usage.crypto.CryptoDeleteAllowanceMeta;
@@ -45,6 +46,7 @@ import java.util.Map;
 import static com.hedera.services.usage.token.TokenOpsUsageUtils.TOKEN_OPS_USAGE_UTILS;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INSUFFICIENT_ACCOUNT_BALANCE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.BDDMockito.given;
 
@@ -73,6 +75,35 @@ class ExpandHandleSpanMapAccessorTest {
 		assertSame(expansion, subject.getEthTxExpansion(accessor));
 	}
 
+	@Test
+	void managesTokenOpsAndTopicExpansionsAsExpected() {
+		final var tokenOpsExpansion = new TokenOpsExpansion(new LinkedRefs(), INSUFFICIENT_ACCOUNT_BALANCE);
+		final var topicExpansion = new TopicExpansion(new LinkedRefs(), INSUFFICIENT_ACCOUNT_BALANCE);
+
+		subject.setTokenOpsExpansion(accessor, tokenOpsExpansion);
+		subject.setTopicExpansion(accessor, topicExpansion);
+
+		assertSame(tokenOpsExpansion, subject.getTokenOpsExpansion(accessor));
+		assertSame(topicExpansion, subject.getTopicExpansion(accessor));
+
+		subject.clearTokenOpsExpansion(span);
+		subject.clearTopicExpansion(span);
+
+		assertNull(subject.getTokenOpsExpansion(accessor));
+		assertNull(subject.getTopicExpansion(accessor));
+	}
+
+	@Test
+	void managesScheduleCreateExpansionAsExpected() {
+		final var expansion = new ScheduleCreateExpansion(new ScheduleVirtualValue(), 123L, "456");
+
+		subject.setScheduleCreateExpansion(accessor, expansion);
+		assertSame(expansion, subject.getScheduleCreateExpansion(accessor));
+
+		subject.clearScheduleCreateExpansion(span);
+		assertNull(subject.getScheduleCreateExpansion(accessor));
+	}
+
 	@Test
 	void testsForImpliedXfersAsExpected() {
 		Assertions.assertDoesNotThrow(() -> subject.getImpliedTransfers(accessor));
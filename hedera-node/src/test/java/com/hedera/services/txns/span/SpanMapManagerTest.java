@@ -21,6 +21,7 @@ package com.hedera.services.txns.span;
  */
 
 import com.hedera.services.context.MutableStateChildren;
+import com.hedera.services.context.StateChildren;
 import com.hedera.services.context.primitives.SignedStateViewFactory;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.ethereum.EthTxData;
@@ -30,35 +31,66 @@ import com.hedera.services.grpc.marshalling.ImpliedTransfers;
 import com.hedera.services.grpc.marshalling.ImpliedTransfersMarshal;
 import com.hedera.services.grpc.marshalling.ImpliedTransfersMeta;
 import com.hedera.services.ledger.SigImpactHistorian;
+import com.hedera.services.sigs.order.LinkedRefs;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleToken;
+import com.hedera.services.state.merkle.MerkleTopic;
 import com.hedera.services.ledger.accounts.AliasManager;
+import com.hedera.services.stats.SpanExpansionCounters;
 import com.hedera.services.state.submerkle.FcAssessedCustomFee;
 import com.hedera.services.state.submerkle.FcCustomFee;
+import com.hedera.services.state.virtual.schedule.ScheduleVirtualValue;
 import com.hedera.services.store.contracts.precompile.SyntheticTxnFactory;
 import com.hedera.services.store.models.Id;
 import com.hedera.services.txns.contract.ContractCallTransitionLogic;
 import com.hedera.services.txns.customfees.CustomFeeSchedules;
 import com.hedera.services.usage.crypto.CryptoTransferMeta;
+import com.hedera.services.utils.EntityNum;
 import com.hedera.services.utils.accessors.TxnAccessor;
 import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.ConsensusSubmitMessageTransactionBody;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.SchedulableTransactionBody;
+import com.hederahashgraph.api.proto.java.ScheduleCreateTransactionBody;
+import com.hederahashgraph.api.proto.java.TokenAssociateTransactionBody;
+import com.hederahashgraph.api.proto.java.TokenID;
+import com.hederahashgraph.api.proto.java.TokenMintTransactionBody;
+import com.hederahashgraph.api.proto.java.TopicID;
 import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.swirlds.merkle.map.MerkleMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 import static com.hedera.services.grpc.marshalling.ImpliedTransfers.NO_ALIASES;
 import static com.hedera.services.grpc.marshalling.ImpliedTransfers.NO_CUSTOM_FEES;
 import static com.hedera.services.grpc.marshalling.ImpliedTransfers.NO_CUSTOM_FEE_META;
+import static com.hedera.services.ledger.SigImpactHistorian.ChangeStatus.CHANGED;
+import static com.hedera.services.ledger.SigImpactHistorian.ChangeStatus.UNCHANGED;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ConsensusSubmitMessage;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ScheduleCreate;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenAssociateToAccount;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenMint;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.ACCOUNT_DELETED;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.ACCOUNT_REPEATED_IN_ACCOUNT_AMOUNTS;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_TOKEN_ID;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_TOPIC_ID;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.TOKEN_WAS_DELETED;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
@@ -143,7 +175,17 @@ class SpanMapManagerTest {
 	@Mock
 	private SigImpactHistorian sigImpactHistorian;
 	@Mock
+	private SpanExpansionCounters spanCounters;
+	@Mock
 	private SyntheticTxnFactory syntheticTxnFactory;
+	@Mock
+	private StateChildren signedStateChildren;
+	@Mock
+	private MerkleMap<EntityNum, MerkleToken> tokens;
+	@Mock
+	private MerkleMap<EntityNum, MerkleAccount> accounts;
+	@Mock
+	private MerkleMap<EntityNum, MerkleTopic> topics;
 
 	private SpanMapManager subject;
 
@@ -152,7 +194,7 @@ class SpanMapManagerTest {
 		subject = new SpanMapManager(
 				sigsFunction, contractCallTransitionLogic, new ExpandHandleSpanMapAccessor(),
 				impliedTransfersMarshal, dynamicProperties, stateViewFactory,
-				syntheticTxnFactory, customFeeSchedules, sigImpactHistorian, workingState, aliasManager);
+				syntheticTxnFactory, customFeeSchedules, sigImpactHistorian, workingState, aliasManager, spanCounters);
 	}
 
 	@Test
@@ -271,4 +313,219 @@ class SpanMapManagerTest {
 		verify(impliedTransfersMarshal).unmarshalFromGrpc(pretendXferTxn.getCryptoTransfer(), payer);
 		assertSame(feeChangedImpliedTransfers, spanMapAccessor.getImpliedTransfers(accessor));
 	}
+
+	@Test
+	void expandsTokenOpsSpanWithMissingTokenFromSignedState() {
+		givenSignedState();
+		given(accessor.getTxn()).willReturn(mintTxn);
+		given(accessor.getSpanMap()).willReturn(span);
+		given(accessor.getFunction()).willReturn(TokenMint);
+		given(signedStateChildren.tokens()).willReturn(tokens);
+
+		subject.expandSpan(accessor);
+
+		final var expansion = spanMapAccessor.getTokenOpsExpansion(accessor);
+		assertEquals(INVALID_TOKEN_ID, expansion.result());
+		assertEquals(targetToken.getTokenNum(), expansion.linkedRefs().linkedNumbers()[0]);
+		assertEquals(signedAt, expansion.linkedRefs().getSourceSignedAt());
+	}
+
+	@Test
+	void expandsTokenOpsSpanWithDeletedToken() {
+		givenSignedState();
+		given(accessor.getTxn()).willReturn(mintTxn);
+		given(accessor.getSpanMap()).willReturn(span);
+		given(accessor.getFunction()).willReturn(TokenMint);
+		given(signedStateChildren.tokens()).willReturn(tokens);
+		final var deletedToken = new MerkleToken();
+		deletedToken.setDeleted(true);
+		given(tokens.get(EntityNum.fromTokenId(targetToken))).willReturn(deletedToken);
+
+		subject.expandSpan(accessor);
+
+		assertEquals(TOKEN_WAS_DELETED, spanMapAccessor.getTokenOpsExpansion(accessor).result());
+	}
+
+	@Test
+	void expandsTokenOpsSpanWithDeletedAccount() {
+		givenSignedState();
+		given(accessor.getTxn()).willReturn(associateTxn);
+		given(accessor.getSpanMap()).willReturn(span);
+		given(accessor.getFunction()).willReturn(TokenAssociateToAccount);
+		given(signedStateChildren.accounts()).willReturn(accounts);
+		final var deletedAccount = new MerkleAccount();
+		deletedAccount.setDeleted(true);
+		given(accounts.get(EntityNum.fromAccountId(payer))).willReturn(deletedAccount);
+
+		subject.expandSpan(accessor);
+
+		assertEquals(ACCOUNT_DELETED, spanMapAccessor.getTokenOpsExpansion(accessor).result());
+	}
+
+	@Test
+	void skipsTokenOpsExpansionWithoutSignedState() {
+		given(accessor.getFunction()).willReturn(TokenMint);
+		given(stateViewFactory.childrenOfLatestSignedState()).willReturn(Optional.empty());
+
+		subject.expandSpan(accessor);
+
+		verify(accessor, never()).getSpanMap();
+	}
+
+	@Test
+	void expandsTopicSpanFromSignedState() {
+		givenSignedState();
+		given(accessor.getTxn()).willReturn(submitTxn);
+		given(accessor.getSpanMap()).willReturn(span);
+		given(accessor.getFunction()).willReturn(ConsensusSubmitMessage);
+		given(signedStateChildren.topics()).willReturn(topics);
+		given(topics.get(EntityNum.fromTopicId(targetTopic))).willReturn(new MerkleTopic());
+
+		subject.expandSpan(accessor);
+
+		assertEquals(OK, spanMapAccessor.getTopicExpansion(accessor).topicStatus());
+	}
+
+	@Test
+	void reusesUnchangedTokenOpsExpansion() {
+		final var linkedRefs = new LinkedRefs(signedAt);
+		linkedRefs.link(targetToken.getTokenNum());
+		final var expansion = new TokenOpsExpansion(linkedRefs, TOKEN_WAS_DELETED);
+		spanMapAccessor.setTokenOpsExpansion(span, expansion);
+		given(accessor.getSpanMap()).willReturn(span);
+		given(accessor.getFunction()).willReturn(TokenMint);
+		given(sigImpactHistorian.entityStatusSince(signedAt, targetToken.getTokenNum())).willReturn(UNCHANGED);
+
+		subject.rationalizeSpan(accessor);
+
+		verify(spanCounters).countHit(TokenMint);
+		verify(accessor, never()).setRationalizedSpanMap(any());
+	}
+
+	@Test
+	void discardsChangedTokenOpsExpansion() {
+		final var linkedRefs = new LinkedRefs(signedAt);
+		linkedRefs.link(targetToken.getTokenNum());
+		spanMapAccessor.setTokenOpsExpansion(span, new TokenOpsExpansion(linkedRefs, TOKEN_WAS_DELETED));
+		span.put("somethingElse", pretendXferTxn);
+		given(accessor.getSpanMap()).willReturn(span);
+		given(accessor.getFunction()).willReturn(TokenMint);
+		given(sigImpactHistorian.entityStatusSince(signedAt, targetToken.getTokenNum())).willReturn(CHANGED);
+		final ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+
+		subject.rationalizeSpan(accessor);
+
+		verify(spanCounters).countMiss(TokenMint);
+		verify(accessor).setRationalizedSpanMap(captor.capture());
+		final var rationalized = captor.getValue();
+		assertEquals(1, rationalized.size());
+		assertSame(pretendXferTxn, rationalized.get("somethingElse"));
+	}
+
+	@Test
+	void countsMissingTopicExpansionAsMiss() {
+		given(accessor.getSpanMap()).willReturn(span);
+		given(accessor.getFunction()).willReturn(ConsensusSubmitMessage);
+
+		subject.rationalizeSpan(accessor);
+
+		verify(spanCounters).countMiss(ConsensusSubmitMessage);
+		verify(accessor, never()).setRationalizedSpanMap(any());
+	}
+
+	@Test
+	void discardsChangedTopicExpansion() {
+		final var linkedRefs = new LinkedRefs(signedAt);
+		linkedRefs.link(targetTopic.getTopicNum());
+		given(accessor.getSpanMap()).willReturn(span);
+		spanMapAccessor.setTopicExpansion(accessor, new TopicExpansion(linkedRefs, INVALID_TOPIC_ID));
+		given(accessor.getFunction()).willReturn(ConsensusSubmitMessage);
+		given(sigImpactHistorian.entityStatusSince(signedAt, targetTopic.getTopicNum())).willReturn(CHANGED);
+		final ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+
+		subject.rationalizeSpan(accessor);
+
+		verify(spanCounters).countMiss(ConsensusSubmitMessage);
+		verify(accessor).setRationalizedSpanMap(captor.capture());
+		assertEquals(0, captor.getValue().size());
+	}
+
+	@Test
+	void expandsScheduleCreateSpan() {
+		given(accessor.getTxnBytes()).willReturn(scheduleCreateBytes);
+		given(accessor.getSpanMap()).willReturn(span);
+		given(accessor.getFunction()).willReturn(ScheduleCreate);
+		final var expected = ScheduleVirtualValue.from(scheduleCreateBytes, 0L);
+
+		subject.expandSpan(accessor);
+
+		final var expansion = spanMapAccessor.getScheduleCreateExpansion(accessor);
+		assertEquals(expected, expansion.schedule());
+		assertEquals(expected.equalityCheckKey(), expansion.equalityKey());
+		assertEquals(expected.equalityCheckValue(), expansion.equalityValue());
+	}
+
+	@Test
+	void skipsScheduleCreateExpansionForUnparseableBody() {
+		given(accessor.getTxnBytes()).willReturn(new byte[] { (byte) 0xff });
+		given(accessor.getFunction()).willReturn(ScheduleCreate);
+
+		subject.expandSpan(accessor);
+
+		verify(accessor, never()).getSpanMap();
+	}
+
+	@Test
+	void reusesMatchingScheduleCreateExpansion() {
+		span.put("scheduleCreateExpansion", ScheduleCreateExpansion.from(scheduleCreateBytes));
+		given(accessor.getTxnBytes()).willReturn(scheduleCreateBytes.clone());
+		given(accessor.getSpanMap()).willReturn(span);
+		given(accessor.getFunction()).willReturn(ScheduleCreate);
+
+		subject.rationalizeSpan(accessor);
+
+		verify(spanCounters).countHit(ScheduleCreate);
+		verify(accessor, never()).setRationalizedSpanMap(any());
+	}
+
+	@Test
+	void discardsMismatchedScheduleCreateExpansion() {
+		span.put("scheduleCreateExpansion", ScheduleCreateExpansion.from(scheduleCreateBytes));
+		given(accessor.getTxnBytes()).willReturn(submitTxn.toByteArray());
+		given(accessor.getSpanMap()).willReturn(span);
+		given(accessor.getFunction()).willReturn(ScheduleCreate);
+		final ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+
+		subject.rationalizeSpan(accessor);
+
+		verify(spanCounters).countMiss(ScheduleCreate);
+		verify(accessor).setRationalizedSpanMap(captor.capture());
+		assertEquals(0, captor.getValue().size());
+	}
+
+	private void givenSignedState() {
+		given(stateViewFactory.childrenOfLatestSignedState()).willReturn(Optional.of(signedStateChildren));
+		given(signedStateChildren.signedAt()).willReturn(signedAt);
+	}
+
+	private final Instant signedAt = Instant.ofEpochSecond(1_234_567L, 890);
+	private final TokenID targetToken = TokenID.newBuilder().setTokenNum(666L).build();
+	private final TopicID targetTopic = TopicID.newBuilder().setTopicNum(777L).build();
+	private final TransactionBody mintTxn = TransactionBody.newBuilder()
+			.setTokenMint(TokenMintTransactionBody.newBuilder().setToken(targetToken))
+			.build();
+	private final TransactionBody associateTxn = TransactionBody.newBuilder()
+			.setTokenAssociate(TokenAssociateTransactionBody.newBuilder().setAccount(payer).addTokens(targetToken))
+			.build();
+	private final TransactionBody submitTxn = TransactionBody.newBuilder()
+			.setConsensusSubmitMessage(ConsensusSubmitMessageTransactionBody.newBuilder().setTopicID(targetTopic))
+			.build();
+	private final byte[] scheduleCreateBytes = TransactionBody.newBuilder()
+			.setTransactionID(TransactionID.newBuilder().setAccountID(payer))
+			.setScheduleCreate(ScheduleCreateTransactionBody.newBuilder()
+					.setMemo("Identical")
+					.setScheduledTransactionBody(SchedulableTransactionBody.newBuilder()
+							.setCryptoTransfer(CryptoTransferTransactionBody.getDefaultInstance())))
+			.build()
+			.toByteArray();
 }
@@ -0,0 +1,128 @@
+package com.hedera.services.txns.submission;
+
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2022 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.stats.MiscRunningAvgs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.verifyNoInteractions;
+import static org.mockito.Mockito.timeout;
+
+@ExtendWith(MockitoExtension.class)
+class IngestWorkerStageTest {
+	@Mock
+	private NodeLocalProperties nodeLocalProperties;
+	@Mock
+	private MiscRunningAvgs runningAvgs;
+
+	private IngestWorkerStage subject;
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		if (subject != null) {
+			subject.shutdown(1, TimeUnit.SECONDS);
+		}
+	}
+
+	@Test
+	void runsInlineInEventLoopMode() {
+		given(nodeLocalProperties.nettyIngestMode()).willReturn(IngestMode.EVENT_LOOP);
+		subject = new IngestWorkerStage(nodeLocalProperties, runningAvgs);
+		final var runner = new AtomicReference<Thread>();
+
+		assertTrue(subject.tryRun(() -> runner.set(Thread.currentThread())));
+
+		assertSame(Thread.currentThread(), runner.get());
+		verifyNoInteractions(runningAvgs);
+	}
+
+	@Test
+	void runsOnWorkerAndRecordsTimingsInPoolMode() throws InterruptedException {
+		givenPool(1, 1);
+		final var done = new CountDownLatch(1);
+		final var runner = new AtomicReference<Thread>();
+
+		assertTrue(subject.tryRun(() -> {
+			runner.set(Thread.currentThread());
+			done.countDown();
+		}));
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertTrue(runner.get().getName().startsWith(IngestWorkerStage.THREAD_NAME_PREFIX));
+		assertTrue(runner.get().isDaemon());
+		verify(runningAvgs, timeout(5_000)).recordIngestQueueWaitUs(anyDouble());
+		verify(runningAvgs, timeout(5_000)).recordIngestWorkUs(anyDouble());
+	}
+
+	@Test
+	void refusesWorkWhenQueueIsFull() throws InterruptedException {
+		givenPool(1, 1);
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		final Runnable blocker = () -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+
+		assertTrue(subject.tryRun(blocker));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		assertTrue(subject.tryRun(() -> { }));
+		assertFalse(subject.tryRun(() -> { }));
+
+		release.countDown();
+	}
+
+	@Test
+	void refusesWorkAfterShutdown() throws InterruptedException {
+		givenPool(1, 1);
+
+		subject.shutdown(1, TimeUnit.SECONDS);
+
+		assertFalse(subject.tryRun(() -> { }));
+	}
+
+	private void givenPool(final int threads, final int capacity) {
+		given(nodeLocalProperties.nettyIngestMode()).willReturn(IngestMode.WORKER_POOL);
+		given(nodeLocalProperties.nettyIngestWorkerThreads()).willReturn(threads);
+		given(nodeLocalProperties.nettyIngestQueueCapacity()).willReturn(capacity);
+		subject = new IngestWorkerStage(nodeLocalProperties, runningAvgs);
+	}
+}
@@ -35,15 +35,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import static com.hedera.services.txns.submission.TxnResponseHelper.BUSY_RESPONSE;
 import static com.hedera.services.txns.submission.TxnResponseHelper.FAIL_INVALID_RESPONSE;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.inOrder;
 import static org.mockito.BDDMockito.mock;
 import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.willReturn;
 import static org.mockito.Mockito.mockStatic;
 
 @ExtendWith({ LogCaptureExtension.class })
@@ -54,6 +57,7 @@ class TxnResponseHelperTest {
 
 	private SubmissionFlow submissionFlow;
 	private HapiOpCounters opCounters;
+	private IngestWorkerStage ingestStage;
 	private StreamObserver<TransactionResponse> observer;
 
 	@LoggingTarget
@@ -71,7 +75,13 @@ class TxnResponseHelperTest {
 		given(okResponse.getNodeTransactionPrecheckCode()).willReturn(OK);
 		notOkResponse = mock(TransactionResponse.class);
 
-		subject = new TxnResponseHelper(submissionFlow, opCounters);
+		ingestStage = mock(IngestWorkerStage.class);
+		given(ingestStage.tryRun(any())).willAnswer(invocation -> {
+			invocation.<Runnable>getArgument(0).run();
+			return true;
+		});
+
+		subject = new TxnResponseHelper(submissionFlow, opCounters, ingestStage);
 	}
 
 	@Test
@@ -125,4 +135,18 @@ class TxnResponseHelperTest {
 			inOrder.verify(opCounters, never()).countSubmitted(CryptoTransfer);
 		}
 	}
+
+	@Test
+	void respondsBusyIfIngestStageRefusesWork() {
+		final var inOrder = inOrder(submissionFlow, opCounters, observer);
+		willReturn(false).given(ingestStage).tryRun(any());
+
+		subject.submit(txn, observer, CryptoTransfer);
+
+		inOrder.verify(opCounters).countReceived(CryptoTransfer);
+		inOrder.verify(observer).onNext(BUSY_RESPONSE);
+		inOrder.verify(observer).onCompleted();
+		inOrder.verify(submissionFlow, never()).submit(txn);
+		inOrder.verify(opCounters, never()).countSubmitted(CryptoTransfer);
+	}
 }
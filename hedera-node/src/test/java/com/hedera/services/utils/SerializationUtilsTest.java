@@ -20,11 +20,12 @@ package com.hedera.services.utils;
  * ‍
  */
 
+import com.hedera.services.state.merkle.internals.PackedAllowanceMap;
+import com.hedera.services.state.merkle.internals.PackedAllowanceSet;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
-import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -33,18 +34,18 @@ class SerializationUtilsTest {
 	@Test
 	void deserializesEmptyFungibleAllowancesAsSingletonEmptyMap() throws IOException {
 		final var in = mock(SerializableDataInputStream.class);
-		assertSame(Collections.emptyMap(), SerializationUtils.deserializeFungibleTokenAllowances(in));
+		assertSame(PackedAllowanceMap.emptyTokenAllowances(), SerializationUtils.deserializeFungibleTokenAllowances(in));
 	}
 
 	@Test
 	void deserializesEmptyCryptoAllowancesAsSingletonEmptyMap() throws IOException {
 		final var in = mock(SerializableDataInputStream.class);
-		assertSame(Collections.emptyMap(), SerializationUtils.deserializeCryptoAllowances(in));
+		assertSame(PackedAllowanceMap.emptyCryptoAllowances(), SerializationUtils.deserializeCryptoAllowances(in));
 	}
 
 	@Test
 	void deserializesEmptyNftAllowancesAsSingletonEmptyMap() throws IOException {
 		final var in = mock(SerializableDataInputStream.class);
-		assertSame(Collections.emptySet(), SerializationUtils.deserializeApproveForAllNftsAllowances(in));
+		assertSame(PackedAllowanceSet.emptyNftAllowances(), SerializationUtils.deserializeApproveForAllNftsAllowances(in));
 	}
 }
@@ -480,20 +480,15 @@ class PlatformTxnAccessorTest {
 				"}\n" +
 				", submitMessageMeta=SubmitMessageMeta[numMsgBytes=0], xferUsageMeta=null, " +
 				"txnUsageMeta=BaseTransactionMeta[memoUtf8Bytes=3, numExplicitTransfers=0], " +
-				"function=ConsensusSubmitMessage, pubKeyToSigBytes=PojoSigMapPubKeyToSigBytes{pojoSigMap=PojoSigMap" +
-				"{keyTypes=[ED25519], rawMap=[[[97], [48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51, 52, 53, " +
-				"54, 55, 56, 57, 48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, " +
-				"49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51]]]}, " +
-				"used=[false]}, payer=accountNum: 2\n" +
+				"function=ConsensusSubmitMessage, pubKeyToSigBytes=OffsetSigMapPubKeyToSigBytes{" +
+				"sigMap=OffsetSigMap{keyTypes=[ED25519], pubKeyPrefixes=[61]}, used=[false]}, payer=accountNum: 2\n" +
 				", scheduleRef=null}, platformTxn=Transaction{contents=[26, 71, 10, 69, 10, 1, 97, 26, 64, 48, 49, 50, " +
 				"51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51, 52, 53, 54, 55, " +
 				"56, 57, 48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, " +
 				"51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51, 34, 20, 10, 4, 18, 2, 24, 2, 24, 10, 50, 3, 72, 105, 33, " +
 				"-38, 1, 4, 10, 2, 24, 10], signatures=null}, linkedRefs=null, expandedSigStatus=null, " +
-				"pubKeyToSigBytes=PojoSigMapPubKeyToSigBytes{pojoSigMap=PojoSigMap{keyTypes=[ED25519], rawMap=[[[97], " +
-				"[48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51, 52, " +
-				"53, 54, 55, 56, 57, 48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51, 52, 53, 54, 55, 56, 57, " +
-				"48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51]]]}, used=[false]}, sigMeta=null}";
+				"pubKeyToSigBytes=OffsetSigMapPubKeyToSigBytes{" +
+				"sigMap=OffsetSigMap{keyTypes=[ED25519], pubKeyPrefixes=[61]}, used=[false]}, sigMeta=null}";
 
 		assertEquals(expectedString, subject.toLoggableString());
 	}
@@ -872,12 +872,8 @@ class SignedTxnAccessorTest {
 				"}\n" +
 				", submitMessageMeta=SubmitMessageMeta[numMsgBytes=0], xferUsageMeta=null, " +
 				"txnUsageMeta=BaseTransactionMeta[memoUtf8Bytes=3, numExplicitTransfers=0], " +
-				"function=ConsensusSubmitMessage, pubKeyToSigBytes=PojoSigMapPubKeyToSigBytes{pojoSigMap=PojoSigMap" +
-				"{keyTypes=[ED25519], rawMap=[[[97], [48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51, 52, 53," +
-				" " +
-				"54, 55, 56, 57, 48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, " +
-				"49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51, 52, 53, 54, 55, 56, 57, 48, 49, 50, 51]]]}, " +
-				"used=[false]}, payer=accountNum: 2\n" +
+				"function=ConsensusSubmitMessage, pubKeyToSigBytes=OffsetSigMapPubKeyToSigBytes{" +
+				"sigMap=OffsetSigMap{keyTypes=[ED25519], pubKeyPrefixes=[61]}, used=[false]}, payer=accountNum: 2\n" +
 				", scheduleRef=null}";
 
 		assertEquals(expectedString, subject.toLoggableString());
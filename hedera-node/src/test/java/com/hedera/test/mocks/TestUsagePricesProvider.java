@@ -97,6 +97,11 @@ public enum TestUsagePricesProvider implements UsagePricesProvider {
 		return Triple.of(prices, now, prices);
 	}
 
+	@Override
+	public long scheduleGeneration() {
+		return 0L;
+	}
+
 
 	private Map<HederaFunctionality, Map<SubType, FeeData>> applicableUsagePrices(Timestamp at) {
 		if (onlyNextScheduleApplies(at)) {
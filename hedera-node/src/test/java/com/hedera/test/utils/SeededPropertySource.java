@@ -67,6 +67,7 @@ import com.hedera.services.state.virtual.ContractKey;
 import com.hedera.services.state.virtual.ContractValue;
 import com.hedera.services.state.virtual.VirtualBlobKey;
 import com.hedera.services.state.virtual.VirtualBlobValue;
+import com.hedera.services.store.contracts.ContractStateChanges;
 import com.hedera.services.stream.RecordsRunningHashLeaf;
 import com.hedera.services.throttles.DeterministicThrottle;
 import com.hedera.services.utils.EntityNum;
@@ -705,7 +706,7 @@ public class SeededPropertySource {
 		return IntStream.range(0, nextNonZeroInt(n)).mapToObj(i -> nextBytes(256)).toList();
 	}
 
-	public Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> nextStateChanges(int n, final int changesPerAddress) {
+	public ContractStateChanges nextStateChanges(int n, final int changesPerAddress) {
 		final Map<Address, Map<Bytes, Pair<Bytes, Bytes>>> ans = new TreeMap<>();
 		while (n-- > 0) {
 			final var address = nextAddress();
@@ -715,7 +716,7 @@ public class SeededPropertySource {
 			}
 			ans.put(address, changes);
 		}
-		return ans;
+		return ContractStateChanges.from(ans);
 	}
 
 	public Pair<Bytes, Bytes> nextStateChangePair() {
@@ -25,6 +25,7 @@ import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.EvmFnResult;
 import com.hedera.services.state.submerkle.EvmLog;
 import com.hedera.services.sysfiles.serdes.ThrottlesJsonToProtoSerde;
+import com.hedera.services.store.contracts.ContractStateChanges;
 import com.hedera.services.utils.BytesComparator;
 import com.hederahashgraph.api.proto.java.ContractFunctionResult;
 import com.hederahashgraph.api.proto.java.ContractLoginfo;
@@ -97,7 +98,7 @@ public class SerdeUtils {
 				that.getLogInfoList().stream().map(SerdeUtils::fromGrpc).toList(),
 				that.getCreatedContractIDsList().stream().map(EntityId::fromGrpcContractId).toList(),
 				that.hasEvmAddress() ? that.getEvmAddress().getValue().toByteArray() : EvmFnResult.EMPTY,
-				that.getStateChangesList().stream().collect(Collectors.toMap(
+				ContractStateChanges.from(that.getStateChangesList().stream().collect(Collectors.toMap(
 						csc -> Address.wrap(Bytes.wrap(asEvmAddress(csc.getContractID()))),
 						csc -> csc.getStorageChangesList().stream().collect(Collectors.toMap(
 								sc -> Bytes.wrap(sc.getSlot().toByteArray()).trimLeadingZeros(),
@@ -110,7 +111,7 @@ public class SerdeUtils {
 								() -> new TreeMap<>(BytesComparator.INSTANCE)
 						)),
 						(l, r) -> l,
-						() -> new TreeMap<>(BytesComparator.INSTANCE))),
+						() -> new TreeMap<>(BytesComparator.INSTANCE)))),
 				that.getGas(),
 				that.getAmount(),
 				that.getFunctionParameters().isEmpty() ? EvmFnResult.EMPTY : that.getFunctionParameters().toByteArray(),